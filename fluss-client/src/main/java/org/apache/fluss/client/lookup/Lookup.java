@@ -82,6 +82,10 @@ public interface Lookup {
      * should contain partition fields and bucket key. In addition, the schema of the lookup columns
      * excluded partition fields should be a prefix of primary key excluded partition fields.
      *
+     * <p>If the lookup columns are exactly the columns of a secondary index declared by the table
+     * option {@code table.secondary-indexes} (in any order), the created lookuper lookups rows by
+     * the secondary index instead, which returns all the rows with the given indexed values.
+     *
      * @param lookupColumnNames the specified columns to lookup by
      */
     Lookup lookupBy(List<String> lookupColumnNames);
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.lookup;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.client.metrics.LookupCacheMetricGroup;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.metrics.MetricNames;
+import org.apache.fluss.rpc.metrics.ClientMetricGroup;
+import org.apache.fluss.utils.clock.Clock;
+import org.apache.fluss.utils.clock.SystemClock;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * A bounded cache in the client for the primary key lookup results of a table, keyed by the encoded
+ * primary key bytes and the bucket. The cached value is the raw value bytes returned by the server
+ * (or null if the key doesn't exist), so the cached results are decoded in the same way as the
+ * results fetched from the server.
+ *
+ * <p>The least recently used entry is evicted once the cache exceeds the max rows, and an entry
+ * expires once the configured time has elapsed since it was fetched from the server. An entry can
+ * also be invalidated explicitly, e.g., by the {@link LookupCacheInvalidator} when the key has been
+ * changed.
+ *
+ * <p>To avoid caching a result which has been invalidated while it was being fetched, a lookup
+ * which misses the cache must start a load by {@link #startLoad(Key)} before sending the request,
+ * and the fetched result is only put into the cache by {@link #finishLoad(Key, Object, byte[])} if
+ * the key hasn't been invalidated since the load started.
+ */
+@Internal
+@ThreadSafe
+public class LookupCache implements AutoCloseable {
+
+    private final long maxRows;
+    private final long expireAfterWriteMs;
+    private final Clock clock;
+    private final LookupCacheMetricGroup metricGroup;
+
+    private final Object lock = new Object();
+
+    /** The cached entries in access order, the eldest entry is the least recently used one. */
+    @GuardedBy("lock")
+    private final LinkedHashMap<Key, Entry> entries;
+
+    /** The loads which have been started but not finished, mapping from key to the load token. */
+    @GuardedBy("lock")
+    private final Map<Key, Object> pendingLoads;
+
+    @GuardedBy("lock")
+    private boolean closed;
+
+    @VisibleForTesting
+    LookupCache(
+            long maxRows,
+            long expireAfterWriteMs,
+            Clock clock,
+            LookupCacheMetricGroup metricGroup) {
+        checkArgument(maxRows > 0, "The max rows of lookup cache must be positive.");
+        this.maxRows = maxRows;
+        this.expireAfterWriteMs = expireAfterWriteMs;
+        this.clock = clock;
+        this.metricGroup = metricGroup;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.pendingLoads = new HashMap<>();
+        metricGroup.gauge(MetricNames.LOOKUP_CACHE_SIZE, this::size);
+    }
+
+    /**
+     * Creates the lookup cache according to the given configuration. Returns null if the cache is
+     * not enabled, see {@link ConfigOptions#CLIENT_LOOKUP_CACHE_MAX_ROWS}.
+     */
+    @Nullable
+    public static LookupCache create(
+            Configuration conf, ClientMetricGroup clientMetricGroup, TablePath tablePath) {
+        long maxRows = conf.get(ConfigOptions.CLIENT_LOOKUP_CACHE_MAX_ROWS);
+        if (maxRows <= 0) {
+            return null;
+        }
+        return new LookupCache(
+                maxRows,
+                conf.get(ConfigOptions.CLIENT_LOOKUP_CACHE_EXPIRE_AFTER_WRITE).toMillis(),
+                SystemClock.getInstance(),
+                new LookupCacheMetricGroup(clientMetricGroup, tablePath));
+    }
+
+    /**
+     * Returns the cached entry of the given key, or null if the key is not cached or the entry has
+     * expired.
+     */
+    @Nullable
+    public Entry get(Key key) {
+        synchronized (lock) {
+            Entry entry = entries.get(key);
+            if (entry != null && isExpired(entry)) {
+                entries.remove(key);
+                metricGroup.evictionCount().inc();
+                entry = null;
+            }
+            if (entry == null) {
+                metricGroup.missCount().inc();
+            } else {
+                metricGroup.hitCount().inc();
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Starts to load the given key from the server.
+     *
+     * @return the token of the load which must be passed to {@link #finishLoad} or {@link
+     *     #cancelLoad}.
+     */
+    public Object startLoad(Key key) {
+        Object token = new Object();
+        synchronized (lock) {
+            if (!closed) {
+                // a later load of the same key supersedes the earlier one
+                pendingLoads.put(key, token);
+            }
+        }
+        return token;
+    }
+
+    /**
+     * Finishes the load of the given key and caches the loaded value, unless the key has been
+     * invalidated (or loaded again) since the load started.
+     *
+     * @param value the value bytes of the key, null if the key doesn't exist
+     */
+    public void finishLoad(Key key, Object token, @Nullable byte[] value) {
+        synchronized (lock) {
+            if (!pendingLoads.remove(key, token)) {
+                return;
+            }
+            entries.put(key, new Entry(value, clock.milliseconds()));
+            evictIfNecessary();
+        }
+    }
+
+    /** Cancels the load of the given key, e.g., the lookup request failed. */
+    public void cancelLoad(Key key, Object token) {
+        synchronized (lock) {
+            pendingLoads.remove(key, token);
+        }
+    }
+
+    /** Invalidates the cached entry and the pending load of the given key. */
+    public void invalidate(Key key) {
+        synchronized (lock) {
+            entries.remove(key);
+            pendingLoads.remove(key);
+        }
+    }
+
+    /** Invalidates all the cached entries and pending loads. */
+    public void invalidateAll() {
+        synchronized (lock) {
+            entries.clear();
+            pendingLoads.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    @GuardedBy("lock")
+    private void evictIfNecessary() {
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxRows && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            metricGroup.evictionCount().inc();
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return expireAfterWriteMs > 0
+                && clock.milliseconds() - entry.writeTimeMs >= expireAfterWriteMs;
+    }
+
+    /**
+     * Closes the cache. The cache is cleared and the results loaded after closing are not cached
+     * anymore.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            entries.clear();
+            pendingLoads.clear();
+        }
+        metricGroup.close();
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /** The key of the lookup cache. */
+    public static final class Key {
+        private final TableBucket tableBucket;
+        private final byte[] keyBytes;
+        private final int hashCode;
+
+        public Key(TableBucket tableBucket, byte[] keyBytes) {
+            this.tableBucket = tableBucket;
+            this.keyBytes = keyBytes;
+            this.hashCode = 31 * tableBucket.hashCode() + Arrays.hashCode(keyBytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hashCode == key.hashCode
+                    && Objects.equals(tableBucket, key.tableBucket)
+                    && Arrays.equals(keyBytes, key.keyBytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /** The cached entry of a key. */
+    public static final class Entry {
+        private final @Nullable byte[] value;
+        private final long writeTimeMs;
+
+        private Entry(@Nullable byte[] value, long writeTimeMs) {
+            this.value = value;
+            this.writeTimeMs = writeTimeMs;
+        }
+
+        /** Returns the value bytes of the key, or null if the key doesn't exist. */
+        @Nullable
+        public byte[] value() {
+            return value;
+        }
+    }
+}
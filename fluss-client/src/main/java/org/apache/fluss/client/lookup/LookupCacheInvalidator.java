@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.lookup;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.client.table.scanner.ScanRecord;
+import org.apache.fluss.client.table.scanner.log.LogScanner;
+import org.apache.fluss.client.table.scanner.log.ScanRecords;
+import org.apache.fluss.exception.WakeupException;
+import org.apache.fluss.metadata.DataLakeFormat;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.row.encode.KeyEncoder;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.IOUtils;
+import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalidates the cached results of a {@link LookupCache} by consuming the changelog of the table.
+ * The changelog is read by a {@link LogScanner} which only reads the primary key columns, and the
+ * key of every change is invalidated from the cache.
+ *
+ * <p>The scanner must start from the end offsets of the buckets at the time the cache is created,
+ * so that every change of a key after its result has been fetched is observed. If the invalidator
+ * fails, the cache is closed to prevent serving stale results.
+ */
+@Internal
+public class LookupCacheInvalidator implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LookupCacheInvalidator.class);
+
+    public static final String INVALIDATOR_THREAD_PREFIX = "fluss-lookup-cache-invalidator";
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+    private final LookupCache lookupCache;
+    private final LogScanner logScanner;
+    private final KeyEncoder primaryKeyEncoder;
+    private final ExecutorService executor;
+
+    private volatile boolean running;
+
+    /**
+     * Creates the invalidator.
+     *
+     * @param logScanner the scanner of the table which projects the primary key columns
+     */
+    public LookupCacheInvalidator(
+            TableInfo tableInfo, LookupCache lookupCache, LogScanner logScanner) {
+        this.lookupCache = lookupCache;
+        this.logScanner = logScanner;
+        // encode the key in the same way as the PrimaryKeyLookuper
+        RowType primaryKeyRowType = tableInfo.getRowType().project(tableInfo.getPrimaryKeys());
+        DataLakeFormat lakeFormat = tableInfo.getTableConfig().getDataLakeFormat().orElse(null);
+        this.primaryKeyEncoder =
+                KeyEncoder.of(primaryKeyRowType, tableInfo.getPhysicalPrimaryKeys(), lakeFormat);
+        this.executor =
+                Executors.newSingleThreadExecutor(
+                        new ExecutorThreadFactory(INVALIDATOR_THREAD_PREFIX));
+    }
+
+    /** Subscribes to the buckets from the given offsets and starts to invalidate the cache. */
+    public void start(Map<Integer, Long> bucketOffsets) {
+        bucketOffsets.forEach(logScanner::subscribe);
+        running = true;
+        executor.submit(this::runInvalidation);
+    }
+
+    private void runInvalidation() {
+        try {
+            while (running) {
+                ScanRecords scanRecords = logScanner.poll(POLL_TIMEOUT);
+                for (TableBucket tableBucket : scanRecords.buckets()) {
+                    for (ScanRecord record : scanRecords.records(tableBucket)) {
+                        byte[] keyBytes = primaryKeyEncoder.encodeKey(record.getRow());
+                        lookupCache.invalidate(new LookupCache.Key(tableBucket, keyBytes));
+                    }
+                }
+            }
+        } catch (WakeupException e) {
+            // the invalidator is closing
+        } catch (Throwable t) {
+            if (running) {
+                LOG.error(
+                        "Failed to consume the changelog to invalidate the lookup cache, "
+                                + "the lookup cache is closed.",
+                        t);
+                lookupCache.close();
+            }
+        } finally {
+            IOUtils.closeQuietly(logScanner);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        logScanner.wakeup();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+                LOG.warn("Failed to shutdown the lookup cache invalidator.");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -18,24 +18,31 @@
 package org.apache.fluss.client.lookup;
 
 import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.client.metadata.MetadataUpdater;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.utils.MapUtils;
 import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * A client that lookups value of keys from server.
@@ -47,6 +54,9 @@ import java.util.concurrent.TimeUnit;
  * <p>The {@link #lookup(TablePath, TableBucket, byte[])} method is asynchronous, when called, it
  * adds the lookup operation to a queue of pending lookup operations and immediately returns. This
  * allows the lookup operations to batch together individual lookup operations for efficiency.
+ *
+ * <p>The concurrent lookups of the same key of the same bucket are coalesced into one lookup
+ * operation, whose result is shared by all the callers.
  */
 @ThreadSafe
 @Internal
@@ -61,7 +71,11 @@ public class LookupClient {
     private final ExecutorService lookupSenderThreadPool;
     private final LookupSender lookupSender;
 
+    /** The lookup operations which are not completed yet, used to coalesce identical lookups. */
+    private final Map<LookupKey, AbstractLookupQuery<?>> inFlightLookups;
+
     public LookupClient(Configuration conf, MetadataUpdater metadataUpdater) {
+        this.inFlightLookups = MapUtils.newConcurrentHashMap();
         this.lookupQueue = new LookupQueue(conf);
         this.lookupSenderThreadPool = createThreadPool();
         this.lookupSender =
@@ -69,7 +83,8 @@ public class LookupClient {
                         metadataUpdater,
                         lookupQueue,
                         conf.getInt(ConfigOptions.CLIENT_LOOKUP_MAX_INFLIGHT_SIZE),
-                        conf.getInt(ConfigOptions.CLIENT_LOOKUP_MAX_RETRIES));
+                        conf.getInt(ConfigOptions.CLIENT_LOOKUP_MAX_RETRIES),
+                        conf.getInt(ConfigOptions.CLIENT_LOOKUP_MAX_BATCH_SIZE));
         lookupSenderThreadPool.submit(lookupSender);
     }
 
@@ -81,16 +96,49 @@ public class LookupClient {
 
     public CompletableFuture<byte[]> lookup(
             TablePath tablePath, TableBucket tableBucket, byte[] keyBytes) {
-        LookupQuery lookup = new LookupQuery(tablePath, tableBucket, keyBytes);
-        lookupQueue.appendLookup(lookup);
-        return lookup.future();
+        return appendLookup(
+                new LookupKey(LookupType.LOOKUP, tableBucket, null, keyBytes),
+                new LookupQuery(tablePath, tableBucket, keyBytes));
     }
 
     public CompletableFuture<List<byte[]>> prefixLookup(
             TablePath tablePath, TableBucket tableBucket, byte[] keyBytes) {
-        PrefixLookupQuery prefixLookup = new PrefixLookupQuery(tablePath, tableBucket, keyBytes);
-        lookupQueue.appendLookup(prefixLookup);
-        return prefixLookup.future();
+        return appendLookup(
+                new LookupKey(LookupType.PREFIX_LOOKUP, tableBucket, null, keyBytes),
+                new PrefixLookupQuery(tablePath, tableBucket, keyBytes));
+    }
+
+    /** Lookup the values of the rows whose indexed columns of the given secondary index match. */
+    public CompletableFuture<List<byte[]>> indexLookup(
+            TablePath tablePath, TableBucket tableBucket, int indexId, byte[] indexKeyBytes) {
+        return appendLookup(
+                new LookupKey(LookupType.PREFIX_LOOKUP, tableBucket, indexId, indexKeyBytes),
+                new PrefixLookupQuery(tablePath, tableBucket, indexKeyBytes, indexId));
+    }
+
+    /**
+     * Appends the lookup to the lookup queue, or joins the identical lookup which is not completed
+     * yet. Each caller gets a dependent future, so that completing it doesn't affect the others.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> appendLookup(LookupKey key, AbstractLookupQuery<T> lookup) {
+        AbstractLookupQuery<?> existing = inFlightLookups.putIfAbsent(key, lookup);
+        if (existing != null) {
+            return ((CompletableFuture<T>) existing.future()).thenApply(Function.identity());
+        }
+        lookup.future().whenComplete((r, t) -> inFlightLookups.remove(key, lookup));
+        try {
+            lookupQueue.appendLookup(lookup);
+        } catch (RuntimeException e) {
+            inFlightLookups.remove(key, lookup);
+            throw e;
+        }
+        return lookup.future().thenApply(Function.identity());
+    }
+
+    @VisibleForTesting
+    int numInFlightLookups() {
+        return inFlightLookups.size();
     }
 
     public void close(Duration timeout) {
@@ -123,4 +171,47 @@ public class LookupClient {
         }
         LOG.info("Lookup client closed.");
     }
+
+    /** The identity of a lookup operation, the lookups with equal keys are coalesced. */
+    private static final class LookupKey {
+
+        private final LookupType lookupType;
+        private final TableBucket tableBucket;
+        private final @Nullable Integer indexId;
+        private final byte[] key;
+        private final int hashCode;
+
+        private LookupKey(
+                LookupType lookupType,
+                TableBucket tableBucket,
+                @Nullable Integer indexId,
+                byte[] key) {
+            this.lookupType = lookupType;
+            this.tableBucket = tableBucket;
+            this.indexId = indexId;
+            this.key = key;
+            this.hashCode =
+                    31 * Objects.hash(lookupType, tableBucket, indexId) + Arrays.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            LookupKey that = (LookupKey) o;
+            return lookupType == that.lookupType
+                    && tableBucket.equals(that.tableBucket)
+                    && Objects.equals(indexId, that.indexId)
+                    && Arrays.equals(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -22,18 +22,23 @@ import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * A queue that buffers the pending lookup operations and provides a list of {@link LookupQuery}
  * when call method {@link #drain()}.
+ *
+ * <p>The queue is appended by many threads and drained by the single lookup sender thread. The
+ * lookups are buffered in lock-free queues, and the sender thread waiting in {@link #drain()} is
+ * woken up by the appends instead of polling.
  */
 @ThreadSafe
 @Internal
@@ -44,15 +49,21 @@ class LookupQueue {
     // TODO This queue could be refactored into a memory-managed queue similar to
     // RecordAccumulator, which would significantly improve the efficiency of lookup batching. Trace
     // by https://github.com/apache/fluss/issues/2124
-    private final ArrayBlockingQueue<AbstractLookupQuery<?>> lookupQueue;
-    private final BlockingQueue<AbstractLookupQuery<?>> reEnqueuedLookupQueue;
+    private final ConcurrentLinkedQueue<AbstractLookupQuery<?>> lookupQueue;
+    private final ConcurrentLinkedQueue<AbstractLookupQuery<?>> reEnqueuedLookupQueue;
+    /** The free slots of the lookup queue, appending a lookup blocks when the queue is full. */
+    private final Semaphore availableSlots;
+
     private final int maxBatchSize;
     private final long batchTimeoutNanos;
 
+    /** The thread waiting for lookups in {@link #drain()}, null if no thread is waiting. */
+    private volatile @Nullable Thread waitingThread;
+
     LookupQueue(Configuration conf) {
-        this.lookupQueue =
-                new ArrayBlockingQueue<>(conf.get(ConfigOptions.CLIENT_LOOKUP_QUEUE_SIZE));
-        this.reEnqueuedLookupQueue = new LinkedBlockingQueue<>();
+        this.lookupQueue = new ConcurrentLinkedQueue<>();
+        this.reEnqueuedLookupQueue = new ConcurrentLinkedQueue<>();
+        this.availableSlots = new Semaphore(conf.get(ConfigOptions.CLIENT_LOOKUP_QUEUE_SIZE));
         this.maxBatchSize = conf.get(ConfigOptions.CLIENT_LOOKUP_MAX_BATCH_SIZE);
         this.batchTimeoutNanos = conf.get(ConfigOptions.CLIENT_LOOKUP_BATCH_TIMEOUT).toNanos();
         this.closed = false;
@@ -65,10 +76,13 @@ class LookupQueue {
         }
 
         try {
-            lookupQueue.put(lookup);
+            availableSlots.acquire();
         } catch (InterruptedException e) {
             lookup.future().completeExceptionally(e);
+            return;
         }
+        lookupQueue.offer(lookup);
+        wakeup();
     }
 
     void reEnqueue(AbstractLookupQuery<?> lookup) {
@@ -77,72 +91,89 @@ class LookupQueue {
                     "Can not re-enqueue lookup operation since the LookupQueue is closed.");
         }
 
-        try {
-            reEnqueuedLookupQueue.put(lookup);
-        } catch (InterruptedException e) {
-            lookup.future().completeExceptionally(e);
-        }
+        reEnqueuedLookupQueue.offer(lookup);
+        wakeup();
     }
 
     boolean hasUnDrained() {
         return !lookupQueue.isEmpty() || !reEnqueuedLookupQueue.isEmpty();
     }
 
-    /** Drain a batch of {@link LookupQuery}s from the lookup queue. */
-    List<AbstractLookupQuery<?>> drain() throws Exception {
+    /**
+     * Drain a batch of {@link LookupQuery}s from the lookup queue, the re-enqueued lookups are
+     * drained first. Waits up to the batch timeout for the batch to be full.
+     */
+    List<AbstractLookupQuery<?>> drain() {
         final long startNanos = System.nanoTime();
         List<AbstractLookupQuery<?>> lookupOperations = new ArrayList<>(maxBatchSize);
-        int count = 0;
         while (true) {
+            drainTo(reEnqueuedLookupQueue, lookupOperations, maxBatchSize, false);
+            drainTo(lookupQueue, lookupOperations, maxBatchSize, true);
             long waitNanos = batchTimeoutNanos - (System.nanoTime() - startNanos);
-            if (waitNanos <= 0) {
-                break;
-            }
-
-            while (!reEnqueuedLookupQueue.isEmpty() && count < maxBatchSize) {
-                AbstractLookupQuery<?> lookup =
-                        reEnqueuedLookupQueue.poll(waitNanos, TimeUnit.NANOSECONDS);
-                if (lookup == null) {
-                    break;
-                }
-                lookupOperations.add(lookup);
-                count++;
-            }
-
-            AbstractLookupQuery<?> lookup = lookupQueue.poll(waitNanos, TimeUnit.NANOSECONDS);
-            if (lookup == null) {
-                break;
-            }
-            lookupOperations.add(lookup);
-            count++;
-            int transferred = lookupQueue.drainTo(lookupOperations, maxBatchSize - count);
-            count += transferred;
-            if (count >= maxBatchSize) {
+            if (lookupOperations.size() >= maxBatchSize || waitNanos <= 0 || closed) {
                 break;
             }
+            awaitLookups(waitNanos);
         }
         return lookupOperations;
     }
 
     /** Drain all the {@link LookupQuery}s from the lookup queue. */
     List<AbstractLookupQuery<?>> drainAll() {
-        List<AbstractLookupQuery<?>> lookupOperations = new ArrayList<>(lookupQueue.size());
-        lookupQueue.drainTo(lookupOperations);
-        reEnqueuedLookupQueue.drainTo(lookupOperations);
+        List<AbstractLookupQuery<?>> lookupOperations = new ArrayList<>();
+        drainTo(lookupQueue, lookupOperations, Integer.MAX_VALUE, true);
+        drainTo(reEnqueuedLookupQueue, lookupOperations, Integer.MAX_VALUE, false);
         return lookupOperations;
     }
 
+    private void drainTo(
+            Queue<AbstractLookupQuery<?>> queue,
+            List<AbstractLookupQuery<?>> lookupOperations,
+            int maxSize,
+            boolean releaseSlots) {
+        int drained = 0;
+        AbstractLookupQuery<?> lookup;
+        while (lookupOperations.size() < maxSize && (lookup = queue.poll()) != null) {
+            lookupOperations.add(lookup);
+            drained++;
+        }
+        if (releaseSlots && drained > 0) {
+            availableSlots.release(drained);
+        }
+    }
+
+    private void awaitLookups(long waitNanos) {
+        waitingThread = Thread.currentThread();
+        try {
+            // check again after publishing the waiting thread to not miss a concurrent wakeup
+            if (!hasUnDrained() && !closed) {
+                LockSupport.parkNanos(this, waitNanos);
+            }
+        } finally {
+            waitingThread = null;
+        }
+    }
+
+    /** Wakes up the thread waiting for lookups in {@link #drain()}. */
+    void wakeup() {
+        Thread thread = waitingThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
     public void close() {
         closed = true;
+        wakeup();
     }
 
     @VisibleForTesting
-    ArrayBlockingQueue<AbstractLookupQuery<?>> getLookupQueue() {
+    Queue<AbstractLookupQuery<?>> getLookupQueue() {
         return lookupQueue;
     }
 
     @VisibleForTesting
-    BlockingQueue<AbstractLookupQuery<?>> getReEnqueuedLookupQueue() {
+    Queue<AbstractLookupQuery<?>> getReEnqueuedLookupQueue() {
         return reEnqueuedLookupQueue;
     }
 }
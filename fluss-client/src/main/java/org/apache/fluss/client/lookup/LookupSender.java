@@ -20,6 +20,8 @@ package org.apache.fluss.client.lookup;
 import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.client.metadata.MetadataUpdater;
+import org.apache.fluss.cluster.BucketLocation;
+import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.exception.ApiException;
 import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.exception.InvalidMetadataException;
@@ -28,6 +30,7 @@ import org.apache.fluss.exception.RetriableException;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TablePartition;
+import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.rpc.gateway.TabletServerGateway;
 import org.apache.fluss.rpc.messages.LookupRequest;
 import org.apache.fluss.rpc.messages.LookupResponse;
@@ -37,6 +40,7 @@ import org.apache.fluss.rpc.messages.PbValueList;
 import org.apache.fluss.rpc.messages.PrefixLookupRequest;
 import org.apache.fluss.rpc.messages.PrefixLookupResponse;
 import org.apache.fluss.rpc.protocol.ApiError;
+import org.apache.fluss.utils.MapUtils;
 import org.apache.fluss.utils.types.Tuple2;
 
 import org.slf4j.Logger;
@@ -47,6 +51,7 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -59,6 +64,11 @@ import static org.apache.fluss.client.utils.ClientRpcMessageUtils.makePrefixLook
 /**
  * This background thread pool lookup operations from {@link #lookupQueue}, and send lookup requests
  * to the tablet server.
+ *
+ * <p>The leaders of the lookups are resolved from the metadata cache, so the lookups with known
+ * leaders are sent without waiting for the metadata updates of other lookups. The metadata of all
+ * the lookups without known leaders is updated in one request after that. The lookups to a leader
+ * are split into requests of the adaptive batch size of the leader, see {@link AdaptiveBatchSize}.
  */
 @Internal
 class LookupSender implements Runnable {
@@ -77,15 +87,37 @@ class LookupSender implements Runnable {
 
     private final int maxRetries;
 
+    private final int maxBatchSize;
+
+    /** The adaptive batch size of the requests to each tablet server. */
+    private final Map<Integer, AdaptiveBatchSize> batchSizes;
+
+    @VisibleForTesting
     LookupSender(
             MetadataUpdater metadataUpdater,
             LookupQueue lookupQueue,
             int maxFlightRequests,
             int maxRetries) {
+        this(
+                metadataUpdater,
+                lookupQueue,
+                maxFlightRequests,
+                maxRetries,
+                ConfigOptions.CLIENT_LOOKUP_MAX_BATCH_SIZE.defaultValue());
+    }
+
+    LookupSender(
+            MetadataUpdater metadataUpdater,
+            LookupQueue lookupQueue,
+            int maxFlightRequests,
+            int maxRetries,
+            int maxBatchSize) {
         this.metadataUpdater = metadataUpdater;
         this.lookupQueue = lookupQueue;
         this.maxInFlightReuqestsSemaphore = new Semaphore(maxFlightRequests);
         this.maxRetries = maxRetries;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = MapUtils.newConcurrentHashMap();
         this.running = true;
     }
 
@@ -120,51 +152,64 @@ class LookupSender implements Runnable {
     }
 
     /** Run a single iteration of sending. */
-    private void runOnce(boolean drainAll) throws Exception {
+    private void runOnce(boolean drainAll) {
         List<AbstractLookupQuery<?>> lookups =
                 drainAll ? lookupQueue.drainAll() : lookupQueue.drain();
         sendLookups(lookups);
     }
 
-    private void sendLookups(List<AbstractLookupQuery<?>> lookups) throws Exception {
+    private void sendLookups(List<AbstractLookupQuery<?>> lookups) {
         if (lookups.isEmpty()) {
             return;
         }
-        // group by <leader, lookup type> to lookup batches
-        Map<Tuple2<Integer, LookupType>, List<AbstractLookupQuery<?>>> lookupBatches =
-                groupByLeaderAndType(lookups);
-
-        // if no lookup batches, sleep a bit to avoid busy loop. This case will happen when there is
-        // no leader for all the lookup request in queue.
-        if (lookupBatches.isEmpty() && !lookupQueue.hasUnDrained()) {
-            // TODO: may use wait/notify mechanism to avoid active sleep, and use a dynamic sleep
-            // time based on the request waited time.
-            Thread.sleep(100);
+        // send the lookups whose leaders are known first
+        List<AbstractLookupQuery<?>> unknownLeaderLookups = new ArrayList<>();
+        sendLookupBatches(groupByLeaderAndType(lookups, unknownLeaderLookups));
+        if (unknownLeaderLookups.isEmpty()) {
+            return;
         }
 
-        // now, send the batches
+        // then update the metadata of the lookups without known leaders in one request
+        updateMetadata(unknownLeaderLookups);
+        List<AbstractLookupQuery<?>> stillUnknownLeaderLookups = new ArrayList<>();
+        sendLookupBatches(groupByLeaderAndType(unknownLeaderLookups, stillUnknownLeaderLookups));
+        // if the leader is still not found, re-enqueue the lookups to send again, which are
+        // retried by the next drain of the lookup queue.
+        stillUnknownLeaderLookups.forEach(this::reEnqueueLookup);
+    }
+
+    private void sendLookupBatches(
+            Map<Tuple2<Integer, LookupType>, List<AbstractLookupQuery<?>>> lookupBatches) {
         lookupBatches.forEach(
-                (destAndType, batch) -> sendLookups(destAndType.f0, destAndType.f1, batch));
+                (destAndType, batch) -> {
+                    int batchSize = batchSize(destAndType.f0).get();
+                    for (int i = 0; i < batch.size(); i += batchSize) {
+                        sendLookups(
+                                destAndType.f0,
+                                destAndType.f1,
+                                batch.subList(i, Math.min(i + batchSize, batch.size())));
+                    }
+                });
     }
 
+    /**
+     * Groups the lookups by {@code <leader, lookup type>}, the lookups without known leaders in the
+     * metadata cache are added to the given list.
+     */
     private Map<Tuple2<Integer, LookupType>, List<AbstractLookupQuery<?>>> groupByLeaderAndType(
-            List<AbstractLookupQuery<?>> lookups) {
+            List<AbstractLookupQuery<?>> lookups,
+            List<AbstractLookupQuery<?>> unknownLeaderLookups) {
         // <leader, LookupType> -> lookup batches
         Map<Tuple2<Integer, LookupType>, List<AbstractLookupQuery<?>>> lookupBatchesByLeader =
                 new HashMap<>();
         for (AbstractLookupQuery<?> lookup : lookups) {
-            int leader;
-            // lookup the leader node
-            TableBucket tb = lookup.tableBucket();
-            try {
-                // TODO Metadata requests are being sent too frequently here. consider first
-                // collecting the tables that need to be updated and then sending them together in
-                // one request.
-                leader = metadataUpdater.leaderFor(lookup.tablePath(), tb);
-            } catch (Exception e) {
-                // if leader is not found, re-enqueue the lookup to send again.
-                LOG.warn("Failed to lookup the leader for {} when lookup", tb, e);
-                reEnqueueLookup(lookup);
+            Integer leader =
+                    metadataUpdater
+                            .getBucketLocation(lookup.tableBucket())
+                            .map(BucketLocation::getLeader)
+                            .orElse(null);
+            if (leader == null) {
+                unknownLeaderLookups.add(lookup);
                 continue;
             }
             lookupBatchesByLeader
@@ -174,6 +219,27 @@ class LookupSender implements Runnable {
         return lookupBatchesByLeader;
     }
 
+    private void updateMetadata(List<AbstractLookupQuery<?>> lookups) {
+        Set<TablePath> tablePaths = new HashSet<>();
+        Set<Long> partitionIds = new HashSet<>();
+        for (AbstractLookupQuery<?> lookup : lookups) {
+            tablePaths.add(lookup.tablePath());
+            if (lookup.tableBucket().getPartitionId() != null) {
+                partitionIds.add(lookup.tableBucket().getPartitionId());
+            }
+        }
+        try {
+            metadataUpdater.updateMetadata(
+                    tablePaths, null, partitionIds.isEmpty() ? null : partitionIds);
+        } catch (Exception e) {
+            LOG.warn("Failed to update the metadata of tables {} when lookup", tablePaths, e);
+        }
+    }
+
+    private AdaptiveBatchSize batchSize(int destination) {
+        return batchSizes.computeIfAbsent(destination, k -> new AdaptiveBatchSize(maxBatchSize));
+    }
+
     @VisibleForTesting
     void sendLookups(
             int destination, LookupType lookupType, List<AbstractLookupQuery<?>> lookupBatches) {
@@ -225,14 +291,16 @@ class LookupSender implements Runnable {
 
     private void sendPrefixLookupRequest(
             int destination, List<AbstractLookupQuery<?>> prefixLookups) {
-        // table id -> (bucket -> lookups)
-        Map<Long, Map<TableBucket, PrefixLookupBatch>> lookupByTableId = new HashMap<>();
+        // <table id, index id> -> (bucket -> lookups)
+        Map<Tuple2<Long, Integer>, Map<TableBucket, PrefixLookupBatch>> lookupByTableId =
+                new HashMap<>();
         for (AbstractLookupQuery<?> abstractLookupQuery : prefixLookups) {
             PrefixLookupQuery prefixLookup = (PrefixLookupQuery) abstractLookupQuery;
             TableBucket tb = prefixLookup.tableBucket();
             long tableId = tb.getTableId();
             lookupByTableId
-                    .computeIfAbsent(tableId, k -> new HashMap<>())
+                    .computeIfAbsent(
+                            Tuple2.of(tableId, prefixLookup.indexId()), k -> new HashMap<>())
                     .computeIfAbsent(tb, k -> new PrefixLookupBatch(tb))
                     .addLookup(prefixLookup);
         }
@@ -252,12 +320,15 @@ class LookupSender implements Runnable {
         }
 
         lookupByTableId.forEach(
-                (tableId, prefixLookupBatch) ->
+                (tableAndIndex, prefixLookupBatch) ->
                         sendPrefixLookupRequestAndHandleResponse(
                                 destination,
                                 gateway,
-                                makePrefixLookupRequest(tableId, prefixLookupBatch.values()),
-                                tableId,
+                                makePrefixLookupRequest(
+                                        tableAndIndex.f0,
+                                        tableAndIndex.f1,
+                                        prefixLookupBatch.values()),
+                                tableAndIndex.f0,
                                 prefixLookupBatch));
     }
 
@@ -273,10 +344,12 @@ class LookupSender implements Runnable {
             Thread.currentThread().interrupt();
             throw new FlussRuntimeException("interrupted:", e);
         }
+        long startNanos = System.nanoTime();
         gateway.lookup(lookupRequest)
                 .thenAccept(
                         lookupResponse -> {
                             try {
+                                batchSize(destination).update(System.nanoTime() - startNanos);
                                 handleLookupResponse(
                                         tableId, destination, lookupResponse, lookupsByBucket);
                             } finally {
@@ -306,10 +379,12 @@ class LookupSender implements Runnable {
             Thread.currentThread().interrupt();
             throw new FlussRuntimeException("interrupted:", e);
         }
+        long startNanos = System.nanoTime();
         gateway.prefixLookup(prefixLookupRequest)
                 .thenAccept(
                         prefixLookupResponse -> {
                             try {
+                                batchSize(destination).update(System.nanoTime() - startNanos);
                                 handlePrefixLookupResponse(
                                         tableId,
                                         destination,
@@ -527,4 +602,46 @@ class LookupSender implements Runnable {
                         tableOrPartitions.tableIds, tableOrPartitions.tablePartitions);
         metadataUpdater.invalidPhysicalTableBucketMeta(physicalTablePaths);
     }
+
+    @VisibleForTesting
+    int getBatchSize(int destination) {
+        return batchSize(destination).get();
+    }
+
+    /**
+     * The max number of lookups in a request to a tablet server, which adapts to the latency of the
+     * requests to the server. When the latency exceeds twice the baseline latency (the lowest
+     * latency observed, slowly drifting up to follow the server), the server is considered busy and
+     * the batch size is halved so that the lookups are served by smaller requests in parallel.
+     * Otherwise, the batch size grows additively up to {@code client.lookup.max-batch-size}.
+     */
+    @VisibleForTesting
+    static final class AdaptiveBatchSize {
+
+        private final int maxBatchSize;
+        private int batchSize;
+        private long baselineLatencyNanos = Long.MAX_VALUE;
+
+        AdaptiveBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            this.batchSize = maxBatchSize;
+        }
+
+        synchronized int get() {
+            return batchSize;
+        }
+
+        synchronized void update(long latencyNanos) {
+            if (latencyNanos < baselineLatencyNanos) {
+                baselineLatencyNanos = latencyNanos;
+            } else {
+                baselineLatencyNanos += Math.max(1, (latencyNanos - baselineLatencyNanos) >> 6);
+            }
+            if (latencyNanos > 2 * baselineLatencyNanos) {
+                batchSize = Math.max(1, batchSize / 2);
+            } else {
+                batchSize = Math.min(maxBatchSize, batchSize + 1);
+            }
+        }
+    }
 }
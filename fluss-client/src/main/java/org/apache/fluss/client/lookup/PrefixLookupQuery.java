@@ -21,20 +21,38 @@ import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TablePath;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Class to represent a prefix lookup operation, it contains the table id, bucketNums and related
- * CompletableFuture.
+ * CompletableFuture. If the index id is present, the key is the encoded indexed columns of the
+ * secondary index instead of the prefix of the primary key.
  */
 @Internal
 public class PrefixLookupQuery extends AbstractLookupQuery<List<byte[]>> {
     private final CompletableFuture<List<byte[]>> future;
+    private final @Nullable Integer indexId;
 
     PrefixLookupQuery(TablePath tablePath, TableBucket tableBucket, byte[] prefixKey) {
+        this(tablePath, tableBucket, prefixKey, null);
+    }
+
+    PrefixLookupQuery(
+            TablePath tablePath,
+            TableBucket tableBucket,
+            byte[] prefixKey,
+            @Nullable Integer indexId) {
         super(tablePath, tableBucket, prefixKey);
         this.future = new CompletableFuture<>();
+        this.indexId = indexId;
+    }
+
+    @Nullable
+    public Integer indexId() {
+        return indexId;
     }
 
     @Override
@@ -33,6 +33,7 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static org.apache.fluss.client.utils.ClientUtils.getPartitionId;
@@ -56,11 +57,23 @@ class PrimaryKeyLookuper extends AbstractLookuper implements Lookuper {
     /** a getter to extract partition from lookup key row, null when it's not a partitioned. */
     private @Nullable final PartitionGetter partitionGetter;
 
+    /** The cache of the lookup results, null when the cache is disabled. */
+    private @Nullable final LookupCache lookupCache;
+
     public PrimaryKeyLookuper(
             TableInfo tableInfo,
             SchemaGetter schemaGetter,
             MetadataUpdater metadataUpdater,
             LookupClient lookupClient) {
+        this(tableInfo, schemaGetter, metadataUpdater, lookupClient, null);
+    }
+
+    public PrimaryKeyLookuper(
+            TableInfo tableInfo,
+            SchemaGetter schemaGetter,
+            MetadataUpdater metadataUpdater,
+            LookupClient lookupClient,
+            @Nullable LookupCache lookupCache) {
         super(tableInfo, metadataUpdater, lookupClient, schemaGetter);
         checkArgument(
                 tableInfo.hasPrimaryKey(),
@@ -85,6 +98,7 @@ class PrimaryKeyLookuper extends AbstractLookuper implements Lookuper {
                 tableInfo.isPartitioned()
                         ? new PartitionGetter(lookupRowType, tableInfo.getPartitionKeys())
                         : null;
+        this.lookupCache = lookupCache;
     }
 
     @Override
@@ -113,20 +127,40 @@ class PrimaryKeyLookuper extends AbstractLookuper implements Lookuper {
         int bucketId = bucketingFunction.bucketing(bkBytes, numBuckets);
         TableBucket tableBucket = new TableBucket(tableInfo.getTableId(), partitionId, bucketId);
         CompletableFuture<LookupResult> lookupFuture = new CompletableFuture<>();
+        LookupCache.Key cacheKey = null;
+        Object loadToken = null;
+        if (lookupCache != null) {
+            cacheKey = new LookupCache.Key(tableBucket, pkBytes);
+            LookupCache.Entry cacheEntry = lookupCache.get(cacheKey);
+            if (cacheEntry != null) {
+                handleLookupResponse(toResultList(cacheEntry.value()), lookupFuture);
+                return lookupFuture;
+            }
+            loadToken = lookupCache.startLoad(cacheKey);
+        }
+
+        LookupCache.Key finalCacheKey = cacheKey;
+        Object finalLoadToken = loadToken;
         lookupClient
                 .lookup(tableInfo.getTablePath(), tableBucket, pkBytes)
                 .whenComplete(
                         (result, error) -> {
                             if (error != null) {
+                                if (lookupCache != null) {
+                                    lookupCache.cancelLoad(finalCacheKey, finalLoadToken);
+                                }
                                 lookupFuture.completeExceptionally(error);
                             } else {
-                                handleLookupResponse(
-                                        result == null
-                                                ? Collections.emptyList()
-                                                : Collections.singletonList(result),
-                                        lookupFuture);
+                                if (lookupCache != null) {
+                                    lookupCache.finishLoad(finalCacheKey, finalLoadToken, result);
+                                }
+                                handleLookupResponse(toResultList(result), lookupFuture);
                             }
                         });
         return lookupFuture;
     }
+
+    private static List<byte[]> toResultList(@Nullable byte[] result) {
+        return result == null ? Collections.emptyList() : Collections.singletonList(result);
+    }
 }
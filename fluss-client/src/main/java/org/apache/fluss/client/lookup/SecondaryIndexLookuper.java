@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.lookup;
+
+import org.apache.fluss.client.metadata.MetadataUpdater;
+import org.apache.fluss.client.table.getter.PartitionGetter;
+import org.apache.fluss.exception.PartitionNotExistException;
+import org.apache.fluss.metadata.SchemaGetter;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.encode.CompactedKeyEncoder;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.concurrent.FutureUtils;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.fluss.client.utils.ClientUtils.getPartitionId;
+
+/**
+ * An implementation of {@link Lookuper} that lookups by a secondary index of the primary key table,
+ * see {@link org.apache.fluss.config.ConfigOptions#TABLE_SECONDARY_INDEXES}.
+ *
+ * <p>As the rows are distributed to the buckets by the bucket keys, the rows with the given indexed
+ * values may be in any bucket of the table (or partition), so the lookup is sent to all the buckets
+ * and the results are merged.
+ */
+@NotThreadSafe
+class SecondaryIndexLookuper extends AbstractLookuper implements Lookuper {
+
+    private final int indexId;
+    private final int numBuckets;
+
+    /** Encodes the indexed columns of the lookup row, in the column order of the index. */
+    private final CompactedKeyEncoder indexKeyEncoder;
+
+    private final InternalRow.FieldGetter[] fieldGetters;
+
+    /** a getter to extract partition from lookup key row, null when it's not a partitioned. */
+    private @Nullable final PartitionGetter partitionGetter;
+
+    public SecondaryIndexLookuper(
+            TableInfo tableInfo,
+            SchemaGetter schemaGetter,
+            MetadataUpdater metadataUpdater,
+            LookupClient lookupClient,
+            List<String> lookupColumnNames,
+            int indexId) {
+        super(tableInfo, metadataUpdater, lookupClient, schemaGetter);
+        this.indexId = indexId;
+        this.numBuckets = tableInfo.getNumBuckets();
+        // the row type of the input lookup row
+        RowType lookupRowType = tableInfo.getRowType().project(lookupColumnNames);
+        List<String> indexColumns = tableInfo.getTableConfig().getSecondaryIndexes().get(indexId);
+        this.indexKeyEncoder = CompactedKeyEncoder.createKeyEncoder(lookupRowType, indexColumns);
+        this.fieldGetters = new InternalRow.FieldGetter[lookupRowType.getFieldCount()];
+        for (int i = 0; i < lookupRowType.getFieldCount(); i++) {
+            fieldGetters[i] = InternalRow.createFieldGetter(lookupRowType.getTypeAt(i), i);
+        }
+        this.partitionGetter =
+                tableInfo.isPartitioned()
+                        ? new PartitionGetter(lookupRowType, tableInfo.getPartitionKeys())
+                        : null;
+    }
+
+    /**
+     * Returns the id of the secondary index whose indexed columns are exactly the given lookup
+     * columns (in any order), or -1 if there is no such index.
+     */
+    static int findIndex(TableInfo tableInfo, List<String> lookupColumnNames) {
+        if (!tableInfo.hasPrimaryKey()) {
+            return -1;
+        }
+        List<List<String>> indexes = tableInfo.getTableConfig().getSecondaryIndexes();
+        HashSet<String> lookupColumns = new HashSet<>(lookupColumnNames);
+        for (int i = 0; i < indexes.size(); i++) {
+            List<String> indexColumns = indexes.get(i);
+            if (indexColumns.size() == lookupColumnNames.size()
+                    && lookupColumns.equals(new HashSet<>(indexColumns))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public CompletableFuture<LookupResult> lookup(InternalRow lookupKey) {
+        for (InternalRow.FieldGetter fieldGetter : fieldGetters) {
+            // rows with null indexed values are not indexed
+            if (fieldGetter.getFieldOrNull(lookupKey) == null) {
+                return CompletableFuture.completedFuture(new LookupResult(Collections.emptyList()));
+            }
+        }
+
+        Long partitionId = null;
+        if (partitionGetter != null) {
+            try {
+                partitionId =
+                        getPartitionId(
+                                lookupKey,
+                                partitionGetter,
+                                tableInfo.getTablePath(),
+                                metadataUpdater);
+            } catch (PartitionNotExistException e) {
+                return CompletableFuture.completedFuture(new LookupResult(Collections.emptyList()));
+            }
+        }
+
+        byte[] indexKeyBytes = indexKeyEncoder.encodeKey(lookupKey);
+        List<CompletableFuture<List<byte[]>>> bucketFutures = new ArrayList<>(numBuckets);
+        for (int bucketId = 0; bucketId < numBuckets; bucketId++) {
+            TableBucket tableBucket =
+                    new TableBucket(tableInfo.getTableId(), partitionId, bucketId);
+            bucketFutures.add(
+                    lookupClient.indexLookup(
+                            tableInfo.getTablePath(), tableBucket, indexId, indexKeyBytes));
+        }
+
+        CompletableFuture<LookupResult> lookupFuture = new CompletableFuture<>();
+        FutureUtils.combineAll(bucketFutures)
+                .whenComplete(
+                        (results, error) -> {
+                            if (error != null) {
+                                lookupFuture.completeExceptionally(
+                                        new RuntimeException(
+                                                "Failed to perform secondary index lookup for table: "
+                                                        + tableInfo.getTablePath(),
+                                                error));
+                            } else {
+                                List<byte[]> values = new ArrayList<>();
+                                results.forEach(values::addAll);
+                                handleLookupResponse(values, lookupFuture);
+                            }
+                        });
+        return lookupFuture;
+    }
+}
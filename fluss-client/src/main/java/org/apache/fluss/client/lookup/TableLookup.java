@@ -33,6 +33,9 @@ public class TableLookup implements Lookup {
     private final MetadataUpdater metadataUpdater;
     private final LookupClient lookupClient;
 
+    /** The cache shared by the primary key lookupers, null when the cache is disabled. */
+    @Nullable private final LookupCache lookupCache;
+
     @Nullable private final List<String> lookupColumnNames;
 
     public TableLookup(
@@ -40,7 +43,16 @@ public class TableLookup implements Lookup {
             SchemaGetter schemaGetter,
             MetadataUpdater metadataUpdater,
             LookupClient lookupClient) {
-        this(tableInfo, schemaGetter, metadataUpdater, lookupClient, null);
+        this(tableInfo, schemaGetter, metadataUpdater, lookupClient, null, null);
+    }
+
+    public TableLookup(
+            TableInfo tableInfo,
+            SchemaGetter schemaGetter,
+            MetadataUpdater metadataUpdater,
+            LookupClient lookupClient,
+            @Nullable LookupCache lookupCache) {
+        this(tableInfo, schemaGetter, metadataUpdater, lookupClient, lookupCache, null);
     }
 
     private TableLookup(
@@ -48,24 +60,42 @@ public class TableLookup implements Lookup {
             SchemaGetter schemaGetter,
             MetadataUpdater metadataUpdater,
             LookupClient lookupClient,
+            @Nullable LookupCache lookupCache,
             @Nullable List<String> lookupColumnNames) {
         this.tableInfo = tableInfo;
         this.schemaGetter = schemaGetter;
         this.metadataUpdater = metadataUpdater;
         this.lookupClient = lookupClient;
+        this.lookupCache = lookupCache;
         this.lookupColumnNames = lookupColumnNames;
     }
 
     @Override
     public Lookup lookupBy(List<String> lookupColumnNames) {
         return new TableLookup(
-                tableInfo, schemaGetter, metadataUpdater, lookupClient, lookupColumnNames);
+                tableInfo,
+                schemaGetter,
+                metadataUpdater,
+                lookupClient,
+                lookupCache,
+                lookupColumnNames);
     }
 
     @Override
     public Lookuper createLookuper() {
         if (lookupColumnNames == null) {
-            return new PrimaryKeyLookuper(tableInfo, schemaGetter, metadataUpdater, lookupClient);
+            return new PrimaryKeyLookuper(
+                    tableInfo, schemaGetter, metadataUpdater, lookupClient, lookupCache);
+        }
+        int indexId = SecondaryIndexLookuper.findIndex(tableInfo, lookupColumnNames);
+        if (indexId >= 0) {
+            return new SecondaryIndexLookuper(
+                    tableInfo,
+                    schemaGetter,
+                    metadataUpdater,
+                    lookupClient,
+                    lookupColumnNames,
+                    indexId);
         } else {
             return new PrefixKeyLookuper(
                     tableInfo, schemaGetter, metadataUpdater, lookupClient, lookupColumnNames);
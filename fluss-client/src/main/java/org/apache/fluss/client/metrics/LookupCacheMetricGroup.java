@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.metrics;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.client.lookup.LookupCache;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.metrics.CharacterFilter;
+import org.apache.fluss.metrics.Counter;
+import org.apache.fluss.metrics.MetricNames;
+import org.apache.fluss.metrics.ThreadSafeSimpleCounter;
+import org.apache.fluss.metrics.groups.AbstractMetricGroup;
+import org.apache.fluss.rpc.metrics.ClientMetricGroup;
+
+import java.util.Map;
+
+import static org.apache.fluss.metrics.utils.MetricGroupUtils.makeScope;
+
+/** The metric group for {@link LookupCache}. */
+@Internal
+public class LookupCacheMetricGroup extends AbstractMetricGroup {
+
+    private static final String NAME = "lookup";
+
+    private final TablePath tablePath;
+
+    private final Counter hitCount;
+    private final Counter missCount;
+    private final Counter evictionCount;
+
+    public LookupCacheMetricGroup(ClientMetricGroup parent, TablePath tablePath) {
+        super(parent.getMetricRegistry(), makeScope(parent, NAME), parent);
+        this.tablePath = tablePath;
+
+        hitCount = counter(MetricNames.LOOKUP_CACHE_HIT_TOTAL, new ThreadSafeSimpleCounter());
+        missCount = counter(MetricNames.LOOKUP_CACHE_MISS_TOTAL, new ThreadSafeSimpleCounter());
+        evictionCount =
+                counter(MetricNames.LOOKUP_CACHE_EVICTION_TOTAL, new ThreadSafeSimpleCounter());
+    }
+
+    public Counter hitCount() {
+        return hitCount;
+    }
+
+    public Counter missCount() {
+        return missCount;
+    }
+
+    public Counter evictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    protected String getGroupName(CharacterFilter filter) {
+        return NAME;
+    }
+
+    @Override
+    protected final void putVariables(Map<String, String> variables) {
+        variables.put("database", tablePath.getDatabaseName());
+        variables.put("table", tablePath.getTableName());
+    }
+}
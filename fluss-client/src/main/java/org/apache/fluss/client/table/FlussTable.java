@@ -19,18 +19,35 @@ package org.apache.fluss.client.table;
 
 import org.apache.fluss.annotation.PublicEvolving;
 import org.apache.fluss.client.FlussConnection;
+import org.apache.fluss.client.admin.OffsetSpec;
 import org.apache.fluss.client.lookup.Lookup;
+import org.apache.fluss.client.lookup.LookupCache;
+import org.apache.fluss.client.lookup.LookupCacheInvalidator;
 import org.apache.fluss.client.lookup.TableLookup;
 import org.apache.fluss.client.metadata.ClientSchemaGetter;
 import org.apache.fluss.client.table.scanner.Scan;
 import org.apache.fluss.client.table.scanner.TableScan;
+import org.apache.fluss.client.table.scanner.log.LogScanner;
 import org.apache.fluss.client.table.writer.Append;
 import org.apache.fluss.client.table.writer.TableAppend;
 import org.apache.fluss.client.table.writer.TableUpsert;
 import org.apache.fluss.client.table.writer.Upsert;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.metadata.SchemaGetter;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.utils.ExceptionUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.apache.fluss.utils.Preconditions.checkState;
 
@@ -42,12 +59,18 @@ import static org.apache.fluss.utils.Preconditions.checkState;
 @PublicEvolving
 public class FlussTable implements Table {
 
+    private static final Logger LOG = LoggerFactory.getLogger(FlussTable.class);
+
     private final FlussConnection conn;
     private final TablePath tablePath;
     private final TableInfo tableInfo;
     private final boolean hasPrimaryKey;
     private final SchemaGetter schemaGetter;
 
+    private volatile boolean lookupCacheInitialized;
+    @Nullable private LookupCache lookupCache;
+    @Nullable private LookupCacheInvalidator lookupCacheInvalidator;
+
     public FlussTable(FlussConnection conn, TablePath tablePath, TableInfo tableInfo) {
         this.conn = conn;
         this.tablePath = tablePath;
@@ -70,7 +93,75 @@ public class FlussTable implements Table {
     @Override
     public Lookup newLookup() {
         return new TableLookup(
-                tableInfo, schemaGetter, conn.getMetadataUpdater(), conn.getOrCreateLookupClient());
+                tableInfo,
+                schemaGetter,
+                conn.getMetadataUpdater(),
+                conn.getOrCreateLookupClient(),
+                getOrCreateLookupCache());
+    }
+
+    /**
+     * Gets or creates the lookup cache shared by the lookupers of this table, returns null if the
+     * cache is disabled.
+     */
+    @Nullable
+    private LookupCache getOrCreateLookupCache() {
+        if (!hasPrimaryKey) {
+            return null;
+        }
+        if (!lookupCacheInitialized) {
+            synchronized (this) {
+                if (!lookupCacheInitialized) {
+                    lookupCache =
+                            LookupCache.create(
+                                    conn.getConfiguration(),
+                                    conn.getClientMetricGroup(),
+                                    tablePath);
+                    if (lookupCache != null
+                            && conn.getConfiguration()
+                                    .get(
+                                            ConfigOptions
+                                                    .CLIENT_LOOKUP_CACHE_CHANGELOG_INVALIDATION_ENABLED)) {
+                        startLookupCacheInvalidator(lookupCache);
+                    }
+                    lookupCacheInitialized = true;
+                }
+            }
+        }
+        return lookupCache;
+    }
+
+    private void startLookupCacheInvalidator(LookupCache lookupCache) {
+        if (tableInfo.isPartitioned()) {
+            LOG.warn(
+                    "The changelog invalidation of lookup cache is not supported for partitioned "
+                            + "table {}, the cached results only expire after '{}'.",
+                    tablePath,
+                    ConfigOptions.CLIENT_LOOKUP_CACHE_EXPIRE_AFTER_WRITE.key());
+            return;
+        }
+        List<Integer> buckets =
+                IntStream.range(0, tableInfo.getNumBuckets()).boxed().collect(Collectors.toList());
+        Map<Integer, Long> endOffsets;
+        try {
+            // all the changes after the end offsets must be observed by the invalidator, as the
+            // cached results are fetched afterwards
+            endOffsets =
+                    conn.getAdmin()
+                            .listOffsets(tablePath, buckets, new OffsetSpec.LatestSpec())
+                            .all()
+                            .get();
+        } catch (Exception e) {
+            lookupCache.close();
+            throw new FlussRuntimeException(
+                    "Failed to list the end offsets of table "
+                            + tablePath
+                            + " to start the lookup cache invalidator.",
+                    ExceptionUtils.stripExecutionException(e));
+        }
+        LogScanner logScanner = newScan().project(tableInfo.getPrimaryKeys()).createLogScanner();
+        lookupCacheInvalidator = new LookupCacheInvalidator(tableInfo, lookupCache, logScanner);
+        lookupCacheInvalidator.start(endOffsets);
     }
 
     @Override
@@ -93,7 +184,14 @@ public class FlussTable implements Table {
 
     @Override
     public void close() throws Exception {
-        // do nothing
+        synchronized (this) {
+            if (lookupCacheInvalidator != null) {
+                lookupCacheInvalidator.close();
+            }
+            if (lookupCache != null) {
+                lookupCache.close();
+            }
+        }
         schemaGetter.release();
     }
 }
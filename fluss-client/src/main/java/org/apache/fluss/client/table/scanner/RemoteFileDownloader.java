@@ -26,6 +26,7 @@ import org.apache.fluss.fs.utils.FileDownloadUtils;
 import org.apache.fluss.utils.CloseableRegistry;
 import org.apache.fluss.utils.IOUtils;
 import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
+import org.apache.fluss.utils.function.FunctionWithException;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -106,6 +107,43 @@ public class RemoteFileDownloader implements Closeable {
         }
     }
 
+    /**
+     * Reads the remote file from the given position asynchronously, returns a Future object of the
+     * result of the given reader. The reader is given the input stream of the remote file which is
+     * positioned at the given position, and reads as many bytes as it needs, so only the read range
+     * of the file is transferred from the remote storage.
+     */
+    public <T> CompletableFuture<T> readFileAsync(
+            FsPath remoteFilePath,
+            long position,
+            FunctionWithException<FSDataInputStream, T, IOException> reader) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        downloadThreadPool.submit(
+                () -> {
+                    try {
+                        future.complete(readFile(remoteFilePath, position, reader));
+                    } catch (Exception e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+        return future;
+    }
+
+    /** Reads the remote file from the given position with the given reader. */
+    protected <T> T readFile(
+            FsPath remoteFilePath,
+            long position,
+            FunctionWithException<FSDataInputStream, T, IOException> reader)
+            throws IOException {
+        FileSystem fileSystem = remoteFilePath.getFileSystem();
+        try (FSDataInputStream inputStream = fileSystem.open(remoteFilePath)) {
+            if (position > 0) {
+                inputStream.seek(position);
+            }
+            return reader.apply(inputStream);
+        }
+    }
+
     @Override
     public void close() throws IOException {
         downloadThreadPool.shutdownNow();
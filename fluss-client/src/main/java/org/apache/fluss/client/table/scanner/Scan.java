@@ -17,11 +17,13 @@
 
 package org.apache.fluss.client.table.scanner;
 
+import org.apache.fluss.aggregate.AggregateCall;
 import org.apache.fluss.annotation.PublicEvolving;
 import org.apache.fluss.client.table.scanner.batch.BatchScanner;
 import org.apache.fluss.client.table.scanner.log.LogScanner;
 import org.apache.fluss.client.table.scanner.log.TypedLogScanner;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.predicate.Predicate;
 
 import javax.annotation.Nullable;
 
@@ -59,6 +61,37 @@ public interface Scan {
      */
     Scan limit(int rowNumber);
 
+    /**
+     * Returns a new scan from this that pushes down the given filter to the server. The server
+     * skips the log record batches whose statistics prove that none of their records can match the
+     * filter, see {@code table.log.arrow.statistics.enabled}.
+     *
+     * <p>Note: the filter is only a hint evaluated on the batch level, the returned records may
+     * still contain records that don't match the filter. The field indexes of the filter refer to
+     * the current table schema (not the projected columns).
+     *
+     * @param filter the filter predicate, no filter if is null
+     */
+    Scan filter(@Nullable Predicate filter);
+
+    /**
+     * Returns a new scan from this that evaluates the given aggregate calls grouped by the given
+     * columns on the tablet servers. The {@link BatchScanner} created by {@link
+     * #createBatchScanner(TableBucket)} returns the aggregate result of the bucket instead of the
+     * rows, each result row consists of the group by columns followed by the results of the
+     * aggregate calls.
+     *
+     * <p>Note: the results of different buckets are partial results of the table, which should be
+     * merged by the caller. The column indexes refer to the current table schema. This API doesn't
+     * support pre-configured with {@link #project}, {@link #limit(int)} and {@link
+     * #filter(Predicate)}.
+     *
+     * @param groupByColumns the indexes of the columns to group by
+     * @param aggregateCalls the aggregate calls to evaluate
+     * @since 0.9
+     */
+    Scan aggregate(int[] groupByColumns, List<AggregateCall> aggregateCalls);
+
     /**
      * Creates a {@link LogScanner} to continuously read log data for this scan.
      *
@@ -76,7 +109,8 @@ public interface Scan {
     /**
      * Creates a {@link BatchScanner} to read current data in the given table bucket for this scan.
      *
-     * <p>Note: this API doesn't support pre-configured with {@link #project}.
+     * <p>Note: this API is only available when {@link #limit(int)} or {@link #aggregate} is
+     * configured, and doesn't support pre-configured with {@link #filter(Predicate)}.
      */
     BatchScanner createBatchScanner(TableBucket tableBucket);
 
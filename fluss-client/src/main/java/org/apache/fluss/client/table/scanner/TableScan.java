@@ -17,9 +17,11 @@
 
 package org.apache.fluss.client.table.scanner;
 
+import org.apache.fluss.aggregate.AggregateCall;
 import org.apache.fluss.client.FlussConnection;
 import org.apache.fluss.client.admin.Admin;
 import org.apache.fluss.client.metadata.KvSnapshotMetadata;
+import org.apache.fluss.client.table.scanner.batch.AggregateBatchScanner;
 import org.apache.fluss.client.table.scanner.batch.BatchScanner;
 import org.apache.fluss.client.table.scanner.batch.KvSnapshotBatchScanner;
 import org.apache.fluss.client.table.scanner.batch.LimitBatchScanner;
@@ -32,6 +34,7 @@ import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.metadata.SchemaGetter;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.predicate.Predicate;
 import org.apache.fluss.types.RowType;
 
 import javax.annotation.Nullable;
@@ -49,9 +52,15 @@ public class TableScan implements Scan {
     @Nullable private final int[] projectedColumns;
     /** The limited row number to read. No limit if is null. */
     @Nullable private final Integer limit;
+    /** The filter to push down to the server. No filter if is null. */
+    @Nullable private final Predicate filter;
+    /** The group by columns of the aggregate to push down. No aggregate if is null. */
+    @Nullable private final int[] groupByColumns;
+    /** The aggregate calls to push down. No aggregate if is null. */
+    @Nullable private final List<AggregateCall> aggregateCalls;
 
     public TableScan(FlussConnection conn, TableInfo tableInfo, SchemaGetter schemaGetter) {
-        this(conn, tableInfo, schemaGetter, null, null);
+        this(conn, tableInfo, schemaGetter, null, null, null, null, null);
     }
 
     private TableScan(
@@ -59,17 +68,31 @@ public class TableScan implements Scan {
             TableInfo tableInfo,
             SchemaGetter schemaGetter,
             @Nullable int[] projectedColumns,
-            @Nullable Integer limit) {
+            @Nullable Integer limit,
+            @Nullable Predicate filter,
+            @Nullable int[] groupByColumns,
+            @Nullable List<AggregateCall> aggregateCalls) {
         this.conn = conn;
         this.tableInfo = tableInfo;
         this.projectedColumns = projectedColumns;
         this.limit = limit;
+        this.filter = filter;
+        this.groupByColumns = groupByColumns;
+        this.aggregateCalls = aggregateCalls;
         this.schemaGetter = schemaGetter;
     }
 
     @Override
     public Scan project(@Nullable int[] projectedColumns) {
-        return new TableScan(conn, tableInfo, schemaGetter, projectedColumns, limit);
+        return new TableScan(
+                conn,
+                tableInfo,
+                schemaGetter,
+                projectedColumns,
+                limit,
+                filter,
+                groupByColumns,
+                aggregateCalls);
     }
 
     @Override
@@ -88,12 +111,54 @@ public class TableScan implements Scan {
             }
             columnIndexes[i] = index;
         }
-        return new TableScan(conn, tableInfo, schemaGetter, columnIndexes, limit);
+        return new TableScan(
+                conn,
+                tableInfo,
+                schemaGetter,
+                columnIndexes,
+                limit,
+                filter,
+                groupByColumns,
+                aggregateCalls);
     }
 
     @Override
     public Scan limit(int rowNumber) {
-        return new TableScan(conn, tableInfo, schemaGetter, projectedColumns, rowNumber);
+        return new TableScan(
+                conn,
+                tableInfo,
+                schemaGetter,
+                projectedColumns,
+                rowNumber,
+                filter,
+                groupByColumns,
+                aggregateCalls);
+    }
+
+    @Override
+    public Scan filter(@Nullable Predicate filter) {
+        return new TableScan(
+                conn,
+                tableInfo,
+                schemaGetter,
+                projectedColumns,
+                limit,
+                filter,
+                groupByColumns,
+                aggregateCalls);
+    }
+
+    @Override
+    public Scan aggregate(int[] groupByColumns, List<AggregateCall> aggregateCalls) {
+        return new TableScan(
+                conn,
+                tableInfo,
+                schemaGetter,
+                projectedColumns,
+                limit,
+                filter,
+                groupByColumns,
+                aggregateCalls);
     }
 
     @Override
@@ -112,6 +177,7 @@ public class TableScan implements Scan {
                 conn.getClientMetricGroup(),
                 conn.getOrCreateRemoteFileDownloader(),
                 projectedColumns,
+                filter,
                 schemaGetter);
     }
 
@@ -123,6 +189,22 @@ public class TableScan implements Scan {
 
     @Override
     public BatchScanner createBatchScanner(TableBucket tableBucket) {
+        if (aggregateCalls != null) {
+            if (projectedColumns != null || limit != null || filter != null) {
+                throw new UnsupportedOperationException(
+                        String.format(
+                                "AggregateBatchScanner doesn't support projection, limit and filter pushdown. Table: %s, bucket: %s",
+                                tableInfo.getTablePath(), tableBucket));
+            }
+            return new AggregateBatchScanner(
+                    tableInfo,
+                    tableBucket,
+                    conn.getMetadataUpdater(),
+                    groupByColumns,
+                    aggregateCalls,
+                    // reads the log data which isn't aggregated by the server
+                    () -> new TableScan(conn, tableInfo, schemaGetter).createLogScanner());
+        }
         if (limit == null) {
             throw new UnsupportedOperationException(
                     String.format(
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.table.scanner.batch;
+
+import org.apache.fluss.aggregate.AggregateCall;
+import org.apache.fluss.aggregate.GroupAggregator;
+import org.apache.fluss.client.metadata.MetadataUpdater;
+import org.apache.fluss.client.table.scanner.ScanRecord;
+import org.apache.fluss.client.table.scanner.log.LogScanner;
+import org.apache.fluss.client.table.scanner.log.ScanRecords;
+import org.apache.fluss.exception.LeaderNotAvailableException;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.rpc.gateway.TabletServerGateway;
+import org.apache.fluss.rpc.messages.AggregateScanRequest;
+import org.apache.fluss.rpc.messages.AggregateScanResponse;
+import org.apache.fluss.rpc.messages.PbAggregateCall;
+import org.apache.fluss.rpc.protocol.ApiError;
+import org.apache.fluss.utils.CloseableIterator;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * A {@link BatchScanner} implementation that evaluates grouped aggregates over all the rows of a
+ * table bucket on the tablet server, see {@link
+ * org.apache.fluss.client.table.scanner.Scan#aggregate}.
+ *
+ * <p>The scanner returns the aggregate result of the bucket, each row consists of the group by
+ * columns followed by the results of the aggregate calls. The results of different buckets are
+ * partial results of the table, which should be merged by a {@link GroupAggregator}.
+ *
+ * <p>If some log data of a log table bucket has been moved to the remote storage, the server only
+ * aggregates the local log data, and the scanner reads and aggregates the remaining remote log data
+ * by a {@link LogScanner}.
+ */
+public class AggregateBatchScanner implements BatchScanner {
+
+    private final TableBucket tableBucket;
+    private final GroupAggregator aggregator;
+    private final Supplier<LogScanner> logScannerSupplier;
+    private final CompletableFuture<AggregateScanResponse> scanFuture;
+
+    /** The scanner to aggregate the log data which isn't aggregated by the server. */
+    @Nullable private LogScanner logScanner;
+
+    private long unaggregatedEndOffset = -1;
+    private boolean endOfInput;
+
+    public AggregateBatchScanner(
+            TableInfo tableInfo,
+            TableBucket tableBucket,
+            MetadataUpdater metadataUpdater,
+            int[] groupBy,
+            List<AggregateCall> aggregateCalls,
+            Supplier<LogScanner> logScannerSupplier) {
+        this.tableBucket = tableBucket;
+        this.aggregator = new GroupAggregator(tableInfo.getRowType(), groupBy, aggregateCalls);
+        this.logScannerSupplier = logScannerSupplier;
+
+        AggregateScanRequest request =
+                new AggregateScanRequest()
+                        .setTableId(tableBucket.getTableId())
+                        .setBucketId(tableBucket.getBucket())
+                        .setGroupByColumns(groupBy);
+        for (AggregateCall call : aggregateCalls) {
+            PbAggregateCall pbAggregateCall =
+                    request.addAggregateCall().setFunction(call.getFunction().ordinal());
+            if (call.getColumn() != null) {
+                pbAggregateCall.setColumn(call.getColumn());
+            }
+        }
+        if (tableBucket.getPartitionId() != null) {
+            request.setPartitionId(tableBucket.getPartitionId());
+            metadataUpdater.checkAndUpdateMetadata(tableInfo.getTablePath(), tableBucket);
+        }
+
+        int leader = metadataUpdater.leaderFor(tableInfo.getTablePath(), tableBucket);
+        TabletServerGateway gateway = metadataUpdater.newTabletServerClientForNode(leader);
+        if (gateway == null) {
+            throw new LeaderNotAvailableException(
+                    "Server " + leader + " is not found in metadata cache.");
+        }
+        this.scanFuture = gateway.aggregateScan(request);
+        this.endOfInput = false;
+    }
+
+    @Nullable
+    @Override
+    public CloseableIterator<InternalRow> pollBatch(Duration timeout) throws IOException {
+        if (endOfInput) {
+            return null;
+        }
+        try {
+            if (logScanner == null) {
+                AggregateScanResponse response =
+                        scanFuture.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+                if (response.hasErrorCode()) {
+                    throw ApiError.fromErrorMessage(response).exception();
+                }
+                for (int i = 0; i < response.getRowsCount(); i++) {
+                    aggregator.mergeSerialized(response.getRowAt(i));
+                }
+                if (!response.hasUnaggregatedEndOffset()) {
+                    return finish();
+                }
+                unaggregatedEndOffset = response.getUnaggregatedEndOffset();
+                logScanner = logScannerSupplier.get();
+                if (tableBucket.getPartitionId() != null) {
+                    logScanner.subscribeFromBeginning(
+                            tableBucket.getPartitionId(), tableBucket.getBucket());
+                } else {
+                    logScanner.subscribeFromBeginning(tableBucket.getBucket());
+                }
+            }
+            return pollUnaggregatedLog(timeout);
+        } catch (TimeoutException e) {
+            // poll next time
+            return CloseableIterator.emptyIterator();
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    private CloseableIterator<InternalRow> pollUnaggregatedLog(Duration timeout) {
+        ScanRecords scanRecords = logScanner.poll(timeout);
+        for (ScanRecord record : scanRecords.records(tableBucket)) {
+            if (record.logOffset() >= unaggregatedEndOffset) {
+                return finish();
+            }
+            aggregator.add(record.getRow());
+            if (record.logOffset() == unaggregatedEndOffset - 1) {
+                return finish();
+            }
+        }
+        return CloseableIterator.emptyIterator();
+    }
+
+    private CloseableIterator<InternalRow> finish() {
+        endOfInput = true;
+        return CloseableIterator.wrap(aggregator.getResult().iterator());
+    }
+
+    @Override
+    public void close() throws IOException {
+        scanFuture.cancel(true);
+        if (logScanner != null) {
+            try {
+                logScanner.close();
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.fluss.client.table.scanner.ScanRecord;
 import org.apache.fluss.exception.CorruptRecordException;
 import org.apache.fluss.exception.FetchException;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.record.ColumnarBatch;
 import org.apache.fluss.record.LogRecord;
 import org.apache.fluss.record.LogRecordBatch;
 import org.apache.fluss.record.LogRecordReadContext;
@@ -34,6 +35,8 @@ import org.apache.fluss.utils.CloseableIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -195,6 +198,97 @@ abstract class CompletedFetch {
         return scanRecords;
     }
 
+    /**
+     * The {@link LogRecordBatch batches} are converted to a {@link List list} of {@link
+     * ColumnarBatch columnar batches} and returned, without materializing the records.
+     *
+     * <p>Batches are returned as a whole, so the number of returned records may exceed {@code
+     * maxRecords} by the size of the last returned batch.
+     *
+     * @param maxRecords The number of records to return, at least one batch is returned if there is
+     *     any remaining batch
+     * @return {@link ColumnarBatch columnar batches}, the caller is responsible for closing them
+     */
+    public List<ColumnarBatch> fetchBatches(int maxRecords) {
+        if (corruptLastRecord) {
+            throw new FetchException(
+                    "Received exception when fetching the next record from "
+                            + tableBucket
+                            + ". If needed, please back to past the record to continue scanning.",
+                    cachedRecordException);
+        }
+
+        if (isConsumed) {
+            return Collections.emptyList();
+        }
+
+        List<ColumnarBatch> columnarBatches = new ArrayList<>();
+        int recordsFetched = 0;
+        try {
+            // the current batch may be partially consumed by #fetchRecords
+            LogRecordBatch batch = records != null ? currentBatch : null;
+            maybeCloseRecordStream();
+            while (recordsFetched < maxRecords) {
+                if (batch == null) {
+                    if (!batches.hasNext()) {
+                        if (currentBatch != null) {
+                            nextFetchOffset = currentBatch.nextLogOffset();
+                        }
+                        drain();
+                        break;
+                    }
+                    currentBatch = batches.next();
+                    maybeEnsureValid(currentBatch);
+                    batch = currentBatch;
+                }
+
+                ColumnarBatch columnarBatch = toColumnarBatch(batch);
+                batch = null;
+                if (columnarBatch == null) {
+                    continue;
+                }
+                columnarBatches.add(columnarBatch);
+                recordsFetched += columnarBatch.getRowCount();
+                recordsRead += columnarBatch.getRowCount();
+                nextFetchOffset = columnarBatch.getNextLogOffset();
+            }
+        } catch (Exception e) {
+            // the failed batch can't be skipped, fail the next fetch as well
+            corruptLastRecord = true;
+            cachedRecordException = e;
+            if (columnarBatches.isEmpty()) {
+                throw new FetchException(
+                        "Received exception when fetching the next record from "
+                                + tableBucket
+                                + ". If needed, please back to past the record to continue scanning.",
+                        e);
+            }
+        }
+        return columnarBatches;
+    }
+
+    /**
+     * Converts the records of the batch that are not consumed yet to a {@link ColumnarBatch}, or
+     * returns null if all the records have been consumed.
+     */
+    private @Nullable ColumnarBatch toColumnarBatch(LogRecordBatch batch) {
+        if (batch.nextLogOffset() <= nextFetchOffset || batch.getRecordCount() == 0) {
+            return null;
+        }
+        ColumnarBatch columnarBatch = batch.columnarBatch(readContext);
+        try {
+            // skip any records out of range.
+            long skipped = nextFetchOffset - columnarBatch.getBaseLogOffset();
+            if (skipped > 0) {
+                columnarBatch = columnarBatch.slice((int) skipped);
+            }
+            return columnarBatch.project(readContext.getSelectedFields());
+        } catch (Exception e) {
+            columnarBatch.close();
+            throw e;
+        }
+    }
+
     private LogRecord nextFetchedRecord() throws Exception {
         while (true) {
             if (records == null || !records.hasNext()) {
@@ -111,7 +111,9 @@ public class LogFetchBuffer implements AutoCloseable {
                         if (pendingFetch.isCompleted()) {
                             CompletedFetch completedFetch = pendingFetch.toCompletedFetch();
                             completedFetches.add(completedFetch);
-                            pendings.poll();
+                            if (!pendingFetch.hasMoreFetches()) {
+                                pendings.poll();
+                            }
                             hasCompleted = true;
                         } else {
                             break;
@@ -226,8 +228,37 @@ public class LogFetchBuffer implements AutoCloseable {
                         nextInLineFetch = null;
                     }
 
-                    // remove entries that not matches the buckets from pendingFetches
-                    pendingFetches.entrySet().removeIf(entry -> !buckets.contains(entry.getKey()));
+                    // remove and cancel entries that not matches the buckets from pendingFetches
+                    pendingFetches
+                            .entrySet()
+                            .removeIf(
+                                    entry -> {
+                                        if (buckets.contains(entry.getKey())) {
+                                            return false;
+                                        }
+                                        entry.getValue().forEach(PendingFetch::cancel);
+                                        return true;
+                                    });
+                });
+    }
+
+    /**
+     * Removes and cancels the {@link PendingFetch pending fetches} of the given bucket, e.g., stops
+     * downloading the remote log segments of the bucket which has been unsubscribed or whose fetch
+     * offset has been changed.
+     */
+    void cancelPendingFetches(TableBucket tableBucket) {
+        inLock(
+                lock,
+                () -> {
+                    LinkedList<PendingFetch> pendings = pendingFetches.remove(tableBucket);
+                    if (pendings != null) {
+                        LOG.debug(
+                                "Cancelling {} pending fetches of bucket {}.",
+                                pendings.size(),
+                                tableBucket);
+                        pendings.forEach(PendingFetch::cancel);
+                    }
                 });
     }
 
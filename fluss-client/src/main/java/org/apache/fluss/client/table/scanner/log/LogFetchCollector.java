@@ -27,6 +27,7 @@ import org.apache.fluss.exception.FetchException;
 import org.apache.fluss.exception.LogOffsetOutOfRangeException;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.record.ColumnarBatch;
 import org.apache.fluss.record.LogRecord;
 import org.apache.fluss.record.LogRecordBatch;
 import org.apache.fluss.rpc.protocol.ApiError;
@@ -43,6 +44,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
 
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
  * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
@@ -84,7 +87,47 @@ public class LogFetchCollector {
      *     the defaultResetPolicy is NONE
      */
     public Map<TableBucket, List<ScanRecord>> collectFetch(final LogFetchBuffer logFetchBuffer) {
-        Map<TableBucket, List<ScanRecord>> fetched = new HashMap<>();
+        return collect(logFetchBuffer, CompletedFetch::fetchRecords, List::size, new HashMap<>());
+    }
+
+    /**
+     * Return the fetched log records as {@link ColumnarBatch columnar batches}, empty the record
+     * buffer and update the consumed position. The caller is responsible for closing the returned
+     * batches.
+     *
+     * <p>NOTE: returning empty batches guarantees the consumed position are NOT updated.
+     *
+     * @return The fetched batches per partition
+     * @throws LogOffsetOutOfRangeException If there is OffsetOutOfRange error in fetchResponse and
+     *     the defaultResetPolicy is NONE
+     */
+    public Map<TableBucket, List<ColumnarBatch>> collectBatches(
+            final LogFetchBuffer logFetchBuffer) {
+        Map<TableBucket, List<ColumnarBatch>> fetched = new HashMap<>();
+        try {
+            return collect(
+                    logFetchBuffer,
+                    CompletedFetch::fetchBatches,
+                    batches -> {
+                        int count = 0;
+                        for (ColumnarBatch batch : batches) {
+                            count += batch.getRowCount();
+                        }
+                        return count;
+                    },
+                    fetched);
+        } catch (RuntimeException e) {
+            // release the batches that are not returned
+            fetched.values().forEach(batches -> batches.forEach(ColumnarBatch::close));
+            throw e;
+        }
+    }
+
+    private <T> Map<TableBucket, List<T>> collect(
+            final LogFetchBuffer logFetchBuffer,
+            BiFunction<CompletedFetch, Integer, List<T>> fetchFunction,
+            ToIntFunction<List<T>> recordCounter,
+            Map<TableBucket, List<T>> fetched) {
         int recordsRemaining = maxPollRecords;
 
         try {
@@ -115,10 +158,11 @@ public class LogFetchCollector {
 
                     logFetchBuffer.poll();
                 } else {
-                    List<ScanRecord> records = fetchRecords(nextInLineFetch, recordsRemaining);
+                    List<T> records =
+                            fetchRecords(nextInLineFetch, recordsRemaining, fetchFunction);
                     if (!records.isEmpty()) {
                         TableBucket tableBucket = nextInLineFetch.tableBucket;
-                        List<ScanRecord> currentRecords = fetched.get(tableBucket);
+                        List<T> currentRecords = fetched.get(tableBucket);
                         if (currentRecords == null) {
                             fetched.put(tableBucket, records);
                         } else {
@@ -126,14 +170,14 @@ public class LogFetchCollector {
                             // a time per bucket, but it might conceivably happen in some rare
                             // cases (such as bucket leader changes). we have to copy to a new list
                             // because the old one may be immutable
-                            List<ScanRecord> newScanRecords =
+                            List<T> newScanRecords =
                                     new ArrayList<>(records.size() + currentRecords.size());
                             newScanRecords.addAll(currentRecords);
                             newScanRecords.addAll(records);
                             fetched.put(tableBucket, newScanRecords);
                         }
 
-                        recordsRemaining -= records.size();
+                        recordsRemaining -= recordCounter.applyAsInt(records);
                     }
                 }
             }
@@ -146,7 +190,10 @@ public class LogFetchCollector {
         return fetched;
     }
 
-    private List<ScanRecord> fetchRecords(CompletedFetch nextInLineFetch, int maxRecords) {
+    private <T> List<T> fetchRecords(
+            CompletedFetch nextInLineFetch,
+            int maxRecords,
+            BiFunction<CompletedFetch, Integer, List<T>> fetchFunction) {
         TableBucket tb = nextInLineFetch.tableBucket;
         Long offset = logScannerStatus.getBucketOffset(tb);
         if (offset == null) {
@@ -157,7 +204,7 @@ public class LogFetchCollector {
                     nextInLineFetch.nextFetchOffset());
         } else {
             if (nextInLineFetch.nextFetchOffset() == offset) {
-                List<ScanRecord> records = nextInLineFetch.fetchRecords(maxRecords);
+                List<T> records = fetchFunction.apply(nextInLineFetch, maxRecords);
                 LOG.trace(
                         "Returning {} fetched records at offset {} for assigned bucket {}.",
                         records.size(),
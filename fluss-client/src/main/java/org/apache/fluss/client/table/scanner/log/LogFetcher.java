@@ -24,6 +24,8 @@ import org.apache.fluss.client.metrics.ScannerMetricGroup;
 import org.apache.fluss.client.table.scanner.RemoteFileDownloader;
 import org.apache.fluss.client.table.scanner.ScanRecord;
 import org.apache.fluss.cluster.BucketLocation;
+import org.apache.fluss.cluster.ServerNode;
+import org.apache.fluss.compression.ArrowCompressionInfo;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.ApiException;
@@ -37,9 +39,13 @@ import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePartition;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.record.ColumnarBatch;
+import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.record.ProjectionPushdownCache;
 import org.apache.fluss.remote.RemoteLogFetchInfo;
 import org.apache.fluss.remote.RemoteLogSegment;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
@@ -53,6 +59,7 @@ import org.apache.fluss.rpc.messages.PbFetchLogRespForTable;
 import org.apache.fluss.rpc.protocol.ApiError;
 import org.apache.fluss.rpc.protocol.Errors;
 import org.apache.fluss.utils.IOUtils;
+import org.apache.fluss.utils.MapUtils;
 import org.apache.fluss.utils.Projection;
 
 import org.slf4j.Logger;
@@ -71,9 +78,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.getFetchLogResultForBucket;
+import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toPbPredicate;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
 
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
@@ -85,14 +94,20 @@ import static org.apache.fluss.utils.Preconditions.checkNotNull;
 public class LogFetcher implements Closeable {
     private static final Logger LOG = LoggerFactory.getLogger(LogFetcher.class);
 
+    /**
+     * The time to fetch a bucket from the leader after the fetch from a follower of the bucket
+     * failed, e.g., the follower lags behind the leader.
+     */
+    private static final long FOLLOWER_FETCH_BACKOFF_MS = 30_000L;
+
     private final TablePath tablePath;
     private final boolean isPartitioned;
     private final LogRecordReadContext readContext;
-    // TODO this context can be merge with readContext. Introduce it only because log remote read
-    //  currently can only do project when generate scanRecord instead of doing project while read
-    //  bytes from remote file.
-    private final LogRecordReadContext remoteReadContext;
     @Nullable private final Projection projection;
+    /** The filter pushed down to the server, the field indexes refer to the table schema. */
+    @Nullable private final Predicate filter;
+
+    private final int schemaId;
     private final int maxFetchBytes;
     private final int maxBucketFetchBytes;
     private final int minFetchBytes;
@@ -103,6 +118,12 @@ public class LogFetcher implements Closeable {
     private final LogFetchCollector logFetchCollector;
     private final RemoteLogDownloader remoteLogDownloader;
 
+    /** The rack of the client to fetch from the replicas in the same rack, null if not set. */
+    @Nullable private final String clientRack;
+
+    /** The buckets to fetch from the leader until the time since the fetch from follower failed. */
+    private final Map<TableBucket, Long> followerFetchBackoffs;
+
     @GuardedBy("this")
     private final Set<Integer> nodesWithPendingFetchRequests;
 
@@ -121,13 +142,35 @@ public class LogFetcher implements Closeable {
             ScannerMetricGroup scannerMetricGroup,
             RemoteFileDownloader remoteFileDownloader,
             SchemaGetter schemaGetter) {
+        this(
+                tableInfo,
+                projection,
+                null,
+                logScannerStatus,
+                conf,
+                metadataUpdater,
+                scannerMetricGroup,
+                remoteFileDownloader,
+                schemaGetter);
+    }
+
+    public LogFetcher(
+            TableInfo tableInfo,
+            @Nullable Projection projection,
+            @Nullable Predicate filter,
+            LogScannerStatus logScannerStatus,
+            Configuration conf,
+            MetadataUpdater metadataUpdater,
+            ScannerMetricGroup scannerMetricGroup,
+            RemoteFileDownloader remoteFileDownloader,
+            SchemaGetter schemaGetter) {
         this.tablePath = tableInfo.getTablePath();
         this.isPartitioned = tableInfo.isPartitioned();
         this.readContext =
                 LogRecordReadContext.createReadContext(tableInfo, false, projection, schemaGetter);
-        this.remoteReadContext =
-                LogRecordReadContext.createReadContext(tableInfo, true, projection, schemaGetter);
         this.projection = projection;
+        this.filter = filter;
+        this.schemaId = tableInfo.getSchemaId();
         this.logScannerStatus = logScannerStatus;
         this.maxFetchBytes =
                 (int) conf.get(ConfigOptions.CLIENT_SCANNER_LOG_FETCH_MAX_BYTES).getBytes();
@@ -141,6 +184,8 @@ public class LogFetcher implements Closeable {
                 (int) conf.get(ConfigOptions.CLIENT_SCANNER_LOG_FETCH_WAIT_MAX_TIME).toMillis();
 
         this.isCheckCrcs = conf.getBoolean(ConfigOptions.CLIENT_SCANNER_LOG_CHECK_CRC);
+        this.clientRack = conf.get(ConfigOptions.CLIENT_RACK);
+        this.followerFetchBackoffs = MapUtils.newConcurrentHashMap();
         this.logFetchBuffer = new LogFetchBuffer();
         this.nodesWithPendingFetchRequests = new HashSet<>();
         this.metadataUpdater = metadataUpdater;
@@ -148,7 +193,12 @@ public class LogFetcher implements Closeable {
                 new LogFetchCollector(tablePath, logScannerStatus, conf, metadataUpdater);
         this.scannerMetricGroup = scannerMetricGroup;
         this.remoteLogDownloader =
-                new RemoteLogDownloader(tablePath, conf, remoteFileDownloader, scannerMetricGroup);
+                new RemoteLogDownloader(
+                        tablePath,
+                        conf,
+                        remoteFileDownloader,
+                        scannerMetricGroup,
+                        createRemoteLogProjection(tableInfo, schemaGetter));
         remoteLogDownloader.start();
     }
 
@@ -165,6 +215,10 @@ public class LogFetcher implements Closeable {
         return logFetchCollector.collectFetch(logFetchBuffer);
     }
 
+    public Map<TableBucket, List<ColumnarBatch>> collectBatches() {
+        return logFetchCollector.collectBatches(logFetchBuffer);
+    }
+
     /**
      * Set up a fetch request for any node that we have assigned buckets for which doesn't already
      * have an in-flight fetch or pending fetch data.
@@ -198,6 +252,14 @@ public class LogFetcher implements Closeable {
         }
     }
 
+    /**
+     * Cancels the pending fetches of the bucket, including the downloads of its remote log
+     * segments, which are obsolete as the bucket is unsubscribed or its fetch offset is changed.
+     */
+    public void cancelPendingFetches(TableBucket tableBucket) {
+        logFetchBuffer.cancelPendingFetches(tableBucket);
+    }
+
     public void wakeup() {
         logFetchBuffer.wakeup();
     }
@@ -414,6 +476,16 @@ public class LogFetcher implements Closeable {
     private void handleFetchLogExceptionForBucket(TableBucket tb, int destination, ApiError error) {
         ApiException exception = error.error().exception();
         LOG.error("Failed to fetch log from node {} for bucket {}", destination, tb, exception);
+        Integer leader = getTableBucketLeader(tb);
+        if (clientRack != null && (leader == null || leader != destination)) {
+            LOG.info(
+                    "Fall back to fetch log from leader for bucket {} in the next {} ms as the "
+                            + "fetch from follower {} failed.",
+                    tb,
+                    FOLLOWER_FETCH_BACKOFF_MS,
+                    destination);
+            followerFetchBackoffs.put(tb, System.currentTimeMillis() + FOLLOWER_FETCH_BACKOFF_MS);
+        }
         if (exception instanceof InvalidMetadataException) {
             LOG.warn(
                     "Invalid metadata error in fetch log request. "
@@ -447,16 +519,17 @@ public class LogFetcher implements Closeable {
                 posInLogSegment = 0;
                 fetchOffset = segment.remoteLogStartOffset();
             }
+            // only the bytes from the fetch position are downloaded
             RemoteLogDownloadFuture downloadFuture =
-                    remoteLogDownloader.requestRemoteLog(remoteLogTabletDir, segment);
+                    remoteLogDownloader.requestRemoteLog(
+                            remoteLogTabletDir, segment, posInLogSegment);
             RemotePendingFetch pendingFetch =
                     new RemotePendingFetch(
                             segment,
                             downloadFuture,
-                            posInLogSegment,
                             fetchOffset,
                             highWatermark,
-                            remoteReadContext,
+                            readContext,
                             logScannerStatus,
                             isCheckCrcs);
             logFetchBuffer.pend(pendingFetch);
@@ -464,9 +537,33 @@ public class LogFetcher implements Closeable {
         }
     }
 
+    /**
+     * Creates the projection applied to the downloaded remote log, which is the same projection as
+     * pushed down to the server, or null if the projection is not pushed down.
+     */
+    private @Nullable Supplier<FileLogProjection> createRemoteLogProjection(
+            TableInfo tableInfo, SchemaGetter schemaGetter) {
+        if (!readContext.isProjectionPushDowned()) {
+            return null;
+        }
+        checkNotNull(projection);
+        long tableId = tableInfo.getTableId();
+        ArrowCompressionInfo compressionInfo = tableInfo.getTableConfig().getArrowCompressionInfo();
+        int[] projectedFields = projection.getProjectionInOrder();
+        ProjectionPushdownCache projectionCache = new ProjectionPushdownCache();
+        return () -> {
+            FileLogProjection fileLogProjection = new FileLogProjection(projectionCache);
+            fileLogProjection.setCurrentProjection(
+                    tableId, schemaGetter, compressionInfo, projectedFields);
+            return fileLogProjection;
+        };
+    }
+
     @VisibleForTesting
     Map<Integer, FetchLogRequest> prepareFetchLogRequests() {
         Map<Integer, List<PbFetchLogReqForBucket>> fetchLogReqForBuckets = new HashMap<>();
+        Set<Integer> nodesToReadFromFollower = new HashSet<>();
+        long currentTimeMs = System.currentTimeMillis();
         int readyForFetchCount = 0;
         Long tableId = null;
         for (TableBucket tb : fetchableBuckets()) {
@@ -482,19 +579,18 @@ public class LogFetcher implements Closeable {
                 continue;
             }
 
-            // TODO add select preferred read replica, currently we can only read from leader.
-
             Integer leader = getTableBucketLeader(tb);
+            Integer readReplica = leader == null ? null : selectReadReplica(tb, currentTimeMs);
             if (leader == null) {
                 LOG.trace(
                         "Skipping fetch request for bucket {} because leader is not available.",
                         tb);
-            } else if (nodesWithPendingFetchRequests.contains(leader)) {
+            } else if (nodesWithPendingFetchRequests.contains(readReplica)) {
                 LOG.trace(
                         "Skipping fetch request for bucket {} because previous request "
                                 + "to server {} has not been processed.",
                         tb,
-                        leader);
+                        readReplica);
             } else {
                 PbFetchLogReqForBucket fetchLogReqForBucket =
                         new PbFetchLogReqForBucket()
@@ -505,8 +601,11 @@ public class LogFetcher implements Closeable {
                     fetchLogReqForBucket.setPartitionId(tb.getPartitionId());
                 }
                 fetchLogReqForBuckets
-                        .computeIfAbsent(leader, key -> new ArrayList<>())
+                        .computeIfAbsent(readReplica, key -> new ArrayList<>())
                         .add(fetchLogReqForBucket);
+                if (!readReplica.equals(leader)) {
+                    nodesToReadFromFollower.add(readReplica);
+                }
                 readyForFetchCount++;
             }
         }
@@ -517,13 +616,16 @@ public class LogFetcher implements Closeable {
             Map<Integer, FetchLogRequest> fetchLogRequests = new HashMap<>();
             long finalTableId = tableId;
             fetchLogReqForBuckets.forEach(
-                    (leaderId, reqForBuckets) -> {
+                    (nodeId, reqForBuckets) -> {
                         FetchLogRequest fetchLogRequest =
                                 new FetchLogRequest()
                                         .setFollowerServerId(-1)
                                         .setMaxBytes(maxFetchBytes)
                                         .setMinBytes(minFetchBytes)
                                         .setMaxWaitMs(maxFetchWaitMs);
+                        if (nodesToReadFromFollower.contains(nodeId)) {
+                            fetchLogRequest.setReadFromFollower(true);
+                        }
                         PbFetchLogReqForTable reqForTable =
                                 new PbFetchLogReqForTable().setTableId(finalTableId);
                         if (readContext.isProjectionPushDowned()) {
@@ -534,9 +636,14 @@ public class LogFetcher implements Closeable {
                         } else {
                             reqForTable.setProjectionPushdownEnabled(false);
                         }
+                        if (filter != null) {
+                            reqForTable
+                                    .setFilter(toPbPredicate(filter))
+                                    .setFilterSchemaId(schemaId);
+                        }
                         reqForTable.addAllBucketsReqs(reqForBuckets);
                         fetchLogRequest.addAllTablesReqs(Collections.singletonList(reqForTable));
-                        fetchLogRequests.put(leaderId, fetchLogRequest);
+                        fetchLogRequests.put(nodeId, fetchLogRequest);
                     });
             return fetchLogRequests;
         }
@@ -565,13 +672,48 @@ public class LogFetcher implements Closeable {
         return null;
     }
 
+    /**
+     * Selects the replica to fetch the log of the bucket from. If the rack of the client is set,
+     * prefers the leader and then the followers in the same rack of the client, unless the fetch
+     * from follower of the bucket failed recently. Otherwise, the log is fetched from the leader.
+     */
+    private Integer selectReadReplica(TableBucket tableBucket, long currentTimeMs) {
+        BucketLocation bucketLocation = metadataUpdater.getBucketLocation(tableBucket).get();
+        Integer leader = bucketLocation.getLeader();
+        if (clientRack == null || clientRack.equals(getRack(leader))) {
+            return leader;
+        }
+
+        Long backoffDeadline = followerFetchBackoffs.get(tableBucket);
+        if (backoffDeadline != null) {
+            if (currentTimeMs < backoffDeadline) {
+                return leader;
+            }
+            followerFetchBackoffs.remove(tableBucket);
+        }
+
+        for (int replica : bucketLocation.getReplicas()) {
+            if (replica != leader && clientRack.equals(getRack(replica))) {
+                return replica;
+            }
+        }
+        return leader;
+    }
+
+    private @Nullable String getRack(int serverId) {
+        return metadataUpdater
+                .getCluster()
+                .getAliveTabletServerById(serverId)
+                .map(ServerNode::rack)
+                .orElse(null);
+    }
+
     @Override
     public synchronized void close() throws IOException {
         if (!isClosed) {
             IOUtils.closeQuietly(logFetchBuffer, "logFetchBuffer");
             IOUtils.closeQuietly(remoteLogDownloader, "remoteLogDownloader");
             readContext.close();
-            remoteReadContext.close();
             isClosed = true;
             LOG.info("Fetcher for {} is closed.", tablePath);
         }
@@ -18,6 +18,7 @@
 package org.apache.fluss.client.table.scanner.log;
 
 import org.apache.fluss.annotation.PublicEvolving;
+import org.apache.fluss.metadata.TableBucket;
 
 import java.time.Duration;
 
@@ -56,6 +57,47 @@ public interface LogScanner extends AutoCloseable {
      */
     ScanRecords poll(Duration timeout);
 
+    /**
+     * Poll log data from tablet server as columnar batches, which hands out the Arrow data of the
+     * fetched log batches directly instead of materializing a {@link
+     * org.apache.fluss.client.table.scanner.ScanRecord} per row. This is more efficient for
+     * analytical consumers which process the data column by column.
+     *
+     * <p>The poll shares the consumed offsets with {@link #poll(Duration)}. The returned batches
+     * hold Arrow memory, the caller must close the returned {@link ScanBatches} after use.
+     *
+     * <p>Only supported for tables with {@link org.apache.fluss.metadata.LogFormat#ARROW} log
+     * format.
+     *
+     * @param timeout the timeout to poll.
+     * @return the result of poll.
+     * @throws java.lang.IllegalStateException if the scanner is not subscribed to any buckets to
+     *     read from.
+     * @throws java.lang.UnsupportedOperationException if the log format of the table is not ARROW.
+     * @since 0.9
+     */
+    default ScanBatches pollBatches(Duration timeout) {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " doesn't support polling columnar batches.");
+    }
+
+    /**
+     * Returns the offset of the next record to poll from the given subscribed bucket. The position
+     * is pushed forward by the polls even if the fetched log batches don't return any record, e.g.,
+     * the batches skipped by the filter of the scan, so it can be used to check whether the bucket
+     * has been read up to an offset.
+     *
+     * @param tableBucket the subscribed table bucket.
+     * @return the offset of the next record to poll, which is {@link #EARLIEST_OFFSET} if the
+     *     bucket is subscribed from the beginning and nothing has been fetched from it yet.
+     * @throws java.lang.IllegalStateException if the bucket is not subscribed.
+     * @since 0.9
+     */
+    default long position(TableBucket tableBucket) {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " doesn't support getting the position of a bucket.");
+    }
+
     /**
      * Subscribe to the given table bucket in given offset dynamically. If the table bucket is
      * already subscribed, the offset will be updated.
@@ -21,13 +21,14 @@ import org.apache.fluss.annotation.PublicEvolving;
 import org.apache.fluss.client.metadata.MetadataUpdater;
 import org.apache.fluss.client.metrics.ScannerMetricGroup;
 import org.apache.fluss.client.table.scanner.RemoteFileDownloader;
-import org.apache.fluss.client.table.scanner.ScanRecord;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.WakeupException;
+import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.SchemaGetter;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.Predicate;
 import org.apache.fluss.rpc.metrics.ClientMetricGroup;
 import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.Projection;
@@ -45,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * The default impl of {@link LogScanner}.
@@ -66,6 +68,7 @@ public class LogScannerImpl implements LogScanner {
     private final LogFetcher logFetcher;
     private final long tableId;
     private final boolean isPartitionedTable;
+    private final LogFormat logFormat;
 
     private volatile boolean closed = false;
 
@@ -84,10 +87,12 @@ public class LogScannerImpl implements LogScanner {
             ClientMetricGroup clientMetricGroup,
             RemoteFileDownloader remoteFileDownloader,
             @Nullable int[] projectedFields,
+            @Nullable Predicate filter,
             SchemaGetter schemaGetter) {
         this.tablePath = tableInfo.getTablePath();
         this.tableId = tableInfo.getTableId();
         this.isPartitionedTable = tableInfo.isPartitioned();
+        this.logFormat = tableInfo.getTableConfig().getLogFormat();
         // add this table to metadata updater.
         metadataUpdater.checkAndUpdateTableMetadata(Collections.singleton(tablePath));
         this.logScannerStatus = new LogScannerStatus();
@@ -98,6 +103,7 @@ public class LogScannerImpl implements LogScanner {
                 new LogFetcher(
                         tableInfo,
                         projection,
+                        filter,
                         logScannerStatus,
                         conf,
                         metadataUpdater,
@@ -131,6 +137,25 @@ public class LogScannerImpl implements LogScanner {
 
     @Override
     public ScanRecords poll(Duration timeout) {
+        return new ScanRecords(poll(timeout, logFetcher::collectFetch));
+    }
+
+    @Override
+    public ScanBatches pollBatches(Duration timeout) {
+        if (logFormat != LogFormat.ARROW) {
+            throw new UnsupportedOperationException(
+                    "Polling columnar batches is only supported for tables with ARROW log format, "
+                            + "but the log format of table "
+                            + tablePath
+                            + " is "
+                            + logFormat
+                            + ".");
+        }
+        return new ScanBatches(poll(timeout, logFetcher::collectBatches));
+    }
+
+    private <T> Map<TableBucket, List<T>> poll(
+            Duration timeout, Supplier<Map<TableBucket, List<T>>> collector) {
         acquireAndEnsureOpen();
         try {
             if (!logScannerStatus.prepareToPoll()) {
@@ -141,17 +166,17 @@ public class LogScannerImpl implements LogScanner {
             long timeoutNanos = timeout.toNanos();
             long startNanos = System.nanoTime();
             do {
-                Map<TableBucket, List<ScanRecord>> fetchRecords = pollForFetches();
+                Map<TableBucket, List<T>> fetchRecords = pollForFetches(collector);
                 if (fetchRecords.isEmpty()) {
                     try {
                         if (!logFetcher.awaitNotEmpty(startNanos + timeoutNanos)) {
                             // logFetcher waits for the timeout and no data in buffer,
                             // so we return empty
-                            return new ScanRecords(fetchRecords);
+                            return fetchRecords;
                         }
                     } catch (WakeupException e) {
                         // wakeup() is called, we need to return empty
-                        return new ScanRecords(fetchRecords);
+                        return fetchRecords;
                     }
                 } else {
                     // before returning the fetched records, we can send off the next round of
@@ -159,17 +184,32 @@ public class LogScannerImpl implements LogScanner {
                     // while the user is handling the fetched records.
                     logFetcher.sendFetches();
 
-                    return new ScanRecords(fetchRecords);
+                    return fetchRecords;
                 }
             } while (System.nanoTime() - startNanos < timeoutNanos);
 
-            return ScanRecords.EMPTY;
+            return Collections.emptyMap();
         } finally {
             release();
             scannerMetricGroup.recordPollEnd(System.currentTimeMillis());
         }
     }
 
+    @Override
+    public long position(TableBucket tableBucket) {
+        acquireAndEnsureOpen();
+        try {
+            Long offset = logScannerStatus.getBucketOffset(tableBucket);
+            if (offset == null) {
+                throw new IllegalStateException(
+                        "The bucket " + tableBucket + " is not subscribed by the log scanner.");
+            }
+            return offset;
+        } finally {
+            release();
+        }
+    }
+
     @Override
     public void subscribe(int bucket, long offset) {
         if (isPartitionedTable) {
@@ -182,7 +222,12 @@ public class LogScannerImpl implements LogScanner {
         try {
             TableBucket tableBucket = new TableBucket(tableId, bucket);
             this.metadataUpdater.checkAndUpdateTableMetadata(Collections.singleton(tablePath));
+            Long currentOffset = this.logScannerStatus.getBucketOffset(tableBucket);
             this.logScannerStatus.assignScanBuckets(Collections.singletonMap(tableBucket, offset));
+            if (currentOffset != null && currentOffset != offset) {
+                // the pending fetches from the previous offset are obsolete
+                logFetcher.cancelPendingFetches(tableBucket);
+            }
         } finally {
             release();
         }
@@ -204,7 +249,12 @@ public class LogScannerImpl implements LogScanner {
             // is not exist
             this.metadataUpdater.checkAndUpdatePartitionMetadata(
                     tablePath, Collections.singleton(partitionId));
+            Long currentOffset = this.logScannerStatus.getBucketOffset(tableBucket);
             this.logScannerStatus.assignScanBuckets(Collections.singletonMap(tableBucket, offset));
+            if (currentOffset != null && currentOffset != offset) {
+                // the pending fetches from the previous offset are obsolete
+                logFetcher.cancelPendingFetches(tableBucket);
+            }
         } finally {
             release();
         }
@@ -220,6 +270,7 @@ public class LogScannerImpl implements LogScanner {
         try {
             TableBucket tableBucket = new TableBucket(tableId, partitionId, bucket);
             this.logScannerStatus.unassignScanBuckets(Collections.singletonList(tableBucket));
+            logFetcher.cancelPendingFetches(tableBucket);
         } finally {
             release();
         }
@@ -230,8 +281,9 @@ public class LogScannerImpl implements LogScanner {
         logFetcher.wakeup();
     }
 
-    private Map<TableBucket, List<ScanRecord>> pollForFetches() {
-        Map<TableBucket, List<ScanRecord>> fetchedRecords = logFetcher.collectFetch();
+    private <T> Map<TableBucket, List<T>> pollForFetches(
+            Supplier<Map<TableBucket, List<T>>> collector) {
+        Map<TableBucket, List<T>> fetchedRecords = collector.get();
         if (!fetchedRecords.isEmpty()) {
             return fetchedRecords;
         }
@@ -239,7 +291,7 @@ public class LogScannerImpl implements LogScanner {
         // send any new fetches (won't resend pending fetches).
         logFetcher.sendFetches();
 
-        return logFetcher.collectFetch();
+        return collector.get();
     }
 
     /**
@@ -30,4 +30,19 @@ interface PendingFetch {
     boolean isCompleted();
 
     CompletedFetch toCompletedFetch();
+
+    /**
+     * Returns whether the pending fetch is converted into more completed fetches after {@link
+     * #toCompletedFetch()}, e.g., the remaining parts of a remote log segment which are not
+     * downloaded yet. If true, the pending fetch is completed again when {@link #isCompleted()}.
+     */
+    default boolean hasMoreFetches() {
+        return false;
+    }
+
+    /**
+     * Cancels the pending fetch which is removed from the buffer before it is completed, e.g., the
+     * bucket is unsubscribed or the fetch offset of the bucket is changed.
+     */
+    default void cancel() {}
 }
@@ -20,44 +20,129 @@ package org.apache.fluss.client.table.scanner.log;
 import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.record.FileLogRecords;
 
+import javax.annotation.Nullable;
+
 import java.io.File;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 
-/** Represents the future of a remote log download request. */
+/**
+ * Represents the future of a remote log download request. The remote log segment is downloaded in
+ * parts, which are consumed in order.
+ */
 public class RemoteLogDownloadFuture {
 
-    private final CompletableFuture<File> logFileFuture;
-    private final Runnable recycleCallback;
+    private final Queue<DownloadedPart> downloadedParts = new ConcurrentLinkedQueue<>();
 
-    public RemoteLogDownloadFuture(
-            CompletableFuture<File> logFileFuture, Runnable recycleCallback) {
-        this.logFileFuture = logFileFuture;
-        this.recycleCallback = recycleCallback;
-    }
+    @Nullable private volatile Runnable completeCallback;
+
+    private volatile boolean cancelled;
 
+    /** Returns whether there is a downloaded part which is not consumed yet. */
     public boolean isDone() {
-        return logFileFuture.isDone();
+        return !downloadedParts.isEmpty();
     }
 
-    public FileLogRecords getFileLogRecords(int startPosition) {
-        try {
-            FileLogRecords fileLogRecords = FileLogRecords.open(logFileFuture.join(), false);
-            if (startPosition > 0) {
-                return fileLogRecords.slice(startPosition, Integer.MAX_VALUE);
-            } else {
-                return fileLogRecords;
-            }
-        } catch (IOException e) {
-            throw new FlussRuntimeException(e);
+    /** Returns and removes the next downloaded part, or null if it is not downloaded yet. */
+    @Nullable
+    public DownloadedPart pollPart() {
+        return downloadedParts.poll();
+    }
+
+    /** Registers the callback which is called every time a part is downloaded. */
+    public void onComplete(Runnable callback) {
+        this.completeCallback = callback;
+        if (isDone()) {
+            callback.run();
         }
     }
 
-    public Runnable getRecycleCallback() {
-        return recycleCallback;
+    void complete(DownloadedPart part) {
+        downloadedParts.add(part);
+        if (cancelled) {
+            // the future is cancelled concurrently, nobody will consume the part
+            recycleDownloadedParts();
+            return;
+        }
+        Runnable callback = completeCallback;
+        if (callback != null) {
+            callback.run();
+        }
     }
 
-    public void onComplete(Runnable callback) {
-        logFileFuture.thenRun(callback);
+    /**
+     * Cancels the download, the remaining parts are not downloaded and the downloaded parts which
+     * are not consumed are recycled.
+     */
+    public void cancel() {
+        cancelled = true;
+        recycleDownloadedParts();
+    }
+
+    /** Returns whether the download is cancelled. */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void recycleDownloadedParts() {
+        DownloadedPart part;
+        while ((part = downloadedParts.poll()) != null) {
+            part.getRecycleCallback().run();
+        }
+    }
+
+    /** A downloaded part of a remote log segment, which is stored in a local file. */
+    public static class DownloadedPart {
+        private final File file;
+        private final long endPosition;
+        private final long nextFetchOffset;
+        private final boolean lastPart;
+        private final Consumer<File> recycler;
+
+        DownloadedPart(
+                File file,
+                long endPosition,
+                long nextFetchOffset,
+                boolean lastPart,
+                Consumer<File> recycler) {
+            this.file = file;
+            this.endPosition = endPosition;
+            this.nextFetchOffset = nextFetchOffset;
+            this.lastPart = lastPart;
+            this.recycler = recycler;
+        }
+
+        public FileLogRecords getFileLogRecords() {
+            try {
+                return FileLogRecords.open(file, false);
+            } catch (IOException e) {
+                throw new FlussRuntimeException(e);
+            }
+        }
+
+        /** Returns the position of the remote log segment file where the part ends. */
+        long endPosition() {
+            return endPosition;
+        }
+
+        /**
+         * Returns the offset to fetch after consuming the part, or -1 if the part contains no
+         * record batch.
+         */
+        long nextFetchOffset() {
+            return nextFetchOffset;
+        }
+
+        /** Returns whether the part is the last part of the remote log segment. */
+        public boolean isLastPart() {
+            return lastPart;
+        }
+
+        /** Returns the callback to remove the part file and download more parts. */
+        public Runnable getRecycleCallback() {
+            return () -> recycler.accept(file);
+        }
     }
 }
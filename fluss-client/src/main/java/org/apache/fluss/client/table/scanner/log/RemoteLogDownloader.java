@@ -23,39 +23,67 @@ import org.apache.fluss.client.metrics.ScannerMetricGroup;
 import org.apache.fluss.client.table.scanner.RemoteFileDownloader;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
+import org.apache.fluss.fs.FSDataInputStream;
 import org.apache.fluss.fs.FsPath;
-import org.apache.fluss.fs.FsPathAndFileName;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.record.BytesViewLogRecords;
+import org.apache.fluss.record.FileLogProjection;
+import org.apache.fluss.record.FileLogRecords;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordReadContext;
+import org.apache.fluss.record.bytesview.BytesView;
+import org.apache.fluss.record.bytesview.MultiBytesView;
 import org.apache.fluss.remote.RemoteLogSegment;
+import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBuf;
 import org.apache.fluss.utils.ExceptionUtils;
 import org.apache.fluss.utils.FlussPaths;
+import org.apache.fluss.utils.IOUtils;
 import org.apache.fluss.utils.concurrent.ShutdownableThread;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_OFFSET;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_OVERHEAD;
 import static org.apache.fluss.utils.FileUtils.deleteDirectoryQuietly;
 import static org.apache.fluss.utils.FlussPaths.LOG_FILE_SUFFIX;
 import static org.apache.fluss.utils.FlussPaths.remoteLogSegmentDir;
 import static org.apache.fluss.utils.FlussPaths.remoteLogSegmentFile;
+import static org.apache.fluss.utils.Preconditions.checkNotNull;
 
-/** Downloader to read remote log files to local disk. */
+/**
+ * Downloader to read remote log files to local disk.
+ *
+ * <p>A remote log segment is read from the requested position with byte-range reads, and is
+ * downloaded in parts of about {@link ConfigOptions#CLIENT_SCANNER_REMOTE_LOG_READ_AHEAD_SIZE}
+ * bytes. Each part contains complete record batches and can be consumed as soon as it is
+ * downloaded. The number of downloaded but not yet consumed parts is bounded by {@link
+ * ConfigOptions#CLIENT_SCANNER_REMOTE_LOG_PREFETCH_NUM}.
+ */
 @ThreadSafe
 @Internal
 public class RemoteLogDownloader implements Closeable {
@@ -63,6 +91,8 @@ public class RemoteLogDownloader implements Closeable {
 
     private static final long POLL_TIMEOUT = 5000L;
 
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
     private final Path localLogDir;
 
     /**
@@ -72,10 +102,18 @@ public class RemoteLogDownloader implements Closeable {
      */
     private final PriorityBlockingQueue<RemoteLogDownloadRequest> segmentsToFetch;
 
-    private final BlockingQueue<RemoteLogSegment> segmentsToRecycle;
+    private final BlockingQueue<File> partsToRecycle;
 
     private final Semaphore prefetchSemaphore;
 
+    private final long readAheadSize;
+
+    /**
+     * The supplier of the projection applied to the downloaded parts, null if the projection is not
+     * pushed down, see {@link LogRecordReadContext#isProjectionPushDowned()}.
+     */
+    @Nullable private final Supplier<FileLogProjection> projectionSupplier;
+
     private final DownloadRemoteLogThread downloadThread;
 
     private final RemoteFileDownloader remoteFileDownloader;
@@ -89,8 +127,23 @@ public class RemoteLogDownloader implements Closeable {
             Configuration conf,
             RemoteFileDownloader remoteFileDownloader,
             ScannerMetricGroup scannerMetricGroup) {
+        this(tablePath, conf, remoteFileDownloader, scannerMetricGroup, null);
+    }
+
+    public RemoteLogDownloader(
+            TablePath tablePath,
+            Configuration conf,
+            RemoteFileDownloader remoteFileDownloader,
+            ScannerMetricGroup scannerMetricGroup,
+            @Nullable Supplier<FileLogProjection> projectionSupplier) {
         // default we give a 5s long interval to avoid frequent loop
-        this(tablePath, conf, remoteFileDownloader, scannerMetricGroup, POLL_TIMEOUT);
+        this(
+                tablePath,
+                conf,
+                remoteFileDownloader,
+                scannerMetricGroup,
+                projectionSupplier,
+                POLL_TIMEOUT);
     }
 
     @VisibleForTesting
@@ -100,13 +153,27 @@ public class RemoteLogDownloader implements Closeable {
             RemoteFileDownloader remoteFileDownloader,
             ScannerMetricGroup scannerMetricGroup,
             long pollTimeout) {
+        this(tablePath, conf, remoteFileDownloader, scannerMetricGroup, null, pollTimeout);
+    }
+
+    @VisibleForTesting
+    RemoteLogDownloader(
+            TablePath tablePath,
+            Configuration conf,
+            RemoteFileDownloader remoteFileDownloader,
+            ScannerMetricGroup scannerMetricGroup,
+            @Nullable Supplier<FileLogProjection> projectionSupplier,
+            long pollTimeout) {
         this.segmentsToFetch = new PriorityBlockingQueue<>();
-        this.segmentsToRecycle = new LinkedBlockingQueue<>();
+        this.partsToRecycle = new LinkedBlockingQueue<>();
         this.remoteFileDownloader = remoteFileDownloader;
         this.scannerMetricGroup = scannerMetricGroup;
+        this.projectionSupplier = projectionSupplier;
         this.pollTimeout = pollTimeout;
         this.prefetchSemaphore =
                 new Semaphore(conf.getInt(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_PREFETCH_NUM));
+        this.readAheadSize =
+                conf.get(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_READ_AHEAD_SIZE).getBytes();
         // The local tmp dir to store the fetched log segment files,
         // add UUID to avoid conflict between tasks.
         this.localLogDir =
@@ -122,26 +189,36 @@ public class RemoteLogDownloader implements Closeable {
 
     /** Request to fetch remote log segment to local. This method is non-blocking. */
     public RemoteLogDownloadFuture requestRemoteLog(FsPath logTabletDir, RemoteLogSegment segment) {
-        RemoteLogDownloadRequest request = new RemoteLogDownloadRequest(segment, logTabletDir);
+        return requestRemoteLog(logTabletDir, segment, 0);
+    }
+
+    /**
+     * Request to fetch remote log segment to local from the given position of the segment, the
+     * bytes before the position are not downloaded. This method is non-blocking.
+     */
+    public RemoteLogDownloadFuture requestRemoteLog(
+            FsPath logTabletDir, RemoteLogSegment segment, int startPosition) {
+        RemoteLogDownloadRequest request =
+                new RemoteLogDownloadRequest(segment, logTabletDir, startPosition);
         segmentsToFetch.add(request);
-        return new RemoteLogDownloadFuture(request.future, () -> recycleRemoteLog(segment));
+        return request.future;
     }
 
     /**
-     * Recycle the consumed remote log. The removal of the log file is async in the {@link
+     * Recycle the consumed part of remote log. The removal of the log file is async in the {@link
      * #downloadThread}.
      */
-    void recycleRemoteLog(RemoteLogSegment segment) {
-        segmentsToRecycle.add(segment);
+    void recycleRemoteLog(File partFile) {
+        partsToRecycle.add(partFile);
         prefetchSemaphore.release();
     }
 
     /**
-     * Fetch a remote log segment file to local. This method will block until there is a log segment
-     * to fetch.
+     * Fetch a part of remote log segment file to local. This method will block until there is a log
+     * segment to fetch.
      */
     void fetchOnce() throws Exception {
-        // blocks until there is capacity (the fetched file is consumed)
+        // blocks until there is capacity (the fetched part is consumed)
         prefetchSemaphore.acquire();
 
         // wait until there is a remote fetch request
@@ -150,43 +227,61 @@ public class RemoteLogDownloader implements Closeable {
             prefetchSemaphore.release();
             return;
         }
+        if (request.future.isCancelled()) {
+            // the bucket is unsubscribed or its fetch offset is changed, drop the request
+            LOG.debug(
+                    "Skip downloading remote log segment file {} as the download is cancelled.",
+                    request.getRemoteLogSegmentFile().getName());
+            prefetchSemaphore.release();
+            return;
+        }
 
         try {
             // 1. cleanup the finished logs first to free up disk space
             cleanupRemoteLogs();
 
             // 2. do the actual download work
-            FsPathAndFileName fsPathAndFileName = request.getFsPathAndFileName();
+            FsPath remoteFilePath = request.getRemoteLogSegmentFile();
             scannerMetricGroup.remoteFetchRequestCount().inc();
 
             long startTime = System.currentTimeMillis();
-            // download the remote file to local
+            long startPosition = request.position;
+            // download the next part of the remote file to local
             remoteFileDownloader
-                    .downloadFileAsync(fsPathAndFileName, localLogDir)
+                    .readFileAsync(remoteFilePath, startPosition, in -> downloadPart(request, in))
                     .whenComplete(
-                            (bytes, throwable) -> {
+                            (part, throwable) -> {
                                 if (throwable != null) {
                                     LOG.error(
-                                            "Failed to download remote log segment file {}.",
-                                            fsPathAndFileName.getFileName(),
+                                            "Failed to download remote log segment file {} from position {}.",
+                                            remoteFilePath.getName(),
+                                            startPosition,
                                             ExceptionUtils.stripExecutionException(throwable));
                                     // release the semaphore for the failed request
                                     prefetchSemaphore.release();
                                     // add back the request to the queue,
                                     // so we do not complete the request.future here
-                                    segmentsToFetch.add(request);
+                                    if (!request.future.isCancelled()) {
+                                        segmentsToFetch.add(request);
+                                    }
                                     scannerMetricGroup.remoteFetchErrorCount().inc();
                                 } else {
                                     LOG.info(
-                                            "Successfully downloaded remote log segment file {} to local cost {} ms.",
-                                            fsPathAndFileName.getFileName(),
+                                            "Successfully downloaded remote log segment file {} "
+                                                    + "in range [{}, {}) to local cost {} ms.",
+                                            remoteFilePath.getName(),
+                                            startPosition,
+                                            part.endPosition(),
                                             System.currentTimeMillis() - startTime);
-                                    File localFile =
-                                            new File(
-                                                    localLogDir.toFile(),
-                                                    fsPathAndFileName.getFileName());
-                                    scannerMetricGroup.remoteFetchBytes().inc(bytes);
-                                    request.future.complete(localFile);
+                                    scannerMetricGroup
+                                            .remoteFetchBytes()
+                                            .inc(part.endPosition() - startPosition);
+                                    request.position = part.endPosition();
+                                    if (!part.isLastPart() && !request.future.isCancelled()) {
+                                        // continue to download the next part of the segment
+                                        segmentsToFetch.add(request);
+                                    }
+                                    request.future.complete(part);
                                 }
                             });
         } catch (Throwable t) {
@@ -199,23 +294,138 @@ public class RemoteLogDownloader implements Closeable {
         }
     }
 
+    /**
+     * Downloads the complete record batches from the given input stream, which is positioned at the
+     * start of a record batch, until the downloaded bytes reach the read-ahead size or the end of
+     * the remote log segment file is reached.
+     */
+    private RemoteLogDownloadFuture.DownloadedPart downloadPart(
+            RemoteLogDownloadRequest request, FSDataInputStream in) throws IOException {
+        Files.createDirectories(localLogDir);
+        File partFile =
+                localLogDir
+                        .resolve(getLocalFileNameOfRemoteSegment(request.segment, request.position))
+                        .toFile();
+        try {
+            long endPosition = request.position;
+            boolean lastPart = false;
+            ByteBuffer logHeader = ByteBuffer.allocate(LOG_OVERHEAD).order(ByteOrder.LITTLE_ENDIAN);
+            byte[] copyBuffer = new byte[COPY_BUFFER_SIZE];
+            try (OutputStream out =
+                    new BufferedOutputStream(
+                            Files.newOutputStream(partFile.toPath()), COPY_BUFFER_SIZE)) {
+                while (true) {
+                    logHeader.clear();
+                    int headerBytes = IOUtils.readFully(in, logHeader);
+                    if (headerBytes == 0) {
+                        lastPart = true;
+                        break;
+                    } else if (headerBytes < LOG_OVERHEAD) {
+                        throw new EOFException(
+                                String.format(
+                                        "Failed to read the log header at position %d of remote log segment file %s.",
+                                        endPosition, request.getRemoteLogSegmentFile()));
+                    }
+                    // the part is full, the next part starts from this record batch
+                    if (endPosition - request.position >= readAheadSize) {
+                        break;
+                    }
+
+                    out.write(logHeader.array(), 0, LOG_OVERHEAD);
+                    int length = logHeader.getInt(LENGTH_OFFSET);
+                    copyFully(in, out, length, copyBuffer);
+                    endPosition += LOG_OVERHEAD + length;
+                }
+            }
+
+            long nextFetchOffset = -1L;
+            Path projectedFile = null;
+            FileLogRecords fileLogRecords = FileLogRecords.open(partFile, false);
+            try {
+                for (LogRecordBatch batch : fileLogRecords.batches()) {
+                    nextFetchOffset = batch.nextLogOffset();
+                }
+                if (projectionSupplier != null && fileLogRecords.sizeInBytes() > 0) {
+                    projectedFile = projectPart(fileLogRecords, partFile);
+                }
+            } finally {
+                // close file channel only, the file is not modified
+                fileLogRecords.closeHandlers();
+            }
+            if (projectedFile != null) {
+                Files.move(projectedFile, partFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            return new RemoteLogDownloadFuture.DownloadedPart(
+                    partFile, endPosition, nextFetchOffset, lastPart, this::recycleRemoteLog);
+        } catch (IOException e) {
+            Files.deleteIfExists(partFile.toPath());
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the projected record batches of the downloaded part to a new file, which replaces the
+     * part file, so only the projected columns are kept on the local disk and read by the scanner.
+     */
+    private Path projectPart(FileLogRecords fileLogRecords, File partFile) throws IOException {
+        checkNotNull(projectionSupplier);
+        BytesViewLogRecords projected =
+                projectionSupplier
+                        .get()
+                        .project(
+                                fileLogRecords.channel(),
+                                0,
+                                fileLogRecords.sizeInBytes(),
+                                Integer.MAX_VALUE);
+        BytesView bytesView = projected.getBytesView();
+        BytesView[] views =
+                bytesView instanceof MultiBytesView
+                        ? ((MultiBytesView) bytesView).getBytesViews()
+                        : new BytesView[] {bytesView};
+        Path projectedFile = partFile.toPath().resolveSibling(partFile.getName() + ".projected");
+        try (OutputStream out = Files.newOutputStream(projectedFile)) {
+            for (BytesView view : views) {
+                ByteBuf buf = view.getByteBuf();
+                buf.readBytes(out, buf.readableBytes());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(projectedFile);
+            throw e;
+        }
+        return projectedFile;
+    }
+
+    private static void copyFully(InputStream in, OutputStream out, int length, byte[] buffer)
+            throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, Math.min(remaining, buffer.length));
+            if (read < 0) {
+                throw new EOFException(
+                        String.format(
+                                "Reached the end of the remote log segment file before reading "
+                                        + "the record batch of %d bytes.",
+                                length));
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
     private void cleanupRemoteLogs() {
-        RemoteLogSegment segment;
-        while ((segment = segmentsToRecycle.poll()) != null) {
-            cleanupFinishedRemoteLog(segment);
+        File partFile;
+        while ((partFile = partsToRecycle.poll()) != null) {
+            cleanupFinishedRemoteLog(partFile);
         }
     }
 
-    private void cleanupFinishedRemoteLog(RemoteLogSegment segment) {
+    private void cleanupFinishedRemoteLog(File partFile) {
         try {
-            Path logFile = localLogDir.resolve(getLocalFileNameOfRemoteSegment(segment));
-            Files.deleteIfExists(logFile);
-            LOG.info(
-                    "Consumed and deleted the fetched log segment file {} for bucket {}.",
-                    logFile.getFileName(),
-                    segment.tableBucket());
+            Files.deleteIfExists(partFile.toPath());
+            LOG.info("Consumed and deleted the fetched log segment file {}.", partFile.getName());
         } catch (IOException e) {
-            LOG.warn("Failed to delete the local fetch segment file {}.", localLogDir, e);
+            LOG.warn("Failed to delete the local fetch segment file {}.", partFile, e);
         }
     }
 
@@ -245,28 +455,29 @@ public class RemoteLogDownloader implements Closeable {
         return segmentsToFetch.size();
     }
 
-    protected static FsPathAndFileName getFsPathAndFileName(
+    protected static FsPath getRemoteLogSegmentFile(
             FsPath remoteLogTabletDir, RemoteLogSegment segment) {
-        FsPath remotePath =
-                remoteLogSegmentFile(
-                        remoteLogSegmentDir(remoteLogTabletDir, segment.remoteLogSegmentId()),
-                        segment.remoteLogStartOffset());
-        return new FsPathAndFileName(remotePath, getLocalFileNameOfRemoteSegment(segment));
+        return remoteLogSegmentFile(
+                remoteLogSegmentDir(remoteLogTabletDir, segment.remoteLogSegmentId()),
+                segment.remoteLogStartOffset());
     }
 
     /**
-     * Get the local file name of the remote log segment.
+     * Get the local file name of the part of the remote log segment starting from the given
+     * position.
      *
      * <p>The file name is in pattern:
      *
      * <pre>
-     *     ${remote_segment_id}_${offset_prefix}.log
+     *     ${remote_segment_id}_${offset_prefix}_${position}.log
      * </pre>
      */
-    private static String getLocalFileNameOfRemoteSegment(RemoteLogSegment segment) {
+    private static String getLocalFileNameOfRemoteSegment(RemoteLogSegment segment, long position) {
         return segment.remoteLogSegmentId()
                 + "_"
                 + FlussPaths.filenamePrefixFromOffset(segment.remoteLogStartOffset())
+                + "_"
+                + position
                 + LOG_FILE_SUFFIX;
     }
 
@@ -290,15 +501,27 @@ public class RemoteLogDownloader implements Closeable {
     static class RemoteLogDownloadRequest implements Comparable<RemoteLogDownloadRequest> {
         final RemoteLogSegment segment;
         final FsPath remoteLogTabletDir;
-        final CompletableFuture<File> future = new CompletableFuture<>();
+        final RemoteLogDownloadFuture future = new RemoteLogDownloadFuture();
+
+        /**
+         * The position of the segment file to download the next part from, it's only updated by the
+         * download of the previous part.
+         */
+        volatile long position;
 
         public RemoteLogDownloadRequest(RemoteLogSegment segment, FsPath remoteLogTabletDir) {
+            this(segment, remoteLogTabletDir, 0);
+        }
+
+        public RemoteLogDownloadRequest(
+                RemoteLogSegment segment, FsPath remoteLogTabletDir, long startPosition) {
             this.segment = segment;
             this.remoteLogTabletDir = remoteLogTabletDir;
+            this.position = startPosition;
         }
 
-        public FsPathAndFileName getFsPathAndFileName() {
-            return RemoteLogDownloader.getFsPathAndFileName(remoteLogTabletDir, segment);
+        public FsPath getRemoteLogSegmentFile() {
+            return RemoteLogDownloader.getRemoteLogSegmentFile(remoteLogTabletDir, segment);
         }
 
         @Override
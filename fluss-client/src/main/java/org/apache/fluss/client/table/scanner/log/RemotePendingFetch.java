@@ -22,17 +22,22 @@ import org.apache.fluss.record.FileLogRecords;
 import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.remote.RemoteLogSegment;
 
+import static org.apache.fluss.utils.Preconditions.checkNotNull;
+
 /**
  * {@link RemotePendingFetch} is a {@link PendingFetch} that represents a pending fetch that waiting
- * for the remote log file fetched to local disk.
+ * for the parts of the remote log file fetched to local disk.
  */
 class RemotePendingFetch implements PendingFetch {
 
     final RemoteLogSegment remoteLogSegment;
     private final RemoteLogDownloadFuture downloadFuture;
 
-    private final int posInLogSegment;
-    private final long fetchOffset;
+    /** The offset to fetch from the next downloaded part of the remote log segment. */
+    private long fetchOffset;
+
+    private boolean lastPartConsumed;
+
     private final long highWatermark;
     private final LogRecordReadContext readContext;
     private final LogScannerStatus logScannerStatus;
@@ -41,7 +46,6 @@ class RemotePendingFetch implements PendingFetch {
     RemotePendingFetch(
             RemoteLogSegment remoteLogSegment,
             RemoteLogDownloadFuture downloadFuture,
-            int posInLogSegment,
             long fetchOffset,
             long highWatermark,
             LogRecordReadContext readContext,
@@ -49,7 +53,6 @@ class RemotePendingFetch implements PendingFetch {
             boolean isCheckCrc) {
         this.remoteLogSegment = remoteLogSegment;
         this.downloadFuture = downloadFuture;
-        this.posInLogSegment = posInLogSegment;
         this.fetchOffset = fetchOffset;
         this.highWatermark = highWatermark;
         this.readContext = readContext;
@@ -69,16 +72,34 @@ class RemotePendingFetch implements PendingFetch {
 
     @Override
     public CompletedFetch toCompletedFetch() {
-        FileLogRecords fileLogRecords = downloadFuture.getFileLogRecords(posInLogSegment);
-        return new RemoteCompletedFetch(
-                remoteLogSegment.tableBucket(),
-                fileLogRecords,
-                highWatermark,
-                readContext,
-                logScannerStatus,
-                isCheckCrc,
-                fetchOffset,
-                downloadFuture.getRecycleCallback());
+        RemoteLogDownloadFuture.DownloadedPart part = checkNotNull(downloadFuture.pollPart());
+        FileLogRecords fileLogRecords = part.getFileLogRecords();
+        CompletedFetch completedFetch =
+                new RemoteCompletedFetch(
+                        remoteLogSegment.tableBucket(),
+                        fileLogRecords,
+                        highWatermark,
+                        readContext,
+                        logScannerStatus,
+                        isCheckCrc,
+                        fetchOffset,
+                        part.getRecycleCallback());
+        if (part.nextFetchOffset() >= 0) {
+            fetchOffset = part.nextFetchOffset();
+        }
+        lastPartConsumed = part.isLastPart();
+        return completedFetch;
+    }
+
+    @Override
+    public boolean hasMoreFetches() {
+        return !lastPartConsumed;
+    }
+
+    @Override
+    public void cancel() {
+        // stop downloading the remaining parts and recycle the downloaded but not consumed parts
+        downloadFuture.cancel();
     }
 
     @Override
@@ -88,8 +109,6 @@ class RemotePendingFetch implements PendingFetch {
                 + remoteLogSegment
                 + ", fetchOffset="
                 + fetchOffset
-                + ", posInLogSegment="
-                + posInLogSegment
                 + ", highWatermark="
                 + highWatermark
                 + '}';
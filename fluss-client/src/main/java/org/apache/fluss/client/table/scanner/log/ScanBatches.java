@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.table.scanner.log;
+
+import org.apache.fluss.annotation.PublicEvolving;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.record.ColumnarBatch;
+import org.apache.fluss.utils.IOUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A container that holds the list {@link ColumnarBatch} per bucket for a particular table. There is
+ * one {@link ColumnarBatch} list for every bucket returned by a {@link
+ * LogScanner#pollBatches(java.time.Duration)} operation.
+ *
+ * <p>The batches hold Arrow memory, so the container must be closed after the batches are consumed,
+ * which closes all the batches.
+ *
+ * @since 0.9
+ */
+@PublicEvolving
+public class ScanBatches implements Iterable<ColumnarBatch>, AutoCloseable {
+    public static final ScanBatches EMPTY = new ScanBatches(Collections.emptyMap());
+
+    private final Map<TableBucket, List<ColumnarBatch>> batches;
+
+    public ScanBatches(Map<TableBucket, List<ColumnarBatch>> batches) {
+        this.batches = batches;
+    }
+
+    /**
+     * Get just the batches for the given bucketId, in the order of log offsets.
+     *
+     * @param scanBucket The bucket to get batches for
+     */
+    public List<ColumnarBatch> batches(TableBucket scanBucket) {
+        List<ColumnarBatch> bucketBatches = batches.get(scanBucket);
+        if (bucketBatches == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(bucketBatches);
+    }
+
+    /**
+     * Get the bucket ids which have batches contained in this batch set.
+     *
+     * @return the set of buckets with data in this batch set (maybe empty if no data was returned)
+     */
+    public Set<TableBucket> buckets() {
+        return Collections.unmodifiableSet(batches.keySet());
+    }
+
+    /** The number of rows of all the batches for all buckets. */
+    public int count() {
+        int count = 0;
+        for (List<ColumnarBatch> bucketBatches : batches.values()) {
+            for (ColumnarBatch batch : bucketBatches) {
+                count += batch.getRowCount();
+            }
+        }
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return batches.isEmpty();
+    }
+
+    @Override
+    public Iterator<ColumnarBatch> iterator() {
+        List<ColumnarBatch> allBatches = new ArrayList<>();
+        batches.values().forEach(allBatches::addAll);
+        return Collections.unmodifiableList(allBatches).iterator();
+    }
+
+    @Override
+    public void close() {
+        for (List<ColumnarBatch> bucketBatches : batches.values()) {
+            bucketBatches.forEach(IOUtils::closeQuietly);
+        }
+    }
+}
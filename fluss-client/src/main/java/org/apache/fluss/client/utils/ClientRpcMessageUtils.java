@@ -187,7 +187,15 @@ public class ClientRpcMessageUtils {
 
     public static PrefixLookupRequest makePrefixLookupRequest(
             long tableId, Collection<PrefixLookupBatch> lookupBatches) {
+        return makePrefixLookupRequest(tableId, null, lookupBatches);
+    }
+
+    public static PrefixLookupRequest makePrefixLookupRequest(
+            long tableId, @Nullable Integer indexId, Collection<PrefixLookupBatch> lookupBatches) {
         PrefixLookupRequest request = new PrefixLookupRequest().setTableId(tableId);
+        if (indexId != null) {
+            request.setIndexId(indexId);
+        }
         lookupBatches.forEach(
                 (batch) -> {
                     TableBucket tb = batch.tableBucket();
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.write;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.metadata.PhysicalTablePath;
+import org.apache.fluss.utils.MapUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A tuner to choose the batch timeout (linger) and the batch size of each bucket adaptively, see
+ * {@link org.apache.fluss.config.ConfigOptions#CLIENT_WRITER_ADAPTIVE_BATCHING_ENABLED}.
+ *
+ * <p>For each bucket, the tuner tracks the moving averages of the arrival rate of the records (in
+ * bytes per millisecond, observed from the filled batches) and of the round trip time of the write
+ * requests. The latency of a record is roughly the time it lingers in the batch plus the round trip
+ * time, so the batch lingers for {@code latencyTarget - roundTripTime}. The batch size is chosen to
+ * hold the records arriving during the linger time, and at least the records arriving during {@code
+ * roundTripTime / maxInflightRequests}, otherwise the in-flight requests of the bucket can't keep
+ * up with the arrival rate.
+ */
+@Internal
+@ThreadSafe
+public class AdaptiveBatchTuner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveBatchTuner.class);
+
+    /** The weight of the new observation in the moving averages. */
+    private static final double SMOOTHING_FACTOR = 0.2d;
+
+    private final boolean adaptiveBatchingEnabled;
+    private final long latencyTargetMs;
+    private final int maxBatchSize;
+    private final int minBatchSize;
+    private final int maxInflightRequestsPerBucket;
+
+    private final ConcurrentHashMap<PhysicalTablePath, Map<Integer, BucketBatchingStats>>
+            bucketStats;
+
+    public AdaptiveBatchTuner(
+            boolean adaptiveBatchingEnabled,
+            long latencyTargetMs,
+            int maxBatchSize,
+            int pageSize,
+            int maxInflightRequestsPerBucket) {
+        this.adaptiveBatchingEnabled = adaptiveBatchingEnabled;
+        this.latencyTargetMs = latencyTargetMs;
+        this.maxBatchSize = maxBatchSize;
+        this.minBatchSize = Math.min(2 * pageSize, maxBatchSize);
+        this.maxInflightRequestsPerBucket = Math.max(1, maxInflightRequestsPerBucket);
+        this.bucketStats = MapUtils.newConcurrentHashMap();
+    }
+
+    public boolean isEnabled() {
+        return adaptiveBatchingEnabled;
+    }
+
+    /**
+     * Updates the arrival rate of the bucket by a batch which stops accepting records, either
+     * because it is full or because it is drained to send.
+     *
+     * @param sizeInBytes the size of the batch
+     * @param fillTimeMs the time from the creation of the batch to the time it stops accepting
+     *     records
+     */
+    public void onBatchFilled(
+            PhysicalTablePath physicalTablePath, int bucketId, int sizeInBytes, long fillTimeMs) {
+        if (!adaptiveBatchingEnabled) {
+            return;
+        }
+        BucketBatchingStats stats = getOrCreateStats(physicalTablePath, bucketId);
+        synchronized (stats) {
+            double arrivalRate = (double) sizeInBytes / Math.max(1L, fillTimeMs);
+            stats.arrivalBytesPerMs =
+                    stats.arrivalBytesPerMs < 0
+                            ? arrivalRate
+                            : smooth(stats.arrivalBytesPerMs, arrivalRate);
+            tune(physicalTablePath, bucketId, stats);
+        }
+    }
+
+    /** Updates the round trip time of the bucket by a completed write request. */
+    public void onRequestCompleted(
+            PhysicalTablePath physicalTablePath, int bucketId, long roundTripMs) {
+        if (!adaptiveBatchingEnabled) {
+            return;
+        }
+        BucketBatchingStats stats = getOrCreateStats(physicalTablePath, bucketId);
+        synchronized (stats) {
+            stats.roundTripMs =
+                    stats.roundTripMs < 0 ? roundTripMs : smooth(stats.roundTripMs, roundTripMs);
+            tune(physicalTablePath, bucketId, stats);
+        }
+    }
+
+    /** Returns the time the batches of the bucket linger for more records before sending. */
+    public long getLingerMs(PhysicalTablePath physicalTablePath, int bucketId) {
+        BucketBatchingStats stats = getStats(physicalTablePath, bucketId);
+        return stats == null ? latencyTargetMs : stats.lingerMs;
+    }
+
+    /** Returns the size of the batches of the bucket. */
+    public int getBatchSize(PhysicalTablePath physicalTablePath, int bucketId) {
+        BucketBatchingStats stats = getStats(physicalTablePath, bucketId);
+        return stats == null ? maxBatchSize : stats.batchSize;
+    }
+
+    /** Returns the average linger time of all the buckets, used for metrics. */
+    public long averageLingerMs() {
+        long total = 0;
+        int count = 0;
+        for (Map<Integer, BucketBatchingStats> buckets : bucketStats.values()) {
+            for (BucketBatchingStats stats : buckets.values()) {
+                total += stats.lingerMs;
+                count++;
+            }
+        }
+        return count == 0 ? latencyTargetMs : total / count;
+    }
+
+    /** Returns the average batch size of all the buckets, used for metrics. */
+    public long averageBatchSize() {
+        long total = 0;
+        int count = 0;
+        for (Map<Integer, BucketBatchingStats> buckets : bucketStats.values()) {
+            for (BucketBatchingStats stats : buckets.values()) {
+                total += stats.batchSize;
+                count++;
+            }
+        }
+        return count == 0 ? maxBatchSize : total / count;
+    }
+
+    @GuardedBy("stats")
+    private void tune(
+            PhysicalTablePath physicalTablePath, int bucketId, BucketBatchingStats stats) {
+        double roundTripMs = Math.max(0d, stats.roundTripMs);
+        long lingerMs = Math.max(0L, (long) (latencyTargetMs - roundTripMs));
+        if (stats.arrivalBytesPerMs >= 0) {
+            // the batch should hold the records arriving during the linger time, and be large
+            // enough for the max in-flight requests per round trip to keep up with the arrival
+            double fillTimeMs = Math.max(lingerMs, roundTripMs / maxInflightRequestsPerBucket);
+            long batchSize = (long) Math.ceil(stats.arrivalBytesPerMs * fillTimeMs);
+            stats.batchSize = (int) Math.max(minBatchSize, Math.min(batchSize, maxBatchSize));
+        }
+        if (stats.lingerMs != lingerMs) {
+            LOG.debug(
+                    "Set linger of bucket {} of {} from {} ms to {} ms, batch size {}",
+                    bucketId,
+                    physicalTablePath,
+                    stats.lingerMs,
+                    lingerMs,
+                    stats.batchSize);
+        }
+        stats.lingerMs = lingerMs;
+    }
+
+    private static double smooth(double average, double observed) {
+        return average * (1 - SMOOTHING_FACTOR) + observed * SMOOTHING_FACTOR;
+    }
+
+    private BucketBatchingStats getStats(PhysicalTablePath physicalTablePath, int bucketId) {
+        Map<Integer, BucketBatchingStats> buckets = bucketStats.get(physicalTablePath);
+        return buckets == null ? null : buckets.get(bucketId);
+    }
+
+    private BucketBatchingStats getOrCreateStats(
+            PhysicalTablePath physicalTablePath, int bucketId) {
+        return bucketStats
+                .computeIfAbsent(physicalTablePath, k -> MapUtils.newConcurrentHashMap())
+                .computeIfAbsent(
+                        bucketId, k -> new BucketBatchingStats(latencyTargetMs, maxBatchSize));
+    }
+
+    /** The batching states of a bucket. */
+    private static final class BucketBatchingStats {
+        /** The moving average of the arrival rate, negative if not observed yet. */
+        private double arrivalBytesPerMs = -1;
+
+        /** The moving average of the round trip time, negative if not observed yet. */
+        private double roundTripMs = -1;
+
+        private volatile long lingerMs;
+        private volatile int batchSize;
+
+        private BucketBatchingStats(long lingerMs, int batchSize) {
+            this.lingerMs = lingerMs;
+            this.batchSize = batchSize;
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.fluss.client.write;
 
 import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.compression.RowCompressionInfo;
 import org.apache.fluss.memory.AbstractPagedOutputView;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.record.MemoryLogRecordsCompactedBuilder;
@@ -45,13 +46,15 @@ public final class CompactedLogWriteBatch extends AbstractRowLogWriteBatch<Compa
             int schemaId,
             int writeLimit,
             AbstractPagedOutputView outputView,
+            RowCompressionInfo compressionInfo,
             long createdMs) {
         super(
                 bucketId,
                 physicalTablePath,
                 createdMs,
                 outputView,
-                MemoryLogRecordsCompactedBuilder.builder(schemaId, writeLimit, outputView, true),
+                MemoryLogRecordsCompactedBuilder.builder(
+                        schemaId, writeLimit, outputView, true, compressionInfo),
                 "Failed to build compacted log record batch.");
     }
 
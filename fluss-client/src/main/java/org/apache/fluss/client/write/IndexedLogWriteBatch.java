@@ -18,6 +18,7 @@
 package org.apache.fluss.client.write;
 
 import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.compression.RowCompressionInfo;
 import org.apache.fluss.memory.AbstractPagedOutputView;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.record.MemoryLogRecordsIndexedBuilder;
@@ -44,13 +45,15 @@ public final class IndexedLogWriteBatch extends AbstractRowLogWriteBatch<Indexed
             int schemaId,
             int writeLimit,
             AbstractPagedOutputView outputView,
+            RowCompressionInfo compressionInfo,
             long createdMs) {
         super(
                 bucketId,
                 physicalTablePath,
                 createdMs,
                 outputView,
-                MemoryLogRecordsIndexedBuilder.builder(schemaId, writeLimit, outputView, true),
+                MemoryLogRecordsIndexedBuilder.builder(
+                        schemaId, writeLimit, outputView, true, compressionInfo),
                 "Failed to build indexed log record batch.");
     }
 
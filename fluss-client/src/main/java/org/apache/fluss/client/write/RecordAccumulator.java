@@ -36,6 +36,7 @@ import org.apache.fluss.row.arrow.ArrowWriter;
 import org.apache.fluss.row.arrow.ArrowWriterPool;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
+import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.CopyOnWriteMap;
 import org.apache.fluss.utils.MathUtils;
 import org.apache.fluss.utils.clock.Clock;
@@ -48,6 +49,7 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
@@ -111,6 +113,10 @@ public final class RecordAccumulator {
     private final IdempotenceManager idempotenceManager;
     private final Clock clock;
     private final DynamicWriteBatchSizeEstimator batchSizeEstimator;
+    private final AdaptiveBatchTuner adaptiveBatchTuner;
+
+    /** The upper bound of the time to linger the batches of any bucket. */
+    private final long maxLingerMs;
 
     // TODO add retryBackoffMs to retry the produce request upon receiving an error.
     // TODO add deliveryTimeoutMs to report success or failure on record delivery.
@@ -142,6 +148,19 @@ public final class RecordAccumulator {
                         conf.get(ConfigOptions.CLIENT_WRITER_DYNAMIC_BATCH_SIZE_ENABLED),
                         batchSize,
                         (int) conf.get(ConfigOptions.CLIENT_WRITER_BUFFER_PAGE_SIZE).getBytes());
+        this.adaptiveBatchTuner =
+                new AdaptiveBatchTuner(
+                        conf.get(ConfigOptions.CLIENT_WRITER_ADAPTIVE_BATCHING_ENABLED),
+                        conf.get(ConfigOptions.CLIENT_WRITER_ADAPTIVE_BATCHING_LATENCY_TARGET)
+                                .toMillis(),
+                        batchSize,
+                        (int) conf.get(ConfigOptions.CLIENT_WRITER_BUFFER_PAGE_SIZE).getBytes(),
+                        conf.get(ConfigOptions.CLIENT_WRITER_MAX_INFLIGHT_REQUESTS_PER_BUCKET));
+        this.maxLingerMs =
+                adaptiveBatchTuner.isEnabled()
+                        ? conf.get(ConfigOptions.CLIENT_WRITER_ADAPTIVE_BATCHING_LATENCY_TARGET)
+                                .toMillis()
+                        : batchTimeoutMs;
         this.idempotenceManager = idempotenceManager;
         this.clock = clock;
         registerMetrics(writerMetricGroup);
@@ -155,6 +174,13 @@ public final class RecordAccumulator {
         // The number of user threads blocked waiting for buffer memory to enqueue their records
         writerMetricGroup.gauge(
                 MetricNames.WRITER_BUFFER_WAITING_THREADS, writerBufferPool::queued);
+        if (adaptiveBatchTuner.isEnabled()) {
+            // the average of the batch timeout and batch size chosen for the buckets
+            writerMetricGroup.gauge(
+                    MetricNames.WRITER_ADAPTIVE_LINGER_MS, adaptiveBatchTuner::averageLingerMs);
+            writerMetricGroup.gauge(
+                    MetricNames.WRITER_ADAPTIVE_BATCH_SIZE, adaptiveBatchTuner::averageBatchSize);
+        }
     }
 
     /**
@@ -204,7 +230,7 @@ public final class RecordAccumulator {
                 return new RecordAppendResult(true, false, true);
             }
 
-            memorySegments = allocateMemorySegments(writeRecord, physicalTablePath);
+            memorySegments = allocateMemorySegments(writeRecord, physicalTablePath, bucketId);
             synchronized (dq) {
                 RecordAppendResult appendResult =
                         appendNewBatch(
@@ -242,7 +268,7 @@ public final class RecordAccumulator {
      */
     public ReadyCheckResult ready(Cluster cluster) {
         Set<Integer> readyNodes = new HashSet<>();
-        long nextReadyCheckDelayMs = batchTimeoutMs;
+        long nextReadyCheckDelayMs = maxLingerMs;
         Set<PhysicalTablePath> unknownLeaderTables = new HashSet<>();
         // Go table by table so that we can get queue sizes for buckets in a table and calculate
         // cumulative frequency table (used in bucket assigner).
@@ -374,6 +400,21 @@ public final class RecordAccumulator {
         }
     }
 
+    /**
+     * Records the round trip time of a write request for the batches of the request, which is used
+     * to tune the batching of the buckets when adaptive batching is enabled.
+     */
+    public void recordRoundTrip(Collection<ReadyWriteBatch> batches, long roundTripMs) {
+        if (adaptiveBatchTuner.isEnabled()) {
+            for (ReadyWriteBatch batch : batches) {
+                adaptiveBatchTuner.onRequestCompleted(
+                        batch.writeBatch().physicalTablePath(),
+                        batch.tableBucket().getBucket(),
+                        roundTripMs);
+            }
+        }
+    }
+
     /** Deallocate the record batch. */
     public void deallocate(WriteBatch batch) {
         incomplete.remove(batch);
@@ -419,13 +460,14 @@ public final class RecordAccumulator {
     }
 
     private List<MemorySegment> allocateMemorySegments(
-            WriteRecord writeRecord, PhysicalTablePath physicalTablePath) throws IOException {
+            WriteRecord writeRecord, PhysicalTablePath physicalTablePath, int bucketId)
+            throws IOException {
+        int estimatedBatchSize =
+                adaptiveBatchTuner.isEnabled()
+                        ? adaptiveBatchTuner.getBatchSize(physicalTablePath, bucketId)
+                        : batchSizeEstimator.getEstimatedBatchSize(physicalTablePath);
         int pagesPerBatch =
-                Math.max(
-                        1,
-                        MathUtils.ceilDiv(
-                                batchSizeEstimator.getEstimatedBatchSize(physicalTablePath),
-                                writerBufferPool.pageSize()));
+                Math.max(1, MathUtils.ceilDiv(estimatedBatchSize, writerBufferPool.pageSize()));
 
         if (writeRecord.getWriteFormat() == WriteFormat.ARROW_LOG) {
             // pre-allocate a batch memory size for Arrow, if it is not sufficient during batching,
@@ -512,11 +554,16 @@ public final class RecordAccumulator {
                     // batches when deque is empty.
                     unknownLeaderTables.add(physicalTablePath);
                 } else {
+                    long lingerMs =
+                            adaptiveBatchTuner.isEnabled()
+                                    ? adaptiveBatchTuner.getLingerMs(physicalTablePath, bucketId)
+                                    : batchTimeoutMs;
                     nextReadyCheckDelayMs =
                             batchReady(
                                     exhausted,
                                     leader,
                                     waitedTimeMs,
+                                    lingerMs,
                                     full,
                                     readyNodes,
                                     nextReadyCheckDelayMs);
@@ -531,17 +578,18 @@ public final class RecordAccumulator {
             boolean exhausted,
             int leader,
             long waitedTimeMs,
+            long lingerMs,
             boolean full,
             Set<Integer> readyNodes,
             long nextReadyCheckDelayMs) {
         if (!readyNodes.contains(leader)) {
             // if the wait time larger than lingerMs, we can send this batch even if it is not full.
-            boolean expired = waitedTimeMs >= (long) batchTimeoutMs;
+            boolean expired = waitedTimeMs >= lingerMs;
             boolean sendAble = full || expired || exhausted || closed || flushInProgress();
             if (sendAble) {
                 readyNodes.add(leader);
             } else {
-                long timeLeftMs = Math.max(batchTimeoutMs - waitedTimeMs, 0);
+                long timeLeftMs = Math.max(lingerMs - waitedTimeMs, 0);
                 // Note that this results in a conservative estimate since an un-sendable bucket may
                 // have
                 // a leader that will later be found to have sendable data. However, this is good
@@ -626,13 +674,15 @@ public final class RecordAccumulator {
                                 schemaId,
                                 outputView.getPreAllocatedSize(),
                                 tableInfo.getRowType(),
-                                tableInfo.getTableConfig().getArrowCompressionInfo());
+                                tableInfo.getTableConfig().getArrowCompressionInfo(),
+                                dictionaryEncodedFields(tableInfo));
                 return new ArrowLogWriteBatch(
                         bucketId,
                         physicalTablePath,
                         tableInfo.getSchemaId(),
                         arrowWriter,
                         outputView,
+                        tableInfo.getTableConfig().isArrowStatisticsEnabled(),
                         clock.milliseconds());
 
             case COMPACTED_LOG:
@@ -642,6 +692,7 @@ public final class RecordAccumulator {
                         schemaId,
                         outputView.getPreAllocatedSize(),
                         outputView,
+                        tableInfo.getTableConfig().getRowCompressionInfo(),
                         clock.milliseconds());
 
             case INDEXED_LOG:
@@ -651,6 +702,7 @@ public final class RecordAccumulator {
                         tableInfo.getSchemaId(),
                         outputView.getPreAllocatedSize(),
                         outputView,
+                        tableInfo.getTableConfig().getRowCompressionInfo(),
                         clock.milliseconds());
 
             default:
@@ -658,6 +710,16 @@ public final class RecordAccumulator {
         }
     }
 
+    /** Returns the positions of the columns to be dictionary encoded in the Arrow batches. */
+    private static int[] dictionaryEncodedFields(TableInfo tableInfo) {
+        RowType rowType = tableInfo.getRowType();
+        return tableInfo.getTableConfig().getArrowDictionaryEncodingColumns().stream()
+                .mapToInt(rowType::getFieldIndex)
+                .filter(field -> field >= 0)
+                .sorted()
+                .toArray();
+    }
+
     private RecordAppendResult tryAppend(
             WriteRecord writeRecord, WriteCallback callback, Deque<WriteBatch> deque)
             throws Exception {
@@ -674,6 +736,12 @@ public final class RecordAccumulator {
                 // non-heap memory hold by arrowWriter as soon as possible to avoid OOM. Maybe we
                 // need to introduce a more reasonable way to solve these two problems.
                 last.close();
+                // the time to fill the batch reflects the arrival rate of the bucket
+                adaptiveBatchTuner.onBatchFilled(
+                        last.physicalTablePath(),
+                        last.bucketId(),
+                        last.estimatedSizeInBytes(),
+                        last.waitedTimeMs(clock.milliseconds()));
             } else {
                 return new RecordAppendResult(deque.size() > 1 || last.isClosed(), false, false);
             }
@@ -759,10 +827,22 @@ public final class RecordAccumulator {
 
             // the rest of the work by processing outside the lock close() is particularly expensive
             checkNotNull(batch, "batch should not be null");
+            // the batch is already closed if it is full or it is retried
+            boolean lingered = !batch.isClosed();
             batch.close();
             int currentBatchSize = batch.estimatedSizeInBytes();
             size += currentBatchSize;
-            batchSizeEstimator.updateEstimation(physicalTablePath, currentBatchSize);
+            if (adaptiveBatchTuner.isEnabled()) {
+                if (lingered) {
+                    adaptiveBatchTuner.onBatchFilled(
+                            physicalTablePath,
+                            tableBucket.getBucket(),
+                            currentBatchSize,
+                            batch.waitedTimeMs(clock.milliseconds()));
+                }
+            } else {
+                batchSizeEstimator.updateEstimation(physicalTablePath, currentBatchSize);
+            }
 
             ready.add(new ReadyWriteBatch(tableBucket, batch));
             // mark the batch as drained.
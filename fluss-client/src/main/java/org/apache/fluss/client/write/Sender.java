@@ -418,11 +418,12 @@ public class Sender implements Runnable {
         gateway.produceLog(request)
                 .whenComplete(
                         (produceLogResponse, e) -> {
-                            writerMetricGroup.setSendLatencyInMs(
-                                    System.currentTimeMillis() - startTime);
+                            long latencyMs = System.currentTimeMillis() - startTime;
+                            writerMetricGroup.setSendLatencyInMs(latencyMs);
                             if (e != null) {
                                 handleWriteRequestException(e, recordsByBucket);
                             } else {
+                                accumulator.recordRoundTrip(recordsByBucket.values(), latencyMs);
                                 handleProduceLogResponse(
                                         produceLogResponse, tableId, recordsByBucket);
                             }
@@ -438,11 +439,12 @@ public class Sender implements Runnable {
         gateway.putKv(request)
                 .whenComplete(
                         (putKvResponse, e) -> {
-                            writerMetricGroup.setSendLatencyInMs(
-                                    System.currentTimeMillis() - startTime);
+                            long latencyMs = System.currentTimeMillis() - startTime;
+                            writerMetricGroup.setSendLatencyInMs(latencyMs);
                             if (e != null) {
                                 handleWriteRequestException(e, recordsByBucket);
                             } else {
+                                accumulator.recordRoundTrip(recordsByBucket.values(), latencyMs);
                                 handlePutKvResponse(putKvResponse, tableId, recordsByBucket);
                             }
                         });
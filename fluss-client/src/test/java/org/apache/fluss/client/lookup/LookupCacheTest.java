@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.lookup;
+
+import org.apache.fluss.client.metrics.LookupCacheMetricGroup;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.rpc.metrics.TestingClientMetricGroup;
+import org.apache.fluss.utils.clock.ManualClock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link LookupCache}. */
+class LookupCacheTest {
+
+    private static final TablePath TABLE_PATH = TablePath.of("db", "table");
+    private static final TableBucket TABLE_BUCKET = new TableBucket(1L, 0);
+
+    private ManualClock clock;
+    private LookupCacheMetricGroup metricGroup;
+
+    @BeforeEach
+    void setup() {
+        clock = new ManualClock();
+        metricGroup =
+                new LookupCacheMetricGroup(TestingClientMetricGroup.newInstance(), TABLE_PATH);
+    }
+
+    @Test
+    void testCreate() {
+        Configuration conf = new Configuration();
+        assertThat(LookupCache.create(conf, TestingClientMetricGroup.newInstance(), TABLE_PATH))
+                .isNull();
+
+        conf.set(ConfigOptions.CLIENT_LOOKUP_CACHE_MAX_ROWS, 10L);
+        try (LookupCache cache =
+                LookupCache.create(conf, TestingClientMetricGroup.newInstance(), TABLE_PATH)) {
+            assertThat(cache).isNotNull();
+        }
+    }
+
+    @Test
+    void testLoadAndGet() {
+        LookupCache cache = new LookupCache(10, 0, clock, metricGroup);
+        LookupCache.Key key = key("k1");
+        assertThat(cache.get(key)).isNull();
+
+        cache.finishLoad(key, cache.startLoad(key), bytes("v1"));
+        // an equal key of another byte array instance hits the cache
+        LookupCache.Entry entry = cache.get(key("k1"));
+        assertThat(entry).isNotNull();
+        assertThat(entry.value()).isEqualTo(bytes("v1"));
+
+        // the non-existing key is cached as well
+        LookupCache.Key missingKey = key("k2");
+        cache.finishLoad(missingKey, cache.startLoad(missingKey), null);
+        entry = cache.get(missingKey);
+        assertThat(entry).isNotNull();
+        assertThat(entry.value()).isNull();
+
+        // the same key bytes of another bucket is a different key
+        assertThat(cache.get(new LookupCache.Key(new TableBucket(1L, 1), bytes("k1")))).isNull();
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(metricGroup.hitCount().getCount()).isEqualTo(2);
+        assertThat(metricGroup.missCount().getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsed() {
+        LookupCache cache = new LookupCache(2, 0, clock, metricGroup);
+        load(cache, "k1", "v1");
+        load(cache, "k2", "v2");
+        // access k1 to make k2 the least recently used one
+        assertThat(cache.get(key("k1"))).isNotNull();
+        load(cache, "k3", "v3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(key("k2"))).isNull();
+        assertThat(cache.get(key("k1"))).isNotNull();
+        assertThat(cache.get(key("k3"))).isNotNull();
+        assertThat(metricGroup.evictionCount().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testExpireAfterWrite() {
+        LookupCache cache = new LookupCache(10, 1000, clock, metricGroup);
+        load(cache, "k1", "v1");
+        clock.advanceTime(Duration.ofMillis(999));
+        assertThat(cache.get(key("k1"))).isNotNull();
+        // reading the entry doesn't extend the expiration
+        clock.advanceTime(Duration.ofMillis(1));
+        assertThat(cache.get(key("k1"))).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(metricGroup.evictionCount().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidate() {
+        LookupCache cache = new LookupCache(10, 0, clock, metricGroup);
+        load(cache, "k1", "v1");
+        load(cache, "k2", "v2");
+        cache.invalidate(key("k1"));
+        assertThat(cache.get(key("k1"))).isNull();
+        assertThat(cache.get(key("k2"))).isNotNull();
+
+        cache.invalidateAll();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    void testInvalidateDuringLoad() {
+        LookupCache cache = new LookupCache(10, 0, clock, metricGroup);
+        LookupCache.Key key = key("k1");
+        Object token = cache.startLoad(key);
+        // the key is changed while the lookup request is in flight, the loaded value may be stale
+        cache.invalidate(key);
+        cache.finishLoad(key, token, bytes("v1"));
+        assertThat(cache.get(key)).isNull();
+
+        // a superseded load is not cached
+        Object token1 = cache.startLoad(key);
+        Object token2 = cache.startLoad(key);
+        cache.finishLoad(key, token1, bytes("v1"));
+        assertThat(cache.get(key)).isNull();
+        cache.finishLoad(key, token2, bytes("v2"));
+        assertThat(cache.get(key).value()).isEqualTo(bytes("v2"));
+
+        // a cancelled load is not cached
+        LookupCache.Key key2 = key("k2");
+        Object token3 = cache.startLoad(key2);
+        cache.cancelLoad(key2, token3);
+        cache.finishLoad(key2, token3, bytes("v2"));
+        assertThat(cache.get(key2)).isNull();
+    }
+
+    @Test
+    void testClose() {
+        LookupCache cache = new LookupCache(10, 0, clock, metricGroup);
+        load(cache, "k1", "v1");
+        LookupCache.Key key = key("k2");
+        Object token = cache.startLoad(key);
+        cache.close();
+
+        assertThat(cache.size()).isEqualTo(0);
+        cache.finishLoad(key, token, bytes("v2"));
+        load(cache, "k3", "v3");
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    private static void load(LookupCache cache, String key, String value) {
+        LookupCache.Key cacheKey = key(key);
+        cache.finishLoad(cacheKey, cache.startLoad(cacheKey), bytes(value));
+    }
+
+    private static LookupCache.Key key(String key) {
+        return new LookupCache.Key(TABLE_BUCKET, bytes(key));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes();
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.fluss.metadata.TableBucket;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -118,6 +119,31 @@ class LookupQueueTest {
         assertThat(queue.hasUnDrained()).isFalse();
     }
 
+    @Test
+    void testDrainWakesUpOnAppend() throws Exception {
+        Configuration conf = new Configuration();
+        conf.set(CLIENT_LOOKUP_MAX_BATCH_SIZE, 2);
+        conf.setString(CLIENT_LOOKUP_BATCH_TIMEOUT.key(), "1h");
+        LookupQueue queue = new LookupQueue(conf);
+
+        CompletableFuture<List<AbstractLookupQuery<?>>> future =
+                CompletableFuture.supplyAsync(queue::drain);
+        appendLookups(queue, 1);
+        Thread.sleep(100);
+        // waits for the batch to be full
+        assertThat(future.isDone()).isFalse();
+
+        // the batch is full, the drain returns without waiting for the batch timeout
+        queue.reEnqueue(
+                new LookupQuery(DATA1_TABLE_PATH_PK, new TableBucket(1, 1), new byte[] {0}));
+        assertThat(future.get(10, TimeUnit.SECONDS)).hasSize(2);
+
+        // closing the queue wakes up the drain as well
+        future = CompletableFuture.supplyAsync(queue::drain);
+        queue.close();
+        assertThat(future.get(10, TimeUnit.SECONDS)).isEmpty();
+    }
+
     private static void appendLookups(LookupQueue queue, int count) {
         for (int i = 0; i < count; i++) {
             queue.appendLookup(
@@ -374,6 +374,67 @@ public class LookupSenderTest {
                 .isGreaterThanOrEqualTo(2); // at least 1 failure + 1 success for the batch
     }
 
+    @Test
+    void testIdenticalLookupsAreCoalesced() throws Exception {
+        AtomicInteger keyCount = new AtomicInteger(0);
+        CompletableFuture<Void> responseReady = new CompletableFuture<>();
+        gateway.setLookupHandler(
+                request -> {
+                    keyCount.addAndGet(request.getBucketsReqAt(0).getKeysCount());
+                    return responseReady.thenCompose(
+                            v -> createSuccessResponse(request, "value".getBytes()));
+                });
+
+        LookupClient lookupClient = new LookupClient(new Configuration(), metadataUpdater);
+        try {
+            CompletableFuture<byte[]> future1 =
+                    lookupClient.lookup(DATA1_TABLE_PATH_PK, TABLE_BUCKET, "key1".getBytes());
+            CompletableFuture<byte[]> future2 =
+                    lookupClient.lookup(DATA1_TABLE_PATH_PK, TABLE_BUCKET, "key1".getBytes());
+            CompletableFuture<byte[]> future3 =
+                    lookupClient.lookup(DATA1_TABLE_PATH_PK, TABLE_BUCKET, "key2".getBytes());
+            assertThat(lookupClient.numInFlightLookups()).isEqualTo(2);
+
+            // completing the future of a caller doesn't affect the other callers
+            future1.cancel(true);
+            responseReady.complete(null);
+            assertThat(future2.get(5, TimeUnit.SECONDS)).isEqualTo("value".getBytes());
+            assertThat(future3.get(5, TimeUnit.SECONDS)).isEqualTo("value".getBytes());
+            assertThat(keyCount.get()).isEqualTo(2);
+            waitUntil(
+                    () -> lookupClient.numInFlightLookups() == 0,
+                    Duration.ofSeconds(5),
+                    "in-flight lookups are not removed");
+        } finally {
+            lookupClient.close(Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    void testAdaptiveBatchSize() {
+        LookupSender.AdaptiveBatchSize batchSize = new LookupSender.AdaptiveBatchSize(8);
+        assertThat(batchSize.get()).isEqualTo(8);
+
+        // the batch size is halved when the latency exceeds twice the baseline latency
+        batchSize.update(1000);
+        assertThat(batchSize.get()).isEqualTo(8);
+        batchSize.update(5000);
+        assertThat(batchSize.get()).isEqualTo(4);
+        batchSize.update(5000);
+        assertThat(batchSize.get()).isEqualTo(2);
+        batchSize.update(5000);
+        batchSize.update(5000);
+        assertThat(batchSize.get()).isEqualTo(1);
+
+        // and grows additively up to the max batch size when the latency recovers
+        for (int i = 1; i <= 7; i++) {
+            batchSize.update(1000);
+            assertThat(batchSize.get()).isEqualTo(1 + i);
+        }
+        batchSize.update(1000);
+        assertThat(batchSize.get()).isEqualTo(8);
+    }
+
     // Helper methods
 
     private void testException(Exception exception, boolean shouldRetry, int expectedRetries)
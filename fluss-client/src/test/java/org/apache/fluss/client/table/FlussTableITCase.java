@@ -17,6 +17,8 @@
 
 package org.apache.fluss.client.table;
 
+import org.apache.fluss.aggregate.AggregateCall;
+import org.apache.fluss.aggregate.GroupAggregator;
 import org.apache.fluss.client.Connection;
 import org.apache.fluss.client.ConnectionFactory;
 import org.apache.fluss.client.admin.ClientToServerITCaseBase;
@@ -32,6 +34,7 @@ import org.apache.fluss.client.table.writer.UpsertWriter;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.exception.InvalidConfigException;
 import org.apache.fluss.fs.FsPath;
 import org.apache.fluss.fs.TestFileSystem;
 import org.apache.fluss.metadata.DataLakeFormat;
@@ -66,6 +69,7 @@ import javax.annotation.Nullable;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -85,6 +89,7 @@ import static org.apache.fluss.testutils.DataTestUtils.compactedRow;
 import static org.apache.fluss.testutils.DataTestUtils.keyRow;
 import static org.apache.fluss.testutils.DataTestUtils.row;
 import static org.apache.fluss.testutils.InternalRowAssert.assertThatRow;
+import static org.apache.fluss.testutils.common.CommonTestUtils.retry;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -401,6 +406,92 @@ class FlussTableITCase extends ClientToServerITCaseBase {
         }
     }
 
+    @Test
+    void testPutAndSecondaryIndexLookup() throws Exception {
+        TablePath tablePath = TablePath.of("test_db_1", "test_put_and_secondary_index_lookup");
+        Schema schema =
+                Schema.newBuilder()
+                        .column("a", DataTypes.INT())
+                        .column("b", DataTypes.STRING())
+                        .column("c", DataTypes.BIGINT())
+                        .primaryKey("a")
+                        .build();
+        TableDescriptor descriptor =
+                TableDescriptor.builder()
+                        .schema(schema)
+                        .distributedBy(3, "a")
+                        .property(ConfigOptions.TABLE_SECONDARY_INDEXES.key(), "b;c,b")
+                        .build();
+        createTable(tablePath, descriptor, false);
+        Table table = conn.getTable(tablePath);
+        UpsertWriter upsertWriter = table.newUpsert().createWriter();
+        upsertWriter.upsert(row(1, "x", 10L));
+        upsertWriter.upsert(row(2, "x", 20L));
+        upsertWriter.upsert(row(3, "y", 10L));
+        upsertWriter.upsert(row(4, null, 10L));
+        upsertWriter.flush();
+
+        Lookuper indexLookuper = table.newLookup().lookupBy("b").createLookuper();
+        assertThat(lookupKeys(indexLookuper, row("x"))).containsExactlyInAnyOrder(1, 2);
+        assertThat(lookupKeys(indexLookuper, row("y"))).containsExactly(3);
+        assertThat(lookupKeys(indexLookuper, row("z"))).isEmpty();
+        // rows with null indexed values are not indexed
+        assertThat(lookupKeys(indexLookuper, row((Object) null))).isEmpty();
+
+        // the lookup columns of a composite index can be in any order
+        Lookuper compositeLookuper = table.newLookup().lookupBy("b", "c").createLookuper();
+        assertThat(lookupKeys(compositeLookuper, row("x", 20L))).containsExactly(2);
+
+        // update the indexed column and delete a row
+        upsertWriter.upsert(row(1, "y", 10L));
+        upsertWriter.delete(row(3, "y", 10L));
+        upsertWriter.flush();
+        assertThat(lookupKeys(indexLookuper, row("x"))).containsExactly(2);
+        assertThat(lookupKeys(indexLookuper, row("y"))).containsExactly(1);
+        assertThat(lookupKeys(compositeLookuper, row("x", 10L))).isEmpty();
+        assertThat(lookupKeys(compositeLookuper, row("y", 10L))).containsExactly(1);
+    }
+
+    private static List<Integer> lookupKeys(Lookuper lookuper, InternalRow lookupKey)
+            throws Exception {
+        List<Integer> keys = new ArrayList<>();
+        for (InternalRow row : lookuper.lookup(lookupKey).get().getRowList()) {
+            keys.add(row.getInt(0));
+        }
+        return keys;
+    }
+
+    @Test
+    void testInvalidSecondaryIndexes() {
+        TablePath tablePath = TablePath.of("test_db_1", "test_invalid_secondary_indexes");
+        Schema schema =
+                Schema.newBuilder()
+                        .column("a", DataTypes.INT())
+                        .column("b", DataTypes.STRING())
+                        .primaryKey("a")
+                        .build();
+        TableDescriptor unknownColumn =
+                TableDescriptor.builder()
+                        .schema(schema)
+                        .property(ConfigOptions.TABLE_SECONDARY_INDEXES.key(), "d")
+                        .build();
+        assertThatThrownBy(() -> admin.createTable(tablePath, unknownColumn, false).get())
+                .rootCause()
+                .isInstanceOf(InvalidConfigException.class)
+                .hasMessageContaining(
+                        "The column 'd' of the secondary index [d] doesn't exist in schema.");
+
+        TableDescriptor logTable =
+                TableDescriptor.builder()
+                        .schema(DATA1_SCHEMA)
+                        .property(ConfigOptions.TABLE_SECONDARY_INDEXES.key(), "b")
+                        .build();
+        assertThatThrownBy(() -> admin.createTable(tablePath, logTable, false).get())
+                .rootCause()
+                .isInstanceOf(InvalidConfigException.class)
+                .hasMessageContaining("Secondary index is only supported in primary key table.");
+    }
+
     @Test
     void testInvalidPrefixLookup() throws Exception {
         // First, test the bucket keys not a prefix subset of primary keys.
@@ -630,6 +721,58 @@ class FlussTableITCase extends ClientToServerITCaseBase {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testLookupWithCache(boolean changelogInvalidation) throws Exception {
+        TableDescriptor descriptor =
+                TableDescriptor.builder().schema(DATA1_SCHEMA_PK).distributedBy(3).build();
+        createTable(DATA1_TABLE_PATH_PK, descriptor, true);
+        Configuration config = new Configuration(clientConf);
+        config.set(ConfigOptions.CLIENT_LOOKUP_CACHE_MAX_ROWS, 100L);
+        config.set(ConfigOptions.CLIENT_LOOKUP_CACHE_EXPIRE_AFTER_WRITE, Duration.ofHours(1));
+        config.set(
+                ConfigOptions.CLIENT_LOOKUP_CACHE_CHANGELOG_INVALIDATION_ENABLED,
+                changelogInvalidation);
+        try (Connection conn = ConnectionFactory.createConnection(config);
+                Table table = conn.getTable(DATA1_TABLE_PATH_PK)) {
+            UpsertWriter upsertWriter = table.newUpsert().createWriter();
+            upsertWriter.upsert(row(1, "a"));
+            upsertWriter.flush();
+
+            Lookuper lookuper = table.newLookup().createLookuper();
+            InternalRow keyRow = row(1);
+            assertThatRow(lookupRow(lookuper, keyRow))
+                    .withSchema(DATA1_ROW_TYPE)
+                    .isEqualTo(row(1, "a"));
+            // the missing key is cached as well
+            assertThat(lookupRow(lookuper, row(2))).isNull();
+
+            upsertWriter.upsert(row(1, "b"));
+            upsertWriter.upsert(row(2, "c"));
+            upsertWriter.flush();
+            if (changelogInvalidation) {
+                // the changes invalidate the cached results eventually
+                retry(
+                        Duration.ofMinutes(1),
+                        () -> {
+                            assertThatRow(lookupRow(lookuper, keyRow))
+                                    .withSchema(DATA1_ROW_TYPE)
+                                    .isEqualTo(row(1, "b"));
+                            assertThatRow(lookupRow(lookuper, row(2)))
+                                    .withSchema(DATA1_ROW_TYPE)
+                                    .isEqualTo(row(2, "c"));
+                        });
+            } else {
+                // the cached results are returned until they expire
+                Lookuper newLookuper = table.newLookup().createLookuper();
+                assertThatRow(lookupRow(newLookuper, keyRow))
+                        .withSchema(DATA1_ROW_TYPE)
+                        .isEqualTo(row(1, "a"));
+                assertThat(lookupRow(newLookuper, row(2))).isNull();
+            }
+        }
+    }
+
     @Test
     void testLookupForNotReadyTable() throws Exception {
         TablePath tablePath = TablePath.of("test_db_1", "test_lookup_unready_table_t1");
@@ -696,6 +839,41 @@ class FlussTableITCase extends ClientToServerITCaseBase {
         }
     }
 
+    @Test
+    void testAggregateScan() throws Exception {
+        TableDescriptor descriptor =
+                TableDescriptor.builder().schema(DATA1_SCHEMA).distributedBy(1).build();
+        long tableId = createTable(DATA1_TABLE_PATH, descriptor, true);
+        try (Connection conn = ConnectionFactory.createConnection(clientConf)) {
+            Table table = conn.getTable(DATA1_TABLE_PATH);
+            AppendWriter appendWriter = table.newAppend().createWriter();
+            for (int i = 0; i < 10; i++) {
+                appendWriter.append(row(i % 2, StringUtils.repeat("a", i)));
+            }
+            appendWriter.flush();
+
+            List<AggregateCall> calls =
+                    Arrays.asList(
+                            AggregateCall.countStar(), AggregateCall.sum(0), AggregateCall.max(1));
+            TableBucket tb = new TableBucket(tableId, 0);
+            List<InternalRow> actualRows =
+                    collectRows(
+                            table.newScan().aggregate(new int[] {0}, calls).createBatchScanner(tb));
+            RowType resultType =
+                    new GroupAggregator(DATA1_SCHEMA.getRowType(), new int[] {0}, calls)
+                            .getResultType();
+            assertThat(actualRows).hasSize(2);
+            assertRowValueEquals(
+                    resultType,
+                    actualRows.get(0),
+                    new Object[] {0, 5L, 0L, StringUtils.repeat("a", 8)});
+            assertRowValueEquals(
+                    resultType,
+                    actualRows.get(1),
+                    new Object[] {1, 5L, 5L, StringUtils.repeat("a", 9)});
+        }
+    }
+
     @Test
     void testLimitScanLogTable() throws Exception {
         TableDescriptor descriptor =
@@ -1486,6 +1664,60 @@ class FlussTableITCase extends ClientToServerITCaseBase {
         }
     }
 
+    @Test
+    void testArrowDictionaryEncodingAndProject() throws Exception {
+        Schema schema =
+                Schema.newBuilder()
+                        .column("a", DataTypes.INT())
+                        .column("b", DataTypes.STRING())
+                        .column("c", DataTypes.STRING())
+                        .build();
+        TableDescriptor tableDescriptor =
+                TableDescriptor.builder()
+                        .schema(schema)
+                        .property(
+                                ConfigOptions.TABLE_LOG_ARROW_DICTIONARY_ENCODING_COLUMNS.key(),
+                                "b,c")
+                        .build();
+        TablePath tablePath = TablePath.of("test_db_1", "test_arrow_dictionary_encoding");
+        createTable(tablePath, tableDescriptor, false);
+
+        try (Connection conn = ConnectionFactory.createConnection(clientConf);
+                Table table = conn.getTable(tablePath)) {
+            AppendWriter appendWriter = table.newAppend().createWriter();
+            int expectedSize = 500;
+            List<InternalRow> expectedRows = new ArrayList<>();
+            for (int i = 0; i < expectedSize; i++) {
+                String country = i % 5 == 0 ? null : "country-of-the-user-" + (i % 3);
+                InternalRow row = row(i, country, "event-type-" + (i % 4));
+                appendWriter.append(row);
+                expectedRows.add(row);
+            }
+            appendWriter.flush();
+
+            RowType rowType = schema.getRowType();
+            // the projected columns are still dictionary encoded in the fetched batches
+            for (int[] projection : new int[][] {{0, 1, 2}, {2}, {0, 2}}) {
+                try (LogScanner logScanner = createLogScanner(table, projection)) {
+                    subscribeFromBeginning(logScanner, table);
+                    int count = 0;
+                    while (count < expectedSize) {
+                        ScanRecords scanRecords = logScanner.poll(Duration.ofSeconds(1));
+                        for (ScanRecord scanRecord : scanRecords) {
+                            assertThatRow(scanRecord.getRow())
+                                    .withSchema(rowType.project(projection))
+                                    .isEqualTo(
+                                            ProjectedRow.from(projection)
+                                                    .replaceRow(expectedRows.get(count)));
+                            count++;
+                        }
+                    }
+                    assertThat(count).isEqualTo(expectedSize);
+                }
+            }
+        }
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = {true, false})
     void testMergeEngineWithVersion(boolean doProjection) throws Exception {
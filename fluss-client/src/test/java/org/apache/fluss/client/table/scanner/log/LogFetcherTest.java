@@ -23,6 +23,8 @@ import org.apache.fluss.client.metadata.TestingMetadataUpdater;
 import org.apache.fluss.client.metrics.TestingScannerMetricGroup;
 import org.apache.fluss.client.table.scanner.RemoteFileDownloader;
 import org.apache.fluss.cluster.BucketLocation;
+import org.apache.fluss.cluster.Cluster;
+import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.NotLeaderOrFollowerException;
 import org.apache.fluss.metadata.PhysicalTablePath;
@@ -107,6 +109,50 @@ public class LogFetcherTest {
         assertThat(metadataUpdater.getBucketLocation(tb1)).isNotPresent();
     }
 
+    @Test
+    void testFetchFromFollowerInSameRack() throws Exception {
+        Configuration conf = new Configuration();
+        conf.set(ConfigOptions.CLIENT_RACK, NODE2.rack());
+        Map<Integer, TestTabletServerGateway> gateways = new HashMap<>();
+        gateways.put(1, new TestingTabletServerGateway());
+        gateways.put(2, new TestingTabletServerGateway());
+        metadataUpdater =
+                new TestingMetadataUpdater(
+                        TestingMetadataUpdater.COORDINATOR,
+                        Arrays.asList(NODE1, NODE2, NODE3),
+                        Collections.singletonMap(DATA1_TABLE_PATH, DATA1_TABLE_INFO),
+                        gateways,
+                        new Configuration());
+        Cluster cluster = metadataUpdater.getCluster();
+        LogFetcher rackAwareFetcher =
+                new LogFetcher(
+                        DATA1_TABLE_INFO,
+                        null,
+                        initializeLogScannerStatus(),
+                        conf,
+                        metadataUpdater,
+                        TestingScannerMetricGroup.newInstance(),
+                        new RemoteFileDownloader(1),
+                        new TestingClientSchemaGetter(
+                                DATA1_TABLE_PATH,
+                                new SchemaInfo(DATA1_SCHEMA, 0),
+                                metadataUpdater));
+
+        // the leader is server 1 in rack1, fetch from the follower server 2 in rack2
+        Map<Integer, FetchLogRequest> requestMap = rackAwareFetcher.prepareFetchLogRequests();
+        assertThat(requestMap.keySet()).containsExactly(2);
+        assertThat(requestMap.get(2).isReadFromFollower()).isTrue();
+
+        // the follower fails the fetch, fall back to fetch from the leader
+        rackAwareFetcher.sendFetchRequest(2, requestMap.get(2));
+        assertThat(rackAwareFetcher.collectFetch()).isEmpty();
+        metadataUpdater.updateCluster(cluster);
+        requestMap = rackAwareFetcher.prepareFetchLogRequests();
+        assertThat(requestMap.keySet()).containsExactly(1);
+        assertThat(requestMap.get(1).hasReadFromFollower()).isFalse();
+        rackAwareFetcher.close();
+    }
+
     private TestingMetadataUpdater initializeMetadataUpdater() {
 
         return new TestingMetadataUpdater(
@@ -22,13 +22,19 @@ import org.apache.fluss.client.table.Table;
 import org.apache.fluss.client.table.scanner.ScanRecord;
 import org.apache.fluss.client.table.writer.AppendWriter;
 import org.apache.fluss.client.table.writer.UpsertWriter;
+import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.exception.FetchException;
+import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.Schema;
+import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableDescriptor;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.PredicateBuilder;
 import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.record.ColumnarBatch;
 import org.apache.fluss.row.GenericRow;
 import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.columnar.IntColumnVector;
 import org.apache.fluss.types.DataTypes;
 import org.apache.fluss.types.RowType;
 
@@ -38,6 +44,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -45,10 +52,13 @@ import java.util.concurrent.Executors;
 
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
 import static org.apache.fluss.record.TestData.DATA1_PARTITIONED_TABLE_DESCRIPTOR;
+import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
 import static org.apache.fluss.record.TestData.DATA1_SCHEMA;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_DESCRIPTOR;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_DESCRIPTOR_PK;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH;
 import static org.apache.fluss.testutils.DataTestUtils.row;
+import static org.apache.fluss.testutils.common.CommonTestUtils.retry;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -86,6 +96,142 @@ public class LogScannerITCase extends ClientToServerITCaseBase {
         }
     }
 
+    @Test
+    void testPollBatches() throws Exception {
+        createTable(DATA1_TABLE_PATH, DATA1_TABLE_DESCRIPTOR, false);
+
+        int recordSize = 20;
+        List<GenericRow> expectedRows = new ArrayList<>();
+        try (Table table = conn.getTable(DATA1_TABLE_PATH)) {
+            AppendWriter appendWriter = table.newAppend().createWriter();
+            for (int i = 0; i < recordSize; i++) {
+                expectedRows.add(row("a" + i, i));
+                appendWriter.append(row(i, "a" + i));
+                if (i % 5 == 4) {
+                    appendWriter.flush();
+                }
+            }
+
+            // the columns are reordered by the projection
+            try (LogScanner logScanner = createLogScanner(table, new int[] {1, 0})) {
+                subscribeFromBeginning(logScanner, table);
+                List<GenericRow> rowList = new ArrayList<>();
+                // the rows polled by poll() are not returned again by pollBatches()
+                while (rowList.isEmpty()) {
+                    for (ScanRecord scanRecord : logScanner.poll(Duration.ofSeconds(1))) {
+                        InternalRow row = scanRecord.getRow();
+                        rowList.add(row(row.getString(0), row.getInt(1)));
+                    }
+                }
+                while (rowList.size() < recordSize) {
+                    try (ScanBatches scanBatches = logScanner.pollBatches(Duration.ofSeconds(1))) {
+                        for (ColumnarBatch batch : scanBatches) {
+                            assertThat(batch.getFieldCount()).isEqualTo(2);
+                            IntColumnVector idVector = (IntColumnVector) batch.getColumnVector(1);
+                            for (int i = 0; i < batch.getRowCount(); i++) {
+                                assertThat(batch.getChangeType(i))
+                                        .isEqualTo(ChangeType.APPEND_ONLY);
+                                rowList.add(row(batch.getRow(i).getString(0), idVector.getInt(i)));
+                            }
+                        }
+                    }
+                }
+                assertThat(rowList).containsExactlyInAnyOrderElementsOf(expectedRows);
+            }
+        }
+    }
+
+    @Test
+    void testPollBatchesOfPrimaryKeyTable() throws Exception {
+        TablePath tablePath = TablePath.of("test_db_1", "test_poll_batches_pk");
+        createTable(tablePath, DATA1_TABLE_DESCRIPTOR_PK, false);
+
+        try (Table table = conn.getTable(tablePath)) {
+            UpsertWriter upsertWriter = table.newUpsert().createWriter();
+            upsertWriter.upsert(row(1, "a"));
+            upsertWriter.upsert(row(1, "b"));
+            upsertWriter.delete(row(1, "b"));
+            upsertWriter.flush();
+
+            List<ChangeType> expectedChangeTypes =
+                    Arrays.asList(
+                            ChangeType.INSERT,
+                            ChangeType.UPDATE_BEFORE,
+                            ChangeType.UPDATE_AFTER,
+                            ChangeType.DELETE);
+            List<ChangeType> changeTypes = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            try (LogScanner logScanner = createLogScanner(table, new int[] {1})) {
+                subscribeFromBeginning(logScanner, table);
+                while (changeTypes.size() < expectedChangeTypes.size()) {
+                    try (ScanBatches scanBatches = logScanner.pollBatches(Duration.ofSeconds(1))) {
+                        for (ColumnarBatch batch : scanBatches) {
+                            for (int i = 0; i < batch.getRowCount(); i++) {
+                                changeTypes.add(batch.getChangeType(i));
+                                values.add(batch.getRow(i).getString(0).toString());
+                            }
+                        }
+                    }
+                }
+            }
+            assertThat(changeTypes).isEqualTo(expectedChangeTypes);
+            assertThat(values).containsExactly("a", "a", "b", "b");
+        }
+    }
+
+    @Test
+    void testPollBatchesOfNonArrowTable() throws Exception {
+        TablePath tablePath = TablePath.of("test_db_1", "test_poll_batches_indexed");
+        TableDescriptor descriptor =
+                TableDescriptor.builder().schema(DATA1_SCHEMA).logFormat(LogFormat.INDEXED).build();
+        createTable(tablePath, descriptor, false);
+        try (Table table = conn.getTable(tablePath);
+                LogScanner logScanner = createLogScanner(table)) {
+            subscribeFromBeginning(logScanner, table);
+            assertThatThrownBy(() -> logScanner.pollBatches(Duration.ofSeconds(1)))
+                    .isInstanceOf(UnsupportedOperationException.class)
+                    .hasMessageContaining("only supported for tables with ARROW log format");
+        }
+    }
+
+    @Test
+    void testPositionOfFilteredScan() throws Exception {
+        TableDescriptor tableDescriptor =
+                TableDescriptor.builder()
+                        .schema(DATA1_SCHEMA)
+                        .distributedBy(1)
+                        .property(ConfigOptions.TABLE_LOG_ARROW_STATISTICS_ENABLED, true)
+                        .build();
+        long tableId = createTable(DATA1_TABLE_PATH, tableDescriptor, false);
+
+        int recordSize = 10;
+        try (Table table = conn.getTable(DATA1_TABLE_PATH)) {
+            AppendWriter appendWriter = table.newAppend().createWriter();
+            for (int i = 0; i < recordSize; i++) {
+                appendWriter.append(row(i, "a")).get();
+            }
+
+            // no batch matches the filter, but the position still moves forward
+            LogScanner logScanner =
+                    table.newScan()
+                            .filter(new PredicateBuilder(DATA1_ROW_TYPE).greaterThan(0, 100))
+                            .createLogScanner();
+            logScanner.subscribeFromBeginning(0);
+            TableBucket tableBucket = new TableBucket(tableId, 0);
+            assertThat(logScanner.position(tableBucket)).isEqualTo(LogScanner.EARLIEST_OFFSET);
+            retry(
+                    Duration.ofMinutes(1),
+                    () -> {
+                        assertThat(logScanner.poll(Duration.ofMillis(100)).isEmpty()).isTrue();
+                        assertThat(logScanner.position(tableBucket)).isEqualTo(recordSize);
+                    });
+            assertThatThrownBy(() -> logScanner.position(new TableBucket(tableId, 1)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("is not subscribed");
+            logScanner.close();
+        }
+    }
+
     @Test
     void testPollWhileCreateTableNotReady() throws Exception {
         // create one table with 30 buckets.
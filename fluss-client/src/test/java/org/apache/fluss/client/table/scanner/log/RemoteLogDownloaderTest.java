@@ -23,12 +23,25 @@ import org.apache.fluss.client.table.scanner.RemoteFileDownloader;
 import org.apache.fluss.client.table.scanner.log.RemoteLogDownloader.RemoteLogDownloadRequest;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.fs.FSDataInputStream;
 import org.apache.fluss.fs.FsPath;
 import org.apache.fluss.metadata.PhysicalTablePath;
+import org.apache.fluss.metadata.SchemaInfo;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.record.FileLogProjection;
+import org.apache.fluss.record.FileLogRecords;
+import org.apache.fluss.record.LogRecord;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordReadContext;
+import org.apache.fluss.record.ProjectionPushdownCache;
+import org.apache.fluss.record.TestingSchemaGetter;
 import org.apache.fluss.remote.RemoteLogSegment;
+import org.apache.fluss.utils.CloseableIterator;
 import org.apache.fluss.utils.FileUtils;
 import org.apache.fluss.utils.IOUtils;
+import org.apache.fluss.utils.Projection;
+import org.apache.fluss.utils.function.FunctionWithException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,9 +63,15 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static org.apache.fluss.record.TestData.DATA1;
 import static org.apache.fluss.record.TestData.DATA1_PHYSICAL_TABLE_PATH;
+import static org.apache.fluss.record.TestData.DATA1_SCHEMA;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_ID;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_INFO;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH;
+import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static org.apache.fluss.testutils.DataTestUtils.genMemoryLogRecordsWithBaseOffset;
 import static org.apache.fluss.testutils.DataTestUtils.genRemoteLogSegmentFile;
 import static org.apache.fluss.testutils.common.CommonTestUtils.retry;
 import static org.apache.fluss.testutils.common.CommonTestUtils.waitUntil;
@@ -114,7 +133,7 @@ class RemoteLogDownloaderTest {
                             remoteLogSegmentFilesLength(remoteLogSegments, remoteLogTabletDir, 4));
             assertThat(remoteLogDownloader.getPrefetchSemaphore().availablePermits()).isEqualTo(0);
 
-            futures.get(0).getRecycleCallback().run();
+            futures.get(0).pollPart().getRecycleCallback().run();
             // the 5th segment should success.
             retry(Duration.ofMinutes(1), () -> assertThat(futures.get(4).isDone()).isTrue());
             assertThat(FileUtils.listDirectory(localLogDir).length).isEqualTo(4);
@@ -124,8 +143,8 @@ class RemoteLogDownloaderTest {
                             remoteLogSegmentFilesLength(remoteLogSegments, remoteLogTabletDir, 5));
             assertThat(remoteLogDownloader.getPrefetchSemaphore().availablePermits()).isEqualTo(0);
 
-            futures.get(1).getRecycleCallback().run();
-            futures.get(2).getRecycleCallback().run();
+            futures.get(1).pollPart().getRecycleCallback().run();
+            futures.get(2).pollPart().getRecycleCallback().run();
             assertThat(remoteLogDownloader.getPrefetchSemaphore().availablePermits()).isEqualTo(2);
             // the removal of log files are async, so we need to wait for the removal.
             retry(
@@ -151,10 +170,13 @@ class RemoteLogDownloaderTest {
             }
 
             @Override
-            protected long downloadFile(Path targetFilePath, FsPath remoteFilePath)
+            protected <T> T readFile(
+                    FsPath remoteFilePath,
+                    long position,
+                    FunctionWithException<FSDataInputStream, T, IOException> reader)
                     throws IOException {
                 threadNames.add(Thread.currentThread().getName());
-                return super.downloadFile(targetFilePath, remoteFilePath);
+                return super.readFile(remoteFilePath, position, reader);
             }
         }
 
@@ -224,7 +246,7 @@ class RemoteLogDownloaderTest {
                 RemoteLogDownloadFuture future = futures.get(segment.remoteLogSegmentId());
                 waitUntil(future::isDone, Duration.ofMinutes(1), "segment download timeout");
                 // recycle the one segment to trigger download next segment
-                future.getRecycleCallback().run();
+                future.pollPart().getRecycleCallback().run();
             }
 
             // all segments are fetched.
@@ -235,6 +257,152 @@ class RemoteLogDownloaderTest {
         }
     }
 
+    @Test
+    void testDownloadInPartsFromPosition() throws Exception {
+        // each part only contains one record batch
+        conf.set(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_READ_AHEAD_SIZE, MemorySize.parse("1b"));
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID, 0);
+        FsPath remoteLogTabletDir = remoteLogTabletDir(remoteLogDir, DATA1_PHYSICAL_TABLE_PATH, tb);
+        RemoteLogSegment segment = createRemoteLogSegmentOf3Batches(tb, remoteLogTabletDir);
+        int batchSize = genMemoryLogRecordsWithBaseOffset(0L, DATA1).sizeInBytes();
+
+        RemoteFileDownloader remoteFileDownloader = new RemoteFileDownloader(1);
+        RemoteLogDownloader remoteLogDownloader =
+                new RemoteLogDownloader(
+                        DATA1_TABLE_PATH, conf, remoteFileDownloader, scannerMetricGroup, 10L);
+        try {
+            remoteLogDownloader.start();
+            // skip the first record batch
+            RemoteLogDownloadFuture future =
+                    remoteLogDownloader.requestRemoteLog(remoteLogTabletDir, segment, batchSize);
+
+            waitUntil(future::isDone, Duration.ofMinutes(1), "part download timeout");
+            RemoteLogDownloadFuture.DownloadedPart part = future.pollPart();
+            assertThat(part.isLastPart()).isFalse();
+            assertThat(part.endPosition()).isEqualTo(2L * batchSize);
+            assertThat(part.nextFetchOffset()).isEqualTo(20L);
+            assertBatchOffsets(part, 10L);
+            part.getRecycleCallback().run();
+
+            waitUntil(future::isDone, Duration.ofMinutes(1), "part download timeout");
+            part = future.pollPart();
+            assertThat(part.isLastPart()).isTrue();
+            assertThat(part.endPosition()).isEqualTo(3L * batchSize);
+            assertThat(part.nextFetchOffset()).isEqualTo(30L);
+            assertBatchOffsets(part, 20L);
+            part.getRecycleCallback().run();
+
+            // the first record batch is never downloaded
+            assertThat(scannerMetricGroup.remoteFetchRequestCount().getCount()).isEqualTo(2);
+            assertThat(scannerMetricGroup.remoteFetchBytes().getCount()).isEqualTo(2L * batchSize);
+            assertThat(remoteLogDownloader.getSizeOfSegmentsToFetch()).isEqualTo(0);
+        } finally {
+            IOUtils.closeQuietly(remoteLogDownloader);
+            IOUtils.closeQuietly(remoteFileDownloader);
+        }
+    }
+
+    @Test
+    void testCancelDownload() throws Exception {
+        // each part only contains one record batch, and only one part is downloaded ahead
+        conf.set(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_READ_AHEAD_SIZE, MemorySize.parse("1b"));
+        conf.set(ConfigOptions.CLIENT_SCANNER_REMOTE_LOG_PREFETCH_NUM, 1);
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID, 0);
+        FsPath remoteLogTabletDir = remoteLogTabletDir(remoteLogDir, DATA1_PHYSICAL_TABLE_PATH, tb);
+        RemoteLogSegment segment = createRemoteLogSegmentOf3Batches(tb, remoteLogTabletDir);
+
+        RemoteFileDownloader remoteFileDownloader = new RemoteFileDownloader(1);
+        RemoteLogDownloader remoteLogDownloader =
+                new RemoteLogDownloader(
+                        DATA1_TABLE_PATH, conf, remoteFileDownloader, scannerMetricGroup, 10L);
+        try {
+            remoteLogDownloader.start();
+            RemoteLogDownloadFuture future =
+                    remoteLogDownloader.requestRemoteLog(remoteLogTabletDir, segment);
+            waitUntil(future::isDone, Duration.ofMinutes(1), "part download timeout");
+
+            // the downloaded part is recycled and the remaining parts are not downloaded
+            future.cancel();
+            assertThat(future.isDone()).isFalse();
+            retry(
+                    Duration.ofMinutes(1),
+                    () -> {
+                        // the request is dropped once the recycled part releases the permit
+                        assertThat(remoteLogDownloader.getSizeOfSegmentsToFetch()).isEqualTo(0);
+                        assertThat(remoteLogDownloader.getLocalLogDir().toFile().listFiles())
+                                .isEmpty();
+                    });
+            assertThat(scannerMetricGroup.remoteFetchRequestCount().getCount()).isEqualTo(1);
+            assertThat(future.isDone()).isFalse();
+        } finally {
+            IOUtils.closeQuietly(remoteLogDownloader);
+            IOUtils.closeQuietly(remoteFileDownloader);
+        }
+    }
+
+    @Test
+    void testDownloadWithProjection() throws Exception {
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID, 0);
+        FsPath remoteLogTabletDir = remoteLogTabletDir(remoteLogDir, DATA1_PHYSICAL_TABLE_PATH, tb);
+        RemoteLogSegment segment = createRemoteLogSegmentOf3Batches(tb, remoteLogTabletDir);
+        int segmentSize = 3 * genMemoryLogRecordsWithBaseOffset(0L, DATA1).sizeInBytes();
+
+        TestingSchemaGetter schemaGetter =
+                new TestingSchemaGetter(new SchemaInfo(DATA1_SCHEMA, DEFAULT_SCHEMA_ID));
+        ProjectionPushdownCache projectionCache = new ProjectionPushdownCache();
+        RemoteFileDownloader remoteFileDownloader = new RemoteFileDownloader(1);
+        RemoteLogDownloader remoteLogDownloader =
+                new RemoteLogDownloader(
+                        DATA1_TABLE_PATH,
+                        conf,
+                        remoteFileDownloader,
+                        scannerMetricGroup,
+                        () -> {
+                            FileLogProjection projection = new FileLogProjection(projectionCache);
+                            projection.setCurrentProjection(
+                                    DATA1_TABLE_ID,
+                                    schemaGetter,
+                                    DEFAULT_COMPRESSION,
+                                    new int[] {1});
+                            return projection;
+                        },
+                        10L);
+        try (LogRecordReadContext readContext =
+                LogRecordReadContext.createReadContext(
+                        DATA1_TABLE_INFO, false, Projection.of(new int[] {1}), schemaGetter)) {
+            remoteLogDownloader.start();
+            RemoteLogDownloadFuture future =
+                    remoteLogDownloader.requestRemoteLog(remoteLogTabletDir, segment);
+
+            waitUntil(future::isDone, Duration.ofMinutes(1), "part download timeout");
+            RemoteLogDownloadFuture.DownloadedPart part = future.pollPart();
+            assertThat(part.isLastPart()).isTrue();
+            assertThat(part.nextFetchOffset()).isEqualTo(30L);
+            FileLogRecords fileLogRecords = part.getFileLogRecords();
+            // only the projected column is stored locally
+            assertThat(fileLogRecords.sizeInBytes()).isLessThan(segmentSize);
+            List<String> values = new ArrayList<>();
+            for (LogRecordBatch batch : fileLogRecords.batches()) {
+                try (CloseableIterator<LogRecord> records = batch.records(readContext)) {
+                    while (records.hasNext()) {
+                        LogRecord record = records.next();
+                        assertThat(record.getRow().getFieldCount()).isEqualTo(1);
+                        values.add(record.getRow().getString(0).toString());
+                    }
+                }
+            }
+            fileLogRecords.closeHandlers();
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                DATA1.forEach(row -> expected.add((String) row[1]));
+            }
+            assertThat(values).isEqualTo(expected);
+        } finally {
+            IOUtils.closeQuietly(remoteLogDownloader);
+            IOUtils.closeQuietly(remoteFileDownloader);
+        }
+    }
+
     @Test
     void testOrderOfRemoteLogDownloadRequest() {
         TableBucket bucket1 = new TableBucket(DATA1_TABLE_ID, 1);
@@ -297,6 +465,43 @@ class RemoteLogDownloaderTest {
         return new RemoteLogDownloadRequest(remoteLogSegment, remoteLogDir);
     }
 
+    /** Creates a remote log segment of 3 record batches, whose base offsets are 0, 10 and 20. */
+    private static RemoteLogSegment createRemoteLogSegmentOf3Batches(
+            TableBucket tableBucket, FsPath remoteLogTabletDir) throws Exception {
+        RemoteLogSegment segment =
+                RemoteLogSegment.Builder.builder()
+                        .tableBucket(tableBucket)
+                        .physicalTablePath(DATA1_PHYSICAL_TABLE_PATH)
+                        .remoteLogSegmentId(UUID.randomUUID())
+                        .remoteLogStartOffset(0L)
+                        .remoteLogEndOffset(29L)
+                        .maxTimestamp(10L)
+                        .segmentSizeInBytes(Integer.MAX_VALUE)
+                        .build();
+        File segmentFile =
+                new File(
+                        RemoteLogDownloader.getRemoteLogSegmentFile(remoteLogTabletDir, segment)
+                                .getPath());
+        assertThat(segmentFile.getParentFile().mkdirs()).isTrue();
+        try (FileLogRecords fileLogRecords = FileLogRecords.open(segmentFile)) {
+            for (int i = 0; i < 3; i++) {
+                fileLogRecords.append(genMemoryLogRecordsWithBaseOffset(i * 10L, DATA1));
+            }
+        }
+        return segment;
+    }
+
+    private static void assertBatchOffsets(
+            RemoteLogDownloadFuture.DownloadedPart part, long... baseOffsets) throws IOException {
+        FileLogRecords fileLogRecords = part.getFileLogRecords();
+        List<Long> actual = new ArrayList<>();
+        for (LogRecordBatch batch : fileLogRecords.batches()) {
+            actual.add(batch.baseLogOffset());
+        }
+        fileLogRecords.closeHandlers();
+        assertThat(actual).containsExactly(Arrays.stream(baseOffsets).boxed().toArray(Long[]::new));
+    }
+
     private List<RemoteLogDownloadFuture> requestRemoteLogs(
             RemoteLogDownloader remoteLogDownloader,
             FsPath remoteLogTabletDir,
@@ -345,9 +550,8 @@ class RemoteLogDownloaderTest {
                 .mapToLong(
                         segment ->
                                 new File(
-                                                RemoteLogDownloader.getFsPathAndFileName(
+                                                RemoteLogDownloader.getRemoteLogSegmentFile(
                                                                 remoteLogTabletDir, segment)
-                                                        .getPath()
                                                         .getPath())
                                         .length())
                 .sum();
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.client.write;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.fluss.record.TestData.DATA1_PHYSICAL_TABLE_PATH;
+import static org.apache.fluss.record.TestData.DATA2_PHYSICAL_TABLE_PATH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link AdaptiveBatchTuner}. */
+public class AdaptiveBatchTunerTest {
+
+    private AdaptiveBatchTuner tuner;
+
+    @BeforeEach
+    public void setup() {
+        // latency target 100ms, max batch size 100000, page size 100, max 5 in-flight requests
+        tuner = new AdaptiveBatchTuner(true, 100, 100_000, 100, 5);
+    }
+
+    @Test
+    void testDefaults() {
+        assertThat(tuner.getLingerMs(DATA1_PHYSICAL_TABLE_PATH, 0)).isEqualTo(100);
+        assertThat(tuner.getBatchSize(DATA1_PHYSICAL_TABLE_PATH, 0)).isEqualTo(100_000);
+        assertThat(tuner.averageLingerMs()).isEqualTo(100);
+        assertThat(tuner.averageBatchSize()).isEqualTo(100_000);
+
+        AdaptiveBatchTuner disabled = new AdaptiveBatchTuner(false, 100, 100_000, 100, 5);
+        disabled.onBatchFilled(DATA1_PHYSICAL_TABLE_PATH, 0, 1000, 100);
+        disabled.onRequestCompleted(DATA1_PHYSICAL_TABLE_PATH, 0, 60);
+        assertThat(disabled.getLingerMs(DATA1_PHYSICAL_TABLE_PATH, 0)).isEqualTo(100);
+        assertThat(disabled.getBatchSize(DATA1_PHYSICAL_TABLE_PATH, 0)).isEqualTo(100_000);
+    }
+
+    @Test
+    void testTuneByArrivalRateAndRoundTrip() {
+        // 10 bytes per ms, no round trip observed yet: hold 100ms of records
+        tuner.onBatchFilled(DATA1_PHYSICAL_TABLE_PATH, 0, 1000, 100);
+        assertThat(tuner.getLingerMs(DATA1_PHYSICAL_TABLE_PATH, 0)).isEqualTo(100);
+        assertThat(tuner.getBatchSize(DATA1_PHYSICAL_TABLE_PATH, 0)).isEqualTo(1000);
+
+        // round trip 60ms leaves 40ms to linger
+        tuner.onRequestCompleted(DATA1_PHYSICAL_TABLE_PATH, 0, 60);
+        assertThat(tuner.getLingerMs(DATA1_PHYSICAL_TABLE_PATH, 0)).isEqualTo(40);
+        assertThat(tuner.getBatchSize(DATA1_PHYSICAL_TABLE_PATH, 0)).isEqualTo(400);
+
+        // moving average of round trip: 60 * 0.8 + 160 * 0.2 = 80
+        tuner.onRequestCompleted(DATA1_PHYSICAL_TABLE_PATH, 0, 160);
+        assertThat(tuner.getLingerMs(DATA1_PHYSICAL_TABLE_PATH, 0)).isEqualTo(20);
+        assertThat(tuner.getBatchSize(DATA1_PHYSICAL_TABLE_PATH, 0)).isEqualTo(200);
+
+        // the other buckets are not affected
+        assertThat(tuner.getLingerMs(DATA1_PHYSICAL_TABLE_PATH, 1)).isEqualTo(100);
+        assertThat(tuner.getLingerMs(DATA2_PHYSICAL_TABLE_PATH, 0)).isEqualTo(100);
+        assertThat(tuner.averageLingerMs()).isEqualTo(20);
+        assertThat(tuner.averageBatchSize()).isEqualTo(200);
+    }
+
+    @Test
+    void testRoundTripExceedsLatencyTarget() {
+        tuner.onBatchFilled(DATA1_PHYSICAL_TABLE_PATH, 0, 100_000, 10);
+        tuner.onRequestCompleted(DATA1_PHYSICAL_TABLE_PATH, 0, 500);
+        // send immediately, but the batches must be large enough for 5 in-flight requests
+        // per 500ms round trip to keep up with 10000 bytes per ms, bounded by the max batch size
+        assertThat(tuner.getLingerMs(DATA1_PHYSICAL_TABLE_PATH, 0)).isZero();
+        assertThat(tuner.getBatchSize(DATA1_PHYSICAL_TABLE_PATH, 0)).isEqualTo(100_000);
+
+        // 1 byte per ms needs 100 bytes per request, raised to the min batch size of 2 pages
+        tuner.onBatchFilled(DATA1_PHYSICAL_TABLE_PATH, 1, 100, 100);
+        tuner.onRequestCompleted(DATA1_PHYSICAL_TABLE_PATH, 1, 500);
+        assertThat(tuner.getLingerMs(DATA1_PHYSICAL_TABLE_PATH, 1)).isZero();
+        assertThat(tuner.getBatchSize(DATA1_PHYSICAL_TABLE_PATH, 1)).isEqualTo(200);
+
+        // 5 bytes per ms needs 500 bytes per request
+        tuner.onBatchFilled(DATA1_PHYSICAL_TABLE_PATH, 2, 500, 100);
+        tuner.onRequestCompleted(DATA1_PHYSICAL_TABLE_PATH, 2, 500);
+        assertThat(tuner.getBatchSize(DATA1_PHYSICAL_TABLE_PATH, 2)).isEqualTo(500);
+    }
+}
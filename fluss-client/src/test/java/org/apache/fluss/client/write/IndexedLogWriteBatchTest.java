@@ -17,6 +17,7 @@
 
 package org.apache.fluss.client.write;
 
+import org.apache.fluss.compression.RowCompressionInfo;
 import org.apache.fluss.memory.MemorySegment;
 import org.apache.fluss.memory.PreAllocatedPagedOutputView;
 import org.apache.fluss.metadata.SchemaInfo;
@@ -219,6 +220,7 @@ public class IndexedLogWriteBatchTest {
                 DATA1_TABLE_INFO.getSchemaId(),
                 writeLimit,
                 new PreAllocatedPagedOutputView(Collections.singletonList(memorySegment)),
+                RowCompressionInfo.NO_COMPRESSION,
                 System.currentTimeMillis());
     }
 
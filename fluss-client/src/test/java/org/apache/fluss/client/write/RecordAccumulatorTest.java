@@ -543,6 +543,45 @@ class RecordAccumulatorTest {
         assertThat(result.nextReadyCheckDelayMs).isLessThanOrEqualTo(batchTimeout);
     }
 
+    @Test
+    void testAdaptiveBatching() throws Exception {
+        int batchSize = 1024;
+        conf.set(ConfigOptions.CLIENT_WRITER_ADAPTIVE_BATCHING_ENABLED, true);
+        conf.set(
+                ConfigOptions.CLIENT_WRITER_ADAPTIVE_BATCHING_LATENCY_TARGET,
+                Duration.ofMillis(50));
+        IndexedRow row = indexedRow(DATA1_ROW_TYPE, new Object[] {1, "a"});
+        // the static batch timeout is not used by the adaptive batching
+        RecordAccumulator accum = createTestRecordAccumulator(5000, batchSize, 256, 10 * batchSize);
+
+        // lingers for the latency target before any round trip is observed
+        accum.append(createRecord(row), writeCallback, cluster, bucket1.getBucketId(), false);
+        RecordAccumulator.ReadyCheckResult result = accum.ready(cluster);
+        assertThat(result.readyNodes).isEmpty();
+        assertThat(result.nextReadyCheckDelayMs).isEqualTo(50);
+
+        clock.advanceTime(50, TimeUnit.MILLISECONDS);
+        result = accum.ready(cluster);
+        assertThat(result.readyNodes).containsExactly(node1.id());
+        Map<Integer, List<ReadyWriteBatch>> drained =
+                accum.drain(cluster, result.readyNodes, Integer.MAX_VALUE);
+        assertThat(drained.get(node1.id())).hasSize(1);
+
+        // the round trip time is deducted from the latency target
+        accum.recordRoundTrip(drained.get(node1.id()), 30);
+        accum.append(createRecord(row), writeCallback, cluster, bucket1.getBucketId(), false);
+        result = accum.ready(cluster);
+        assertThat(result.readyNodes).isEmpty();
+        assertThat(result.nextReadyCheckDelayMs).isEqualTo(20);
+
+        // the other buckets are not affected
+        accum.append(createRecord(row), writeCallback, cluster, bucket3.getBucketId(), false);
+        clock.advanceTime(20, TimeUnit.MILLISECONDS);
+        result = accum.ready(cluster);
+        assertThat(result.readyNodes).containsExactly(node1.id());
+        assertThat(result.nextReadyCheckDelayMs).isEqualTo(30);
+    }
+
     /**
      * Creates a indexed WriteRecord as the DATA1_PHYSICAL_TABLE_PATH is registered as a INDEXED
      * format , see {@link #updateCluster(List)}.
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.aggregate;
+
+import org.apache.fluss.annotation.PublicEvolving;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.DecimalType;
+import org.apache.fluss.types.RowType;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * An aggregate function call over a column of a table, which can be pushed down to the tablet
+ * servers to be evaluated per bucket, see {@code Scan#aggregate}.
+ *
+ * <p>The result of a partial aggregate has the same type as the final result, so the partial
+ * results of the buckets can be merged into the final result by the client.
+ *
+ * @since 0.9
+ */
+@PublicEvolving
+public final class AggregateCall implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The supported aggregate functions. */
+    public enum Function {
+        /** Counts the rows, or the non-null values of the column. The result type is BIGINT. */
+        COUNT,
+        /**
+         * Sums the non-null values of a numeric column. The result type is BIGINT for integral
+         * columns, DOUBLE for approximate numeric columns and DECIMAL(38, s) for DECIMAL(p, s)
+         * columns.
+         */
+        SUM,
+        /** The minimum non-null value of the column, of the same type as the column. */
+        MIN,
+        /** The maximum non-null value of the column, of the same type as the column. */
+        MAX
+    }
+
+    private final Function function;
+
+    /** The index of the aggregated column, null for {@code COUNT(*)}. */
+    @Nullable private final Integer column;
+
+    private AggregateCall(Function function, @Nullable Integer column) {
+        if (column == null && function != Function.COUNT) {
+            throw new IllegalArgumentException(
+                    "The column of aggregate function " + function + " must be specified.");
+        }
+        this.function = function;
+        this.column = column;
+    }
+
+    public static AggregateCall of(Function function, @Nullable Integer column) {
+        return new AggregateCall(function, column);
+    }
+
+    /** Creates a {@code COUNT(*)} call. */
+    public static AggregateCall countStar() {
+        return new AggregateCall(Function.COUNT, null);
+    }
+
+    public static AggregateCall count(int column) {
+        return new AggregateCall(Function.COUNT, column);
+    }
+
+    public static AggregateCall sum(int column) {
+        return new AggregateCall(Function.SUM, column);
+    }
+
+    public static AggregateCall min(int column) {
+        return new AggregateCall(Function.MIN, column);
+    }
+
+    public static AggregateCall max(int column) {
+        return new AggregateCall(Function.MAX, column);
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    /** Returns the index of the aggregated column, null for {@code COUNT(*)}. */
+    @Nullable
+    public Integer getColumn() {
+        return column;
+    }
+
+    /**
+     * Returns the result type of the call over the given row type.
+     *
+     * @throws IllegalArgumentException if the type of the column is not supported by the function.
+     */
+    public DataType getResultType(RowType rowType) {
+        if (function == Function.COUNT) {
+            if (column != null) {
+                checkColumn(rowType);
+            }
+            return DataTypes.BIGINT().copy(false);
+        }
+        DataType columnType = checkColumn(rowType);
+        switch (function) {
+            case SUM:
+                switch (columnType.getTypeRoot()) {
+                    case TINYINT:
+                    case SMALLINT:
+                    case INTEGER:
+                    case BIGINT:
+                        return DataTypes.BIGINT();
+                    case FLOAT:
+                    case DOUBLE:
+                        return DataTypes.DOUBLE();
+                    case DECIMAL:
+                        return DataTypes.DECIMAL(
+                                DecimalType.MAX_PRECISION, ((DecimalType) columnType).getScale());
+                    default:
+                        throw unsupportedType(columnType);
+                }
+            case MIN:
+            case MAX:
+                switch (columnType.getTypeRoot()) {
+                    case CHAR:
+                    case STRING:
+                    case BINARY:
+                    case BYTES:
+                    case DECIMAL:
+                    case TINYINT:
+                    case SMALLINT:
+                    case INTEGER:
+                    case BIGINT:
+                    case FLOAT:
+                    case DOUBLE:
+                    case DATE:
+                    case TIME_WITHOUT_TIME_ZONE:
+                    case TIMESTAMP_WITHOUT_TIME_ZONE:
+                    case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                        return columnType.copy(true);
+                    default:
+                        throw unsupportedType(columnType);
+                }
+            default:
+                throw new IllegalStateException("Unknown aggregate function: " + function);
+        }
+    }
+
+    /** Returns whether the call can be evaluated over the given row type. */
+    public boolean isSupported(RowType rowType) {
+        try {
+            getResultType(rowType);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private DataType checkColumn(RowType rowType) {
+        if (column < 0 || column >= rowType.getFieldCount()) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The column %s of aggregate function %s is out of the row type %s.",
+                            column, function, rowType));
+        }
+        return rowType.getTypeAt(column);
+    }
+
+    private IllegalArgumentException unsupportedType(DataType type) {
+        return new IllegalArgumentException(
+                String.format("Aggregate function %s doesn't support type %s.", function, type));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AggregateCall that = (AggregateCall) o;
+        return function == that.function && Objects.equals(column, that.column);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(function, column);
+    }
+
+    @Override
+    public String toString() {
+        return function + "(" + (column == null ? "*" : "$" + column) + ")";
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.aggregate;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.memory.MemorySegment;
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.row.Decimal;
+import org.apache.fluss.row.GenericRow;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.decode.RowDecoder;
+import org.apache.fluss.row.encode.RowEncoder;
+import org.apache.fluss.types.DataField;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.DataTypeRoot;
+import org.apache.fluss.types.DecimalType;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.DecimalUtils;
+import org.apache.fluss.utils.InternalRowUtils;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates {@link AggregateCall}s grouped by some columns over rows.
+ *
+ * <p>The aggregator accumulates the input rows by {@link #add(InternalRow)}, and the partial
+ * results of other aggregators (e.g., the results of the buckets evaluated by the tablet servers)
+ * by {@link #merge(InternalRow)}. The result rows consist of the grouping columns followed by the
+ * results of the aggregate calls, see {@link #getResultType()}.
+ *
+ * <p>If there is no grouping column, the aggregator always produces exactly one result row, even if
+ * there is no input row, as the SQL global aggregation does.
+ */
+@Internal
+@NotThreadSafe
+public class GroupAggregator {
+
+    private final int[] groupBy;
+    private final List<AggregateCall> aggregateCalls;
+    private final RowType resultType;
+
+    private final InternalRow.FieldGetter[] groupGetters;
+    private final RowType groupType;
+
+    /** The getters of the aggregated columns of the input rows, null for {@code COUNT(*)}. */
+    private final InternalRow.FieldGetter[] inputGetters;
+
+    private final InternalRow.FieldGetter[] resultGetters;
+    private final RowDecoder resultDecoder;
+    private final Accumulator[] accumulators;
+
+    /** The accumulated values of the aggregate calls of the groups, in insertion order. */
+    private final Map<GenericRow, Object[]> groups;
+
+    private final GenericRow reusedGroupKey;
+
+    public GroupAggregator(RowType inputType, int[] groupBy, List<AggregateCall> aggregateCalls) {
+        this.groupBy = groupBy;
+        this.aggregateCalls = aggregateCalls;
+
+        List<DataField> resultFields = new ArrayList<>();
+        this.groupGetters = new InternalRow.FieldGetter[groupBy.length];
+        for (int i = 0; i < groupBy.length; i++) {
+            DataType groupType = inputType.getTypeAt(groupBy[i]);
+            if (!supportsGrouping(groupType)) {
+                throw new IllegalArgumentException(
+                        "Can't group by the column of type " + groupType);
+            }
+            groupGetters[i] = InternalRow.createFieldGetter(groupType, groupBy[i]);
+            resultFields.add(inputType.getFields().get(groupBy[i]));
+        }
+        this.groupType = new RowType(new ArrayList<>(resultFields));
+
+        this.inputGetters = new InternalRow.FieldGetter[aggregateCalls.size()];
+        this.accumulators = new Accumulator[aggregateCalls.size()];
+        for (int i = 0; i < aggregateCalls.size(); i++) {
+            AggregateCall call = aggregateCalls.get(i);
+            DataType resultType = call.getResultType(inputType);
+            Integer column = call.getColumn();
+            if (column != null) {
+                inputGetters[i] =
+                        InternalRow.createFieldGetter(inputType.getTypeAt(column), column);
+            }
+            accumulators[i] = createAccumulator(call, resultType);
+            resultFields.add(new DataField("$agg" + i, resultType));
+        }
+        this.resultType = new RowType(resultFields);
+        this.resultGetters = InternalRow.createFieldGetters(resultType);
+        this.resultDecoder =
+                RowDecoder.create(
+                        KvFormat.COMPACTED, resultType.getChildren().toArray(new DataType[0]));
+
+        this.groups = new LinkedHashMap<>();
+        this.reusedGroupKey = new GenericRow(groupBy.length);
+    }
+
+    /** Returns whether the rows can be grouped by the column of the given type. */
+    public static boolean supportsGrouping(DataType type) {
+        DataTypeRoot typeRoot = type.getTypeRoot();
+        return typeRoot != DataTypeRoot.ARRAY
+                && typeRoot != DataTypeRoot.MAP
+                && typeRoot != DataTypeRoot.ROW;
+    }
+
+    public int[] getGroupBy() {
+        return groupBy;
+    }
+
+    public List<AggregateCall> getAggregateCalls() {
+        return aggregateCalls;
+    }
+
+    /**
+     * Returns the type of the result rows, which consists of the grouping columns followed by the
+     * results of the aggregate calls.
+     */
+    public RowType getResultType() {
+        return resultType;
+    }
+
+    /** Accumulates the given input row. */
+    public void add(InternalRow row) {
+        Object[] values = accumulatorsOf(row, groupGetters);
+        for (int i = 0; i < accumulators.length; i++) {
+            InternalRow.FieldGetter getter = inputGetters[i];
+            values[i] =
+                    accumulators[i].add(
+                            values[i], getter == null ? row : getter.getFieldOrNull(row));
+        }
+    }
+
+    /** Merges the given partial result row of the same result type into this aggregator. */
+    public void merge(InternalRow partialResult) {
+        Object[] values = accumulatorsOf(partialResult, resultGetters);
+        for (int i = 0; i < accumulators.length; i++) {
+            Object partial = resultGetters[groupBy.length + i].getFieldOrNull(partialResult);
+            if (partial != null) {
+                values[i] = accumulators[i].merge(values[i], partial);
+            }
+        }
+    }
+
+    /** Merges the given partial result row serialized by {@link #getSerializedResult()}. */
+    public void mergeSerialized(byte[] partialResult) {
+        merge(resultDecoder.decode(MemorySegment.wrap(partialResult), 0, partialResult.length));
+    }
+
+    /** Returns the result rows of the accumulated rows. */
+    public List<InternalRow> getResult() {
+        if (groups.isEmpty() && groupBy.length == 0) {
+            return Collections.singletonList(toResultRow(reusedGroupKey, newAccumulatorValues()));
+        }
+        List<InternalRow> result = new ArrayList<>(groups.size());
+        for (Map.Entry<GenericRow, Object[]> group : groups.entrySet()) {
+            result.add(toResultRow(group.getKey(), group.getValue()));
+        }
+        return result;
+    }
+
+    /** Returns the result rows in the {@link KvFormat#COMPACTED} row encoding. */
+    public List<byte[]> getSerializedResult() {
+        List<InternalRow> result = getResult();
+        List<byte[]> serialized = new ArrayList<>(result.size());
+        try (RowEncoder encoder = RowEncoder.create(KvFormat.COMPACTED, resultType)) {
+            for (InternalRow row : result) {
+                encoder.startNewRow();
+                for (int i = 0; i < resultGetters.length; i++) {
+                    encoder.encodeField(i, resultGetters[i].getFieldOrNull(row));
+                }
+                BinaryRow binaryRow = encoder.finishRow();
+                byte[] bytes = new byte[binaryRow.getSizeInBytes()];
+                binaryRow.copyTo(bytes, 0);
+                serialized.add(bytes);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize the aggregate result.", e);
+        }
+        return serialized;
+    }
+
+    private Object[] accumulatorsOf(InternalRow row, InternalRow.FieldGetter[] getters) {
+        for (int i = 0; i < groupBy.length; i++) {
+            reusedGroupKey.setField(i, getters[i].getFieldOrNull(row));
+        }
+        Object[] values = groups.get(reusedGroupKey);
+        if (values == null) {
+            values = newAccumulatorValues();
+            groups.put((GenericRow) InternalRowUtils.copyRow(reusedGroupKey, groupType), values);
+        }
+        return values;
+    }
+
+    private Object[] newAccumulatorValues() {
+        Object[] values = new Object[accumulators.length];
+        for (int i = 0; i < accumulators.length; i++) {
+            values[i] = accumulators[i].initialValue();
+        }
+        return values;
+    }
+
+    private GenericRow toResultRow(GenericRow groupKey, Object[] values) {
+        GenericRow row = new GenericRow(groupBy.length + values.length);
+        for (int i = 0; i < groupBy.length; i++) {
+            row.setField(i, groupKey.getField(i));
+        }
+        for (int i = 0; i < values.length; i++) {
+            row.setField(groupBy.length + i, values[i]);
+        }
+        return row;
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /**
+     * Accumulates the values of an aggregate call. The accumulated value has the result type of the
+     * call.
+     */
+    private interface Accumulator {
+
+        @Nullable
+        Object initialValue();
+
+        /**
+         * Accumulates an input value, which is the input row for {@code COUNT(*)}, or the value of
+         * the aggregated column (maybe null) otherwise.
+         */
+        @Nullable
+        Object add(@Nullable Object accumulated, @Nullable Object input);
+
+        /** Accumulates a non-null partial result. */
+        @Nullable
+        Object merge(@Nullable Object accumulated, Object partial);
+    }
+
+    private static Accumulator createAccumulator(AggregateCall call, DataType resultType) {
+        switch (call.getFunction()) {
+            case COUNT:
+                return new CountAccumulator();
+            case SUM:
+                return new SumAccumulator(resultType);
+            case MIN:
+                return new MinMaxAccumulator(resultType, true);
+            case MAX:
+                return new MinMaxAccumulator(resultType, false);
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported aggregate function: " + call.getFunction());
+        }
+    }
+
+    private static final class CountAccumulator implements Accumulator {
+
+        @Override
+        public Object initialValue() {
+            return 0L;
+        }
+
+        @Override
+        public Object add(Object accumulated, Object input) {
+            return input == null ? accumulated : (long) accumulated + 1;
+        }
+
+        @Override
+        public Object merge(Object accumulated, Object partial) {
+            return (long) accumulated + (long) partial;
+        }
+    }
+
+    private static final class SumAccumulator implements Accumulator {
+
+        private final DataTypeRoot resultTypeRoot;
+        private final int precision;
+        private final int scale;
+
+        private SumAccumulator(DataType resultType) {
+            this.resultTypeRoot = resultType.getTypeRoot();
+            if (resultTypeRoot == DataTypeRoot.DECIMAL) {
+                this.precision = ((DecimalType) resultType).getPrecision();
+                this.scale = ((DecimalType) resultType).getScale();
+            } else {
+                this.precision = 0;
+                this.scale = 0;
+            }
+        }
+
+        @Override
+        public Object initialValue() {
+            return null;
+        }
+
+        @Override
+        public Object add(Object accumulated, Object input) {
+            if (input == null) {
+                return accumulated;
+            }
+            switch (resultTypeRoot) {
+                case BIGINT:
+                    return merge(accumulated, ((Number) input).longValue());
+                case DOUBLE:
+                    return merge(accumulated, ((Number) input).doubleValue());
+                default:
+                    return merge(
+                            accumulated,
+                            DecimalUtils.castToDecimal((Decimal) input, precision, scale));
+            }
+        }
+
+        @Override
+        public Object merge(Object accumulated, Object partial) {
+            if (accumulated == null) {
+                return partial;
+            }
+            switch (resultTypeRoot) {
+                case BIGINT:
+                    return (long) accumulated + (long) partial;
+                case DOUBLE:
+                    return (double) accumulated + (double) partial;
+                default:
+                    return DecimalUtils.add(
+                            (Decimal) accumulated, (Decimal) partial, precision, scale);
+            }
+        }
+    }
+
+    private static final class MinMaxAccumulator implements Accumulator {
+
+        private final DataType resultType;
+        private final DataTypeRoot resultTypeRoot;
+        private final boolean min;
+
+        private MinMaxAccumulator(DataType resultType, boolean min) {
+            this.resultType = resultType;
+            this.resultTypeRoot = resultType.getTypeRoot();
+            this.min = min;
+        }
+
+        @Override
+        public Object initialValue() {
+            return null;
+        }
+
+        @Override
+        public Object add(Object accumulated, Object input) {
+            return input == null ? accumulated : merge(accumulated, input);
+        }
+
+        @Override
+        public Object merge(Object accumulated, Object partial) {
+            if (accumulated != null) {
+                int compared = InternalRowUtils.compare(partial, accumulated, resultTypeRoot);
+                if (min ? compared >= 0 : compared <= 0) {
+                    return accumulated;
+                }
+            }
+            // the value may be backed by the reused memory of the input row
+            return InternalRowUtils.copyValue(partial, resultType);
+        }
+    }
+}
@@ -38,7 +38,32 @@ public enum GoalType {
      * Goal to generate leadership movement and leader replica movement tasks to ensure that the
      * number of leader replicas on each tabletServer is near balanced.
      */
-    LEADER_DISTRIBUTION(1);
+    LEADER_DISTRIBUTION(1),
+
+    /**
+     * Hard goal to generate replica movement tasks to ensure that the disk usage of each
+     * tabletServer is under the capacity threshold of its disk.
+     */
+    DISK_CAPACITY(2),
+
+    /**
+     * Goal to generate replica movement tasks to ensure that the inbound network load (produced and
+     * replicated bytes) of each tabletServer is near balanced.
+     */
+    NETWORK_INBOUND_DISTRIBUTION(3),
+
+    /**
+     * Goal to generate replica movement and leadership movement tasks to ensure that the outbound
+     * network load (fetched bytes) of each tabletServer is near balanced.
+     */
+    NETWORK_OUTBOUND_DISTRIBUTION(4),
+
+    /**
+     * Goal to generate replica movement and leadership movement tasks to ensure that the CPU load
+     * of each tabletServer is near balanced. The lookup rate of the leader replicas is used as the
+     * proxy of the CPU load.
+     */
+    CPU_DISTRIBUTION(5);
 
     public final int value;
 
@@ -51,6 +76,14 @@ public enum GoalType {
             return REPLICA_DISTRIBUTION;
         } else if (value == LEADER_DISTRIBUTION.value) {
             return LEADER_DISTRIBUTION;
+        } else if (value == DISK_CAPACITY.value) {
+            return DISK_CAPACITY;
+        } else if (value == NETWORK_INBOUND_DISTRIBUTION.value) {
+            return NETWORK_INBOUND_DISTRIBUTION;
+        } else if (value == NETWORK_OUTBOUND_DISTRIBUTION.value) {
+            return NETWORK_OUTBOUND_DISTRIBUTION;
+        } else if (value == CPU_DISTRIBUTION.value) {
+            return CPU_DISTRIBUTION;
         } else {
             throw new IllegalArgumentException(
                     String.format(
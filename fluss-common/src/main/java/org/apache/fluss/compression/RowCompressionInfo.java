@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.compression;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/** Compression information for the row-oriented log formats, see {@link RowCompressionType}. */
+public class RowCompressionInfo {
+
+    public static final RowCompressionInfo NO_COMPRESSION =
+            new RowCompressionInfo(RowCompressionType.NONE, -1);
+
+    private final RowCompressionType compressionType;
+    private final int compressionLevel;
+
+    public RowCompressionInfo(RowCompressionType compressionType, int compressionLevel) {
+        this.compressionType = compressionType;
+        this.compressionLevel = compressionLevel;
+    }
+
+    public RowCompressionType getCompressionType() {
+        return compressionType;
+    }
+
+    /**
+     * Get the compression level. If the compression level is not supported by the compression type,
+     * -1 is returned.
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Wraps the given output stream with a stream compressing the written bytes. Closing the
+     * returned stream finishes the compression and closes the given stream.
+     */
+    public OutputStream createCompressionStream(OutputStream out) throws IOException {
+        switch (compressionType) {
+            case NONE:
+                return out;
+            case LZ4_FRAME:
+                return new FlussLZ4BlockOutputStream(out);
+            case ZSTD:
+                return new ZstdOutputStream(out, compressionLevel);
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported row compression type: " + compressionType);
+        }
+    }
+
+    /**
+     * Creates a stream decompressing the given compressed bytes, the bytes are decompressed on
+     * demand while reading the stream.
+     */
+    public static InputStream createDecompressionStream(
+            RowCompressionType compressionType, ByteBuffer compressed) throws IOException {
+        switch (compressionType) {
+            case NONE:
+                return new ByteBufferInputStream(compressed);
+            case LZ4_FRAME:
+                return new FlussLZ4BlockInputStream(compressed);
+            case ZSTD:
+                return new ZstdInputStream(new ByteBufferInputStream(compressed));
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported row compression type: " + compressionType);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return compressionLevel == -1
+                ? compressionType.toString()
+                : compressionType + "-" + compressionLevel;
+    }
+
+    public static RowCompressionInfo fromConf(Configuration conf) {
+        RowCompressionType compressionType = conf.get(ConfigOptions.TABLE_LOG_ROW_COMPRESSION_TYPE);
+        if (compressionType == RowCompressionType.ZSTD) {
+            int compressionLevel = conf.get(ConfigOptions.TABLE_LOG_ROW_COMPRESSION_ZSTD_LEVEL);
+            if (compressionLevel < 1 || compressionLevel > 22) {
+                throw new IllegalArgumentException(
+                        "Invalid ZSTD compression level: "
+                                + compressionLevel
+                                + ". Expected a value between 1 and 22.");
+            }
+            return new RowCompressionInfo(compressionType, compressionLevel);
+        } else {
+            return new RowCompressionInfo(compressionType, -1);
+        }
+    }
+
+    /** An {@link InputStream} reading the remaining bytes of a {@link ByteBuffer}. */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.compression;
+
+import org.apache.fluss.annotation.PublicEvolving;
+import org.apache.fluss.metadata.LogFormat;
+
+/**
+ * Supported compression types for the row-oriented {@link LogFormat#INDEXED} and {@link
+ * LogFormat#COMPACTED} log formats. The records section of each log record batch is compressed as a
+ * whole.
+ *
+ * @since 0.9
+ */
+@PublicEvolving
+public enum RowCompressionType {
+    NONE((byte) 0),
+    LZ4_FRAME((byte) 1),
+    ZSTD((byte) 2);
+
+    /** The id of the compression type stored in the attributes of the log record batch. */
+    private final byte id;
+
+    RowCompressionType(byte id) {
+        this.id = id;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    public static RowCompressionType fromId(byte id) {
+        for (RowCompressionType type : values()) {
+            if (type.id == id) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported row compression type id: " + id);
+    }
+}
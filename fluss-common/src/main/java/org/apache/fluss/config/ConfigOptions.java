@@ -20,6 +20,7 @@ package org.apache.fluss.config;
 import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.annotation.PublicEvolving;
 import org.apache.fluss.compression.ArrowCompressionType;
+import org.apache.fluss.compression.RowCompressionType;
 import org.apache.fluss.metadata.ChangelogImage;
 import org.apache.fluss.metadata.DataLakeFormat;
 import org.apache.fluss.metadata.DeleteBehavior;
@@ -376,6 +377,27 @@ public class ConfigOptions {
                             "The interval for cleaning up expired producer offsets "
                                     + "and orphan files in remote storage. Default is 1 hour.");
 
+    public static final ConfigOption<Double> COORDINATOR_REBALANCE_DISK_CAPACITY_THRESHOLD =
+            key("coordinator.rebalance.disk-capacity-threshold")
+                    .doubleType()
+                    .defaultValue(0.8)
+                    .withDescription(
+                            "The maximum ratio of the disk usage to the disk capacity of a tablet server "
+                                    + "accepted by the disk capacity rebalance goal. For example, 0.8 means the "
+                                    + "disk usage of a tablet server should not be more than 80% of its disk "
+                                    + "capacity. The value must be in (0, 1]. The default value is 0.8.");
+
+    public static final ConfigOption<Double> COORDINATOR_REBALANCE_RESOURCE_BALANCE_THRESHOLD =
+            key("coordinator.rebalance.resource-balance-threshold")
+                    .doubleType()
+                    .defaultValue(1.1)
+                    .withDescription(
+                            "The maximum allowed extent of unbalance of the CPU, inbound network and "
+                                    + "outbound network load across the tablet servers, used by the load-aware "
+                                    + "rebalance goals. For example, 1.1 means the load of a tablet server should "
+                                    + "not be more than 1.1x of the average load of all alive tablet servers. "
+                                    + "The value must be at least 1. The default value is 1.1.");
+
     // ------------------------------------------------------------------------
     //  ConfigOptions for Tablet Server
     // ------------------------------------------------------------------------
@@ -481,6 +503,17 @@ public class ConfigOptions {
                                     + "will wait for this duration before attempting the next retry. "
                                     + "The default value is 1000 milliseconds (1 second).");
 
+    public static final ConfigOption<Duration> TABLET_SERVER_LOAD_REPORT_INTERVAL =
+            key("tablet-server.load-report.interval")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(1))
+                    .withDescription(
+                            "The interval at which the tablet server reports the load of its leader replicas "
+                                    + "(the produced and fetched bytes rate, the lookup rate, the kv size and the "
+                                    + "local log size) to the coordinator server. The rates are averaged over the "
+                                    + "interval. The reported load is used by the load-aware rebalance goals. "
+                                    + "The default value is 1 minute.");
+
     public static final ConfigOption<Integer> BACKGROUND_THREADS =
             key("server.background.threads")
                     .intType()
@@ -767,6 +800,19 @@ public class ConfigOptions {
                                     + LOG_REPLICA_FETCH_WAIT_MAX_TIME.key()
                                     + " time to return.");
 
+    public static final ConfigOption<Integer> LOG_REPLICA_FETCH_MAX_IN_FLIGHT_REQUESTS =
+            key("log.replica.fetch.max-in-flight-requests")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The maximum number of fetch log requests each fetcher thread keeps in flight "
+                                    + "to the leader. When it is greater than 1, the buckets of the fetcher are "
+                                    + "spread over multiple concurrent requests, which overlaps the network "
+                                    + "round trips with appending the fetched records to the local log and "
+                                    + "speeds up the catch-up of followers. A bucket is fetched by at most "
+                                    + "one request at a time. Each request may return up to `"
+                                    + "log.replica.fetch.max-bytes` of data.");
+
     public static final ConfigOption<Integer> LOG_REPLICA_MIN_IN_SYNC_REPLICAS_NUMBER =
             key("log.replica.min-in-sync-replicas-number")
                     .intType()
@@ -782,6 +828,35 @@ public class ConfigOptions {
                                     + "write with acks = -1. This will ensure that the writer raises an "
                                     + "exception if a majority of replicas don't receive a write.");
 
+    public static final ConfigOption<Duration> LOG_CLEANER_INTERVAL =
+            key("log.cleaner.interval")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(15))
+                    .withDescription(
+                            "The interval at which the log cleaner checks the logs of the tables "
+                                    + "with `table.log.compaction.enabled` and compacts the logs whose "
+                                    + "dirty ratio exceeds `table.log.compaction.min-cleanable-dirty-ratio`.");
+
+    public static final ConfigOption<MemorySize> LOG_CLEANER_IO_MAX_BYTES_PER_SECOND =
+            key("log.cleaner.io-max-bytes-per-second")
+                    .memoryType()
+                    .defaultValue(MemorySize.MAX_VALUE)
+                    .withDescription(
+                            "The log cleaner will be throttled so that the sum of its read and write i/o "
+                                    + "will be less than this value on average per second. The default "
+                                    + "value is unlimited.");
+
+    public static final ConfigOption<MemorySize> LOG_CLEANER_DEDUPE_BUFFER_SIZE =
+            key("log.cleaner.dedupe-buffer-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("128mb"))
+                    .withDescription(
+                            "The estimated memory used by the log cleaner to index the latest offset of "
+                                    + "the keys of a log in one cleaning round. If the keys of the dirty "
+                                    + "segments exceed this size, the indexing stops at the record batch "
+                                    + "where the size is reached, and the remaining records are compacted "
+                                    + "in the next rounds.");
+
     // ------------------------------------------------------------------------
     //  ConfigOptions for Log tiered storage
     // ------------------------------------------------------------------------
@@ -803,6 +878,43 @@ public class ConfigOptions {
                             "The total size of the space allocated to store index files fetched "
                                     + "from remote storage in the local storage.");
 
+    public static final ConfigOption<Boolean> REMOTE_LOG_SERVER_READ_ENABLED =
+            key("remote.log.server-read.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the tablet server serves the fetch log requests of clients for "
+                                    + "the log tiered to remote storage. If enabled, the tablet server "
+                                    + "reads the remote log segments through a local cache sized by '"
+                                    + "remote.log.segment-file-cache-size' and returns the records, "
+                                    + "so that the clients replaying the same log share the downloaded "
+                                    + "segments. Otherwise, the tablet server returns the remote log "
+                                    + "segments and every client downloads them from remote storage. "
+                                    + "The fetches with column projection or filter are always served "
+                                    + "by the remote log segments.");
+
+    public static final ConfigOption<MemorySize> REMOTE_LOG_SEGMENT_FILE_CACHE_SIZE =
+            key("remote.log.segment-file-cache-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("10gb"))
+                    .withDescription(
+                            "The total size of the space allocated to cache the log segment files "
+                                    + "fetched from remote storage in the local storage, the segment "
+                                    + "files are evicted when the cache is full. "
+                                    + "Only takes effect when '"
+                                    + "remote.log.server-read.enabled' is true.");
+
+    public static final ConfigOption<Integer> REMOTE_LOG_SERVER_READ_THREAD_NUM =
+            key("remote.log.server-read.thread-num")
+                    .intType()
+                    .defaultValue(2)
+                    .withDescription(
+                            "The number of threads that the tablet server uses to download the remote log "
+                                    + "segments into the local cache, which are separated from the threads "
+                                    + "of 'remote.log-manager.thread-pool-size' so that the downloads don't "
+                                    + "delay the log tiering. Only takes effect when '"
+                                    + "remote.log.server-read.enabled' is true.");
+
     public static final ConfigOption<Integer> REMOTE_LOG_MANAGER_THREAD_POOL_SIZE =
             key("remote.log-manager.thread-pool-size")
                     .intType()
@@ -974,6 +1086,40 @@ public class ConfigOptions {
                                     + "however if we have fewer than this many bytes accumulated for this bucket we will delay"
                                     + " for the specified time waiting for more records to show up.");
 
+    public static final ConfigOption<Boolean> CLIENT_WRITER_ADAPTIVE_BATCHING_ENABLED =
+            key("client.writer.adaptive-batching.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the client writer tunes the batch timeout and the batch size of each bucket "
+                                    + "adaptively, instead of using the static `"
+                                    + CLIENT_WRITER_BATCH_TIMEOUT.key()
+                                    + "` and `"
+                                    + CLIENT_WRITER_BATCH_SIZE.key()
+                                    + "`. The writer observes the arrival rate of the records of each bucket and the "
+                                    + "round trip time of the write requests, and lingers the batches of the bucket as long as "
+                                    + "the round trip time still fits into `"
+                                    + "client.writer.adaptive-batching.latency-target"
+                                    + "`, with batches large enough to hold the records arriving meanwhile. The batch is "
+                                    + "also large enough that `"
+                                    + "client.writer.max-inflight-requests-per-bucket"
+                                    + "` requests in one round trip can keep up with the arrival rate. The adaptive batch "
+                                    + "size is bounded by `"
+                                    + CLIENT_WRITER_BATCH_SIZE.key()
+                                    + "`, and it replaces the dynamic batch size of `"
+                                    + CLIENT_WRITER_DYNAMIC_BATCH_SIZE_ENABLED.key()
+                                    + "`.");
+
+    public static final ConfigOption<Duration> CLIENT_WRITER_ADAPTIVE_BATCHING_LATENCY_TARGET =
+            key("client.writer.adaptive-batching.latency-target")
+                    .durationType()
+                    .defaultValue(Duration.ofMillis(100))
+                    .withDescription(
+                            "The target latency from appending a record to the acknowledgement of its write request "
+                                    + "when `"
+                                    + CLIENT_WRITER_ADAPTIVE_BATCHING_ENABLED.key()
+                                    + "` is enabled, which is the upper bound of the adaptive batch timeout of the buckets.");
+
     public static final ConfigOption<NoKeyAssigner> CLIENT_WRITER_BUCKET_NO_KEY_ASSIGNER =
             key("client.writer.bucket.no-key-assigner")
                     .enumType(NoKeyAssigner.class)
@@ -1142,6 +1288,21 @@ public class ConfigOptions {
                                     + CLIENT_SCANNER_LOG_FETCH_WAIT_MAX_TIME.key()
                                     + " time to return.");
 
+    public static final ConfigOption<String> CLIENT_RACK =
+            key("client.rack")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The rack of the client, which is matched against the `"
+                                    + TABLET_SERVER_RACK.key()
+                                    + "` of the tablet servers. If set, the LogScanner fetches the log "
+                                    + "of a bucket from an in-sync replica in the same rack (e.g., the "
+                                    + "same availability zone) to reduce the cross-rack traffic, and the "
+                                    + "records served by a follower replica are bounded by the high "
+                                    + "watermark of the leader. The LogScanner falls back to fetch from "
+                                    + "the leader when the follower lags behind the leader. If not set, "
+                                    + "the LogScanner always fetches from the leader.");
+
     public static final ConfigOption<Integer> CLIENT_LOOKUP_QUEUE_SIZE =
             key("client.lookup.queue-size")
                     .intType()
@@ -1178,13 +1339,62 @@ public class ConfigOptions {
                             "Setting a value greater than zero will cause the client to resend any lookup request "
                                     + "that fails with a potentially transient error.");
 
+    public static final ConfigOption<Long> CLIENT_LOOKUP_CACHE_MAX_ROWS =
+            key("client.lookup.cache.max-rows")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription(
+                            "The maximum number of primary key lookup results to cache in the client for "
+                                    + "each table, the least recently used results are evicted once the "
+                                    + "cache is full. Results of the keys which don't exist are cached as well. "
+                                    + "The cache is shared by all the lookupers created by the same Table "
+                                    + "instance. A non-positive value disables the cache, which is the default.");
+
+    public static final ConfigOption<Duration> CLIENT_LOOKUP_CACHE_EXPIRE_AFTER_WRITE =
+            key("client.lookup.cache.expire-after-write")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(1))
+                    .withDescription(
+                            "The time after which a cached lookup result expires since it was fetched "
+                                    + "from the server. This bounds the staleness of the cached results "
+                                    + "when 'client.lookup.cache.changelog-invalidation.enabled' is disabled. "
+                                    + "A non-positive value means the cached results never expire.");
+
+    public static final ConfigOption<Boolean> CLIENT_LOOKUP_CACHE_CHANGELOG_INVALIDATION_ENABLED =
+            key("client.lookup.cache.changelog-invalidation.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to subscribe to the changelog of the table to invalidate the cached "
+                                    + "lookup results of the changed keys. This keeps the cache close to "
+                                    + "the latest state of the table at the cost of reading the changelog "
+                                    + "in the client. Currently, it is only supported for non-partitioned "
+                                    + "tables, the cache of partitioned tables only relies on "
+                                    + "'client.lookup.cache.expire-after-write'.");
+
     public static final ConfigOption<Integer> CLIENT_SCANNER_REMOTE_LOG_PREFETCH_NUM =
             key("client.scanner.remote-log.prefetch-num")
                     .intType()
                     .defaultValue(4)
                     .withDescription(
                             "The number of remote log segments to keep in local temp file for LogScanner, "
-                                    + "which download from remote storage. The default setting is 4.");
+                                    + "which download from remote storage. A segment larger than "
+                                    + "'client.scanner.remote-log.read-ahead-size' is downloaded in "
+                                    + "multiple parts, and each part counts as one segment here. "
+                                    + "The default setting is 4.");
+
+    public static final ConfigOption<MemorySize> CLIENT_SCANNER_REMOTE_LOG_READ_AHEAD_SIZE =
+            key("client.scanner.remote-log.read-ahead-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("32mb"))
+                    .withDescription(
+                            "The max size of each part of a remote log segment that LogScanner "
+                                    + "downloads from remote storage. The remote log segment is read "
+                                    + "from the fetch position with byte-range reads, and each part "
+                                    + "can be consumed as soon as it is downloaded, instead of waiting "
+                                    + "for the whole segment. A part always contains complete record "
+                                    + "batches, so it may exceed this size by one record batch. "
+                                    + "The default setting is 32mb.");
 
     public static final ConfigOption<String> CLIENT_SCANNER_IO_TMP_DIR =
             key("client.scanner.io.tmpdir")
@@ -1297,6 +1507,52 @@ public class ConfigOptions {
                             "The compression level of ZSTD for the log records if the log format is set to `ARROW` "
                                     + "and the compression type is set to `ZSTD`. The valid range is 1 to 22.");
 
+    public static final ConfigOption<RowCompressionType> TABLE_LOG_ROW_COMPRESSION_TYPE =
+            key("table.log.row.compression.type")
+                    .enumType(RowCompressionType.class)
+                    .defaultValue(RowCompressionType.NONE)
+                    .withDescription(
+                            "The compression type of the log records if the log format is set to `INDEXED` "
+                                    + "or `COMPACTED`. The records of each log record batch are compressed as a whole. "
+                                    + "The compressed batches are written in log format version 2, and the tablet "
+                                    + "servers reject the log fetches of the table from clients older than 0.9. "
+                                    + "The candidate compression type is "
+                                    + Arrays.toString(RowCompressionType.values()));
+
+    public static final ConfigOption<Integer> TABLE_LOG_ROW_COMPRESSION_ZSTD_LEVEL =
+            key("table.log.row.compression.zstd.level")
+                    .intType()
+                    .defaultValue(3)
+                    .withDescription(
+                            "The compression level of ZSTD for the log records if the log format is set to `INDEXED` "
+                                    + "or `COMPACTED` and the compression type is set to `ZSTD`. The valid range is 1 to 22.");
+
+    public static final ConfigOption<Boolean> TABLE_LOG_ARROW_STATISTICS_ENABLED =
+            key("table.log.arrow.statistics.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to write the per-column statistics (min/max values and null counts) "
+                                    + "into each log record batch if the log format is set to `ARROW`. "
+                                    + "The statistics are used by the tablet servers to skip the batches which "
+                                    + "can't match the filter of a log scan. The batches with statistics are written "
+                                    + "in log format version 2, which requires the clients reading the table "
+                                    + "without projection to be of version 0.9 or later. The default value is false.");
+
+    public static final ConfigOption<String> TABLE_LOG_ARROW_DICTIONARY_ENCODING_COLUMNS =
+            key("table.log.arrow.dictionary-encoding.columns")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The comma-separated list of `STRING` or `CHAR` columns to be dictionary encoded "
+                                    + "in the log record batches if the log format is set to `ARROW`. The distinct "
+                                    + "values of such a column are written once per batch in an Arrow dictionary batch, "
+                                    + "and the rows only store the indices of the values, which reduces the batch size "
+                                    + "a lot for low-cardinality columns. A column is only encoded in a batch if the "
+                                    + "encoding makes the batch smaller. Note that the encoded batches are written in log "
+                                    + "format version 2, so reading the log of such a table requires the clients to be "
+                                    + "of version 0.9 or later.");
+
     public static final ConfigOption<KvFormat> TABLE_KV_FORMAT =
             key("table.kv.format")
                     .enumType(KvFormat.class)
@@ -1392,6 +1648,39 @@ public class ConfigOptions {
                             "The number of log segments to retain in local for each table when log tiered storage is enabled. "
                                     + "It must be greater that 0. The default is 2.");
 
+    public static final ConfigOption<Boolean> TABLE_LOG_COMPACTION_ENABLED =
+            key("table.log.compaction.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to compact the changelog of the primary key table by key. When enabled, "
+                                    + "the log cleaner of the tablet servers rewrites the inactive log segments "
+                                    + "to drop the records which have been superseded by later changes of the "
+                                    + "same primary keys, so that consumers reading the "
+                                    + "changelog from the beginning read less data. The log offsets of the "
+                                    + "remaining records are preserved. This option only affects primary key tables "
+                                    + "and is disabled by default.");
+
+    public static final ConfigOption<Double> TABLE_LOG_COMPACTION_MIN_CLEANABLE_DIRTY_RATIO =
+            key("table.log.compaction.min-cleanable-dirty-ratio")
+                    .doubleType()
+                    .defaultValue(0.5)
+                    .withDescription(
+                            "The minimum ratio of the size of the not yet compacted log segments to the size "
+                                    + "of all the cleanable log segments for the log cleaner to compact the log. "
+                                    + "A higher ratio means fewer, more efficient compactions, but more duplicated "
+                                    + "records in the log. It must be in the range [0, 1], the default is 0.5.");
+
+    public static final ConfigOption<Duration> TABLE_LOG_COMPACTION_TOMBSTONE_RETENTION =
+            key("table.log.compaction.tombstone-retention")
+                    .durationType()
+                    .defaultValue(Duration.ofDays(1))
+                    .withDescription(
+                            "The time to retain the delete records (tombstones) in the compacted log. A "
+                                    + "consumer reading the changelog from the beginning must reach the end "
+                                    + "of the log within this time to observe the deletes. Tombstones are also "
+                                    + "retained until they are included in a kv snapshot. The default is 1 day.");
+
     public static final ConfigOption<Boolean> TABLE_DATALAKE_ENABLED =
             key("table.datalake.enabled")
                     .booleanType()
@@ -1456,6 +1745,20 @@ public class ConfigOptions {
                             "The column name of the version column for the `versioned` merge engine. "
                                     + "If the merge engine is set to `versioned`, the version column must be set.");
 
+    public static final ConfigOption<String> TABLE_SECONDARY_INDEXES =
+            key("table.secondary-indexes")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The secondary indexes of the primary key table, separated by `;`. Each index is "
+                                    + "a comma-separated list of the indexed columns, e.g., `name;city,age` declares "
+                                    + "an index on column `name` and an index on columns `city` and `age`. "
+                                    + "The rows can then be looked up by the indexed columns with `Lookup#lookupBy`. "
+                                    + "Each index is maintained per bucket in the kv storage, so a lookup by index "
+                                    + "is sent to all the buckets (of the partition). Rows with null values in the "
+                                    + "indexed columns are not indexed. For partitioned tables, each index must "
+                                    + "contain all the partition keys. The indexes can't be altered after the table is created.");
+
     public static final ConfigOption<DeleteBehavior> TABLE_DELETE_BEHAVIOR =
             key("table.delete.behavior")
                     .enumType(DeleteBehavior.class)
@@ -1531,6 +1834,42 @@ public class ConfigOptions {
                     .defaultValue(1)
                     .withDescription("The maximum number of completed snapshots to retain.");
 
+    public static final ConfigOption<Integer> KV_LOOKUP_THREAD_NUM =
+            key("kv.lookup.thread-num")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The number of threads that the server uses to serve lookup and prefix lookup requests, "
+                                    + "which are separated from the request worker threads so that a large lookup "
+                                    + "batch doesn't stall the produce and fetch requests. The default value is `4`.");
+
+    public static final ConfigOption<Integer> KV_LOOKUP_MAX_QUEUED_REQUESTS =
+            key("kv.lookup.max-queued-requests")
+                    .intType()
+                    .defaultValue(500)
+                    .withDescription(
+                            "The number of queued lookup requests allowed for the lookup threads. Once the queue "
+                                    + "is full, the lookup requests are served by the request worker threads "
+                                    + "directly to apply back pressure. The default value is `500`.");
+
+    public static final ConfigOption<Integer> SERVER_AGGREGATE_SCAN_THREAD_NUM =
+            key("server.aggregate-scan.thread-num")
+                    .intType()
+                    .defaultValue(2)
+                    .withDescription(
+                            "The number of threads that the tablet server uses to serve aggregate scan requests, "
+                                    + "which are separated from the lookup threads as an aggregate scan reads "
+                                    + "the whole bucket. The default value is `2`.");
+
+    public static final ConfigOption<Integer> SERVER_AGGREGATE_SCAN_MAX_QUEUED_REQUESTS =
+            key("server.aggregate-scan.max-queued-requests")
+                    .intType()
+                    .defaultValue(100)
+                    .withDescription(
+                            "The number of queued aggregate scan requests allowed for the aggregate scan threads. "
+                                    + "Once the queue is full, the aggregate scan requests are rejected. "
+                                    + "The default value is `100`.");
+
     public static final ConfigOption<Integer> KV_MAX_BACKGROUND_THREADS =
             key("kv.rocksdb.thread.num")
                     .intType()
@@ -1612,6 +1951,37 @@ public class ConfigOptions {
                                     + "The RateLimiter is always enabled. The default value is Long.MAX_VALUE (effectively unlimited). "
                                     + "Set to a lower value (e.g., 100MB) to limit the rate.");
 
+    public static final ConfigOption<MemorySize> KV_SHARED_MEMORY_SIZE =
+            key("kv.rocksdb.shared-memory.size")
+                    .memoryType()
+                    .defaultValue(MemorySize.ZERO)
+                    .withDescription(
+                            "The total memory budget of all the RocksDB instances in the TabletServer. "
+                                    + "If set to a positive value, all KV tablets share a single block cache and a single "
+                                    + "write buffer manager bounded by this budget, and the per-tablet `kv.rocksdb.block.cache-size` "
+                                    + "is ignored. Index and filter blocks are cached in the shared block cache as well. "
+                                    + "The default value is `0`, which means every KV tablet allocates its own block cache "
+                                    + "and the memtables are not bounded across tablets.");
+
+    public static final ConfigOption<Double> KV_SHARED_MEMORY_WRITE_BUFFER_RATIO =
+            key("kv.rocksdb.shared-memory.write-buffer-ratio")
+                    .doubleType()
+                    .defaultValue(0.5)
+                    .withDescription(
+                            "The fraction of `kv.rocksdb.shared-memory.size` that the memtables of all KV tablets "
+                                    + "may use, the memtables are flushed once the limit is reached. The memory of the "
+                                    + "memtables is charged to the shared block cache. Only takes effect if "
+                                    + "`kv.rocksdb.shared-memory.size` is positive. The default value is `0.5`.");
+
+    public static final ConfigOption<Double> KV_SHARED_MEMORY_HIGH_PRIO_POOL_RATIO =
+            key("kv.rocksdb.shared-memory.high-prio-pool-ratio")
+                    .doubleType()
+                    .defaultValue(0.1)
+                    .withDescription(
+                            "The fraction of the shared block cache reserved for high priority blocks, "
+                                    + "e.g., index and filter blocks. Only takes effect if "
+                                    + "`kv.rocksdb.shared-memory.size` is positive. The default value is `0.1`.");
+
     // --------------------------------------------------------------------------
     // Provided configurable ColumnFamilyOptions within Fluss
     // --------------------------------------------------------------------------
@@ -1810,6 +2180,60 @@ public class ConfigOptions {
                     .withDescription(
                             "The max fetch size for fetching log to apply to kv during recovering kv.");
 
+    public static final ConfigOption<Boolean> KV_RECOVER_PEER_BOOTSTRAP_ENABLED =
+            key("kv.recover.peer-bootstrap.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to bootstrap the kv of a replica which becomes the new leader from a "
+                                    + "RocksDB checkpoint of the previous leader, which is streamed over RPC "
+                                    + "between the tablet servers, instead of downloading the latest kv snapshot "
+                                    + "from remote storage. Only the log after the checkpoint, which is usually much "
+                                    + "shorter than the log after the latest snapshot, needs to be applied to the kv. "
+                                    + "When the previous leader drops its kv, it retains a checkpoint of the kv for "
+                                    + "the new leader. The remote snapshot is used as fallback if the checkpoint is "
+                                    + "not available.");
+
+    public static final ConfigOption<MemorySize> KV_RECOVER_PEER_BOOTSTRAP_MAX_BYTES_PER_SECOND =
+            key("kv.recover.peer-bootstrap.max-bytes-per-second")
+                    .memoryType()
+                    .defaultValue(MemorySize.MAX_VALUE)
+                    .withDescription(
+                            "The tablet server will be throttled so that the kv checkpoint files it sends "
+                                    + "to the other tablet servers are less than this value on average per "
+                                    + "second. The default value is unlimited.");
+
+    public static final ConfigOption<Integer> KV_RECOVER_PEER_BOOTSTRAP_THREAD_NUM =
+            key("kv.recover.peer-bootstrap.thread-num")
+                    .intType()
+                    .defaultValue(2)
+                    .withDescription(
+                            "The number of threads that the tablet server uses to create the kv checkpoints "
+                                    + "and send the kv checkpoint files to the other tablet servers. The threads "
+                                    + "are separated from the IO threads of the server as the sending of the "
+                                    + "files blocks on the throttling of "
+                                    + "'kv.recover.peer-bootstrap.max-bytes-per-second'. "
+                                    + "The default value is `2`.");
+
+    public static final ConfigOption<MemorySize> KV_RECOVER_PEER_BOOTSTRAP_CHUNK_SIZE =
+            key("kv.recover.peer-bootstrap.chunk-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("4mb"))
+                    .withDescription(
+                            "The size of the chunks of the kv checkpoint files fetched by each request "
+                                    + "when bootstrapping the kv from another tablet server. An interrupted "
+                                    + "transfer is resumed from the last fetched chunk.");
+
+    public static final ConfigOption<Duration> KV_RECOVER_PEER_BOOTSTRAP_CHECKPOINT_RETENTION =
+            key("kv.recover.peer-bootstrap.checkpoint-retention")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(10))
+                    .withDescription(
+                            "The time to retain a kv checkpoint for the other tablet servers after it "
+                                    + "is accessed last time. The checkpoint files are hard links of the "
+                                    + "RocksDB files, which only take extra disk space after the files are "
+                                    + "compacted away from the kv.");
+
     // ------------------------------------------------------------------------
     //  ConfigOptions for metrics
     // ------------------------------------------------------------------------
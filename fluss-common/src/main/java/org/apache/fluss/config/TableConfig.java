@@ -19,6 +19,7 @@ package org.apache.fluss.config;
 
 import org.apache.fluss.annotation.PublicEvolving;
 import org.apache.fluss.compression.ArrowCompressionInfo;
+import org.apache.fluss.compression.RowCompressionInfo;
 import org.apache.fluss.metadata.ChangelogImage;
 import org.apache.fluss.metadata.DataLakeFormat;
 import org.apache.fluss.metadata.DeleteBehavior;
@@ -28,6 +29,9 @@ import org.apache.fluss.metadata.MergeEngineType;
 import org.apache.fluss.utils.AutoPartitionStrategy;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -75,6 +79,21 @@ public class TableConfig {
         return config.get(ConfigOptions.TABLE_TIERED_LOG_LOCAL_SEGMENTS);
     }
 
+    /** Whether the key-based compaction of the changelog is enabled. */
+    public boolean isLogCompactionEnabled() {
+        return config.get(ConfigOptions.TABLE_LOG_COMPACTION_ENABLED);
+    }
+
+    /** Gets the minimum dirty ratio of the log for the log cleaner to compact the log. */
+    public double getLogCompactionMinCleanableDirtyRatio() {
+        return config.get(ConfigOptions.TABLE_LOG_COMPACTION_MIN_CLEANABLE_DIRTY_RATIO);
+    }
+
+    /** Gets the time to retain the delete records in the compacted log. */
+    public long getLogCompactionTombstoneRetentionMs() {
+        return config.get(ConfigOptions.TABLE_LOG_COMPACTION_TOMBSTONE_RETENTION).toMillis();
+    }
+
     /** Whether the data lake is enabled. */
     public boolean isDataLakeEnabled() {
         return config.get(ConfigOptions.TABLE_DATALAKE_ENABLED);
@@ -118,6 +137,26 @@ public class TableConfig {
         return config.getOptional(ConfigOptions.TABLE_MERGE_ENGINE_VERSION_COLUMN);
     }
 
+    /**
+     * Gets the secondary indexes of the table, each index is the list of the indexed column names.
+     * The position of an index in the returned list is the id of the index.
+     */
+    public List<List<String>> getSecondaryIndexes() {
+        Optional<String> option = config.getOptional(ConfigOptions.TABLE_SECONDARY_INDEXES);
+        if (!option.isPresent() || option.get().trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<List<String>> indexes = new ArrayList<>();
+        for (String index : option.get().split(";")) {
+            List<String> columns = new ArrayList<>();
+            for (String column : index.split(",")) {
+                columns.add(column.trim());
+            }
+            indexes.add(columns);
+        }
+        return indexes;
+    }
+
     /** Gets the delete behavior of the table. */
     public Optional<DeleteBehavior> getDeleteBehavior() {
         return config.getOptional(ConfigOptions.TABLE_DELETE_BEHAVIOR);
@@ -136,6 +175,30 @@ public class TableConfig {
         return ArrowCompressionInfo.fromConf(config);
     }
 
+    /** Gets the compression type and compression level of the INDEXED and COMPACTED logs. */
+    public RowCompressionInfo getRowCompressionInfo() {
+        return RowCompressionInfo.fromConf(config);
+    }
+
+    /** Whether to write the per-column statistics into the Arrow log record batches. */
+    public boolean isArrowStatisticsEnabled() {
+        return config.get(ConfigOptions.TABLE_LOG_ARROW_STATISTICS_ENABLED);
+    }
+
+    /** Gets the names of the columns to be dictionary encoded in the Arrow log record batches. */
+    public List<String> getArrowDictionaryEncodingColumns() {
+        Optional<String> option =
+                config.getOptional(ConfigOptions.TABLE_LOG_ARROW_DICTIONARY_ENCODING_COLUMNS);
+        if (!option.isPresent() || option.get().trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> columns = new ArrayList<>();
+        for (String column : option.get().split(",")) {
+            columns.add(column.trim());
+        }
+        return columns;
+    }
+
     /** Gets the auto partition strategy of the table. */
     public AutoPartitionStrategy getAutoPartitionStrategy() {
         return AutoPartitionStrategy.from(config);
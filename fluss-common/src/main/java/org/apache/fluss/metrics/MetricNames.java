@@ -175,10 +175,32 @@ public class MetricNames {
     public static final String ROCKSDB_COMPACTION_BYTES_WRITTEN_TOTAL =
             "rocksdbCompactionBytesWrittenTotal";
 
+    /** Total block cache hits across all buckets of this table (Sum aggregation). */
+    public static final String ROCKSDB_BLOCK_CACHE_HIT_TOTAL = "rocksdbBlockCacheHitTotal";
+
+    /** Total block cache misses across all buckets of this table (Sum aggregation). */
+    public static final String ROCKSDB_BLOCK_CACHE_MISS_TOTAL = "rocksdbBlockCacheMissTotal";
+
+    /** Total memtable memory usage across all buckets of this table (Sum aggregation). */
+    public static final String ROCKSDB_MEMTABLE_MEMORY_USAGE_TOTAL =
+            "rocksdbMemTableMemoryUsageTotal";
+
     // Server-level RocksDB metrics (aggregated from all tables, Sum aggregation)
     /** Total memory usage across all RocksDB instances in this server (Sum aggregation). */
     public static final String ROCKSDB_MEMORY_USAGE_TOTAL = "rocksdbMemoryUsageTotal";
 
+    // Server-level metrics of the RocksDB block cache shared by all RocksDB instances
+    /** Capacity of the shared block cache in this server. */
+    public static final String ROCKSDB_SHARED_BLOCK_CACHE_CAPACITY =
+            "rocksdbSharedBlockCacheCapacity";
+
+    /** Memory usage of the shared block cache in this server, including charged memtables. */
+    public static final String ROCKSDB_SHARED_BLOCK_CACHE_USAGE = "rocksdbSharedBlockCacheUsage";
+
+    /** Pinned memory usage of the shared block cache in this server. */
+    public static final String ROCKSDB_SHARED_BLOCK_CACHE_PINNED_USAGE =
+            "rocksdbSharedBlockCachePinnedUsage";
+
     // --------------------------------------------------------------------------------------------
     // metrics for table bucket
     // --------------------------------------------------------------------------------------------
@@ -224,6 +246,8 @@ public class MetricNames {
     public static final String WRITER_BYTES_PER_BATCH = "bytesPerBatch";
     public static final String WRITER_RECORDS_PER_BATCH = "recordsPerBatch";
     public static final String WRITER_SEND_LATENCY_MS = "sendLatencyMs";
+    public static final String WRITER_ADAPTIVE_LINGER_MS = "adaptiveLingerMs";
+    public static final String WRITER_ADAPTIVE_BATCH_SIZE = "adaptiveBatchSize";
 
     // for scanner
     public static final String SCANNER_TIME_MS_BETWEEN_POLL = "timeMsBetweenPoll";
@@ -236,6 +260,12 @@ public class MetricNames {
     public static final String SCANNER_REMOTE_FETCH_RATE = "remoteFetchRequestsPerSecond";
     public static final String SCANNER_REMOTE_FETCH_ERROR_RATE = "remoteFetchErrorPerSecond";
 
+    // for lookup cache
+    public static final String LOOKUP_CACHE_HIT_TOTAL = "cacheHitTotal";
+    public static final String LOOKUP_CACHE_MISS_TOTAL = "cacheMissTotal";
+    public static final String LOOKUP_CACHE_EVICTION_TOTAL = "cacheEvictionTotal";
+    public static final String LOOKUP_CACHE_SIZE = "cacheSize";
+
     // for netty
     public static final String NETTY_USED_DIRECT_MEMORY = "usedDirectMemory";
     public static final String NETTY_NUM_DIRECT_ARENAS = "numDirectArenas";
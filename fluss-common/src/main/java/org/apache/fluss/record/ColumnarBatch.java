@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.annotation.PublicEvolving;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.ProjectedRow;
+import org.apache.fluss.row.columnar.ColumnVector;
+import org.apache.fluss.row.columnar.ColumnarRow;
+import org.apache.fluss.row.columnar.VectorizedColumnBatch;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.FieldVector;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.ArrowUtils;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * A batch of log records organized by columns, which is read from an {@link LogFormat#ARROW} {@link
+ * LogRecordBatch} without materializing any per-row object.
+ *
+ * <p>The rows of the batch have consecutive log offsets starting from {@link #getBaseLogOffset()}.
+ * The columns are accessed by {@link #getColumnVector(int)} and the row {@code i} of the batch is
+ * the position {@code i} of each column vector.
+ *
+ * <p>The batch owns the Arrow memory of the columns, it must be closed after use, and the columns
+ * and rows of the batch can't be accessed after the batch is closed.
+ *
+ * @since 0.9
+ */
+@PublicEvolving
+public class ColumnarBatch implements AutoCloseable {
+
+    private static final ColumnVector NULL_COLUMN_VECTOR = i -> true;
+
+    private final long baseLogOffset;
+    private final long commitTimestamp;
+
+    /** The change types of the rows, null if the batch is append only. */
+    @Nullable private final byte[] changeTypes;
+
+    /** The Arrow data of the batch, and the row type of the data. */
+    private final VectorSchemaRoot root;
+
+    private final RowType dataRowType;
+
+    /**
+     * The index of the data column of each column of the batch, {@link
+     * ProjectedRow#UNEXIST_MAPPING} if the column doesn't exist in the data (e.g., the column is
+     * added after the data is written), in which case the column is always null.
+     */
+    private final int[] columnMapping;
+
+    private final VectorizedColumnBatch columns;
+
+    ColumnarBatch(
+            long baseLogOffset,
+            long commitTimestamp,
+            @Nullable byte[] changeTypes,
+            VectorSchemaRoot root,
+            RowType dataRowType,
+            int[] columnMapping) {
+        checkArgument(
+                changeTypes == null || changeTypes.length == root.getRowCount(),
+                "The number of change types %s doesn't match the row count %s.",
+                changeTypes == null ? 0 : changeTypes.length,
+                root.getRowCount());
+        this.baseLogOffset = baseLogOffset;
+        this.commitTimestamp = commitTimestamp;
+        this.changeTypes = changeTypes;
+        this.root = root;
+        this.dataRowType = dataRowType;
+        this.columnMapping = columnMapping;
+        List<FieldVector> fieldVectors = root.getFieldVectors();
+        ColumnVector[] vectors = new ColumnVector[columnMapping.length];
+        for (int i = 0; i < columnMapping.length; i++) {
+            int dataColumn = columnMapping[i];
+            vectors[i] =
+                    dataColumn == ProjectedRow.UNEXIST_MAPPING
+                            ? NULL_COLUMN_VECTOR
+                            : ArrowUtils.createArrowColumnVector(
+                                    fieldVectors.get(dataColumn),
+                                    dataRowType.getTypeAt(dataColumn));
+        }
+        this.columns = new VectorizedColumnBatch(vectors);
+    }
+
+    /** Returns the log offset of the first row of the batch. */
+    public long getBaseLogOffset() {
+        return baseLogOffset;
+    }
+
+    /** Returns the log offset of the next row after this batch. */
+    public long getNextLogOffset() {
+        return baseLogOffset + getRowCount();
+    }
+
+    /** Returns the log offset of the given row. */
+    public long getLogOffset(int rowId) {
+        return baseLogOffset + rowId;
+    }
+
+    /** Returns the commit timestamp of all the rows of the batch. */
+    public long getTimestamp() {
+        return commitTimestamp;
+    }
+
+    public int getRowCount() {
+        return root.getRowCount();
+    }
+
+    public int getFieldCount() {
+        return columns.getFieldCount();
+    }
+
+    /** Returns the change type of the given row. */
+    public ChangeType getChangeType(int rowId) {
+        return changeTypes == null
+                ? ChangeType.APPEND_ONLY
+                : ChangeType.fromByteValue(changeTypes[rowId]);
+    }
+
+    /**
+     * Returns the column vector of the given column. The vector is one of the typed sub-interfaces
+     * of {@link ColumnVector} according to the type of the column.
+     */
+    public ColumnVector getColumnVector(int pos) {
+        return columns.columns[pos];
+    }
+
+    /**
+     * Returns a view of the given row, which is backed by the column vectors. Use {@link
+     * ColumnarRow#setRowId(int)} on the returned row to iterate the rows without allocation.
+     */
+    public ColumnarRow getRow(int rowId) {
+        return new ColumnarRow(columns, rowId);
+    }
+
+    /** Returns all the rows of the batch, see {@link #getRow(int)}. */
+    public InternalRow[] getRows() {
+        InternalRow[] rows = new InternalRow[getRowCount()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = getRow(i);
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the batch of the rows starting from the given row of this batch. The Arrow memory of
+     * this batch is transferred to the returned batch, this batch can't be used anymore.
+     */
+    @Internal
+    public ColumnarBatch slice(int fromRowId) {
+        if (fromRowId == 0) {
+            return this;
+        }
+        int rowCount = getRowCount();
+        checkArgument(
+                fromRowId > 0 && fromRowId <= rowCount,
+                "fromRowId must be in [0, %s], but is %s",
+                rowCount,
+                fromRowId);
+        VectorSchemaRoot sliced = root.slice(fromRowId, rowCount - fromRowId);
+        root.close();
+        return new ColumnarBatch(
+                baseLogOffset + fromRowId,
+                commitTimestamp,
+                changeTypes == null ? null : Arrays.copyOfRange(changeTypes, fromRowId, rowCount),
+                sliced,
+                dataRowType,
+                columnMapping);
+    }
+
+    /**
+     * Returns the batch with the given columns of this batch. The Arrow memory of this batch is
+     * transferred to the returned batch, this batch can't be used anymore.
+     */
+    @Internal
+    public ColumnarBatch project(int[] projection) {
+        int[] projectedMapping = new int[projection.length];
+        for (int i = 0; i < projection.length; i++) {
+            projectedMapping[i] = columnMapping[projection[i]];
+        }
+        return new ColumnarBatch(
+                baseLogOffset, commitTimestamp, changeTypes, root, dataRowType, projectedMapping);
+    }
+
+    @Override
+    public void close() {
+        root.close();
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarBatch{"
+                + "baseLogOffset="
+                + baseLogOffset
+                + ", rowCount="
+                + getRowCount()
+                + ", fieldCount="
+                + getFieldCount()
+                + '}';
+    }
+}
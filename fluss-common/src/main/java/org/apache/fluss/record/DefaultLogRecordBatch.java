@@ -18,6 +18,8 @@
 package org.apache.fluss.record;
 
 import org.apache.fluss.annotation.PublicEvolving;
+import org.apache.fluss.compression.RowCompressionInfo;
+import org.apache.fluss.compression.RowCompressionType;
 import org.apache.fluss.exception.CorruptMessageException;
 import org.apache.fluss.memory.MemorySegment;
 import org.apache.fluss.metadata.LogFormat;
@@ -30,21 +32,28 @@ import org.apache.fluss.types.DataType;
 import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.ArrowUtils;
 import org.apache.fluss.utils.CloseableIterator;
+import org.apache.fluss.utils.IOUtils;
 import org.apache.fluss.utils.MurmurHashUtils;
 import org.apache.fluss.utils.crc.Crc32C;
 
 import javax.annotation.Nullable;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
 
 import static org.apache.fluss.record.LogRecordBatchFormat.BASE_OFFSET_OFFSET;
 import static org.apache.fluss.record.LogRecordBatchFormat.COMMIT_TIMESTAMP_OFFSET;
+import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_LENGTH;
 import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_OFFSET;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_OVERHEAD;
 import static org.apache.fluss.record.LogRecordBatchFormat.MAGIC_OFFSET;
 import static org.apache.fluss.record.LogRecordBatchFormat.NO_LEADER_EPOCH;
+import static org.apache.fluss.record.LogRecordBatchFormat.STATISTICS_LENGTH_LENGTH;
 import static org.apache.fluss.record.LogRecordBatchFormat.arrowChangeTypeOffset;
 import static org.apache.fluss.record.LogRecordBatchFormat.attributeOffset;
 import static org.apache.fluss.record.LogRecordBatchFormat.batchSequenceOffset;
@@ -69,6 +78,7 @@ import static org.apache.fluss.record.LogRecordBatchFormat.writeClientIdOffset;
  * <ul>
  *   <li>V0 => {@link LogRecordBatchFormat#LOG_MAGIC_VALUE_V0}
  *   <li>V1 => {@link LogRecordBatchFormat#LOG_MAGIC_VALUE_V1}
+ *   <li>V2 => {@link LogRecordBatchFormat#LOG_MAGIC_VALUE_V2}
  * </ul>
  *
  * @since 0.1
@@ -77,6 +87,10 @@ import static org.apache.fluss.record.LogRecordBatchFormat.writeClientIdOffset;
 @PublicEvolving
 public class DefaultLogRecordBatch implements LogRecordBatch {
     public static final byte APPEND_ONLY_FLAG_MASK = 0x01;
+    public static final byte STATISTICS_FLAG_MASK = 0x02;
+    public static final byte COMPRESSION_TYPE_MASK = 0x0C;
+    public static final int COMPRESSION_TYPE_SHIFT = 2;
+    public static final byte DICTIONARY_FLAG_MASK = 0x10;
 
     private MemorySegment segment;
     private int position;
@@ -168,10 +182,63 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
     }
 
     private byte attributes() {
-        // note we're not using the byte of attributes now.
         return segment.get(attributeOffset(magic) + position);
     }
 
+    /**
+     * Returns the compression type of the records of this batch, see {@link
+     * LogRecordBatchFormat#LOG_MAGIC_VALUE_V2}.
+     */
+    public RowCompressionType compressionType() {
+        if (magic < LOG_MAGIC_VALUE_V2) {
+            return RowCompressionType.NONE;
+        }
+        return RowCompressionType.fromId(
+                (byte) ((attributes() & COMPRESSION_TYPE_MASK) >> COMPRESSION_TYPE_SHIFT));
+    }
+
+    /**
+     * Returns true if the batch carries the statistics of its records in the batch trailer, see
+     * {@link LogRecordBatchFormat#LOG_MAGIC_VALUE_V2}.
+     */
+    public boolean hasStatistics() {
+        return magic >= LOG_MAGIC_VALUE_V2 && (attributes() & STATISTICS_FLAG_MASK) > 0;
+    }
+
+    /**
+     * Returns true if the Arrow data of the batch starts with the dictionaries of the dictionary
+     * encoded columns, see {@link LogRecordBatchFormat#LOG_MAGIC_VALUE_V2}.
+     */
+    public boolean isDictionaryEncoded() {
+        return magic >= LOG_MAGIC_VALUE_V2 && (attributes() & DICTIONARY_FLAG_MASK) > 0;
+    }
+
+    /**
+     * Returns the statistics of the records in this batch, or null if the batch doesn't carry
+     * statistics.
+     *
+     * @param rowType the row type of the schema of this batch
+     */
+    @Nullable
+    public LogRecordBatchStatistics statistics(RowType rowType) {
+        if (!hasStatistics()) {
+            return null;
+        }
+        int statisticsSize = statisticsSizeInBytes() - STATISTICS_LENGTH_LENGTH;
+        int statisticsOffset = position + sizeInBytes() - statisticsSizeInBytes();
+        return LogRecordBatchStatistics.readFrom(
+                segment, statisticsOffset, statisticsSize, getRecordCount(), rowType);
+    }
+
+    /** Returns the size of the statistics trailer (including the length field) in bytes. */
+    private int statisticsSizeInBytes() {
+        if (!hasStatistics()) {
+            return 0;
+        }
+        int lengthOffset = position + sizeInBytes() - STATISTICS_LENGTH_LENGTH;
+        return segment.getInt(lengthOffset) + STATISTICS_LENGTH_LENGTH;
+    }
+
     @Override
     public long nextLogOffset() {
         return lastLogOffset() + 1;
@@ -240,6 +307,63 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
         }
     }
 
+    @Override
+    public ColumnarBatch columnarBatch(ReadContext context) {
+        LogFormat logFormat = context.getLogFormat();
+        if (logFormat != LogFormat.ARROW) {
+            throw new UnsupportedOperationException(
+                    "Only ARROW log format supports reading columnar batch, but is " + logFormat);
+        }
+        int schemaId = schemaId();
+        RowType rowType = context.getRowType(schemaId);
+        BufferAllocator allocator = context.getBufferAllocator();
+        // use a dedicated schema root, as the returned batch may outlive the next batch
+        VectorSchemaRoot root =
+                VectorSchemaRoot.create(ArrowUtils.toArrowSchema(rowType), allocator);
+        try {
+            byte[] changeTypes = null;
+            int recordCount = getRecordCount();
+            if (recordCount > 0) {
+                int arrowOffset;
+                int arrowLength;
+                if ((attributes() & APPEND_ONLY_FLAG_MASK) > 0) {
+                    int recordBatchHeaderSize = recordBatchHeaderSize(magic);
+                    arrowOffset = position + recordBatchHeaderSize;
+                    arrowLength = sizeInBytes() - recordBatchHeaderSize - statisticsSizeInBytes();
+                } else {
+                    int changeTypeOffset = position + arrowChangeTypeOffset(magic);
+                    changeTypes = new byte[recordCount];
+                    segment.get(changeTypeOffset, changeTypes, 0, recordCount);
+                    arrowOffset = changeTypeOffset + recordCount;
+                    arrowLength =
+                            sizeInBytes()
+                                    - arrowChangeTypeOffset(magic)
+                                    - recordCount
+                                    - statisticsSizeInBytes();
+                }
+                ArrowUtils.createArrowReader(
+                        segment,
+                        arrowOffset,
+                        arrowLength,
+                        root,
+                        allocator,
+                        rowType,
+                        isDictionaryEncoded());
+            }
+
+            ProjectedRow outputProjection = context.getOutputProjectedRow(schemaId);
+            int[] columnMapping =
+                    outputProjection == null
+                            ? IntStream.range(0, rowType.getFieldCount()).toArray()
+                            : outputProjection.getIndexMapping();
+            return new ColumnarBatch(
+                    baseLogOffset(), commitTimestamp(), changeTypes, root, rowType, columnMapping);
+        } catch (Throwable t) {
+            root.close();
+            throw t;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -264,6 +388,25 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
     private CloseableIterator<LogRecord> rowRecordIterator(
             RowType rowType, @Nullable ProjectedRow outputProjection, long timestamp) {
         DataType[] fieldTypes = rowType.getChildren().toArray(new DataType[0]);
+        if (compressionType() != RowCompressionType.NONE) {
+            return new DecompressingRecordIterator() {
+                @Override
+                protected LogRecord readRecord(MemorySegment record, long logOffset) {
+                    IndexedLogRecord logRecord =
+                            IndexedLogRecord.readFrom(record, 0, logOffset, timestamp, fieldTypes);
+                    if (outputProjection == null) {
+                        return logRecord;
+                    } else {
+                        // apply projection
+                        return new GenericRecord(
+                                logRecord.logOffset(),
+                                logRecord.timestamp(),
+                                logRecord.getChangeType(),
+                                outputProjection.replaceRow(logRecord.getRow()));
+                    }
+                }
+            };
+        }
         return new LogRecordIterator() {
             int position = DefaultLogRecordBatch.this.position + recordBatchHeaderSize(magic);
             int rowId = 0;
@@ -300,6 +443,14 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
     private CloseableIterator<LogRecord> compactedRowRecordIterator(
             RowType rowType, long timestamp) {
         DataType[] fieldTypes = rowType.getChildren().toArray(new DataType[0]);
+        if (compressionType() != RowCompressionType.NONE) {
+            return new DecompressingRecordIterator() {
+                @Override
+                protected LogRecord readRecord(MemorySegment record, long logOffset) {
+                    return CompactedLogRecord.readFrom(record, 0, logOffset, timestamp, fieldTypes);
+                }
+            };
+        }
         return new LogRecordIterator() {
             int position = DefaultLogRecordBatch.this.position + recordBatchHeaderSize(magic);
             int rowId = 0;
@@ -336,10 +487,16 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
             // the start of the arrow data is the beginning of the batch records
             int recordBatchHeaderSize = recordBatchHeaderSize(magic);
             int arrowOffset = position + recordBatchHeaderSize;
-            int arrowLength = sizeInBytes() - recordBatchHeaderSize;
+            int arrowLength = sizeInBytes() - recordBatchHeaderSize - statisticsSizeInBytes();
             ArrowReader reader =
                     ArrowUtils.createArrowReader(
-                            segment, arrowOffset, arrowLength, root, allocator, rowType);
+                            segment,
+                            arrowOffset,
+                            arrowLength,
+                            root,
+                            allocator,
+                            rowType,
+                            isDictionaryEncoded());
             return new ArrowLogRecordIterator(reader, timestamp, outputProjection) {
                 @Override
                 protected ChangeType getChangeType(int rowId) {
@@ -354,10 +511,19 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
                     new ChangeTypeVector(segment, changeTypeOffset, getRecordCount());
             int arrowOffset = changeTypeOffset + changeTypeVector.sizeInBytes();
             int arrowLength =
-                    sizeInBytes() - arrowChangeTypeOffset(magic) - changeTypeVector.sizeInBytes();
+                    sizeInBytes()
+                            - arrowChangeTypeOffset(magic)
+                            - changeTypeVector.sizeInBytes()
+                            - statisticsSizeInBytes();
             ArrowReader reader =
                     ArrowUtils.createArrowReader(
-                            segment, arrowOffset, arrowLength, root, allocator, rowType);
+                            segment,
+                            arrowOffset,
+                            arrowLength,
+                            root,
+                            allocator,
+                            rowType,
+                            isDictionaryEncoded());
             return new ArrowLogRecordIterator(reader, timestamp, outputProjection) {
                 @Override
                 protected ChangeType getChangeType(int rowId) {
@@ -414,6 +580,64 @@ public class DefaultLogRecordBatch implements LogRecordBatch {
         }
     }
 
+    /**
+     * The iterator of the records of a compressed batch in a row-oriented log format. The records
+     * are decompressed on demand while iterating, and each returned record is backed by its own
+     * memory, so the batch is never fully decompressed into memory.
+     */
+    private abstract class DecompressingRecordIterator extends LogRecordIterator {
+        private final InputStream decompressed;
+        private final MemorySegment recordLength = MemorySegment.wrap(new byte[LENGTH_LENGTH]);
+        private int rowId = 0;
+
+        private DecompressingRecordIterator() {
+            int recordsOffset = position + recordBatchHeaderSize(magic);
+            int recordsLength =
+                    sizeInBytes() - recordBatchHeaderSize(magic) - statisticsSizeInBytes();
+            try {
+                this.decompressed =
+                        RowCompressionInfo.createDecompressionStream(
+                                compressionType(), segment.wrap(recordsOffset, recordsLength));
+            } catch (IOException e) {
+                throw new CorruptMessageException(
+                        "Failed to decompress the records of the record batch.", e);
+            }
+        }
+
+        /** Reads the record from the given memory which contains exactly the record. */
+        protected abstract LogRecord readRecord(MemorySegment record, long logOffset);
+
+        @Override
+        protected LogRecord readNext(long baseOffset) {
+            try {
+                IOUtils.readFully(decompressed, recordLength.getHeapMemory());
+                int sizeInBytes = recordLength.getInt(0);
+                byte[] record = new byte[LENGTH_LENGTH + sizeInBytes];
+                recordLength.get(0, record, 0, LENGTH_LENGTH);
+                IOUtils.readFully(decompressed, record, LENGTH_LENGTH, sizeInBytes);
+                return readRecord(MemorySegment.wrap(record), baseOffset + rowId++);
+            } catch (IOException e) {
+                throw new CorruptMessageException(
+                        "Failed to decompress the records of the record batch.", e);
+            }
+        }
+
+        @Override
+        protected boolean ensureNoneRemaining() {
+            try {
+                return decompressed.read() < 0;
+            } catch (IOException e) {
+                throw new CorruptMessageException(
+                        "Failed to decompress the records of the record batch.", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            IOUtils.closeQuietly(decompressed);
+        }
+    }
+
     /** Default log record iterator. */
     private abstract class LogRecordIterator implements CloseableIterator<LogRecord> {
         private final long baseOffset;
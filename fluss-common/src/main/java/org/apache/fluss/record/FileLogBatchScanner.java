@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.utils.log.ByteBufferUnmapper;
+
+import javax.annotation.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_OFFSET;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_OVERHEAD;
+import static org.apache.fluss.record.LogRecordBatchFormat.V0_RECORD_BATCH_HEADER_SIZE;
+import static org.apache.fluss.record.LogRecordBatchFormat.V1_RECORD_BATCH_HEADER_SIZE;
+
+/**
+ * Scans the headers of the complete record batches in a range of a log file, which is shared by
+ * {@link FileLogProjection} and {@link FileLogFilter}.
+ *
+ * <p>The headers are read in place from read-only mappings of the file. Instead of mapping the
+ * whole range, which may be up to the rest of the segment, a window of at least the given size is
+ * mapped from the position to read when the position is out of the current window, so only the
+ * ranges which are actually scanned are mapped. The windows are released together by {@link
+ * #close()}, as the buffers read from a window (e.g., the arrow metadata) may still be accessed
+ * after moving to the next window.
+ */
+final class FileLogBatchScanner implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final int end;
+    private final int windowSize;
+    private final ByteBuffer logHeaderBuffer;
+    private final List<MappedByteBuffer> windows = new ArrayList<>();
+
+    @Nullable private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+
+    private int position;
+    private int batchSizeInBytes;
+
+    /**
+     * Creates a scanner of the batches in the range [start, end) of the file.
+     *
+     * @param logHeaderBuffer the little endian buffer to read the batch headers into, it must be
+     *     able to hold a V1 header
+     */
+    FileLogBatchScanner(
+            FileChannel channel, int start, int end, int windowSize, ByteBuffer logHeaderBuffer) {
+        this.channel = channel;
+        this.end = end;
+        this.windowSize = windowSize;
+        this.logHeaderBuffer = logHeaderBuffer;
+        this.position = start;
+        this.batchSizeInBytes = 0;
+    }
+
+    /**
+     * Moves to the next batch and reads its header into the header buffer. Returns false if the
+     * remaining bytes of the range or the given max bytes are not enough for a batch.
+     */
+    boolean nextBatch(int maxBytes) throws IOException {
+        position += batchSizeInBytes;
+        batchSizeInBytes = 0;
+        // The condition is an optimization to avoid read log header when there is no enough
+        // bytes, so we use V0 header size here for a conservative judgment. In the end, the
+        // condition of (position > end - batchSizeInBytes) will ensure the final correctness.
+        if (maxBytes <= V0_RECORD_BATCH_HEADER_SIZE
+                || position > end - V0_RECORD_BATCH_HEADER_SIZE) {
+            return false;
+        }
+
+        // a V1 header size may exceed the range for the last V0 batch
+        logHeaderBuffer.clear();
+        copy(position, Math.min(V1_RECORD_BATCH_HEADER_SIZE, end - position), logHeaderBuffer);
+        logHeaderBuffer.rewind();
+        int sizeInBytes = LOG_OVERHEAD + logHeaderBuffer.getInt(LENGTH_OFFSET);
+        if (position > end - sizeInBytes) {
+            // the remaining bytes in the range are not enough to read a full batch
+            return false;
+        }
+        batchSizeInBytes = sizeInBytes;
+        return true;
+    }
+
+    /** Returns the position of the current batch in the file. */
+    int position() {
+        return position;
+    }
+
+    /** Returns the size of the current batch in bytes, including the log overhead. */
+    int batchSizeInBytes() {
+        return batchSizeInBytes;
+    }
+
+    /** Returns a little endian view of the given range of the file. */
+    ByteBuffer slice(long position, int length) throws IOException {
+        ByteBuffer buffer = window(position, length).duplicate();
+        int offset = (int) (position - windowStart);
+        buffer.position(offset);
+        buffer.limit(offset + length);
+        return buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Copies the given range of the file into the destination buffer. */
+    void copy(long position, int length, ByteBuffer dest) throws IOException {
+        dest.put(slice(position, length));
+    }
+
+    private MappedByteBuffer window(long position, int length) throws IOException {
+        if (window == null || position < windowStart || position + length > windowEnd) {
+            long mapEnd = Math.min(end, position + Math.max(length, windowSize));
+            // mapping beyond the end of a writable file channel would extend the file
+            long fileSize = channel.size();
+            if (mapEnd > fileSize) {
+                throw new EOFException(
+                        String.format(
+                                "Failed to map the range [%d, %d) of file channel `%s`, "
+                                        + "the file has been truncated to %d bytes.",
+                                position, mapEnd, channel, fileSize));
+            }
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, mapEnd - position);
+            windows.add(window);
+            windowStart = position;
+            windowEnd = mapEnd;
+        }
+        return window;
+    }
+
+    /**
+     * Converts the error reported by the JVM on accessing a mapped region which has been truncated
+     * concurrently.
+     */
+    static IOException mappedReadError(FileChannel channel, int start, int end, InternalError e) {
+        return new IOException(
+                String.format(
+                        "Failed to read the mapped range [%d, %d) of file channel `%s`.",
+                        start, end, channel),
+                e);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (MappedByteBuffer mapped : windows) {
+            ByteBufferUnmapper.unmap(channel.toString(), mapped);
+        }
+        windows.clear();
+        window = null;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.memory.MemorySegment;
+import org.apache.fluss.metadata.SchemaGetter;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.record.bytesview.MultiBytesView;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.crc.Crc32C;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+import static org.apache.fluss.record.DefaultLogRecordBatch.DICTIONARY_FLAG_MASK;
+import static org.apache.fluss.record.DefaultLogRecordBatch.STATISTICS_FLAG_MASK;
+import static org.apache.fluss.record.FileLogProjection.MIN_MAPPED_WINDOW_SIZE;
+import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_OFFSET;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_OVERHEAD;
+import static org.apache.fluss.record.LogRecordBatchFormat.MAGIC_OFFSET;
+import static org.apache.fluss.record.LogRecordBatchFormat.STATISTICS_LENGTH_LENGTH;
+import static org.apache.fluss.record.LogRecordBatchFormat.V1_RECORD_BATCH_HEADER_SIZE;
+import static org.apache.fluss.record.LogRecordBatchFormat.attributeOffset;
+import static org.apache.fluss.record.LogRecordBatchFormat.crcOffset;
+import static org.apache.fluss.record.LogRecordBatchFormat.recordBatchHeaderSize;
+import static org.apache.fluss.record.LogRecordBatchFormat.recordsCountOffset;
+import static org.apache.fluss.record.LogRecordBatchFormat.schemaIdOffset;
+import static org.apache.fluss.utils.FileUtils.readFullyOrFail;
+
+/**
+ * Filter util on {@link FileLogRecords} which skips the record batches that can't match a {@link
+ * Predicate} according to the {@link LogRecordBatchStatistics} carried by the batches.
+ *
+ * <p>A skipped batch is replaced by an empty batch which only contains the batch header (with
+ * record count 0), so that the reader can still push forward the log offset. Batches without
+ * statistics, or written with another schema than the filter, are always kept.
+ */
+public class FileLogFilter {
+
+    /**
+     * Buffer to read log records batch header. V1 is larger than V0, so use V1 head buffer can read
+     * V0 header even if there is no enough bytes in log file.
+     */
+    private final ByteBuffer logHeaderBuffer = ByteBuffer.allocate(V1_RECORD_BATCH_HEADER_SIZE);
+
+    private final ByteBuffer statisticsLengthBuffer = ByteBuffer.allocate(STATISTICS_LENGTH_LENGTH);
+    private ByteBuffer statisticsBuffer;
+
+    private SchemaGetter schemaGetter;
+    private Predicate predicate;
+    private int schemaId;
+    @Nullable private RowType rowType;
+
+    public FileLogFilter() {
+        // fluss use little endian for encoding log records batch
+        this.logHeaderBuffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.statisticsLengthBuffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Sets the filter of the current fetch.
+     *
+     * @param schemaGetter the schema getter of the table
+     * @param schemaId the schema id that the field indexes of the predicate refer to
+     * @param predicate the filter predicate
+     */
+    public void setCurrentFilter(SchemaGetter schemaGetter, int schemaId, Predicate predicate) {
+        if (this.schemaGetter != schemaGetter || this.schemaId != schemaId) {
+            this.rowType = null;
+        }
+        this.schemaGetter = schemaGetter;
+        this.schemaId = schemaId;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Filter the log records and the size of returned log records shouldn't exceed maxBytes. The
+     * batches which can't match the filter are replaced by empty batches, so the scan may go beyond
+     * maxBytes of the range to find the matching batches. But once some matching batches have been
+     * collected, the scan stops when maxBytes of the range have been scanned.
+     *
+     * @return the filtered records.
+     */
+    public BytesViewLogRecords filter(FileChannel channel, int start, int end, int maxBytes)
+            throws IOException {
+        try (FileLogBatchScanner scanner =
+                new FileLogBatchScanner(
+                        channel,
+                        start,
+                        end,
+                        Math.max(maxBytes, MIN_MAPPED_WINDOW_SIZE),
+                        logHeaderBuffer)) {
+            return filter(channel, scanner, maxBytes);
+        } catch (InternalError e) {
+            // the JVM reports the access to a mapped region truncated concurrently as an error
+            throw FileLogBatchScanner.mappedReadError(channel, start, end, e);
+        }
+    }
+
+    private BytesViewLogRecords filter(
+            FileChannel channel, FileLogBatchScanner scanner, int maxBytes) throws IOException {
+        MultiBytesView.Builder builder = MultiBytesView.builder();
+        int fetchSize = maxBytes;
+        int scannedBytes = 0;
+        boolean matched = false;
+        while (scanner.nextBatch(maxBytes)) {
+            if (matched && scannedBytes >= fetchSize) {
+                // the fetch size is reached, return the matching batches instead of scanning the
+                // rest of the range for more of them
+                break;
+            }
+            int position = scanner.position();
+            int batchSizeInBytes = scanner.batchSizeInBytes();
+            scannedBytes += batchSizeInBytes;
+            if (mayMatch(channel, position, batchSizeInBytes, logHeaderBuffer)) {
+                if (batchSizeInBytes > maxBytes) {
+                    break;
+                }
+                builder.addBytes(channel, position, batchSizeInBytes);
+                maxBytes -= batchSizeInBytes;
+                matched = true;
+            } else {
+                byte[] emptyBatch = toEmptyBatch(logHeaderBuffer);
+                if (emptyBatch.length > maxBytes) {
+                    break;
+                }
+                builder.addBytes(emptyBatch);
+                maxBytes -= emptyBatch.length;
+            }
+        }
+        return new BytesViewLogRecords(builder.build());
+    }
+
+    /**
+     * Returns false if the batch at the given position carries statistics which prove that none of
+     * its records can match the filter.
+     *
+     * @param logHeader the header of the batch which has been read
+     */
+    boolean mayMatch(FileChannel channel, int position, int batchSizeInBytes, ByteBuffer logHeader)
+            throws IOException {
+        byte magic = logHeader.get(MAGIC_OFFSET);
+        if (magic < LOG_MAGIC_VALUE_V2
+                || (logHeader.get(attributeOffset(magic)) & STATISTICS_FLAG_MASK) == 0
+                || logHeader.getShort(schemaIdOffset(magic)) != schemaId) {
+            return true;
+        }
+
+        statisticsLengthBuffer.rewind();
+        int statisticsLengthOffset = position + batchSizeInBytes - STATISTICS_LENGTH_LENGTH;
+        readFullyOrFail(
+                channel, statisticsLengthBuffer, statisticsLengthOffset, "statistics length");
+        int statisticsSize = statisticsLengthBuffer.getInt(0);
+        int recordsOffset = position + recordBatchHeaderSize(magic);
+        int statisticsOffset = statisticsLengthOffset - statisticsSize;
+        if (statisticsSize <= 0 || statisticsOffset < recordsOffset) {
+            // corrupt statistics, let the reader to detect the corruption
+            return true;
+        }
+
+        resizeStatisticsBuffer(statisticsSize);
+        readFullyOrFail(channel, statisticsBuffer, statisticsOffset, "statistics");
+        if (rowType == null) {
+            rowType = schemaGetter.getSchema(schemaId).getRowType();
+        }
+        LogRecordBatchStatistics statistics =
+                LogRecordBatchStatistics.readFrom(
+                        MemorySegment.wrap(statisticsBuffer.array()),
+                        0,
+                        statisticsSize,
+                        logHeader.getInt(recordsCountOffset(magic)),
+                        rowType);
+        return statistics == null || statistics.mayMatch(predicate);
+    }
+
+    /**
+     * Creates an empty batch from the given batch header. The empty batch keeps the offsets of the
+     * original batch, but contains no records, see the comments about the field 'lastOffsetDelta'
+     * in {@link LogRecordBatchFormat}.
+     */
+    static byte[] toEmptyBatch(ByteBuffer logHeader) {
+        byte magic = logHeader.get(MAGIC_OFFSET);
+        int headerSize = recordBatchHeaderSize(magic);
+        byte[] emptyBatch = new byte[headerSize];
+        logHeader.rewind();
+        logHeader.get(emptyBatch);
+        logHeader.rewind();
+
+        ByteBuffer buffer = ByteBuffer.wrap(emptyBatch).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(LENGTH_OFFSET, headerSize - LOG_OVERHEAD);
+        removeDictionaries(buffer);
+        removeStatistics(buffer);
+        buffer.putInt(recordsCountOffset(magic), 0);
+        int schemaIdOffset = schemaIdOffset(magic);
+        long crc = Crc32C.compute(emptyBatch, schemaIdOffset, headerSize - schemaIdOffset);
+        buffer.putInt(crcOffset(magic), (int) crc);
+        return emptyBatch;
+    }
+
+    /**
+     * Marks the batch of the given header as a batch without the statistics trailer. The batch is
+     * written in {@link LogRecordBatchFormat#LOG_MAGIC_VALUE_V1} then, which has the same header as
+     * V2, so that it can still be read by the clients which don't know the trailer. But a
+     * dictionary encoded batch is kept in V2, as the clients which don't know the dictionaries
+     * can't read it anyway.
+     */
+    static void removeStatistics(ByteBuffer logHeader) {
+        byte magic = logHeader.get(MAGIC_OFFSET);
+        if (magic >= LOG_MAGIC_VALUE_V2) {
+            int attributeOffset = attributeOffset(magic);
+            byte attributes = (byte) (logHeader.get(attributeOffset) & ~STATISTICS_FLAG_MASK);
+            logHeader.put(attributeOffset, attributes);
+            if ((attributes & DICTIONARY_FLAG_MASK) == 0) {
+                logHeader.put(MAGIC_OFFSET, LOG_MAGIC_VALUE_V1);
+            }
+        }
+    }
+
+    /** Marks the batch of the given header as a batch without dictionary encoded columns. */
+    static void removeDictionaries(ByteBuffer logHeader) {
+        byte magic = logHeader.get(MAGIC_OFFSET);
+        if (magic >= LOG_MAGIC_VALUE_V2) {
+            int attributeOffset = attributeOffset(magic);
+            logHeader.put(
+                    attributeOffset,
+                    (byte) (logHeader.get(attributeOffset) & ~DICTIONARY_FLAG_MASK));
+        }
+    }
+
+    private void resizeStatisticsBuffer(int statisticsSize) {
+        if (statisticsBuffer == null || statisticsBuffer.capacity() < statisticsSize) {
+            statisticsBuffer = ByteBuffer.allocate(statisticsSize);
+        } else {
+            statisticsBuffer.clear();
+            statisticsBuffer.limit(statisticsSize);
+        }
+    }
+}
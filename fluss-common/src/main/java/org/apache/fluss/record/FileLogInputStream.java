@@ -169,6 +169,11 @@ public class FileLogInputStream
             return loadFullBatch().records(context);
         }
 
+        @Override
+        public ColumnarBatch columnarBatch(ReadContext context) {
+            return loadFullBatch().columnarBatch(context);
+        }
+
         @Override
         public boolean isValid() {
             return loadFullBatch().isValid();
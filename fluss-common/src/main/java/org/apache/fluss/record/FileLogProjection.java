@@ -22,13 +22,18 @@ import org.apache.fluss.compression.ArrowCompressionInfo;
 import org.apache.fluss.exception.InvalidColumnProjectionException;
 import org.apache.fluss.metadata.SchemaGetter;
 import org.apache.fluss.record.bytesview.MultiBytesView;
+import org.apache.fluss.row.arrow.ArrowDictionaryEncoder;
 import org.apache.fluss.shaded.arrow.com.google.flatbuffers.FlatBufferBuilder;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.flatbuf.BodyCompression;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.flatbuf.Buffer;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.flatbuf.DictionaryBatch;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.flatbuf.FieldNode;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.flatbuf.Message;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.flatbuf.MessageHeader;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.flatbuf.RecordBatch;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.TypeLayout;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.WriteChannel;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowBodyCompression;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowBuffer;
@@ -39,8 +44,11 @@ import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.types.pojo.Field;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.ArrowUtils;
+import org.apache.fluss.utils.MapUtils;
 import org.apache.fluss.utils.types.Tuple2;
 
+import javax.annotation.Nullable;
+
 import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
@@ -51,7 +59,9 @@ import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.apache.fluss.record.DefaultLogRecordBatch.APPEND_ONLY_FLAG_MASK;
 import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_OFFSET;
@@ -67,7 +77,6 @@ import static org.apache.fluss.record.LogRecordBatchFormat.recordBatchHeaderSize
 import static org.apache.fluss.record.LogRecordBatchFormat.recordsCountOffset;
 import static org.apache.fluss.record.LogRecordBatchFormat.schemaIdOffset;
 import static org.apache.fluss.utils.FileUtils.readFully;
-import static org.apache.fluss.utils.FileUtils.readFullyOrFail;
 import static org.apache.fluss.utils.Preconditions.checkState;
 
 /** Column projection util on Arrow format {@link FileLogRecords}. */
@@ -81,6 +90,9 @@ public class FileLogProjection {
     private static final int ARROW_HEADER_SIZE =
             ARROW_IPC_CONTINUATION_LENGTH + ARROW_IPC_METADATA_SIZE_LENGTH;
 
+    /** The minimum size of a mapped window of the log file, see {@link FileLogBatchScanner}. */
+    static final int MIN_MAPPED_WINDOW_SIZE = 1024 * 1024;
+
     // the projection cache shared in the TabletServer
     private final ProjectionPushdownCache projectionsCache;
 
@@ -94,8 +106,6 @@ public class FileLogProjection {
      */
     private final ByteBuffer logHeaderBuffer = ByteBuffer.allocate(V1_RECORD_BATCH_HEADER_SIZE);
 
-    private final ByteBuffer arrowHeaderBuffer = ByteBuffer.allocate(ARROW_HEADER_SIZE);
-    private ByteBuffer arrowMetadataBuffer;
     private SchemaGetter schemaGetter;
     private long tableId;
     private ArrowCompressionInfo compressionInfo;
@@ -107,8 +117,6 @@ public class FileLogProjection {
         this.writeChannel = new WriteChannel(Channels.newChannel(outputStream));
         // fluss use little endian for encoding log records batch
         this.logHeaderBuffer.order(ByteOrder.LITTLE_ENDIAN);
-        // arrow force use little endian to encode int32 values
-        this.arrowHeaderBuffer.order(ByteOrder.LITTLE_ENDIAN);
     }
 
     public void setCurrentProjection(
@@ -130,29 +138,57 @@ public class FileLogProjection {
      */
     public BytesViewLogRecords project(FileChannel channel, int start, int end, int maxBytes)
             throws IOException {
+        return project(channel, start, end, maxBytes, null);
+    }
+
+    /**
+     * Project the log records to a subset of fields and the size of returned log records shouldn't
+     * exceed maxBytes. The batches which can't match the given filter are replaced by empty
+     * batches, see {@link FileLogFilter}.
+     *
+     * @return the projected records.
+     */
+    public BytesViewLogRecords project(
+            FileChannel channel, int start, int end, int maxBytes, @Nullable FileLogFilter filter)
+            throws IOException {
+        if (maxBytes <= V0_RECORD_BATCH_HEADER_SIZE || start > end - V0_RECORD_BATCH_HEADER_SIZE) {
+            return new BytesViewLogRecords(MultiBytesView.builder().build());
+        }
+
+        // The headers and the arrow metadata of the batches are read in place from the mapped
+        // windows of the file, instead of a read syscall and a heap copy for each of them. The
+        // windows are only accessed in this method and are released before returning, as the
+        // projected column buffers are still sent from the file channel directly.
+        try (FileLogBatchScanner scanner =
+                new FileLogBatchScanner(
+                        channel,
+                        start,
+                        end,
+                        Math.max(maxBytes, MIN_MAPPED_WINDOW_SIZE),
+                        logHeaderBuffer)) {
+            return project(channel, scanner, end, maxBytes, filter);
+        } catch (InternalError e) {
+            // the JVM reports the access to a mapped region truncated concurrently as an error
+            throw FileLogBatchScanner.mappedReadError(channel, start, end, e);
+        }
+    }
 
+    private BytesViewLogRecords project(
+            FileChannel channel,
+            FileLogBatchScanner scanner,
+            int end,
+            int maxBytes,
+            @Nullable FileLogFilter filter)
+            throws IOException {
         MultiBytesView.Builder builder = MultiBytesView.builder();
-        int position = start;
 
         ProjectionInfo currentProjection = null;
         short prevSchemaId = -1;
-        // The condition is an optimization to avoid read log header when there is no enough bytes,
-        // So we use V0 header size here for a conservative judgment. In the end, the condition
-        // of (position >= end - recordBatchHeaderSize) will ensure the final correctness.
-        while (maxBytes > V0_RECORD_BATCH_HEADER_SIZE) {
-            if (position > end - V0_RECORD_BATCH_HEADER_SIZE) {
-                // the remaining bytes in the file are not enough to read a batch header up to
-                // magic.
-                return new BytesViewLogRecords(builder.build());
-            }
-            // read log header
-            logHeaderBuffer.rewind();
-            readLogHeaderFullyOrFail(channel, logHeaderBuffer, position);
-
-            logHeaderBuffer.rewind();
+        while (scanner.nextBatch(maxBytes)) {
+            int position = scanner.position();
+            int batchSizeInBytes = scanner.batchSizeInBytes();
             byte magic = logHeaderBuffer.get(MAGIC_OFFSET);
             int recordBatchHeaderSize = recordBatchHeaderSize(magic);
-            int batchSizeInBytes = LOG_OVERHEAD + logHeaderBuffer.getInt(LENGTH_OFFSET);
             short schemaId = logHeaderBuffer.getShort(schemaIdOffset(magic));
 
             // reuse projection in the current log file
@@ -161,18 +197,24 @@ public class FileLogProjection {
                 currentProjection = getOrCreateProjectionInfo(schemaId);
             }
 
-            if (position > end - batchSizeInBytes) {
-                // the remaining bytes in the file are not enough to read a full batch
-                return new BytesViewLogRecords(builder.build());
-            }
-
             // Return empty batch to push forward log offset. The empty batch was generated when
             // build cdc log batch when there
             // is no cdc log generated for this kv batch. See the comments about the field
             // 'lastOffsetDelta' in DefaultLogRecordBatch.
             if (batchSizeInBytes == recordBatchHeaderSize) {
                 builder.addBytes(channel, position, batchSizeInBytes);
-                position += batchSizeInBytes;
+                continue;
+            }
+
+            // Replace the batch by an empty batch if it can't match the filter.
+            if (filter != null
+                    && !filter.mayMatch(channel, position, batchSizeInBytes, logHeaderBuffer)) {
+                byte[] emptyBatch = FileLogFilter.toEmptyBatch(logHeaderBuffer);
+                if (emptyBatch.length > maxBytes) {
+                    break;
+                }
+                builder.addBytes(emptyBatch);
+                maxBytes -= emptyBatch.length;
                 continue;
             }
 
@@ -189,53 +231,89 @@ public class FileLogProjection {
                 arrowHeaderOffset = position + recordBatchHeaderSize + changeTypeBytes;
             }
 
-            // read arrow header
-            arrowHeaderBuffer.rewind();
-            readFullyOrFail(channel, arrowHeaderBuffer, arrowHeaderOffset, "arrow header");
-            arrowHeaderBuffer.position(ARROW_IPC_METADATA_SIZE_OFFSET);
-            int arrowMetadataSize = arrowHeaderBuffer.getInt();
-
-            resizeArrowMetadataBuffer(arrowMetadataSize);
-            arrowMetadataBuffer.rewind();
-            readFullyOrFail(
-                    channel,
-                    arrowMetadataBuffer,
-                    arrowHeaderOffset + ARROW_HEADER_SIZE,
-                    "arrow metadata");
-
-            arrowMetadataBuffer.rewind();
-            Message metadata = Message.getRootAsMessage(arrowMetadataBuffer);
+            // read arrow header and metadata in place
+            long arrowMessageOffset = arrowHeaderOffset;
+            int arrowMetadataSize = readArrowMetadataSize(channel, scanner, end, arrowHeaderOffset);
+            Message metadata = readArrowMetadata(scanner, arrowHeaderOffset, arrowMetadataSize);
+
+            // the dictionary batches of the dictionary encoded columns precede the record batch,
+            // the dictionaries of the projected columns are kept encoded, see
+            // ArrowDictionaryEncoder
+            BitSet dictionaryEncodedFields = null;
+            List<ProjectedDictionary> projectedDictionaries = Collections.emptyList();
+            int projectedDictionariesSize = 0;
+            while (metadata.headerType() == MessageHeader.DictionaryBatch) {
+                long bodyOffset = arrowMessageOffset + ARROW_HEADER_SIZE + arrowMetadataSize;
+                checkChunkRange(
+                        channel, end, bodyOffset, (int) metadata.bodyLength(), "arrow dictionary");
+                DictionaryBatch dictionaryBatch =
+                        (DictionaryBatch) metadata.header(new DictionaryBatch());
+                int field = (int) dictionaryBatch.id();
+                if (dictionaryEncodedFields == null) {
+                    dictionaryEncodedFields = new BitSet();
+                    projectedDictionaries = new ArrayList<>();
+                }
+                dictionaryEncodedFields.set(field);
+                int projectedField = Arrays.binarySearch(selectedFieldPositions, field);
+                if (projectedField >= 0) {
+                    ProjectedDictionary projectedDictionary =
+                            projectDictionary(
+                                    arrowMessageOffset,
+                                    arrowMetadataSize,
+                                    dictionaryBatch,
+                                    metadata.bodyLength(),
+                                    field,
+                                    projectedField);
+                    projectedDictionaries.add(projectedDictionary);
+                    projectedDictionariesSize += projectedDictionary.sizeInBytes();
+                }
+
+                arrowMessageOffset = bodyOffset + metadata.bodyLength();
+                arrowMetadataSize =
+                        readArrowMetadataSize(channel, scanner, end, arrowMessageOffset);
+                metadata = readArrowMetadata(scanner, arrowMessageOffset, arrowMetadataSize);
+            }
+            ProjectionInfo projection =
+                    dictionaryEncodedFields == null
+                            ? currentProjection
+                            : getOrCreateProjectionInfo(
+                                    currentProjection, schemaId, dictionaryEncodedFields);
+
             ProjectedArrowBatch projectedArrowBatch =
                     projectArrowBatch(
                             metadata,
-                            currentProjection.nodesProjection,
-                            currentProjection.buffersProjection,
-                            currentProjection.bufferCount);
+                            projection.nodesProjection,
+                            projection.buffersProjection,
+                            projection.bufferCount);
             long arrowBodyLength = projectedArrowBatch.bodyLength();
 
             int newBatchSizeInBytes =
                     recordBatchHeaderSize
                             + changeTypeBytes
-                            + currentProjection.arrowMetadataLength
+                            + projectedDictionariesSize
+                            + projection.arrowMetadataLength
                             + (int) arrowBodyLength; // safe to cast to int
             if (newBatchSizeInBytes > maxBytes) {
                 // the remaining bytes in the file are not enough to read a full batch
-                return new BytesViewLogRecords(builder.build());
+                break;
             }
 
             // 3. create new arrow batch metadata which already projected.
             byte[] headerMetadata =
                     serializeArrowRecordBatchMetadata(
-                            projectedArrowBatch,
-                            arrowBodyLength,
-                            currentProjection.bodyCompression);
+                            projectedArrowBatch, arrowBodyLength, projection.bodyCompression);
             checkState(
-                    headerMetadata.length == currentProjection.arrowMetadataLength,
+                    headerMetadata.length == projection.arrowMetadataLength,
                     "Invalid metadata length");
 
-            // 4. update and copy log batch header
+            // 4. update and copy log batch header, the statistics trailer is not projected
             logHeaderBuffer.position(LENGTH_OFFSET);
             logHeaderBuffer.putInt(newBatchSizeInBytes - LOG_OVERHEAD);
+            if (projectedDictionaries.isEmpty()) {
+                // none of the projected columns is dictionary encoded
+                FileLogFilter.removeDictionaries(logHeaderBuffer);
+            }
+            FileLogFilter.removeStatistics(logHeaderBuffer);
             logHeaderBuffer.rewind();
             // the logHeader can't be reused, as it will be sent to network
             byte[] logHeader = new byte[recordBatchHeaderSize];
@@ -246,20 +324,95 @@ public class FileLogProjection {
             if (!isAppendOnly) {
                 builder.addBytes(channel, position + arrowChangeTypeOffset(magic), changeTypeBytes);
             }
+            for (ProjectedDictionary dictionary : projectedDictionaries) {
+                dictionary.addTo(builder, channel);
+            }
             builder.addBytes(headerMetadata);
-            final long bufferOffset = arrowHeaderOffset + ARROW_HEADER_SIZE + arrowMetadataSize;
+            final long bufferOffset = arrowMessageOffset + ARROW_HEADER_SIZE + arrowMetadataSize;
             projectedArrowBatch.buffers.forEach(
                     b ->
                             builder.addBytes(
                                     channel, bufferOffset + b.getOffset(), (int) b.getSize()));
 
             maxBytes -= newBatchSizeInBytes;
-            position += batchSizeInBytes;
         }
 
         return new BytesViewLogRecords(builder.build());
     }
 
+    /** Reads the size of the metadata of the Arrow message at the given position in place. */
+    private static int readArrowMetadataSize(
+            FileChannel channel, FileLogBatchScanner scanner, int end, long messageOffset)
+            throws IOException {
+        checkChunkRange(channel, end, messageOffset, ARROW_HEADER_SIZE, "arrow header");
+        int arrowMetadataSize =
+                scanner.slice(messageOffset, ARROW_HEADER_SIZE)
+                        .getInt(ARROW_IPC_METADATA_SIZE_OFFSET);
+        checkChunkRange(
+                channel,
+                end,
+                messageOffset + ARROW_HEADER_SIZE,
+                arrowMetadataSize,
+                "arrow metadata");
+        return arrowMetadataSize;
+    }
+
+    private static Message readArrowMetadata(
+            FileLogBatchScanner scanner, long messageOffset, int arrowMetadataSize)
+            throws IOException {
+        return Message.getRootAsMessage(
+                scanner.slice(messageOffset + ARROW_HEADER_SIZE, arrowMetadataSize));
+    }
+
+    /**
+     * Projects the dictionary batch of the given field, the id of the dictionary is changed to the
+     * position of the field in the projected batch.
+     */
+    private ProjectedDictionary projectDictionary(
+            long messageOffset,
+            int arrowMetadataSize,
+            DictionaryBatch dictionaryBatch,
+            long bodyLength,
+            int field,
+            int projectedField)
+            throws IOException {
+        long bodyOffset = messageOffset + ARROW_HEADER_SIZE + arrowMetadataSize;
+        if (field == projectedField) {
+            // the message can be sent as it is
+            return new ProjectedDictionary(
+                    null, messageOffset, ARROW_HEADER_SIZE + arrowMetadataSize + (int) bodyLength);
+        }
+
+        RecordBatch data = dictionaryBatch.data();
+        List<ArrowFieldNode> nodes = new ArrayList<>(data.nodesLength());
+        for (int i = 0; i < data.nodesLength(); i++) {
+            FieldNode node = data.nodes(i);
+            nodes.add(new ArrowFieldNode(node.length(), node.nullCount()));
+        }
+        List<ArrowBuffer> buffersLayout = new ArrayList<>(data.buffersLength());
+        for (int i = 0; i < data.buffersLength(); i++) {
+            Buffer buf = data.buffers(i);
+            buffersLayout.add(new ArrowBuffer(buf.offset(), buf.length()));
+        }
+        BodyCompression compression = data.compression();
+        ArrowBodyCompression bodyCompression =
+                compression == null
+                        ? NoCompressionCodec.DEFAULT_BODY_COMPRESSION
+                        : new ArrowBodyCompression(compression.codec(), compression.method());
+
+        outputStream.reset();
+        ArrowUtils.serializeArrowDictionaryBatchMetadata(
+                writeChannel,
+                projectedField,
+                data.length(),
+                nodes,
+                buffersLayout,
+                bodyCompression,
+                bodyLength);
+        byte[] metadata = outputStream.toByteArray();
+        return new ProjectedDictionary(metadata, bodyOffset, (int) bodyLength);
+    }
+
     private ProjectedArrowBatch projectArrowBatch(
             Message metadata, BitSet nodesProjection, BitSet buffersProjection, int bufferCount) {
         List<ArrowFieldNode> newNodes = new ArrayList<>();
@@ -309,12 +462,15 @@ public class FileLogProjection {
         return outputStream.toByteArray();
     }
 
-    private void resizeArrowMetadataBuffer(int metadataSize) {
-        if (arrowMetadataBuffer == null || arrowMetadataBuffer.capacity() < metadataSize) {
-            arrowMetadataBuffer = ByteBuffer.allocate(metadataSize);
-            arrowMetadataBuffer.order(ByteOrder.LITTLE_ENDIAN);
-        } else {
-            arrowMetadataBuffer.limit(metadataSize);
+    private static void checkChunkRange(
+            FileChannel channel, int end, long position, int length, String description)
+            throws EOFException {
+        if (length < 0 || position > end - length) {
+            throw new EOFException(
+                    String.format(
+                            "Failed to read `%s` from file channel `%s`. Expected to read %d bytes "
+                                    + "from position %d, but reached the end of the read range at position %d.",
+                            description, channel, length, position, end));
         }
     }
 
@@ -388,7 +544,7 @@ public class FileLogProjection {
                                 "Failed to read v0 log header from file channel `%s`. Expected to read %d bytes, "
                                         + "but reached end of file after reading %d bytes. Started read from position %d.",
                                 channel, V0_RECORD_BATCH_HEADER_SIZE, size, position));
-            } else if (magic == LOG_MAGIC_VALUE_V1 && size < V1_RECORD_BATCH_HEADER_SIZE) {
+            } else if (magic >= LOG_MAGIC_VALUE_V1 && size < V1_RECORD_BATCH_HEADER_SIZE) {
                 throw new EOFException(
                         String.format(
                                 "Failed to read v1 log header from file channel `%s`. Expected to read %d bytes, "
@@ -414,12 +570,38 @@ public class FileLogProjection {
         return cachedProjection;
     }
 
+    /** Gets the projection of the batches in which the given fields are dictionary encoded. */
+    private ProjectionInfo getOrCreateProjectionInfo(
+            ProjectionInfo plainProjection, short schemaId, BitSet dictionaryEncodedFields) {
+        return plainProjection.dictionaryEncodedProjections.computeIfAbsent(
+                dictionaryEncodedFields,
+                k -> createProjectionInfo(schemaId, selectedFieldPositions, k));
+    }
+
     private ProjectionInfo createProjectionInfo(short schemaId, int[] selectedFieldPositions) {
+        return createProjectionInfo(schemaId, selectedFieldPositions, null);
+    }
+
+    private ProjectionInfo createProjectionInfo(
+            short schemaId,
+            int[] selectedFieldPositions,
+            @Nullable BitSet dictionaryEncodedFields) {
         org.apache.fluss.metadata.Schema schema = schemaGetter.getSchema(schemaId);
         RowType rowType = schema.getRowType();
 
         // initialize the projection util information
         Schema arrowSchema = ArrowUtils.toArrowSchema(rowType);
+        if (dictionaryEncodedFields != null) {
+            // the record batch only holds the indices of the dictionary encoded fields
+            List<Field> fields = new ArrayList<>(arrowSchema.getFields());
+            for (int i = dictionaryEncodedFields.nextSetBit(0);
+                    i >= 0;
+                    i = dictionaryEncodedFields.nextSetBit(i + 1)) {
+                checkState(i < fields.size(), "Invalid dictionary id %s.", i);
+                fields.set(i, ArrowDictionaryEncoder.toIndexField(fields.get(i), i));
+            }
+            arrowSchema = new Schema(fields);
+        }
         BitSet selection = toBitSet(arrowSchema.getFields().size(), selectedFieldPositions);
         List<Tuple2<Field, Boolean>> flattenedFields = new ArrayList<>();
         flattenFields(arrowSchema.getFields(), selection, flattenedFields);
@@ -443,8 +625,11 @@ public class FileLogProjection {
             bufferIndex += bufferLayoutCount[i];
         }
 
-        Schema projectedArrowSchema =
-                ArrowUtils.toArrowSchema(rowType.project(selectedFieldPositions));
+        List<Field> projectedFields = new ArrayList<>(selectedFieldPositions.length);
+        for (int field : selectedFieldPositions) {
+            projectedFields.add(arrowSchema.getFields().get(field));
+        }
+        Schema projectedArrowSchema = new Schema(projectedFields);
         ArrowBodyCompression bodyCompression =
                 CompressionUtil.createBodyCompression(compressionInfo.createCompressionCodec());
         int metadataLength =
@@ -467,6 +652,10 @@ public class FileLogProjection {
         final ArrowBodyCompression bodyCompression;
         final int[] selectedFieldPositions;
 
+        /** The projections of the batches with dictionary encoded fields of the same schema. */
+        final Map<BitSet, ProjectionInfo> dictionaryEncodedProjections =
+                MapUtils.newConcurrentHashMap();
+
         private ProjectionInfo(
                 BitSet nodesProjection,
                 BitSet buffersProjection,
@@ -516,4 +705,35 @@ public class FileLogProjection {
             return bodyLength;
         }
     }
+
+    /** A projected Arrow dictionary batch which is sent from the file channel. */
+    private static final class ProjectedDictionary {
+        /** The new metadata of the dictionary batch, null if the metadata is not changed. */
+        @Nullable final byte[] metadata;
+
+        /**
+         * The position and the length of the bytes to send from the file channel, which is the
+         * whole message if the metadata is not changed, otherwise the body of the message.
+         */
+        final long position;
+
+        final int length;
+
+        private ProjectedDictionary(@Nullable byte[] metadata, long position, int length) {
+            this.metadata = metadata;
+            this.position = position;
+            this.length = length;
+        }
+
+        int sizeInBytes() {
+            return (metadata == null ? 0 : metadata.length) + length;
+        }
+
+        void addTo(MultiBytesView.Builder builder, FileChannel channel) {
+            if (metadata != null) {
+                builder.addBytes(metadata);
+            }
+            builder.addBytes(channel, position, length);
+        }
+    }
 }
@@ -184,6 +184,48 @@ public class FileLogRecords implements LogRecords, Closeable {
         return written;
     }
 
+    /**
+     * Write the records at the given position of the file without changing the size of this file
+     * records, the written records are invisible until they are committed by {@link
+     * #commitWrite(int, int)}. Unlike {@link #append(MemoryLogRecords)}, the position of the file
+     * channel is not used, so the records can be written concurrently at disjoint positions.
+     *
+     * @param records The records to write
+     * @param position The position in this file records to write the records at
+     * @return the number of bytes written
+     */
+    public int writeAt(MemoryLogRecords records, int position) throws IOException {
+        ByteBuffer buffer =
+                records.getMemorySegment().wrap(records.getPosition(), records.sizeInBytes());
+        long filePosition = start + position;
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, filePosition + written);
+        }
+        return written;
+    }
+
+    /**
+     * Commit the records written by {@link #writeAt(MemoryLogRecords, int)} at the end of this file
+     * records, which makes them visible to the readers.
+     *
+     * @param position The position the records are written at, which must be the current size
+     * @param sizeInBytes The size of the written records
+     */
+    public void commitWrite(int position, int sizeInBytes) throws IOException {
+        if (position != size.get()) {
+            throw new IllegalStateException(
+                    "Commit of the records written at position "
+                            + position
+                            + " is not at the end position "
+                            + size.get()
+                            + " of "
+                            + file);
+        }
+        int newSize = size.addAndGet(sizeInBytes);
+        channel.position(start + newSize);
+    }
+
     /** Commit all written data to the physical disk. */
     public void flush() throws IOException {
         channel.force(true);
@@ -165,6 +165,22 @@ public interface LogRecordBatch {
      */
     CloseableIterator<LogRecord> records(ReadContext context);
 
+    /**
+     * Returns all the records of this batch as a {@link ColumnarBatch}, which reads the columns
+     * directly from the Arrow data without materializing the records. Only supported for {@link
+     * LogFormat#ARROW} batches. Callers should ensure that the returned batch is closed.
+     *
+     * <p>Unlike {@link #records(ReadContext)}, the returned batch doesn't share the Arrow {@link
+     * VectorSchemaRoot} of the read context, so it can be accessed after reading other batches.
+     *
+     * @param context The context to read records from the record batch.
+     * @return The columnar batch of the records in this batch.
+     */
+    default ColumnarBatch columnarBatch(ReadContext context) {
+        throw new UnsupportedOperationException(
+                "Reading columnar batch is not supported by " + getClass().getSimpleName());
+    }
+
     /** The read context of a {@link LogRecordBatch} to read records. */
     interface ReadContext {
 
@@ -49,6 +49,7 @@ public class LogRecordBatchFormat {
     private static final int WRITE_CLIENT_ID_LENGTH = 8;
     private static final int BATCH_SEQUENCE_LENGTH = 4;
     private static final int RECORDS_COUNT_LENGTH = 4;
+    public static final int STATISTICS_LENGTH_LENGTH = 4;
 
     public static final int BASE_OFFSET_OFFSET = 0;
     public static final int LENGTH_OFFSET = BASE_OFFSET_OFFSET + BASE_OFFSET_LENGTH;
@@ -57,6 +58,56 @@ public class LogRecordBatchFormat {
     public static final int LOG_OVERHEAD = LENGTH_OFFSET + LENGTH_LENGTH;
     public static final int HEADER_SIZE_UP_TO_MAGIC = MAGIC_OFFSET + MAGIC_LENGTH;
 
+    // ----------------------------------------------------------------------------------------
+    // Format of Magic Version: V2
+    // ----------------------------------------------------------------------------------------
+
+    /**
+     * LogRecordBatch implementation for magic 2 (V2). The header of V2 is the same as {@link
+     * #LOG_MAGIC_VALUE_V1}, the attributes are given below:
+     *
+     * <pre>
+     * ----------------------------------------------------------------------------------------
+     * | Unused (5-7) | Dictionary Flag (4) | Compression (2-3) | Statistics Flag (1) | AppendOnly Flag (0) |
+     * ------------------------------------------------------------------------------------------------------
+     * </pre>
+     *
+     * <p>If the Statistics Flag is set, the batch carries per-column statistics (min/max/null
+     * count) of its records in a trailer which is located at the end of the batch:
+     *
+     * <ul>
+     *   Records => [Record] Statistics StatisticsLength
+     *   <li>Statistics => see {@link LogRecordBatchStatistics}
+     *   <li>StatisticsLength => Int32 (the size of Statistics in bytes)
+     * </ul>
+     *
+     * <p>The trailer is covered by the CRC. It can be used by the server to skip batches which can
+     * not match a filter of the fetch request without reading the records. Currently, only batches
+     * in ARROW log format carry statistics.
+     *
+     * <p>The Compression bits store the id of the {@link
+     * org.apache.fluss.compression.RowCompressionType} of the batch. If it's not {@code NONE}, the
+     * records of the batch are compressed as a whole (the header is left uncompressed), which is
+     * only used by the INDEXED and COMPACTED log formats. The ARROW log format compresses the
+     * columns in the Arrow data instead.
+     *
+     * <p>If the Dictionary Flag is set, the Arrow data of the batch starts with the Arrow
+     * dictionary batches of the dictionary encoded columns, which are followed by the record batch
+     * referring to them, see {@link org.apache.fluss.row.arrow.ArrowDictionaryEncoder}. Only
+     * batches in ARROW log format are dictionary encoded.
+     *
+     * <p>Only the batches using any of the above attributes are written in V2, so that the clients
+     * and servers which don't know them fail on the unsupported magic instead of reading the
+     * trailer, the compressed records or the dictionaries as plain records. The batches which are
+     * sent without the trailer and the dictionaries (e.g., the projected batches and the empty
+     * batches of the filtered ones) are sent in V1. The tablet servers reject the fetch requests of
+     * clients which can't read V2 (i.e., of FetchLog API version 0) for the tables writing V2
+     * batches.
+     *
+     * @since 0.9
+     */
+    public static final byte LOG_MAGIC_VALUE_V2 = 2;
+
     // ----------------------------------------------------------------------------------------
     // Format of Magic Version: V1
     // ----------------------------------------------------------------------------------------
@@ -185,7 +236,7 @@ public class LogRecordBatchFormat {
     // ----------------------------------------------------------------------------------------
 
     public static int leaderEpochOffset(byte magic) {
-        if (magic == LOG_MAGIC_VALUE_V1) {
+        if (magic == LOG_MAGIC_VALUE_V2 || magic == LOG_MAGIC_VALUE_V1) {
             return V1_LEADER_EPOCH_OFFSET;
         }
         throw new IllegalArgumentException("Unsupported magic value " + magic);
@@ -193,6 +244,7 @@ public class LogRecordBatchFormat {
 
     public static int crcOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
             case LOG_MAGIC_VALUE_V1:
                 return V1_CRC_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -204,6 +256,7 @@ public class LogRecordBatchFormat {
 
     public static int schemaIdOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
             case LOG_MAGIC_VALUE_V1:
                 return V1_SCHEMA_ID_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -215,6 +268,7 @@ public class LogRecordBatchFormat {
 
     public static int attributeOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
             case LOG_MAGIC_VALUE_V1:
                 return V1_ATTRIBUTES_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -226,6 +280,7 @@ public class LogRecordBatchFormat {
 
     public static int lastOffsetDeltaOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
             case LOG_MAGIC_VALUE_V1:
                 return V1_LAST_OFFSET_DELTA_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -237,6 +292,7 @@ public class LogRecordBatchFormat {
 
     public static int writeClientIdOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
             case LOG_MAGIC_VALUE_V1:
                 return V1_WRITE_CLIENT_ID_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -248,6 +304,7 @@ public class LogRecordBatchFormat {
 
     public static int batchSequenceOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
             case LOG_MAGIC_VALUE_V1:
                 return V1_BATCH_SEQUENCE_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -259,6 +316,7 @@ public class LogRecordBatchFormat {
 
     public static int recordsCountOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
             case LOG_MAGIC_VALUE_V1:
                 return V1_RECORDS_COUNT_OFFSET;
             case LOG_MAGIC_VALUE_V0:
@@ -270,6 +328,7 @@ public class LogRecordBatchFormat {
 
     public static int recordBatchHeaderSize(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
             case LOG_MAGIC_VALUE_V1:
                 return V1_RECORD_BATCH_HEADER_SIZE;
             case LOG_MAGIC_VALUE_V0:
@@ -281,6 +340,7 @@ public class LogRecordBatchFormat {
 
     public static int arrowChangeTypeOffset(byte magic) {
         switch (magic) {
+            case LOG_MAGIC_VALUE_V2:
             case LOG_MAGIC_VALUE_V1:
                 return V1_ARROW_CHANGETYPE_OFFSET;
             case LOG_MAGIC_VALUE_V0:
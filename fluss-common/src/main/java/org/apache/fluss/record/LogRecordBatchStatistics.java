@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.memory.MemorySegment;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.indexed.IndexedRow;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.RowType;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Per-column statistics of the records in a {@link LogRecordBatch}. The statistics are stored in
+ * the trailer of a batch if the statistics flag is set in the batch attributes, see {@link
+ * LogRecordBatchFormat}. The schema of the statistics is given below:
+ *
+ * <ul>
+ *   Statistics =>
+ *   <li>Version => Int8
+ *   <li>FieldCount => Int32
+ *   <li>NullCounts => [Int32] (-1 if the field is not collected)
+ *   <li>MinValuesLength => Int32
+ *   <li>MinValues => IndexedRow
+ *   <li>MaxValuesLength => Int32
+ *   <li>MaxValues => IndexedRow
+ * </ul>
+ *
+ * <p>The min/max values of a field are null if all the values of the field are null or the field is
+ * not collected (e.g., unsupported types or too long strings).
+ */
+@Internal
+public class LogRecordBatchStatistics {
+
+    public static final byte STATISTICS_VERSION_V0 = 0;
+
+    static final int VERSION_LENGTH = 1;
+    static final int FIELD_COUNT_LENGTH = 4;
+    static final int NULL_COUNT_LENGTH = 4;
+    static final int VALUES_LENGTH_LENGTH = 4;
+
+    /** The value of NullCounts which indicates the statistics of the field is not collected. */
+    static final int NOT_COLLECTED_NULL_COUNT = -1;
+
+    private final long rowCount;
+    private final InternalRow minValues;
+    private final InternalRow maxValues;
+    private final Long[] nullCounts;
+
+    public LogRecordBatchStatistics(
+            long rowCount, InternalRow minValues, InternalRow maxValues, Long[] nullCounts) {
+        this.rowCount = rowCount;
+        this.minValues = minValues;
+        this.maxValues = maxValues;
+        this.nullCounts = nullCounts;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public InternalRow getMinValues() {
+        return minValues;
+    }
+
+    public InternalRow getMaxValues() {
+        return maxValues;
+    }
+
+    public Long[] getNullCounts() {
+        return nullCounts;
+    }
+
+    /**
+     * Returns false if none of the records described by these statistics can match the given
+     * predicate, true if some of them may match.
+     */
+    public boolean mayMatch(Predicate predicate) {
+        return predicate.test(rowCount, minValues, maxValues, nullCounts);
+    }
+
+    /**
+     * Reads the statistics from the given memory segment. Returns null if the statistics are of an
+     * unknown version or don't match the given row type.
+     *
+     * @param segment the memory segment to read from
+     * @param position the start position of the statistics (excluding the length trailer)
+     * @param sizeInBytes the size of the statistics in bytes (excluding the length trailer)
+     * @param rowCount the number of records in the batch
+     * @param rowType the row type of the records in the batch
+     */
+    @Nullable
+    public static LogRecordBatchStatistics readFrom(
+            MemorySegment segment, int position, int sizeInBytes, long rowCount, RowType rowType) {
+        int end = position + sizeInBytes;
+        if (sizeInBytes < VERSION_LENGTH + FIELD_COUNT_LENGTH
+                || segment.get(position) != STATISTICS_VERSION_V0) {
+            return null;
+        }
+        int offset = position + VERSION_LENGTH;
+        int fieldCount = segment.getInt(offset);
+        offset += FIELD_COUNT_LENGTH;
+        if (fieldCount != rowType.getFieldCount()) {
+            return null;
+        }
+
+        Long[] nullCounts = new Long[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            int nullCount = segment.getInt(offset);
+            nullCounts[i] = nullCount == NOT_COLLECTED_NULL_COUNT ? null : (long) nullCount;
+            offset += NULL_COUNT_LENGTH;
+        }
+
+        DataType[] fieldTypes = statisticsFieldTypes(rowType);
+        IndexedRow minValues = new IndexedRow(fieldTypes);
+        int minValuesLength = segment.getInt(offset);
+        offset += VALUES_LENGTH_LENGTH;
+        minValues.pointTo(segment, offset, minValuesLength);
+        offset += minValuesLength;
+
+        IndexedRow maxValues = new IndexedRow(fieldTypes);
+        int maxValuesLength = segment.getInt(offset);
+        offset += VALUES_LENGTH_LENGTH;
+        maxValues.pointTo(segment, offset, maxValuesLength);
+        offset += maxValuesLength;
+
+        if (offset != end) {
+            return null;
+        }
+        return new LogRecordBatchStatistics(rowCount, minValues, maxValues, nullCounts);
+    }
+
+    /** The field types of the min/max values rows, all the fields are nullable. */
+    static DataType[] statisticsFieldTypes(RowType rowType) {
+        DataType[] fieldTypes = new DataType[rowType.getFieldCount()];
+        for (int i = 0; i < fieldTypes.length; i++) {
+            fieldTypes[i] = rowType.getTypeAt(i).copy(true);
+        }
+        return fieldTypes;
+    }
+
+    @Override
+    public String toString() {
+        return "LogRecordBatchStatistics{"
+                + "rowCount="
+                + rowCount
+                + ", nullCounts="
+                + Arrays.toString(nullCounts)
+                + '}';
+    }
+}
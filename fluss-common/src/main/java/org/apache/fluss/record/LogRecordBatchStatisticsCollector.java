@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.memory.AbstractPagedOutputView;
+import org.apache.fluss.predicate.CompareUtils;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.row.Decimal;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.encode.IndexedRowEncoder;
+import org.apache.fluss.row.indexed.IndexedRow;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.types.RowType;
+
+import java.io.IOException;
+
+import static org.apache.fluss.record.LogRecordBatchStatistics.FIELD_COUNT_LENGTH;
+import static org.apache.fluss.record.LogRecordBatchStatistics.NOT_COLLECTED_NULL_COUNT;
+import static org.apache.fluss.record.LogRecordBatchStatistics.NULL_COUNT_LENGTH;
+import static org.apache.fluss.record.LogRecordBatchStatistics.STATISTICS_VERSION_V0;
+import static org.apache.fluss.record.LogRecordBatchStatistics.VALUES_LENGTH_LENGTH;
+import static org.apache.fluss.record.LogRecordBatchStatistics.VERSION_LENGTH;
+import static org.apache.fluss.record.LogRecordBatchStatistics.statisticsFieldTypes;
+
+/**
+ * Collects the {@link LogRecordBatchStatistics} of the records appended to a log record batch and
+ * serializes them into the trailer of the batch.
+ *
+ * <p>Only the types which can be compared by {@link CompareUtils} are collected. The min/max values
+ * of a string field are dropped for the whole batch once a value longer than {@link
+ * #MAX_STRING_STATISTICS_BYTES} is seen, to keep the trailer small.
+ */
+@Internal
+public class LogRecordBatchStatisticsCollector {
+
+    /** The max size in bytes of a string value to be kept as min/max statistics. */
+    static final int MAX_STRING_STATISTICS_BYTES = 256;
+
+    /**
+     * The estimated size of a non-string min/max value (including its length if it is variable
+     * sized) used for the estimated statistics size.
+     */
+    private static final int ESTIMATED_VALUE_SIZE = 16;
+
+    /** The estimated size of the length of a string min/max value. */
+    private static final int ESTIMATED_STRING_LENGTH_SIZE = 4;
+
+    private final DataType[] fieldTypes;
+    /** The field getters of the collected fields, null if the field is not collected. */
+    private final InternalRow.FieldGetter[] fieldGetters;
+
+    private final Object[] minValues;
+    private final Object[] maxValues;
+    private final int[] nullCounts;
+    private final boolean[] minMaxDropped;
+    private final IndexedRowEncoder encoder;
+
+    public LogRecordBatchStatisticsCollector(RowType rowType) {
+        this.fieldTypes = statisticsFieldTypes(rowType);
+        int fieldCount = fieldTypes.length;
+        this.fieldGetters = new InternalRow.FieldGetter[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            if (isSupportedType(fieldTypes[i])) {
+                fieldGetters[i] = InternalRow.createFieldGetter(fieldTypes[i], i);
+            }
+        }
+        this.minValues = new Object[fieldCount];
+        this.maxValues = new Object[fieldCount];
+        this.nullCounts = new int[fieldCount];
+        this.minMaxDropped = new boolean[fieldCount];
+        this.encoder = new IndexedRowEncoder(fieldTypes);
+    }
+
+    /** Updates the statistics with the given row. */
+    public void update(InternalRow row) {
+        for (int i = 0; i < fieldGetters.length; i++) {
+            InternalRow.FieldGetter fieldGetter = fieldGetters[i];
+            if (fieldGetter == null) {
+                continue;
+            }
+            Object value = fieldGetter.getFieldOrNull(row);
+            if (value == null) {
+                nullCounts[i]++;
+                continue;
+            }
+            if (minMaxDropped[i]) {
+                continue;
+            }
+            if (value instanceof BinaryString
+                    && ((BinaryString) value).getSizeInBytes() > MAX_STRING_STATISTICS_BYTES) {
+                minMaxDropped[i] = true;
+                minValues[i] = null;
+                maxValues[i] = null;
+                continue;
+            }
+
+            DataType type = fieldTypes[i];
+            if (minValues[i] == null
+                    || CompareUtils.compareLiteral(type, value, minValues[i]) < 0) {
+                minValues[i] = copyValue(value);
+            }
+            if (maxValues[i] == null
+                    || CompareUtils.compareLiteral(type, value, maxValues[i]) > 0) {
+                maxValues[i] = copyValue(value);
+            }
+        }
+    }
+
+    /** Returns the estimated size in bytes of the serialized statistics (including the trailer). */
+    public int estimatedSizeInBytes() {
+        int fieldCount = fieldTypes.length;
+        // the null bits of the encoded min and max rows
+        int nullBitsSize = (fieldCount + 7) / 8;
+        return VERSION_LENGTH
+                + FIELD_COUNT_LENGTH
+                + fieldCount * NULL_COUNT_LENGTH
+                + 2 * (VALUES_LENGTH_LENGTH + nullBitsSize)
+                + estimatedValuesSize(minValues)
+                + estimatedValuesSize(maxValues)
+                + LogRecordBatchFormat.STATISTICS_LENGTH_LENGTH;
+    }
+
+    private static int estimatedValuesSize(Object[] values) {
+        int size = 0;
+        for (Object value : values) {
+            if (value instanceof BinaryString) {
+                size += ESTIMATED_STRING_LENGTH_SIZE + ((BinaryString) value).getSizeInBytes();
+            } else {
+                size += ESTIMATED_VALUE_SIZE;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Serializes the statistics and the length trailer to the given output view.
+     *
+     * @return the number of written bytes, including the length trailer.
+     */
+    public int writeTo(AbstractPagedOutputView outputView) throws IOException {
+        int fieldCount = fieldTypes.length;
+        IndexedRow minRow = encodeValues(minValues);
+        int minRowSize = minRow.getSizeInBytes();
+        int statisticsSize =
+                VERSION_LENGTH
+                        + FIELD_COUNT_LENGTH
+                        + fieldCount * NULL_COUNT_LENGTH
+                        + VALUES_LENGTH_LENGTH
+                        + minRowSize;
+
+        outputView.writeByte(STATISTICS_VERSION_V0);
+        outputView.writeInt(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            outputView.writeInt(fieldGetters[i] == null ? NOT_COLLECTED_NULL_COUNT : nullCounts[i]);
+        }
+        outputView.writeInt(minRowSize);
+        outputView.write(minRow.getSegment(), minRow.getOffset(), minRowSize);
+
+        // the encoder reuses its buffer, so the max row can only be encoded after the min row
+        // has been written out
+        IndexedRow maxRow = encodeValues(maxValues);
+        int maxRowSize = maxRow.getSizeInBytes();
+        outputView.writeInt(maxRowSize);
+        outputView.write(maxRow.getSegment(), maxRow.getOffset(), maxRowSize);
+        statisticsSize += VALUES_LENGTH_LENGTH + maxRowSize;
+
+        outputView.writeInt(statisticsSize);
+        return statisticsSize + LogRecordBatchFormat.STATISTICS_LENGTH_LENGTH;
+    }
+
+    private IndexedRow encodeValues(Object[] values) {
+        encoder.startNewRow();
+        for (int i = 0; i < values.length; i++) {
+            encoder.encodeField(i, values[i]);
+        }
+        return encoder.finishRow();
+    }
+
+    private static Object copyValue(Object value) {
+        // binary based values may point to reused memory of the input row
+        if (value instanceof BinaryString) {
+            return ((BinaryString) value).copy();
+        } else if (value instanceof Decimal) {
+            return ((Decimal) value).copy();
+        } else {
+            return value;
+        }
+    }
+
+    private static boolean isSupportedType(DataType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+            case DECIMAL:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case CHAR:
+            case STRING:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
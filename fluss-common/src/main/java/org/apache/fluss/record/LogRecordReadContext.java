@@ -56,6 +56,7 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
     // the Arrow memory buffer allocator for the table, should be null if not ARROW log format
     @Nullable private final BufferAllocator bufferAllocator;
     // the final selected fields of the read data
+    private final int[] selectedFields;
     private final FieldGetter[] selectedFieldGetters;
     // whether the projection is push downed to the server side and the returned data is pruned.
     private final boolean projectionPushDowned;
@@ -102,7 +103,7 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
             return createIndexedReadContext(rowType, schemaId, selectedFields, schemaGetter);
         } else if (logFormat == LogFormat.COMPACTED) {
             int[] selectedFields = projection.getProjection();
-            return createCompactedRowReadContext(rowType, schemaId, selectedFields);
+            return createCompactedRowReadContext(rowType, schemaId, selectedFields, schemaGetter);
         } else {
             throw new IllegalArgumentException("Unsupported log format: " + logFormat);
         }
@@ -116,13 +117,12 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
             SchemaGetter schemaGetter) {
         // TODO: use a more reasonable memory limit
         BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
-        FieldGetter[] fieldGetters = buildProjectedFieldGetters(dataRowType, selectedFields);
         return new LogRecordReadContext(
                 LogFormat.ARROW,
                 dataRowType,
                 schemaId,
                 allocator,
-                fieldGetters,
+                selectedFields,
                 projectionPushDowned,
                 schemaGetter);
     }
@@ -167,11 +167,17 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
         return createIndexedReadContext(rowType, schemaId, selectedFields, schemaGetter);
     }
 
-    /** Creates a LogRecordReadContext for COMPACTED log format. */
+    /**
+     * Creates a LogRecordReadContext for COMPACTED log format.
+     *
+     * @param rowType the schema of the table
+     * @param schemaId the schemaId of the table
+     * @param schemaGetter the schema getter of to get schema by schemaId
+     */
     public static LogRecordReadContext createCompactedRowReadContext(
-            RowType rowType, int schemaId) {
+            RowType rowType, int schemaId, SchemaGetter schemaGetter) {
         int[] selectedFields = IntStream.range(0, rowType.getFieldCount()).toArray();
-        return createCompactedRowReadContext(rowType, schemaId, selectedFields);
+        return createCompactedRowReadContext(rowType, schemaId, selectedFields, schemaGetter);
     }
 
     /**
@@ -184,10 +190,9 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
      */
     public static LogRecordReadContext createIndexedReadContext(
             RowType rowType, int schemaId, int[] selectedFields, SchemaGetter schemaGetter) {
-        FieldGetter[] fieldGetters = buildProjectedFieldGetters(rowType, selectedFields);
         // for INDEXED log format, the projection is NEVER push downed to the server side
         return new LogRecordReadContext(
-                LogFormat.INDEXED, rowType, schemaId, null, fieldGetters, false, schemaGetter);
+                LogFormat.INDEXED, rowType, schemaId, null, selectedFields, false, schemaGetter);
     }
 
     /**
@@ -196,13 +201,13 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
      * @param rowType the schema of the read data
      * @param schemaId the schemaId of the table
      * @param selectedFields the final selected fields of the read data
+     * @param schemaGetter the schema getter of to get schema by schemaId
      */
     public static LogRecordReadContext createCompactedRowReadContext(
-            RowType rowType, int schemaId, int[] selectedFields) {
-        FieldGetter[] fieldGetters = buildProjectedFieldGetters(rowType, selectedFields);
+            RowType rowType, int schemaId, int[] selectedFields, SchemaGetter schemaGetter) {
         // for COMPACTED log format, the projection is NEVER push downed to the server side
         return new LogRecordReadContext(
-                LogFormat.COMPACTED, rowType, schemaId, null, fieldGetters, false, null);
+                LogFormat.COMPACTED, rowType, schemaId, null, selectedFields, false, schemaGetter);
     }
 
     private LogRecordReadContext(
@@ -210,14 +215,15 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
             RowType targetDataRowType,
             int targetSchemaId,
             BufferAllocator bufferAllocator,
-            FieldGetter[] selectedFieldGetters,
+            int[] selectedFields,
             boolean projectionPushDowned,
             SchemaGetter schemaGetter) {
         this.logFormat = logFormat;
         this.dataRowType = targetDataRowType;
         this.targetSchemaId = targetSchemaId;
         this.bufferAllocator = bufferAllocator;
-        this.selectedFieldGetters = selectedFieldGetters;
+        this.selectedFields = selectedFields;
+        this.selectedFieldGetters = buildProjectedFieldGetters(targetDataRowType, selectedFields);
         this.projectionPushDowned = projectionPushDowned;
         this.schemaGetter = schemaGetter;
     }
@@ -237,6 +243,11 @@ public class LogRecordReadContext implements LogRecordBatch.ReadContext, AutoClo
         return schema.getRowType();
     }
 
+    /** Get the indexes of the selected fields (in output order) in the read data. */
+    public int[] getSelectedFields() {
+        return selectedFields;
+    }
+
     /** Get the selected field getters for the read data. */
     public FieldGetter[] getSelectedFieldGetters() {
         return selectedFieldGetters;
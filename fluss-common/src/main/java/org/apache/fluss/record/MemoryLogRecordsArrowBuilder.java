@@ -27,12 +27,18 @@ import org.apache.fluss.row.InternalRow;
 import org.apache.fluss.row.arrow.ArrowWriter;
 import org.apache.fluss.utils.crc.Crc32C;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 
+import static org.apache.fluss.record.DefaultLogRecordBatch.APPEND_ONLY_FLAG_MASK;
+import static org.apache.fluss.record.DefaultLogRecordBatch.DICTIONARY_FLAG_MASK;
+import static org.apache.fluss.record.DefaultLogRecordBatch.STATISTICS_FLAG_MASK;
 import static org.apache.fluss.record.LogRecordBatch.CURRENT_LOG_MAGIC_VALUE;
 import static org.apache.fluss.record.LogRecordBatchFormat.BASE_OFFSET_LENGTH;
 import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_LENGTH;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
 import static org.apache.fluss.record.LogRecordBatchFormat.NO_BATCH_SEQUENCE;
 import static org.apache.fluss.record.LogRecordBatchFormat.NO_LEADER_EPOCH;
 import static org.apache.fluss.record.LogRecordBatchFormat.NO_WRITER_ID;
@@ -56,6 +62,7 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
     private final MemorySegment firstSegment;
     private final AbstractPagedOutputView pagedOutputView;
     private final boolean appendOnly;
+    @Nullable private final LogRecordBatchStatisticsCollector statisticsCollector;
 
     private volatile MultiBytesView bytesView = null;
 
@@ -67,6 +74,8 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
     private boolean reCalculateSizeInBytes = false;
     private boolean resetBatchHeader = false;
     private boolean aborted = false;
+    private boolean hasStatistics = false;
+    private boolean dictionaryEncoded = false;
 
     private MemoryLogRecordsArrowBuilder(
             long baseLogOffset,
@@ -74,8 +83,16 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
             byte magic,
             ArrowWriter arrowWriter,
             AbstractPagedOutputView pagedOutputView,
-            boolean appendOnly) {
+            boolean appendOnly,
+            boolean statisticsEnabled) {
         this.appendOnly = appendOnly;
+        checkArgument(
+                !statisticsEnabled || magic >= LOG_MAGIC_VALUE_V2,
+                "The statistics can only be written into batches of magic v2, but is v" + magic);
+        checkArgument(
+                !arrowWriter.hasDictionaryEncodedFields() || magic >= LOG_MAGIC_VALUE_V2,
+                "The dictionary encoded columns can only be written into batches of magic v2, but is v"
+                        + magic);
         checkArgument(
                 schemaId <= Short.MAX_VALUE,
                 "schemaId shouldn't be greater than the max value of short: " + Short.MAX_VALUE);
@@ -100,6 +117,10 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         this.changeTypeWriter = new ChangeTypeVectorWriter(firstSegment, arrowChangeTypeOffset);
         this.estimatedSizeInBytes = recordBatchHeaderSize(magic);
         this.recordCount = 0;
+        this.statisticsCollector =
+                statisticsEnabled
+                        ? new LogRecordBatchStatisticsCollector(arrowWriter.getSchema())
+                        : null;
     }
 
     @VisibleForTesting
@@ -110,7 +131,7 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
             ArrowWriter arrowWriter,
             AbstractPagedOutputView outputView) {
         return new MemoryLogRecordsArrowBuilder(
-                baseLogOffset, schemaId, magic, arrowWriter, outputView, false);
+                baseLogOffset, schemaId, magic, arrowWriter, outputView, false, false);
     }
 
     /** Builder with limited write size and the memory segment used to serialize records. */
@@ -119,13 +140,32 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
             ArrowWriter arrowWriter,
             AbstractPagedOutputView outputView,
             boolean appendOnly) {
+        return builder(schemaId, arrowWriter, outputView, appendOnly, false);
+    }
+
+    /**
+     * Builder with limited write size and the memory segment used to serialize records. If {@code
+     * statisticsEnabled} is true, the per-column statistics of the records are written into the
+     * trailer of the batch, see {@link LogRecordBatchStatistics}. Such a batch is written in {@link
+     * LogRecordBatchFormat#LOG_MAGIC_VALUE_V2}, which can't be read by clients of older versions.
+     * So are the batches written by an {@link ArrowWriter} with dictionary encoded columns.
+     */
+    public static MemoryLogRecordsArrowBuilder builder(
+            int schemaId,
+            ArrowWriter arrowWriter,
+            AbstractPagedOutputView outputView,
+            boolean appendOnly,
+            boolean statisticsEnabled) {
         return new MemoryLogRecordsArrowBuilder(
                 BUILDER_DEFAULT_OFFSET,
                 schemaId,
-                CURRENT_LOG_MAGIC_VALUE,
+                statisticsEnabled || arrowWriter.hasDictionaryEncodedFields()
+                        ? LOG_MAGIC_VALUE_V2
+                        : CURRENT_LOG_MAGIC_VALUE,
                 arrowWriter,
                 outputView,
-                appendOnly);
+                appendOnly,
+                statisticsEnabled);
     }
 
     public MultiBytesView build() throws IOException {
@@ -145,6 +185,12 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         arrowWriter.serializeToOutputView(
                 pagedOutputView, arrowChangeTypeOffset(magic) + changeTypeWriter.sizeInBytes());
         recordCount = arrowWriter.getRecordsCount();
+        dictionaryEncoded = arrowWriter.isDictionaryEncoded();
+        if (statisticsCollector != null && recordCount > 0) {
+            // the statistics trailer follows the arrow batch
+            statisticsCollector.writeTo(pagedOutputView);
+            hasStatistics = true;
+        }
         bytesView =
                 MultiBytesView.builder()
                         .addMemorySegmentByteViewList(pagedOutputView.getWrittenSegments())
@@ -155,8 +201,11 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         return bytesView;
     }
 
-    /** Check if the builder is full. */
+    /** Check if the builder is full, where the statistics trailer is counted in the batch size. */
     public boolean isFull() {
+        if (statisticsCollector != null) {
+            return arrowWriter.isFull(statisticsCollector.estimatedSizeInBytes());
+        }
         return arrowWriter.isFull();
     }
 
@@ -181,6 +230,9 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         }
 
         arrowWriter.writeRow(row);
+        if (statisticsCollector != null) {
+            statisticsCollector.update(row);
+        }
         if (!appendOnly) {
             changeTypeWriter.writeChangeType(changeType);
         }
@@ -244,6 +296,9 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
                     arrowChangeTypeOffset(magic)
                             + changeTypeWriter.sizeInBytes()
                             + arrowWriter.estimatedSizeInBytes();
+            if (statisticsCollector != null) {
+                estimatedSizeInBytes += statisticsCollector.estimatedSizeInBytes();
+            }
         }
 
         reCalculateSizeInBytes = false;
@@ -273,8 +328,8 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         outputView.writeUnsignedInt(0);
         // write schema id
         outputView.writeShort((short) schemaId);
-        // write attributes (currently only appendOnly flag)
-        outputView.writeBoolean(appendOnly);
+        // write attributes (appendOnly flag, statistics flag and dictionary flag)
+        outputView.writeByte(computeAttributes());
         // write lastOffsetDelta
         if (recordCount > 0) {
             outputView.writeInt(recordCount - 1);
@@ -293,6 +348,20 @@ public class MemoryLogRecordsArrowBuilder implements AutoCloseable {
         outputView.writeUnsignedInt(crc);
     }
 
+    private byte computeAttributes() {
+        byte attributes = 0;
+        if (appendOnly) {
+            attributes |= APPEND_ONLY_FLAG_MASK;
+        }
+        if (hasStatistics) {
+            attributes |= STATISTICS_FLAG_MASK;
+        }
+        if (dictionaryEncoded) {
+            attributes |= DICTIONARY_FLAG_MASK;
+        }
+        return attributes;
+    }
+
     @VisibleForTesting
     int getWriteLimitInBytes() {
         return arrowWriter.getWriteLimitInBytes();
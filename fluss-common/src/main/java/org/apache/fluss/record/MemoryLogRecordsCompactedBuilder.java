@@ -18,14 +18,13 @@
 package org.apache.fluss.record;
 
 import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.compression.RowCompressionInfo;
 import org.apache.fluss.memory.AbstractPagedOutputView;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.row.compacted.CompactedRow;
 
 import java.io.IOException;
 
-import static org.apache.fluss.record.LogRecordBatch.CURRENT_LOG_MAGIC_VALUE;
-
 /**
  * Default builder for {@link MemoryLogRecords} of log records in {@link LogFormat#COMPACTED}
  * format.
@@ -38,19 +37,38 @@ public class MemoryLogRecordsCompactedBuilder extends MemoryLogRecordsRowBuilder
             int writeLimit,
             byte magic,
             AbstractPagedOutputView pagedOutputView,
-            boolean appendOnly) {
-        super(baseLogOffset, schemaId, writeLimit, magic, pagedOutputView, appendOnly);
+            boolean appendOnly,
+            RowCompressionInfo compressionInfo) {
+        super(
+                baseLogOffset,
+                schemaId,
+                writeLimit,
+                magic,
+                pagedOutputView,
+                appendOnly,
+                compressionInfo);
     }
 
     public static MemoryLogRecordsCompactedBuilder builder(
             int schemaId, int writeLimit, AbstractPagedOutputView outputView, boolean appendOnly) {
+        return builder(
+                schemaId, writeLimit, outputView, appendOnly, RowCompressionInfo.NO_COMPRESSION);
+    }
+
+    public static MemoryLogRecordsCompactedBuilder builder(
+            int schemaId,
+            int writeLimit,
+            AbstractPagedOutputView outputView,
+            boolean appendOnly,
+            RowCompressionInfo compressionInfo) {
         return new MemoryLogRecordsCompactedBuilder(
                 BUILDER_DEFAULT_OFFSET,
                 schemaId,
                 writeLimit,
-                CURRENT_LOG_MAGIC_VALUE,
+                logMagic(compressionInfo),
                 outputView,
-                appendOnly);
+                appendOnly,
+                compressionInfo);
     }
 
     @VisibleForTesting
@@ -62,7 +80,13 @@ public class MemoryLogRecordsCompactedBuilder extends MemoryLogRecordsRowBuilder
             AbstractPagedOutputView outputView)
             throws IOException {
         return new MemoryLogRecordsCompactedBuilder(
-                baseLogOffset, schemaId, writeLimit, magic, outputView, false);
+                baseLogOffset,
+                schemaId,
+                writeLimit,
+                magic,
+                outputView,
+                false,
+                RowCompressionInfo.NO_COMPRESSION);
     }
 
     @Override
@@ -18,13 +18,12 @@
 package org.apache.fluss.record;
 
 import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.compression.RowCompressionInfo;
 import org.apache.fluss.memory.AbstractPagedOutputView;
 import org.apache.fluss.row.indexed.IndexedRow;
 
 import java.io.IOException;
 
-import static org.apache.fluss.record.LogRecordBatch.CURRENT_LOG_MAGIC_VALUE;
-
 /**
  * Default builder for {@link MemoryLogRecords} of log records in {@link
  * org.apache.fluss.metadata.LogFormat#INDEXED} format.
@@ -37,19 +36,38 @@ public class MemoryLogRecordsIndexedBuilder extends MemoryLogRecordsRowBuilder<I
             int writeLimit,
             byte magic,
             AbstractPagedOutputView pagedOutputView,
-            boolean appendOnly) {
-        super(baseLogOffset, schemaId, writeLimit, magic, pagedOutputView, appendOnly);
+            boolean appendOnly,
+            RowCompressionInfo compressionInfo) {
+        super(
+                baseLogOffset,
+                schemaId,
+                writeLimit,
+                magic,
+                pagedOutputView,
+                appendOnly,
+                compressionInfo);
     }
 
     public static MemoryLogRecordsIndexedBuilder builder(
             int schemaId, int writeLimit, AbstractPagedOutputView outputView, boolean appendOnly) {
+        return builder(
+                schemaId, writeLimit, outputView, appendOnly, RowCompressionInfo.NO_COMPRESSION);
+    }
+
+    public static MemoryLogRecordsIndexedBuilder builder(
+            int schemaId,
+            int writeLimit,
+            AbstractPagedOutputView outputView,
+            boolean appendOnly,
+            RowCompressionInfo compressionInfo) {
         return new MemoryLogRecordsIndexedBuilder(
                 BUILDER_DEFAULT_OFFSET,
                 schemaId,
                 writeLimit,
-                CURRENT_LOG_MAGIC_VALUE,
+                logMagic(compressionInfo),
                 outputView,
-                appendOnly);
+                appendOnly,
+                compressionInfo);
     }
 
     @VisibleForTesting
@@ -61,7 +79,13 @@ public class MemoryLogRecordsIndexedBuilder extends MemoryLogRecordsRowBuilder<I
             AbstractPagedOutputView outputView)
             throws IOException {
         return new MemoryLogRecordsIndexedBuilder(
-                baseLogOffset, schemaId, writeLimit, magic, outputView, false);
+                baseLogOffset,
+                schemaId,
+                writeLimit,
+                magic,
+                outputView,
+                false,
+                RowCompressionInfo.NO_COMPRESSION);
     }
 
     @Override
@@ -17,18 +17,31 @@
 
 package org.apache.fluss.record;
 
+import org.apache.fluss.compression.RowCompressionInfo;
+import org.apache.fluss.compression.RowCompressionType;
 import org.apache.fluss.memory.AbstractPagedOutputView;
 import org.apache.fluss.memory.MemorySegment;
 import org.apache.fluss.memory.MemorySegmentOutputView;
 import org.apache.fluss.record.bytesview.BytesView;
+import org.apache.fluss.record.bytesview.MemorySegmentBytesView;
 import org.apache.fluss.record.bytesview.MultiBytesView;
 import org.apache.fluss.utils.crc.Crc32C;
 
+import javax.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
 
+import static org.apache.fluss.record.DefaultLogRecordBatch.APPEND_ONLY_FLAG_MASK;
+import static org.apache.fluss.record.DefaultLogRecordBatch.COMPRESSION_TYPE_SHIFT;
+import static org.apache.fluss.record.LogRecordBatch.CURRENT_LOG_MAGIC_VALUE;
 import static org.apache.fluss.record.LogRecordBatchFormat.BASE_OFFSET_LENGTH;
 import static org.apache.fluss.record.LogRecordBatchFormat.LENGTH_LENGTH;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
 import static org.apache.fluss.record.LogRecordBatchFormat.NO_BATCH_SEQUENCE;
 import static org.apache.fluss.record.LogRecordBatchFormat.NO_LEADER_EPOCH;
 import static org.apache.fluss.record.LogRecordBatchFormat.NO_WRITER_ID;
@@ -41,6 +54,7 @@ import static org.apache.fluss.utils.Preconditions.checkArgument;
 /** Abstract base builder for row-based MemoryLogRecords builders sharing common logic. */
 public abstract class MemoryLogRecordsRowBuilder<T> implements AutoCloseable {
     protected static final int BUILDER_DEFAULT_OFFSET = 0;
+    private static final int COPY_BUFFER_SIZE = 8 * 1024;
 
     protected final long baseLogOffset;
     protected final int schemaId;
@@ -50,8 +64,16 @@ public abstract class MemoryLogRecordsRowBuilder<T> implements AutoCloseable {
     protected final AbstractPagedOutputView pagedOutputView;
     protected final MemorySegment firstSegment;
     protected final boolean appendOnly;
+    protected final RowCompressionInfo compressionInfo;
 
     private BytesView builtBuffer = null;
+
+    /**
+     * The compressed records of the batch, which is created when the batch is built. Null if the
+     * records are not compressed.
+     */
+    @Nullable private MemorySegmentBytesView compressedRecords = null;
+
     private long writerId;
     private int batchSequence;
     private int currentRecordNumber;
@@ -65,11 +87,18 @@ public abstract class MemoryLogRecordsRowBuilder<T> implements AutoCloseable {
             int writeLimit,
             byte magic,
             AbstractPagedOutputView pagedOutputView,
-            boolean appendOnly) {
+            boolean appendOnly,
+            RowCompressionInfo compressionInfo) {
         this.appendOnly = appendOnly;
         checkArgument(
                 schemaId <= Short.MAX_VALUE,
                 "schemaId shouldn't be greater than the max value of short: " + Short.MAX_VALUE);
+        checkArgument(
+                compressionInfo.getCompressionType() == RowCompressionType.NONE
+                        || magic >= LOG_MAGIC_VALUE_V2,
+                "The compressed records can only be written into batches of magic v2, but is v"
+                        + magic);
+        this.compressionInfo = compressionInfo;
         this.baseLogOffset = baseLogOffset;
         this.schemaId = schemaId;
         this.writeLimit = writeLimit;
@@ -87,7 +116,20 @@ public abstract class MemoryLogRecordsRowBuilder<T> implements AutoCloseable {
         this.sizeInBytes = headerSize;
     }
 
-    /** Implement to return size of the record (including length field). */
+    /**
+     * Returns the magic of the batches written with the given compression, the batches with
+     * compressed records are written in {@link LogRecordBatchFormat#LOG_MAGIC_VALUE_V2}.
+     */
+    protected static byte logMagic(RowCompressionInfo compressionInfo) {
+        return compressionInfo.getCompressionType() == RowCompressionType.NONE
+                ? CURRENT_LOG_MAGIC_VALUE
+                : LOG_MAGIC_VALUE_V2;
+    }
+
+    /**
+     * Implement to return size of the record (including length field). For compressed batches, it's
+     * the size before compression, so the batch size is limited by the uncompressed records.
+     */
     protected abstract int sizeOf(T row);
 
     /** Implement to write the record and return total written bytes including length field. */
@@ -130,11 +172,14 @@ public abstract class MemoryLogRecordsRowBuilder<T> implements AutoCloseable {
         if (builtBuffer != null) {
             return builtBuffer;
         }
+        if (compressedRecords == null
+                && compressionInfo.getCompressionType() != RowCompressionType.NONE
+                && currentRecordNumber > 0) {
+            compressedRecords = compressRecords();
+            sizeInBytes = recordBatchHeaderSize(magic) + compressedRecords.getBytesLength();
+        }
         writeBatchHeader();
-        builtBuffer =
-                MultiBytesView.builder()
-                        .addMemorySegmentByteViewList(pagedOutputView.getWrittenSegments())
-                        .build();
+        builtBuffer = MultiBytesView.builder().addMemorySegmentByteViewList(batchBytes()).build();
         return builtBuffer;
     }
 
@@ -204,8 +249,13 @@ public abstract class MemoryLogRecordsRowBuilder<T> implements AutoCloseable {
         outputView.writeUnsignedInt(0);
 
         outputView.writeShort((short) schemaId);
-        // write attributes (currently only appendOnly flag)
-        outputView.writeBoolean(appendOnly);
+        // write attributes (appendOnly flag and compression type)
+        byte attributes = appendOnly ? APPEND_ONLY_FLAG_MASK : 0;
+        if (compressedRecords != null) {
+            attributes |=
+                    (byte) (compressionInfo.getCompressionType().getId() << COMPRESSION_TYPE_SHIFT);
+        }
+        outputView.writeByte(attributes);
         // skip write attribute byte for now.
         outputView.setPosition(lastOffsetDeltaOffset(magic));
         if (currentRecordNumber > 0) {
@@ -220,8 +270,48 @@ public abstract class MemoryLogRecordsRowBuilder<T> implements AutoCloseable {
         outputView.writeInt(currentRecordNumber);
 
         // Update crc.
-        long crc = Crc32C.compute(pagedOutputView.getWrittenSegments(), schemaIdOffset(magic));
+        long crc = Crc32C.compute(batchBytes(), schemaIdOffset(magic));
         outputView.setPosition(crcOffset(magic));
         outputView.writeUnsignedInt(crc);
     }
+
+    /** Returns the bytes of the batch, the header is followed by the (compressed) records. */
+    private List<MemorySegmentBytesView> batchBytes() {
+        if (compressedRecords == null) {
+            return pagedOutputView.getWrittenSegments();
+        } else {
+            return Arrays.asList(
+                    new MemorySegmentBytesView(firstSegment, 0, recordBatchHeaderSize(magic)),
+                    compressedRecords);
+        }
+    }
+
+    /**
+     * Compresses the records written to the paged output view. The records are streamed into the
+     * compressor segment by segment, only the compressed records are copied to heap.
+     */
+    private MemorySegmentBytesView compressRecords() throws IOException {
+        int headerSize = recordBatchHeaderSize(magic);
+        ByteArrayOutputStream compressed =
+                new ByteArrayOutputStream((sizeInBytes - headerSize) / 2);
+        byte[] buffer = new byte[Math.min(pagedOutputView.getPageSize(), COPY_BUFFER_SIZE)];
+        try (OutputStream out = compressionInfo.createCompressionStream(compressed)) {
+            int skipBytes = headerSize;
+            for (MemorySegmentBytesView bytesView : pagedOutputView.getWrittenSegments()) {
+                MemorySegment segment = bytesView.getMemorySegment();
+                int position = bytesView.getPosition() + skipBytes;
+                int remaining = bytesView.getBytesLength() - skipBytes;
+                skipBytes = 0;
+                while (remaining > 0) {
+                    int length = Math.min(remaining, buffer.length);
+                    segment.get(position, buffer, 0, length);
+                    out.write(buffer, 0, length);
+                    position += length;
+                    remaining -= length;
+                }
+            }
+        }
+        byte[] bytes = compressed.toByteArray();
+        return new MemorySegmentBytesView(MemorySegment.wrap(bytes), 0, bytes.length);
+    }
 }
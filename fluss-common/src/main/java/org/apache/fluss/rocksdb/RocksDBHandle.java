@@ -43,16 +43,42 @@ public class RocksDBHandle implements AutoCloseable {
 
     private ColumnFamilyHandle defaultColumnFamilyHandle;
 
+    /** The handles of the column families besides the default one, in the order of the names. */
+    private List<ColumnFamilyHandle> columnFamilyHandles = Collections.emptyList();
+
     private final ColumnFamilyOptions defaultColumnFamilyOptions;
 
+    /** The names of the column families besides the default one. */
+    private final List<byte[]> columnFamilyNames;
+
     public RocksDBHandle(
             File instanceRocksDBPath,
             DBOptions dbOptions,
             ColumnFamilyOptions defaultColumnFamilyOptions,
             boolean isReadOnly) {
+        this(
+                instanceRocksDBPath,
+                dbOptions,
+                defaultColumnFamilyOptions,
+                Collections.emptyList(),
+                isReadOnly);
+    }
+
+    /**
+     * Creates the handle to open the RocksDB with the given column families besides the default
+     * one. The column families use the same options as the default column family, and are created
+     * if missing.
+     */
+    public RocksDBHandle(
+            File instanceRocksDBPath,
+            DBOptions dbOptions,
+            ColumnFamilyOptions defaultColumnFamilyOptions,
+            List<byte[]> columnFamilyNames,
+            boolean isReadOnly) {
         this.dbPath = instanceRocksDBPath.getAbsolutePath();
         this.dbOptions = dbOptions;
         this.defaultColumnFamilyOptions = defaultColumnFamilyOptions;
+        this.columnFamilyNames = columnFamilyNames;
         this.isReadOnly = isReadOnly;
     }
 
@@ -68,17 +94,26 @@ public class RocksDBHandle implements AutoCloseable {
     }
 
     private void loadDb() throws IOException {
-        // we only have one column family, default column family
+        // the default column family is always the first one
         List<ColumnFamilyDescriptor> columnFamilyDescriptors =
-                Collections.singletonList(
-                        new ColumnFamilyDescriptor(
-                                RocksDB.DEFAULT_COLUMN_FAMILY, defaultColumnFamilyOptions));
-        List<ColumnFamilyHandle> defaultCfHandle = new ArrayList<>(1);
+                new ArrayList<>(columnFamilyNames.size() + 1);
+        columnFamilyDescriptors.add(
+                new ColumnFamilyDescriptor(
+                        RocksDB.DEFAULT_COLUMN_FAMILY, defaultColumnFamilyOptions));
+        for (byte[] columnFamilyName : columnFamilyNames) {
+            columnFamilyDescriptors.add(
+                    new ColumnFamilyDescriptor(columnFamilyName, defaultColumnFamilyOptions));
+        }
+        if (!columnFamilyNames.isEmpty() && !isReadOnly) {
+            dbOptions.setCreateMissingColumnFamilies(true);
+        }
+        List<ColumnFamilyHandle> cfHandles = new ArrayList<>(columnFamilyDescriptors.size());
         db =
                 RocksDBOperationUtils.openDB(
-                        dbPath, columnFamilyDescriptors, defaultCfHandle, dbOptions, isReadOnly);
+                        dbPath, columnFamilyDescriptors, cfHandles, dbOptions, isReadOnly);
         // remove the default column family which is located at the first index
-        defaultColumnFamilyHandle = defaultCfHandle.remove(0);
+        defaultColumnFamilyHandle = cfHandles.remove(0);
+        columnFamilyHandles = cfHandles;
     }
 
     public RocksDB getDb() {
@@ -89,9 +124,14 @@ public class RocksDBHandle implements AutoCloseable {
         return defaultColumnFamilyHandle;
     }
 
+    public List<ColumnFamilyHandle> getColumnFamilyHandles() {
+        return columnFamilyHandles;
+    }
+
     @Override
     public void close() {
         IOUtils.closeQuietly(defaultColumnFamilyHandle);
+        IOUtils.closeAllQuietly(columnFamilyHandles);
         IOUtils.closeQuietly(db);
         // Making sure the already created column family options will be closed
         IOUtils.closeQuietly(defaultColumnFamilyOptions);
@@ -19,11 +19,10 @@ package org.apache.fluss.row;
 
 import org.apache.fluss.annotation.PublicEvolving;
 import org.apache.fluss.metadata.Schema;
+import org.apache.fluss.utils.SchemaUtil;
 
 import java.util.Arrays;
 
-import static org.apache.fluss.utils.SchemaUtil.getIndexMapping;
-
 /**
  * An implementation of {@link InternalRow} which provides a projected view of the underlying {@link
  * InternalRow}.
@@ -55,6 +54,14 @@ public class ProjectedRow implements InternalRow {
         return this;
     }
 
+    /**
+     * Returns the index of the field of the underlying row for each field of this row, {@link
+     * #UNEXIST_MAPPING} if the field doesn't exist in the underlying row.
+     */
+    public int[] getIndexMapping() {
+        return indexMapping;
+    }
+
     // ---------------------------------------------------------------------------------------------
 
     @Override
@@ -190,7 +197,7 @@ public class ProjectedRow implements InternalRow {
     }
 
     public static ProjectedRow from(Schema originSchema, Schema expectedSchema) {
-        int[] indexMapping = getIndexMapping(originSchema, expectedSchema);
+        int[] indexMapping = SchemaUtil.getIndexMapping(originSchema, expectedSchema);
         return new ProjectedRow(indexMapping);
     }
 }
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.row.arrow;
+
+import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.util.ArrowBufPointer;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.FieldVector;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.IntVector;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.VarCharVector;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.VectorLoader;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.types.pojo.Field;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.types.pojo.FieldType;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * Dictionary encodes the {@code STRING} and {@code CHAR} columns written by {@link ArrowWriter},
+ * and decodes them when the Arrow batch is read.
+ *
+ * <p>The distinct values of a dictionary encoded column are written in an Arrow dictionary batch
+ * before the Arrow record batch, and the record batch only holds the int32 indices of the values in
+ * the dictionary. The id of the dictionary is the position of the column in the record batch, so a
+ * batch is self-describing and the columns can be encoded or not per batch.
+ */
+@Internal
+public final class ArrowDictionaryEncoder {
+
+    /** The type of the indices of the dictionary encoded columns. */
+    private static final ArrowType.Int INDEX_TYPE = new ArrowType.Int(32, true);
+
+    /** The estimated size of the metadata of a dictionary batch, with some padding. */
+    private static final int DICTIONARY_BATCH_OVERHEAD = 256;
+
+    private ArrowDictionaryEncoder() {}
+
+    /** Returns the field of the indices of the given dictionary encoded field. */
+    public static Field toIndexField(Field valueField, long dictionaryId) {
+        return new Field(
+                valueField.getName(),
+                new FieldType(
+                        valueField.isNullable(),
+                        INDEX_TYPE,
+                        new DictionaryEncoding(dictionaryId, false, INDEX_TYPE)),
+                null);
+    }
+
+    /**
+     * Dictionary encodes the values of the given vector, returns null if the encoded column isn't
+     * smaller than the plain column, e.g., most of the values are distinct.
+     */
+    @Nullable
+    static EncodedColumn encode(
+            VarCharVector vector, long dictionaryId, BufferAllocator allocator) {
+        int rowCount = vector.getValueCount();
+        Map<ArrowBufPointer, Integer> dictionaryIndices = new HashMap<>();
+        int[] indices = new int[rowCount];
+        // the first row of each distinct value, in the order of the dictionary
+        int[] dictionaryRows = new int[rowCount];
+        long plainBytes = 0;
+        long dictionaryBytes = 0;
+        ArrowBufPointer reusedPointer = new ArrowBufPointer();
+        for (int i = 0; i < rowCount; i++) {
+            if (vector.isNull(i)) {
+                indices[i] = -1;
+                continue;
+            }
+            vector.getDataPointer(i, reusedPointer);
+            plainBytes += reusedPointer.getLength();
+            Integer index = dictionaryIndices.get(reusedPointer);
+            if (index == null) {
+                index = dictionaryIndices.size();
+                dictionaryIndices.put(vector.getDataPointer(i), index);
+                dictionaryRows[index] = i;
+                dictionaryBytes += reusedPointer.getLength();
+            }
+            indices[i] = index;
+        }
+
+        int dictionarySize = dictionaryIndices.size();
+        // the validity buffers are the same in both encodings
+        long plainSize = plainBytes + 4L * (rowCount + 1);
+        long encodedSize =
+                dictionaryBytes
+                        + 4L * (dictionarySize + 1)
+                        + 4L * rowCount
+                        + DICTIONARY_BATCH_OVERHEAD;
+        if (encodedSize >= plainSize) {
+            return null;
+        }
+
+        VarCharVector dictionary = new VarCharVector(vector.getName(), allocator);
+        IntVector indexVector =
+                new IntVector(toIndexField(vector.getField(), dictionaryId), allocator);
+        try {
+            dictionary.allocateNew(dictionaryBytes, dictionarySize);
+            for (int i = 0; i < dictionarySize; i++) {
+                dictionary.copyFromSafe(dictionaryRows[i], i, vector);
+            }
+            dictionary.setValueCount(dictionarySize);
+            indexVector.allocateNew(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                if (indices[i] < 0) {
+                    indexVector.setNull(i);
+                } else {
+                    indexVector.set(i, indices[i]);
+                }
+            }
+            indexVector.setValueCount(rowCount);
+            return new EncodedColumn(dictionary, indexVector);
+        } catch (Throwable t) {
+            dictionary.close();
+            indexVector.close();
+            throw t;
+        }
+    }
+
+    /**
+     * Loads the given record batch whose columns are dictionary encoded by the given dictionaries
+     * into the vectors of the given root, the dictionary encoded columns are decoded into the plain
+     * vectors of the root.
+     */
+    public static void load(
+            ArrowRecordBatch recordBatch,
+            List<ArrowDictionaryBatch> dictionaries,
+            VectorSchemaRoot root,
+            BufferAllocator allocator,
+            CompressionCodec.Factory compressionFactory) {
+        List<Field> fields = new ArrayList<>(root.getSchema().getFields());
+        List<FieldVector> vectors = new ArrayList<>(root.getFieldVectors());
+        List<IntVector> indexVectors = new ArrayList<>(dictionaries.size());
+        try {
+            for (ArrowDictionaryBatch dictionary : dictionaries) {
+                long dictionaryId = dictionary.getDictionaryId();
+                checkArgument(
+                        dictionaryId >= 0
+                                && dictionaryId < vectors.size()
+                                && vectors.get((int) dictionaryId) instanceof VarCharVector,
+                        "Invalid dictionary id %s for the Arrow schema %s.",
+                        dictionaryId,
+                        root.getSchema());
+                int column = (int) dictionaryId;
+                IntVector indexVector =
+                        new IntVector(toIndexField(fields.get(column), dictionaryId), allocator);
+                indexVectors.add(indexVector);
+                fields.set(column, indexVector.getField());
+                vectors.set(column, indexVector);
+            }
+
+            // the plain columns are loaded into the vectors of the root directly
+            new VectorLoader(new VectorSchemaRoot(fields, vectors, 0), compressionFactory)
+                    .load(recordBatch);
+            for (int i = 0; i < dictionaries.size(); i++) {
+                ArrowDictionaryBatch dictionary = dictionaries.get(i);
+                int column = (int) dictionary.getDictionaryId();
+                VarCharVector target = (VarCharVector) root.getVector(column);
+                try (VarCharVector values = new VarCharVector(target.getName(), allocator)) {
+                    new VectorLoader(VectorSchemaRoot.of(values), compressionFactory)
+                            .load(dictionary.getDictionary());
+                    decode(indexVectors.get(i), values, target);
+                }
+            }
+            root.setRowCount(recordBatch.getLength());
+        } finally {
+            indexVectors.forEach(IntVector::close);
+        }
+    }
+
+    private static void decode(IntVector indices, VarCharVector dictionary, VarCharVector target) {
+        int rowCount = indices.getValueCount();
+        long dataBytes = 0;
+        for (int i = 0; i < rowCount; i++) {
+            if (!indices.isNull(i)) {
+                dataBytes += dictionary.getValueLength(indices.get(i));
+            }
+        }
+        target.allocateNew(dataBytes, rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            if (indices.isNull(i)) {
+                target.setNull(i);
+            } else {
+                target.copyFromSafe(indices.get(i), i, dictionary);
+            }
+        }
+        target.setValueCount(rowCount);
+    }
+
+    /** The dictionary and the indices of a dictionary encoded column. */
+    static final class EncodedColumn implements AutoCloseable {
+        final VarCharVector dictionary;
+        final IntVector indices;
+
+        private EncodedColumn(VarCharVector dictionary, IntVector indices) {
+            this.dictionary = dictionary;
+            this.indices = indices;
+        }
+
+        @Override
+        public void close() {
+            dictionary.close();
+            indices.close();
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.BaseVariableWidthVector;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.FieldVector;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.VarCharVector;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.VectorUnloader;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.complex.ListVector;
@@ -35,14 +36,19 @@ import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.compression.Compres
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.compression.CompressionUtil;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.WriteChannel;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowBlock;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.types.pojo.Field;
 import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.ArrowUtils;
 import org.apache.fluss.utils.PagedMemorySegmentWritableChannel;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import static org.apache.fluss.utils.Preconditions.checkArgument;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
 import static org.apache.fluss.utils.Preconditions.checkState;
 
@@ -50,6 +56,9 @@ import static org.apache.fluss.utils.Preconditions.checkState;
  * Writer which serializes the Fluss rows to Arrow record batches. The {@link ArrowWriter} is pooled
  * in {@link ArrowWriterPool}. See Javadoc of {@link VectorSchemaRoot} for more information about
  * pooling.
+ *
+ * <p>The given dictionary encoded fields are serialized as Arrow dictionary batches followed by the
+ * indices in the record batch if it makes the batch smaller, see {@link ArrowDictionaryEncoder}.
  */
 @Internal
 public class ArrowWriter implements AutoCloseable {
@@ -77,6 +86,9 @@ public class ArrowWriter implements AutoCloseable {
     /** Container that holds a set of vectors for the rows. */
     final VectorSchemaRoot root;
 
+    /** The row type of the rows written by this writer. */
+    private final RowType schema;
+
     /**
      * An array of writers which are responsible for the serialization of each column of the rows.
      */
@@ -94,11 +106,19 @@ public class ArrowWriter implements AutoCloseable {
     private final CompressionCodec compressionCodec;
     private final ArrowCompressionRatioEstimator compressionRatioEstimator;
 
+    /** The positions of the fields to be dictionary encoded. */
+    private final int[] dictionaryEncodedFields;
+
+    private final BufferAllocator allocator;
+
     private int writeLimitInBytes;
 
     private int estimatedMaxRecordsCount;
     private int recordsCount;
 
+    /** Whether any column of the last serialized batch is dictionary encoded. */
+    private boolean dictionaryEncoded;
+
     /** The latest estimated compression ratio for this ArrowWriter. */
     private float estimatedCompressionRatio;
 
@@ -112,9 +132,24 @@ public class ArrowWriter implements AutoCloseable {
             BufferAllocator allocator,
             ArrowWriterProvider provider,
             ArrowCompressionInfo compressionInfo,
-            ArrowCompressionRatioEstimator compressionRatioEstimator) {
+            ArrowCompressionRatioEstimator compressionRatioEstimator,
+            int[] dictionaryEncodedFields) {
         this.writerKey = writerKey;
+        this.schema = schema;
+        this.allocator = allocator;
         this.root = VectorSchemaRoot.create(ArrowUtils.toArrowSchema(schema), allocator);
+        for (int field : dictionaryEncodedFields) {
+            checkArgument(
+                    field >= 0
+                            && field < schema.getFieldCount()
+                            && root.getVector(field) instanceof VarCharVector,
+                    "Only STRING and CHAR fields can be dictionary encoded, but the field %s is %s.",
+                    field,
+                    field >= 0 && field < schema.getFieldCount()
+                            ? schema.getTypeAt(field)
+                            : "out of range");
+        }
+        this.dictionaryEncodedFields = dictionaryEncodedFields;
         this.provider = checkNotNull(provider);
         this.compressionCodec = compressionInfo.createCompressionCodec();
         this.compressionRatioEstimator = compressionRatioEstimator;
@@ -135,6 +170,10 @@ public class ArrowWriter implements AutoCloseable {
         }
     }
 
+    public RowType getSchema() {
+        return schema;
+    }
+
     public int getRecordsCount() {
         return recordsCount;
     }
@@ -143,20 +182,42 @@ public class ArrowWriter implements AutoCloseable {
         return writeLimitInBytes;
     }
 
+    /** Whether any column is configured to be dictionary encoded by this writer. */
+    public boolean hasDictionaryEncodedFields() {
+        return dictionaryEncodedFields.length > 0;
+    }
+
+    /**
+     * Whether any column of the last serialized batch is dictionary encoded, i.e., the serialized
+     * Arrow data starts with dictionary batches.
+     */
+    public boolean isDictionaryEncoded() {
+        return dictionaryEncoded;
+    }
+
     public boolean isFull() {
+        return isFull(0);
+    }
+
+    /**
+     * Whether the arrow batch is full, where the given bytes of the write limit are reserved for
+     * the data written along with the arrow batch, e.g., the statistics trailer of the batch.
+     */
+    public boolean isFull(int reservedBytes) {
         if (recordsCount > 0 && recordsCount >= estimatedMaxRecordsCount) {
             root.setRowCount(recordsCount);
             int metadataLength = getMetadataLength();
             int estimatedBodyLength = estimatedBytesWritten(getBodyLength());
             int currentSize = metadataLength + estimatedBodyLength;
-            if (currentSize >= writeLimitInBytes) {
+            int writeLimit = writeLimitInBytes - reservedBytes;
+            if (currentSize >= writeLimit) {
                 return true;
             } else {
                 // update the estimated max records count
                 estimatedMaxRecordsCount =
                         (int)
                                 Math.ceil(
-                                        (writeLimitInBytes - metadataLength)
+                                        (writeLimit - metadataLength)
                                                 / (estimatedBodyLength / (recordsCount * 1.0)));
                 return false;
             }
@@ -243,6 +304,7 @@ public class ArrowWriter implements AutoCloseable {
         // Whether there is any record to write, we need to advance the position to make sure the
         // batch header will be written in outputView.
         outputView.setPosition(position);
+        dictionaryEncoded = false;
         if (recordsCount == 0) {
             return 0;
         }
@@ -252,20 +314,64 @@ public class ArrowWriter implements AutoCloseable {
 
         // update the uncompressed body size.
         int uncompressedBodySizeInBytes = getBodyLength();
-        try (ArrowRecordBatch arrowBatch =
-                new VectorUnloader(root, true, compressionCodec, true).getRecordBatch()) {
-            PagedMemorySegmentWritableChannel channel =
-                    new PagedMemorySegmentWritableChannel(outputView);
-            ArrowBlock block = MessageSerializer.serialize(new WriteChannel(channel), arrowBatch);
-
-            checkState(
-                    uncompressedBodySizeInBytes > 0,
-                    "uncompressedRecordsSizeInBytes is 0 or negative");
-            float actualCompressionRatio =
-                    (float) block.getBodyLength() / uncompressedBodySizeInBytes;
-            compressionRatioEstimator.updateEstimation(actualCompressionRatio);
-
-            return (int) (block.getMetadataLength() + block.getBodyLength());
+        checkState(
+                uncompressedBodySizeInBytes > 0, "uncompressedRecordsSizeInBytes is 0 or negative");
+        WriteChannel writeChannel =
+                new WriteChannel(new PagedMemorySegmentWritableChannel(outputView));
+        long metadataLength = 0;
+        long bodyLength = 0;
+        List<Field> fields = new ArrayList<>(root.getSchema().getFields());
+        List<FieldVector> vectors = new ArrayList<>(root.getFieldVectors());
+        List<ArrowDictionaryEncoder.EncodedColumn> encodedColumns = new ArrayList<>();
+        try {
+            // the dictionary batches precede the record batch which refers to them
+            for (int field : dictionaryEncodedFields) {
+                ArrowDictionaryEncoder.EncodedColumn encodedColumn =
+                        ArrowDictionaryEncoder.encode(
+                                (VarCharVector) vectors.get(field), field, allocator);
+                if (encodedColumn == null) {
+                    continue;
+                }
+                encodedColumns.add(encodedColumn);
+                fields.set(field, encodedColumn.indices.getField());
+                vectors.set(field, encodedColumn.indices);
+                ArrowBlock block =
+                        serializeDictionaryBatch(writeChannel, field, encodedColumn.dictionary);
+                metadataLength += block.getMetadataLength();
+                bodyLength += block.getBodyLength();
+            }
+
+            dictionaryEncoded = !encodedColumns.isEmpty();
+            VectorSchemaRoot recordBatchRoot =
+                    encodedColumns.isEmpty()
+                            ? root
+                            : new VectorSchemaRoot(fields, vectors, recordsCount);
+            try (ArrowRecordBatch arrowBatch =
+                    new VectorUnloader(recordBatchRoot, true, compressionCodec, true)
+                            .getRecordBatch()) {
+                ArrowBlock block = MessageSerializer.serialize(writeChannel, arrowBatch);
+                metadataLength += block.getMetadataLength();
+                bodyLength += block.getBodyLength();
+            }
+        } finally {
+            encodedColumns.forEach(ArrowDictionaryEncoder.EncodedColumn::close);
+        }
+
+        // the ratio also covers the savings of the dictionary encoding
+        float actualCompressionRatio = (float) bodyLength / uncompressedBodySizeInBytes;
+        compressionRatioEstimator.updateEstimation(actualCompressionRatio);
+        return (int) (metadataLength + bodyLength);
+    }
+
+    private ArrowBlock serializeDictionaryBatch(
+            WriteChannel writeChannel, long dictionaryId, VarCharVector dictionary)
+            throws IOException {
+        ArrowRecordBatch dictionaryData =
+                new VectorUnloader(VectorSchemaRoot.of(dictionary), true, compressionCodec, true)
+                        .getRecordBatch();
+        try (ArrowDictionaryBatch dictionaryBatch =
+                new ArrowDictionaryBatch(dictionaryId, dictionaryData)) {
+            return MessageSerializer.serialize(writeChannel, dictionaryBatch);
         }
     }
 
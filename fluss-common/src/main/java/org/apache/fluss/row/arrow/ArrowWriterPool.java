@@ -30,6 +30,7 @@ import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
@@ -88,8 +89,17 @@ public class ArrowWriterPool implements ArrowWriterProvider {
             int schemaId,
             int bufferSizeInBytes,
             RowType schema,
-            ArrowCompressionInfo compressionInfo) {
-        final String writerKey = tableId + "-" + schemaId + "-" + compressionInfo.toString();
+            ArrowCompressionInfo compressionInfo,
+            int[] dictionaryEncodedFields) {
+        final String writerKey =
+                tableId
+                        + "-"
+                        + schemaId
+                        + "-"
+                        + compressionInfo.toString()
+                        + (dictionaryEncodedFields.length == 0
+                                ? ""
+                                : "-" + Arrays.toString(dictionaryEncodedFields));
         return inLock(
                 lock,
                 () -> {
@@ -112,7 +122,8 @@ public class ArrowWriterPool implements ArrowWriterProvider {
                                         allocator,
                                         this,
                                         compressionInfo,
-                                        compressionRatioEstimator),
+                                        compressionRatioEstimator,
+                                        dictionaryEncodedFields),
                                 bufferSizeInBytes);
                     }
                 });
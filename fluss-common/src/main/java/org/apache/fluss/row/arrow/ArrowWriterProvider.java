@@ -24,12 +24,27 @@ import org.apache.fluss.types.RowType;
 /** The provider used for requesting and releasing {@link ArrowWriter}. */
 @Internal
 public interface ArrowWriterProvider extends AutoCloseable {
+    default ArrowWriter getOrCreateWriter(
+            long tableId,
+            int schemaId,
+            int bufferSizeInBytes,
+            RowType schema,
+            ArrowCompressionInfo compressionInfo) {
+        return getOrCreateWriter(
+                tableId, schemaId, bufferSizeInBytes, schema, compressionInfo, new int[0]);
+    }
+
+    /**
+     * Gets a writer which dictionary encodes the given {@code STRING} or {@code CHAR} fields of the
+     * rows, see {@link ArrowWriter}.
+     */
     ArrowWriter getOrCreateWriter(
             long tableId,
             int schemaId,
             int bufferSizeInBytes,
             RowType schema,
-            ArrowCompressionInfo compressionInfo);
+            ArrowCompressionInfo compressionInfo,
+            int[] dictionaryEncodedFields);
 
     void recycleWriter(ArrowWriter arrowWriter);
 }
@@ -21,6 +21,7 @@ import org.apache.fluss.annotation.Internal;
 import org.apache.fluss.compression.ArrowCompressionFactory;
 import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.memory.MemorySegment;
+import org.apache.fluss.row.arrow.ArrowDictionaryEncoder;
 import org.apache.fluss.row.arrow.ArrowReader;
 import org.apache.fluss.row.arrow.vectors.ArrowArrayColumnVector;
 import org.apache.fluss.row.arrow.vectors.ArrowBigIntColumnVector;
@@ -62,6 +63,7 @@ import org.apache.fluss.row.arrow.writers.ArrowVarCharWriter;
 import org.apache.fluss.row.columnar.ColumnVector;
 import org.apache.fluss.row.columnar.VectorizedColumnBatch;
 import org.apache.fluss.shaded.arrow.com.google.flatbuffers.FlatBufferBuilder;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.flatbuf.DictionaryBatch;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.flatbuf.MessageHeader;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.flatbuf.RecordBatch;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.ArrowBuf;
@@ -96,7 +98,9 @@ import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.ReadChannel;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.WriteChannel;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowBodyCompression;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowBuffer;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowMessage;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.FBSerializables;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.IpcOption;
@@ -142,7 +146,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.MessageSerializer.deserializeRecordBatch;
+import static org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.MessageSerializer.deserializeMessageBatch;
 import static org.apache.fluss.utils.Preconditions.checkArgument;
 
 /** Utilities for Arrow. */
@@ -160,6 +164,8 @@ public class ArrowUtils {
 
     /**
      * Creates an {@link ArrowReader} for the specified memory segment and {@link VectorSchemaRoot}.
+     * The dictionary encoded columns of the Arrow batch are decoded into the plain vectors of the
+     * root, see {@link ArrowDictionaryEncoder}.
      */
     public static ArrowReader createArrowReader(
             MemorySegment segment,
@@ -168,13 +174,55 @@ public class ArrowUtils {
             VectorSchemaRoot schemaRoot,
             BufferAllocator allocator,
             RowType rowType) {
+        return createArrowReader(
+                segment, arrowOffset, arrowLength, schemaRoot, allocator, rowType, true);
+    }
+
+    /**
+     * Creates an {@link ArrowReader} for the specified memory segment and {@link VectorSchemaRoot}.
+     * The Arrow batch may only start with dictionary batches if {@code dictionaryEncoded} is true,
+     * i.e., the log record batch is marked as dictionary encoded.
+     */
+    public static ArrowReader createArrowReader(
+            MemorySegment segment,
+            int arrowOffset,
+            int arrowLength,
+            VectorSchemaRoot schemaRoot,
+            BufferAllocator allocator,
+            RowType rowType,
+            boolean dictionaryEncoded) {
         ByteBuffer arrowBatchBuffer = segment.wrap(arrowOffset, arrowLength);
+        List<ArrowDictionaryBatch> dictionaries = new ArrayList<>();
         try (ReadChannel channel =
-                        new ReadChannel(new ByteBufferReadableChannel(arrowBatchBuffer));
-                ArrowRecordBatch batch = deserializeRecordBatch(channel, allocator)) {
-            VectorLoader vectorLoader =
-                    new VectorLoader(schemaRoot, ArrowCompressionFactory.INSTANCE);
-            vectorLoader.load(batch);
+                new ReadChannel(new ByteBufferReadableChannel(arrowBatchBuffer))) {
+            // the dictionary batches precede the record batch
+            ArrowMessage message = deserializeMessageBatch(channel, allocator);
+            while (message instanceof ArrowDictionaryBatch) {
+                dictionaries.add((ArrowDictionaryBatch) message);
+                if (!dictionaryEncoded) {
+                    throw new IOException(
+                            "Unexpected Arrow dictionary batch in a batch which is not marked as "
+                                    + "dictionary encoded.");
+                }
+                message = deserializeMessageBatch(channel, allocator);
+            }
+            if (!(message instanceof ArrowRecordBatch)) {
+                throw new IOException("Unexpected end of the Arrow batch, no record batch found.");
+            }
+            try (ArrowRecordBatch batch = (ArrowRecordBatch) message) {
+                if (dictionaries.isEmpty()) {
+                    VectorLoader vectorLoader =
+                            new VectorLoader(schemaRoot, ArrowCompressionFactory.INSTANCE);
+                    vectorLoader.load(batch);
+                } else {
+                    ArrowDictionaryEncoder.load(
+                            batch,
+                            dictionaries,
+                            schemaRoot,
+                            allocator,
+                            ArrowCompressionFactory.INSTANCE);
+                }
+            }
             List<ColumnVector> columnVectors = new ArrayList<>();
             List<FieldVector> fieldVectors = schemaRoot.getFieldVectors();
             for (int i = 0; i < fieldVectors.size(); i++) {
@@ -185,6 +233,8 @@ public class ArrowUtils {
                     columnVectors.toArray(new ColumnVector[0]), schemaRoot.getRowCount());
         } catch (IOException e) {
             throw new RuntimeException("Failed to deserialize ArrowRecordBatch.", e);
+        } finally {
+            dictionaries.forEach(ArrowDictionaryBatch::close);
         }
     }
 
@@ -206,7 +256,59 @@ public class ArrowUtils {
             throws IOException {
         checkArgument(arrowBodyLength % 8 == 0, "batch is not aligned");
         FlatBufferBuilder builder = new FlatBufferBuilder();
+        int batchOffset =
+                writeRecordBatch(builder, numRecords, nodes, buffersLayout, arrowBodyCompression);
+        ByteBuffer metadata =
+                MessageSerializer.serializeMessage(
+                        builder,
+                        MessageHeader.RecordBatch,
+                        batchOffset,
+                        arrowBodyLength,
+                        IpcOption.DEFAULT);
+
+        return MessageSerializer.writeMessageBuffer(writeChannel, metadata.remaining(), metadata);
+    }
+
+    /**
+     * Serialize metadata of a {@link ArrowDictionaryBatch} into write channel. This avoids to
+     * create an instance of {@link ArrowDictionaryBatch}.
+     *
+     * @return the serialized size in bytes
+     * @see MessageSerializer#serialize(WriteChannel, ArrowDictionaryBatch)
+     */
+    public static int serializeArrowDictionaryBatchMetadata(
+            WriteChannel writeChannel,
+            long dictionaryId,
+            long numRecords,
+            List<ArrowFieldNode> nodes,
+            List<ArrowBuffer> buffersLayout,
+            ArrowBodyCompression arrowBodyCompression,
+            long arrowBodyLength)
+            throws IOException {
+        checkArgument(arrowBodyLength % 8 == 0, "batch is not aligned");
+        FlatBufferBuilder builder = new FlatBufferBuilder();
+        int dataOffset =
+                writeRecordBatch(builder, numRecords, nodes, buffersLayout, arrowBodyCompression);
+        int dictionaryBatchOffset =
+                DictionaryBatch.createDictionaryBatch(builder, dictionaryId, dataOffset, false);
+        ByteBuffer metadata =
+                MessageSerializer.serializeMessage(
+                        builder,
+                        MessageHeader.DictionaryBatch,
+                        dictionaryBatchOffset,
+                        arrowBodyLength,
+                        IpcOption.DEFAULT);
 
+        return MessageSerializer.writeMessageBuffer(writeChannel, metadata.remaining(), metadata);
+    }
+
+    /** Writes the {@link RecordBatch} table and returns its offset in the builder. */
+    private static int writeRecordBatch(
+            FlatBufferBuilder builder,
+            long numRecords,
+            List<ArrowFieldNode> nodes,
+            List<ArrowBuffer> buffersLayout,
+            ArrowBodyCompression arrowBodyCompression) {
         RecordBatch.startNodesVector(builder, nodes.size());
         int nodesOffset = FBSerializables.writeAllStructsToVector(builder, nodes);
         RecordBatch.startBuffersVector(builder, buffersLayout.size());
@@ -223,16 +325,7 @@ public class ArrowUtils {
         if (arrowBodyCompression.getCodec() != NoCompressionCodec.COMPRESSION_TYPE) {
             RecordBatch.addCompression(builder, compressOffset);
         }
-        int batchOffset = RecordBatch.endRecordBatch(builder);
-        ByteBuffer metadata =
-                MessageSerializer.serializeMessage(
-                        builder,
-                        MessageHeader.RecordBatch,
-                        batchOffset,
-                        arrowBodyLength,
-                        IpcOption.DEFAULT);
-
-        return MessageSerializer.writeMessageBuffer(writeChannel, metadata.remaining(), metadata);
+        return RecordBatch.endRecordBatch(builder);
     }
 
     /** Estimates the size of {@link ArrowRecordBatch} metadata for the given schema. */
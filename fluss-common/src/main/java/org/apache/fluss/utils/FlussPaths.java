@@ -70,6 +70,12 @@ public class FlussPaths {
     /** The directory name for storing remote log index files. */
     public static final String REMOTE_LOG_INDEX_LOCAL_CACHE = "remote-log-index-cache";
 
+    /** The directory name for caching remote log segment files. */
+    public static final String REMOTE_LOG_SEGMENT_LOCAL_CACHE = "remote-log-segment-cache";
+
+    /** The directory name for storing the kv checkpoints transferred between tablet servers. */
+    public static final String PEER_KV_CHECKPOINT_DIR = "peer-kv-checkpoints";
+
     /** The directory name for storing remote log files. */
     public static final String REMOTE_LOG_DIR_NAME = "log";
 
@@ -82,6 +88,12 @@ public class FlussPaths {
     /** Suffix for a file that is scheduled to be deleted. */
     public static final String DELETED_FILE_SUFFIX = ".deleted";
 
+    /** Suffix for a file that is being written by the log cleaner. */
+    public static final String CLEANED_FILE_SUFFIX = ".cleaned";
+
+    /** Suffix for a cleaned file that is ready to replace the original file. */
+    public static final String SWAP_FILE_SUFFIX = ".swap";
+
     /** The directory name for storing remote kv snapshot files. */
     public static final String REMOTE_KV_DIR_NAME = "kv";
 
@@ -356,6 +368,38 @@ public class FlussPaths {
         return new File(dataDir, REMOTE_LOG_INDEX_LOCAL_CACHE);
     }
 
+    /**
+     * Returns the local directory for caching the remote log segment files read by the tablet
+     * server.
+     *
+     * <p>The path contract:
+     *
+     * <pre>
+     * {$data.dir}/remote-log-segment-cache
+     * </pre>
+     *
+     * @param dataDir the local data root directory, i.e. the "data.dir" in the configuration.
+     */
+    public static File remoteLogSegmentCacheDir(File dataDir) {
+        return new File(dataDir, REMOTE_LOG_SEGMENT_LOCAL_CACHE);
+    }
+
+    /**
+     * Returns the local directory for storing the kv checkpoints which are transferred between
+     * tablet servers to bootstrap the kv of replicas.
+     *
+     * <p>The path contract:
+     *
+     * <pre>
+     * {$data.dir}/peer-kv-checkpoints
+     * </pre>
+     *
+     * @param dataDir the local data root directory, i.e. the "data.dir" in the configuration.
+     */
+    public static File peerKvCheckpointDir(File dataDir) {
+        return new File(dataDir, PEER_KV_CHECKPOINT_DIR);
+    }
+
     /**
      * Returns the local file for storing the remote log offset index file.
      *
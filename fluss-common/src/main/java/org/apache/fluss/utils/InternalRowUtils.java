@@ -111,7 +111,11 @@ public class InternalRowUtils {
         return new GenericMap(newMap);
     }
 
-    private static Object copyValue(Object o, DataType type) {
+    /**
+     * Copies the given value of the given type, so that the copy doesn't share any memory with the
+     * original value (e.g., a {@link BinaryString} backed by a reused memory segment).
+     */
+    public static Object copyValue(Object o, DataType type) {
         if (o instanceof BinaryString) {
             return ((BinaryString) o).copy();
         } else if (o instanceof InternalRow) {
@@ -0,0 +1,452 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.utils;
+
+import org.apache.fluss.annotation.Internal;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable hash map whose updates return a new map sharing the unchanged structure with the
+ * original one, implemented as a hash array mapped trie.
+ *
+ * <p>{@link #plus} and {@link #minus} copy only the path from the root to the updated entry, i.e.
+ * {@code O(log32(n))} nodes, instead of the whole map. This makes it suitable for publishing large
+ * read-mostly snapshots (e.g., metadata) which are updated a few entries at a time: every published
+ * map can be read concurrently without locks while the next one is being built.
+ *
+ * <p>The mutating methods of {@link Map} are not supported. Null keys and values are not supported.
+ */
+@Internal
+@Immutable
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int FANOUT_MASK = (1 << BITS) - 1;
+
+    private static final PersistentHashMap<?, ?> EMPTY =
+            new PersistentHashMap<>(new Branch(0, new Object[0]), 0);
+
+    /** The root of the trie, the children of a branch are {@link Leaf}s, collisions or branches. */
+    private final Branch root;
+
+    private final int size;
+
+    private PersistentHashMap(Branch root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /** Returns a map with all the entries of the given map. */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentHashMap) {
+            return (PersistentHashMap<K, V>) map;
+        }
+        PersistentHashMap<K, V> result = empty();
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            result = result.plus(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a map with the given entry added, replacing the entry of the same key if any. This
+     * map is returned if it already contains the same entry.
+     */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        boolean[] added = new boolean[1];
+        Branch newRoot = root.put(0, new Leaf(hash(key), key, value), added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without the entry of the given key. This map is returned if it has no such key.
+     */
+    public PersistentHashMap<K, V> minus(Object key) {
+        if (key == null) {
+            return this;
+        }
+        int hash = hash(key);
+        Object newRoot = root.remove(0, hash, key);
+        if (newRoot == root) {
+            return this;
+        } else if (newRoot == null) {
+            return empty();
+        } else if (newRoot instanceof Branch) {
+            return new PersistentHashMap<>((Branch) newRoot, size - 1);
+        } else {
+            // the only remaining child of the root is a leaf or a collision
+            return new PersistentHashMap<>(Branch.of(0, hashOf(newRoot), newRoot), size - 1);
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        Leaf leaf = root.find(0, hash(key), key);
+        return leaf == null ? null : cast(leaf.getValue());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && root.find(0, hash(key), key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int hashOf(Object node) {
+        return node instanceof Leaf ? ((Leaf) node).hash : ((Collision) node).hash;
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & FANOUT_MASK);
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /** An entry of the map. */
+    private static final class Leaf extends SimpleImmutableEntry<Object, Object> {
+        private static final long serialVersionUID = 1L;
+
+        private final int hash;
+
+        private Leaf(int hash, Object key, Object value) {
+            super(key, value);
+            this.hash = hash;
+        }
+
+        private boolean hasKey(int hash, Object key) {
+            return this.hash == hash && getKey().equals(key);
+        }
+    }
+
+    /** The entries whose keys have the same hash. */
+    private static final class Collision {
+        private final int hash;
+        private final Leaf[] leaves;
+
+        private Collision(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].getKey().equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Collision put(Leaf leaf, boolean[] added) {
+            int index = indexOf(leaf.getKey());
+            if (index < 0) {
+                Leaf[] newLeaves = Arrays.copyOf(leaves, leaves.length + 1);
+                newLeaves[leaves.length] = leaf;
+                added[0] = true;
+                return new Collision(hash, newLeaves);
+            } else if (leaves[index].getValue() == leaf.getValue()) {
+                return this;
+            } else {
+                Leaf[] newLeaves = leaves.clone();
+                newLeaves[index] = leaf;
+                return new Collision(hash, newLeaves);
+            }
+        }
+
+        private Object remove(Object key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            } else if (leaves.length == 2) {
+                return leaves[1 - index];
+            }
+            Leaf[] newLeaves = new Leaf[leaves.length - 1];
+            System.arraycopy(leaves, 0, newLeaves, 0, index);
+            System.arraycopy(leaves, index + 1, newLeaves, index, newLeaves.length - index);
+            return new Collision(hash, newLeaves);
+        }
+    }
+
+    /** A node of the trie, which has a child for each set bit of the bitmap. */
+    private static final class Branch {
+        private final int bitmap;
+        private final Object[] children;
+
+        private Branch(int bitmap, Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        private static Branch of(int shift, int hash, Object child) {
+            return new Branch(bit(hash, shift), new Object[] {child});
+        }
+
+        /** Creates the node containing the two given nodes which have different hashes. */
+        private static Object merge(int shift, Object node1, int hash1, Object node2, int hash2) {
+            if (hash1 == hash2) {
+                // only happens for two leaves, as a collision and a leaf of the same hash are
+                // merged
+                // by Collision#put
+                return new Collision(hash1, new Leaf[] {(Leaf) node1, (Leaf) node2});
+            }
+            int bit1 = bit(hash1, shift);
+            int bit2 = bit(hash2, shift);
+            if (bit1 == bit2) {
+                return new Branch(
+                        bit1, new Object[] {merge(shift + BITS, node1, hash1, node2, hash2)});
+            } else if (Integer.compareUnsigned(bit1, bit2) < 0) {
+                return new Branch(bit1 | bit2, new Object[] {node1, node2});
+            } else {
+                return new Branch(bit1 | bit2, new Object[] {node2, node1});
+            }
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Nullable
+        private Leaf find(int shift, int hash, Object key) {
+            Branch branch = this;
+            while (true) {
+                int bit = bit(hash, shift);
+                if ((branch.bitmap & bit) == 0) {
+                    return null;
+                }
+                Object child = branch.children[branch.index(bit)];
+                if (child instanceof Branch) {
+                    branch = (Branch) child;
+                    shift += BITS;
+                } else if (child instanceof Leaf) {
+                    Leaf leaf = (Leaf) child;
+                    return leaf.hasKey(hash, key) ? leaf : null;
+                } else {
+                    Collision collision = (Collision) child;
+                    int index = collision.hash == hash ? collision.indexOf(key) : -1;
+                    return index < 0 ? null : collision.leaves[index];
+                }
+            }
+        }
+
+        private Branch put(int shift, Leaf leaf, boolean[] added) {
+            int bit = bit(leaf.hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newChildren = new Object[children.length + 1];
+                System.arraycopy(children, 0, newChildren, 0, index);
+                newChildren[index] = leaf;
+                System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+                added[0] = true;
+                return new Branch(bitmap | bit, newChildren);
+            }
+
+            Object child = children[index];
+            Object newChild;
+            if (child instanceof Branch) {
+                newChild = ((Branch) child).put(shift + BITS, leaf, added);
+            } else if (child instanceof Leaf) {
+                Leaf existing = (Leaf) child;
+                if (existing.hasKey(leaf.hash, leaf.getKey())) {
+                    newChild = existing.getValue() == leaf.getValue() ? existing : leaf;
+                } else {
+                    newChild = merge(shift + BITS, existing, existing.hash, leaf, leaf.hash);
+                    added[0] = true;
+                }
+            } else {
+                Collision collision = (Collision) child;
+                if (collision.hash == leaf.hash) {
+                    newChild = collision.put(leaf, added);
+                } else {
+                    newChild = merge(shift + BITS, collision, collision.hash, leaf, leaf.hash);
+                    added[0] = true;
+                }
+            }
+            return newChild == child ? this : withChild(index, newChild);
+        }
+
+        /**
+         * Returns the node without the given key: this node if there is no such key, null if the
+         * node becomes empty, or the only remaining leaf or collision to be inlined into the
+         * parent.
+         */
+        @Nullable
+        private Object remove(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = index(bit);
+            Object child = children[index];
+            Object newChild;
+            if (child instanceof Branch) {
+                newChild = ((Branch) child).remove(shift + BITS, hash, key);
+            } else if (child instanceof Leaf) {
+                newChild = ((Leaf) child).hasKey(hash, key) ? null : child;
+            } else {
+                Collision collision = (Collision) child;
+                newChild = collision.hash == hash ? collision.remove(key) : collision;
+            }
+
+            if (newChild == child) {
+                return this;
+            } else if (newChild != null) {
+                if (children.length == 1 && !(newChild instanceof Branch)) {
+                    return newChild;
+                }
+                return withChild(index, newChild);
+            } else if (children.length == 1) {
+                return null;
+            } else if (children.length == 2 && !(children[1 - index] instanceof Branch)) {
+                return children[1 - index];
+            }
+            Object[] newChildren = new Object[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, newChildren.length - index);
+            return new Branch(bitmap & ~bit, newChildren);
+        }
+
+        private Branch withChild(int index, Object child) {
+            Object[] newChildren = children.clone();
+            newChildren[index] = child;
+            return new Branch(bitmap, newChildren);
+        }
+    }
+
+    /** Iterates the entries of the trie in depth-first order. */
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+
+        /** The children arrays being iterated, and the position of the next child of each. */
+        private final Deque<Object[]> nodes = new ArrayDeque<>();
+
+        private final Deque<int[]> positions = new ArrayDeque<>();
+
+        @Nullable private Leaf[] collisionLeaves;
+        private int collisionPosition;
+
+        @Nullable private Leaf next;
+
+        private EntryIterator(Branch root) {
+            nodes.push(root.children);
+            positions.push(new int[] {0});
+            advance();
+        }
+
+        private void advance() {
+            if (collisionLeaves != null) {
+                if (collisionPosition < collisionLeaves.length) {
+                    next = collisionLeaves[collisionPosition++];
+                    return;
+                }
+                collisionLeaves = null;
+            }
+            while (!nodes.isEmpty()) {
+                Object[] children = nodes.peek();
+                int[] position = positions.peek();
+                if (position[0] >= children.length) {
+                    nodes.pop();
+                    positions.pop();
+                    continue;
+                }
+                Object child = children[position[0]++];
+                if (child instanceof Leaf) {
+                    next = (Leaf) child;
+                    return;
+                } else if (child instanceof Collision) {
+                    collisionLeaves = ((Collision) child).leaves;
+                    collisionPosition = 1;
+                    next = collisionLeaves[0];
+                    return;
+                } else {
+                    nodes.push(((Branch) child).children);
+                    positions.push(new int[] {0});
+                }
+            }
+            next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Leaf current = next;
+            advance();
+            return cast(current);
+        }
+    }
+}
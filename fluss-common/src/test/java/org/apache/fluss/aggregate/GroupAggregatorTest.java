@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.aggregate;
+
+import org.apache.fluss.row.Decimal;
+import org.apache.fluss.row.GenericRow;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.fluss.row.BinaryString.fromString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link GroupAggregator}. */
+class GroupAggregatorTest {
+
+    private static final RowType ROW_TYPE =
+            RowType.of(
+                    DataTypes.STRING(),
+                    DataTypes.INT(),
+                    DataTypes.DOUBLE(),
+                    DataTypes.DECIMAL(10, 2));
+
+    private static final List<AggregateCall> CALLS =
+            Arrays.asList(
+                    AggregateCall.countStar(),
+                    AggregateCall.count(1),
+                    AggregateCall.sum(1),
+                    AggregateCall.sum(2),
+                    AggregateCall.sum(3),
+                    AggregateCall.min(1),
+                    AggregateCall.max(0));
+
+    @Test
+    void testResultType() {
+        GroupAggregator aggregator = new GroupAggregator(ROW_TYPE, new int[] {0}, CALLS);
+        assertThat(aggregator.getResultType().getChildren())
+                .containsExactly(
+                        DataTypes.STRING(),
+                        DataTypes.BIGINT().copy(false),
+                        DataTypes.BIGINT().copy(false),
+                        DataTypes.BIGINT(),
+                        DataTypes.DOUBLE(),
+                        DataTypes.DECIMAL(38, 2),
+                        DataTypes.INT(),
+                        DataTypes.STRING());
+
+        assertThat(AggregateCall.sum(0).isSupported(ROW_TYPE)).isFalse();
+        assertThatThrownBy(() -> AggregateCall.min(4).getResultType(ROW_TYPE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testGroupAggregate() {
+        GroupAggregator aggregator = new GroupAggregator(ROW_TYPE, new int[] {0}, CALLS);
+        aggregator.add(row("a", 1, 1.5, "1.10"));
+        aggregator.add(row("b", 2, 2.5, "2.20"));
+        aggregator.add(row("a", null, 3.0, null));
+        aggregator.add(row("a", 3, null, "3.30"));
+        aggregator.add(row(null, 4, 4.0, "4.40"));
+
+        assertThat(aggregator.getResult())
+                .containsExactly(
+                        GenericRow.of(
+                                fromString("a"),
+                                3L,
+                                2L,
+                                4L,
+                                4.5,
+                                decimal("4.40"),
+                                1,
+                                fromString("a")),
+                        GenericRow.of(
+                                fromString("b"),
+                                1L,
+                                1L,
+                                2L,
+                                2.5,
+                                decimal("2.20"),
+                                2,
+                                fromString("b")),
+                        GenericRow.of(null, 1L, 1L, 4L, 4.0, decimal("4.40"), 4, null));
+    }
+
+    @Test
+    void testMergeSerializedPartialResults() {
+        GroupAggregator bucket1 = new GroupAggregator(ROW_TYPE, new int[] {0}, CALLS);
+        bucket1.add(row("a", 1, 1.5, "1.10"));
+        bucket1.add(row("b", 5, null, null));
+        GroupAggregator bucket2 = new GroupAggregator(ROW_TYPE, new int[] {0}, CALLS);
+        bucket2.add(row("a", -1, 2.0, "2.00"));
+
+        GroupAggregator merged = new GroupAggregator(ROW_TYPE, new int[] {0}, CALLS);
+        for (GroupAggregator bucket : Arrays.asList(bucket1, bucket2)) {
+            for (byte[] partial : bucket.getSerializedResult()) {
+                merged.mergeSerialized(partial);
+            }
+        }
+
+        assertThat(merged.getResult())
+                .containsExactly(
+                        GenericRow.of(
+                                fromString("a"),
+                                2L,
+                                2L,
+                                0L,
+                                3.5,
+                                decimal("3.10"),
+                                -1,
+                                fromString("a")),
+                        GenericRow.of(fromString("b"), 1L, 1L, 5L, null, null, 5, fromString("b")));
+    }
+
+    @Test
+    void testGlobalAggregateWithoutRows() {
+        GroupAggregator aggregator = new GroupAggregator(ROW_TYPE, new int[0], CALLS);
+        assertThat(aggregator.getResult())
+                .containsExactly(GenericRow.of(0L, 0L, null, null, null, null, null));
+
+        GroupAggregator merged = new GroupAggregator(ROW_TYPE, new int[0], CALLS);
+        merged.mergeSerialized(aggregator.getSerializedResult().get(0));
+        aggregator.add(row("a", 7, 1.0, "1.00"));
+        merged.mergeSerialized(aggregator.getSerializedResult().get(0));
+        List<InternalRow> result = merged.getResult();
+        assertThat(result)
+                .containsExactly(
+                        GenericRow.of(1L, 1L, 7L, 1.0, decimal("1.00"), 7, fromString("a")));
+    }
+
+    private static GenericRow row(String s, Integer i, Double d, String decimal) {
+        return GenericRow.of(
+                s == null ? null : fromString(s),
+                i,
+                d,
+                decimal == null ? null : Decimal.fromBigDecimal(new BigDecimal(decimal), 10, 2));
+    }
+
+    private static Decimal decimal(String value) {
+        return Decimal.fromBigDecimal(new BigDecimal(value), 38, 2);
+    }
+}
@@ -21,6 +21,8 @@ import org.apache.fluss.metadata.DeleteBehavior;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /** Tests for {@link TableConfig}. */
@@ -44,4 +46,14 @@ class TableConfigTest {
         TableConfig tableConfig3 = new TableConfig(conf);
         assertThat(tableConfig3.getDeleteBehavior()).hasValue(DeleteBehavior.IGNORE);
     }
+
+    @Test
+    void testSecondaryIndexes() {
+        Configuration conf = new Configuration();
+        assertThat(new TableConfig(conf).getSecondaryIndexes()).isEmpty();
+
+        conf.setString(ConfigOptions.TABLE_SECONDARY_INDEXES.key(), "a; b , c");
+        assertThat(new TableConfig(conf).getSecondaryIndexes())
+                .containsExactly(Arrays.asList("a"), Arrays.asList("b", "c"));
+    }
 }
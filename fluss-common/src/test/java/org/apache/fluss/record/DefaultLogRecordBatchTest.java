@@ -17,27 +17,43 @@
 
 package org.apache.fluss.record;
 
+import org.apache.fluss.compression.RowCompressionInfo;
+import org.apache.fluss.compression.RowCompressionType;
+import org.apache.fluss.memory.MemorySegment;
 import org.apache.fluss.memory.UnmanagedPagedOutputView;
+import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.Schema;
 import org.apache.fluss.metadata.SchemaGetter;
 import org.apache.fluss.metadata.SchemaInfo;
 import org.apache.fluss.row.TestInternalRowGenerator;
+import org.apache.fluss.row.columnar.IntColumnVector;
 import org.apache.fluss.row.indexed.IndexedRow;
 import org.apache.fluss.testutils.DataTestUtils;
 import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.CloseableIterator;
 
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V0;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
+import static org.apache.fluss.record.LogRecordBatchFormat.NO_BATCH_SEQUENCE;
+import static org.apache.fluss.record.LogRecordBatchFormat.NO_WRITER_ID;
+import static org.apache.fluss.record.LogRecordBatchFormat.attributeOffset;
 import static org.apache.fluss.record.LogRecordBatchFormat.recordBatchHeaderSize;
+import static org.apache.fluss.record.LogRecordBatchFormat.recordsCountOffset;
+import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DATA1_SCHEMA;
+import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Test for {@link DefaultLogRecordBatch}. */
 public class DefaultLogRecordBatchTest extends LogTestBase {
@@ -112,6 +128,109 @@ public class DefaultLogRecordBatchTest extends LogTestBase {
         builder.close();
     }
 
+    @ParameterizedTest
+    @EnumSource(
+            value = RowCompressionType.class,
+            names = {"LZ4_FRAME", "ZSTD"})
+    void testIndexedRowWriteAndReadCompressedBatch(RowCompressionType compressionType)
+            throws Exception {
+        int recordNumber = 50;
+        RowType allRowType = TestInternalRowGenerator.createAllRowType();
+        MemoryLogRecordsIndexedBuilder builder =
+                MemoryLogRecordsIndexedBuilder.builder(
+                        schemaId,
+                        Integer.MAX_VALUE,
+                        new UnmanagedPagedOutputView(100),
+                        false,
+                        new RowCompressionInfo(
+                                compressionType,
+                                compressionType == RowCompressionType.ZSTD ? 3 : -1));
+
+        List<IndexedRow> rows = new ArrayList<>();
+        for (int i = 0; i < recordNumber; i++) {
+            IndexedRow row = TestInternalRowGenerator.genIndexedRowForAllType();
+            builder.append(ChangeType.INSERT, row);
+            rows.add(row);
+        }
+        builder.close();
+
+        MemoryLogRecords memoryLogRecords = MemoryLogRecords.pointToBytesView(builder.build());
+        Iterator<LogRecordBatch> iterator = memoryLogRecords.batches().iterator();
+        assertThat(iterator.hasNext()).isTrue();
+        DefaultLogRecordBatch logRecordBatch = (DefaultLogRecordBatch) iterator.next();
+        assertThat(iterator.hasNext()).isFalse();
+
+        logRecordBatch.ensureValid();
+        assertThat(logRecordBatch.magic()).isEqualTo(LOG_MAGIC_VALUE_V2);
+        assertThat(logRecordBatch.compressionType()).isEqualTo(compressionType);
+        assertThat(logRecordBatch.getRecordCount()).isEqualTo(recordNumber);
+        assertThat(logRecordBatch.sizeInBytes()).isEqualTo(memoryLogRecords.sizeInBytes());
+
+        SchemaGetter schemaGetter =
+                new TestingSchemaGetter(
+                        new SchemaInfo(
+                                Schema.newBuilder().fromRowType(allRowType).build(), schemaId));
+        // verify record.
+        int i = 0;
+        try (LogRecordReadContext readContext =
+                        LogRecordReadContext.createIndexedReadContext(
+                                allRowType, schemaId, schemaGetter);
+                CloseableIterator<LogRecord> iter = logRecordBatch.records(readContext)) {
+            while (iter.hasNext()) {
+                LogRecord record = iter.next();
+                assertThat(record.logOffset()).isEqualTo(i);
+                assertThat(record.getChangeType()).isEqualTo(ChangeType.INSERT);
+                assertThat(record.getRow()).isEqualTo(rows.get(i));
+                i++;
+            }
+        }
+        assertThat(i).isEqualTo(recordNumber);
+
+        // the decompressed records must be consumed exactly by the declared record count
+        MemorySegment segment = memoryLogRecords.getMemorySegment();
+        segment.putInt(
+                memoryLogRecords.getPosition() + recordsCountOffset(LOG_MAGIC_VALUE_V2),
+                recordNumber - 1);
+        try (LogRecordReadContext readContext =
+                        LogRecordReadContext.createIndexedReadContext(
+                                allRowType, schemaId, schemaGetter);
+                CloseableIterator<LogRecord> iter =
+                        memoryLogRecords.batches().iterator().next().records(readContext)) {
+            assertThatThrownBy(
+                            () -> {
+                                while (iter.hasNext()) {
+                                    iter.next();
+                                }
+                            })
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("records still remaining");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
+    void testCompressionBitsIgnoredBeforeMagicV2(byte magic) throws Exception {
+        MemoryLogRecordsIndexedBuilder builder =
+                MemoryLogRecordsIndexedBuilder.builder(
+                        0L, schemaId, Integer.MAX_VALUE, magic, new UnmanagedPagedOutputView(100));
+        builder.append(ChangeType.INSERT, TestInternalRowGenerator.genIndexedRowForAllType());
+        builder.close();
+        MemoryLogRecords memoryLogRecords = MemoryLogRecords.pointToBytesView(builder.build());
+
+        // the bits of the compression type in the attributes of v2 don't mean anything in v0/v1
+        MemorySegment segment = memoryLogRecords.getMemorySegment();
+        int attributesOffset = memoryLogRecords.getPosition() + attributeOffset(magic);
+        segment.put(
+                attributesOffset,
+                (byte)
+                        (segment.get(attributesOffset)
+                                | RowCompressionType.ZSTD.getId()
+                                        << DefaultLogRecordBatch.COMPRESSION_TYPE_SHIFT));
+        DefaultLogRecordBatch logRecordBatch =
+                (DefaultLogRecordBatch) memoryLogRecords.batches().iterator().next();
+        assertThat(logRecordBatch.compressionType()).isEqualTo(RowCompressionType.NONE);
+    }
+
     @ParameterizedTest
     @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
     void testNoRecordAppend(byte magic) throws Exception {
@@ -174,4 +293,107 @@ public class DefaultLogRecordBatchTest extends LogTestBase {
             assertThat(iter.hasNext()).isFalse();
         }
     }
+
+    @ParameterizedTest
+    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
+    void testColumnarBatch(byte magic) throws Exception {
+        List<ChangeType> changeTypes = new ArrayList<>();
+        for (int i = 0; i < TestData.DATA1.size(); i++) {
+            changeTypes.add(i % 2 == 0 ? ChangeType.INSERT : ChangeType.UPDATE_AFTER);
+        }
+        MemoryLogRecords memoryLogRecords =
+                DataTestUtils.createBasicMemoryLogRecords(
+                        DATA1_ROW_TYPE,
+                        DEFAULT_SCHEMA_ID,
+                        100L,
+                        System.currentTimeMillis(),
+                        magic,
+                        NO_WRITER_ID,
+                        NO_BATCH_SEQUENCE,
+                        changeTypes,
+                        TestData.DATA1,
+                        LogFormat.ARROW,
+                        DEFAULT_COMPRESSION);
+        LogRecordBatch logRecordBatch = memoryLogRecords.batches().iterator().next();
+
+        SchemaGetter schemaGetter = new TestingSchemaGetter(DEFAULT_SCHEMA_ID, DATA1_SCHEMA);
+        try (LogRecordReadContext readContext =
+                        LogRecordReadContext.createArrowReadContext(
+                                DATA1_ROW_TYPE, DEFAULT_SCHEMA_ID, schemaGetter);
+                ColumnarBatch batch = logRecordBatch.columnarBatch(readContext)) {
+            assertThat(batch.getBaseLogOffset()).isEqualTo(100L);
+            assertThat(batch.getNextLogOffset()).isEqualTo(logRecordBatch.nextLogOffset());
+            assertThat(batch.getRowCount()).isEqualTo(TestData.DATA1.size());
+            assertThat(batch.getFieldCount()).isEqualTo(2);
+            IntColumnVector idVector = (IntColumnVector) batch.getColumnVector(0);
+            for (int i = 0; i < batch.getRowCount(); i++) {
+                assertThat(batch.getLogOffset(i)).isEqualTo(100L + i);
+                assertThat(batch.getChangeType(i)).isEqualTo(changeTypes.get(i));
+                assertThat(idVector.getInt(i)).isEqualTo(TestData.DATA1.get(i)[0]);
+                assertThat(batch.getRow(i).getString(1).toString())
+                        .isEqualTo(TestData.DATA1.get(i)[1]);
+            }
+
+            // the batch stays valid after the read context reads other batches
+            try (CloseableIterator<LogRecord> iter = logRecordBatch.records(readContext)) {
+                while (iter.hasNext()) {
+                    iter.next();
+                }
+            }
+
+            // skip the first 3 rows, and reorder the columns
+            try (ColumnarBatch projected = batch.slice(3).project(new int[] {1, 0})) {
+                assertThat(projected.getBaseLogOffset()).isEqualTo(103L);
+                assertThat(projected.getRowCount()).isEqualTo(TestData.DATA1.size() - 3);
+                for (int i = 0; i < projected.getRowCount(); i++) {
+                    Object[] expected = TestData.DATA1.get(i + 3);
+                    assertThat(projected.getChangeType(i)).isEqualTo(changeTypes.get(i + 3));
+                    assertThat(projected.getRow(i).getString(0).toString()).isEqualTo(expected[1]);
+                    assertThat(projected.getRow(i).getInt(1)).isEqualTo(expected[0]);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
+    void testColumnarBatchOfAppendOnlyBatch(byte magic) throws Exception {
+        MemoryLogRecords memoryLogRecords =
+                DataTestUtils.genMemoryLogRecordsByObject(magic, TestData.DATA1);
+        LogRecordBatch logRecordBatch = memoryLogRecords.batches().iterator().next();
+        SchemaGetter schemaGetter = new TestingSchemaGetter(DEFAULT_SCHEMA_ID, DATA1_SCHEMA);
+        try (LogRecordReadContext readContext =
+                        LogRecordReadContext.createArrowReadContext(
+                                DATA1_ROW_TYPE, DEFAULT_SCHEMA_ID, schemaGetter);
+                ColumnarBatch batch = logRecordBatch.columnarBatch(readContext)) {
+            assertThat(batch.getRowCount()).isEqualTo(TestData.DATA1.size());
+            for (int i = 0; i < batch.getRowCount(); i++) {
+                assertThat(batch.getChangeType(i)).isEqualTo(ChangeType.APPEND_ONLY);
+                assertThat(batch.getRow(i).getInt(0)).isEqualTo(TestData.DATA1.get(i)[0]);
+            }
+        }
+
+        // columnar batch is not supported for the INDEXED log format
+        MemoryLogRecords indexedRecords =
+                DataTestUtils.createRecordsWithoutBaseLogOffset(
+                        DATA1_ROW_TYPE,
+                        DEFAULT_SCHEMA_ID,
+                        0L,
+                        System.currentTimeMillis(),
+                        magic,
+                        TestData.DATA1,
+                        LogFormat.INDEXED);
+        try (LogRecordReadContext readContext =
+                LogRecordReadContext.createIndexedReadContext(
+                        DATA1_ROW_TYPE, DEFAULT_SCHEMA_ID, schemaGetter)) {
+            assertThatThrownBy(
+                            () ->
+                                    indexedRecords
+                                            .batches()
+                                            .iterator()
+                                            .next()
+                                            .columnarBatch(readContext))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
 }
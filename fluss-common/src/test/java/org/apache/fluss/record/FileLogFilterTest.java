@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.record;
+
+import org.apache.fluss.memory.ManagedPagedOutputView;
+import org.apache.fluss.memory.TestingMemorySegmentPool;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.metadata.SchemaInfo;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateBuilder;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.arrow.ArrowWriter;
+import org.apache.fluss.row.arrow.ArrowWriterPool;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
+import org.apache.fluss.utils.CloseableIterator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
+import static org.apache.fluss.record.LogRecordBatchFormat.recordBatchHeaderSize;
+import static org.apache.fluss.record.LogRecordReadContext.createArrowReadContext;
+import static org.apache.fluss.record.TestData.DATA1;
+import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static org.apache.fluss.testutils.DataTestUtils.createRecordsWithoutBaseLogOffset;
+import static org.apache.fluss.testutils.DataTestUtils.row;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link FileLogFilter} and {@link LogRecordBatchStatistics}. */
+class FileLogFilterTest {
+
+    private static final int EMPTY_BATCH_SIZE = recordBatchHeaderSize(LOG_MAGIC_VALUE_V2);
+
+    private static final List<Object[]> DATA1_SHIFTED =
+            Arrays.asList(
+                    new Object[] {11, "k"},
+                    new Object[] {12, null},
+                    new Object[] {13, "m"},
+                    new Object[] {14, "n"});
+
+    private @TempDir File tempDir;
+    private BufferAllocator allocator;
+    private ArrowWriterPool writerPool;
+    private TestingSchemaGetter schemaGetter;
+
+    @BeforeEach
+    void setup() {
+        allocator = new RootAllocator(Long.MAX_VALUE);
+        writerPool = new ArrowWriterPool(allocator);
+        schemaGetter = new TestingSchemaGetter(new SchemaInfo(TestData.DATA1_SCHEMA, 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writerPool.close();
+        allocator.close();
+    }
+
+    @Test
+    void testStatistics() throws Exception {
+        MemoryLogRecords records = createRecordsWithStatistics(0L, DATA1_SHIFTED);
+        DefaultLogRecordBatch batch = (DefaultLogRecordBatch) records.batches().iterator().next();
+        batch.ensureValid();
+        // the batches with statistics are written in V2, which can't be read by old clients
+        assertThat(batch.magic()).isEqualTo(LOG_MAGIC_VALUE_V2);
+        assertThat(batch.hasStatistics()).isTrue();
+
+        LogRecordBatchStatistics statistics = batch.statistics(DATA1_ROW_TYPE);
+        assertThat(statistics).isNotNull();
+        assertThat(statistics.getRowCount()).isEqualTo(4);
+        assertThat(statistics.getNullCounts()).containsExactly(0L, 1L);
+        assertThat(statistics.getMinValues().getInt(0)).isEqualTo(11);
+        assertThat(statistics.getMaxValues().getInt(0)).isEqualTo(14);
+        assertThat(statistics.getMinValues().getString(1)).isEqualTo(BinaryString.fromString("k"));
+        assertThat(statistics.getMaxValues().getString(1)).isEqualTo(BinaryString.fromString("n"));
+
+        // the statistics trailer should not break reading the records
+        assertThat(readRecords(records)).containsExactlyElementsOf(DATA1_SHIFTED);
+    }
+
+    @Test
+    void testFilter() throws Exception {
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(
+                        createRecordsWithStatistics(0L, DATA1),
+                        createRecordsWithStatistics(10L, DATA1_SHIFTED));
+        PredicateBuilder builder = new PredicateBuilder(DATA1_ROW_TYPE);
+
+        // the first batch can be skipped
+        LogRecords filtered = doFilter(fileLogRecords, builder.greaterThan(0, 10));
+        List<LogRecordBatch> batches = toList(filtered.batches());
+        assertThat(batches).hasSize(2);
+        LogRecordBatch emptyBatch = batches.get(0);
+        emptyBatch.ensureValid();
+        assertThat(emptyBatch.magic()).isEqualTo(LOG_MAGIC_VALUE_V1);
+        assertThat(emptyBatch.getRecordCount()).isEqualTo(0);
+        assertThat(emptyBatch.sizeInBytes()).isEqualTo(EMPTY_BATCH_SIZE);
+        assertThat(emptyBatch.baseLogOffset()).isEqualTo(0L);
+        assertThat(emptyBatch.nextLogOffset()).isEqualTo(10L);
+        assertThat(readRecords(filtered)).containsExactlyElementsOf(DATA1_SHIFTED);
+
+        // both batches may match
+        filtered = doFilter(fileLogRecords, builder.lessOrEqual(0, 11));
+        assertThat(filtered.sizeInBytes()).isEqualTo(fileLogRecords.sizeInBytes());
+        assertThat(readRecords(filtered)).hasSize(DATA1.size() + DATA1_SHIFTED.size());
+
+        // no batch has null values in the first field
+        filtered = doFilter(fileLogRecords, builder.isNull(0));
+        assertThat(filtered.sizeInBytes()).isEqualTo(2 * EMPTY_BATCH_SIZE);
+        assertThat(readRecords(filtered)).isEmpty();
+
+        // the null count of the second field is recorded
+        filtered = doFilter(fileLogRecords, builder.isNull(1));
+        assertThat(readRecords(filtered)).containsExactlyElementsOf(DATA1_SHIFTED);
+    }
+
+    @Test
+    void testFilterWithMaxBytes() throws Exception {
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(
+                        createRecordsWithStatistics(0L, DATA1),
+                        createRecordsWithStatistics(10L, DATA1_SHIFTED));
+        FileLogFilter filter = new FileLogFilter();
+        filter.setCurrentFilter(
+                schemaGetter,
+                DEFAULT_SCHEMA_ID,
+                new PredicateBuilder(DATA1_ROW_TYPE).greaterThan(0, 10));
+        // only the empty batch of the first batch fits into the max bytes
+        LogRecords filtered =
+                filter.filter(
+                        fileLogRecords.channel(),
+                        0,
+                        fileLogRecords.sizeInBytes(),
+                        EMPTY_BATCH_SIZE + 1);
+        assertThat(filtered.sizeInBytes()).isEqualTo(EMPTY_BATCH_SIZE);
+    }
+
+    @Test
+    void testFilterStopsOnceFetchSizeReached() throws Exception {
+        MemoryLogRecords matchingRecords = createRecordsWithStatistics(0L, DATA1);
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(
+                        matchingRecords,
+                        createRecordsWithStatistics(10L, DATA1_SHIFTED),
+                        createRecordsWithStatistics(14L, DATA1_SHIFTED),
+                        createRecordsWithStatistics(18L, DATA1_SHIFTED));
+        FileLogFilter filter = new FileLogFilter();
+        filter.setCurrentFilter(
+                schemaGetter,
+                DEFAULT_SCHEMA_ID,
+                new PredicateBuilder(DATA1_ROW_TYPE).lessThan(0, 5));
+        // all the empty batches fit into the max bytes, but the scan stops once the scanned bytes
+        // exceed the max bytes after the matching batch is collected
+        LogRecords filtered =
+                filter.filter(
+                        fileLogRecords.channel(),
+                        0,
+                        fileLogRecords.sizeInBytes(),
+                        matchingRecords.sizeInBytes() + 3 * EMPTY_BATCH_SIZE);
+        List<LogRecordBatch> batches = toList(filtered.batches());
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0).getRecordCount()).isEqualTo(DATA1.size());
+        assertThat(batches.get(1).getRecordCount()).isEqualTo(0);
+        assertThat(batches.get(1).nextLogOffset()).isEqualTo(14L);
+
+        // the batches are skipped until a matching batch is found
+        filter.setCurrentFilter(
+                schemaGetter,
+                DEFAULT_SCHEMA_ID,
+                new PredicateBuilder(DATA1_ROW_TYPE).greaterThan(0, 20));
+        filtered =
+                filter.filter(
+                        fileLogRecords.channel(),
+                        0,
+                        fileLogRecords.sizeInBytes(),
+                        matchingRecords.sizeInBytes());
+        assertThat(filtered.sizeInBytes()).isEqualTo(4 * EMPTY_BATCH_SIZE);
+    }
+
+    @Test
+    void testFilterBatchesWithoutStatistics() throws Exception {
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(
+                        createRecordsWithoutBaseLogOffset(
+                                DATA1_ROW_TYPE,
+                                DEFAULT_SCHEMA_ID,
+                                0L,
+                                System.currentTimeMillis(),
+                                LOG_MAGIC_VALUE_V1,
+                                DATA1,
+                                LogFormat.ARROW));
+        LogRecords filtered =
+                doFilter(fileLogRecords, new PredicateBuilder(DATA1_ROW_TYPE).greaterThan(0, 10));
+        assertThat(filtered.sizeInBytes()).isEqualTo(fileLogRecords.sizeInBytes());
+        assertThat(readRecords(filtered)).containsExactlyElementsOf(DATA1);
+    }
+
+    @Test
+    void testFilterWithSchemaMismatch() throws Exception {
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(createRecordsWithStatistics(0L, DATA1));
+        FileLogFilter filter = new FileLogFilter();
+        // the field indexes of a filter of another schema can't be applied on the batches
+        filter.setCurrentFilter(
+                schemaGetter,
+                DEFAULT_SCHEMA_ID + 1,
+                new PredicateBuilder(DATA1_ROW_TYPE).greaterThan(0, 10));
+        LogRecords filtered =
+                filter.filter(
+                        fileLogRecords.channel(),
+                        0,
+                        fileLogRecords.sizeInBytes(),
+                        Integer.MAX_VALUE);
+        assertThat(readRecords(filtered)).containsExactlyElementsOf(DATA1);
+    }
+
+    @Test
+    void testProjectWithFilter() throws Exception {
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(
+                        createRecordsWithStatistics(0L, DATA1),
+                        createRecordsWithStatistics(10L, DATA1_SHIFTED));
+        FileLogProjection projection = new FileLogProjection(new ProjectionPushdownCache());
+        projection.setCurrentProjection(1L, schemaGetter, DEFAULT_COMPRESSION, new int[] {1});
+        FileLogFilter filter = new FileLogFilter();
+        filter.setCurrentFilter(
+                schemaGetter,
+                DEFAULT_SCHEMA_ID,
+                new PredicateBuilder(DATA1_ROW_TYPE).lessThan(0, 5));
+
+        LogRecords projected =
+                projection.project(
+                        fileLogRecords.channel(),
+                        0,
+                        fileLogRecords.sizeInBytes(),
+                        Integer.MAX_VALUE,
+                        filter);
+        List<LogRecordBatch> batches = toList(projected.batches());
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0).getRecordCount()).isEqualTo(DATA1.size());
+        assertThat(batches.get(1).getRecordCount()).isEqualTo(0);
+        assertThat(batches.get(1).nextLogOffset()).isEqualTo(14L);
+        // the projected batches don't carry the statistics anymore, so are sent in V1
+        assertThat(((DefaultLogRecordBatch) batches.get(0)).hasStatistics()).isFalse();
+        assertThat(batches.get(0).magic()).isEqualTo(LOG_MAGIC_VALUE_V1);
+        assertThat(batches.get(1).magic()).isEqualTo(LOG_MAGIC_VALUE_V1);
+    }
+
+    // ----------------------------------------------------------------------------------------
+
+    private MemoryLogRecords createRecordsWithStatistics(long baseOffset, List<Object[]> data)
+            throws Exception {
+        ArrowWriter writer =
+                writerPool.getOrCreateWriter(
+                        1L, DEFAULT_SCHEMA_ID, 1024 * 10, DATA1_ROW_TYPE, DEFAULT_COMPRESSION);
+        MemoryLogRecordsArrowBuilder builder =
+                MemoryLogRecordsArrowBuilder.builder(
+                        DEFAULT_SCHEMA_ID,
+                        writer,
+                        new ManagedPagedOutputView(new TestingMemorySegmentPool(1024 * 10)),
+                        true,
+                        true);
+        for (Object[] objects : data) {
+            builder.append(ChangeType.APPEND_ONLY, row(objects));
+        }
+        builder.close();
+        MemoryLogRecords records = MemoryLogRecords.pointToBytesView(builder.build());
+        for (LogRecordBatch batch : records.batches()) {
+            ((DefaultLogRecordBatch) batch).setBaseLogOffset(baseOffset);
+        }
+        builder.recycleArrowWriter();
+        return records;
+    }
+
+    private FileLogRecords createFileLogRecords(MemoryLogRecords... records) throws Exception {
+        FileLogRecords fileLogRecords = FileLogRecords.open(new File(tempDir, "test.tmp"));
+        for (MemoryLogRecords memoryLogRecords : records) {
+            fileLogRecords.append(memoryLogRecords);
+        }
+        fileLogRecords.flush();
+        return fileLogRecords;
+    }
+
+    private LogRecords doFilter(FileLogRecords fileLogRecords, Predicate predicate)
+            throws Exception {
+        FileLogFilter filter = new FileLogFilter();
+        filter.setCurrentFilter(schemaGetter, DEFAULT_SCHEMA_ID, predicate);
+        return filter.filter(
+                fileLogRecords.channel(), 0, fileLogRecords.sizeInBytes(), Integer.MAX_VALUE);
+    }
+
+    private List<Object[]> readRecords(LogRecords records) throws Exception {
+        List<Object[]> results = new ArrayList<>();
+        try (LogRecordReadContext context =
+                createArrowReadContext(DATA1_ROW_TYPE, DEFAULT_SCHEMA_ID, schemaGetter)) {
+            for (LogRecordBatch batch : records.batches()) {
+                batch.ensureValid();
+                try (CloseableIterator<LogRecord> iterator = batch.records(context)) {
+                    while (iterator.hasNext()) {
+                        InternalRow row = iterator.next().getRow();
+                        results.add(
+                                new Object[] {
+                                    row.getInt(0),
+                                    row.isNullAt(1) ? null : row.getString(1).toString()
+                                });
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private static List<LogRecordBatch> toList(Iterable<LogRecordBatch> batches) {
+        List<LogRecordBatch> list = new ArrayList<>();
+        batches.forEach(list::add);
+        return list;
+    }
+}
@@ -19,9 +19,15 @@ package org.apache.fluss.record;
 
 import org.apache.fluss.exception.InvalidColumnProjectionException;
 import org.apache.fluss.exception.SchemaNotExistException;
+import org.apache.fluss.memory.ManagedPagedOutputView;
+import org.apache.fluss.memory.TestingMemorySegmentPool;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.SchemaInfo;
 import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.arrow.ArrowWriter;
+import org.apache.fluss.row.arrow.ArrowWriterPool;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
 import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.CloseableIterator;
 
@@ -35,8 +41,14 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.EOFException;
 import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -45,12 +57,14 @@ import java.util.stream.Stream;
 import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V0;
 import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V2;
 import static org.apache.fluss.record.LogRecordBatchFormat.MAGIC_OFFSET;
 import static org.apache.fluss.record.LogRecordBatchFormat.V0_RECORD_BATCH_HEADER_SIZE;
 import static org.apache.fluss.record.LogRecordBatchFormat.V1_RECORD_BATCH_HEADER_SIZE;
 import static org.apache.fluss.record.LogRecordReadContext.createArrowReadContext;
 import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
 import static org.apache.fluss.testutils.DataTestUtils.createRecordsWithoutBaseLogOffset;
+import static org.apache.fluss.testutils.DataTestUtils.row;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
@@ -258,6 +272,75 @@ class FileLogProjectionTest {
         assertEquals(results, expected);
     }
 
+    @Test
+    void testProjectDictionaryEncodedBatches() throws Exception {
+        List<Object[]> allData = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            allData.add(
+                    new Object[] {i, i % 5 == 0 ? null : "status-" + (i % 3), "type-" + (i % 2)});
+        }
+        MemoryLogRecords records = createDictionaryEncodedRecords(0L, allData.subList(0, 50));
+        // the dictionary encoded batches are written in V2, which can't be read by old clients
+        DefaultLogRecordBatch batch = (DefaultLogRecordBatch) records.batches().iterator().next();
+        assertThat(batch.magic()).isEqualTo(LOG_MAGIC_VALUE_V2);
+        assertThat(batch.isDictionaryEncoded()).isTrue();
+        FileLogRecords fileLogRecords = FileLogRecords.open(new File(tempDir, "test.tmp"));
+        fileLogRecords.append(records);
+        fileLogRecords.append(createDictionaryEncodedRecords(50L, allData.subList(50, 100)));
+        fileLogRecords.flush();
+
+        // the dictionaries of the projected columns are renumbered by the projected positions
+        int[][] projections = {{0}, {2}, {0, 2}, {1, 2}, {0, 1, 2}};
+        for (int[] projectedFields : projections) {
+            List<Object[]> results =
+                    doProjection(
+                            1L,
+                            2,
+                            new FileLogProjection(new ProjectionPushdownCache()),
+                            fileLogRecords,
+                            projectedFields,
+                            Integer.MAX_VALUE);
+            List<Object[]> expected = new ArrayList<>();
+            for (Object[] data : allData) {
+                Object[] objs = new Object[projectedFields.length];
+                for (int j = 0; j < projectedFields.length; j++) {
+                    objs[j] = data[projectedFields[j]];
+                }
+                expected.add(objs);
+            }
+            assertEquals(results, expected);
+        }
+
+        // the projected batches are sent in V1 if none of the projected columns is encoded
+        FileLogProjection projection = new FileLogProjection(new ProjectionPushdownCache());
+        projection.setCurrentProjection(
+                1L, testingSchemaGetter, DEFAULT_COMPRESSION, new int[] {0});
+        for (LogRecordBatch projected :
+                projection
+                        .project(
+                                fileLogRecords.channel(),
+                                0,
+                                fileLogRecords.sizeInBytes(),
+                                Integer.MAX_VALUE)
+                        .batches()) {
+            assertThat(projected.magic()).isEqualTo(LOG_MAGIC_VALUE_V1);
+            assertThat(((DefaultLogRecordBatch) projected).isDictionaryEncoded()).isFalse();
+        }
+        projection.setCurrentProjection(
+                1L, testingSchemaGetter, DEFAULT_COMPRESSION, new int[] {0, 2});
+        for (LogRecordBatch projected :
+                projection
+                        .project(
+                                fileLogRecords.channel(),
+                                0,
+                                fileLogRecords.sizeInBytes(),
+                                Integer.MAX_VALUE)
+                        .batches()) {
+            assertThat(projected.magic()).isEqualTo(LOG_MAGIC_VALUE_V2);
+            assertThat(((DefaultLogRecordBatch) projected).isDictionaryEncoded()).isTrue();
+        }
+    }
+
     @ParameterizedTest
     @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
     void testIllegalByteOrder(byte recordBatchMagic) throws Exception {
@@ -412,6 +495,123 @@ class FileLogProjectionTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(bytes = {LOG_MAGIC_VALUE_V0, LOG_MAGIC_VALUE_V1})
+    void testProjectMappedWindowsToEndOfFile(byte recordBatchMagic) throws Exception {
+        // batches of about 100KB, so the scanned range spans multiple mapped windows of 1MB
+        List<Object[]> allData = new ArrayList<>();
+        List<List<Object[]>> inputs = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            List<Object[]> input = new ArrayList<>();
+            for (int j = 0; j < 1000; j++) {
+                String b = "";
+                for (int k = 0; k < 4; k++) {
+                    b += UUID.randomUUID();
+                }
+                input.add(new Object[] {i * 1000 + j, b});
+            }
+            inputs.add(input);
+            allData.addAll(input);
+        }
+        @SuppressWarnings("unchecked")
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(
+                        recordBatchMagic, TestData.DATA1_ROW_TYPE, inputs.toArray(new List[0]));
+        assertThat(fileLogRecords.sizeInBytes()).isGreaterThan(2 * 1024 * 1024);
+
+        // append a partial batch, the last window is mapped up to the end of the file
+        MemoryLogRecords partialBatch =
+                createRecordsWithoutBaseLogOffset(
+                        TestData.DATA1_ROW_TYPE,
+                        DEFAULT_SCHEMA_ID,
+                        allData.size(),
+                        System.currentTimeMillis(),
+                        recordBatchMagic,
+                        TestData.DATA1,
+                        LogFormat.ARROW);
+        ByteBuffer partialBuffer =
+                partialBatch.getMemorySegment().wrap(partialBatch.getPosition(), 100);
+        fileLogRecords.channel().write(partialBuffer, fileLogRecords.sizeInBytes());
+        int end = (int) fileLogRecords.channel().size();
+
+        FileLogProjection projection = new FileLogProjection(new ProjectionPushdownCache());
+        projection.setCurrentProjection(
+                1L, testingSchemaGetter, DEFAULT_COMPRESSION, new int[] {0});
+        LogRecords projected = projection.project(fileLogRecords.channel(), 0, end, 1024 * 1024);
+        List<Object[]> results = new ArrayList<>();
+        try (LogRecordReadContext context =
+                createArrowReadContext(
+                        TestData.DATA1_ROW_TYPE.project(new int[] {0}),
+                        DEFAULT_SCHEMA_ID,
+                        testingSchemaGetter,
+                        true)) {
+            for (LogRecordBatch batch : projected.batches()) {
+                try (CloseableIterator<LogRecord> records = batch.records(context)) {
+                    while (records.hasNext()) {
+                        results.add(new Object[] {records.next().getRow().getInt(0)});
+                    }
+                }
+            }
+        }
+        List<Object[]> expected = new ArrayList<>();
+        for (Object[] data : allData) {
+            expected.add(new Object[] {data[0]});
+        }
+        assertEquals(results, expected);
+        fileLogRecords.close();
+    }
+
+    @Test
+    void testProjectTruncatedFile() throws Exception {
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(
+                        LOG_MAGIC_VALUE_V1,
+                        TestData.DATA1_ROW_TYPE,
+                        TestData.DATA1,
+                        TestData.ANOTHER_DATA1);
+        int end = fileLogRecords.sizeInBytes();
+        fileLogRecords.channel().truncate(end / 2);
+
+        FileLogProjection projection = new FileLogProjection(new ProjectionPushdownCache());
+        projection.setCurrentProjection(
+                1L, testingSchemaGetter, DEFAULT_COMPRESSION, new int[] {0, 1});
+        assertThatThrownBy(
+                        () ->
+                                projection.project(
+                                        fileLogRecords.channel(), 0, end, Integer.MAX_VALUE))
+                .isInstanceOf(EOFException.class)
+                .hasMessageContaining("the file has been truncated to " + end / 2 + " bytes");
+        // the truncated file must not be extended by the mapping
+        assertThat(fileLogRecords.channel().size()).isEqualTo(end / 2);
+        fileLogRecords.close();
+    }
+
+    @Test
+    void testProjectTruncatedWhileReading() throws Exception {
+        FileLogRecords fileLogRecords =
+                createFileLogRecords(
+                        LOG_MAGIC_VALUE_V1,
+                        TestData.DATA1_ROW_TYPE,
+                        TestData.DATA1,
+                        TestData.ANOTHER_DATA1);
+        int end = fileLogRecords.sizeInBytes();
+
+        FileLogProjection projection = new FileLogProjection(new ProjectionPushdownCache());
+        projection.setCurrentProjection(
+                1L, testingSchemaGetter, DEFAULT_COMPRESSION, new int[] {0, 1});
+        assertThatThrownBy(
+                        () ->
+                                projection.project(
+                                        new TruncateAfterMapFileChannel(fileLogRecords.channel()),
+                                        0,
+                                        end,
+                                        Integer.MAX_VALUE))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Failed to read the mapped range [0, " + end + ")")
+                .hasCauseInstanceOf(InternalError.class);
+        fileLogRecords.close();
+    }
+
     private FileLogRecords createFileWithLogHeader(byte magic, int length) throws Exception {
         ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
         buffer.position(MAGIC_OFFSET);
@@ -453,6 +653,34 @@ class FileLogProjectionTest {
         return fileLogRecords;
     }
 
+    /** Creates a batch of {@link TestData#DATA2_ROW_TYPE} with the columns b and c encoded. */
+    private MemoryLogRecords createDictionaryEncodedRecords(long baseLogOffset, List<Object[]> data)
+            throws Exception {
+        try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+                ArrowWriterPool provider = new ArrowWriterPool(allocator)) {
+            ArrowWriter writer =
+                    provider.getOrCreateWriter(
+                            1L,
+                            2,
+                            Integer.MAX_VALUE,
+                            TestData.DATA2_ROW_TYPE,
+                            DEFAULT_COMPRESSION,
+                            new int[] {1, 2});
+            MemoryLogRecordsArrowBuilder builder =
+                    MemoryLogRecordsArrowBuilder.builder(
+                            baseLogOffset,
+                            LOG_MAGIC_VALUE_V2,
+                            2,
+                            writer,
+                            new ManagedPagedOutputView(new TestingMemorySegmentPool(10 * 1024)));
+            for (Object[] objs : data) {
+                builder.append(ChangeType.APPEND_ONLY, row(objs));
+            }
+            builder.close();
+            return MemoryLogRecords.pointToBytesView(builder.build());
+        }
+    }
+
     private List<Object[]> doProjection(
             FileLogProjection projection,
             FileLogRecords fileLogRecords,
@@ -524,4 +752,107 @@ class FileLogProjectionTest {
             assertThat(actual.get(i)).isEqualTo(expected.get(i));
         }
     }
+
+    /**
+     * A {@link FileChannel} which truncates the file to the start of a mapped region right after
+     * mapping it, to simulate a truncation of the file while the mapped region is being read.
+     */
+    private static final class TruncateAfterMapFileChannel extends FileChannel {
+        private final FileChannel delegate;
+
+        private TruncateAfterMapFileChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            MappedByteBuffer mapped = delegate.map(mode, position, size);
+            delegate.truncate(position);
+            return mapped;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target)
+                throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count)
+                throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() {
+            // the delegate is closed by its owner
+        }
+    }
 }
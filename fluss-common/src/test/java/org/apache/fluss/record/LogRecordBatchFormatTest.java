@@ -78,4 +78,20 @@ public class LogRecordBatchFormatTest {
         assertThat(recordBatchHeaderSize(magic)).isEqualTo(52);
         assertThat(arrowChangeTypeOffset(magic)).isEqualTo(52);
     }
+
+    @Test
+    void testLogRecordBatchFormatForMagicV2() {
+        // the header of V2 is the same as V1
+        byte magic = (byte) 2;
+        assertThat(leaderEpochOffset(magic)).isEqualTo(21);
+        assertThat(crcOffset(magic)).isEqualTo(25);
+        assertThat(schemaIdOffset(magic)).isEqualTo(29);
+        assertThat(attributeOffset(magic)).isEqualTo(31);
+        assertThat(lastOffsetDeltaOffset(magic)).isEqualTo(32);
+        assertThat(writeClientIdOffset(magic)).isEqualTo(36);
+        assertThat(batchSequenceOffset(magic)).isEqualTo(44);
+        assertThat(recordsCountOffset(magic)).isEqualTo(48);
+        assertThat(recordBatchHeaderSize(magic)).isEqualTo(52);
+        assertThat(arrowChangeTypeOffset(magic)).isEqualTo(52);
+    }
 }
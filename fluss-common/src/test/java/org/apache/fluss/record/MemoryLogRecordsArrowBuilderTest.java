@@ -257,6 +257,34 @@ public class MemoryLogRecordsArrowBuilderTest {
         writer1.close();
     }
 
+    @Test
+    void testStatisticsCountedInBatchSize() throws Exception {
+        int plainRecordCount = appendUntilFull(false);
+        int statisticsRecordCount = appendUntilFull(true);
+        // the statistics trailer takes a part of the batch size
+        assertThat(statisticsRecordCount).isLessThan(plainRecordCount);
+    }
+
+    private int appendUntilFull(boolean statisticsEnabled) throws Exception {
+        ArrowWriter writer =
+                provider.getOrCreateWriter(
+                        1L, DEFAULT_SCHEMA_ID, 1024, DATA1_ROW_TYPE, NO_COMPRESSION);
+        MemoryLogRecordsArrowBuilder builder =
+                MemoryLogRecordsArrowBuilder.builder(
+                        DEFAULT_SCHEMA_ID,
+                        writer,
+                        new ManagedPagedOutputView(new TestingMemorySegmentPool(1024)),
+                        true,
+                        statisticsEnabled);
+        int recordCount = 0;
+        while (!builder.isFull()) {
+            builder.append(ChangeType.APPEND_ONLY, row(DATA1.get(recordCount % DATA1.size())));
+            recordCount++;
+        }
+        builder.close();
+        return recordCount;
+    }
+
     @ParameterizedTest
     @MethodSource("magicAndExpectedBatchSize")
     void testNoRecordAppend(byte recordBatchMagic, int expectedBatchSize) throws Exception {
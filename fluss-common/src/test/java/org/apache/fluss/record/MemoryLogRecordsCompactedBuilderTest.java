@@ -17,12 +17,16 @@
 
 package org.apache.fluss.record;
 
+import org.apache.fluss.compression.RowCompressionInfo;
+import org.apache.fluss.compression.RowCompressionType;
 import org.apache.fluss.memory.ManagedPagedOutputView;
 import org.apache.fluss.memory.TestingMemorySegmentPool;
 import org.apache.fluss.row.compacted.CompactedRow;
 import org.apache.fluss.utils.CloseableIterator;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -32,6 +36,7 @@ import java.util.List;
 import static org.apache.fluss.record.ChangeType.APPEND_ONLY;
 import static org.apache.fluss.record.TestData.BASE_OFFSET;
 import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DATA1_SCHEMA;
 import static org.apache.fluss.record.TestData.DEFAULT_MAGIC;
 import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
 import static org.apache.fluss.testutils.DataTestUtils.compactedRow;
@@ -71,7 +76,9 @@ class MemoryLogRecordsCompactedBuilderTest {
 
         try (LogRecordReadContext ctx =
                         LogRecordReadContext.createCompactedRowReadContext(
-                                DATA1_ROW_TYPE, DEFAULT_SCHEMA_ID);
+                                DATA1_ROW_TYPE,
+                                DEFAULT_SCHEMA_ID,
+                                new TestingSchemaGetter(DEFAULT_SCHEMA_ID, DATA1_SCHEMA));
                 CloseableIterator<LogRecord> recIt = batch.records(ctx)) {
             for (CompactedRow expRow : expected) {
                 assertThat(recIt.hasNext()).isTrue();
@@ -127,7 +134,9 @@ class MemoryLogRecordsCompactedBuilderTest {
             assertThat(batch.nextLogOffset()).isEqualTo(1);
             try (LogRecordReadContext ctx =
                             LogRecordReadContext.createCompactedRowReadContext(
-                                    DATA1_ROW_TYPE, DEFAULT_SCHEMA_ID);
+                                    DATA1_ROW_TYPE,
+                                    DEFAULT_SCHEMA_ID,
+                                    new TestingSchemaGetter(DEFAULT_SCHEMA_ID, DATA1_SCHEMA));
                     CloseableIterator<LogRecord> it = batch.records(ctx)) {
                 assertThat(it.hasNext()).isFalse();
             }
@@ -146,7 +155,9 @@ class MemoryLogRecordsCompactedBuilderTest {
             assertThat(batch.nextLogOffset()).isEqualTo(101);
             try (LogRecordReadContext ctx =
                             LogRecordReadContext.createCompactedRowReadContext(
-                                    DATA1_ROW_TYPE, DEFAULT_SCHEMA_ID);
+                                    DATA1_ROW_TYPE,
+                                    DEFAULT_SCHEMA_ID,
+                                    new TestingSchemaGetter(DEFAULT_SCHEMA_ID, DATA1_SCHEMA));
                     CloseableIterator<LogRecord> it = batch.records(ctx)) {
                 assertThat(it.hasNext()).isFalse();
             }
@@ -177,6 +188,66 @@ class MemoryLogRecordsCompactedBuilderTest {
         assertThat(batch.batchSequence()).isEqualTo(1);
     }
 
+    @ParameterizedTest
+    @EnumSource(
+            value = RowCompressionType.class,
+            names = {"LZ4_FRAME", "ZSTD"})
+    void testAppendAndBuildWithCompression(RowCompressionType compressionType) throws Exception {
+        // the records span multiple pages
+        int pageSize = 1024;
+        MemoryLogRecordsCompactedBuilder builder =
+                MemoryLogRecordsCompactedBuilder.builder(
+                        DEFAULT_SCHEMA_ID,
+                        100 * pageSize,
+                        new ManagedPagedOutputView(new TestingMemorySegmentPool(pageSize)),
+                        true,
+                        new RowCompressionInfo(
+                                compressionType,
+                                compressionType == RowCompressionType.ZSTD ? 3 : -1));
+
+        List<CompactedRow> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            CompactedRow row = compactedRow(DATA1_ROW_TYPE, new Object[] {i, "value-" + i % 10});
+            assertThat(builder.hasRoomFor(row)).isTrue();
+            builder.append(APPEND_ONLY, row);
+            expected.add(row);
+        }
+        int uncompressedSize = builder.getSizeInBytes();
+        builder.setWriterState(7L, 13);
+        builder.close();
+        MemoryLogRecords records = MemoryLogRecords.pointToBytesView(builder.build());
+        assertThat(records.sizeInBytes())
+                .isEqualTo(builder.getSizeInBytes())
+                .isLessThan(uncompressedSize / 2);
+
+        // rebuild the header of the compressed batch
+        builder.resetWriterState(7L, 14);
+        records = MemoryLogRecords.pointToBytesView(builder.build());
+        Iterator<LogRecordBatch> it = records.batches().iterator();
+        DefaultLogRecordBatch batch = (DefaultLogRecordBatch) it.next();
+        assertThat(it.hasNext()).isFalse();
+        batch.ensureValid();
+        assertThat(batch.compressionType()).isEqualTo(compressionType);
+        assertThat(batch.getRecordCount()).isEqualTo(expected.size());
+        assertThat(batch.batchSequence()).isEqualTo(14);
+
+        try (LogRecordReadContext ctx =
+                        LogRecordReadContext.createCompactedRowReadContext(
+                                DATA1_ROW_TYPE,
+                                DEFAULT_SCHEMA_ID,
+                                new TestingSchemaGetter(DEFAULT_SCHEMA_ID, DATA1_SCHEMA));
+                CloseableIterator<LogRecord> recIt = batch.records(ctx)) {
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(recIt.hasNext()).isTrue();
+                LogRecord rec = recIt.next();
+                assertThat(rec.logOffset()).isEqualTo(i);
+                assertThat(rec.getChangeType()).isEqualTo(APPEND_ONLY);
+                assertThat(rec.getRow()).isEqualTo(expected.get(i));
+            }
+            assertThat(recIt.hasNext()).isFalse();
+        }
+    }
+
     private MemoryLogRecordsCompactedBuilder createBuilder(
             long baseOffset, int maxPages, int pageSizeInBytes) throws IOException {
         return MemoryLogRecordsCompactedBuilder.builder(
@@ -32,16 +32,24 @@ import org.apache.fluss.row.columnar.ColumnarRow;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.ReadChannel;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowMessage;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.vector.ipc.message.MessageSerializer;
 import org.apache.fluss.types.DataType;
 import org.apache.fluss.types.DataTypes;
 import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.ArrowUtils;
+import org.apache.fluss.utils.ByteBufferReadableChannel;
 
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
 import static org.apache.fluss.compression.ArrowCompressionInfo.NO_COMPRESSION;
@@ -253,6 +261,111 @@ class ArrowReaderWriterTest {
         }
     }
 
+    @Test
+    void testDictionaryEncodedReaderWriter() throws Exception {
+        RowType rowType =
+                DataTypes.ROW(
+                        DataTypes.FIELD("id", DataTypes.INT()),
+                        DataTypes.FIELD("country", DataTypes.STRING()),
+                        DataTypes.FIELD("code", DataTypes.CHAR(3)),
+                        DataTypes.FIELD("uuid", DataTypes.STRING()));
+        // more rows than the initial capacity of the vectors
+        List<InternalRow> rows = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            rows.add(
+                    GenericRow.of(
+                            i,
+                            i % 10 == 0 ? null : fromString("country-" + (i % 7)),
+                            fromString("c" + (i % 3)),
+                            fromString(UUID.randomUUID().toString())));
+        }
+
+        try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+                VectorSchemaRoot root =
+                        VectorSchemaRoot.create(ArrowUtils.toArrowSchema(rowType), allocator);
+                ArrowWriterPool provider = new ArrowWriterPool(allocator);
+                ArrowWriter plainWriter =
+                        provider.getOrCreateWriter(
+                                1L, 1, Integer.MAX_VALUE, rowType, DEFAULT_COMPRESSION);
+                ArrowWriter encodedWriter =
+                        provider.getOrCreateWriter(
+                                1L,
+                                1,
+                                Integer.MAX_VALUE,
+                                rowType,
+                                DEFAULT_COMPRESSION,
+                                new int[] {1, 2, 3})) {
+            for (InternalRow row : rows) {
+                plainWriter.writeRow(row);
+                encodedWriter.writeRow(row);
+            }
+            AbstractPagedOutputView plainOutputView =
+                    new ManagedPagedOutputView(new TestingMemorySegmentPool(1024 * 1024));
+            int plainSize = plainWriter.serializeToOutputView(plainOutputView, 0);
+            AbstractPagedOutputView encodedOutputView =
+                    new ManagedPagedOutputView(new TestingMemorySegmentPool(1024 * 1024));
+            int encodedSize = encodedWriter.serializeToOutputView(encodedOutputView, 0);
+            assertThat(encodedSize).isLessThan(plainSize);
+            assertThat(plainWriter.isDictionaryEncoded()).isFalse();
+            assertThat(encodedWriter.isDictionaryEncoded()).isTrue();
+
+            // the uuid column is not encoded as the values are distinct
+            MemorySegment encodedSegment = encodedOutputView.getCurrentSegment();
+            try (ReadChannel channel =
+                    new ReadChannel(
+                            new ByteBufferReadableChannel(encodedSegment.wrap(0, encodedSize)))) {
+                List<Object> messages = new ArrayList<>();
+                ArrowMessage message;
+                while ((message = MessageSerializer.deserializeMessageBatch(channel, allocator))
+                        != null) {
+                    messages.add(
+                            message instanceof ArrowDictionaryBatch
+                                    ? ((ArrowDictionaryBatch) message).getDictionaryId()
+                                    : message.getClass());
+                    message.close();
+                }
+                assertThat(messages).containsExactly(1L, 2L, ArrowRecordBatch.class);
+            }
+
+            // the encoded and plain batches are read into the same root
+            MemorySegment plainSegment = plainOutputView.getCurrentSegment();
+            for (int i = 0; i < 2; i++) {
+                ArrowReader reader =
+                        ArrowUtils.createArrowReader(
+                                encodedSegment, 0, encodedSize, root, allocator, rowType);
+                assertThat(reader.getRowCount()).isEqualTo(rows.size());
+                for (int rowId = 0; rowId < rows.size(); rowId++) {
+                    assertThatRow(reader.read(rowId))
+                            .withSchema(rowType)
+                            .isEqualTo(rows.get(rowId));
+                }
+                reader =
+                        ArrowUtils.createArrowReader(
+                                plainSegment, 0, plainSize, root, allocator, rowType);
+                for (int rowId = 0; rowId < rows.size(); rowId++) {
+                    assertThatRow(reader.read(rowId))
+                            .withSchema(rowType)
+                            .isEqualTo(rows.get(rowId));
+                }
+            }
+
+            // the dictionaries are rejected if the batch is not marked as dictionary encoded
+            assertThatThrownBy(
+                            () ->
+                                    ArrowUtils.createArrowReader(
+                                            encodedSegment,
+                                            0,
+                                            encodedSize,
+                                            root,
+                                            allocator,
+                                            rowType,
+                                            false))
+                    .hasRootCauseMessage(
+                            "Unexpected Arrow dictionary batch in a batch which is not marked as "
+                                    + "dictionary encoded.");
+        }
+    }
+
     @Test
     void testWriterExceedMaxSizeInBytes() {
         try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
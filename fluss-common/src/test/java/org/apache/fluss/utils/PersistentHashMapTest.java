@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link PersistentHashMap}. */
+class PersistentHashMapTest {
+
+    @Test
+    void testPlusAndMinus() {
+        PersistentHashMap<String, Integer> empty = PersistentHashMap.empty();
+        PersistentHashMap<String, Integer> map1 = empty.plus("a", 1).plus("b", 2);
+        PersistentHashMap<String, Integer> map2 = map1.plus("a", 3).minus("b");
+
+        assertThat(empty).isEmpty();
+        assertThat(map1).hasSize(2).containsEntry("a", 1).containsEntry("b", 2);
+        assertThat(map2).hasSize(1).containsEntry("a", 3).doesNotContainKey("b");
+        assertThat(map2.get("b")).isNull();
+        assertThat(map2.get(null)).isNull();
+
+        // no-op updates return the same map
+        Integer value = 1;
+        PersistentHashMap<String, Integer> map3 = empty.plus("a", value);
+        assertThat(map3.plus("a", value)).isSameAs(map3);
+        assertThat(map3.minus("c")).isSameAs(map3);
+        assertThat(map3.minus("a")).isEmpty();
+        assertThat(PersistentHashMap.copyOf(map3)).isSameAs(map3);
+    }
+
+    @Test
+    void testHashCollisions() {
+        PersistentHashMap<CollidingKey, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 10; i++) {
+            // keys 0, 2, 4, ... and 1, 3, 5, ... have the same hash
+            map = map.plus(new CollidingKey(i, i % 2), i);
+        }
+        assertThat(map).hasSize(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(map.get(new CollidingKey(i, i % 2))).isEqualTo(i);
+        }
+        assertThat(map.get(new CollidingKey(10, 0))).isNull();
+
+        for (int i = 0; i < 10; i += 2) {
+            map = map.minus(new CollidingKey(i, 0));
+        }
+        assertThat(map).hasSize(5);
+        for (int i = 0; i < 10; i++) {
+            assertThat(map.containsKey(new CollidingKey(i, i % 2))).isEqualTo(i % 2 == 1);
+        }
+    }
+
+    @Test
+    void testRandomOperations() {
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        PersistentHashMap<Integer, Integer> previousMap = map;
+        Map<Integer, Integer> previousExpected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, i);
+                map = map.plus(key, i);
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+            if (i % 1_000 == 0) {
+                assertThat(map).isEqualTo(expected);
+                // the previous versions are not affected by the updates
+                assertThat(previousMap).isEqualTo(previousExpected);
+                previousMap = map;
+                previousExpected = new HashMap<>(expected);
+            }
+        }
+        assertThat(map).isEqualTo(expected);
+        assertThat(new HashMap<>(map)).isEqualTo(expected);
+        assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+    }
+
+    private static final class CollidingKey {
+        private final int id;
+        private final int hash;
+
+        private CollidingKey(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hash);
+        }
+    }
+}
@@ -17,6 +17,8 @@
 
 package org.apache.fluss.flink.source;
 
+import org.apache.fluss.aggregate.AggregateCall;
+import org.apache.fluss.aggregate.GroupAggregator;
 import org.apache.fluss.client.initializer.OffsetsInitializer;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
@@ -71,6 +73,7 @@ import org.apache.flink.table.connector.source.lookup.cache.LookupCache;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.expressions.AggregateExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
 import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.functions.AsyncLookupFunction;
 import org.apache.flink.table.functions.FunctionDefinition;
@@ -114,6 +117,9 @@ public class FlinkTableSource
 
     public static final Logger LOG = LoggerFactory.getLogger(FlinkTableSource.class);
 
+    private static final String AGG_FUNCTIONS_PACKAGE =
+            "org.apache.flink.table.planner.functions.aggfunctions.";
+
     private final TablePath tablePath;
     private final Configuration flussConfig;
     // output type before projection pushdown
@@ -149,6 +155,10 @@ public class FlinkTableSource
     // count(*) push down
     private boolean selectRowCount = false;
 
+    // grouped aggregate push down, the group by columns refer to the table schema
+    @Nullable private int[] aggregateGroupBy;
+    @Nullable private List<AggregateCall> aggregateCalls;
+
     private long limit = -1;
 
     @Nullable private Predicate partitionFilters;
@@ -263,7 +273,7 @@ public class FlinkTableSource
     @Override
     public ScanRuntimeProvider getScanRuntimeProvider(ScanContext scanContext) {
         // handle single row filter scan
-        if (singleRowFilter != null || limit > 0 || selectRowCount) {
+        if (singleRowFilter != null || limit > 0 || selectRowCount || aggregateCalls != null) {
             Collection<RowData> results;
             if (singleRowFilter != null) {
                 results =
@@ -278,6 +288,14 @@ public class FlinkTableSource
                 results =
                         PushdownUtils.limitScan(
                                 tablePath, flussConfig, tableOutputType, projectedFields, limit);
+            } else if (aggregateCalls != null) {
+                results =
+                        PushdownUtils.aggregateScan(
+                                tablePath,
+                                flussConfig,
+                                aggregateGroupBy,
+                                aggregateCalls,
+                                (org.apache.flink.table.types.logical.RowType) producedDataType);
             } else {
                 results =
                         Collections.singleton(
@@ -476,6 +494,8 @@ public class FlinkTableSource
         source.modificationScanType = modificationScanType;
         source.partitionFilters = partitionFilters;
         source.lakeSource = lakeSource;
+        source.aggregateGroupBy = aggregateGroupBy;
+        source.aggregateCalls = aggregateCalls;
         return source;
     }
 
@@ -618,37 +638,102 @@ public class FlinkTableSource
             List<int[]> groupingSets,
             List<AggregateExpression> aggregateExpressions,
             DataType dataType) {
-        // Only supports 'select count(*)/count(1) from source' for log table now.
         if (streaming
-                || aggregateExpressions.size() != 1
-                || hasPrimaryKey()
                 || groupingSets.size() > 1
-                || (groupingSets.size() == 1 && groupingSets.get(0).length > 0)
-                // The count pushdown feature is not supported when the data lake is enabled.
-                // Otherwise, it'll cause miss count data in lake. But In the future, we can push
-                // down count into lake.
-                || isDataLakeEnabled) {
+                // The aggregate pushdown feature is not supported when the data lake is enabled.
+                // Otherwise, it'll cause miss data in lake. But In the future, we can push down
+                // aggregates into lake.
+                || isDataLakeEnabled
+                // the pushed down aggregates are evaluated over all the rows of the table
+                || singleRowFilter != null
+                || partitionFilters != null
+                || limit > 0) {
             return false;
         }
+        int[] grouping = groupingSets.isEmpty() ? new int[0] : groupingSets.get(0);
+
+        // 'select count(*)/count(1) from source' for log table is answered by the log offsets
+        if (!hasPrimaryKey()
+                && grouping.length == 0
+                && aggregateExpressions.size() == 1
+                && isCountStar(aggregateExpressions.get(0))) {
+            selectRowCount = true;
+            this.producedDataType = dataType.getLogicalType();
+            return true;
+        }
 
-        FunctionDefinition functionDefinition = aggregateExpressions.get(0).getFunctionDefinition();
-        if (!(functionDefinition
-                        .getClass()
-                        .getCanonicalName()
-                        .equals(
-                                "org.apache.flink.table.planner.functions.aggfunctions.CountAggFunction")
-                || functionDefinition
-                        .getClass()
-                        .getCanonicalName()
-                        .equals(
-                                "org.apache.flink.table.planner.functions.aggfunctions.Count1AggFunction"))) {
-            return false;
+        // other aggregates are evaluated per bucket by the tablet servers
+        RowType flussRowType = FlinkConversions.toFlussRowType(tableOutputType);
+        int[] groupBy = new int[grouping.length];
+        for (int i = 0; i < grouping.length; i++) {
+            groupBy[i] = toTableColumn(grouping[i]);
+            if (!GroupAggregator.supportsGrouping(flussRowType.getTypeAt(groupBy[i]))) {
+                return false;
+            }
+        }
+        List<AggregateCall> calls = new ArrayList<>();
+        for (AggregateExpression aggregateExpression : aggregateExpressions) {
+            AggregateCall call = toAggregateCall(aggregateExpression);
+            if (call == null || !call.isSupported(flussRowType)) {
+                return false;
+            }
+            calls.add(call);
         }
-        selectRowCount = true;
+        this.aggregateGroupBy = groupBy;
+        this.aggregateCalls = calls;
         this.producedDataType = dataType.getLogicalType();
         return true;
     }
 
+    private static boolean isCountStar(AggregateExpression aggregateExpression) {
+        String functionName = getFunctionClassName(aggregateExpression);
+        return functionName.equals(AGG_FUNCTIONS_PACKAGE + "Count1AggFunction")
+                || (functionName.equals(AGG_FUNCTIONS_PACKAGE + "CountAggFunction")
+                        && aggregateExpression.getArgs().isEmpty());
+    }
+
+    /** Converts the Flink aggregate expression to the fluss aggregate call, null if unsupported. */
+    @Nullable
+    private AggregateCall toAggregateCall(AggregateExpression aggregateExpression) {
+        if (aggregateExpression.isDistinct()
+                || aggregateExpression.isApproximate()
+                || aggregateExpression.getFilterExpression().isPresent()) {
+            return null;
+        }
+        if (isCountStar(aggregateExpression)) {
+            return AggregateCall.countStar();
+        }
+        List<FieldReferenceExpression> args = aggregateExpression.getArgs();
+        if (args.size() != 1) {
+            return null;
+        }
+        int column = toTableColumn(args.get(0).getFieldIndex());
+        String functionName = getFunctionClassName(aggregateExpression);
+        if (functionName.equals(AGG_FUNCTIONS_PACKAGE + "CountAggFunction")) {
+            return AggregateCall.count(column);
+        } else if (functionName.startsWith(AGG_FUNCTIONS_PACKAGE + "SumAggFunction.")) {
+            // the SUM functions of the types, e.g., SumAggFunction.IntSumAggFunction
+            return AggregateCall.sum(column);
+        } else if (functionName.equals(AGG_FUNCTIONS_PACKAGE + "MinAggFunction")) {
+            return AggregateCall.min(column);
+        } else if (functionName.equals(AGG_FUNCTIONS_PACKAGE + "MaxAggFunction")) {
+            return AggregateCall.max(column);
+        } else {
+            return null;
+        }
+    }
+
+    private static String getFunctionClassName(AggregateExpression aggregateExpression) {
+        FunctionDefinition functionDefinition = aggregateExpression.getFunctionDefinition();
+        String name = functionDefinition.getClass().getCanonicalName();
+        return name == null ? "" : name;
+    }
+
+    /** Maps the index of the produced column to the index of the table column. */
+    private int toTableColumn(int producedIndex) {
+        return projectedFields == null ? producedIndex : projectedFields[producedIndex];
+    }
+
     private Map<Integer, LogicalType> getPrimaryKeyTypes() {
         Map<Integer, LogicalType> pkTypes = new HashMap<>();
         for (int index : primaryKeyIndexes) {
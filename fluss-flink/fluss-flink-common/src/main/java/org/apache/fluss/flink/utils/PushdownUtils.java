@@ -17,6 +17,8 @@
 
 package org.apache.fluss.flink.utils;
 
+import org.apache.fluss.aggregate.AggregateCall;
+import org.apache.fluss.aggregate.GroupAggregator;
 import org.apache.fluss.client.Connection;
 import org.apache.fluss.client.ConnectionFactory;
 import org.apache.fluss.client.admin.Admin;
@@ -308,32 +310,7 @@ public class PushdownUtils {
                 Table table = connection.getTable(tablePath);
                 Admin flussAdmin = connection.getAdmin()) {
             TableInfo tableInfo = flussAdmin.getTableInfo(tablePath).get();
-            int bucketCount = tableInfo.getNumBuckets();
-            List<TableBucket> tableBuckets;
-            if (tableInfo.isPartitioned()) {
-                List<PartitionInfo> partitionInfos = flussAdmin.listPartitionInfos(tablePath).get();
-                tableBuckets =
-                        partitionInfos.stream()
-                                .flatMap(
-                                        partitionInfo ->
-                                                IntStream.range(0, bucketCount)
-                                                        .mapToObj(
-                                                                bucketId ->
-                                                                        new TableBucket(
-                                                                                tableInfo
-                                                                                        .getTableId(),
-                                                                                partitionInfo
-                                                                                        .getPartitionId(),
-                                                                                bucketId)))
-                                .collect(Collectors.toList());
-            } else {
-                tableBuckets =
-                        IntStream.range(0, bucketCount)
-                                .mapToObj(
-                                        bucketId ->
-                                                new TableBucket(tableInfo.getTableId(), bucketId))
-                                .collect(Collectors.toList());
-            }
+            List<TableBucket> tableBuckets = listTableBuckets(flussAdmin, tableInfo);
 
             Scan scan = table.newScan().limit(limit).project(projectedFields);
             List<BatchScanner> scanners =
@@ -364,6 +341,101 @@ public class PushdownUtils {
         }
     }
 
+    /**
+     * Evaluates the given aggregate calls grouped by the given columns over all the buckets of the
+     * table on the tablet servers, and merges the partial results of the buckets.
+     *
+     * @param producedType the Flink type of the result rows, which consists of the group by columns
+     *     followed by the results of the aggregate calls
+     */
+    public static Collection<RowData> aggregateScan(
+            TablePath tablePath,
+            Configuration flussConfig,
+            int[] groupBy,
+            List<AggregateCall> aggregateCalls,
+            RowType producedType) {
+        try (Connection connection = ConnectionFactory.createConnection(flussConfig);
+                Table table = connection.getTable(tablePath);
+                Admin flussAdmin = connection.getAdmin()) {
+            TableInfo tableInfo = flussAdmin.getTableInfo(tablePath).get();
+            Scan scan = table.newScan().aggregate(groupBy, aggregateCalls);
+            // create all the scanners first to evaluate the buckets in parallel
+            List<BatchScanner> scanners =
+                    listTableBuckets(flussAdmin, tableInfo).stream()
+                            .map(scan::createBatchScanner)
+                            .collect(Collectors.toList());
+            GroupAggregator aggregator =
+                    new GroupAggregator(tableInfo.getRowType(), groupBy, aggregateCalls);
+            for (InternalRow partialResult : BatchScanUtils.collectAllRows(scanners)) {
+                aggregator.merge(partialResult);
+            }
+
+            // convert fluss row into flink row, and cast the wider SUM results of fluss
+            FlussRowToFlinkRowConverter converter =
+                    new FlussRowToFlinkRowConverter(aggregator.getResultType());
+            List<RowData> flinkRows = new ArrayList<>();
+            for (InternalRow row : aggregator.getResult()) {
+                GenericRowData flinkRow = (GenericRowData) converter.toFlinkRowData(row);
+                for (int i = 0; i < flinkRow.getArity(); i++) {
+                    flinkRow.setField(
+                            i, castNumber(flinkRow.getField(i), producedType.getTypeAt(i)));
+                }
+                flinkRows.add(flinkRow);
+            }
+            return flinkRows;
+        } catch (Exception e) {
+            throw new FlussRuntimeException(e);
+        }
+    }
+
+    private static Object castNumber(@Nullable Object value, LogicalType targetType) {
+        if (!(value instanceof Long || value instanceof Double)) {
+            return value;
+        }
+        Number number = (Number) value;
+        switch (targetType.getTypeRoot()) {
+            case TINYINT:
+                return number.byteValue();
+            case SMALLINT:
+                return number.shortValue();
+            case INTEGER:
+                return number.intValue();
+            case FLOAT:
+                return number.floatValue();
+            default:
+                return value;
+        }
+    }
+
+    private static List<TableBucket> listTableBuckets(Admin flussAdmin, TableInfo tableInfo)
+            throws Exception {
+        int bucketCount = tableInfo.getNumBuckets();
+        List<TableBucket> tableBuckets;
+        if (tableInfo.isPartitioned()) {
+            List<PartitionInfo> partitionInfos =
+                    flussAdmin.listPartitionInfos(tableInfo.getTablePath()).get();
+            tableBuckets =
+                    partitionInfos.stream()
+                            .flatMap(
+                                    partitionInfo ->
+                                            IntStream.range(0, bucketCount)
+                                                    .mapToObj(
+                                                            bucketId ->
+                                                                    new TableBucket(
+                                                                            tableInfo.getTableId(),
+                                                                            partitionInfo
+                                                                                    .getPartitionId(),
+                                                                            bucketId)))
+                            .collect(Collectors.toList());
+        } else {
+            tableBuckets =
+                    IntStream.range(0, bucketCount)
+                            .mapToObj(bucketId -> new TableBucket(tableInfo.getTableId(), bucketId))
+                            .collect(Collectors.toList());
+        }
+        return tableBuckets;
+    }
+
     public static long countLogTable(TablePath tablePath, Configuration flussConfig) {
         try (Connection connection = ConnectionFactory.createConnection(flussConfig);
                 Admin flussAdmin = connection.getAdmin()) {
@@ -36,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -365,28 +366,34 @@ abstract class FlinkTableSourceBatchITCase extends FlinkTestBase {
         List<String> expected = Collections.singletonList(String.format("+I[%s]", expectedRows));
         assertThat(collected).isEqualTo(expected);
 
-        // test not push down grouping count.
-        assertThatThrownBy(
-                        () ->
-                                tEnv.explainSql(
-                                                String.format(
-                                                        "SELECT COUNT(*) FROM %s group by id",
-                                                        tableName))
-                                        .wait())
-                .hasMessageContaining(
-                        "Currently, Fluss only support queries on table with datalake enabled or point queries on primary key when it's in batch execution mode.");
-
-        // test not support primary key now
-        String primaryTableName = prepareSourceTable(new String[] {"id"}, null);
-        assertThatThrownBy(
-                        () ->
-                                tEnv.explainSql(
-                                                String.format(
-                                                        "SELECT COUNT(*) FROM %s ",
-                                                        primaryTableName))
-                                        .wait())
-                .hasMessageContaining(
-                        "Currently, Fluss only support queries on table with datalake enabled or point queries on primary key when it's in batch execution mode.");
+        // grouping count is pushed down to the tablet servers
+        query = String.format("SELECT id, COUNT(*) FROM %s group by id", tableName);
+        assertThat(tEnv.explainSql(query)).contains("aggregates=[grouping=[id]");
+        iterRows = tEnv.executeSql(query).collect();
+        int countPerId = expectedRows / 5;
+        expected = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            expected.add(String.format("+I[%s, %s]", i, countPerId));
+        }
+        assertResultsIgnoreOrder(iterRows, expected, true);
+    }
+
+    @Test
+    void testAggregatePushDownOnPrimaryKeyTable() throws Exception {
+        String tableName = prepareSourceTable(new String[] {"id"}, null);
+        String query =
+                String.format(
+                        "SELECT COUNT(*), SUM(id), MIN(name), MAX(address) FROM %s", tableName);
+        assertThat(tEnv.explainSql(query)).contains("aggregates=[grouping=[]");
+        CloseableIterator<Row> iterRows = tEnv.executeSql(query).collect();
+        List<String> collected = collectRowsWithTimeout(iterRows, 1);
+        assertThat(collected).containsExactly("+I[5, 15, name1, address5]");
+
+        // the aggregates with filters are not pushed down
+        query = String.format("SELECT COUNT(*) FROM %s WHERE id = 1", tableName);
+        iterRows = tEnv.executeSql(query).collect();
+        collected = collectRowsWithTimeout(iterRows, 1);
+        assertThat(collected).containsExactly("+I[1]");
     }
 
     private String prepareSourceTable(String[] keys, String partitionedKey) throws Exception {
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.metadata.SchemaInfo;
+import org.apache.fluss.record.FileLogProjection;
+import org.apache.fluss.record.FileLogRecords;
+import org.apache.fluss.record.LogRecords;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.record.ProjectionPushdownCache;
+import org.apache.fluss.record.TestData;
+import org.apache.fluss.record.TestingSchemaGetter;
+import org.apache.fluss.utils.FileUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static org.apache.fluss.testutils.DataTestUtils.createRecordsWithoutBaseLogOffset;
+import static org.apache.fluss.utils.Preconditions.checkState;
+
+/**
+ * Benchmark for the column projection of a fetch from a log segment by {@link FileLogProjection},
+ * which reads the batch headers and the arrow metadata of the fetched range of the segment.
+ *
+ * <pre>
+ * Benchmark                                           (batchRows)   Mode  Cnt  Score   Error   Units
+ * FileLogProjectionBenchmark.projectFromSegmentStart           10  thrpt    3  0.170 ± 0.340  ops/ms
+ * FileLogProjectionBenchmark.projectFromSegmentStart         1000  thrpt    3  0.890 ± 0.454  ops/ms
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class FileLogProjectionBenchmark {
+
+    private static final int SEGMENT_SIZE = 256 * 1024 * 1024;
+    private static final int FETCH_MAX_BYTES = 1024 * 1024;
+
+    /** The number of rows of a batch, the batch is about 150 bytes per row. */
+    @Param({"10", "1000"})
+    public int batchRows;
+
+    private File logDir;
+    private FileLogRecords fileLogRecords;
+    private FileLogProjection projection;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        logDir = Files.createTempDirectory("fluss-jmh-projection").toFile();
+        fileLogRecords = FileLogRecords.open(new File(logDir, "00000000000000000000.log"));
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < batchRows; i++) {
+            rows.add(new Object[] {i, UUID.randomUUID().toString() + UUID.randomUUID()});
+        }
+        MemoryLogRecords batch =
+                createRecordsWithoutBaseLogOffset(
+                        TestData.DATA1_ROW_TYPE,
+                        DEFAULT_SCHEMA_ID,
+                        0L,
+                        System.currentTimeMillis(),
+                        LOG_MAGIC_VALUE_V1,
+                        rows,
+                        LogFormat.ARROW);
+        // the offsets of the batches are not checked by the projection
+        while (fileLogRecords.sizeInBytes() < SEGMENT_SIZE) {
+            fileLogRecords.append(batch);
+        }
+        fileLogRecords.flush();
+
+        projection = new FileLogProjection(new ProjectionPushdownCache());
+        projection.setCurrentProjection(
+                1L,
+                new TestingSchemaGetter(new SchemaInfo(TestData.DATA1_SCHEMA, DEFAULT_SCHEMA_ID)),
+                DEFAULT_COMPRESSION,
+                new int[] {0});
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        fileLogRecords.close();
+        FileUtils.deleteDirectory(logDir);
+    }
+
+    /** A fetch of a consumer catching up from the start of the segment. */
+    @Benchmark
+    public LogRecords projectFromSegmentStart() throws Exception {
+        LogRecords records =
+                projection.project(
+                        fileLogRecords.channel(), 0, fileLogRecords.sizeInBytes(), FETCH_MAX_BYTES);
+        checkState(records.sizeInBytes() > 0);
+        return records;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + FileLogProjectionBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
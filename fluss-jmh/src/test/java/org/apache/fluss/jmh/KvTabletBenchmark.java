@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.jmh;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.TableConfig;
+import org.apache.fluss.memory.TestingMemorySegmentPool;
+import org.apache.fluss.memory.UnmanagedPagedOutputView;
+import org.apache.fluss.metadata.AggFunctions;
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.metadata.MergeEngineType;
+import org.apache.fluss.metadata.PhysicalTablePath;
+import org.apache.fluss.metadata.Schema;
+import org.apache.fluss.metadata.SchemaInfo;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.record.DefaultKvRecordBatch;
+import org.apache.fluss.record.KvRecordBatch;
+import org.apache.fluss.record.KvRecordBatchBuilder;
+import org.apache.fluss.record.TestingSchemaGetter;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.row.encode.CompactedKeyEncoder;
+import org.apache.fluss.row.encode.RowEncoder;
+import org.apache.fluss.server.kv.KvManager;
+import org.apache.fluss.server.kv.KvTablet;
+import org.apache.fluss.server.kv.autoinc.AutoIncrementManager;
+import org.apache.fluss.server.kv.autoinc.TestingSequenceGeneratorFactory;
+import org.apache.fluss.server.kv.rowmerger.RowMerger;
+import org.apache.fluss.server.log.LogTablet;
+import org.apache.fluss.server.log.LogTestUtils;
+import org.apache.fluss.server.metrics.group.TestingMetricGroups;
+import org.apache.fluss.server.utils.FatalErrorHandler;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.FileUtils;
+import org.apache.fluss.utils.clock.SystemClock;
+import org.apache.fluss.utils.concurrent.FlussScheduler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static org.apache.fluss.record.LogRecordBatchFormat.NO_BATCH_SEQUENCE;
+import static org.apache.fluss.record.LogRecordBatchFormat.NO_WRITER_ID;
+
+/**
+ * Benchmark for the write path of primary key tables, i.e., {@link KvTablet#putAsLeader} followed
+ * by flushing the pre-write buffer into a local RocksDB, as it happens on a leader whose high
+ * watermark advances immediately.
+ *
+ * <p>The benchmark covers the row mergers of all the merge engines ({@code DEFAULT}, {@code
+ * FIRST_ROW}, {@code VERSIONED}, {@code AGGREGATION}) and partial updates ({@code PARTIAL_UPDATE},
+ * the default merger with target columns), combined with the WAL builders of the {@code ARROW} and
+ * {@code COMPACTED} log formats. The {@code INDEXED} log format is excluded, as its {@code
+ * IndexWalBuilder} only accepts {@code IndexedRow}s while the rows written into the WAL are wrapped
+ * by {@code PaddingRow}. Every invocation puts a batch of {@link #BATCH_SIZE} records, half of them
+ * update existing keys. The score is reported per record, and the allocation rate is reported by
+ * the {@link GCProfiler}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(iterations = 3)
+@Fork(value = 0)
+public class KvTabletBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int KEY_SPACE = 100_000;
+    private static final short SCHEMA_ID = 1;
+    private static final KvFormat KV_FORMAT = KvFormat.COMPACTED;
+
+    private static final Schema SCHEMA =
+            Schema.newBuilder()
+                    .column("id", DataTypes.INT())
+                    .column("version", DataTypes.BIGINT())
+                    .column("name", DataTypes.STRING())
+                    .column("amount", DataTypes.BIGINT())
+                    .primaryKey("id")
+                    .build();
+
+    private static final Schema AGGREGATION_SCHEMA =
+            Schema.newBuilder()
+                    .column("id", DataTypes.INT())
+                    .column("version", DataTypes.BIGINT(), AggFunctions.MAX())
+                    .column("name", DataTypes.STRING(), AggFunctions.LAST_VALUE())
+                    .column("amount", DataTypes.BIGINT(), AggFunctions.SUM())
+                    .primaryKey("id")
+                    .build();
+
+    /** The target columns of the partial updates, i.e., the primary key and the "amount". */
+    private static final int[] PARTIAL_UPDATE_COLUMNS = new int[] {0, 3};
+
+    private static final FatalErrorHandler FATAL_ERROR_HANDLER =
+            exception -> {
+                throw new IllegalStateException(exception);
+            };
+
+    @Param({"DEFAULT", "PARTIAL_UPDATE", "FIRST_ROW", "VERSIONED", "AGGREGATION"})
+    private String rowMerger;
+
+    @Param({"ARROW", "COMPACTED"})
+    private LogFormat logFormat;
+
+    private File tempDir;
+    private BufferAllocator arrowAllocator;
+    private FlussScheduler scheduler;
+    private LogTablet logTablet;
+    private KvTablet kvTablet;
+
+    private RowType rowType;
+    private RowEncoder rowEncoder;
+    private CompactedKeyEncoder keyEncoder;
+    @Nullable private int[] targetColumns;
+    private final Random random = new Random(42);
+    private long version;
+
+    private KvRecordBatch kvRecordBatch;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        tempDir = Files.createTempDirectory("fluss-kv-tablet-benchmark").toFile();
+        Schema schema = "AGGREGATION".equals(rowMerger) ? AGGREGATION_SCHEMA : SCHEMA;
+        rowType = schema.getRowType();
+        rowEncoder = RowEncoder.create(KV_FORMAT, rowType);
+        keyEncoder = new CompactedKeyEncoder(rowType, schema.getPrimaryKeyIndexes());
+        targetColumns = "PARTIAL_UPDATE".equals(rowMerger) ? PARTIAL_UPDATE_COLUMNS : null;
+
+        Configuration conf = new Configuration();
+        PhysicalTablePath tablePath = PhysicalTablePath.of(TablePath.of("db", "kv_benchmark"));
+        scheduler = new FlussScheduler(1);
+        scheduler.startup();
+        logTablet =
+                LogTablet.create(
+                        tablePath,
+                        LogTestUtils.makeRandomLogTabletDir(
+                                tempDir, tablePath.getDatabaseName(), 0L, tablePath.getTableName()),
+                        conf,
+                        TestingMetricGroups.TABLET_SERVER_METRICS,
+                        0,
+                        scheduler,
+                        logFormat,
+                        1,
+                        true,
+                        SystemClock.getInstance(),
+                        true);
+
+        TestingSchemaGetter schemaGetter =
+                new TestingSchemaGetter(new SchemaInfo(schema, SCHEMA_ID));
+        TableConfig tableConfig = new TableConfig(createTableConfig());
+        arrowAllocator = new RootAllocator(Long.MAX_VALUE);
+        File kvTabletDir = new File(tempDir, "kv");
+        kvTablet =
+                KvTablet.create(
+                        tablePath,
+                        logTablet.getTableBucket(),
+                        logTablet,
+                        kvTabletDir,
+                        conf,
+                        TestingMetricGroups.TABLET_SERVER_METRICS,
+                        arrowAllocator,
+                        new TestingMemorySegmentPool(64 * 1024),
+                        KV_FORMAT,
+                        RowMerger.create(tableConfig, KV_FORMAT, schemaGetter),
+                        DEFAULT_COMPRESSION,
+                        schemaGetter,
+                        tableConfig.getChangelogImage(),
+                        KvManager.getDefaultRateLimiter(),
+                        null,
+                        new AutoIncrementManager(
+                                schemaGetter,
+                                tablePath.getTablePath(),
+                                tableConfig,
+                                new TestingSequenceGeneratorFactory()));
+
+        // pre-load half of the key space, so that the measured batches mix inserts and updates
+        for (int i = 0; i < KEY_SPACE / 2; i += BATCH_SIZE) {
+            KvRecordBatch batch = createKvRecordBatch(i);
+            putAndFlush(batch);
+        }
+    }
+
+    private Configuration createTableConfig() {
+        Configuration tableConf = new Configuration();
+        switch (rowMerger) {
+            case "DEFAULT":
+            case "PARTIAL_UPDATE":
+                break;
+            case "FIRST_ROW":
+                tableConf.set(ConfigOptions.TABLE_MERGE_ENGINE, MergeEngineType.FIRST_ROW);
+                break;
+            case "VERSIONED":
+                tableConf.set(ConfigOptions.TABLE_MERGE_ENGINE, MergeEngineType.VERSIONED);
+                tableConf.set(ConfigOptions.TABLE_MERGE_ENGINE_VERSION_COLUMN, "version");
+                break;
+            case "AGGREGATION":
+                tableConf.set(ConfigOptions.TABLE_MERGE_ENGINE, MergeEngineType.AGGREGATION);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown row merger: " + rowMerger);
+        }
+        return tableConf;
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareBatch() throws Exception {
+        // the batch is created per invocation with increasing versions, otherwise the versioned
+        // merger would ignore all the records of a repeated batch
+        kvRecordBatch = createKvRecordBatch(-1);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        kvTablet.close();
+        logTablet.close();
+        scheduler.shutdown();
+        arrowAllocator.close();
+        FileUtils.deleteDirectoryQuietly(tempDir);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void putAsLeader() throws Exception {
+        putAndFlush(kvRecordBatch);
+    }
+
+    private void putAndFlush(KvRecordBatch batch) throws Exception {
+        kvTablet.putAsLeader(batch, targetColumns);
+        // the leader flushes the pre-write buffer once the high watermark advances
+        kvTablet.flush(logTablet.localLogEndOffset(), FATAL_ERROR_HANDLER);
+    }
+
+    /**
+     * Creates a batch of upserts. The keys are sequential from the given start key, or random in
+     * the key space if the start key is negative.
+     */
+    private KvRecordBatch createKvRecordBatch(int startKey) throws Exception {
+        KvRecordBatchBuilder builder =
+                KvRecordBatchBuilder.builder(
+                        SCHEMA_ID,
+                        Integer.MAX_VALUE,
+                        new UnmanagedPagedOutputView(64 * 1024),
+                        KV_FORMAT);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            int id = startKey < 0 ? random.nextInt(KEY_SPACE) : startKey + i;
+            rowEncoder.startNewRow();
+            rowEncoder.encodeField(0, id);
+            rowEncoder.encodeField(1, version++);
+            if (targetColumns == null) {
+                rowEncoder.encodeField(2, BinaryString.fromString("name-" + id));
+            } else {
+                // the columns out of the target columns are null for partial updates
+                rowEncoder.encodeField(2, null);
+            }
+            rowEncoder.encodeField(3, (long) i);
+            BinaryRow row = rowEncoder.finishRow();
+            builder.append(keyEncoder.encodeKey(row), row);
+        }
+        builder.setWriterState(NO_WRITER_ID, NO_BATCH_SEQUENCE);
+        KvRecordBatch batch = DefaultKvRecordBatch.pointToBytesView(builder.build());
+        builder.close();
+        return batch;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + KvTabletBenchmark.class.getCanonicalName() + ".*")
+                        .addProfiler(GCProfiler.class)
+                        .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -19,11 +19,14 @@ package org.apache.fluss.kafka;
 
 import org.apache.fluss.rpc.netty.NettyChannelInitializer;
 import org.apache.fluss.rpc.netty.server.RequestChannel;
+import org.apache.fluss.security.auth.ServerAuthenticator;
 import org.apache.fluss.shaded.netty4.io.netty.channel.ChannelInitializer;
 import org.apache.fluss.shaded.netty4.io.netty.channel.socket.SocketChannel;
 import org.apache.fluss.shaded.netty4.io.netty.handler.codec.LengthFieldPrepender;
 import org.apache.fluss.shaded.netty4.io.netty.handler.flow.FlowControlHandler;
 
+import java.util.function.Supplier;
+
 /**
  * A {@link ChannelInitializer} for initializing {@link SocketChannel} instances that will be used
  * by the server to handle the Kafka requests for the client.
@@ -32,11 +35,19 @@ public class KafkaChannelInitializer extends NettyChannelInitializer {
     public static final int MAX_FRAME_LENGTH = 100 * 1024 * 1024; // 100MB
 
     private final RequestChannel[] requestChannels;
+    private final String listenerName;
+    private final Supplier<ServerAuthenticator> authenticatorSupplier;
     private final LengthFieldPrepender prepender = new LengthFieldPrepender(4);
 
-    public KafkaChannelInitializer(RequestChannel[] requestChannels, long maxIdleTimeSeconds) {
+    public KafkaChannelInitializer(
+            RequestChannel[] requestChannels,
+            String listenerName,
+            long maxIdleTimeSeconds,
+            Supplier<ServerAuthenticator> authenticatorSupplier) {
         super(maxIdleTimeSeconds);
         this.requestChannels = requestChannels;
+        this.listenerName = listenerName;
+        this.authenticatorSupplier = authenticatorSupplier;
     }
 
     @Override
@@ -46,6 +57,9 @@ public class KafkaChannelInitializer extends NettyChannelInitializer {
         ch.pipeline().addLast(prepender);
         addFrameDecoder(ch, MAX_FRAME_LENGTH, 4);
         ch.pipeline().addLast("flowController", new FlowControlHandler());
-        ch.pipeline().addLast(new KafkaCommandDecoder(requestChannels));
+        ch.pipeline()
+                .addLast(
+                        new KafkaCommandDecoder(
+                                requestChannels, listenerName, authenticatorSupplier.get()));
     }
 }
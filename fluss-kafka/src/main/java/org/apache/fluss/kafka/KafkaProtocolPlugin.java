@@ -19,14 +19,21 @@ package org.apache.fluss.kafka;
 
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
+import org.apache.fluss.metadata.SchemaGetter;
+import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.rpc.RpcGatewayService;
 import org.apache.fluss.rpc.gateway.TabletServerGateway;
 import org.apache.fluss.rpc.netty.server.RequestChannel;
 import org.apache.fluss.rpc.netty.server.RequestHandler;
 import org.apache.fluss.rpc.protocol.NetworkProtocolPlugin;
+import org.apache.fluss.security.auth.AuthenticationFactory;
+import org.apache.fluss.security.auth.PlainTextAuthenticationPlugin;
+import org.apache.fluss.server.tablet.TabletService;
 import org.apache.fluss.shaded.netty4.io.netty.channel.ChannelHandler;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 /** The Kafka protocol plugin. */
 public class KafkaProtocolPlugin implements NetworkProtocolPlugin {
@@ -53,7 +60,13 @@ public class KafkaProtocolPlugin implements NetworkProtocolPlugin {
             RequestChannel[] requestChannels, String listenerName) {
         return new KafkaChannelInitializer(
                 requestChannels,
-                conf.get(ConfigOptions.KAFKA_CONNECTION_MAX_IDLE_TIME).getSeconds());
+                listenerName,
+                conf.get(ConfigOptions.KAFKA_CONNECTION_MAX_IDLE_TIME).getSeconds(),
+                // the Kafka clients authenticate with the SASL mechanisms of the listener
+                Optional.ofNullable(
+                                AuthenticationFactory.loadServerAuthenticatorSuppliers(conf)
+                                        .get(listenerName))
+                        .orElse(PlainTextAuthenticationPlugin.PlainTextServerAuthenticator::new));
     }
 
     @Override
@@ -64,6 +77,22 @@ public class KafkaProtocolPlugin implements NetworkProtocolPlugin {
                             + service.getClass().getSimpleName());
         }
         TabletServerGateway gateway = (TabletServerGateway) service;
-        return new KafkaRequestHandler(gateway);
+        return new KafkaRequestHandler(
+                gateway, conf.get(ConfigOptions.KAFKA_DATABASE), schemaGetterFactory(service));
+    }
+
+    /** The fetched log records are read with the schemas cached by the TabletServer. */
+    private static Function<TableInfo, SchemaGetter> schemaGetterFactory(
+            RpcGatewayService service) {
+        if (service instanceof TabletService) {
+            return ((TabletService) service)::subscribeSchemas;
+        }
+        return tableInfo -> {
+            throw new UnsupportedOperationException(
+                    "The schemas of table "
+                            + tableInfo.getTablePath()
+                            + " are not available in "
+                            + service.getClass().getSimpleName());
+        };
     }
 }
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.kafka;
+
+import org.apache.fluss.memory.UnmanagedPagedOutputView;
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.metadata.SchemaGetter;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.record.LogRecord;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordReadContext;
+import org.apache.fluss.record.LogRecords;
+import org.apache.fluss.record.MemoryLogRecordsCompactedBuilder;
+import org.apache.fluss.record.MemoryLogRecordsIndexedBuilder;
+import org.apache.fluss.record.MemoryLogRecordsRowBuilder;
+import org.apache.fluss.record.bytesview.BytesView;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.TimestampLtz;
+import org.apache.fluss.row.encode.RowEncoder;
+import org.apache.fluss.types.DataTypeRoot;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.CloseableIterator;
+
+import org.apache.kafka.common.compress.Compression;
+import org.apache.kafka.common.errors.InvalidTopicException;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.Record;
+import org.apache.kafka.common.record.RecordBatch;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.utils.ByteBufferOutputStream;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.ByteBuffer;
+
+import static org.apache.fluss.types.DataTypeChecks.getPrecision;
+
+/**
+ * Converts the records between the Kafka record batches and the Fluss log record batches of the
+ * table which a Kafka topic is mapped to.
+ *
+ * <p>A topic is mapped to a non-partitioned log table of the Kafka database (see {@code
+ * kafka.database}) with the same name, and a partition of the topic is mapped to the bucket of the
+ * table with the same id. The table can only contain the following columns:
+ *
+ * <ul>
+ *   <li>{@code value BYTES}: the value of the Kafka record, required.
+ *   <li>{@code key BYTES}: the key of the Kafka record, optional.
+ *   <li>{@code timestamp TIMESTAMP_LTZ}: the timestamp of the Kafka record, optional. The commit
+ *       timestamp of the Fluss batch is used as the timestamp of the Kafka record if absent.
+ * </ul>
+ *
+ * <p>The headers of the Kafka records are not stored. Only the {@link LogFormat#INDEXED} and {@link
+ * LogFormat#COMPACTED} log formats can be produced to, but the tables of all log formats can be
+ * fetched from.
+ */
+public class KafkaRecordsConverter {
+
+    public static final String KEY_COLUMN = "key";
+    public static final String VALUE_COLUMN = "value";
+    public static final String TIMESTAMP_COLUMN = "timestamp";
+
+    private static final int PAGE_SIZE = 64 * 1024;
+    private static final int INITIAL_KAFKA_BUFFER_SIZE = 1024;
+
+    private final TableInfo tableInfo;
+    private final LogFormat logFormat;
+    private final int keyIndex;
+    private final int valueIndex;
+    private final int timestampIndex;
+
+    private KafkaRecordsConverter(
+            TableInfo tableInfo, int keyIndex, int valueIndex, int timestampIndex) {
+        this.tableInfo = tableInfo;
+        this.logFormat = tableInfo.getTableConfig().getLogFormat();
+        this.keyIndex = keyIndex;
+        this.valueIndex = valueIndex;
+        this.timestampIndex = timestampIndex;
+    }
+
+    /**
+     * Creates the converter for the given table.
+     *
+     * @throws InvalidTopicException if the table can't be mapped to a Kafka topic.
+     */
+    public static KafkaRecordsConverter create(TableInfo tableInfo) {
+        if (tableInfo.hasPrimaryKey() || tableInfo.isPartitioned()) {
+            throw new InvalidTopicException(
+                    String.format(
+                            "Table %s can't be accessed as a Kafka topic, only non-partitioned "
+                                    + "log tables are supported.",
+                            tableInfo.getTablePath()));
+        }
+        RowType rowType = tableInfo.getRowType();
+        int keyIndex = -1;
+        int valueIndex = -1;
+        int timestampIndex = -1;
+        for (int i = 0; i < rowType.getFieldCount(); i++) {
+            String fieldName = rowType.getFieldNames().get(i);
+            DataTypeRoot typeRoot = rowType.getTypeAt(i).getTypeRoot();
+            if (KEY_COLUMN.equals(fieldName) && typeRoot == DataTypeRoot.BYTES) {
+                keyIndex = i;
+            } else if (VALUE_COLUMN.equals(fieldName) && typeRoot == DataTypeRoot.BYTES) {
+                valueIndex = i;
+            } else if (TIMESTAMP_COLUMN.equals(fieldName)
+                    && typeRoot == DataTypeRoot.TIMESTAMP_WITH_LOCAL_TIME_ZONE) {
+                timestampIndex = i;
+            } else {
+                throw new InvalidTopicException(
+                        String.format(
+                                "Table %s can't be accessed as a Kafka topic, unsupported column "
+                                        + "'%s %s'.",
+                                tableInfo.getTablePath(), fieldName, rowType.getTypeAt(i)));
+            }
+        }
+        if (valueIndex < 0) {
+            throw new InvalidTopicException(
+                    String.format(
+                            "Table %s can't be accessed as a Kafka topic, the column '%s BYTES' is "
+                                    + "required.",
+                            tableInfo.getTablePath(), VALUE_COLUMN));
+        }
+        return new KafkaRecordsConverter(tableInfo, keyIndex, valueIndex, timestampIndex);
+    }
+
+    /** Returns true if the Kafka records can be produced to the table. */
+    public boolean isWritable() {
+        return logFormat == LogFormat.INDEXED || logFormat == LogFormat.COMPACTED;
+    }
+
+    /**
+     * Converts the Kafka records to a single Fluss log record batch in the log format of the table.
+     */
+    public BytesView toLogRecords(MemoryRecords records) throws Exception {
+        UnmanagedPagedOutputView outputView = new UnmanagedPagedOutputView(PAGE_SIZE);
+        int schemaId = tableInfo.getSchemaId();
+        // unlimited write size as the records have been accepted by the Kafka request size limit
+        if (logFormat == LogFormat.INDEXED) {
+            return appendRecords(
+                    records,
+                    MemoryLogRecordsIndexedBuilder.builder(
+                            schemaId, Integer.MAX_VALUE, outputView, true),
+                    KvFormat.INDEXED);
+        } else if (logFormat == LogFormat.COMPACTED) {
+            return appendRecords(
+                    records,
+                    MemoryLogRecordsCompactedBuilder.builder(
+                            schemaId, Integer.MAX_VALUE, outputView, true),
+                    KvFormat.COMPACTED);
+        } else {
+            throw new UnsupportedOperationException(
+                    "Producing Kafka records to a table with log format "
+                            + logFormat
+                            + " is not supported.");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends BinaryRow> BytesView appendRecords(
+            MemoryRecords records, MemoryLogRecordsRowBuilder<T> builder, KvFormat rowFormat)
+            throws Exception {
+        try (RowEncoder encoder = RowEncoder.create(rowFormat, tableInfo.getRowType())) {
+            for (Record record : records.records()) {
+                encoder.startNewRow();
+                if (keyIndex >= 0) {
+                    encoder.encodeField(keyIndex, toBytes(record.key()));
+                }
+                encoder.encodeField(valueIndex, toBytes(record.value()));
+                if (timestampIndex >= 0) {
+                    encoder.encodeField(
+                            timestampIndex,
+                            record.timestamp() == RecordBatch.NO_TIMESTAMP
+                                    ? null
+                                    : TimestampLtz.fromEpochMillis(record.timestamp()));
+                }
+                builder.append(ChangeType.APPEND_ONLY, (T) encoder.finishRow());
+            }
+            builder.close();
+            return builder.build();
+        }
+    }
+
+    /**
+     * Converts the Fluss log records to Kafka records. Each Fluss log record batch is converted to
+     * a Kafka record batch with the same base offset, the records keep their log offsets. The
+     * batches written in the earlier schemas of the table are read by the given schema getter.
+     */
+    public MemoryRecords toKafkaRecords(LogRecords logRecords, SchemaGetter schemaGetter)
+            throws Exception {
+        ByteBufferOutputStream outputStream = null;
+        try (LogRecordReadContext readContext =
+                LogRecordReadContext.createReadContext(tableInfo, false, null, schemaGetter)) {
+            for (LogRecordBatch batch : logRecords.batches()) {
+                if (batch.getRecordCount() == 0) {
+                    continue;
+                }
+                if (outputStream == null) {
+                    outputStream = new ByteBufferOutputStream(INITIAL_KAFKA_BUFFER_SIZE);
+                }
+                // the builders append the batches to the same stream one after another
+                MemoryRecordsBuilder builder =
+                        new MemoryRecordsBuilder(
+                                outputStream,
+                                RecordBatch.MAGIC_VALUE_V2,
+                                Compression.NONE,
+                                TimestampType.CREATE_TIME,
+                                batch.baseLogOffset(),
+                                RecordBatch.NO_TIMESTAMP,
+                                RecordBatch.NO_PRODUCER_ID,
+                                RecordBatch.NO_PRODUCER_EPOCH,
+                                RecordBatch.NO_SEQUENCE,
+                                false,
+                                false,
+                                RecordBatch.NO_PARTITION_LEADER_EPOCH,
+                                Integer.MAX_VALUE);
+                try (CloseableIterator<LogRecord> iterator = batch.records(readContext)) {
+                    while (iterator.hasNext()) {
+                        LogRecord record = iterator.next();
+                        InternalRow row = record.getRow();
+                        builder.appendWithOffset(
+                                record.logOffset(),
+                                timestamp(row, batch.commitTimestamp()),
+                                keyIndex >= 0 && !row.isNullAt(keyIndex)
+                                        ? row.getBytes(keyIndex)
+                                        : null,
+                                row.isNullAt(valueIndex) ? null : row.getBytes(valueIndex));
+                    }
+                }
+                builder.close();
+            }
+        }
+        if (outputStream == null) {
+            return MemoryRecords.EMPTY;
+        }
+        ByteBuffer buffer = outputStream.buffer();
+        buffer.flip();
+        return MemoryRecords.readableRecords(buffer);
+    }
+
+    private long timestamp(InternalRow row, long defaultTimestamp) {
+        if (timestampIndex < 0 || row.isNullAt(timestampIndex)) {
+            return defaultTimestamp;
+        }
+        int precision = getPrecision(tableInfo.getRowType().getTypeAt(timestampIndex));
+        return row.getTimestampLtz(timestampIndex, precision).getEpochMillisecond();
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        return buffer == null ? null : Utils.toArray(buffer);
+    }
+}
@@ -19,6 +19,8 @@ package org.apache.fluss.kafka;
 
 import org.apache.fluss.rpc.netty.server.RpcRequest;
 import org.apache.fluss.rpc.protocol.RequestType;
+import org.apache.fluss.security.auth.PlainTextAuthenticationPlugin.PlainTextServerAuthenticator;
+import org.apache.fluss.security.auth.ServerAuthenticator;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBuf;
 import org.apache.fluss.shaded.netty4.io.netty.channel.ChannelHandlerContext;
 import org.apache.fluss.shaded.netty4.io.netty.util.ReferenceCountUtil;
@@ -33,6 +35,8 @@ import org.apache.kafka.common.requests.AbstractResponse;
 import org.apache.kafka.common.requests.RequestHeader;
 import org.apache.kafka.common.requests.ResponseHeader;
 
+import javax.annotation.Nullable;
+
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
@@ -48,6 +52,8 @@ public class KafkaRequest implements RpcRequest {
     private final AbstractRequest request;
     private final ByteBuf buffer;
     private final ChannelHandlerContext ctx;
+    @Nullable private final String listenerName;
+    private final ServerAuthenticator authenticator;
     private final long startTimeMs;
     private final CompletableFuture<AbstractResponse> future;
     private volatile boolean cancelled = false;
@@ -60,12 +66,36 @@ public class KafkaRequest implements RpcRequest {
             ByteBuf buffer,
             ChannelHandlerContext ctx,
             CompletableFuture<AbstractResponse> future) {
+        this(
+                apiKey,
+                apiVersion,
+                header,
+                request,
+                buffer,
+                ctx,
+                null,
+                new PlainTextServerAuthenticator(),
+                future);
+    }
+
+    protected KafkaRequest(
+            ApiKeys apiKey,
+            short apiVersion,
+            RequestHeader header,
+            AbstractRequest request,
+            ByteBuf buffer,
+            ChannelHandlerContext ctx,
+            @Nullable String listenerName,
+            ServerAuthenticator authenticator,
+            CompletableFuture<AbstractResponse> future) {
         this.apiKey = apiKey;
         this.apiVersion = apiVersion;
         this.header = header;
         this.request = request;
         this.buffer = buffer.retain();
         this.ctx = ctx;
+        this.listenerName = listenerName;
+        this.authenticator = authenticator;
         this.startTimeMs = System.currentTimeMillis();
         this.future = future;
     }
@@ -104,6 +134,20 @@ public class KafkaRequest implements RpcRequest {
         return ctx;
     }
 
+    /** The name of the listener which the request is received from. */
+    @Nullable
+    public String listenerName() {
+        return listenerName;
+    }
+
+    /**
+     * The authenticator of the connection which the request is received from, the SASL requests of
+     * the connection are evaluated by it and the other requests run as its principal.
+     */
+    public ServerAuthenticator authenticator() {
+        return authenticator;
+    }
+
     public long startTimeMs() {
         return startTimeMs;
     }
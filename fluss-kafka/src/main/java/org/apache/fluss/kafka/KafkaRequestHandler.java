@@ -17,27 +17,128 @@
 
 package org.apache.fluss.kafka;
 
+import org.apache.fluss.exception.AuthenticationException;
+import org.apache.fluss.exception.DatabaseNotExistException;
+import org.apache.fluss.metadata.SchemaGetter;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.rpc.RpcGatewayService;
 import org.apache.fluss.rpc.gateway.TabletServerGateway;
+import org.apache.fluss.rpc.messages.FetchLogRequest;
+import org.apache.fluss.rpc.messages.FetchLogResponse;
+import org.apache.fluss.rpc.messages.ListTablesRequest;
+import org.apache.fluss.rpc.messages.PbFetchLogReqForTable;
+import org.apache.fluss.rpc.messages.PbFetchLogRespForBucket;
+import org.apache.fluss.rpc.messages.PbFetchLogRespForTable;
+import org.apache.fluss.rpc.messages.PbListOffsetsRespForBucket;
+import org.apache.fluss.rpc.messages.PbProduceLogReqForBucket;
+import org.apache.fluss.rpc.messages.PbProduceLogRespForBucket;
+import org.apache.fluss.rpc.messages.PbServerNode;
+import org.apache.fluss.rpc.messages.PbTableMetadata;
+import org.apache.fluss.rpc.messages.ProduceLogRequest;
+import org.apache.fluss.rpc.messages.ProduceLogResponse;
 import org.apache.fluss.rpc.netty.server.RequestHandler;
+import org.apache.fluss.rpc.netty.server.Session;
+import org.apache.fluss.rpc.protocol.ApiError;
 import org.apache.fluss.rpc.protocol.RequestType;
+import org.apache.fluss.security.acl.FlussPrincipal;
+import org.apache.fluss.security.auth.ServerAuthenticator;
+import org.apache.fluss.server.metadata.BucketMetadata;
+import org.apache.fluss.server.metadata.TableMetadata;
+import org.apache.fluss.utils.concurrent.FutureUtils;
 
+import org.apache.kafka.common.errors.IllegalSaslStateException;
+import org.apache.kafka.common.errors.InvalidTopicException;
 import org.apache.kafka.common.message.ApiVersionsResponseData;
+import org.apache.kafka.common.message.FetchRequestData;
+import org.apache.kafka.common.message.FetchResponseData;
+import org.apache.kafka.common.message.ListOffsetsRequestData;
+import org.apache.kafka.common.message.ListOffsetsResponseData;
+import org.apache.kafka.common.message.MetadataResponseData;
+import org.apache.kafka.common.message.ProduceRequestData;
+import org.apache.kafka.common.message.ProduceResponseData;
+import org.apache.kafka.common.message.SaslAuthenticateResponseData;
+import org.apache.kafka.common.message.SaslHandshakeResponseData;
 import org.apache.kafka.common.protocol.ApiKeys;
 import org.apache.kafka.common.protocol.Errors;
+import org.apache.kafka.common.record.MemoryRecords;
 import org.apache.kafka.common.record.RecordBatch;
 import org.apache.kafka.common.requests.AbstractRequest;
 import org.apache.kafka.common.requests.AbstractResponse;
 import org.apache.kafka.common.requests.ApiVersionsResponse;
+import org.apache.kafka.common.requests.FetchRequest;
+import org.apache.kafka.common.requests.FetchResponse;
+import org.apache.kafka.common.requests.ListOffsetsRequest;
+import org.apache.kafka.common.requests.ListOffsetsResponse;
+import org.apache.kafka.common.requests.MetadataRequest;
+import org.apache.kafka.common.requests.MetadataResponse;
+import org.apache.kafka.common.requests.ProduceRequest;
+import org.apache.kafka.common.requests.ProduceResponse;
+import org.apache.kafka.common.requests.SaslAuthenticateRequest;
+import org.apache.kafka.common.requests.SaslAuthenticateResponse;
+import org.apache.kafka.common.requests.SaslHandshakeRequest;
+import org.apache.kafka.common.requests.SaslHandshakeResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-/** Kafka protocol implementation for request handler. */
+import javax.annotation.Nullable;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toByteBuffer;
+import static org.apache.fluss.server.log.ListOffsetsParam.EARLIEST_OFFSET_TYPE;
+import static org.apache.fluss.server.log.ListOffsetsParam.LATEST_OFFSET_TYPE;
+import static org.apache.fluss.server.log.ListOffsetsParam.TIMESTAMP_OFFSET_TYPE;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.toTableMetaData;
+import static org.apache.fluss.utils.concurrent.FutureUtils.completedExceptionally;
+import static org.apache.fluss.utils.concurrent.FutureUtils.unwrapCompletionException;
+
+/**
+ * Kafka protocol implementation for request handler.
+ *
+ * <p>A Kafka topic is mapped to a Fluss log table with the same name in the Kafka database, and a
+ * partition of the topic is mapped to the bucket with the same id, see {@link
+ * KafkaRecordsConverter} for the supported tables. The Metadata, Produce, Fetch and ListOffsets
+ * requests are served by the Fluss RPCs of the TabletServer as the principal authenticated by the
+ * SASL requests of the connection, the consumer group, transaction and admin requests are not
+ * supported yet.
+ */
 public class KafkaRequestHandler implements RequestHandler<KafkaRequest> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(KafkaRequestHandler.class);
+
+    /** The follower server id in the Fluss requests which indicates the request from client. */
+    private static final int CLIENT_ID = -1;
+
     // TODO: we may need a new abstraction between TabletService and ReplicaManager to avoid
     //  affecting Fluss protocol when supporting compatibility with Kafka.
     private final TabletServerGateway gateway;
+    private final String database;
+    // subscribes the schemas of a table to read the fetched log records, see
+    // TabletService#subscribeSchemas
+    private final Function<TableInfo, SchemaGetter> schemaGetterFactory;
 
-    public KafkaRequestHandler(TabletServerGateway gateway) {
+    public KafkaRequestHandler(
+            TabletServerGateway gateway,
+            String database,
+            Function<TableInfo, SchemaGetter> schemaGetterFactory) {
         this.gateway = gateway;
+        this.database = database;
+        this.schemaGetterFactory = schemaGetterFactory;
     }
 
     @Override
@@ -47,6 +148,15 @@ public class KafkaRequestHandler implements RequestHandler<KafkaRequest> {
 
     @Override
     public void processRequest(KafkaRequest request) {
+        if (!request.authenticator().isCompleted() && !isAuthenticationRequest(request.apiKey())) {
+            request.fail(
+                    new IllegalSaslStateException(
+                            "Unexpected request "
+                                    + request.apiKey()
+                                    + " before the SASL authentication is completed."));
+            return;
+        }
+        setCurrentSession(request);
         // See kafka.server.KafkaApis#handle
         switch (request.apiKey()) {
             case API_VERSIONS:
@@ -184,63 +294,823 @@ public class KafkaRequestHandler implements RequestHandler<KafkaRequest> {
         request.complete(new ApiVersionsResponse(data));
     }
 
-    void handleProducerRequest(KafkaRequest request) {}
+    void handleProducerRequest(KafkaRequest request) {
+        ProduceRequest produceRequest = request.request();
+        ProduceRequestData data = produceRequest.data();
+        List<CompletableFuture<ProduceResponseData.TopicProduceResponse>> topicFutures =
+                new ArrayList<>();
+        for (ProduceRequestData.TopicProduceData topicData : data.topicData()) {
+            topicFutures.add(
+                    resolveTopic(topicData.name())
+                            .thenCompose(
+                                    topic ->
+                                            produceTopic(
+                                                    topic,
+                                                    topicData,
+                                                    produceRequest.acks(),
+                                                    data.timeoutMs())));
+        }
+        completeAll(
+                request,
+                topicFutures,
+                topicResponses -> {
+                    ProduceResponseData responseData = new ProduceResponseData();
+                    topicResponses.forEach(responseData.responses()::add);
+                    return new ProduceResponse(responseData);
+                });
+    }
+
+    private CompletableFuture<ProduceResponseData.TopicProduceResponse> produceTopic(
+            KafkaTopic topic,
+            ProduceRequestData.TopicProduceData topicData,
+            short acks,
+            int timeoutMs) {
+        ProduceResponseData.TopicProduceResponse topicResponse =
+                new ProduceResponseData.TopicProduceResponse().setName(topicData.name());
+        Map<Integer, ProduceResponseData.PartitionProduceResponse> partitionResponses =
+                new LinkedHashMap<>();
+        ProduceLogRequest produceLogRequest = null;
+        for (ProduceRequestData.PartitionProduceData partitionData : topicData.partitionData()) {
+            int bucketId = partitionData.index();
+            ProduceResponseData.PartitionProduceResponse partitionResponse =
+                    new ProduceResponseData.PartitionProduceResponse()
+                            .setIndex(bucketId)
+                            .setBaseOffset(ProduceResponse.INVALID_OFFSET);
+            partitionResponses.put(bucketId, partitionResponse);
+            if (topic.error != Errors.NONE) {
+                setError(partitionResponse, topic.error, topic.errorMessage);
+                continue;
+            }
+            if (!topic.converter.isWritable()) {
+                setError(
+                        partitionResponse,
+                        Errors.UNSUPPORTED_FOR_MESSAGE_FORMAT,
+                        "Only the tables with INDEXED or COMPACTED log format can be produced to.");
+                continue;
+            }
+            try {
+                MemoryRecords records = (MemoryRecords) partitionData.records();
+                if (produceLogRequest == null) {
+                    produceLogRequest =
+                            new ProduceLogRequest()
+                                    .setTableId(topic.tableId())
+                                    .setAcks(acks)
+                                    .setTimeoutMs(timeoutMs);
+                }
+                produceLogRequest
+                        .addBucketsReq()
+                        .setBucketId(bucketId)
+                        .setRecordsBytesView(topic.converter.toLogRecords(records));
+            } catch (Exception e) {
+                LOG.debug("Failed to convert the Kafka records of topic {}.", topic.name, e);
+                setError(partitionResponse, Errors.CORRUPT_MESSAGE, e.getMessage());
+            }
+        }
+
+        if (produceLogRequest == null) {
+            topicResponse.setPartitionResponses(new ArrayList<>(partitionResponses.values()));
+            return CompletableFuture.completedFuture(topicResponse);
+        }
+        ProduceLogRequest finalRequest = produceLogRequest;
+        return call(() -> gateway.produceLog(finalRequest))
+                .handle(
+                        (response, throwable) -> {
+                            if (throwable != null) {
+                                ApiError error = ApiError.fromThrowable(throwable);
+                                Errors kafkaError = toKafkaError(error.error().code());
+                                for (PbProduceLogReqForBucket bucketReq :
+                                        finalRequest.getBucketsReqsList()) {
+                                    setError(
+                                            partitionResponses.get(bucketReq.getBucketId()),
+                                            kafkaError,
+                                            error.message());
+                                }
+                            } else {
+                                fillProducedOffsets(response, partitionResponses);
+                            }
+                            return topicResponse.setPartitionResponses(
+                                    new ArrayList<>(partitionResponses.values()));
+                        });
+    }
+
+    private static void fillProducedOffsets(
+            ProduceLogResponse response,
+            Map<Integer, ProduceResponseData.PartitionProduceResponse> partitionResponses) {
+        for (PbProduceLogRespForBucket bucketResp : response.getBucketsRespsList()) {
+            ProduceResponseData.PartitionProduceResponse partitionResponse =
+                    partitionResponses.get(bucketResp.getBucketId());
+            if (bucketResp.hasErrorCode() && bucketResp.getErrorCode() != 0) {
+                setError(
+                        partitionResponse,
+                        toKafkaError(bucketResp.getErrorCode()),
+                        bucketResp.hasErrorMessage() ? bucketResp.getErrorMessage() : null);
+            } else if (bucketResp.hasBaseOffset()) {
+                partitionResponse.setBaseOffset(bucketResp.getBaseOffset());
+            }
+        }
+    }
+
+    void handleMetadataRequest(KafkaRequest request) {
+        MetadataRequest metadataRequest = request.request();
+        CompletableFuture<List<String>> topicsFuture =
+                metadataRequest.isAllTopics()
+                        ? listTopics()
+                        : CompletableFuture.completedFuture(metadataRequest.topics());
+        CompletableFuture<List<KafkaTopic>> kafkaTopicsFuture =
+                topicsFuture.thenCompose(
+                        topics -> {
+                            List<CompletableFuture<KafkaTopic>> topicFutures = new ArrayList<>();
+                            for (String topic : topics) {
+                                topicFutures.add(resolveTopic(topic));
+                            }
+                            return combineAll(topicFutures);
+                        });
+        // request the metadata without tables to get the server nodes of the Kafka listener
+        complete(
+                request,
+                call(() -> gateway.metadata(new org.apache.fluss.rpc.messages.MetadataRequest()))
+                        .thenCombine(
+                                kafkaTopicsFuture,
+                                (cluster, kafkaTopics) ->
+                                        makeMetadataResponse(
+                                                cluster, kafkaTopics, request.apiVersion())));
+    }
+
+    private static MetadataResponse makeMetadataResponse(
+            org.apache.fluss.rpc.messages.MetadataResponse cluster,
+            List<KafkaTopic> kafkaTopics,
+            short apiVersion) {
+        MetadataResponseData data =
+                new MetadataResponseData()
+                        .setControllerId(
+                                cluster.hasCoordinatorServer()
+                                        ? cluster.getCoordinatorServer().getNodeId()
+                                        : MetadataResponse.NO_CONTROLLER_ID);
+        for (PbServerNode node : cluster.getTabletServersList()) {
+            data.brokers()
+                    .add(
+                            new MetadataResponseData.MetadataResponseBroker()
+                                    .setNodeId(node.getNodeId())
+                                    .setHost(node.getHost())
+                                    .setPort(node.getPort())
+                                    .setRack(node.hasRack() ? node.getRack() : null));
+        }
+        for (KafkaTopic topic : kafkaTopics) {
+            data.topics().add(toMetadataResponseTopic(topic));
+        }
+        return new MetadataResponse(data, apiVersion);
+    }
+
+    private static MetadataResponseData.MetadataResponseTopic toMetadataResponseTopic(
+            KafkaTopic topic) {
+        MetadataResponseData.MetadataResponseTopic topicMetadata =
+                new MetadataResponseData.MetadataResponseTopic()
+                        .setName(topic.name)
+                        .setErrorCode(topic.error.code())
+                        .setIsInternal(false);
+        if (topic.error != Errors.NONE) {
+            return topicMetadata;
+        }
+        for (BucketMetadata bucket : topic.metadata.getBucketMetadataList()) {
+            // the in-sync replicas are not in the Fluss metadata, use all the replicas instead
+            List<Integer> replicas = bucket.getReplicas();
+            topicMetadata
+                    .partitions()
+                    .add(
+                            new MetadataResponseData.MetadataResponsePartition()
+                                    .setPartitionIndex(bucket.getBucketId())
+                                    .setErrorCode(
+                                            bucket.getLeaderId().isPresent()
+                                                    ? Errors.NONE.code()
+                                                    : Errors.LEADER_NOT_AVAILABLE.code())
+                                    .setLeaderId(bucket.getLeaderId().orElse(-1))
+                                    .setLeaderEpoch(
+                                            bucket.getLeaderEpoch()
+                                                    .orElse(RecordBatch.NO_PARTITION_LEADER_EPOCH))
+                                    .setReplicaNodes(replicas)
+                                    .setIsrNodes(replicas)
+                                    .setOfflineReplicas(Collections.emptyList()));
+        }
+        return topicMetadata;
+    }
+
+    void handleFindCoordinatorRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
+
+    void handleListOffsetRequest(KafkaRequest request) {
+        ListOffsetsRequest listOffsetsRequest = request.request();
+        List<CompletableFuture<ListOffsetsResponseData.ListOffsetsTopicResponse>> topicFutures =
+                new ArrayList<>();
+        for (ListOffsetsRequestData.ListOffsetsTopic topicData : listOffsetsRequest.topics()) {
+            topicFutures.add(
+                    resolveTopic(topicData.name())
+                            .thenCompose(topic -> listTopicOffsets(topic, topicData)));
+        }
+        completeAll(
+                request,
+                topicFutures,
+                topicResponses ->
+                        new ListOffsetsResponse(
+                                new ListOffsetsResponseData().setTopics(topicResponses)));
+    }
+
+    private CompletableFuture<ListOffsetsResponseData.ListOffsetsTopicResponse> listTopicOffsets(
+            KafkaTopic topic, ListOffsetsRequestData.ListOffsetsTopic topicData) {
+        Map<Integer, ListOffsetsResponseData.ListOffsetsPartitionResponse> partitionResponses =
+                new LinkedHashMap<>();
+        // the buckets to list offsets grouped by the requested timestamp
+        Map<Long, List<Integer>> bucketsByTimestamp = new HashMap<>();
+        for (ListOffsetsRequestData.ListOffsetsPartition partition : topicData.partitions()) {
+            int bucketId = partition.partitionIndex();
+            ListOffsetsResponseData.ListOffsetsPartitionResponse partitionResponse =
+                    new ListOffsetsResponseData.ListOffsetsPartitionResponse()
+                            .setPartitionIndex(bucketId)
+                            .setTimestamp(ListOffsetsResponse.UNKNOWN_TIMESTAMP)
+                            .setOffset(ListOffsetsResponse.UNKNOWN_OFFSET);
+            partitionResponses.put(bucketId, partitionResponse);
+            long timestamp = partition.timestamp();
+            if (topic.error != Errors.NONE) {
+                partitionResponse.setErrorCode(topic.error.code());
+            } else if (timestamp < 0
+                    && timestamp != ListOffsetsRequest.EARLIEST_TIMESTAMP
+                    && timestamp != ListOffsetsRequest.LATEST_TIMESTAMP) {
+                // max timestamp and tiered offsets are not supported
+                partitionResponse.setErrorCode(Errors.UNSUPPORTED_VERSION.code());
+            } else {
+                bucketsByTimestamp.computeIfAbsent(timestamp, k -> new ArrayList<>()).add(bucketId);
+            }
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Map.Entry<Long, List<Integer>> entry : bucketsByTimestamp.entrySet()) {
+            long timestamp = entry.getKey();
+            List<Integer> buckets = entry.getValue();
+            org.apache.fluss.rpc.messages.ListOffsetsRequest listOffsetsRequest =
+                    new org.apache.fluss.rpc.messages.ListOffsetsRequest()
+                            .setFollowerServerId(CLIENT_ID)
+                            .setTableId(topic.tableId());
+            if (timestamp == ListOffsetsRequest.EARLIEST_TIMESTAMP) {
+                listOffsetsRequest.setOffsetType(EARLIEST_OFFSET_TYPE);
+            } else if (timestamp == ListOffsetsRequest.LATEST_TIMESTAMP) {
+                listOffsetsRequest.setOffsetType(LATEST_OFFSET_TYPE);
+            } else {
+                listOffsetsRequest
+                        .setOffsetType(TIMESTAMP_OFFSET_TYPE)
+                        .setStartTimestamp(timestamp);
+            }
+            for (int bucketId : buckets) {
+                listOffsetsRequest.addBucketId(bucketId);
+            }
+            futures.add(
+                    call(() -> gateway.listOffsets(listOffsetsRequest))
+                            .handle(
+                                    (response, throwable) -> {
+                                        fillListedOffsets(
+                                                response, throwable, buckets, partitionResponses);
+                                        return null;
+                                    }));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(
+                        ignored ->
+                                new ListOffsetsResponseData.ListOffsetsTopicResponse()
+                                        .setName(topicData.name())
+                                        .setPartitions(
+                                                new ArrayList<>(partitionResponses.values())));
+    }
+
+    private static void fillListedOffsets(
+            @Nullable org.apache.fluss.rpc.messages.ListOffsetsResponse response,
+            @Nullable Throwable throwable,
+            List<Integer> buckets,
+            Map<Integer, ListOffsetsResponseData.ListOffsetsPartitionResponse> partitionResponses) {
+        if (throwable != null) {
+            short errorCode = toKafkaError(ApiError.fromThrowable(throwable).error().code()).code();
+            for (int bucketId : buckets) {
+                partitionResponses.get(bucketId).setErrorCode(errorCode);
+            }
+            return;
+        }
+        for (PbListOffsetsRespForBucket bucketResp : response.getBucketsRespsList()) {
+            ListOffsetsResponseData.ListOffsetsPartitionResponse partitionResponse =
+                    partitionResponses.get(bucketResp.getBucketId());
+            if (bucketResp.hasErrorCode() && bucketResp.getErrorCode() != 0) {
+                partitionResponse.setErrorCode(toKafkaError(bucketResp.getErrorCode()).code());
+            } else {
+                partitionResponse.setOffset(bucketResp.getOffset());
+            }
+        }
+    }
+
+    void handleOffsetFetchRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
+
+    void handleOffsetCommitRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
+
+    void handleFetchRequest(KafkaRequest request) {
+        FetchRequest fetchRequest = request.request();
+        FetchRequestData data = fetchRequest.data();
+        List<CompletableFuture<KafkaTopic>> topicFutures = new ArrayList<>();
+        for (FetchRequestData.FetchTopic topicData : data.topics()) {
+            topicFutures.add(resolveTopic(topicData.topic()));
+        }
+        complete(
+                request, combineAll(topicFutures).thenCompose(topics -> fetchTopics(data, topics)));
+    }
+
+    private CompletableFuture<AbstractResponse> fetchTopics(
+            FetchRequestData data, List<KafkaTopic> topics) {
+        List<FetchResponseData.FetchableTopicResponse> topicResponses = new ArrayList<>();
+        // the partition responses to be filled by the fetched records, keyed by the bucket
+        Map<TableBucket, FetchResponseData.PartitionData> pendingPartitions = new HashMap<>();
+        Map<Long, KafkaTopic> topicsById = new HashMap<>();
+        FetchLogRequest fetchLogRequest =
+                new FetchLogRequest()
+                        .setFollowerServerId(CLIENT_ID)
+                        .setMaxBytes(data.maxBytes())
+                        .setMinBytes(data.minBytes())
+                        .setMaxWaitMs(data.maxWaitMs());
+        for (int i = 0; i < data.topics().size(); i++) {
+            FetchRequestData.FetchTopic topicData = data.topics().get(i);
+            KafkaTopic topic = topics.get(i);
+            FetchResponseData.FetchableTopicResponse topicResponse =
+                    new FetchResponseData.FetchableTopicResponse().setTopic(topicData.topic());
+            topicResponses.add(topicResponse);
+            PbFetchLogReqForTable fetchLogReqForTable = null;
+            if (topic.error == Errors.NONE) {
+                fetchLogReqForTable =
+                        fetchLogRequest
+                                .addTablesReq()
+                                .setTableId(topic.tableId())
+                                .setProjectionPushdownEnabled(false);
+                topicsById.put(topic.tableId(), topic);
+            }
+            for (FetchRequestData.FetchPartition partition : topicData.partitions()) {
+                FetchResponseData.PartitionData partitionData =
+                        new FetchResponseData.PartitionData()
+                                .setPartitionIndex(partition.partition())
+                                .setRecords(MemoryRecords.EMPTY);
+                topicResponse.partitions().add(partitionData);
+                if (fetchLogReqForTable == null) {
+                    partitionData.setErrorCode(topic.error.code());
+                    continue;
+                }
+                fetchLogReqForTable
+                        .addBucketsReq()
+                        .setBucketId(partition.partition())
+                        .setFetchOffset(partition.fetchOffset())
+                        .setMaxFetchBytes(partition.partitionMaxBytes());
+                pendingPartitions.put(
+                        new TableBucket(topic.tableId(), partition.partition()), partitionData);
+            }
+        }
+
+        FetchResponseData responseData = new FetchResponseData().setResponses(topicResponses);
+        if (pendingPartitions.isEmpty()) {
+            return CompletableFuture.completedFuture(new FetchResponse(responseData));
+        }
+        return call(() -> gateway.fetchLog(fetchLogRequest))
+                .thenApply(
+                        response -> {
+                            fillFetchedRecords(response, topicsById, pendingPartitions);
+                            return new FetchResponse(responseData);
+                        });
+    }
+
+    private void fillFetchedRecords(
+            FetchLogResponse response,
+            Map<Long, KafkaTopic> topicsById,
+            Map<TableBucket, FetchResponseData.PartitionData> pendingPartitions) {
+        for (PbFetchLogRespForTable tableResp : response.getTablesRespsList()) {
+            KafkaTopic topic = topicsById.get(tableResp.getTableId());
+            if (topic == null) {
+                continue;
+            }
+            SchemaGetter schemaGetter = schemaGetterFactory.apply(topic.metadata.getTableInfo());
+            try {
+                fillFetchedRecords(tableResp, topic, schemaGetter, pendingPartitions);
+            } finally {
+                schemaGetter.release();
+            }
+        }
+    }
+
+    private static void fillFetchedRecords(
+            PbFetchLogRespForTable tableResp,
+            KafkaTopic topic,
+            SchemaGetter schemaGetter,
+            Map<TableBucket, FetchResponseData.PartitionData> pendingPartitions) {
+        for (PbFetchLogRespForBucket bucketResp : tableResp.getBucketsRespsList()) {
+            FetchResponseData.PartitionData partitionData =
+                    pendingPartitions.get(
+                            new TableBucket(tableResp.getTableId(), bucketResp.getBucketId()));
+            if (partitionData == null) {
+                continue;
+            }
+            if (bucketResp.hasErrorCode() && bucketResp.getErrorCode() != 0) {
+                partitionData.setErrorCode(toKafkaError(bucketResp.getErrorCode()).code());
+                continue;
+            }
+            if (bucketResp.hasHighWatermark()) {
+                partitionData
+                        .setHighWatermark(bucketResp.getHighWatermark())
+                        .setLastStableOffset(bucketResp.getHighWatermark());
+            }
+            if (bucketResp.hasLogStartOffset()) {
+                partitionData.setLogStartOffset(bucketResp.getLogStartOffset());
+            }
+            if (bucketResp.hasRemoteLogFetchInfo()) {
+                // the log segments which have been moved to remote storage are only
+                // served to the Fluss clients
+                partitionData.setErrorCode(Errors.OFFSET_OUT_OF_RANGE.code());
+            } else if (bucketResp.hasRecords() && bucketResp.getRecordsSize() > 0) {
+                try {
+                    ByteBuffer buffer = toByteBuffer(bucketResp.getRecordsSlice());
+                    partitionData.setRecords(
+                            topic.converter.toKafkaRecords(
+                                    MemoryLogRecords.pointToByteBuffer(buffer), schemaGetter));
+                } catch (Exception e) {
+                    LOG.warn("Failed to convert the records of topic {}.", topic.name, e);
+                    partitionData.setErrorCode(Errors.CORRUPT_MESSAGE.code());
+                }
+            }
+        }
+    }
+
+    void handleJoinGroupRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleMetadataRequest(KafkaRequest request) {}
+    void handleSyncGroupRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleFindCoordinatorRequest(KafkaRequest request) {}
+    void handleHeartbeatRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleListOffsetRequest(KafkaRequest request) {}
+    void handleLeaveGroupRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleOffsetFetchRequest(KafkaRequest request) {}
+    void handleDescribeGroupsRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleOffsetCommitRequest(KafkaRequest request) {}
+    void handleListGroupsRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleFetchRequest(KafkaRequest request) {}
+    void handleDeleteGroupsRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleJoinGroupRequest(KafkaRequest request) {}
+    void handleSaslHandshakeRequest(KafkaRequest request) {
+        SaslHandshakeRequest handshakeRequest = request.request();
+        String mechanism = handshakeRequest.data().mechanism();
+        ServerAuthenticator authenticator = request.authenticator();
+        SaslHandshakeResponseData data = new SaslHandshakeResponseData();
+        if (request.apiVersion() == 0) {
+            // the version 0 sends the SASL tokens without the Kafka request header
+            request.complete(
+                    new SaslHandshakeResponse(
+                            data.setErrorCode(Errors.UNSUPPORTED_VERSION.code())));
+            return;
+        }
+        if (authenticator.isCompleted()) {
+            // the listener doesn't authenticate with SASL, or the connection is authenticated
+            request.complete(
+                    new SaslHandshakeResponse(data.setErrorCode(Errors.ILLEGAL_SASL_STATE.code())));
+            return;
+        }
+        try {
+            authenticator.matchProtocol(mechanism);
+            authenticator.initialize(new KafkaAuthenticateContext(request, mechanism));
+        } catch (AuthenticationException e) {
+            LOG.warn("Unsupported SASL mechanism {} from Kafka client.", mechanism, e);
+            request.complete(
+                    new SaslHandshakeResponse(
+                            data.setErrorCode(Errors.UNSUPPORTED_SASL_MECHANISM.code())));
+            return;
+        }
+        data.setMechanisms(Collections.singletonList(mechanism));
+        request.complete(new SaslHandshakeResponse(data.setErrorCode(Errors.NONE.code())));
+    }
 
-    void handleSyncGroupRequest(KafkaRequest request) {}
+    void handleSaslAuthenticateRequest(KafkaRequest request) {
+        SaslAuthenticateRequest authenticateRequest = request.request();
+        ServerAuthenticator authenticator = request.authenticator();
+        SaslAuthenticateResponseData data = new SaslAuthenticateResponseData();
+        try {
+            byte[] challenge =
+                    authenticator.evaluateResponse(authenticateRequest.data().authBytes());
+            data.setErrorCode(Errors.NONE.code())
+                    .setAuthBytes(challenge == null ? new byte[0] : challenge);
+        } catch (AuthenticationException e) {
+            LOG.warn("Failed to authenticate the Kafka client.", e);
+            data.setErrorCode(Errors.SASL_AUTHENTICATION_FAILED.code())
+                    .setErrorMessage(e.getMessage());
+        }
+        request.complete(new SaslAuthenticateResponse(data));
+    }
 
-    void handleHeartbeatRequest(KafkaRequest request) {}
+    void handleCreateTopicsRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleLeaveGroupRequest(KafkaRequest request) {}
+    void handleInitProducerIdRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleDescribeGroupsRequest(KafkaRequest request) {}
+    void handleAddPartitionsToTxnRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleListGroupsRequest(KafkaRequest request) {}
+    void handleAddOffsetsToTxnRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleDeleteGroupsRequest(KafkaRequest request) {}
+    void handleTxnOffsetCommitRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleSaslHandshakeRequest(KafkaRequest request) {}
+    void handleEndTxnRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleSaslAuthenticateRequest(KafkaRequest request) {}
+    void handleWriteTxnMarkersRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleCreateTopicsRequest(KafkaRequest request) {}
+    void handleDescribeConfigsRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleInitProducerIdRequest(KafkaRequest request) {}
+    void handleAlterConfigsRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleAddPartitionsToTxnRequest(KafkaRequest request) {}
+    void handleDeleteTopicsRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleAddOffsetsToTxnRequest(KafkaRequest request) {}
+    void handleDeleteRecordsRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleTxnOffsetCommitRequest(KafkaRequest request) {}
+    void handleOffsetDeleteRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleEndTxnRequest(KafkaRequest request) {}
+    void handleCreatePartitionsRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleWriteTxnMarkersRequest(KafkaRequest request) {}
+    void handleDescribeClusterRequest(KafkaRequest request) {
+        handleUnsupportedRequest(request);
+    }
 
-    void handleDescribeConfigsRequest(KafkaRequest request) {}
+    // ------------------------------------------------------------------------------------------
 
-    void handleAlterConfigsRequest(KafkaRequest request) {}
+    private static boolean isAuthenticationRequest(ApiKeys apiKey) {
+        return apiKey == ApiKeys.API_VERSIONS
+                || apiKey == ApiKeys.SASL_HANDSHAKE
+                || apiKey == ApiKeys.SASL_AUTHENTICATE;
+    }
 
-    void handleDeleteTopicsRequest(KafkaRequest request) {}
+    /**
+     * Sets the session of the request to the gateway, as the Fluss RPCs of the gateway get the
+     * principal and the listener of the returned server nodes from the current session. The
+     * principal is the one authenticated by the SASL requests of the connection, or anonymous
+     * before the authentication is completed.
+     */
+    private void setCurrentSession(KafkaRequest request) {
+        if (!(gateway instanceof RpcGatewayService)) {
+            return;
+        }
+        SocketAddress address =
+                request.ctx().channel() == null ? null : request.ctx().channel().remoteAddress();
+        ((RpcGatewayService) gateway)
+                .setCurrentSession(
+                        new Session(
+                                request.apiVersion(),
+                                request.listenerName(),
+                                false,
+                                address instanceof InetSocketAddress
+                                        ? ((InetSocketAddress) address).getAddress()
+                                        : null,
+                                request.authenticator().isCompleted()
+                                        ? request.authenticator().createPrincipal()
+                                        : FlussPrincipal.ANONYMOUS));
+    }
+
+    private CompletableFuture<List<String>> listTopics() {
+        return call(() -> gateway.listTables(new ListTablesRequest().setDatabaseName(database)))
+                .handle(
+                        (response, throwable) -> {
+                            if (throwable == null) {
+                                return response.getTableNamesList();
+                            }
+                            Throwable cause = unwrapCompletionException(throwable);
+                            if (cause instanceof DatabaseNotExistException) {
+                                return Collections.emptyList();
+                            }
+                            throw new CompletionException(cause);
+                        });
+    }
+
+    /** Resolves the Fluss table which the given topic is mapped to. */
+    private CompletableFuture<KafkaTopic> resolveTopic(String topic) {
+        org.apache.fluss.rpc.messages.MetadataRequest metadataRequest =
+                new org.apache.fluss.rpc.messages.MetadataRequest();
+        metadataRequest.addTablePath().setDatabaseName(database).setTableName(topic);
+        return call(() -> gateway.metadata(metadataRequest))
+                .handle(
+                        (response, throwable) -> {
+                            if (throwable != null) {
+                                ApiError error = ApiError.fromThrowable(throwable);
+                                return KafkaTopic.error(
+                                        topic, toKafkaError(error.error().code()), error.message());
+                            }
+                            for (PbTableMetadata pbTableMetadata :
+                                    response.getTableMetadatasList()) {
+                                TableMetadata tableMetadata = toTableMetaData(pbTableMetadata);
+                                TablePath tablePath = tableMetadata.getTableInfo().getTablePath();
+                                if (tablePath.equals(TablePath.of(database, topic))) {
+                                    return KafkaTopic.of(topic, tableMetadata);
+                                }
+                            }
+                            // the table is filtered out by the authorization
+                            return KafkaTopic.error(topic, Errors.TOPIC_AUTHORIZATION_FAILED, null);
+                        });
+    }
+
+    /** Completes the request with the response built from the results of the given futures. */
+    private static <T> void completeAll(
+            KafkaRequest request,
+            List<CompletableFuture<T>> futures,
+            Function<List<T>, AbstractResponse> responseBuilder) {
+        complete(request, combineAll(futures).thenApply(responseBuilder));
+    }
+
+    /** Completes the request with the response of the given future. */
+    private static void complete(
+            KafkaRequest request, CompletableFuture<? extends AbstractResponse> responseFuture) {
+        responseFuture.whenComplete(
+                (response, throwable) -> {
+                    if (throwable != null) {
+                        request.fail(unwrapCompletionException(throwable));
+                    } else {
+                        request.complete(response);
+                    }
+                });
+    }
+
+    /** Combines the results of the given futures in the order of the futures. */
+    private static <T> CompletableFuture<List<T>> combineAll(List<CompletableFuture<T>> futures) {
+        return FutureUtils.combineAll(futures).thenApply(ArrayList::new);
+    }
+
+    /** Calls the gateway and turns the exceptions thrown by the call into a failed future. */
+    private static <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> rpc) {
+        try {
+            return rpc.get();
+        } catch (Throwable t) {
+            return completedExceptionally(t);
+        }
+    }
+
+    private static void setError(
+            ProduceResponseData.PartitionProduceResponse partitionResponse,
+            Errors error,
+            @Nullable String errorMessage) {
+        partitionResponse.setErrorCode(error.code()).setErrorMessage(errorMessage);
+    }
+
+    /** Converts the Fluss error code to the Kafka error. */
+    static Errors toKafkaError(int flussErrorCode) {
+        switch (org.apache.fluss.rpc.protocol.Errors.forCode(flussErrorCode)) {
+            case NONE:
+                return Errors.NONE;
+            case DATABASE_NOT_EXIST:
+            case TABLE_NOT_EXIST:
+            case UNKNOWN_TABLE_OR_BUCKET_EXCEPTION:
+                return Errors.UNKNOWN_TOPIC_OR_PARTITION;
+            case INVALID_TABLE_EXCEPTION:
+            case INVALID_DATABASE_EXCEPTION:
+                return Errors.INVALID_TOPIC_EXCEPTION;
+            case NOT_LEADER_OR_FOLLOWER:
+                return Errors.NOT_LEADER_OR_FOLLOWER;
+            case LEADER_NOT_AVAILABLE_EXCEPTION:
+                return Errors.LEADER_NOT_AVAILABLE;
+            case FENCED_LEADER_EPOCH_EXCEPTION:
+                return Errors.FENCED_LEADER_EPOCH;
+            case LOG_OFFSET_OUT_OF_RANGE_EXCEPTION:
+                return Errors.OFFSET_OUT_OF_RANGE;
+            case REQUEST_TIME_OUT:
+                return Errors.REQUEST_TIMED_OUT;
+            case NOT_ENOUGH_REPLICAS_EXCEPTION:
+                return Errors.NOT_ENOUGH_REPLICAS;
+            case NOT_ENOUGH_REPLICAS_AFTER_APPEND_EXCEPTION:
+                return Errors.NOT_ENOUGH_REPLICAS_AFTER_APPEND;
+            case RECORD_TOO_LARGE_EXCEPTION:
+                return Errors.MESSAGE_TOO_LARGE;
+            case CORRUPT_MESSAGE:
+            case CORRUPT_RECORD_EXCEPTION:
+                return Errors.CORRUPT_MESSAGE;
+            case INVALID_REQUIRED_ACKS:
+                return Errors.INVALID_REQUIRED_ACKS;
+            case INVALID_TIMESTAMP_EXCEPTION:
+                return Errors.INVALID_TIMESTAMP;
+            case LOG_STORAGE_EXCEPTION:
+            case STORAGE_EXCEPTION:
+                return Errors.KAFKA_STORAGE_ERROR;
+            case AUTHORIZATION_EXCEPTION:
+                return Errors.TOPIC_AUTHORIZATION_FAILED;
+            case UNSUPPORTED_VERSION:
+                return Errors.UNSUPPORTED_VERSION;
+            default:
+                return Errors.UNKNOWN_SERVER_ERROR;
+        }
+    }
+
+    /** The {@link ServerAuthenticator.AuthenticateContext} of a Kafka connection. */
+    private static class KafkaAuthenticateContext
+            implements ServerAuthenticator.AuthenticateContext {
+        private final String ipAddress;
+        private final String listenerName;
+        private final String protocol;
+
+        private KafkaAuthenticateContext(KafkaRequest request, String protocol) {
+            SocketAddress address =
+                    request.ctx().channel() == null
+                            ? null
+                            : request.ctx().channel().remoteAddress();
+            this.ipAddress =
+                    address instanceof InetSocketAddress
+                            ? ((InetSocketAddress) address).getAddress().getHostAddress()
+                            : null;
+            this.listenerName = request.listenerName();
+            this.protocol = protocol;
+        }
 
-    void handleDeleteRecordsRequest(KafkaRequest request) {}
+        @Override
+        public String ipAddress() {
+            return ipAddress;
+        }
+
+        @Override
+        public String listenerName() {
+            return listenerName;
+        }
 
-    void handleOffsetDeleteRequest(KafkaRequest request) {}
+        @Override
+        public String protocol() {
+            return protocol;
+        }
+    }
 
-    void handleCreatePartitionsRequest(KafkaRequest request) {}
+    /** The Fluss table which a Kafka topic is mapped to, or the error to resolve the table. */
+    private static class KafkaTopic {
+        private final String name;
+        @Nullable private final TableMetadata metadata;
+        @Nullable private final KafkaRecordsConverter converter;
+        private final Errors error;
+        @Nullable private final String errorMessage;
 
-    void handleDescribeClusterRequest(KafkaRequest request) {}
+        private KafkaTopic(
+                String name,
+                @Nullable TableMetadata metadata,
+                @Nullable KafkaRecordsConverter converter,
+                Errors error,
+                @Nullable String errorMessage) {
+            this.name = name;
+            this.metadata = metadata;
+            this.converter = converter;
+            this.error = error;
+            this.errorMessage = errorMessage;
+        }
+
+        private static KafkaTopic of(String name, TableMetadata metadata) {
+            try {
+                KafkaRecordsConverter converter =
+                        KafkaRecordsConverter.create(metadata.getTableInfo());
+                return new KafkaTopic(name, metadata, converter, Errors.NONE, null);
+            } catch (InvalidTopicException e) {
+                return error(name, Errors.INVALID_TOPIC_EXCEPTION, e.getMessage());
+            }
+        }
+
+        private static KafkaTopic error(String name, Errors error, @Nullable String errorMessage) {
+            return new KafkaTopic(name, null, null, error, errorMessage);
+        }
+
+        private long tableId() {
+            return metadata.getTableInfo().getTableId();
+        }
+    }
 }
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.kafka;
+
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.metadata.Schema;
+import org.apache.fluss.metadata.TableDescriptor;
+import org.apache.fluss.metadata.TableInfo;
+import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.record.TestingSchemaGetter;
+import org.apache.fluss.types.DataTypes;
+
+import org.apache.kafka.common.compress.Compression;
+import org.apache.kafka.common.errors.InvalidTopicException;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.Record;
+import org.apache.kafka.common.record.SimpleRecord;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link KafkaRecordsConverter}. */
+class KafkaRecordsConverterTest {
+
+    private static final TablePath TOPIC_PATH = TablePath.of("kafka", "topic");
+
+    @ParameterizedTest
+    @EnumSource(
+            value = LogFormat.class,
+            names = {"INDEXED", "COMPACTED"})
+    void testConvertRecords(LogFormat logFormat) throws Exception {
+        TableInfo tableInfo =
+                createTableInfo(
+                        Schema.newBuilder()
+                                .column("key", DataTypes.BYTES())
+                                .column("value", DataTypes.BYTES())
+                                .column("timestamp", DataTypes.TIMESTAMP_LTZ(3))
+                                .build(),
+                        logFormat);
+        KafkaRecordsConverter converter = KafkaRecordsConverter.create(tableInfo);
+        assertThat(converter.isWritable()).isTrue();
+
+        MemoryRecords kafkaRecords =
+                MemoryRecords.withRecords(
+                        Compression.NONE,
+                        new SimpleRecord(1000L, bytes("k1"), bytes("v1")),
+                        new SimpleRecord(2000L, null, bytes("v2")),
+                        new SimpleRecord(3000L, bytes("k3"), null));
+        MemoryLogRecords logRecords =
+                MemoryLogRecords.pointToBytesView(converter.toLogRecords(kafkaRecords));
+        assertThat(logRecords.batches()).hasSize(1);
+
+        List<Record> records =
+                toList(
+                        converter.toKafkaRecords(
+                                logRecords, new TestingSchemaGetter(tableInfo.getSchemaInfo())));
+        assertThat(records).hasSize(3);
+        assertRecord(records.get(0), 0L, 1000L, "k1", "v1");
+        assertRecord(records.get(1), 1L, 2000L, null, "v2");
+        assertRecord(records.get(2), 2L, 3000L, "k3", null);
+    }
+
+    @Test
+    void testConvertRecordsWithoutKeyAndTimestamp() throws Exception {
+        TableInfo tableInfo =
+                createTableInfo(
+                        Schema.newBuilder().column("value", DataTypes.BYTES()).build(),
+                        LogFormat.INDEXED);
+        KafkaRecordsConverter converter = KafkaRecordsConverter.create(tableInfo);
+        MemoryRecords kafkaRecords =
+                MemoryRecords.withRecords(
+                        Compression.NONE, new SimpleRecord(1000L, bytes("k1"), bytes("v1")));
+        MemoryLogRecords logRecords =
+                MemoryLogRecords.pointToBytesView(converter.toLogRecords(kafkaRecords));
+
+        List<Record> records =
+                toList(
+                        converter.toKafkaRecords(
+                                logRecords, new TestingSchemaGetter(tableInfo.getSchemaInfo())));
+        assertThat(records).hasSize(1);
+        // the key is dropped and the commit timestamp of the batch is used
+        long commitTimestamp = logRecords.batches().iterator().next().commitTimestamp();
+        assertRecord(records.get(0), 0L, commitTimestamp, null, "v1");
+    }
+
+    @Test
+    void testConvertRecordsOfEarlierSchema() throws Exception {
+        Schema oldSchema = Schema.newBuilder().column("value", DataTypes.BYTES()).build();
+        TableInfo oldTableInfo = createTableInfo(oldSchema, 1, LogFormat.INDEXED);
+        MemoryRecords kafkaRecords =
+                MemoryRecords.withRecords(
+                        Compression.NONE, new SimpleRecord(1000L, bytes("k1"), bytes("v1")));
+        MemoryLogRecords logRecords =
+                MemoryLogRecords.pointToBytesView(
+                        KafkaRecordsConverter.create(oldTableInfo).toLogRecords(kafkaRecords));
+
+        // the batch written in the earlier schema is read after a column is added
+        Schema newSchema =
+                Schema.newBuilder().fromSchema(oldSchema).column("key", DataTypes.BYTES()).build();
+        TableInfo newTableInfo = createTableInfo(newSchema, 2, LogFormat.INDEXED);
+        TestingSchemaGetter schemaGetter = new TestingSchemaGetter(oldTableInfo.getSchemaInfo());
+        schemaGetter.updateLatestSchemaInfo(newTableInfo.getSchemaInfo());
+
+        List<Record> records =
+                toList(
+                        KafkaRecordsConverter.create(newTableInfo)
+                                .toKafkaRecords(logRecords, schemaGetter));
+        assertThat(records).hasSize(1);
+        long commitTimestamp = logRecords.batches().iterator().next().commitTimestamp();
+        assertRecord(records.get(0), 0L, commitTimestamp, null, "v1");
+    }
+
+    @Test
+    void testConvertEmptyRecords() throws Exception {
+        KafkaRecordsConverter converter =
+                KafkaRecordsConverter.create(
+                        createTableInfo(
+                                Schema.newBuilder().column("value", DataTypes.BYTES()).build(),
+                                LogFormat.ARROW));
+        assertThat(converter.isWritable()).isFalse();
+        assertThat(converter.toKafkaRecords(MemoryLogRecords.EMPTY, new TestingSchemaGetter()))
+                .isSameAs(MemoryRecords.EMPTY);
+    }
+
+    @Test
+    void testUnsupportedTables() {
+        assertThatThrownBy(
+                        () ->
+                                KafkaRecordsConverter.create(
+                                        createTableInfo(
+                                                Schema.newBuilder()
+                                                        .column("key", DataTypes.BYTES())
+                                                        .build(),
+                                                LogFormat.INDEXED)))
+                .isInstanceOf(InvalidTopicException.class)
+                .hasMessageContaining("the column 'value BYTES' is required");
+
+        assertThatThrownBy(
+                        () ->
+                                KafkaRecordsConverter.create(
+                                        createTableInfo(
+                                                Schema.newBuilder()
+                                                        .column("value", DataTypes.STRING())
+                                                        .build(),
+                                                LogFormat.INDEXED)))
+                .isInstanceOf(InvalidTopicException.class)
+                .hasMessageContaining("unsupported column 'value STRING'");
+
+        assertThatThrownBy(
+                        () ->
+                                KafkaRecordsConverter.create(
+                                        createTableInfo(
+                                                Schema.newBuilder()
+                                                        .column("id", DataTypes.INT())
+                                                        .column("value", DataTypes.BYTES())
+                                                        .primaryKey("id")
+                                                        .build(),
+                                                LogFormat.ARROW)))
+                .isInstanceOf(InvalidTopicException.class)
+                .hasMessageContaining("only non-partitioned log tables are supported");
+    }
+
+    static TableInfo createTableInfo(Schema schema, LogFormat logFormat) {
+        return createTableInfo(schema, 1, logFormat);
+    }
+
+    static TableInfo createTableInfo(Schema schema, int schemaId, LogFormat logFormat) {
+        TableDescriptor descriptor =
+                TableDescriptor.builder()
+                        .schema(schema)
+                        .distributedBy(3)
+                        .logFormat(logFormat)
+                        .build();
+        return TableInfo.of(
+                TOPIC_PATH,
+                1L,
+                schemaId,
+                descriptor,
+                System.currentTimeMillis(),
+                System.currentTimeMillis());
+    }
+
+    private static void assertRecord(
+            Record record, long offset, long timestamp, String key, String value) {
+        assertThat(record.offset()).isEqualTo(offset);
+        assertThat(record.timestamp()).isEqualTo(timestamp);
+        assertThat(toString(record.key())).isEqualTo(key);
+        assertThat(toString(record.value())).isEqualTo(value);
+    }
+
+    private static List<Record> toList(MemoryRecords records) {
+        List<Record> result = new ArrayList<>();
+        records.records().forEach(result::add);
+        return result;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String toString(ByteBuffer buffer) {
+        return buffer == null ? null : new String(Utils.toArray(buffer), StandardCharsets.UTF_8);
+    }
+}
@@ -17,21 +17,39 @@
 
 package org.apache.fluss.kafka;
 
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.record.TestingSchemaGetter;
 import org.apache.fluss.rpc.TestingTabletGatewayService;
+import org.apache.fluss.security.acl.FlussPrincipal;
+import org.apache.fluss.security.auth.ServerAuthenticator;
+import org.apache.fluss.security.auth.sasl.authenticator.SaslServerAuthenticator;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBuf;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBufAllocator;
 import org.apache.fluss.shaded.netty4.io.netty.channel.ChannelHandlerContext;
 
+import org.apache.kafka.common.errors.IllegalSaslStateException;
+import org.apache.kafka.common.message.SaslAuthenticateRequestData;
+import org.apache.kafka.common.message.SaslHandshakeRequestData;
 import org.apache.kafka.common.protocol.ApiKeys;
 import org.apache.kafka.common.protocol.Errors;
+import org.apache.kafka.common.requests.AbstractRequest;
 import org.apache.kafka.common.requests.AbstractResponse;
 import org.apache.kafka.common.requests.ApiVersionsRequest;
 import org.apache.kafka.common.requests.ApiVersionsResponse;
+import org.apache.kafka.common.requests.MetadataRequest;
 import org.apache.kafka.common.requests.RequestHeader;
+import org.apache.kafka.common.requests.SaslAuthenticateRequest;
+import org.apache.kafka.common.requests.SaslAuthenticateResponse;
+import org.apache.kafka.common.requests.SaslHandshakeRequest;
+import org.apache.kafka.common.requests.SaslHandshakeResponse;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -112,7 +130,168 @@ public class KafkaRequestHandlerTest {
                         });
     }
 
+    @Test
+    public void testSaslPlainAuthentication() {
+        TestingTabletGatewayService gateway = new TestingTabletGatewayService();
+        KafkaRequestHandler handler = createKafkaRequestHandler(gateway);
+        Configuration conf = new Configuration();
+        conf.setString("security.sasl.enabled.mechanisms", "plain");
+        conf.setString(
+                "security.sasl.plain.jaas.config",
+                "org.apache.fluss.security.auth.sasl.plain.PlainLoginModule required "
+                        + "    user_root=\"password\";");
+        ServerAuthenticator authenticator = new SaslServerAuthenticator(conf);
+
+        // the requests except the SASL ones are rejected before the authentication
+        KafkaRequest metadataRequest =
+                createRequest(
+                        ApiKeys.METADATA,
+                        MetadataRequest.Builder.allTopics().build(),
+                        authenticator);
+        handler.processRequest(metadataRequest);
+        assertThat(metadataRequest.future())
+                .failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalSaslStateException.class);
+
+        KafkaRequest handshakeRequest =
+                createRequest(
+                        ApiKeys.SASL_HANDSHAKE,
+                        new SaslHandshakeRequest.Builder(
+                                        new SaslHandshakeRequestData().setMechanism("PLAIN"))
+                                .build(),
+                        authenticator);
+        handler.processRequest(handshakeRequest);
+        SaslHandshakeResponse handshakeResponse =
+                (SaslHandshakeResponse) handshakeRequest.future().join();
+        assertThat(handshakeResponse.error()).isEqualTo(Errors.NONE);
+        assertThat(handshakeResponse.enabledMechanisms()).containsExactly("PLAIN");
+
+        KafkaRequest authenticateRequest =
+                createRequest(
+                        ApiKeys.SASL_AUTHENTICATE,
+                        new SaslAuthenticateRequest.Builder(
+                                        new SaslAuthenticateRequestData()
+                                                .setAuthBytes(
+                                                        "\0root\0password"
+                                                                .getBytes(StandardCharsets.UTF_8)))
+                                .build(),
+                        authenticator);
+        handler.processRequest(authenticateRequest);
+        SaslAuthenticateResponse authenticateResponse =
+                (SaslAuthenticateResponse) authenticateRequest.future().join();
+        assertThat(authenticateResponse.error()).isEqualTo(Errors.NONE);
+
+        // the following requests run as the authenticated principal
+        handler.processRequest(
+                createRequest(
+                        ApiKeys.API_VERSIONS,
+                        new ApiVersionsRequest.Builder().build(),
+                        authenticator));
+        assertThat(gateway.currentSession().getPrincipal())
+                .isEqualTo(new FlussPrincipal("root", "User"));
+    }
+
+    @Test
+    public void testSaslPlainAuthenticationFailure() {
+        KafkaRequestHandler handler = createKafkaRequestHandler();
+        Configuration conf = new Configuration();
+        conf.setString("security.sasl.enabled.mechanisms", "plain");
+        conf.setString(
+                "security.sasl.plain.jaas.config",
+                "org.apache.fluss.security.auth.sasl.plain.PlainLoginModule required "
+                        + "    user_root=\"password\";");
+        ServerAuthenticator authenticator = new SaslServerAuthenticator(conf);
+
+        KafkaRequest handshakeRequest =
+                createRequest(
+                        ApiKeys.SASL_HANDSHAKE,
+                        new SaslHandshakeRequest.Builder(
+                                        new SaslHandshakeRequestData()
+                                                .setMechanism("SCRAM-SHA-256"))
+                                .build(),
+                        authenticator);
+        handler.processRequest(handshakeRequest);
+        assertThat(((SaslHandshakeResponse) handshakeRequest.future().join()).error())
+                .isEqualTo(Errors.UNSUPPORTED_SASL_MECHANISM);
+
+        handshakeRequest =
+                createRequest(
+                        ApiKeys.SASL_HANDSHAKE,
+                        new SaslHandshakeRequest.Builder(
+                                        new SaslHandshakeRequestData().setMechanism("PLAIN"))
+                                .build(),
+                        authenticator);
+        handler.processRequest(handshakeRequest);
+        assertThat(((SaslHandshakeResponse) handshakeRequest.future().join()).error())
+                .isEqualTo(Errors.NONE);
+
+        KafkaRequest authenticateRequest =
+                createRequest(
+                        ApiKeys.SASL_AUTHENTICATE,
+                        new SaslAuthenticateRequest.Builder(
+                                        new SaslAuthenticateRequestData()
+                                                .setAuthBytes(
+                                                        "\0root\0wrong"
+                                                                .getBytes(StandardCharsets.UTF_8)))
+                                .build(),
+                        authenticator);
+        handler.processRequest(authenticateRequest);
+        assertThat(((SaslAuthenticateResponse) authenticateRequest.future().join()).error())
+                .isEqualTo(Errors.SASL_AUTHENTICATION_FAILED);
+        assertThat(authenticator.isCompleted()).isFalse();
+    }
+
+    @Test
+    public void testToKafkaError() {
+        assertThat(
+                        KafkaRequestHandler.toKafkaError(
+                                org.apache.fluss.rpc.protocol.Errors.NONE.code()))
+                .isEqualTo(Errors.NONE);
+        assertThat(
+                        KafkaRequestHandler.toKafkaError(
+                                org.apache.fluss.rpc.protocol.Errors.TABLE_NOT_EXIST.code()))
+                .isEqualTo(Errors.UNKNOWN_TOPIC_OR_PARTITION);
+        assertThat(
+                        KafkaRequestHandler.toKafkaError(
+                                org.apache.fluss.rpc.protocol.Errors
+                                        .LOG_OFFSET_OUT_OF_RANGE_EXCEPTION
+                                        .code()))
+                .isEqualTo(Errors.OFFSET_OUT_OF_RANGE);
+        assertThat(
+                        KafkaRequestHandler.toKafkaError(
+                                org.apache.fluss.rpc.protocol.Errors.RECORD_TOO_LARGE_EXCEPTION
+                                        .code()))
+                .isEqualTo(Errors.MESSAGE_TOO_LARGE);
+        assertThat(
+                        KafkaRequestHandler.toKafkaError(
+                                org.apache.fluss.rpc.protocol.Errors.UNKNOWN_SERVER_ERROR.code()))
+                .isEqualTo(Errors.UNKNOWN_SERVER_ERROR);
+    }
+
+    private static KafkaRequest createRequest(
+            ApiKeys apiKey, AbstractRequest request, ServerAuthenticator authenticator) {
+        return new KafkaRequest(
+                apiKey,
+                request.version(),
+                new RequestHeader(apiKey, request.version(), "client-id", 0),
+                request,
+                ByteBufAllocator.DEFAULT.buffer(),
+                new TestingChannelHandlerContext(),
+                "KAFKA",
+                authenticator,
+                new CompletableFuture<>());
+    }
+
     private static KafkaRequestHandler createKafkaRequestHandler() {
-        return new KafkaRequestHandler(new TestingTabletGatewayService());
+        return createKafkaRequestHandler(new TestingTabletGatewayService());
+    }
+
+    private static KafkaRequestHandler createKafkaRequestHandler(
+            TestingTabletGatewayService gateway) {
+        return new KafkaRequestHandler(
+                gateway,
+                ConfigOptions.KAFKA_DATABASE.defaultValue(),
+                tableInfo -> new TestingSchemaGetter(tableInfo.getSchemaInfo()));
     }
 }
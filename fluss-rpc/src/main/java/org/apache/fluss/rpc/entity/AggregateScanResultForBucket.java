@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.entity;
+
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.protocol.ApiError;
+
+import javax.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/** Result of {@link org.apache.fluss.rpc.messages.AggregateScanRequest} for each table bucket. */
+public class AggregateScanResultForBucket extends ResultForBucket {
+
+    /** The serialized partial result rows of the bucket. */
+    private final List<byte[]> rows;
+
+    /** The log offset before which the log is not aggregated, null if all is aggregated. */
+    @Nullable private final Long unaggregatedEndOffset;
+
+    public AggregateScanResultForBucket(
+            TableBucket tableBucket, List<byte[]> rows, @Nullable Long unaggregatedEndOffset) {
+        this(tableBucket, ApiError.NONE, rows, unaggregatedEndOffset);
+    }
+
+    public AggregateScanResultForBucket(TableBucket tableBucket, ApiError error) {
+        this(tableBucket, error, Collections.emptyList(), null);
+    }
+
+    private AggregateScanResultForBucket(
+            TableBucket tableBucket,
+            ApiError error,
+            List<byte[]> rows,
+            @Nullable Long unaggregatedEndOffset) {
+        super(tableBucket, error);
+        this.rows = rows;
+        this.unaggregatedEndOffset = unaggregatedEndOffset;
+    }
+
+    public List<byte[]> getRows() {
+        return rows;
+    }
+
+    @Nullable
+    public Long getUnaggregatedEndOffset() {
+        return unaggregatedEndOffset;
+    }
+}
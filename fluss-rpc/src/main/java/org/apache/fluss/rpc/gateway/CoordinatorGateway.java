@@ -32,6 +32,8 @@ import org.apache.fluss.rpc.messages.LakeTieringHeartbeatRequest;
 import org.apache.fluss.rpc.messages.LakeTieringHeartbeatResponse;
 import org.apache.fluss.rpc.messages.PrepareLakeTableSnapshotRequest;
 import org.apache.fluss.rpc.messages.PrepareLakeTableSnapshotResponse;
+import org.apache.fluss.rpc.messages.ReportReplicaLoadRequest;
+import org.apache.fluss.rpc.messages.ReportReplicaLoadResponse;
 import org.apache.fluss.rpc.protocol.ApiKeys;
 import org.apache.fluss.rpc.protocol.RPC;
 
@@ -113,4 +115,15 @@ public interface CoordinatorGateway extends RpcGateway, AdminGateway {
     @RPC(api = ApiKeys.CONTROLLED_SHUTDOWN)
     CompletableFuture<ControlledShutdownResponse> controlledShutdown(
             ControlledShutdownRequest request);
+
+    /**
+     * Report the load of the leader replicas of the tablet server to the coordinator server, which
+     * is used by the load-aware goals of rebalance.
+     *
+     * @param request the request containing the load of the leader replicas.
+     * @return the report replica load response.
+     */
+    @RPC(api = ApiKeys.REPORT_REPLICA_LOAD)
+    CompletableFuture<ReportReplicaLoadResponse> reportReplicaLoad(
+            ReportReplicaLoadRequest request);
 }
@@ -18,6 +18,12 @@
 package org.apache.fluss.rpc.gateway;
 
 import org.apache.fluss.rpc.RpcGateway;
+import org.apache.fluss.rpc.messages.AggregateScanRequest;
+import org.apache.fluss.rpc.messages.AggregateScanResponse;
+import org.apache.fluss.rpc.messages.CreateKvCheckpointRequest;
+import org.apache.fluss.rpc.messages.CreateKvCheckpointResponse;
+import org.apache.fluss.rpc.messages.FetchKvCheckpointFileRequest;
+import org.apache.fluss.rpc.messages.FetchKvCheckpointFileResponse;
 import org.apache.fluss.rpc.messages.FetchLogRequest;
 import org.apache.fluss.rpc.messages.FetchLogResponse;
 import org.apache.fluss.rpc.messages.InitWriterRequest;
@@ -130,6 +136,16 @@ public interface TabletServerGateway extends RpcGateway, AdminReadOnlyGateway {
     @RPC(api = ApiKeys.LIMIT_SCAN)
     CompletableFuture<LimitScanResponse> limitScan(LimitScanRequest request);
 
+    /**
+     * Evaluates grouped aggregates over all the rows of the specified table bucket, and returns the
+     * partial aggregate results of the bucket.
+     *
+     * @param request the aggregate scan request
+     * @return the aggregate scan response
+     */
+    @RPC(api = ApiKeys.AGGREGATE_SCAN)
+    CompletableFuture<AggregateScanResponse> aggregateScan(AggregateScanRequest request);
+
     /**
      * List offsets for the specified table bucket.
      *
@@ -172,4 +188,26 @@ public interface TabletServerGateway extends RpcGateway, AdminReadOnlyGateway {
     @RPC(api = ApiKeys.NOTIFY_LAKE_TABLE_OFFSET)
     CompletableFuture<NotifyLakeTableOffsetResponse> notifyLakeTableOffset(
             NotifyLakeTableOffsetRequest request);
+
+    /**
+     * Creates a RocksDB checkpoint of the kv of the specified table bucket, which is used to
+     * bootstrap the kv of a replica of the bucket on another tablet server.
+     *
+     * @param request the create kv checkpoint request
+     * @return the id, log offset and files of the checkpoint
+     */
+    @RPC(api = ApiKeys.CREATE_KV_CHECKPOINT)
+    CompletableFuture<CreateKvCheckpointResponse> createKvCheckpoint(
+            CreateKvCheckpointRequest request);
+
+    /**
+     * Fetches a chunk of a file of a kv checkpoint created by {@link
+     * #createKvCheckpoint(CreateKvCheckpointRequest)}.
+     *
+     * @param request the fetch kv checkpoint file request
+     * @return the bytes of the file from the requested position
+     */
+    @RPC(api = ApiKeys.FETCH_KV_CHECKPOINT_FILE)
+    CompletableFuture<FetchKvCheckpointFileResponse> fetchKvCheckpointFile(
+            FetchKvCheckpointFileRequest request);
 }
@@ -43,7 +43,7 @@ public enum ApiKeys {
     GET_METADATA(1012, 0, 0, PUBLIC),
     UPDATE_METADATA(1013, 0, 0, PRIVATE),
     PRODUCE_LOG(1014, 0, 0, PUBLIC),
-    FETCH_LOG(1015, 0, 0, PUBLIC),
+    FETCH_LOG(1015, 0, 1, PUBLIC),
     PUT_KV(1016, 0, 0, PUBLIC),
     LOOKUP(1017, 0, 0, PUBLIC),
     NOTIFY_LEADER_AND_ISR(1018, 0, 0, PRIVATE),
@@ -83,7 +83,11 @@ public enum ApiKeys {
     PREPARE_LAKE_TABLE_SNAPSHOT(1052, 0, 0, PRIVATE),
     REGISTER_PRODUCER_OFFSETS(1053, 0, 0, PUBLIC),
     GET_PRODUCER_OFFSETS(1054, 0, 0, PUBLIC),
-    DELETE_PRODUCER_OFFSETS(1055, 0, 0, PUBLIC);
+    DELETE_PRODUCER_OFFSETS(1055, 0, 0, PUBLIC),
+    AGGREGATE_SCAN(1056, 0, 0, PUBLIC),
+    CREATE_KV_CHECKPOINT(1057, 0, 0, PRIVATE),
+    FETCH_KV_CHECKPOINT_FILE(1058, 0, 0, PRIVATE),
+    REPORT_REPLICA_LOAD(1059, 0, 0, PRIVATE);
 
     private static final Map<Integer, ApiKeys> ID_TO_TYPE =
             Arrays.stream(ApiKeys.values())
@@ -21,16 +21,42 @@ import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.ResolvedPartitionSpec;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.And;
+import org.apache.fluss.predicate.CompoundPredicate;
+import org.apache.fluss.predicate.Contains;
+import org.apache.fluss.predicate.EndsWith;
+import org.apache.fluss.predicate.Equal;
+import org.apache.fluss.predicate.GreaterOrEqual;
+import org.apache.fluss.predicate.GreaterThan;
+import org.apache.fluss.predicate.In;
+import org.apache.fluss.predicate.IsNotNull;
+import org.apache.fluss.predicate.IsNull;
+import org.apache.fluss.predicate.LeafFunction;
+import org.apache.fluss.predicate.LeafPredicate;
+import org.apache.fluss.predicate.LessOrEqual;
+import org.apache.fluss.predicate.LessThan;
+import org.apache.fluss.predicate.NotEqual;
+import org.apache.fluss.predicate.NotIn;
+import org.apache.fluss.predicate.Or;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.StartsWith;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.remote.RemoteLogFetchInfo;
 import org.apache.fluss.remote.RemoteLogSegment;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.encode.IndexedRowEncoder;
+import org.apache.fluss.row.indexed.IndexedRow;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
 import org.apache.fluss.rpc.messages.PbAclFilter;
 import org.apache.fluss.rpc.messages.PbAclInfo;
+import org.apache.fluss.rpc.messages.PbCompoundPredicate;
 import org.apache.fluss.rpc.messages.PbFetchLogRespForBucket;
 import org.apache.fluss.rpc.messages.PbKeyValue;
+import org.apache.fluss.rpc.messages.PbLeafPredicate;
 import org.apache.fluss.rpc.messages.PbPartitionSpec;
+import org.apache.fluss.rpc.messages.PbPredicate;
+import org.apache.fluss.rpc.messages.PbPredicateLiteral;
 import org.apache.fluss.rpc.messages.PbRemoteLogFetchInfo;
 import org.apache.fluss.rpc.messages.PbRemoteLogSegment;
 import org.apache.fluss.rpc.protocol.ApiError;
@@ -45,11 +71,16 @@ import org.apache.fluss.security.acl.Resource;
 import org.apache.fluss.security.acl.ResourceFilter;
 import org.apache.fluss.security.acl.ResourceType;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBuf;
+import org.apache.fluss.types.DataType;
+import org.apache.fluss.utils.json.DataTypeJsonSerde;
+import org.apache.fluss.utils.json.JsonSerdeUtils;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -59,6 +90,28 @@ import java.util.stream.Collectors;
  */
 public class CommonRpcMessageUtils {
 
+    private static final Map<String, LeafFunction> LEAF_FUNCTIONS = new HashMap<>();
+    private static final Map<String, CompoundPredicate.Function> COMPOUND_FUNCTIONS =
+            new HashMap<>();
+
+    static {
+        LEAF_FUNCTIONS.put("EQUAL", Equal.INSTANCE);
+        LEAF_FUNCTIONS.put("NOT_EQUAL", NotEqual.INSTANCE);
+        LEAF_FUNCTIONS.put("LESS_THAN", LessThan.INSTANCE);
+        LEAF_FUNCTIONS.put("LESS_OR_EQUAL", LessOrEqual.INSTANCE);
+        LEAF_FUNCTIONS.put("GREATER_THAN", GreaterThan.INSTANCE);
+        LEAF_FUNCTIONS.put("GREATER_OR_EQUAL", GreaterOrEqual.INSTANCE);
+        LEAF_FUNCTIONS.put("IS_NULL", IsNull.INSTANCE);
+        LEAF_FUNCTIONS.put("IS_NOT_NULL", IsNotNull.INSTANCE);
+        LEAF_FUNCTIONS.put("IN", In.INSTANCE);
+        LEAF_FUNCTIONS.put("NOT_IN", NotIn.INSTANCE);
+        LEAF_FUNCTIONS.put("STARTS_WITH", StartsWith.INSTANCE);
+        LEAF_FUNCTIONS.put("ENDS_WITH", EndsWith.INSTANCE);
+        LEAF_FUNCTIONS.put("CONTAINS", Contains.INSTANCE);
+        COMPOUND_FUNCTIONS.put("AND", And.INSTANCE);
+        COMPOUND_FUNCTIONS.put("OR", Or.INSTANCE);
+    }
+
     public static List<PbAclInfo> toPbAclInfos(Collection<AclBinding> aclBindings) {
         return aclBindings.stream()
                 .map(CommonRpcMessageUtils::toPbAclInfo)
@@ -234,4 +287,95 @@ public class CommonRpcMessageUtils {
         }
         return new ResolvedPartitionSpec(partitionKeys, partitionValues);
     }
+
+    public static PbPredicate toPbPredicate(Predicate predicate) {
+        PbPredicate pbPredicate = new PbPredicate();
+        if (predicate instanceof LeafPredicate) {
+            LeafPredicate leaf = (LeafPredicate) predicate;
+            PbLeafPredicate pbLeaf =
+                    pbPredicate
+                            .setLeaf()
+                            .setFunction(functionName(LEAF_FUNCTIONS, leaf.function()))
+                            .setFieldIndex(leaf.index())
+                            .setFieldName(leaf.fieldName())
+                            .setDataType(
+                                    JsonSerdeUtils.writeValueAsBytes(
+                                            leaf.type(), DataTypeJsonSerde.INSTANCE));
+            DataType[] literalType = new DataType[] {leaf.type().copy(true)};
+            IndexedRowEncoder encoder = new IndexedRowEncoder(literalType);
+            for (Object literal : leaf.literals()) {
+                PbPredicateLiteral pbLiteral = pbLeaf.addLiteral();
+                if (literal != null) {
+                    encoder.startNewRow();
+                    encoder.encodeField(0, literal);
+                    IndexedRow row = encoder.finishRow();
+                    byte[] bytes = new byte[row.getSizeInBytes()];
+                    row.copyTo(bytes, 0);
+                    pbLiteral.setValue(bytes);
+                }
+            }
+        } else if (predicate instanceof CompoundPredicate) {
+            CompoundPredicate compound = (CompoundPredicate) predicate;
+            PbCompoundPredicate pbCompound =
+                    pbPredicate
+                            .setCompound()
+                            .setFunction(functionName(COMPOUND_FUNCTIONS, compound.function()));
+            for (Predicate child : compound.children()) {
+                pbCompound.addChildren().copyFrom(toPbPredicate(child));
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported predicate: " + predicate);
+        }
+        return pbPredicate;
+    }
+
+    public static Predicate toPredicate(PbPredicate pbPredicate) {
+        if (pbPredicate.hasLeaf()) {
+            PbLeafPredicate pbLeaf = pbPredicate.getLeaf();
+            LeafFunction function = LEAF_FUNCTIONS.get(pbLeaf.getFunction());
+            if (function == null) {
+                throw new IllegalArgumentException(
+                        "Unsupported leaf predicate function: " + pbLeaf.getFunction());
+            }
+            DataType type =
+                    JsonSerdeUtils.readValue(pbLeaf.getDataType(), DataTypeJsonSerde.INSTANCE);
+            DataType[] literalType = new DataType[] {type.copy(true)};
+            InternalRow.FieldGetter literalGetter =
+                    InternalRow.createFieldGetter(literalType[0], 0);
+            List<Object> literals = new ArrayList<>(pbLeaf.getLiteralsCount());
+            for (PbPredicateLiteral pbLiteral : pbLeaf.getLiteralsList()) {
+                if (pbLiteral.hasValue()) {
+                    IndexedRow row = IndexedRow.from(literalType, pbLiteral.getValue());
+                    literals.add(literalGetter.getFieldOrNull(row));
+                } else {
+                    literals.add(null);
+                }
+            }
+            return new LeafPredicate(
+                    function, type, pbLeaf.getFieldIndex(), pbLeaf.getFieldName(), literals);
+        } else if (pbPredicate.hasCompound()) {
+            PbCompoundPredicate pbCompound = pbPredicate.getCompound();
+            CompoundPredicate.Function function = COMPOUND_FUNCTIONS.get(pbCompound.getFunction());
+            if (function == null) {
+                throw new IllegalArgumentException(
+                        "Unsupported compound predicate function: " + pbCompound.getFunction());
+            }
+            List<Predicate> children = new ArrayList<>(pbCompound.getChildrensCount());
+            for (PbPredicate child : pbCompound.getChildrensList()) {
+                children.add(toPredicate(child));
+            }
+            return new CompoundPredicate(function, children);
+        } else {
+            throw new IllegalArgumentException("Predicate must be either leaf or compound.");
+        }
+    }
+
+    private static <T> String functionName(Map<String, T> functions, T function) {
+        for (Map.Entry<String, T> entry : functions.entrySet()) {
+            if (entry.getValue().equals(function)) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalArgumentException("Unsupported predicate function: " + function);
+    }
 }
@@ -19,10 +19,16 @@ package org.apache.fluss.rpc;
 
 import org.apache.fluss.cluster.ServerType;
 import org.apache.fluss.rpc.gateway.TabletServerGateway;
+import org.apache.fluss.rpc.messages.AggregateScanRequest;
+import org.apache.fluss.rpc.messages.AggregateScanResponse;
+import org.apache.fluss.rpc.messages.CreateKvCheckpointRequest;
+import org.apache.fluss.rpc.messages.CreateKvCheckpointResponse;
 import org.apache.fluss.rpc.messages.DatabaseExistsRequest;
 import org.apache.fluss.rpc.messages.DatabaseExistsResponse;
 import org.apache.fluss.rpc.messages.DescribeClusterConfigsRequest;
 import org.apache.fluss.rpc.messages.DescribeClusterConfigsResponse;
+import org.apache.fluss.rpc.messages.FetchKvCheckpointFileRequest;
+import org.apache.fluss.rpc.messages.FetchKvCheckpointFileResponse;
 import org.apache.fluss.rpc.messages.FetchLogRequest;
 import org.apache.fluss.rpc.messages.FetchLogResponse;
 import org.apache.fluss.rpc.messages.GetDatabaseInfoRequest;
@@ -135,6 +141,23 @@ public class TestingTabletGatewayService extends TestingGatewayService
         return null;
     }
 
+    @Override
+    public CompletableFuture<AggregateScanResponse> aggregateScan(AggregateScanRequest request) {
+        return null;
+    }
+
+    @Override
+    public CompletableFuture<CreateKvCheckpointResponse> createKvCheckpoint(
+            CreateKvCheckpointRequest request) {
+        return null;
+    }
+
+    @Override
+    public CompletableFuture<FetchKvCheckpointFileResponse> fetchKvCheckpointFile(
+            FetchKvCheckpointFileRequest request) {
+        return null;
+    }
+
     @Override
     public CompletableFuture<ListOffsetsResponse> listOffsets(ListOffsetsRequest request) {
         return null;
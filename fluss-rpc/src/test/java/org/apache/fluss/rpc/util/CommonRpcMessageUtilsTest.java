@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.rpc.util;
+
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateBuilder;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.row.Decimal;
+import org.apache.fluss.row.TimestampNtz;
+import org.apache.fluss.rpc.messages.PbPredicate;
+import org.apache.fluss.types.DataTypes;
+import org.apache.fluss.types.RowType;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toPbPredicate;
+import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toPredicate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link CommonRpcMessageUtils}. */
+class CommonRpcMessageUtilsTest {
+
+    private static final RowType ROW_TYPE =
+            DataTypes.ROW(
+                    DataTypes.FIELD("a", DataTypes.INT()),
+                    DataTypes.FIELD("b", DataTypes.STRING()),
+                    DataTypes.FIELD("c", DataTypes.DECIMAL(10, 2)),
+                    DataTypes.FIELD("d", DataTypes.TIMESTAMP(3)));
+
+    @Test
+    void testPredicateRoundTrip() {
+        PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+        Predicate predicate =
+                PredicateBuilder.and(
+                        builder.greaterThan(0, 10),
+                        PredicateBuilder.or(
+                                builder.isNull(1),
+                                builder.startsWith(1, BinaryString.fromString("fl"))),
+                        builder.in(
+                                2,
+                                Arrays.asList(
+                                        Decimal.fromBigDecimal(new BigDecimal("1.23"), 10, 2),
+                                        Decimal.fromBigDecimal(new BigDecimal("4.56"), 10, 2))),
+                        builder.lessOrEqual(3, TimestampNtz.fromMillis(1000L)));
+
+        PbPredicate pbPredicate = toPbPredicate(predicate);
+        assertThat(toPredicate(pbPredicate)).isEqualTo(predicate);
+
+        // also survives the serialization of the message
+        PbPredicate deserialized = new PbPredicate();
+        deserialized.parseFrom(pbPredicate.toByteArray());
+        assertThat(toPredicate(deserialized)).isEqualTo(predicate);
+    }
+}
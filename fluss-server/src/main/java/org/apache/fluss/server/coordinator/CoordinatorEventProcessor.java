@@ -58,6 +58,7 @@ import org.apache.fluss.rpc.messages.ListRebalanceProgressResponse;
 import org.apache.fluss.rpc.messages.PbCommitLakeTableSnapshotRespForTable;
 import org.apache.fluss.rpc.messages.RebalanceResponse;
 import org.apache.fluss.rpc.messages.RemoveServerTagResponse;
+import org.apache.fluss.rpc.messages.ReportReplicaLoadResponse;
 import org.apache.fluss.rpc.protocol.ApiError;
 import org.apache.fluss.server.coordinator.event.AccessContextEvent;
 import org.apache.fluss.server.coordinator.event.AddServerTagEvent;
@@ -84,6 +85,7 @@ import org.apache.fluss.server.coordinator.event.NotifyLakeTableOffsetEvent;
 import org.apache.fluss.server.coordinator.event.NotifyLeaderAndIsrResponseReceivedEvent;
 import org.apache.fluss.server.coordinator.event.RebalanceEvent;
 import org.apache.fluss.server.coordinator.event.RemoveServerTagEvent;
+import org.apache.fluss.server.coordinator.event.ReportReplicaLoadEvent;
 import org.apache.fluss.server.coordinator.event.SchemaChangeEvent;
 import org.apache.fluss.server.coordinator.event.TableRegistrationChangeEvent;
 import org.apache.fluss.server.coordinator.event.watcher.TableChangeWatcher;
@@ -632,6 +634,11 @@ public class CoordinatorEventProcessor implements EventProcessor {
             completeFromCallable(
                     listRebalanceProgressEvent.getRespCallback(),
                     () -> processListRebalanceProgress(listRebalanceProgressEvent));
+        } else if (event instanceof ReportReplicaLoadEvent) {
+            ReportReplicaLoadEvent reportReplicaLoadEvent = (ReportReplicaLoadEvent) event;
+            completeFromCallable(
+                    reportReplicaLoadEvent.getRespCallback(),
+                    () -> processReportReplicaLoad(reportReplicaLoadEvent));
         } else if (event instanceof AccessContextEvent) {
             AccessContextEvent<?> accessContextEvent = (AccessContextEvent<?>) event;
             processAccessContext(accessContextEvent);
@@ -1284,6 +1291,12 @@ public class CoordinatorEventProcessor implements EventProcessor {
         return response;
     }
 
+    private ReportReplicaLoadResponse processReportReplicaLoad(ReportReplicaLoadEvent event) {
+        rebalanceManager.updateReplicaLoads(
+                event.getTabletServerId(), event.getDiskCapacity(), event.getReplicaLoads());
+        return new ReportReplicaLoadResponse();
+    }
+
     private ListRebalanceProgressResponse processListRebalanceProgress(
             ListRebalanceProgressEvent event) {
         RebalanceProgress rebalanceProgress =
@@ -109,6 +109,8 @@ import org.apache.fluss.rpc.messages.RegisterProducerOffsetsRequest;
 import org.apache.fluss.rpc.messages.RegisterProducerOffsetsResponse;
 import org.apache.fluss.rpc.messages.RemoveServerTagRequest;
 import org.apache.fluss.rpc.messages.RemoveServerTagResponse;
+import org.apache.fluss.rpc.messages.ReportReplicaLoadRequest;
+import org.apache.fluss.rpc.messages.ReportReplicaLoadResponse;
 import org.apache.fluss.rpc.netty.server.Session;
 import org.apache.fluss.rpc.protocol.ApiError;
 import org.apache.fluss.rpc.protocol.Errors;
@@ -134,6 +136,7 @@ import org.apache.fluss.server.coordinator.event.EventManager;
 import org.apache.fluss.server.coordinator.event.ListRebalanceProgressEvent;
 import org.apache.fluss.server.coordinator.event.RebalanceEvent;
 import org.apache.fluss.server.coordinator.event.RemoveServerTagEvent;
+import org.apache.fluss.server.coordinator.event.ReportReplicaLoadEvent;
 import org.apache.fluss.server.coordinator.producer.ProducerOffsetsManager;
 import org.apache.fluss.server.coordinator.rebalance.goal.Goal;
 import org.apache.fluss.server.entity.CommitKvSnapshotData;
@@ -185,6 +188,7 @@ import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getAdjustIsrDa
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getCommitLakeTableSnapshotData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getCommitRemoteLogManifestData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getPartitionSpec;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getReplicaLoads;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.groupOffsetsByTableId;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeCreateAclsResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeDropAclsResponse;
@@ -214,6 +218,7 @@ public final class CoordinatorService extends RpcServiceBase implements Coordina
     private final ExecutorService ioExecutor;
     private final LakeTableHelper lakeTableHelper;
     private final ProducerOffsetsManager producerOffsetsManager;
+    private final Configuration conf;
 
     public CoordinatorService(
             Configuration conf,
@@ -235,6 +240,7 @@ public final class CoordinatorService extends RpcServiceBase implements Coordina
                 authorizer,
                 dynamicConfigManager,
                 ioExecutor);
+        this.conf = conf;
         this.defaultBucketNumber = conf.getInt(ConfigOptions.DEFAULT_BUCKET_NUMBER);
         this.defaultReplicationFactor = conf.getInt(ConfigOptions.DEFAULT_REPLICATION_FACTOR);
         this.logTableAllowCreation = conf.getBoolean(ConfigOptions.LOG_TABLE_ALLOW_CREATION);
@@ -832,6 +838,25 @@ public final class CoordinatorService extends RpcServiceBase implements Coordina
         return response;
     }
 
+    @Override
+    public CompletableFuture<ReportReplicaLoadResponse> reportReplicaLoad(
+            ReportReplicaLoadRequest request) {
+        if (authorizer != null) {
+            authorizer.authorize(currentSession(), OperationType.ALTER, Resource.cluster());
+        }
+
+        CompletableFuture<ReportReplicaLoadResponse> response = new CompletableFuture<>();
+        eventManagerSupplier
+                .get()
+                .put(
+                        new ReportReplicaLoadEvent(
+                                request.getTabletServerId(),
+                                request.getDiskCapacity(),
+                                getReplicaLoads(request),
+                                response));
+        return response;
+    }
+
     @Override
     public CompletableFuture<AlterClusterConfigsResponse> alterClusterConfigs(
             AlterClusterConfigsRequest request) {
@@ -918,7 +943,7 @@ public final class CoordinatorService extends RpcServiceBase implements Coordina
 
         List<Goal> goalsByPriority = new ArrayList<>();
         Arrays.stream(request.getGoals())
-                .forEach(goal -> goalsByPriority.add(getGoalByType(GoalType.valueOf(goal))));
+                .forEach(goal -> goalsByPriority.add(getGoalByType(GoalType.valueOf(goal), conf)));
 
         CompletableFuture<RebalanceResponse> response = new CompletableFuture<>();
         eventManagerSupplier.get().put(new RebalanceEvent(goalsByPriority, response));
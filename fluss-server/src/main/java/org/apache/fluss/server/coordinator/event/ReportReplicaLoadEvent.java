@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.coordinator.event;
+
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.messages.ReportReplicaLoadResponse;
+import org.apache.fluss.server.coordinator.rebalance.model.ReplicaLoad;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/** An event for the load of the leader replicas reported by TabletServer. */
+public class ReportReplicaLoadEvent implements CoordinatorEvent {
+    private final int tabletServerId;
+    private final long diskCapacity;
+    private final Map<TableBucket, ReplicaLoad> replicaLoads;
+    private final CompletableFuture<ReportReplicaLoadResponse> respCallback;
+
+    public ReportReplicaLoadEvent(
+            int tabletServerId,
+            long diskCapacity,
+            Map<TableBucket, ReplicaLoad> replicaLoads,
+            CompletableFuture<ReportReplicaLoadResponse> respCallback) {
+        this.tabletServerId = tabletServerId;
+        this.diskCapacity = diskCapacity;
+        this.replicaLoads = replicaLoads;
+        this.respCallback = respCallback;
+    }
+
+    public int getTabletServerId() {
+        return tabletServerId;
+    }
+
+    public long getDiskCapacity() {
+        return diskCapacity;
+    }
+
+    public Map<TableBucket, ReplicaLoad> getReplicaLoads() {
+        return replicaLoads;
+    }
+
+    public CompletableFuture<ReportReplicaLoadResponse> getRespCallback() {
+        return respCallback;
+    }
+}
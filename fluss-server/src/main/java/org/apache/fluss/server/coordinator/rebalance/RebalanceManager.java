@@ -31,6 +31,7 @@ import org.apache.fluss.server.coordinator.rebalance.goal.Goal;
 import org.apache.fluss.server.coordinator.rebalance.goal.GoalOptimizer;
 import org.apache.fluss.server.coordinator.rebalance.model.ClusterModel;
 import org.apache.fluss.server.coordinator.rebalance.model.RackModel;
+import org.apache.fluss.server.coordinator.rebalance.model.ReplicaLoad;
 import org.apache.fluss.server.coordinator.rebalance.model.ServerModel;
 import org.apache.fluss.server.metadata.ServerInfo;
 import org.apache.fluss.server.zk.ZooKeeperClient;
@@ -84,6 +85,16 @@ public class RebalanceManager {
     private final Map<TableBucket, RebalanceResultForBucket> finishedRebalanceTasks =
             MapUtils.newConcurrentHashMap();
 
+    /** A mapping from tabletServer id to the disk capacity reported by the tabletServer. */
+    private final Map<Integer, Long> reportedDiskCapacities = new HashMap<>();
+
+    /**
+     * A mapping from tabletServer id to the load of the leader replicas reported by the
+     * tabletServer.
+     */
+    private final Map<Integer, Map<TableBucket, ReplicaLoad>> reportedReplicaLoads =
+            new HashMap<>();
+
     private final GoalOptimizer goalOptimizer;
     private volatile long registerTime;
     private volatile @Nullable RebalanceStatus rebalanceStatus;
@@ -290,6 +301,18 @@ public class RebalanceManager {
         return buildRebalanceTask(rebalanceId, rebalancePlanForBuckets);
     }
 
+    /**
+     * Update the disk capacity and the load of the leader replicas reported by the given
+     * tabletServer, which are used to build the cluster model for the load-aware goals. The
+     * previously reported load of the tabletServer is replaced.
+     */
+    public void updateReplicaLoads(
+            int serverId, long diskCapacity, Map<TableBucket, ReplicaLoad> replicaLoads) {
+        checkNotClosed();
+        reportedDiskCapacities.put(serverId, diskCapacity);
+        reportedReplicaLoads.put(serverId, replicaLoads);
+    }
+
     public @Nullable RebalancePlanForBucket getRebalancePlanForBucket(TableBucket tableBucket) {
         checkNotClosed();
         RebalanceResultForBucket resultForBucket = inProgressRebalanceTasks.get(tableBucket);
@@ -342,16 +365,18 @@ public class RebalanceManager {
         Map<Integer, ServerInfo> liveTabletServers = coordinatorContext.getLiveTabletServers();
         Map<Integer, ServerTag> serverTags = coordinatorContext.getServerTags();
 
+        // Drop the reported load of the dead tabletServers.
+        reportedDiskCapacities.keySet().retainAll(liveTabletServers.keySet());
+        reportedReplicaLoads.keySet().retainAll(liveTabletServers.keySet());
+
         Map<Integer, ServerModel> serverModelMap = new HashMap<>();
         for (ServerInfo serverInfo : liveTabletServers.values()) {
             Integer id = serverInfo.id();
             String rack = serverInfo.rack() == null ? RackModel.DEFAULT_RACK : serverInfo.rack();
-            if (serverTags.containsKey(id)) {
-                serverModelMap.put(
-                        id, new ServerModel(id, rack, isOfflineTagged(serverTags.get(id))));
-            } else {
-                serverModelMap.put(id, new ServerModel(id, rack, false));
-            }
+            boolean isOfflineTagged =
+                    serverTags.containsKey(id) && isOfflineTagged(serverTags.get(id));
+            long diskCapacity = reportedDiskCapacities.getOrDefault(id, -1L);
+            serverModelMap.put(id, new ServerModel(id, rack, isOfflineTagged, diskCapacity));
         }
 
         ClusterModel clusterModel = initialClusterModel(serverModelMap);
@@ -369,6 +394,14 @@ public class RebalanceManager {
                 int replica = assignment.get(i);
                 clusterModel.createReplica(replica, tableBucket, i, leader == replica);
             }
+
+            // The load of the bucket is only taken from its current leader.
+            Map<TableBucket, ReplicaLoad> leaderReplicaLoads = reportedReplicaLoads.get(leader);
+            ReplicaLoad replicaLoad =
+                    leaderReplicaLoads == null ? null : leaderReplicaLoads.get(tableBucket);
+            if (replicaLoad != null) {
+                clusterModel.setReplicaLoad(tableBucket, replicaLoad);
+            }
         }
         return clusterModel;
     }
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.coordinator.rebalance.goal;
+
+import org.apache.fluss.server.coordinator.rebalance.model.Resource;
+
+import static org.apache.fluss.config.ConfigOptions.COORDINATOR_REBALANCE_RESOURCE_BALANCE_THRESHOLD;
+
+/**
+ * Soft goal to generate leadership movement and replica movement proposals to ensure that the CPU
+ * load of each server is near balanced. The rate of the keys looked up from the leader replicas on
+ * the server is used as the proxy of the CPU load, see {@link Resource#CPU}.
+ */
+public class CpuDistributionGoal extends ResourceDistributionGoal {
+
+    public CpuDistributionGoal() {
+        this(COORDINATOR_REBALANCE_RESOURCE_BALANCE_THRESHOLD.defaultValue());
+    }
+
+    public CpuDistributionGoal(double balanceThreshold) {
+        super(Resource.CPU, balanceThreshold);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.coordinator.rebalance.goal;
+
+import org.apache.fluss.exception.RebalanceFailureException;
+import org.apache.fluss.server.coordinator.rebalance.ActionAcceptance;
+import org.apache.fluss.server.coordinator.rebalance.ActionType;
+import org.apache.fluss.server.coordinator.rebalance.RebalancingAction;
+import org.apache.fluss.server.coordinator.rebalance.model.ClusterModel;
+import org.apache.fluss.server.coordinator.rebalance.model.ClusterModelStats;
+import org.apache.fluss.server.coordinator.rebalance.model.ReplicaModel;
+import org.apache.fluss.server.coordinator.rebalance.model.Resource;
+import org.apache.fluss.server.coordinator.rebalance.model.ServerModel;
+import org.apache.fluss.utils.MathUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.apache.fluss.config.ConfigOptions.COORDINATOR_REBALANCE_DISK_CAPACITY_THRESHOLD;
+import static org.apache.fluss.server.coordinator.rebalance.ActionAcceptance.ACCEPT;
+import static org.apache.fluss.server.coordinator.rebalance.ActionAcceptance.REPLICA_REJECT;
+import static org.apache.fluss.server.coordinator.rebalance.goal.GoalUtils.aliveServers;
+import static org.apache.fluss.server.coordinator.rebalance.goal.GoalUtils.loadChange;
+import static org.apache.fluss.utils.MathUtils.EPSILON;
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+import static org.apache.fluss.utils.Preconditions.checkNotNull;
+
+/**
+ * Hard goal to generate replica movement proposals to ensure that the disk usage of each server is
+ * under (the disk capacity of the server) * (disk capacity threshold).
+ *
+ * <p>The disk capacity is reported by the tabletServers, the servers with unknown disk capacity are
+ * considered to have unlimited disk capacity. As a hard goal, the rebalance fails if the goal can't
+ * be satisfied.
+ */
+public class DiskCapacityGoal extends AbstractGoal {
+    private static final Logger LOG = LoggerFactory.getLogger(DiskCapacityGoal.class);
+
+    /**
+     * The maximum ratio of the disk usage to the disk capacity of a server. For example, 0.8 means
+     * the disk usage of a server should not be more than 80% of its disk capacity.
+     */
+    private final double diskCapacityThreshold;
+
+    private final Set<Integer> serverIdsAboveCapacityLimit;
+    // This is used to identify servers not excluded for replica moves.
+    private Set<Integer> aliveServers;
+
+    public DiskCapacityGoal() {
+        this(COORDINATOR_REBALANCE_DISK_CAPACITY_THRESHOLD.defaultValue());
+    }
+
+    public DiskCapacityGoal(double diskCapacityThreshold) {
+        checkArgument(
+                diskCapacityThreshold > 0 && diskCapacityThreshold <= 1,
+                "The disk capacity threshold must be in (0, 1], but is %s.",
+                diskCapacityThreshold);
+        this.diskCapacityThreshold = diskCapacityThreshold;
+        this.serverIdsAboveCapacityLimit = new HashSet<>();
+    }
+
+    @Override
+    public boolean isHardGoal() {
+        return true;
+    }
+
+    @Override
+    protected void initGoalState(ClusterModel clusterModel) throws RebalanceFailureException {
+        aliveServers = aliveServers(clusterModel);
+        if (aliveServers.isEmpty()) {
+            throw new RebalanceFailureException(
+                    String.format(
+                            "[%s] All alive tabletServers are excluded from replica moves.",
+                            name()));
+        }
+
+        // The goal can't be satisfied if the disk usage of the cluster exceeds the total limit of
+        // the alive servers.
+        double totalCapacityLimit = 0;
+        for (ServerModel server : clusterModel.servers()) {
+            if (aliveServers.contains(server.id())) {
+                if (server.diskCapacity() <= 0) {
+                    return;
+                }
+                totalCapacityLimit += capacityLimit(server);
+            }
+        }
+        double totalDiskUsage = clusterModel.utilization(Resource.DISK);
+        if (totalDiskUsage > totalCapacityLimit) {
+            throw new RebalanceFailureException(
+                    String.format(
+                            "[%s] Insufficient disk capacity of the alive tabletServers. Disk "
+                                    + "usage: %.0f bytes, disk capacity limit: %.0f bytes.",
+                            name(), totalDiskUsage, totalCapacityLimit));
+        }
+    }
+
+    @Override
+    public ActionAcceptance actionAcceptance(RebalancingAction action, ClusterModel clusterModel) {
+        ServerModel destServer = clusterModel.server(action.getDestinationServerId());
+        checkNotNull(
+                destServer,
+                "Destination server " + action.getDestinationServerId() + " is not found.");
+
+        double loadChange = loadChange(action, clusterModel, Resource.DISK);
+        if (loadChange <= 0) {
+            return ACCEPT;
+        }
+        return isUnderCapacityLimitAfterChange(destServer, loadChange) ? ACCEPT : REPLICA_REJECT;
+    }
+
+    @Override
+    protected boolean selfSatisfied(ClusterModel clusterModel, RebalancingAction action) {
+        return actionAcceptance(action, clusterModel) == ACCEPT;
+    }
+
+    @Override
+    protected void rebalanceForServer(
+            ServerModel server, ClusterModel clusterModel, Set<Goal> optimizedGoals)
+            throws RebalanceFailureException {
+        if (!aliveServers.contains(server.id())
+                || server.utilization(Resource.DISK) <= capacityLimit(server)) {
+            return;
+        }
+        LOG.debug(
+                "Rebalancing disk usage {} of server {} with capacity limit {}.",
+                server.utilization(Resource.DISK),
+                server.id(),
+                capacityLimit(server));
+
+        // Move the largest replicas first to the servers with the lowest disk usage ratio.
+        List<ReplicaModel> replicas = new ArrayList<>(server.replicas());
+        replicas.sort(
+                Comparator.<ReplicaModel>comparingDouble(r -> r.load(Resource.DISK))
+                        .reversed()
+                        .thenComparing(r -> r.tableBucket().getTableId())
+                        .thenComparing(r -> r.tableBucket().getBucket()));
+        for (ReplicaModel replica : replicas) {
+            if (server.utilization(Resource.DISK) <= capacityLimit(server)) {
+                break;
+            }
+            if (replica.load(Resource.DISK) <= 0) {
+                break;
+            }
+            List<ServerModel> candidateServers =
+                    clusterModel.aliveServers().stream()
+                            .filter(s -> s.id() != server.id())
+                            .sorted(
+                                    Comparator.comparingDouble(DiskCapacityGoal::usageRatio)
+                                            .thenComparingInt(ServerModel::id))
+                            .collect(Collectors.toList());
+            maybeApplyBalancingAction(
+                    clusterModel,
+                    replica,
+                    candidateServers,
+                    ActionType.REPLICA_MOVEMENT,
+                    optimizedGoals);
+        }
+
+        if (server.utilization(Resource.DISK) > capacityLimit(server)) {
+            serverIdsAboveCapacityLimit.add(server.id());
+        }
+    }
+
+    @Override
+    protected void updateGoalState(ClusterModel clusterModel) throws RebalanceFailureException {
+        if (!serverIdsAboveCapacityLimit.isEmpty()) {
+            throw new RebalanceFailureException(
+                    String.format(
+                            "[%s] Disk usage of server ids:%s %s above the capacity limit after "
+                                    + "rebalance.",
+                            name(),
+                            serverIdsAboveCapacityLimit,
+                            (serverIdsAboveCapacityLimit.size() > 1) ? "are" : "is"));
+        }
+        finish();
+    }
+
+    @Override
+    public ClusterModelStatsComparator clusterModelStatsComparator() {
+        return new DiskCapacityGoalStatsComparator();
+    }
+
+    private boolean isUnderCapacityLimitAfterChange(ServerModel server, double loadChange) {
+        return server.utilization(Resource.DISK) + loadChange <= capacityLimit(server);
+    }
+
+    private double capacityLimit(ServerModel server) {
+        return server.diskCapacity() > 0
+                ? server.diskCapacity() * diskCapacityThreshold
+                : Double.MAX_VALUE;
+    }
+
+    private static double usageRatio(ServerModel server) {
+        return server.diskCapacity() > 0
+                ? server.utilization(Resource.DISK) / server.diskCapacity()
+                : 0;
+    }
+
+    private class DiskCapacityGoalStatsComparator implements ClusterModelStatsComparator {
+        private String reasonForLastNegativeResult;
+
+        @Override
+        public int compare(ClusterModelStats stats1, ClusterModelStats stats2) {
+            // The max disk usage ratio of the servers must not be more than the pre-optimized
+            // stats.
+            double maxRatio1 = stats1.maxDiskUsageRatio();
+            double maxRatio2 = stats2.maxDiskUsageRatio();
+            int result = MathUtils.compare(maxRatio2, maxRatio1, EPSILON);
+            if (result < 0) {
+                reasonForLastNegativeResult =
+                        String.format(
+                                "Violated %s. [Max Disk Usage Ratio] post-optimization:%.3f "
+                                        + "pre-optimization:%.3f",
+                                name(), maxRatio1, maxRatio2);
+            }
+            return result;
+        }
+
+        @Override
+        public String explainLastComparison() {
+            return reasonForLastNegativeResult;
+        }
+    }
+}
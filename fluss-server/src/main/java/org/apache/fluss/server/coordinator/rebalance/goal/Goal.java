@@ -81,6 +81,15 @@ public interface Goal {
      */
     String name();
 
+    /**
+     * Whether this goal is a hard goal. A hard goal must be satisfied by the rebalance, the
+     * optimization of a hard goal throws {@link
+     * org.apache.fluss.exception.RebalanceFailureException} if the goal can't be satisfied. The
+     * hard goals are optimized before the soft goals, so that the soft goals can't violate them,
+     * see {@link GoalOptimizer}.
+     */
+    boolean isHardGoal();
+
     /**
      * A comparator that compares two cluster model stats.
      *
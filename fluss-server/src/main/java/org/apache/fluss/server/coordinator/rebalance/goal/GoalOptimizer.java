@@ -24,6 +24,7 @@ import org.apache.fluss.server.coordinator.rebalance.model.ClusterModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -32,13 +33,17 @@ import java.util.Set;
 import static org.apache.fluss.server.coordinator.rebalance.goal.GoalOptimizerUtils.getDiff;
 import static org.apache.fluss.server.coordinator.rebalance.goal.GoalOptimizerUtils.hasDiff;
 
-/** A class for optimizing goals in the given order of priority. */
+/**
+ * A class for optimizing goals in the given order of priority. The hard goals are optimized before
+ * the soft goals, keeping the given order among the hard goals and among the soft goals.
+ */
 public class GoalOptimizer {
     private static final Logger LOG = LoggerFactory.getLogger(GoalOptimizer.class);
 
     public List<RebalancePlanForBucket> doOptimizeOnce(
             ClusterModel clusterModel, List<Goal> goalsByPriority) {
         LOG.trace("Cluster before optimization is {}", clusterModel);
+        goalsByPriority = sortHardGoalsFirst(goalsByPriority);
         Map<TableBucket, List<Integer>> initReplicaDistribution =
                 clusterModel.getReplicaDistribution();
         Map<TableBucket, Integer> initLeaderDistribution = clusterModel.getLeaderDistribution();
@@ -77,4 +82,19 @@ public class GoalOptimizer {
 
         return getDiff(initReplicaDistribution, initLeaderDistribution, clusterModel);
     }
+
+    private static List<Goal> sortHardGoalsFirst(List<Goal> goalsByPriority) {
+        List<Goal> sortedGoals = new ArrayList<>(goalsByPriority.size());
+        for (Goal goal : goalsByPriority) {
+            if (goal.isHardGoal()) {
+                sortedGoals.add(goal);
+            }
+        }
+        for (Goal goal : goalsByPriority) {
+            if (!goal.isHardGoal()) {
+                sortedGoals.add(goal);
+            }
+        }
+        return sortedGoals;
+    }
 }
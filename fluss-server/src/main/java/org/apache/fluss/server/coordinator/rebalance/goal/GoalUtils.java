@@ -18,24 +18,42 @@
 package org.apache.fluss.server.coordinator.rebalance.goal;
 
 import org.apache.fluss.cluster.rebalance.GoalType;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
 import org.apache.fluss.server.coordinator.rebalance.ActionType;
+import org.apache.fluss.server.coordinator.rebalance.RebalancingAction;
 import org.apache.fluss.server.coordinator.rebalance.model.ClusterModel;
 import org.apache.fluss.server.coordinator.rebalance.model.ReplicaModel;
+import org.apache.fluss.server.coordinator.rebalance.model.Resource;
 import org.apache.fluss.server.coordinator.rebalance.model.ServerModel;
 
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.apache.fluss.utils.Preconditions.checkNotNull;
+
 /** An util class for {@link Goal}. */
 public class GoalUtils {
 
-    public static Goal getGoalByType(GoalType goalType) {
+    public static Goal getGoalByType(GoalType goalType, Configuration conf) {
         switch (goalType) {
             case REPLICA_DISTRIBUTION:
                 return new ReplicaDistributionGoal();
             case LEADER_DISTRIBUTION:
                 return new LeaderReplicaDistributionGoal();
+            case DISK_CAPACITY:
+                return new DiskCapacityGoal(
+                        conf.get(ConfigOptions.COORDINATOR_REBALANCE_DISK_CAPACITY_THRESHOLD));
+            case NETWORK_INBOUND_DISTRIBUTION:
+                return new NetworkInboundDistributionGoal(
+                        conf.get(ConfigOptions.COORDINATOR_REBALANCE_RESOURCE_BALANCE_THRESHOLD));
+            case NETWORK_OUTBOUND_DISTRIBUTION:
+                return new NetworkOutboundDistributionGoal(
+                        conf.get(ConfigOptions.COORDINATOR_REBALANCE_RESOURCE_BALANCE_THRESHOLD));
+            case CPU_DISTRIBUTION:
+                return new CpuDistributionGoal(
+                        conf.get(ConfigOptions.COORDINATOR_REBALANCE_RESOURCE_BALANCE_THRESHOLD));
             default:
                 throw new IllegalArgumentException("Unsupported goal type " + goalType);
         }
@@ -67,6 +85,41 @@ public class GoalUtils {
         }
     }
 
+    /**
+     * Get the load of the given resource moved from the source server to the destination server by
+     * the given action.
+     *
+     * <ul>
+     *   <li>a replica movement moves the load of the replica
+     *   <li>a leadership movement moves the load of the leader replica exceeding the load of a
+     *       follower replica
+     * </ul>
+     */
+    public static double loadChange(
+            RebalancingAction action, ClusterModel cluster, Resource resource) {
+        ServerModel sourceServer = cluster.server(action.getSourceServerId());
+        checkNotNull(
+                sourceServer, "Source server " + action.getSourceServerId() + " is not found.");
+        ReplicaModel replica = sourceServer.replica(action.getTableBucket());
+        if (replica == null) {
+            return 0;
+        }
+        switch (action.getActionType()) {
+            case REPLICA_MOVEMENT:
+                return replica.load(resource);
+            case LEADERSHIP_MOVEMENT:
+                return leadershipLoad(replica, resource);
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported balancing action " + action.getActionType() + " is provided.");
+        }
+    }
+
+    /** Get the load of the given resource moved with the leadership of the given replica. */
+    public static double leadershipLoad(ReplicaModel replica, Resource resource) {
+        return replica.load().load(resource, true) - replica.load().load(resource, false);
+    }
+
     /**
      * Retrieve alive servers ids that are not excluded for replica moves. Returns a set to provide
      * constant time lookup guaranteed by a HashSet.
@@ -131,6 +131,11 @@ public abstract class ReplicaDistributionAbstractGoal extends AbstractGoal {
         finish();
     }
 
+    @Override
+    public boolean isHardGoal() {
+        return false;
+    }
+
     abstract int numInterestedReplicas(ClusterModel clusterModel);
 
     /**
@@ -0,0 +1,379 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.coordinator.rebalance.goal;
+
+import org.apache.fluss.exception.RebalanceFailureException;
+import org.apache.fluss.server.coordinator.rebalance.ActionAcceptance;
+import org.apache.fluss.server.coordinator.rebalance.ActionType;
+import org.apache.fluss.server.coordinator.rebalance.RebalancingAction;
+import org.apache.fluss.server.coordinator.rebalance.model.BucketModel;
+import org.apache.fluss.server.coordinator.rebalance.model.ClusterModel;
+import org.apache.fluss.server.coordinator.rebalance.model.ClusterModelStats;
+import org.apache.fluss.server.coordinator.rebalance.model.ReplicaModel;
+import org.apache.fluss.server.coordinator.rebalance.model.Resource;
+import org.apache.fluss.server.coordinator.rebalance.model.ServerModel;
+import org.apache.fluss.server.coordinator.rebalance.model.StatisticType;
+import org.apache.fluss.utils.MathUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.apache.fluss.server.coordinator.rebalance.ActionAcceptance.ACCEPT;
+import static org.apache.fluss.server.coordinator.rebalance.ActionAcceptance.REPLICA_REJECT;
+import static org.apache.fluss.server.coordinator.rebalance.goal.GoalUtils.aliveServers;
+import static org.apache.fluss.server.coordinator.rebalance.goal.GoalUtils.leadershipLoad;
+import static org.apache.fluss.server.coordinator.rebalance.goal.GoalUtils.loadChange;
+import static org.apache.fluss.utils.MathUtils.EPSILON;
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+import static org.apache.fluss.utils.Preconditions.checkNotNull;
+
+/**
+ * Soft goal to generate replica movement and leadership movement proposals to ensure that the
+ * utilization of a {@link Resource} on each server is within the balance limits:
+ *
+ * <ul>
+ *   <li>Under: (the average utilization per server) * (1 + balance percentage)
+ *   <li>Above: (the average utilization per server) * Math.max(0, 1 - balance percentage)
+ * </ul>
+ *
+ * <p>The load of a replica is the load reported by the tabletServer of the leader of its bucket,
+ * see {@link ReplicaModel#load(Resource)}. To move load out of a server, the leadership movements
+ * are tried before the replica movements, as they move the load of the leaders without moving data.
+ */
+public abstract class ResourceDistributionGoal extends AbstractGoal {
+    private static final Logger LOG = LoggerFactory.getLogger(ResourceDistributionGoal.class);
+    private static final double BALANCE_MARGIN = 0.9;
+
+    private final Resource resource;
+    private final double balanceThreshold;
+    private final Set<Integer> serverIdsAboveBalanceUpperLimit;
+    private final Set<Integer> serverIdsBelowBalanceLowerLimit;
+    private double balanceUpperLimit;
+    private double balanceLowerLimit;
+    // This is used to identify servers not excluded for replica moves.
+    private Set<Integer> aliveServers;
+
+    protected ResourceDistributionGoal(Resource resource, double balanceThreshold) {
+        checkArgument(
+                balanceThreshold >= 1,
+                "The balance threshold must be at least 1, but is %s.",
+                balanceThreshold);
+        this.resource = resource;
+        this.balanceThreshold = balanceThreshold;
+        this.serverIdsAboveBalanceUpperLimit = new HashSet<>();
+        this.serverIdsBelowBalanceLowerLimit = new HashSet<>();
+    }
+
+    /**
+     * @return The requested balance threshold.
+     */
+    double balancePercentage() {
+        return balanceThreshold;
+    }
+
+    @Override
+    public boolean isHardGoal() {
+        return false;
+    }
+
+    @Override
+    protected void initGoalState(ClusterModel clusterModel) throws RebalanceFailureException {
+        aliveServers = aliveServers(clusterModel);
+        if (aliveServers.isEmpty()) {
+            throw new RebalanceFailureException(
+                    String.format(
+                            "[%s] All alive tabletServers are excluded from replica moves.",
+                            name()));
+        }
+
+        // Initialize the average utilization on an alive server.
+        double avgUtilizationOnAliveServer =
+                clusterModel.utilization(resource) / aliveServers.size();
+        double adjustedBalancePercentage = (balancePercentage() - 1) * BALANCE_MARGIN;
+        balanceUpperLimit = avgUtilizationOnAliveServer * (1 + adjustedBalancePercentage);
+        balanceLowerLimit =
+                avgUtilizationOnAliveServer * Math.max(0, 1 - adjustedBalancePercentage);
+    }
+
+    @Override
+    public ActionAcceptance actionAcceptance(RebalancingAction action, ClusterModel clusterModel) {
+        ServerModel sourceServer = clusterModel.server(action.getSourceServerId());
+        ServerModel destServer = clusterModel.server(action.getDestinationServerId());
+        checkNotNull(
+                sourceServer, "Source server " + action.getSourceServerId() + " is not found.");
+        checkNotNull(
+                destServer,
+                "Destination server " + action.getDestinationServerId() + " is not found.");
+
+        double loadChange = loadChange(action, clusterModel, resource);
+        if (loadChange <= 0) {
+            return ACCEPT;
+        }
+        // Check that destination and source would not become unbalanced.
+        return isUtilizationUnderBalanceUpperLimitAfterChange(destServer, loadChange)
+                        && (!isAlive(sourceServer)
+                                || isUtilizationAboveBalanceLowerLimitAfterChange(
+                                        sourceServer, loadChange))
+                ? ACCEPT
+                : REPLICA_REJECT;
+    }
+
+    @Override
+    protected boolean selfSatisfied(ClusterModel clusterModel, RebalancingAction action) {
+        return actionAcceptance(action, clusterModel) == ACCEPT;
+    }
+
+    @Override
+    protected void rebalanceForServer(
+            ServerModel server, ClusterModel clusterModel, Set<Goal> optimizedGoals)
+            throws RebalanceFailureException {
+        LOG.debug(
+                "Rebalancing {} of server {} [limits] lower: {} upper: {}.",
+                resource,
+                server.id(),
+                balanceLowerLimit,
+                balanceUpperLimit);
+        double utilization = server.utilization(resource);
+        boolean isAlive = isAlive(server);
+
+        boolean requireLessLoad = !isAlive || utilization > balanceUpperLimit;
+        boolean requireMoreLoad = isAlive && utilization < balanceLowerLimit;
+        if (requireLessLoad && !rebalanceByMovingLoadOut(server, clusterModel, optimizedGoals)) {
+            serverIdsAboveBalanceUpperLimit.add(server.id());
+            LOG.debug(
+                    "Failed to sufficiently decrease {} in server {}. Utilization after move: {}.",
+                    resource,
+                    server.id(),
+                    server.utilization(resource));
+        }
+
+        if (requireMoreLoad && !rebalanceByMovingLoadIn(server, clusterModel, optimizedGoals)) {
+            serverIdsBelowBalanceLowerLimit.add(server.id());
+            LOG.debug(
+                    "Failed to sufficiently increase {} in server {}. Utilization after move: {}.",
+                    resource,
+                    server.id(),
+                    server.utilization(resource));
+        }
+    }
+
+    @Override
+    protected void updateGoalState(ClusterModel clusterModel) throws RebalanceFailureException {
+        if (!serverIdsAboveBalanceUpperLimit.isEmpty()) {
+            LOG.debug(
+                    "Utilization of {} on server ids:{} {} above the balance limit of {} after rebalance.",
+                    resource,
+                    serverIdsAboveBalanceUpperLimit,
+                    (serverIdsAboveBalanceUpperLimit.size() > 1) ? "are" : "is",
+                    balanceUpperLimit);
+            serverIdsAboveBalanceUpperLimit.clear();
+            succeeded = false;
+        }
+
+        if (!serverIdsBelowBalanceLowerLimit.isEmpty()) {
+            LOG.debug(
+                    "Utilization of {} on server ids:{} {} below the balance limit of {} after rebalance.",
+                    resource,
+                    serverIdsBelowBalanceLowerLimit,
+                    (serverIdsBelowBalanceLowerLimit.size() > 1) ? "are" : "is",
+                    balanceLowerLimit);
+            serverIdsBelowBalanceLowerLimit.clear();
+            succeeded = false;
+        }
+
+        finish();
+    }
+
+    @Override
+    public ClusterModelStatsComparator clusterModelStatsComparator() {
+        return new ResourceDistributionGoalStatsComparator();
+    }
+
+    /** Returns true if the utilization of the server is under the upper limit after the moves. */
+    private boolean rebalanceByMovingLoadOut(
+            ServerModel server, ClusterModel cluster, Set<Goal> optimizedGoals) {
+        double upperLimit = isAlive(server) ? balanceUpperLimit : 0;
+
+        // First try to move the leadership to the followers of the leaders on the server.
+        for (ReplicaModel replica : sortedByLoad(server.replicas(), true)) {
+            if (server.utilization(resource) <= upperLimit) {
+                return true;
+            }
+            if (!replica.isLeader() || leadershipLoad(replica, resource) <= 0) {
+                continue;
+            }
+            BucketModel bucket = cluster.bucket(replica.tableBucket());
+            checkNotNull(bucket, "Bucket is not in the cluster.");
+            List<ServerModel> candidateServers =
+                    bucket.replicas().stream()
+                            .map(ReplicaModel::server)
+                            .filter(s -> s.id() != server.id() && isAlive(s))
+                            .sorted(byUtilization())
+                            .collect(Collectors.toList());
+            maybeApplyBalancingAction(
+                    cluster,
+                    replica,
+                    candidateServers,
+                    ActionType.LEADERSHIP_MOVEMENT,
+                    optimizedGoals);
+        }
+
+        // Then try to move the replicas to the servers with the least utilization.
+        for (ReplicaModel replica : sortedByLoad(server.replicas(), false)) {
+            if (server.utilization(resource) <= upperLimit) {
+                return true;
+            }
+            List<ServerModel> candidateServers =
+                    cluster.aliveServers().stream()
+                            .filter(
+                                    s ->
+                                            s.id() != server.id()
+                                                    && s.utilization(resource) < balanceUpperLimit)
+                            .sorted(byUtilization())
+                            .collect(Collectors.toList());
+            maybeApplyBalancingAction(
+                    cluster,
+                    replica,
+                    candidateServers,
+                    ActionType.REPLICA_MOVEMENT,
+                    optimizedGoals);
+        }
+        return server.utilization(resource) <= upperLimit;
+    }
+
+    /** Returns true if the utilization of the server is above the lower limit after the moves. */
+    private boolean rebalanceByMovingLoadIn(
+            ServerModel aliveDestServer, ClusterModel cluster, Set<Goal> optimizedGoals) {
+        // Source servers are sorted by utilization from the most loaded, and can be offline.
+        List<ServerModel> sourceServers =
+                cluster.servers().stream()
+                        .filter(
+                                s ->
+                                        s.id() != aliveDestServer.id()
+                                                && (s.utilization(resource) > balanceLowerLimit
+                                                        || !isAlive(s)))
+                        .sorted(byUtilization().reversed())
+                        .collect(Collectors.toList());
+
+        List<ServerModel> candidateServers = Collections.singletonList(aliveDestServer);
+        for (ServerModel sourceServer : sourceServers) {
+            for (ReplicaModel replica : sortedByLoad(sourceServer.replicas(), false)) {
+                if (aliveDestServer.utilization(resource) >= balanceLowerLimit) {
+                    return true;
+                }
+                // Move the leadership if the dest server has a follower of the bucket, otherwise
+                // move the replica.
+                ActionType action =
+                        aliveDestServer.replica(replica.tableBucket()) != null
+                                ? ActionType.LEADERSHIP_MOVEMENT
+                                : ActionType.REPLICA_MOVEMENT;
+                if (action == ActionType.LEADERSHIP_MOVEMENT
+                        && (!replica.isLeader() || leadershipLoad(replica, resource) <= 0)) {
+                    continue;
+                }
+                maybeApplyBalancingAction(
+                        cluster, replica, candidateServers, action, optimizedGoals);
+            }
+        }
+        return aliveDestServer.utilization(resource) >= balanceLowerLimit;
+    }
+
+    /**
+     * Returns the replicas with load of the resource, sorted by the load from the highest. If
+     * {@code leadershipLoad} is true, the replicas are sorted by the load moved with their
+     * leadership.
+     */
+    private List<ReplicaModel> sortedByLoad(Set<ReplicaModel> replicas, boolean leadershipLoad) {
+        List<ReplicaModel> sortedReplicas = new ArrayList<>();
+        for (ReplicaModel replica : replicas) {
+            if (replica.load(resource) > 0) {
+                sortedReplicas.add(replica);
+            }
+        }
+        Comparator<ReplicaModel> byLoad =
+                leadershipLoad
+                        ? Comparator.comparingDouble(r -> leadershipLoad(r, resource))
+                        : Comparator.comparingDouble(r -> r.load(resource));
+        sortedReplicas.sort(
+                byLoad.reversed()
+                        .thenComparing(r -> r.tableBucket().getTableId())
+                        .thenComparing(r -> r.tableBucket().getBucket()));
+        return sortedReplicas;
+    }
+
+    private Comparator<ServerModel> byUtilization() {
+        return Comparator.<ServerModel>comparingDouble(s -> s.utilization(resource))
+                .thenComparingInt(ServerModel::id);
+    }
+
+    private boolean isUtilizationUnderBalanceUpperLimitAfterChange(
+            ServerModel server, double loadChange) {
+        double serverBalanceUpperLimit = server.isOfflineTagged() ? 0 : balanceUpperLimit;
+        return server.utilization(resource) + loadChange <= serverBalanceUpperLimit;
+    }
+
+    private boolean isUtilizationAboveBalanceLowerLimitAfterChange(
+            ServerModel server, double loadChange) {
+        double serverBalanceLowerLimit = server.isOfflineTagged() ? 0 : balanceLowerLimit;
+        return server.utilization(resource) - loadChange >= serverBalanceLowerLimit;
+    }
+
+    private boolean isAlive(ServerModel server) {
+        return aliveServers.contains(server.id());
+    }
+
+    private class ResourceDistributionGoalStatsComparator implements ClusterModelStatsComparator {
+        private String reasonForLastNegativeResult;
+
+        @Override
+        public int compare(ClusterModelStats stats1, ClusterModelStats stats2) {
+            // Standard deviation of the utilization over alive servers must not be more than the
+            // pre-optimized stats.
+            double stDev1 =
+                    stats1.resourceUtilizationStats(resource)
+                            .get(StatisticType.ST_DEV)
+                            .doubleValue();
+            double stDev2 =
+                    stats2.resourceUtilizationStats(resource)
+                            .get(StatisticType.ST_DEV)
+                            .doubleValue();
+            int result = MathUtils.compare(stDev2, stDev1, EPSILON);
+            if (result < 0) {
+                reasonForLastNegativeResult =
+                        String.format(
+                                "Violated %s. [Std Deviation of %s Utilization] post-"
+                                        + "optimization:%.3f pre-optimization:%.3f",
+                                name(), resource, stDev1, stDev2);
+            }
+            return result;
+        }
+
+        @Override
+        public String explainLastComparison() {
+            return reasonForLastNegativeResult;
+        }
+    }
+}
@@ -110,6 +110,15 @@ public class ClusterModel {
         return bucketsByTableBucket.values().stream().mapToInt(p -> p.replicas().size()).sum();
     }
 
+    /** Returns the total utilization of the given resource of all the servers. */
+    public double utilization(Resource resource) {
+        double utilization = 0;
+        for (ServerModel server : servers) {
+            utilization += server.utilization(resource);
+        }
+        return utilization;
+    }
+
     public int numLeaderReplicas() {
         int numLeaderReplicas = 0;
         for (BucketModel bucket : bucketsByTableBucket.values()) {
@@ -195,6 +204,17 @@ public class ClusterModel {
         }
     }
 
+    /** Sets the load of all the replicas of the given bucket, ignored if the bucket is unknown. */
+    public void setReplicaLoad(TableBucket tableBucket, ReplicaLoad load) {
+        BucketModel bucket = bucketsByTableBucket.get(tableBucket);
+        if (bucket == null) {
+            return;
+        }
+        for (ReplicaModel replica : bucket.replicas()) {
+            replica.server().setReplicaLoad(tableBucket, load);
+        }
+    }
+
     /**
      * Relocate leadership from source server to destination server.
      *
@@ -20,6 +20,7 @@ package org.apache.fluss.server.coordinator.rebalance.model;
 import org.apache.fluss.annotation.VisibleForTesting;
 
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -30,12 +31,15 @@ import java.util.function.Function;
 public class ClusterModelStats {
     private final Map<StatisticType, Number> replicaStats;
     private final Map<StatisticType, Number> leaderReplicaStats;
+    private final Map<Resource, Map<StatisticType, Number>> resourceUtilizationStats;
     private int numServers;
     private int numReplicasInCluster;
+    private double maxDiskUsageRatio;
 
     public ClusterModelStats() {
         replicaStats = new HashMap<>();
         leaderReplicaStats = new HashMap<>();
+        resourceUtilizationStats = new EnumMap<>(Resource.class);
 
         numServers = 0;
         numReplicasInCluster = 0;
@@ -47,9 +51,54 @@ public class ClusterModelStats {
         this.numServers = servers.size();
         numForReplicas(clusterModel, servers, aliveServers);
         numForLeaderReplicas(servers, aliveServers);
+        utilizationForResources(servers, aliveServers);
         return this;
     }
 
+    /** Generate statistics for the utilization of each resource in the given cluster. */
+    private void utilizationForResources(
+            SortedSet<ServerModel> servers, Set<ServerModel> aliveServers) {
+        for (Resource resource : Resource.values()) {
+            // Average, minimum, and maximum utilization of the resource in servers.
+            double maxUtilization = 0;
+            double minUtilization = Double.MAX_VALUE;
+            double totalUtilization = 0;
+            for (ServerModel server : servers) {
+                double utilization = server.utilization(resource);
+                totalUtilization += utilization;
+                maxUtilization = Math.max(maxUtilization, utilization);
+                minUtilization = Math.min(minUtilization, utilization);
+            }
+            double avgUtilization = totalUtilization / aliveServers.size();
+
+            // Standard deviation of the utilization in alive servers.
+            double variance = 0.0;
+            for (ServerModel server : aliveServers) {
+                variance +=
+                        Math.pow(server.utilization(resource) - avgUtilization, 2)
+                                / aliveServers.size();
+            }
+
+            Map<StatisticType, Number> stats = new HashMap<>();
+            stats.put(StatisticType.AVG, avgUtilization);
+            stats.put(StatisticType.MAX, maxUtilization);
+            stats.put(StatisticType.MIN, minUtilization);
+            stats.put(StatisticType.ST_DEV, Math.sqrt(variance));
+            resourceUtilizationStats.put(resource, stats);
+        }
+
+        // The max ratio of the disk usage to the disk capacity of the servers with known capacity.
+        maxDiskUsageRatio = 0;
+        for (ServerModel server : servers) {
+            if (server.diskCapacity() > 0) {
+                maxDiskUsageRatio =
+                        Math.max(
+                                maxDiskUsageRatio,
+                                server.utilization(Resource.DISK) / server.diskCapacity());
+            }
+        }
+    }
+
     /** Generate statistics for replicas in the given cluster. */
     private void numForReplicas(
             ClusterModel clusterModel,
@@ -111,6 +160,14 @@ public class ClusterModelStats {
         return Collections.unmodifiableMap(leaderReplicaStats);
     }
 
+    public Map<StatisticType, Number> resourceUtilizationStats(Resource resource) {
+        return Collections.unmodifiableMap(resourceUtilizationStats.get(resource));
+    }
+
+    public double maxDiskUsageRatio() {
+        return maxDiskUsageRatio;
+    }
+
     @VisibleForTesting
     public int numServers() {
         return numServers;
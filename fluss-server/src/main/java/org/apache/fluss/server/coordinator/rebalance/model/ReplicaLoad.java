@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.coordinator.rebalance.model;
+
+/**
+ * The load of a bucket reported by the tabletServer of the leader replica of the bucket, see {@link
+ * org.apache.fluss.rpc.messages.ReportReplicaLoadRequest}. The load of each replica of the bucket
+ * is derived from it by whether the replica is the leader, see {@link #load(Resource, boolean)}.
+ */
+public class ReplicaLoad {
+
+    /** The load of the buckets without reported load. */
+    public static final ReplicaLoad EMPTY = new ReplicaLoad(0, 0, 0, 0, 0);
+
+    private final long bytesInRate;
+    private final long bytesOutRate;
+    private final long lookupRate;
+    private final long kvSize;
+    private final long logSize;
+
+    public ReplicaLoad(
+            long bytesInRate, long bytesOutRate, long lookupRate, long kvSize, long logSize) {
+        this.bytesInRate = bytesInRate;
+        this.bytesOutRate = bytesOutRate;
+        this.lookupRate = lookupRate;
+        this.kvSize = kvSize;
+        this.logSize = logSize;
+    }
+
+    public long bytesInRate() {
+        return bytesInRate;
+    }
+
+    public long bytesOutRate() {
+        return bytesOutRate;
+    }
+
+    public long lookupRate() {
+        return lookupRate;
+    }
+
+    public long kvSize() {
+        return kvSize;
+    }
+
+    public long logSize() {
+        return logSize;
+    }
+
+    /** Returns the load of the given resource on a replica of the bucket. */
+    public double load(Resource resource, boolean isLeader) {
+        switch (resource) {
+            case CPU:
+                return isLeader ? lookupRate : 0;
+            case NW_IN:
+                return bytesInRate;
+            case NW_OUT:
+                return isLeader ? bytesOutRate : 0;
+            case DISK:
+                return isLeader ? logSize + kvSize : logSize;
+            default:
+                throw new IllegalArgumentException("Unsupported resource " + resource);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ReplicaLoad[bytesInRate=%s,bytesOutRate=%s,lookupRate=%s,kvSize=%s,logSize=%s]",
+                bytesInRate, bytesOutRate, lookupRate, kvSize, logSize);
+    }
+}
@@ -28,12 +28,14 @@ public class ReplicaModel {
     private final ServerModel originalServer;
     private ServerModel server;
     private boolean isLeader;
+    private ReplicaLoad load;
 
     public ReplicaModel(TableBucket tableBucket, ServerModel server, boolean isLeader) {
         this.tableBucket = tableBucket;
         this.server = server;
         this.isLeader = isLeader;
         this.originalServer = server;
+        this.load = ReplicaLoad.EMPTY;
     }
 
     public TableBucket tableBucket() {
@@ -56,6 +58,19 @@ public class ReplicaModel {
         return isLeader;
     }
 
+    public ReplicaLoad load() {
+        return load;
+    }
+
+    /** Returns the load of the given resource on this replica. */
+    public double load(Resource resource) {
+        return load.load(resource, isLeader);
+    }
+
+    void setLoad(ReplicaLoad load) {
+        this.load = load;
+    }
+
     public void makeFollower() {
         setLeadership(false);
     }
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.coordinator.rebalance.model;
+
+/**
+ * The resources of a tabletServer whose utilization is balanced by the load-aware goals of
+ * rebalance. The utilization of a resource on a server is the sum of the load of the replicas on
+ * the server, see {@link ReplicaModel#load(Resource)}.
+ */
+public enum Resource {
+    /**
+     * The CPU load, in keys looked up per second. The lookups are served by point reads of RocksDB,
+     * which dominate the CPU cost of primary key tables, so the lookup rate is used as the proxy of
+     * the CPU load. Only leader replicas serve lookups.
+     */
+    CPU("cpu", true),
+
+    /**
+     * The inbound network load, in bytes per second. Both the leader and the follower replicas
+     * receive the appended bytes, from the clients and the leader respectively.
+     */
+    NW_IN("networkInbound", false),
+
+    /**
+     * The outbound network load, in bytes per second. Only leader replicas are fetched from by the
+     * clients and the followers.
+     */
+    NW_OUT("networkOutbound", true),
+
+    /**
+     * The disk usage, in bytes. Both the leader and the follower replicas store the log, and only
+     * leader replicas store the kv.
+     */
+    DISK("disk", false);
+
+    private final String resource;
+    private final boolean leaderOnly;
+
+    Resource(String resource, boolean leaderOnly) {
+        this.resource = resource;
+        this.leaderOnly = leaderOnly;
+    }
+
+    /** Whether the load of the resource is only on the leader replicas. */
+    public boolean isLeaderOnly() {
+        return leaderOnly;
+    }
+
+    @Override
+    public String toString() {
+        return resource;
+    }
+}
@@ -43,13 +43,25 @@ public class ServerModel implements Comparable<ServerModel> {
 
     private int numLeaderReplicas = 0;
 
+    /** The total capacity of the data disk in bytes, -1 if unknown. */
+    private final long diskCapacity;
+
+    /** The utilization of each {@link Resource}, i.e., the sum of the load of the replicas. */
+    private final double[] utilization;
+
     public ServerModel(int serverId, String rack, boolean isOfflineTagged) {
+        this(serverId, rack, isOfflineTagged, -1L);
+    }
+
+    public ServerModel(int serverId, String rack, boolean isOfflineTagged, long diskCapacity) {
         this.serverId = serverId;
         this.rack = rack;
         this.isOfflineTagged = isOfflineTagged;
+        this.diskCapacity = diskCapacity;
         this.replicas = new HashSet<>();
         this.tableReplicas = new HashMap<>();
         this.tablePartitionReplicas = new HashMap<>();
+        this.utilization = new double[Resource.values().length];
     }
 
     public int id() {
@@ -64,6 +76,15 @@ public class ServerModel implements Comparable<ServerModel> {
         return isOfflineTagged;
     }
 
+    public long diskCapacity() {
+        return diskCapacity;
+    }
+
+    /** Returns the utilization of the given resource on this server. */
+    public double utilization(Resource resource) {
+        return utilization[resource.ordinal()];
+    }
+
     public Set<ReplicaModel> replicas() {
         return new HashSet<>(replicas);
     }
@@ -92,7 +113,9 @@ public class ServerModel implements Comparable<ServerModel> {
             if (replica.isLeader()) {
                 numLeaderReplicas--;
             }
+            updateUtilization(replica, -1);
             replica.makeFollower();
+            updateUtilization(replica, 1);
         }
     }
 
@@ -102,7 +125,9 @@ public class ServerModel implements Comparable<ServerModel> {
             if (!replica.isLeader()) {
                 numLeaderReplicas++;
             }
+            updateUtilization(replica, -1);
             replica.makeLeader();
+            updateUtilization(replica, 1);
         }
     }
 
@@ -111,6 +136,7 @@ public class ServerModel implements Comparable<ServerModel> {
         if (replica.isLeader()) {
             numLeaderReplicas++;
         }
+        updateUtilization(replica, 1);
 
         replica.setServer(this);
         if (tableBucket.getPartitionId() != null) {
@@ -153,6 +179,7 @@ public class ServerModel implements Comparable<ServerModel> {
             }
 
             replicas.remove(removedReplica);
+            updateUtilization(removedReplica, -1);
 
             if (tableBucket.getPartitionId() != null) {
                 TablePartition tablePartition =
@@ -182,6 +209,22 @@ public class ServerModel implements Comparable<ServerModel> {
         return removedReplica;
     }
 
+    /** Sets the load of the replica of the given bucket on this server. */
+    public void setReplicaLoad(TableBucket tableBucket, ReplicaLoad load) {
+        ReplicaModel replica = replica(tableBucket);
+        if (replica != null) {
+            updateUtilization(replica, -1);
+            replica.setLoad(load);
+            updateUtilization(replica, 1);
+        }
+    }
+
+    private void updateUtilization(ReplicaModel replica, int sign) {
+        for (Resource resource : Resource.values()) {
+            utilization[resource.ordinal()] += sign * replica.load(resource);
+        }
+    }
+
     @Override
     public int compareTo(ServerModel o) {
         return Integer.compare(serverId, o.id());
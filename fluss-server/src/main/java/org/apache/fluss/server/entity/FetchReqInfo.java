@@ -18,6 +18,7 @@
 package org.apache.fluss.server.entity;
 
 import org.apache.fluss.annotation.Internal;
+import org.apache.fluss.predicate.Predicate;
 
 import javax.annotation.Nullable;
 
@@ -30,6 +31,8 @@ public final class FetchReqInfo {
     private final long tableId;
     private final long fetchOffset;
     @Nullable private final int[] projectFields;
+    @Nullable private final Predicate filter;
+    private final int filterSchemaId;
 
     private int maxBytes;
 
@@ -39,10 +42,22 @@ public final class FetchReqInfo {
 
     public FetchReqInfo(
             long tableId, long fetchOffset, int maxBytes, @Nullable int[] projectFields) {
+        this(tableId, fetchOffset, maxBytes, projectFields, null, -1);
+    }
+
+    public FetchReqInfo(
+            long tableId,
+            long fetchOffset,
+            int maxBytes,
+            @Nullable int[] projectFields,
+            @Nullable Predicate filter,
+            int filterSchemaId) {
         this.tableId = tableId;
         this.fetchOffset = fetchOffset;
         this.maxBytes = maxBytes;
         this.projectFields = projectFields;
+        this.filter = filter;
+        this.filterSchemaId = filterSchemaId;
     }
 
     public long getTableId() {
@@ -66,6 +81,17 @@ public final class FetchReqInfo {
         return projectFields;
     }
 
+    /** Returns the filter to skip the log record batches, null if there is no filter. */
+    @Nullable
+    public Predicate getFilter() {
+        return filter;
+    }
+
+    /** Returns the schema id that the field indexes of the {@link #getFilter()} refer to. */
+    public int getFilterSchemaId() {
+        return filterSchemaId;
+    }
+
     @Override
     public String toString() {
         return "FetchData{"
@@ -77,6 +103,8 @@ public final class FetchReqInfo {
                 + maxBytes
                 + ", projectionFields="
                 + Arrays.toString(projectFields)
+                + ", filter="
+                + filter
                 + '}';
     }
 
@@ -97,11 +125,22 @@ public final class FetchReqInfo {
             return false;
         }
 
+        if (!Objects.equals(filter, fetchReqInfo.filter)
+                || filterSchemaId != fetchReqInfo.filterSchemaId) {
+            return false;
+        }
+
         return fetchOffset == fetchReqInfo.fetchOffset && maxBytes == fetchReqInfo.maxBytes;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(tableId, fetchOffset, maxBytes, Arrays.hashCode(projectFields));
+        return Objects.hash(
+                tableId,
+                fetchOffset,
+                maxBytes,
+                Arrays.hashCode(projectFields),
+                filter,
+                filterSchemaId);
     }
 }
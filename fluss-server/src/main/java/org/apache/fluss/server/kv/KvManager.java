@@ -38,6 +38,7 @@ import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.server.TabletManagerBase;
 import org.apache.fluss.server.kv.autoinc.AutoIncrementManager;
 import org.apache.fluss.server.kv.autoinc.ZkSequenceGeneratorFactory;
+import org.apache.fluss.server.kv.rocksdb.RocksDBSharedResources;
 import org.apache.fluss.server.kv.rowmerger.RowMerger;
 import org.apache.fluss.server.log.LogManager;
 import org.apache.fluss.server.log.LogTablet;
@@ -56,6 +57,7 @@ import org.rocksdb.RocksDB;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.File;
@@ -135,6 +137,12 @@ public final class KvManager extends TabletManagerBase implements ServerReconfig
      */
     private final RateLimiter sharedRocksDBRateLimiter;
 
+    /**
+     * The shared block cache and write buffer manager for all RocksDB instances to bound their
+     * total memory usage, null if the shared memory is disabled.
+     */
+    @Nullable private final RocksDBSharedResources sharedRocksDBResources;
+
     /** Current shared rate limiter configuration in bytes per second. */
     private volatile long currentSharedRateLimitBytesPerSec;
 
@@ -157,6 +165,10 @@ public final class KvManager extends TabletManagerBase implements ServerReconfig
         this.remoteFileSystem = remoteKvDir.getFileSystem();
         this.serverMetricGroup = tabletServerMetricGroup;
         this.sharedRocksDBRateLimiter = createSharedRateLimiter(conf);
+        this.sharedRocksDBResources = RocksDBSharedResources.create(conf);
+        if (sharedRocksDBResources != null) {
+            tabletServerMetricGroup.registerSharedRocksDBResources(sharedRocksDBResources);
+        }
         this.currentSharedRateLimitBytesPerSec =
                 conf.get(ConfigOptions.KV_SHARED_RATE_LIMITER_BYTES_PER_SEC).getBytes();
     }
@@ -216,6 +228,10 @@ public final class KvManager extends TabletManagerBase implements ServerReconfig
         if (sharedRocksDBRateLimiter != null) {
             sharedRocksDBRateLimiter.close();
         }
+        // the shared resources can only be released after all the RocksDB instances are closed
+        if (sharedRocksDBResources != null) {
+            sharedRocksDBResources.close();
+        }
         LOG.info("Shut down KvManager complete.");
     }
 
@@ -270,10 +286,13 @@ public final class KvManager extends TabletManagerBase implements ServerReconfig
                                     kvFormat,
                                     merger,
                                     arrowCompressionInfo,
+                                    tableConfig.getRowCompressionInfo(),
                                     schemaGetter,
                                     tableConfig.getChangelogImage(),
                                     sharedRocksDBRateLimiter,
-                                    autoIncrementManager);
+                                    sharedRocksDBResources,
+                                    autoIncrementManager,
+                                    tableConfig.getSecondaryIndexes());
                     currentKvs.put(tableBucket, tablet);
 
                     LOG.info(
@@ -387,10 +406,13 @@ public final class KvManager extends TabletManagerBase implements ServerReconfig
                         tableConfig.getKvFormat(),
                         rowMerger,
                         tableConfig.getArrowCompressionInfo(),
+                        tableConfig.getRowCompressionInfo(),
                         schemaGetter,
                         tableConfig.getChangelogImage(),
                         sharedRocksDBRateLimiter,
-                        autoIncrementManager);
+                        sharedRocksDBResources,
+                        autoIncrementManager,
+                        tableConfig.getSecondaryIndexes());
         if (this.currentKvs.containsKey(tableBucket)) {
             throw new IllegalStateException(
                     String.format(
@@ -17,11 +17,15 @@
 
 package org.apache.fluss.server.kv;
 
+import org.apache.fluss.aggregate.GroupAggregator;
 import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.compression.ArrowCompressionInfo;
+import org.apache.fluss.compression.RowCompressionInfo;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.TableConfig;
 import org.apache.fluss.exception.DeletionDisabledException;
+import org.apache.fluss.exception.InvalidTableException;
 import org.apache.fluss.exception.KvStorageException;
 import org.apache.fluss.exception.SchemaNotExistException;
 import org.apache.fluss.memory.MemorySegmentPool;
@@ -42,16 +46,20 @@ import org.apache.fluss.record.KvRecordBatch;
 import org.apache.fluss.record.KvRecordReadContext;
 import org.apache.fluss.row.BinaryRow;
 import org.apache.fluss.row.PaddingRow;
+import org.apache.fluss.row.ProjectedRow;
 import org.apache.fluss.row.arrow.ArrowWriterPool;
 import org.apache.fluss.row.arrow.ArrowWriterProvider;
 import org.apache.fluss.row.encode.ValueDecoder;
 import org.apache.fluss.server.kv.autoinc.AutoIncrementManager;
 import org.apache.fluss.server.kv.autoinc.AutoIncrementUpdater;
+import org.apache.fluss.server.kv.index.SecondaryIndex;
+import org.apache.fluss.server.kv.index.SecondaryIndexes;
 import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer;
 import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer.TruncateReason;
 import org.apache.fluss.server.kv.rocksdb.RocksDBKv;
 import org.apache.fluss.server.kv.rocksdb.RocksDBKvBuilder;
 import org.apache.fluss.server.kv.rocksdb.RocksDBResourceContainer;
+import org.apache.fluss.server.kv.rocksdb.RocksDBSharedResources;
 import org.apache.fluss.server.kv.rocksdb.RocksDBStatistics;
 import org.apache.fluss.server.kv.rowmerger.DefaultRowMerger;
 import org.apache.fluss.server.kv.rowmerger.RowMerger;
@@ -66,11 +74,13 @@ import org.apache.fluss.server.log.LogAppendInfo;
 import org.apache.fluss.server.log.LogTablet;
 import org.apache.fluss.server.metrics.group.TabletServerMetricGroup;
 import org.apache.fluss.server.utils.FatalErrorHandler;
+import org.apache.fluss.server.utils.ResourceGuard;
 import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
 import org.apache.fluss.types.RowType;
 import org.apache.fluss.utils.BytesUtils;
 import org.apache.fluss.utils.FileUtils;
 
+import org.rocksdb.Checkpoint;
 import org.rocksdb.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -82,6 +92,8 @@ import javax.annotation.concurrent.ThreadSafe;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
@@ -116,6 +128,7 @@ public final class KvTablet {
     // defines how to merge rows on the same primary key
     private final RowMerger rowMerger;
     private final ArrowCompressionInfo arrowCompressionInfo;
+    private final RowCompressionInfo rowCompressionInfo;
     private final AutoIncrementManager autoIncrementManager;
 
     private final SchemaGetter schemaGetter;
@@ -126,6 +139,9 @@ public final class KvTablet {
     // RocksDB statistics accessor for this tablet
     @Nullable private final RocksDBStatistics rocksDBStatistics;
 
+    // the secondary indexes of the tablet, null if the table has no secondary index
+    @Nullable private final SecondaryIndexes secondaryIndexes;
+
     /**
      * The kv data in pre-write buffer whose log offset is less than the flushedLogOffset has been
      * flushed into kv.
@@ -149,10 +165,12 @@ public final class KvTablet {
             KvFormat kvFormat,
             RowMerger rowMerger,
             ArrowCompressionInfo arrowCompressionInfo,
+            RowCompressionInfo rowCompressionInfo,
             SchemaGetter schemaGetter,
             ChangelogImage changelogImage,
             @Nullable RocksDBStatistics rocksDBStatistics,
-            AutoIncrementManager autoIncrementManager) {
+            AutoIncrementManager autoIncrementManager,
+            @Nullable SecondaryIndexes secondaryIndexes) {
         this.physicalPath = physicalPath;
         this.tableBucket = tableBucket;
         this.logTablet = logTablet;
@@ -160,6 +178,7 @@ public final class KvTablet {
         this.rocksDBKv = rocksDBKv;
         this.writeBatchSize = writeBatchSize;
         this.serverMetricGroup = serverMetricGroup;
+        this.secondaryIndexes = secondaryIndexes;
         this.kvPreWriteBuffer = new KvPreWriteBuffer(createKvBatchWriter(), serverMetricGroup);
         this.logFormat = logFormat;
         this.arrowWriterProvider = new ArrowWriterPool(arrowBufferAllocator);
@@ -167,6 +186,7 @@ public final class KvTablet {
         this.kvFormat = kvFormat;
         this.rowMerger = rowMerger;
         this.arrowCompressionInfo = arrowCompressionInfo;
+        this.rowCompressionInfo = rowCompressionInfo;
         this.schemaGetter = schemaGetter;
         this.changelogImage = changelogImage;
         this.rocksDBStatistics = rocksDBStatistics;
@@ -188,21 +208,85 @@ public final class KvTablet {
             SchemaGetter schemaGetter,
             ChangelogImage changelogImage,
             RateLimiter sharedRateLimiter,
+            @Nullable RocksDBSharedResources sharedRocksDBResources,
             AutoIncrementManager autoIncrementManager)
             throws IOException {
-        RocksDBKv kv = buildRocksDBKv(serverConf, kvTabletDir, sharedRateLimiter);
+        return create(
+                tablePath,
+                tableBucket,
+                logTablet,
+                kvTabletDir,
+                serverConf,
+                serverMetricGroup,
+                arrowBufferAllocator,
+                memorySegmentPool,
+                kvFormat,
+                rowMerger,
+                arrowCompressionInfo,
+                RowCompressionInfo.NO_COMPRESSION,
+                schemaGetter,
+                changelogImage,
+                sharedRateLimiter,
+                sharedRocksDBResources,
+                autoIncrementManager,
+                Collections.emptyList());
+    }
+
+    /**
+     * Creates the kv tablet.
+     *
+     * @param secondaryIndexColumns the indexed columns of each secondary index of the table, see
+     *     {@link TableConfig#getSecondaryIndexes()}
+     */
+    public static KvTablet create(
+            PhysicalTablePath tablePath,
+            TableBucket tableBucket,
+            LogTablet logTablet,
+            File kvTabletDir,
+            Configuration serverConf,
+            TabletServerMetricGroup serverMetricGroup,
+            BufferAllocator arrowBufferAllocator,
+            MemorySegmentPool memorySegmentPool,
+            KvFormat kvFormat,
+            RowMerger rowMerger,
+            ArrowCompressionInfo arrowCompressionInfo,
+            RowCompressionInfo rowCompressionInfo,
+            SchemaGetter schemaGetter,
+            ChangelogImage changelogImage,
+            RateLimiter sharedRateLimiter,
+            @Nullable RocksDBSharedResources sharedRocksDBResources,
+            AutoIncrementManager autoIncrementManager,
+            List<List<String>> secondaryIndexColumns)
+            throws IOException {
+        RocksDBKv kv =
+                buildRocksDBKv(
+                        serverConf,
+                        kvTabletDir,
+                        sharedRateLimiter,
+                        sharedRocksDBResources,
+                        SecondaryIndexes.columnFamilyNames(secondaryIndexColumns.size()));
+        SecondaryIndexes secondaryIndexes =
+                secondaryIndexColumns.isEmpty()
+                        ? null
+                        : new SecondaryIndexes(
+                                secondaryIndexColumns,
+                                kv.getColumnFamilyHandles(),
+                                schemaGetter.getLatestSchemaInfo().getSchema().getRowType(),
+                                kvFormat,
+                                schemaGetter);
 
         // Create RocksDB statistics accessor (will be registered to TableMetricGroup by Replica)
         // Pass ResourceGuard to ensure thread-safe access during concurrent close operations
         // Pass ColumnFamilyHandle for column family specific properties like num-files-at-level0
-        // Pass Cache for accurate block cache memory tracking
+        // Pass Cache for accurate block cache memory tracking, a shared cache is tracked by the
+        // server instead to avoid counting it once per bucket
         RocksDBStatistics rocksDBStatistics =
                 new RocksDBStatistics(
                         kv.getDb(),
                         kv.getStatistics(),
                         kv.getResourceGuard(),
                         kv.getDefaultColumnFamilyHandle(),
-                        kv.getBlockCache());
+                        sharedRocksDBResources == null ? kv.getBlockCache() : null);
 
         return new KvTablet(
                 tablePath,
@@ -218,23 +302,31 @@ public final class KvTablet {
                 kvFormat,
                 rowMerger,
                 arrowCompressionInfo,
+                rowCompressionInfo,
                 schemaGetter,
                 changelogImage,
                 rocksDBStatistics,
-                autoIncrementManager);
+                autoIncrementManager,
+                secondaryIndexes);
     }
 
     private static RocksDBKv buildRocksDBKv(
-            Configuration configuration, File kvDir, RateLimiter sharedRateLimiter)
+            Configuration configuration,
+            File kvDir,
+            RateLimiter sharedRateLimiter,
+            @Nullable RocksDBSharedResources sharedRocksDBResources,
+            List<byte[]> columnFamilyNames)
             throws IOException {
         // Enable statistics to support RocksDB statistics collection
         RocksDBResourceContainer rocksDBResourceContainer =
-                new RocksDBResourceContainer(configuration, kvDir, true, sharedRateLimiter);
+                new RocksDBResourceContainer(
+                        configuration, kvDir, true, sharedRateLimiter, sharedRocksDBResources);
         RocksDBKvBuilder rocksDBKvBuilder =
                 new RocksDBKvBuilder(
                         kvDir,
                         rocksDBResourceContainer,
-                        rocksDBResourceContainer.getColumnOptions());
+                        rocksDBResourceContainer.getColumnOptions(),
+                        columnFamilyNames);
         return rocksDBKvBuilder.build();
     }
 
@@ -559,9 +651,10 @@ public final class KvTablet {
                     throw new IllegalArgumentException(
                             "Primary Key Table with COMPACTED kv format doesn't support INDEXED cdc log format.");
                 }
-                return new IndexWalBuilder(schemaId, memorySegmentPool);
+                return new IndexWalBuilder(schemaId, memorySegmentPool, rowCompressionInfo);
             case COMPACTED:
-                return new CompactedWalBuilder(schemaId, rowType, memorySegmentPool);
+                return new CompactedWalBuilder(
+                        schemaId, rowType, memorySegmentPool, rowCompressionInfo);
             case ARROW:
                 return new ArrowWalBuilder(
                         schemaId,
@@ -656,6 +749,28 @@ public final class KvTablet {
                 });
     }
 
+    /**
+     * Lookup the values of the rows by the given secondary index.
+     *
+     * @param indexId the id of the secondary index
+     * @param indexKey the encoded values of the indexed columns
+     */
+    public List<byte[]> indexLookup(int indexId, byte[] indexKey) throws IOException {
+        if (secondaryIndexes == null) {
+            throw new InvalidTableException(
+                    String.format(
+                            "The table %s doesn't have any secondary index.",
+                            physicalPath.getTablePath()));
+        }
+        SecondaryIndex index = secondaryIndexes.getIndex(indexId);
+        return inReadLock(
+                kvLock,
+                () -> {
+                    rocksDBKv.checkIfRocksDBClosed();
+                    return rocksDBKv.indexLookup(index.getColumnFamilyHandle(), indexKey);
+                });
+    }
+
     public List<byte[]> limitScan(int limit) throws IOException {
         return inReadLock(
                 kvLock,
@@ -665,11 +780,41 @@ public final class KvTablet {
                 });
     }
 
+    /**
+     * Aggregates all the rows of the kv by the given aggregator, the rows are projected to the
+     * latest schema of the table. The rows are read from a consistent snapshot of the flushed kv,
+     * which doesn't block the writes to the tablet.
+     */
+    public void aggregateScan(GroupAggregator aggregator) throws IOException {
+        rocksDBKv.checkIfRocksDBClosed();
+        SchemaInfo latestSchemaInfo = schemaGetter.getLatestSchemaInfo();
+        Schema latestSchema = latestSchemaInfo.getSchema();
+        short latestSchemaId = (short) latestSchemaInfo.getSchemaId();
+        ValueDecoder valueDecoder = new ValueDecoder(schemaGetter, kvFormat);
+        Map<Short, ProjectedRow> projections = new HashMap<>();
+        rocksDBKv.scan(
+                value -> {
+                    BinaryValue binaryValue = valueDecoder.decodeValue(value);
+                    if (binaryValue.schemaId == latestSchemaId) {
+                        aggregator.add(binaryValue.row);
+                    } else {
+                        ProjectedRow projection =
+                                projections.computeIfAbsent(
+                                        binaryValue.schemaId,
+                                        id ->
+                                                ProjectedRow.from(
+                                                        schemaGetter.getSchema(id), latestSchema));
+                        aggregator.add(projection.replaceRow(binaryValue.row));
+                    }
+                });
+    }
+
     public KvBatchWriter createKvBatchWriter() {
         return rocksDBKv.newWriteBatch(
                 writeBatchSize,
                 serverMetricGroup.kvFlushCount(),
-                serverMetricGroup.kvFlushLatencyHistogram());
+                serverMetricGroup.kvFlushLatencyHistogram(),
+                secondaryIndexes);
     }
 
     public void close() throws Exception {
@@ -714,6 +859,29 @@ public final class KvTablet {
                 lastCompletedSnapshotId);
     }
 
+    /**
+     * Creates a RocksDB checkpoint of the kv in the given directory, which must not exist. The
+     * checkpoint only contains the files of the kv, which are hard links of the RocksDB files if
+     * possible.
+     *
+     * @return the log offset up to which (exclusive) the log has been applied to the checkpoint
+     */
+    public long createCheckpoint(File checkpointDir) throws Exception {
+        return inWriteLock(
+                kvLock,
+                () -> {
+                    rocksDBKv.checkIfRocksDBClosed();
+                    // the pre-write buffer is only flushed under the write lock, so the flushed log
+                    // offset is consistent with the data of RocksDB.
+                    try (ResourceGuard.Lease ignored =
+                                    rocksDBKv.getResourceGuard().acquireResource();
+                            Checkpoint checkpoint = Checkpoint.create(rocksDBKv.getDb())) {
+                        checkpoint.createCheckpoint(checkpointDir.getAbsolutePath());
+                    }
+                    return flushedLogOffset;
+                });
+    }
+
     // only for testing.
     @VisibleForTesting
     KvPreWriteBuffer getKvPreWriteBuffer() {
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.index;
+
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.row.encode.CompactedKeyEncoder;
+import org.apache.fluss.types.RowType;
+
+import org.rocksdb.ColumnFamilyHandle;
+
+import javax.annotation.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A secondary index of a primary key table, which is stored in a dedicated column family of the
+ * RocksDB of each bucket.
+ *
+ * <p>The key of an index entry is the encoded indexed columns followed by the primary key of the
+ * row, and the value is empty. The indexed columns are encoded by the {@link CompactedKeyEncoder},
+ * whose encoding is self-delimited, so that all the primary keys of the rows with the given indexed
+ * values can be found by a prefix scan of the encoded indexed values.
+ */
+public class SecondaryIndex {
+
+    private static final String COLUMN_FAMILY_PREFIX = "secondary-index-";
+
+    private final int indexId;
+    private final List<String> columns;
+    private final ColumnFamilyHandle columnFamilyHandle;
+    private final CompactedKeyEncoder indexKeyEncoder;
+    private final InternalRow.FieldGetter[] fieldGetters;
+
+    public SecondaryIndex(
+            int indexId,
+            List<String> columns,
+            RowType rowType,
+            ColumnFamilyHandle columnFamilyHandle) {
+        this.indexId = indexId;
+        this.columns = columns;
+        this.columnFamilyHandle = columnFamilyHandle;
+        this.indexKeyEncoder = CompactedKeyEncoder.createKeyEncoder(rowType, columns);
+        this.fieldGetters = new InternalRow.FieldGetter[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            int fieldIndex = rowType.getFieldIndex(columns.get(i));
+            fieldGetters[i] =
+                    InternalRow.createFieldGetter(rowType.getTypeAt(fieldIndex), fieldIndex);
+        }
+    }
+
+    /** Returns the name of the column family to store the index of the given id. */
+    public static byte[] columnFamilyName(int indexId) {
+        return (COLUMN_FAMILY_PREFIX + indexId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public int getIndexId() {
+        return indexId;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public ColumnFamilyHandle getColumnFamilyHandle() {
+        return columnFamilyHandle;
+    }
+
+    /**
+     * Encodes the indexed columns of the given row, returns null if any of the indexed columns is
+     * null as such rows are not indexed.
+     */
+    @Nullable
+    public byte[] encodeIndexKey(InternalRow row) {
+        for (InternalRow.FieldGetter fieldGetter : fieldGetters) {
+            if (fieldGetter.getFieldOrNull(row) == null) {
+                return null;
+            }
+        }
+        return indexKeyEncoder.encodeKey(row);
+    }
+
+    /** Returns the key of the index entry for the given encoded index key and primary key. */
+    public static byte[] indexEntryKey(byte[] indexKey, byte[] primaryKey) {
+        byte[] entryKey = new byte[indexKey.length + primaryKey.length];
+        System.arraycopy(indexKey, 0, entryKey, 0, indexKey.length);
+        System.arraycopy(primaryKey, 0, entryKey, indexKey.length, primaryKey.length);
+        return entryKey;
+    }
+
+    @Override
+    public String toString() {
+        return "SecondaryIndex{indexId=" + indexId + ", columns=" + columns + '}';
+    }
+}
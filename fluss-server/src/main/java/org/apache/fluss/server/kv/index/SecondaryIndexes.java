@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.index;
+
+import org.apache.fluss.exception.InvalidTableException;
+import org.apache.fluss.metadata.KvFormat;
+import org.apache.fluss.metadata.SchemaGetter;
+import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.row.encode.ValueDecoder;
+import org.apache.fluss.types.RowType;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+
+/**
+ * The {@link SecondaryIndex}es of a kv tablet, which maintains the index entries for the changes of
+ * the rows.
+ *
+ * <p>The index entries are written into the same {@link WriteBatch} as the change of the row, so
+ * that the indexes are always consistent with the rows in RocksDB, no matter whether the rows are
+ * flushed from the pre-write buffer, or recovered from the changelog. As the column families of the
+ * indexes are part of the RocksDB, the indexes are included in the kv snapshots as well.
+ */
+@NotThreadSafe
+public class SecondaryIndexes {
+
+    private static final byte[] EMPTY_VALUE = new byte[0];
+
+    private final List<SecondaryIndex> indexes;
+    private final ValueDecoder valueDecoder;
+
+    public SecondaryIndexes(
+            List<List<String>> indexColumns,
+            List<ColumnFamilyHandle> columnFamilyHandles,
+            RowType rowType,
+            KvFormat kvFormat,
+            SchemaGetter schemaGetter) {
+        checkArgument(
+                indexColumns.size() == columnFamilyHandles.size(),
+                "The number of secondary indexes %s doesn't match the number of column families %s.",
+                indexColumns.size(),
+                columnFamilyHandles.size());
+        List<SecondaryIndex> indexes = new ArrayList<>(indexColumns.size());
+        for (int i = 0; i < indexColumns.size(); i++) {
+            indexes.add(
+                    new SecondaryIndex(
+                            i, indexColumns.get(i), rowType, columnFamilyHandles.get(i)));
+        }
+        this.indexes = Collections.unmodifiableList(indexes);
+        this.valueDecoder = new ValueDecoder(schemaGetter, kvFormat);
+    }
+
+    /** Returns the names of the column families to store the given number of indexes. */
+    public static List<byte[]> columnFamilyNames(int numIndexes) {
+        List<byte[]> names = new ArrayList<>(numIndexes);
+        for (int i = 0; i < numIndexes; i++) {
+            names.add(SecondaryIndex.columnFamilyName(i));
+        }
+        return names;
+    }
+
+    public SecondaryIndex getIndex(int indexId) {
+        if (indexId < 0 || indexId >= indexes.size()) {
+            throw new InvalidTableException(
+                    String.format(
+                            "The secondary index %d doesn't exist, the table has %d secondary indexes.",
+                            indexId, indexes.size()));
+        }
+        return indexes.get(indexId);
+    }
+
+    /**
+     * Writes the changes of the index entries for the change of a row into the given batch.
+     *
+     * @param key the primary key of the row
+     * @param oldValue the value of the row before the change, null if the row doesn't exist
+     * @param newValue the value of the row after the change, null if the row is deleted
+     */
+    public void update(
+            WriteBatch batch, byte[] key, @Nullable byte[] oldValue, @Nullable byte[] newValue)
+            throws RocksDBException {
+        if (oldValue == null && newValue == null) {
+            return;
+        }
+        BinaryRow oldRow = oldValue == null ? null : valueDecoder.decodeValue(oldValue).row;
+        BinaryRow newRow = newValue == null ? null : valueDecoder.decodeValue(newValue).row;
+        for (SecondaryIndex index : indexes) {
+            byte[] oldIndexKey = oldRow == null ? null : index.encodeIndexKey(oldRow);
+            byte[] newIndexKey = newRow == null ? null : index.encodeIndexKey(newRow);
+            if (Arrays.equals(oldIndexKey, newIndexKey)) {
+                // the indexed columns are not changed
+                continue;
+            }
+            ColumnFamilyHandle handle = index.getColumnFamilyHandle();
+            if (oldIndexKey != null) {
+                batch.delete(handle, SecondaryIndex.indexEntryKey(oldIndexKey, key));
+            }
+            if (newIndexKey != null) {
+                batch.put(handle, SecondaryIndex.indexEntryKey(newIndexKey, key), EMPTY_VALUE);
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.metrics.Counter;
 import org.apache.fluss.metrics.Histogram;
 import org.apache.fluss.rocksdb.RocksDBOperationUtils;
+import org.apache.fluss.server.kv.index.SecondaryIndexes;
 import org.apache.fluss.server.utils.ResourceGuard;
 import org.apache.fluss.utils.BytesUtils;
 import org.apache.fluss.utils.IOUtils;
@@ -32,6 +33,7 @@ import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Snapshot;
 import org.rocksdb.Statistics;
 import org.rocksdb.WriteOptions;
 
@@ -39,7 +41,10 @@ import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /** A wrapper for the operation of {@link org.rocksdb.RocksDB}. */
 public class RocksDBKv implements AutoCloseable {
@@ -64,6 +69,9 @@ public class RocksDBKv implements AutoCloseable {
      */
     private final ColumnFamilyHandle defaultColumnFamilyHandle;
 
+    /** The handles of the column families besides the default one, e.g., secondary indexes. */
+    private final List<ColumnFamilyHandle> columnFamilyHandles;
+
     /** Our RocksDB database. Currently, one kv tablet, one RocksDB instance. */
     protected final RocksDB db;
 
@@ -79,11 +87,28 @@ public class RocksDBKv implements AutoCloseable {
             ResourceGuard rocksDBResourceGuard,
             ColumnFamilyHandle defaultColumnFamilyHandle,
             @Nullable Statistics statistics) {
+        this(
+                optionsContainer,
+                db,
+                rocksDBResourceGuard,
+                defaultColumnFamilyHandle,
+                Collections.emptyList(),
+                statistics);
+    }
+
+    public RocksDBKv(
+            RocksDBResourceContainer optionsContainer,
+            RocksDB db,
+            ResourceGuard rocksDBResourceGuard,
+            ColumnFamilyHandle defaultColumnFamilyHandle,
+            List<ColumnFamilyHandle> columnFamilyHandles,
+            @Nullable Statistics statistics) {
         this.optionsContainer = optionsContainer;
         this.db = db;
         this.rocksDBResourceGuard = rocksDBResourceGuard;
         this.writeOptions = optionsContainer.getWriteOptions();
         this.defaultColumnFamilyHandle = defaultColumnFamilyHandle;
+        this.columnFamilyHandles = columnFamilyHandles;
         this.statistics = statistics;
     }
 
@@ -93,7 +118,16 @@ public class RocksDBKv implements AutoCloseable {
 
     public RocksDBWriteBatchWrapper newWriteBatch(
             long writeBatchSize, Counter flushCount, Histogram flushLatencyHistogram) {
-        return new RocksDBWriteBatchWrapper(db, writeBatchSize, flushCount, flushLatencyHistogram);
+        return newWriteBatch(writeBatchSize, flushCount, flushLatencyHistogram, null);
+    }
+
+    public RocksDBWriteBatchWrapper newWriteBatch(
+            long writeBatchSize,
+            Counter flushCount,
+            Histogram flushLatencyHistogram,
+            @Nullable SecondaryIndexes secondaryIndexes) {
+        return new RocksDBWriteBatchWrapper(
+                db, writeBatchSize, flushCount, flushLatencyHistogram, secondaryIndexes);
     }
 
     public @Nullable byte[] get(byte[] key) throws IOException {
@@ -130,6 +164,36 @@ public class RocksDBKv implements AutoCloseable {
         return pkList;
     }
 
+    /**
+     * Returns the values of the rows whose encoded indexed columns equal to the given index key, by
+     * scanning the index entries prefixed with the index key in the column family of the index.
+     */
+    public List<byte[]> indexLookup(ColumnFamilyHandle indexColumnFamily, byte[] indexKey)
+            throws IOException {
+        List<byte[]> primaryKeys = new ArrayList<>();
+        try (ReadOptions readOptions = new ReadOptions();
+                RocksIterator iterator = db.newIterator(indexColumnFamily, readOptions)) {
+            iterator.seek(indexKey);
+            while (iterator.isValid() && BytesUtils.prefixEquals(indexKey, iterator.key())) {
+                byte[] entryKey = iterator.key();
+                primaryKeys.add(Arrays.copyOfRange(entryKey, indexKey.length, entryKey.length));
+                iterator.next();
+            }
+        }
+        if (primaryKeys.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<byte[]> values = new ArrayList<>(primaryKeys.size());
+        for (byte[] value : multiGet(primaryKeys)) {
+            // the index entries are written atomically with the rows, skip defensively
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
     public List<byte[]> limitScan(Integer limit) {
         List<byte[]> pkList = new ArrayList<>();
         ReadOptions readOptions = new ReadOptions();
@@ -151,6 +215,31 @@ public class RocksDBKv implements AutoCloseable {
         return pkList;
     }
 
+    /**
+     * Scans the values of all the rows on a consistent snapshot of the db. The scan doesn't block
+     * the concurrent writes, which are not visible to the scan, and the db can't be closed until
+     * the scan is finished.
+     */
+    public void scan(Consumer<byte[]> valueConsumer) throws IOException {
+        try (ResourceGuard.Lease ignored = rocksDBResourceGuard.acquireResource()) {
+            Snapshot snapshot = db.getSnapshot();
+            // don't pollute the block cache by the full scan
+            try (ReadOptions readOptions =
+                            new ReadOptions().setSnapshot(snapshot).setFillCache(false);
+                    RocksIterator iterator =
+                            db.newIterator(defaultColumnFamilyHandle, readOptions)) {
+                for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                    valueConsumer.accept(iterator.value());
+                }
+                iterator.status();
+            } catch (RocksDBException e) {
+                throw new IOException("Fail to scan the db.", e);
+            } finally {
+                db.releaseSnapshot(snapshot);
+            }
+        }
+    }
+
     public void put(byte[] key, byte[] value) throws IOException {
         try {
             db.put(writeOptions, key, value);
@@ -202,6 +291,12 @@ public class RocksDBKv implements AutoCloseable {
             RocksDBOperationUtils.addColumnFamilyOptionsToCloseLater(
                     columnFamilyOptions, defaultColumnFamilyHandle);
             IOUtils.closeQuietly(defaultColumnFamilyHandle);
+            // ... then the other CFs ...
+            for (ColumnFamilyHandle columnFamilyHandle : columnFamilyHandles) {
+                RocksDBOperationUtils.addColumnFamilyOptionsToCloseLater(
+                        columnFamilyOptions, columnFamilyHandle);
+                IOUtils.closeQuietly(columnFamilyHandle);
+            }
 
             // ... and finally close the DB instance ...
             IOUtils.closeQuietly(db);
@@ -230,4 +325,8 @@ public class RocksDBKv implements AutoCloseable {
     public ColumnFamilyHandle getDefaultColumnFamilyHandle() {
         return defaultColumnFamilyHandle;
     }
+
+    public List<ColumnFamilyHandle> getColumnFamilyHandles() {
+        return columnFamilyHandles;
+    }
 }
@@ -34,6 +34,8 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Supplier;
 
@@ -60,6 +62,9 @@ public class RocksDBKvBuilder {
     /** Path where this configured instance stores its RocksDB database. */
     private final File instanceRocksDBPath;
 
+    /** The names of the column families besides the default one. */
+    private final List<byte[]> columnFamilyNames;
+
     /** The number of (re)tries for loading the RocksDB JNI library. */
     private static final int ROCKSDB_LIB_LOADING_ATTEMPTS = 3;
 
@@ -70,7 +75,20 @@ public class RocksDBKvBuilder {
             File instanceBasePath,
             RocksDBResourceContainer rocksDBResourceContainer,
             ColumnFamilyOptions columnFamilyOptions) {
+        this(
+                instanceBasePath,
+                rocksDBResourceContainer,
+                columnFamilyOptions,
+                Collections.emptyList());
+    }
+
+    public RocksDBKvBuilder(
+            File instanceBasePath,
+            RocksDBResourceContainer rocksDBResourceContainer,
+            ColumnFamilyOptions columnFamilyOptions,
+            List<byte[]> columnFamilyNames) {
         this.columnFamilyOptions = columnFamilyOptions;
+        this.columnFamilyNames = columnFamilyNames;
         this.optionsContainer = rocksDBResourceContainer;
         this.instanceBasePath = instanceBasePath;
         this.instanceRocksDBPath = getInstanceRocksDBPath(instanceBasePath);
@@ -78,6 +96,7 @@ public class RocksDBKvBuilder {
 
     public RocksDBKv build() throws KvBuildingException {
         ColumnFamilyHandle defaultColumnFamilyHandle = null;
+        List<ColumnFamilyHandle> columnFamilyHandles = Collections.emptyList();
         RocksDB db = null;
         ResourceGuard rocksDBResourceGuard = new ResourceGuard();
         RocksDBHandle rocksDBHandle = null;
@@ -89,12 +108,16 @@ public class RocksDBKvBuilder {
                     new RocksDBHandle(
                             instanceRocksDBPath,
                             optionsContainer.getDbOptions(),
-                            columnFamilyOptions);
+                            columnFamilyOptions,
+                            columnFamilyNames,
+                            false);
             rocksDBHandle.openDB();
             db = rocksDBHandle.getDb();
             defaultColumnFamilyHandle = rocksDBHandle.getDefaultColumnFamilyHandle();
+            columnFamilyHandles = rocksDBHandle.getColumnFamilyHandles();
         } catch (Throwable t) {
             IOUtils.closeQuietly(defaultColumnFamilyHandle);
+            IOUtils.closeAllQuietly(columnFamilyHandles);
             IOUtils.closeQuietly(db);
             IOUtils.closeQuietly(rocksDBHandle);
             IOUtils.closeQuietly(columnFamilyOptions);
@@ -112,6 +135,7 @@ public class RocksDBKvBuilder {
                 db,
                 rocksDBResourceGuard,
                 defaultColumnFamilyHandle,
+                columnFamilyHandles,
                 optionsContainer.getStatistics());
     }
 
@@ -82,6 +82,12 @@ public class RocksDBResourceContainer implements AutoCloseable {
     /** The shared rate limiter for all RocksDB instances. */
     private final RateLimiter sharedRateLimiter;
 
+    /**
+     * The shared block cache and write buffer manager for all RocksDB instances, null if every
+     * instance uses its own block cache.
+     */
+    @Nullable private final RocksDBSharedResources sharedResources;
+
     /** The statistics object for RocksDB, null if statistics is disabled. */
     @Nullable private Statistics statistics;
 
@@ -112,6 +118,15 @@ public class RocksDBResourceContainer implements AutoCloseable {
             @Nullable File instanceBasePath,
             boolean enableStatistics,
             RateLimiter sharedRateLimiter) {
+        this(configuration, instanceBasePath, enableStatistics, sharedRateLimiter, null);
+    }
+
+    public RocksDBResourceContainer(
+            ReadableConfig configuration,
+            @Nullable File instanceBasePath,
+            boolean enableStatistics,
+            RateLimiter sharedRateLimiter,
+            @Nullable RocksDBSharedResources sharedResources) {
         this.configuration = configuration;
 
         this.instanceRocksDBPath =
@@ -121,6 +136,7 @@ public class RocksDBResourceContainer implements AutoCloseable {
         this.enableStatistics = enableStatistics;
         this.sharedRateLimiter =
                 checkNotNull(sharedRateLimiter, "sharedRateLimiter must not be null");
+        this.sharedResources = sharedResources;
 
         this.handlesToClose = new ArrayList<>();
     }
@@ -137,14 +153,17 @@ public class RocksDBResourceContainer implements AutoCloseable {
         // todo: maybe we can allow user define options factory and some predefined options
         //  just like Flink
 
-        // todo: introduce WriteBufferManager for controllable memory consume in FLUSS-54164814
-
         // add necessary default options
         opt = opt.setCreateIfMissing(true);
 
         // set shared rate limiter
         opt.setRateLimiter(sharedRateLimiter);
 
+        // bound the memtables of all instances by the shared write buffer manager
+        if (sharedResources != null) {
+            opt.setWriteBufferManager(sharedResources.getWriteBufferManager());
+        }
+
         if (enableStatistics) {
             statistics = new Statistics();
             opt.setStatistics(statistics);
@@ -166,6 +185,14 @@ public class RocksDBResourceContainer implements AutoCloseable {
         return blockCache;
     }
 
+    /**
+     * Returns true if the block cache is shared with the other RocksDB instances of the
+     * TabletServer, see {@link RocksDBSharedResources}.
+     */
+    public boolean isBlockCacheShared() {
+        return sharedResources != null;
+    }
+
     /** Gets the RocksDB {@link ColumnFamilyOptions} to be used for all RocksDB instances. */
     public ColumnFamilyOptions getColumnOptions() {
         // initial options from common profile
@@ -302,22 +329,33 @@ public class RocksDBResourceContainer implements AutoCloseable {
         blockBasedTableConfig.setMetadataBlockSize(
                 internalGetOption(ConfigOptions.KV_METADATA_BLOCK_SIZE).getBytes());
 
-        // Create explicit LRUCache for accurate memory tracking
-        long blockCacheSize = internalGetOption(ConfigOptions.KV_BLOCK_CACHE_SIZE).getBytes();
-        blockCache = new LRUCache(blockCacheSize);
-        handlesToClose.add(blockCache);
-        blockBasedTableConfig.setBlockCache(blockCache);
-
-        // Configure index and filter blocks caching
-        blockBasedTableConfig.setCacheIndexAndFilterBlocks(
-                internalGetOption(ConfigOptions.KV_CACHE_INDEX_AND_FILTER_BLOCKS));
-        blockBasedTableConfig.setCacheIndexAndFilterBlocksWithHighPriority(
-                internalGetOption(
-                        ConfigOptions.KV_CACHE_INDEX_AND_FILTER_BLOCKS_WITH_HIGH_PRIORITY));
+        if (sharedResources != null) {
+            // the shared cache is owned by the KvManager, don't close it with this container
+            blockCache = sharedResources.getBlockCache();
+            blockBasedTableConfig.setBlockCache(blockCache);
+
+            // index and filter blocks must be cached to be bounded by the shared memory
+            blockBasedTableConfig.setCacheIndexAndFilterBlocks(true);
+            blockBasedTableConfig.setCacheIndexAndFilterBlocksWithHighPriority(true);
+            blockBasedTableConfig.setPinTopLevelIndexAndFilter(true);
+        } else {
+            // Create explicit LRUCache for accurate memory tracking
+            long blockCacheSize = internalGetOption(ConfigOptions.KV_BLOCK_CACHE_SIZE).getBytes();
+            blockCache = new LRUCache(blockCacheSize);
+            handlesToClose.add(blockCache);
+            blockBasedTableConfig.setBlockCache(blockCache);
+
+            // Configure index and filter blocks caching
+            blockBasedTableConfig.setCacheIndexAndFilterBlocks(
+                    internalGetOption(ConfigOptions.KV_CACHE_INDEX_AND_FILTER_BLOCKS));
+            blockBasedTableConfig.setCacheIndexAndFilterBlocksWithHighPriority(
+                    internalGetOption(
+                            ConfigOptions.KV_CACHE_INDEX_AND_FILTER_BLOCKS_WITH_HIGH_PRIORITY));
+            blockBasedTableConfig.setPinTopLevelIndexAndFilter(
+                    internalGetOption(ConfigOptions.KV_PIN_TOP_LEVEL_INDEX_AND_FILTER));
+        }
         blockBasedTableConfig.setPinL0FilterAndIndexBlocksInCache(
                 internalGetOption(ConfigOptions.KV_PIN_L0_FILTER_AND_INDEX_BLOCKS_IN_CACHE));
-        blockBasedTableConfig.setPinTopLevelIndexAndFilter(
-                internalGetOption(ConfigOptions.KV_PIN_TOP_LEVEL_INDEX_AND_FILTER));
 
         if (internalGetOption(ConfigOptions.KV_USE_BLOOM_FILTER)) {
             final double bitsPerKey = internalGetOption(ConfigOptions.KV_BLOOM_FILTER_BITS_PER_KEY);
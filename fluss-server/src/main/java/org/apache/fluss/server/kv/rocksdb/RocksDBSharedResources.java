@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.rocksdb;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.ReadableConfig;
+import org.apache.fluss.utils.IOUtils;
+
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
+import org.rocksdb.RocksDB;
+import org.rocksdb.WriteBufferManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import static org.apache.fluss.utils.Preconditions.checkArgument;
+
+/* This file is based on source code of Apache Flink Project (https://flink.apache.org/), licensed by the Apache
+ * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership. */
+
+/**
+ * The RocksDB resources shared by all the RocksDB instances of a TabletServer to bound their total
+ * memory usage, i.e., a single block cache and a single {@link WriteBufferManager} which charges
+ * the memory of the memtables to the block cache.
+ *
+ * <p>The shared resources are owned by the {@code KvManager} and must be closed after all the
+ * RocksDB instances using them have been closed.
+ */
+public class RocksDBSharedResources implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDBSharedResources.class);
+
+    private final Cache blockCache;
+    private final WriteBufferManager writeBufferManager;
+    private final long blockCacheCapacity;
+    private final long writeBufferManagerCapacity;
+
+    @VisibleForTesting
+    RocksDBSharedResources(
+            Cache blockCache,
+            WriteBufferManager writeBufferManager,
+            long blockCacheCapacity,
+            long writeBufferManagerCapacity) {
+        this.blockCache = blockCache;
+        this.writeBufferManager = writeBufferManager;
+        this.blockCacheCapacity = blockCacheCapacity;
+        this.writeBufferManagerCapacity = writeBufferManagerCapacity;
+    }
+
+    /**
+     * Creates the shared resources according to the given configuration. Returns null if the shared
+     * memory is not enabled, see {@link ConfigOptions#KV_SHARED_MEMORY_SIZE}.
+     */
+    @Nullable
+    public static RocksDBSharedResources create(ReadableConfig configuration) {
+        long totalMemorySize = configuration.get(ConfigOptions.KV_SHARED_MEMORY_SIZE).getBytes();
+        if (totalMemorySize <= 0) {
+            return null;
+        }
+        double writeBufferRatio =
+                configuration.get(ConfigOptions.KV_SHARED_MEMORY_WRITE_BUFFER_RATIO);
+        double highPriorityPoolRatio =
+                configuration.get(ConfigOptions.KV_SHARED_MEMORY_HIGH_PRIO_POOL_RATIO);
+        checkArgument(
+                writeBufferRatio > 0 && writeBufferRatio < 1,
+                "'%s' must be in (0, 1), but is %s.",
+                ConfigOptions.KV_SHARED_MEMORY_WRITE_BUFFER_RATIO.key(),
+                writeBufferRatio);
+        checkArgument(
+                highPriorityPoolRatio >= 0 && highPriorityPoolRatio < 1,
+                "'%s' must be in [0, 1), but is %s.",
+                ConfigOptions.KV_SHARED_MEMORY_HIGH_PRIO_POOL_RATIO.key(),
+                highPriorityPoolRatio);
+
+        long blockCacheCapacity = calculateActualCacheCapacity(totalMemorySize, writeBufferRatio);
+        long writeBufferManagerCapacity =
+                calculateWriteBufferManagerCapacity(totalMemorySize, writeBufferRatio);
+
+        RocksDB.loadLibrary();
+        // use the default shard bits and don't enforce the capacity strictly, otherwise reads
+        // may fail once the pinned blocks exceed the capacity
+        Cache blockCache = new LRUCache(blockCacheCapacity, -1, false, highPriorityPoolRatio);
+        WriteBufferManager writeBufferManager =
+                new WriteBufferManager(writeBufferManagerCapacity, blockCache);
+        LOG.info(
+                "Created shared RocksDB memory resources with block cache capacity {} bytes and "
+                        + "write buffer manager capacity {} bytes.",
+                blockCacheCapacity,
+                writeBufferManagerCapacity);
+        return new RocksDBSharedResources(
+                blockCache, writeBufferManager, blockCacheCapacity, writeBufferManagerCapacity);
+    }
+
+    /**
+     * Calculates the capacity of the block cache. The memtables charged to the cache may go beyond
+     * the write buffer manager capacity by up to 50% before a flush is triggered, so the capacity
+     * is increased by the half of the write buffer manager capacity to keep the total memory within
+     * the budget.
+     */
+    @VisibleForTesting
+    static long calculateActualCacheCapacity(long totalMemorySize, double writeBufferRatio) {
+        return (long) ((3 - writeBufferRatio) * totalMemorySize / 3);
+    }
+
+    /**
+     * Calculates the capacity of the write buffer manager. A flush is triggered once the mutable
+     * memtables exceed 7/8 of the capacity, which is 2/3 of the memory budget of the memtables, so
+     * that the memtables stay within the budget.
+     */
+    @VisibleForTesting
+    static long calculateWriteBufferManagerCapacity(long totalMemorySize, double writeBufferRatio) {
+        return (long) (2 * totalMemorySize * writeBufferRatio / 3);
+    }
+
+    /** Gets the block cache shared by all the RocksDB instances. */
+    public Cache getBlockCache() {
+        return blockCache;
+    }
+
+    /** Gets the write buffer manager shared by all the RocksDB instances. */
+    public WriteBufferManager getWriteBufferManager() {
+        return writeBufferManager;
+    }
+
+    public long getBlockCacheCapacity() {
+        return blockCacheCapacity;
+    }
+
+    public long getWriteBufferManagerCapacity() {
+        return writeBufferManagerCapacity;
+    }
+
+    /**
+     * Gets the memory size of the entries residing in the shared block cache, including the
+     * memtables charged to the cache.
+     */
+    public long getBlockCacheUsage() {
+        return blockCache.getUsage();
+    }
+
+    /** Gets the memory size of the entries which are pinned in the shared block cache. */
+    public long getBlockCachePinnedUsage() {
+        return blockCache.getPinnedUsage();
+    }
+
+    @Override
+    public void close() {
+        // the write buffer manager refers to the cache, so close it first
+        IOUtils.closeQuietly(writeBufferManager);
+        IOUtils.closeQuietly(blockCache);
+    }
+}
@@ -130,6 +130,26 @@ public class RocksDBStatistics implements AutoCloseable {
         return getTickerValue(TickerType.COMPACT_WRITE_BYTES);
     }
 
+    /**
+     * Get block cache hit count. The statistics are collected per RocksDB instance, so the count is
+     * accurate for this tablet even if the block cache is shared with other tablets.
+     *
+     * @return block cache hit count, or 0 if not available
+     */
+    public long getBlockCacheHitCount() {
+        return getTickerValue(TickerType.BLOCK_CACHE_HIT);
+    }
+
+    /**
+     * Get block cache miss count. The statistics are collected per RocksDB instance, so the count
+     * is accurate for this tablet even if the block cache is shared with other tablets.
+     *
+     * @return block cache miss count, or 0 if not available
+     */
+    public long getBlockCacheMissCount() {
+        return getTickerValue(TickerType.BLOCK_CACHE_MISS);
+    }
+
     // ==================== Property-based Metrics ====================
 
     /**
@@ -200,6 +220,17 @@ public class RocksDBStatistics implements AutoCloseable {
         return getHistogramValue(HistogramType.COMPACTION_TIME);
     }
 
+    /**
+     * Get approximate memory usage of all the memtables (active, unflushed immutable and pinned
+     * immutable ones). If the memory is bounded by a shared write buffer manager, this is the share
+     * of this tablet in the shared memory.
+     *
+     * @return memtable memory usage in bytes, or 0 if not available
+     */
+    public long getMemTableMemoryUsage() {
+        return getPropertyValue("rocksdb.size-all-mem-tables");
+    }
+
     /**
      * Get total memory usage across all RocksDB components including block cache, memtables,
      * indexes, filters, etc.
@@ -216,14 +247,41 @@ public class RocksDBStatistics implements AutoCloseable {
      *
      * <p>Note: To get accurate block cache memory usage, an explicit Cache object must be provided
      * during construction. If no cache is provided (null), the block cache memory usage may not be
-     * fully accounted for.
+     * fully accounted for. A block cache shared by all tablets is not provided here, but accounted
+     * once by the server.
      *
      * @return total memory usage in bytes, or 0 if not available
      */
     public long getTotalMemoryUsage() {
+        Map<MemoryUsageType, Long> memoryUsage = getMemoryUsageByType();
+        return memoryUsage.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Get memory usage of the table readers, i.e., the index and filter blocks which are not held
+     * in the block cache.
+     *
+     * <p>This is the only memory of this tablet which is not charged to a block cache shared by all
+     * tablets, as the memtables are charged to the shared cache by the shared write buffer manager,
+     * and the index and filter blocks are always cached in the shared cache.
+     *
+     * @return table readers memory usage in bytes, or 0 if not available
+     */
+    public long getTableReadersMemoryUsage() {
+        return getMemoryUsageByType().getOrDefault(MemoryUsageType.kTableReadersTotal, 0L);
+    }
+
+    // ==================== Internal Helper Methods ====================
+
+    /**
+     * Get approximate memory usage by type with resource guard protection.
+     *
+     * @return the memory usage by type, or an empty map if not available or RocksDB is closed
+     */
+    private Map<MemoryUsageType, Long> getMemoryUsageByType() {
         try (ResourceGuard.Lease lease = resourceGuard.acquireResource()) {
             if (db == null) {
-                return 0L;
+                return Collections.emptyMap();
             }
 
             // Create cache set for memory usage calculation.
@@ -234,20 +292,15 @@ public class RocksDBStatistics implements AutoCloseable {
                 caches.add(blockCache);
             }
 
-            Map<MemoryUsageType, Long> memoryUsage =
-                    MemoryUtil.getApproximateMemoryUsageByType(
-                            Collections.singletonList(db), caches);
-            return memoryUsage.values().stream().mapToLong(Long::longValue).sum();
+            return MemoryUtil.getApproximateMemoryUsageByType(
+                    Collections.singletonList(db), caches);
         } catch (Exception e) {
             LOG.debug(
-                    "Failed to get total memory usage from RocksDB (possibly closed or unavailable)",
-                    e);
-            return 0L;
+                    "Failed to get memory usage from RocksDB (possibly closed or unavailable)", e);
+            return Collections.emptyMap();
         }
     }
 
-    // ==================== Internal Helper Methods ====================
-
     /**
      * Get ticker value from RocksDB Statistics with resource guard protection.
      *
@@ -20,6 +20,7 @@ package org.apache.fluss.server.kv.rocksdb;
 import org.apache.fluss.metrics.Counter;
 import org.apache.fluss.metrics.Histogram;
 import org.apache.fluss.server.kv.KvBatchWriter;
+import org.apache.fluss.server.kv.index.SecondaryIndexes;
 import org.apache.fluss.utils.IOUtils;
 
 import org.rocksdb.RocksDB;
@@ -31,11 +32,15 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.apache.fluss.utils.Preconditions.checkArgument;
 
@@ -43,7 +48,12 @@ import static org.apache.fluss.utils.Preconditions.checkArgument;
  * Software Foundation (ASF) under the Apache License, Version 2.0. See the NOTICE file distributed with this work for
  * additional information regarding copyright ownership. */
 
-/** It's a wrapper class around RocksDB's {@link WriteBatch} for writing in bulk. */
+/**
+ * It's a wrapper class around RocksDB's {@link WriteBatch} for writing in bulk.
+ *
+ * <p>If the kv has {@link SecondaryIndexes}, the changes of the index entries are written into the
+ * same batch as the changes of the rows.
+ */
 @NotThreadSafe
 public class RocksDBWriteBatchWrapper implements KvBatchWriter {
 
@@ -72,16 +82,35 @@ public class RocksDBWriteBatchWrapper implements KvBatchWriter {
 
     private final Histogram flushLatencyHistogram;
 
+    @Nullable private final SecondaryIndexes secondaryIndexes;
+
+    /**
+     * The latest values of the keys written into the batch but not yet written into RocksDB, which
+     * are needed to maintain the secondary indexes. A null value means the key is deleted.
+     */
+    private final Map<ByteBuffer, byte[]> unflushedValues;
+
     public RocksDBWriteBatchWrapper(
             @Nonnull RocksDB rocksDB,
             long batchSize,
             Counter flushCount,
             Histogram flushLatencyHistogram) {
+        this(rocksDB, batchSize, flushCount, flushLatencyHistogram, null);
+    }
+
+    public RocksDBWriteBatchWrapper(
+            @Nonnull RocksDB rocksDB,
+            long batchSize,
+            Counter flushCount,
+            Histogram flushLatencyHistogram,
+            @Nullable SecondaryIndexes secondaryIndexes) {
         checkArgument(batchSize >= 0, "Max batch size have to be no negative.");
         this.db = rocksDB;
         this.batchSize = batchSize;
         this.flushCount = flushCount;
         this.flushLatencyHistogram = flushLatencyHistogram;
+        this.secondaryIndexes = secondaryIndexes;
+        this.unflushedValues = new HashMap<>();
         this.toClose = new ArrayList<>(2);
         if (this.batchSize > 0) {
             this.batch =
@@ -99,6 +128,7 @@ public class RocksDBWriteBatchWrapper implements KvBatchWriter {
 
     public void put(@Nonnull byte[] key, @Nonnull byte[] value) throws IOException {
         try {
+            updateSecondaryIndexes(key, value);
             batch.put(key, value);
             flushIfNeeded();
         } catch (RocksDBException e) {
@@ -108,6 +138,7 @@ public class RocksDBWriteBatchWrapper implements KvBatchWriter {
 
     public void delete(@Nonnull byte[] key) throws IOException {
         try {
+            updateSecondaryIndexes(key, null);
             batch.delete(key);
             flushIfNeeded();
         } catch (RocksDBException e) {
@@ -115,6 +146,20 @@ public class RocksDBWriteBatchWrapper implements KvBatchWriter {
         }
     }
 
+    private void updateSecondaryIndexes(byte[] key, @Nullable byte[] value)
+            throws RocksDBException {
+        if (secondaryIndexes == null) {
+            return;
+        }
+        ByteBuffer wrappedKey = ByteBuffer.wrap(key);
+        byte[] oldValue =
+                unflushedValues.containsKey(wrappedKey)
+                        ? unflushedValues.get(wrappedKey)
+                        : db.get(key);
+        secondaryIndexes.update(batch, key, oldValue, value);
+        unflushedValues.put(wrappedKey, value);
+    }
+
     public void flush() throws IOException {
         long start = System.nanoTime();
         Exception lastException = null;
@@ -122,6 +167,7 @@ public class RocksDBWriteBatchWrapper implements KvBatchWriter {
             try {
                 db.write(options, batch);
                 batch.clear();
+                unflushedValues.clear();
                 flushCount.inc();
                 flushLatencyHistogram.update((System.nanoTime() - start) / 1_000_000);
                 return;
@@ -26,6 +26,8 @@ import org.apache.fluss.server.zk.ZooKeeperClient;
 import org.apache.fluss.utils.FlussPaths;
 import org.apache.fluss.utils.function.FunctionWithException;
 
+import javax.annotation.Nullable;
+
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
@@ -52,6 +54,9 @@ public class DefaultSnapshotContext implements SnapshotContext {
 
     private final FsPath remoteKvDir;
 
+    @Nullable private final PeerKvCheckpointManager peerKvCheckpointManager;
+    @Nullable private final PeerKvCheckpointDownloader peerKvCheckpointDownloader;
+
     private DefaultSnapshotContext(
             ZooKeeperClient zooKeeperClient,
             CompletedKvSnapshotCommitter completedKvSnapshotCommitter,
@@ -63,7 +68,9 @@ public class DefaultSnapshotContext implements SnapshotContext {
             int writeBufferSizeInBytes,
             FsPath remoteKvDir,
             CompletedSnapshotHandleStore completedSnapshotHandleStore,
-            int maxFetchLogSizeInRecoverKv) {
+            int maxFetchLogSizeInRecoverKv,
+            @Nullable PeerKvCheckpointManager peerKvCheckpointManager,
+            @Nullable PeerKvCheckpointDownloader peerKvCheckpointDownloader) {
         this.zooKeeperClient = zooKeeperClient;
         this.completedKvSnapshotCommitter = completedKvSnapshotCommitter;
         this.snapshotScheduler = snapshotScheduler;
@@ -76,6 +83,8 @@ public class DefaultSnapshotContext implements SnapshotContext {
 
         this.completedSnapshotHandleStore = completedSnapshotHandleStore;
         this.maxFetchLogSizeInRecoverKv = maxFetchLogSizeInRecoverKv;
+        this.peerKvCheckpointManager = peerKvCheckpointManager;
+        this.peerKvCheckpointDownloader = peerKvCheckpointDownloader;
     }
 
     public static DefaultSnapshotContext create(
@@ -83,6 +92,16 @@ public class DefaultSnapshotContext implements SnapshotContext {
             CompletedKvSnapshotCommitter completedKvSnapshotCommitter,
             KvSnapshotResource kvSnapshotResource,
             Configuration conf) {
+        return create(zkClient, completedKvSnapshotCommitter, kvSnapshotResource, conf, null, null);
+    }
+
+    public static DefaultSnapshotContext create(
+            ZooKeeperClient zkClient,
+            CompletedKvSnapshotCommitter completedKvSnapshotCommitter,
+            KvSnapshotResource kvSnapshotResource,
+            Configuration conf,
+            @Nullable PeerKvCheckpointManager peerKvCheckpointManager,
+            @Nullable PeerKvCheckpointDownloader peerKvCheckpointDownloader) {
         return new DefaultSnapshotContext(
                 zkClient,
                 completedKvSnapshotCommitter,
@@ -94,7 +113,9 @@ public class DefaultSnapshotContext implements SnapshotContext {
                 (int) conf.get(ConfigOptions.REMOTE_FS_WRITE_BUFFER_SIZE).getBytes(),
                 FlussPaths.remoteKvDir(conf),
                 new ZooKeeperCompletedSnapshotHandleStore(zkClient),
-                (int) conf.get(ConfigOptions.KV_RECOVER_LOG_RECORD_BATCH_MAX_SIZE).getBytes());
+                (int) conf.get(ConfigOptions.KV_RECOVER_LOG_RECORD_BATCH_MAX_SIZE).getBytes(),
+                peerKvCheckpointManager,
+                peerKvCheckpointDownloader);
     }
 
     public ZooKeeperClient getZooKeeperClient() {
@@ -161,4 +182,16 @@ public class DefaultSnapshotContext implements SnapshotContext {
         completedSnapshotHandleStore.remove(snapshot.getTableBucket(), snapshot.getSnapshotID());
         snapshot.discardAsync(asyncOperationsThreadPool);
     }
+
+    @Nullable
+    @Override
+    public PeerKvCheckpointManager getPeerKvCheckpointManager() {
+        return peerKvCheckpointManager;
+    }
+
+    @Nullable
+    @Override
+    public PeerKvCheckpointDownloader getPeerKvCheckpointDownloader() {
+        return peerKvCheckpointDownloader;
+    }
 }
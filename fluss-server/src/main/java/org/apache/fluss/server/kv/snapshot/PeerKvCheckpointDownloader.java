@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.snapshot;
+
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.gateway.TabletServerGateway;
+import org.apache.fluss.rpc.messages.CreateKvCheckpointRequest;
+import org.apache.fluss.rpc.messages.CreateKvCheckpointResponse;
+import org.apache.fluss.rpc.messages.FetchKvCheckpointFileRequest;
+import org.apache.fluss.rpc.messages.PbKvCheckpointFile;
+import org.apache.fluss.utils.FileUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Downloads a RocksDB checkpoint of a kv tablet from another tablet server, which is created by the
+ * {@link PeerKvCheckpointManager} of that tablet server.
+ *
+ * <p>The checkpoint files are fetched in chunks into a staging directory named by the bucket and
+ * the id of the checkpoint. If a download is interrupted, the next download of the bucket requests
+ * the same checkpoint again and resumes from the bytes of the files downloaded before.
+ */
+public class PeerKvCheckpointDownloader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PeerKvCheckpointDownloader.class);
+
+    private static final String DOWNLOAD_DIR_PREFIX = "download-";
+
+    // todo remove this timeout logic if we support global request timeout in #279
+    private static final long REQUEST_TIMEOUT_SECONDS = 60;
+
+    private final File stagingBaseDir;
+    private final int chunkSize;
+    private final Function<Integer, TabletServerGateway> gatewayProvider;
+
+    public PeerKvCheckpointDownloader(
+            File stagingBaseDir,
+            int chunkSize,
+            Function<Integer, TabletServerGateway> gatewayProvider) {
+        this.stagingBaseDir = stagingBaseDir;
+        this.chunkSize = chunkSize;
+        this.gatewayProvider = gatewayProvider;
+    }
+
+    /**
+     * Requests the given tablet server to create a checkpoint of the kv of the bucket. The
+     * checkpoint of an interrupted download of the bucket is reused if it still exists.
+     */
+    public CreateKvCheckpointResponse createCheckpoint(int peerServerId, TableBucket tableBucket)
+            throws Exception {
+        String previousCheckpointId = findDownloadingCheckpoint(tableBucket);
+        CreateKvCheckpointRequest request =
+                new CreateKvCheckpointRequest()
+                        .setTableId(tableBucket.getTableId())
+                        .setBucketId(tableBucket.getBucket());
+        if (tableBucket.getPartitionId() != null) {
+            request.setPartitionId(tableBucket.getPartitionId());
+        }
+        if (previousCheckpointId != null) {
+            request.setCheckpointId(previousCheckpointId);
+        }
+        CreateKvCheckpointResponse response =
+                gatewayProvider
+                        .apply(peerServerId)
+                        .createKvCheckpoint(request)
+                        .get(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (previousCheckpointId != null
+                && !previousCheckpointId.equals(response.getCheckpointId())) {
+            // the interrupted download can't be resumed
+            discard(tableBucket);
+        }
+        return response;
+    }
+
+    /**
+     * Downloads the files of the checkpoint from the given tablet server into the target directory,
+     * which must not exist.
+     */
+    public void download(
+            int peerServerId,
+            TableBucket tableBucket,
+            CreateKvCheckpointResponse checkpoint,
+            Path targetDir)
+            throws Exception {
+        File stagingDir =
+                new File(
+                        stagingBaseDir,
+                        downloadDirPrefix(tableBucket) + checkpoint.getCheckpointId());
+        Files.createDirectories(stagingDir.toPath());
+        TabletServerGateway gateway = gatewayProvider.apply(peerServerId);
+        long downloadedBytes = 0;
+        for (PbKvCheckpointFile checkpointFile : checkpoint.getFilesList()) {
+            String fileName = checkpointFile.getFileName();
+            File file = new File(stagingDir, fileName);
+            if (!file.getName().equals(fileName)) {
+                throw new IOException(
+                        String.format("Invalid kv checkpoint file name %s.", fileName));
+            }
+            downloadedBytes +=
+                    downloadFile(
+                            gateway,
+                            checkpoint.getCheckpointId(),
+                            fileName,
+                            checkpointFile.getFileSize(),
+                            file);
+        }
+        Files.move(stagingDir.toPath(), targetDir);
+        LOG.info(
+                "Downloaded kv checkpoint {} of {} from tablet server {} to {}, {} bytes are transferred.",
+                checkpoint.getCheckpointId(),
+                tableBucket,
+                peerServerId,
+                targetDir,
+                downloadedBytes);
+    }
+
+    /** Deletes the interrupted download of the bucket if any. */
+    public void discard(TableBucket tableBucket) {
+        File[] dirs = listDownloadDirs(tableBucket);
+        if (dirs != null) {
+            for (File dir : dirs) {
+                FileUtils.deleteDirectoryQuietly(dir);
+            }
+        }
+    }
+
+    /** Downloads the file from the bytes downloaded before, returns the bytes transferred. */
+    private long downloadFile(
+            TabletServerGateway gateway,
+            String checkpointId,
+            String fileName,
+            long fileSize,
+            File file)
+            throws Exception {
+        long position = file.exists() ? file.length() : 0L;
+        if (position > fileSize) {
+            Files.delete(file.toPath());
+            position = 0L;
+        }
+        long startPosition = position;
+        try (FileChannel channel =
+                FileChannel.open(
+                        file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            while (position < fileSize) {
+                FetchKvCheckpointFileRequest request =
+                        new FetchKvCheckpointFileRequest()
+                                .setCheckpointId(checkpointId)
+                                .setFileName(fileName)
+                                .setPosition(position)
+                                .setMaxBytes((int) Math.min(chunkSize, fileSize - position));
+                byte[] data =
+                        gateway.fetchKvCheckpointFile(request)
+                                .get(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                                .getData();
+                if (data.length == 0) {
+                    throw new IOException(
+                            String.format(
+                                    "Unexpected end of kv checkpoint file %s at position %s, "
+                                            + "the file size is %s.",
+                                    fileName, position, fileSize));
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            }
+        }
+        return position - startPosition;
+    }
+
+    @Nullable
+    private String findDownloadingCheckpoint(TableBucket tableBucket) {
+        File[] dirs = listDownloadDirs(tableBucket);
+        if (dirs == null || dirs.length == 0) {
+            return null;
+        }
+        return dirs[0].getName().substring(downloadDirPrefix(tableBucket).length());
+    }
+
+    @Nullable
+    private File[] listDownloadDirs(TableBucket tableBucket) {
+        String prefix = downloadDirPrefix(tableBucket);
+        return stagingBaseDir.listFiles(
+                file -> file.isDirectory() && file.getName().startsWith(prefix));
+    }
+
+    private static String downloadDirPrefix(TableBucket tableBucket) {
+        StringBuilder builder =
+                new StringBuilder(DOWNLOAD_DIR_PREFIX).append(tableBucket.getTableId()).append('_');
+        if (tableBucket.getPartitionId() != null) {
+            builder.append('p').append(tableBucket.getPartitionId()).append('_');
+        }
+        return builder.append(tableBucket.getBucket()).append('_').toString();
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.kv.snapshot;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.exception.KvStorageException;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.server.kv.KvTablet;
+import org.apache.fluss.shaded.guava32.com.google.common.util.concurrent.RateLimiter;
+import org.apache.fluss.utils.FileUtils;
+import org.apache.fluss.utils.FlussPaths;
+import org.apache.fluss.utils.clock.Clock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Manages the RocksDB checkpoints of the kv tablets of this tablet server, which are transferred to
+ * the other tablet servers to bootstrap the kv of the replicas, see {@link
+ * ConfigOptions#KV_RECOVER_PEER_BOOTSTRAP_ENABLED}.
+ *
+ * <p>A checkpoint is created from the kv tablet of a leader replica on request, or retained when
+ * the kv tablet of a leader replica is dropped as the replica becomes follower. The checkpoints are
+ * stored in {@link FlussPaths#peerKvCheckpointDir(File)} and deleted after not being accessed for
+ * {@link ConfigOptions#KV_RECOVER_PEER_BOOTSTRAP_CHECKPOINT_RETENTION}.
+ */
+@ThreadSafe
+public class PeerKvCheckpointManager implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PeerKvCheckpointManager.class);
+
+    /** The prefix of the directories of the checkpoints created by this tablet server. */
+    static final String CHECKPOINT_DIR_PREFIX = "checkpoint-";
+
+    private final File checkpointBaseDir;
+    private final long retentionMs;
+    private final Clock clock;
+
+    /** The throttler of the checkpoint files sent, null if it is unlimited. */
+    private final @Nullable RateLimiter throttler;
+
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private final Map<String, PeerKvCheckpoint> checkpoints = new HashMap<>();
+
+    /** The checkpoints retained when the kv tablets are dropped. */
+    @GuardedBy("lock")
+    private final Map<TableBucket, String> retainedCheckpoints = new HashMap<>();
+
+    public PeerKvCheckpointManager(Configuration conf, File dataDir, Clock clock) {
+        this.checkpointBaseDir = FlussPaths.peerKvCheckpointDir(dataDir);
+        this.retentionMs =
+                conf.get(ConfigOptions.KV_RECOVER_PEER_BOOTSTRAP_CHECKPOINT_RETENTION).toMillis();
+        this.clock = clock;
+        MemorySize maxBytesPerSecond =
+                conf.get(ConfigOptions.KV_RECOVER_PEER_BOOTSTRAP_MAX_BYTES_PER_SECOND);
+        this.throttler =
+                maxBytesPerSecond.equals(MemorySize.MAX_VALUE)
+                        ? null
+                        : RateLimiter.create(maxBytesPerSecond.getBytes());
+        // the checkpoints of the previous run are not tracked anymore
+        FileUtils.deleteDirectoryQuietly(checkpointBaseDir);
+    }
+
+    /** Returns the directory to store the checkpoints and the downloading checkpoints. */
+    public File getCheckpointBaseDir() {
+        return checkpointBaseDir;
+    }
+
+    /** Creates a checkpoint of the given kv tablet. */
+    public PeerKvCheckpoint createCheckpoint(KvTablet kvTablet) throws IOException {
+        String checkpointId = UUID.randomUUID().toString();
+        File checkpointDir = new File(checkpointBaseDir, CHECKPOINT_DIR_PREFIX + checkpointId);
+        long logOffset;
+        try {
+            Files.createDirectories(checkpointBaseDir.toPath());
+            logOffset = kvTablet.createCheckpoint(checkpointDir);
+        } catch (Exception e) {
+            FileUtils.deleteDirectoryQuietly(checkpointDir);
+            throw new IOException(
+                    String.format(
+                            "Fail to create kv checkpoint for %s.", kvTablet.getTableBucket()),
+                    e);
+        }
+
+        Map<String, Long> files = new LinkedHashMap<>();
+        File[] checkpointFiles = checkpointDir.listFiles();
+        if (checkpointFiles != null) {
+            for (File file : checkpointFiles) {
+                files.put(file.getName(), file.length());
+            }
+        }
+        PeerKvCheckpoint checkpoint =
+                new PeerKvCheckpoint(
+                        checkpointId,
+                        kvTablet.getTableBucket(),
+                        checkpointDir,
+                        logOffset,
+                        Collections.unmodifiableMap(files),
+                        clock.milliseconds());
+        synchronized (lock) {
+            checkpoints.put(checkpointId, checkpoint);
+        }
+        LOG.info(
+                "Created kv checkpoint {} for {} at log offset {} with {} files.",
+                checkpointId,
+                checkpoint.getTableBucket(),
+                logOffset,
+                files.size());
+        return checkpoint;
+    }
+
+    /**
+     * Creates a checkpoint of the given kv tablet which is going to be dropped, the checkpoint is
+     * retained for the bucket and replaces the checkpoint retained before.
+     */
+    public void retainCheckpoint(KvTablet kvTablet) {
+        try {
+            PeerKvCheckpoint checkpoint = createCheckpoint(kvTablet);
+            String previous;
+            synchronized (lock) {
+                previous = retainedCheckpoints.put(checkpoint.getTableBucket(), checkpoint.getId());
+            }
+            if (previous != null) {
+                removeCheckpoint(previous);
+            }
+        } catch (Exception e) {
+            LOG.warn("Fail to retain kv checkpoint for {}.", kvTablet.getTableBucket(), e);
+        }
+    }
+
+    /** Returns the checkpoint of the bucket with the given id if it still exists. */
+    public Optional<PeerKvCheckpoint> getCheckpoint(String checkpointId, TableBucket tableBucket) {
+        synchronized (lock) {
+            PeerKvCheckpoint checkpoint = checkpoints.get(checkpointId);
+            if (checkpoint == null || !checkpoint.getTableBucket().equals(tableBucket)) {
+                return Optional.empty();
+            }
+            checkpoint.lastAccessTimeMs = clock.milliseconds();
+            return Optional.of(checkpoint);
+        }
+    }
+
+    /** Returns the checkpoint retained for the bucket when its kv tablet was dropped. */
+    public Optional<PeerKvCheckpoint> getRetainedCheckpoint(TableBucket tableBucket) {
+        synchronized (lock) {
+            String checkpointId = retainedCheckpoints.get(tableBucket);
+            return checkpointId == null
+                    ? Optional.empty()
+                    : getCheckpoint(checkpointId, tableBucket);
+        }
+    }
+
+    /**
+     * Reads the file of the given checkpoint from the given position, at most {@code maxBytes}
+     * bytes are returned and an empty array is returned at the end of the file.
+     */
+    public byte[] readFile(String checkpointId, String fileName, long position, int maxBytes)
+            throws IOException {
+        PeerKvCheckpoint checkpoint;
+        synchronized (lock) {
+            checkpoint = checkpoints.get(checkpointId);
+            if (checkpoint != null) {
+                checkpoint.lastAccessTimeMs = clock.milliseconds();
+            }
+        }
+        if (checkpoint == null) {
+            throw new KvStorageException(
+                    String.format("The kv checkpoint %s doesn't exist.", checkpointId));
+        }
+        // only the files of the checkpoint can be read
+        Long fileSize = checkpoint.getFiles().get(fileName);
+        if (fileSize == null) {
+            throw new KvStorageException(
+                    String.format(
+                            "The file %s doesn't exist in kv checkpoint %s.",
+                            fileName, checkpointId));
+        }
+        if (position < 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Invalid position %s or max bytes %s to read the kv checkpoint file.",
+                            position, maxBytes));
+        }
+
+        int length = (int) Math.max(0L, Math.min(maxBytes, fileSize - position));
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        if (length > 0) {
+            if (throttler != null) {
+                throttler.acquire(length);
+            }
+            File file = new File(checkpoint.getDir(), fileName);
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                long readPosition = position;
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer, readPosition);
+                    if (read < 0) {
+                        throw new IOException(
+                                String.format(
+                                        "Unexpected end of kv checkpoint file %s at position %s.",
+                                        file, readPosition));
+                    }
+                    readPosition += read;
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    /** Deletes the checkpoints which are not accessed within the retention time. */
+    public void expireCheckpoints() {
+        long expireTimeMs = clock.milliseconds() - retentionMs;
+        List<PeerKvCheckpoint> expired = new ArrayList<>();
+        synchronized (lock) {
+            Iterator<PeerKvCheckpoint> iterator = checkpoints.values().iterator();
+            while (iterator.hasNext()) {
+                PeerKvCheckpoint checkpoint = iterator.next();
+                if (checkpoint.lastAccessTimeMs < expireTimeMs) {
+                    iterator.remove();
+                    retainedCheckpoints.remove(checkpoint.getTableBucket(), checkpoint.getId());
+                    expired.add(checkpoint);
+                }
+            }
+        }
+        for (PeerKvCheckpoint checkpoint : expired) {
+            LOG.info(
+                    "Delete expired kv checkpoint {} for {}.",
+                    checkpoint.getId(),
+                    checkpoint.getTableBucket());
+            FileUtils.deleteDirectoryQuietly(checkpoint.getDir());
+        }
+    }
+
+    private void removeCheckpoint(String checkpointId) {
+        PeerKvCheckpoint checkpoint;
+        synchronized (lock) {
+            checkpoint = checkpoints.remove(checkpointId);
+        }
+        if (checkpoint != null) {
+            FileUtils.deleteDirectoryQuietly(checkpoint.getDir());
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            checkpoints.clear();
+            retainedCheckpoints.clear();
+        }
+        FileUtils.deleteDirectoryQuietly(checkpointBaseDir);
+    }
+
+    /** A RocksDB checkpoint of a kv tablet. */
+    public static final class PeerKvCheckpoint {
+        private final String id;
+        private final TableBucket tableBucket;
+        private final File dir;
+        private final long logOffset;
+        private final Map<String, Long> files;
+
+        private volatile long lastAccessTimeMs;
+
+        private PeerKvCheckpoint(
+                String id,
+                TableBucket tableBucket,
+                File dir,
+                long logOffset,
+                Map<String, Long> files,
+                long lastAccessTimeMs) {
+            this.id = id;
+            this.tableBucket = tableBucket;
+            this.dir = dir;
+            this.logOffset = logOffset;
+            this.files = files;
+            this.lastAccessTimeMs = lastAccessTimeMs;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public TableBucket getTableBucket() {
+            return tableBucket;
+        }
+
+        public File getDir() {
+            return dir;
+        }
+
+        /** Returns the log offset up to which (exclusive) the log has been applied to the kv. */
+        public long getLogOffset() {
+            return logOffset;
+        }
+
+        /** Returns the names and sizes of the files of the checkpoint. */
+        public Map<String, Long> getFiles() {
+            return files;
+        }
+    }
+}
@@ -22,6 +22,8 @@ import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.server.zk.ZooKeeperClient;
 import org.apache.fluss.utils.function.FunctionWithException;
 
+import javax.annotation.Nullable;
+
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -82,4 +84,22 @@ public interface SnapshotContext {
      * log during recovering.
      */
     int maxFetchLogSizeInRecoverKv();
+
+    /**
+     * Get the manager of the kv checkpoints transferred to the other tablet servers, null if
+     * bootstrapping the kv from the other tablet servers is disabled.
+     */
+    @Nullable
+    default PeerKvCheckpointManager getPeerKvCheckpointManager() {
+        return null;
+    }
+
+    /**
+     * Get the downloader of the kv checkpoints from the other tablet servers, null if bootstrapping
+     * the kv from the other tablet servers is disabled.
+     */
+    @Nullable
+    default PeerKvCheckpointDownloader getPeerKvCheckpointDownloader() {
+        return null;
+    }
 }
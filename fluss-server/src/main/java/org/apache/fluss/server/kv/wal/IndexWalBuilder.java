@@ -17,6 +17,7 @@
 
 package org.apache.fluss.server.kv.wal;
 
+import org.apache.fluss.compression.RowCompressionInfo;
 import org.apache.fluss.memory.ManagedPagedOutputView;
 import org.apache.fluss.memory.MemorySegmentPool;
 import org.apache.fluss.record.ChangeType;
@@ -37,13 +38,15 @@ public class IndexWalBuilder implements WalBuilder {
     private final MemorySegmentPool memorySegmentPool;
     private final ManagedPagedOutputView outputView;
 
-    public IndexWalBuilder(int schemaId, MemorySegmentPool memorySegmentPool) throws IOException {
+    public IndexWalBuilder(
+            int schemaId, MemorySegmentPool memorySegmentPool, RowCompressionInfo compressionInfo)
+            throws IOException {
         this.memorySegmentPool = memorySegmentPool;
         this.outputView = new ManagedPagedOutputView(memorySegmentPool);
         // unlimited write size as we don't know the WAL size in advance
         this.recordsBuilder =
                 MemoryLogRecordsIndexedBuilder.builder(
-                        schemaId, Integer.MAX_VALUE, outputView, false);
+                        schemaId, Integer.MAX_VALUE, outputView, false, compressionInfo);
     }
 
     @Override
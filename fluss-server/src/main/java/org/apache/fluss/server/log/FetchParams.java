@@ -17,12 +17,14 @@
 
 package org.apache.fluss.server.log;
 
-import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.compression.ArrowCompressionInfo;
 import org.apache.fluss.metadata.SchemaGetter;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.record.FileLogFilter;
 import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.ProjectionPushdownCache;
 import org.apache.fluss.rpc.messages.FetchLogRequest;
+import org.apache.fluss.rpc.protocol.ApiKeys;
 
 import javax.annotation.Nullable;
 
@@ -48,9 +50,15 @@ public final class FetchParams {
      */
     public static final long DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE = 100L;
 
+    /**
+     * The lowest version of the FetchLog API whose fetchers can read the batches of log magic v2,
+     * see {@link org.apache.fluss.record.LogRecordBatchFormat#LOG_MAGIC_VALUE_V2}.
+     */
+    public static final short LOG_MAGIC_V2_FETCH_VERSION = 1;
+
     private final int replicaId;
-    // Currently, FetchOnlyLeader can be set to false only for test,
-    // which indicate that the client can read log data from follower.
+    // FetchOnlyLeader is set to false when the client reads log data from follower, which is
+    // bounded by the high watermark of the leader.
     private final boolean fetchOnlyLeader;
     private final FetchIsolation fetchIsolation;
 
@@ -64,9 +72,15 @@ public final class FetchParams {
     private boolean projectionEnabled = false;
     // the lazily initialized projection util to read and project file logs
     @Nullable private FileLogProjection fileLogProjection;
+    // whether batch filter is enabled
+    private boolean filterEnabled = false;
+    // the lazily initialized filter util to skip file log batches by statistics
+    @Nullable private FileLogFilter fileLogFilter;
 
     private final int minFetchBytes;
     private final long maxWaitMs;
+    // the version of the FetchLog API of the fetcher
+    private final short apiVersion;
     // TODO: add more params like epoch etc.
 
     public FetchParams(int replicaId, int maxFetchBytes) {
@@ -77,13 +91,28 @@ public final class FetchParams {
         this(replicaId, true, maxFetchBytes, minFetchBytes, maxWaitMs);
     }
 
-    @VisibleForTesting
     public FetchParams(
             int replicaId,
             boolean fetchOnlyLeader,
             int maxFetchBytes,
             int minFetchBytes,
             long maxWaitMs) {
+        this(
+                replicaId,
+                fetchOnlyLeader,
+                maxFetchBytes,
+                minFetchBytes,
+                maxWaitMs,
+                ApiKeys.FETCH_LOG.highestSupportedVersion);
+    }
+
+    public FetchParams(
+            int replicaId,
+            boolean fetchOnlyLeader,
+            int maxFetchBytes,
+            int minFetchBytes,
+            long maxWaitMs,
+            short apiVersion) {
         this.replicaId = replicaId;
         this.fetchOnlyLeader = fetchOnlyLeader;
         this.maxFetchBytes = maxFetchBytes;
@@ -92,6 +121,7 @@ public final class FetchParams {
         this.fetchOffset = -1;
         this.minFetchBytes = minFetchBytes;
         this.maxWaitMs = maxWaitMs;
+        this.apiVersion = apiVersion;
     }
 
     public void setCurrentFetch(
@@ -102,6 +132,28 @@ public final class FetchParams {
             ArrowCompressionInfo compressionInfo,
             @Nullable int[] projectedFields,
             ProjectionPushdownCache projectionCache) {
+        setCurrentFetch(
+                tableId,
+                fetchOffset,
+                maxFetchBytes,
+                schemaGetter,
+                compressionInfo,
+                projectedFields,
+                projectionCache,
+                null,
+                -1);
+    }
+
+    public void setCurrentFetch(
+            long tableId,
+            long fetchOffset,
+            int maxFetchBytes,
+            SchemaGetter schemaGetter,
+            ArrowCompressionInfo compressionInfo,
+            @Nullable int[] projectedFields,
+            ProjectionPushdownCache projectionCache,
+            @Nullable Predicate filter,
+            int filterSchemaId) {
         this.fetchOffset = fetchOffset;
         this.maxFetchBytes = maxFetchBytes;
         if (projectedFields != null) {
@@ -115,6 +167,18 @@ public final class FetchParams {
         } else {
             projectionEnabled = false;
         }
+
+        // followers always replicate the full log
+        if (filter != null && !isFromFollower()) {
+            filterEnabled = true;
+            if (fileLogFilter == null) {
+                fileLogFilter = new FileLogFilter();
+            }
+
+            fileLogFilter.setCurrentFilter(schemaGetter, filterSchemaId, filter);
+        } else {
+            filterEnabled = false;
+        }
     }
 
     /**
@@ -130,6 +194,19 @@ public final class FetchParams {
         }
     }
 
+    /**
+     * Returns the filter util to skip file log batches by statistics. Returns null if there is no
+     * filter registered for the current fetch.
+     */
+    @Nullable
+    public FileLogFilter filter() {
+        if (filterEnabled) {
+            return fileLogFilter;
+        } else {
+            return null;
+        }
+    }
+
     /**
      * Marks that at least one message has been read. This turns off the {@link #minOneMessage}
      * flag.
@@ -178,6 +255,11 @@ public final class FetchParams {
         return fetchOffset;
     }
 
+    /** Returns true if the fetcher can read the batches of log magic v2. */
+    public boolean canReadLogMagicV2() {
+        return apiVersion >= LOG_MAGIC_V2_FETCH_VERSION;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
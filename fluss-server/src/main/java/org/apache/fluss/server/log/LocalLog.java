@@ -26,9 +26,11 @@ import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metrics.Counter;
 import org.apache.fluss.metrics.Histogram;
+import org.apache.fluss.record.FileLogFilter;
 import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.server.metrics.group.TabletServerMetricGroup;
+import org.apache.fluss.utils.ExceptionUtils;
 import org.apache.fluss.utils.FileUtils;
 import org.apache.fluss.utils.FlussPaths;
 
@@ -41,11 +43,14 @@ import javax.annotation.concurrent.NotThreadSafe;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -86,6 +91,12 @@ public final class LocalLog {
     private volatile LogOffsetMetadata nextOffsetMetadata;
     private volatile boolean isMemoryMappedBufferClosed = false;
 
+    /**
+     * The appends whose ranges in the active segment are reserved by {@link #reserveAppend} but not
+     * published to the log end offset yet, in the order of their offsets.
+     */
+    private final ArrayDeque<PendingAppend> pendingAppends = new ArrayDeque<>();
+
     public LocalLog(
             File logTabletDir,
             Configuration config,
@@ -134,6 +145,15 @@ public final class LocalLog {
         return nextOffsetMetadata.getMessageOffset();
     }
 
+    /**
+     * The offset of the next message that will be reserved by {@link #reserveAppend}, which is
+     * ahead of the log end offset if there are pending appends.
+     */
+    long getReservedLogEndOffset() {
+        PendingAppend lastAppend = pendingAppends.peekLast();
+        return lastAppend == null ? getLocalLogEndOffset() : lastAppend.lastOffset + 1;
+    }
+
     public long getLocalLogStartOffset() {
         return localLogStartOffset;
     }
@@ -332,6 +352,34 @@ public final class LocalLog {
         return newSegment;
     }
 
+    /**
+     * Replaces the given segment of the log with the segment rewritten by the {@link LogCleaner},
+     * which has the same base offset and the files with {@link FlussPaths#CLEANED_FILE_SUFFIX}.
+     *
+     * <p>The cleaned segment is first renamed with {@link FlussPaths#SWAP_FILE_SUFFIX}, so that it
+     * is swapped in by the {@link LogLoader} if the server crashes before the replacement
+     * completes. Then the original segment is deleted and the swap files are renamed to the normal
+     * segment files.
+     *
+     * @return false if the original segment is no longer in the log, e.g., it has been deleted by
+     *     retention or truncation, in which case the log is not changed.
+     */
+    boolean replaceSegment(LogSegment cleanedSegment, LogSegment originalSegment)
+            throws IOException {
+        Optional<LogSegment> current = segments.get(originalSegment.getBaseOffset());
+        if (!current.isPresent() || current.get() != originalSegment) {
+            return false;
+        }
+        cleanedSegment.changeFileSuffixes(
+                FlussPaths.CLEANED_FILE_SUFFIX, FlussPaths.SWAP_FILE_SUFFIX);
+        segments.add(cleanedSegment);
+        originalSegment.changeFileSuffixes("", FlussPaths.DELETED_FILE_SUFFIX);
+        deleteSegmentFiles(
+                Collections.singletonList(originalSegment), SegmentDeletionReason.LOG_COMPACTION);
+        cleanedSegment.changeFileSuffixes(FlussPaths.SWAP_FILE_SUFFIX, "");
+        return true;
+    }
+
     /**
      * Given a message offset, find its corresponding offset metadata in the log. If the message
      * offset is out of range, throw an OffsetOutOfRangeException.
@@ -360,6 +408,22 @@ public final class LocalLog {
             LogOffsetMetadata maxOffsetMetadata,
             @Nullable FileLogProjection projection)
             throws IOException {
+        return read(readOffset, maxLength, minOneMessage, maxOffsetMetadata, projection, null);
+    }
+
+    /**
+     * Read messages from the log, skipping the record batches which can't match the given filter.
+     *
+     * @see #read(long, int, boolean, LogOffsetMetadata, FileLogProjection)
+     */
+    public FetchDataInfo read(
+            long readOffset,
+            int maxLength,
+            boolean minOneMessage,
+            LogOffsetMetadata maxOffsetMetadata,
+            @Nullable FileLogProjection projection,
+            @Nullable FileLogFilter filter)
+            throws IOException {
         if (LOG.isTraceEnabled()) {
             LOG.trace(
                     "Reading maximum {} bytes at offset {} from log with total length {} bytes for bucket {}",
@@ -406,7 +470,13 @@ public final class LocalLog {
                                 ? maxOffsetMetadata.getRelativePositionInSegment()
                                 : segment.getSizeInBytes();
                 fetchDataInfo =
-                        segment.read(readOffset, maxLength, maxPosition, minOneMessage, projection);
+                        segment.read(
+                                readOffset,
+                                maxLength,
+                                maxPosition,
+                                minOneMessage,
+                                projection,
+                                filter);
                 if (fetchDataInfo == null) {
                     segmentOpt = segments.higherSegment(baseOffset);
                 }
@@ -437,6 +507,92 @@ public final class LocalLog {
         updateLogEndOffset(lastOffset + 1);
     }
 
+    /**
+     * Reserve the range at the end of the active segment for the records to append, the records are
+     * written to the range by {@link PendingAppend#write()} which doesn't require the lock of the
+     * log, and published to the log end offset by {@link #publishAppends()} in the order of the
+     * reservations.
+     */
+    PendingAppend reserveAppend(
+            long lastOffset,
+            long maxTimestamp,
+            long startOffsetOfMaxTimestamp,
+            MemoryLogRecords records)
+            throws IOException {
+        LogSegment segment = segments.activeSegment();
+        int position = segment.reserve(lastOffset, records.sizeInBytes());
+        PendingAppend pendingAppend =
+                new PendingAppend(
+                        segment,
+                        position,
+                        lastOffset,
+                        maxTimestamp,
+                        startOffsetOfMaxTimestamp,
+                        records);
+        pendingAppends.addLast(pendingAppend);
+        if (maxTimestamp > localMaxTimestamp) {
+            localMaxTimestamp = maxTimestamp;
+        }
+        return pendingAppend;
+    }
+
+    /**
+     * Publish the written pending appends in the order of their offsets, and advance the log end
+     * offset. If a pending append failed to write, it and all the following pending appends are
+     * aborted with the failure, and their reserved ranges are released.
+     *
+     * @return true if any pending append is aborted
+     */
+    boolean publishAppends() throws IOException {
+        PendingAppend pendingAppend;
+        while ((pendingAppend = pendingAppends.peekFirst()) != null && pendingAppend.isWritten()) {
+            if (pendingAppend.writeFailure != null) {
+                abortPendingAppends(pendingAppend.writeFailure);
+                return true;
+            }
+            pendingAppends.pollFirst();
+            pendingAppend.segment.publish(
+                    pendingAppend.lastOffset,
+                    pendingAppend.maxTimestamp,
+                    pendingAppend.startOffsetOfMaxTimestamp,
+                    pendingAppend.position,
+                    pendingAppend.records.sizeInBytes());
+            updateLogEndOffset(pendingAppend.lastOffset + 1);
+            pendingAppend.published.complete(null);
+        }
+        return false;
+    }
+
+    /**
+     * Wait for all the pending appends to be written, which doesn't require the lock of the log.
+     */
+    void awaitPendingAppendsWritten() {
+        for (PendingAppend pendingAppend : pendingAppends) {
+            pendingAppend.written.join();
+        }
+    }
+
+    boolean hasPendingAppends() {
+        return !pendingAppends.isEmpty();
+    }
+
+    private void abortPendingAppends(Throwable failure) {
+        // wait for the in-flight writes, as their ranges will be overwritten by the next appends
+        awaitPendingAppendsWritten();
+        LOG.error(
+                "Failed to append records to the active segment of bucket {}, aborting {} pending "
+                        + "appends from offset {}.",
+                tableBucket,
+                pendingAppends.size(),
+                getLocalLogEndOffset(),
+                failure);
+        for (PendingAppend pendingAppend : pendingAppends) {
+            pendingAppend.published.completeExceptionally(failure);
+        }
+        pendingAppends.clear();
+        segments.activeSegment().cancelReservations();
+    }
+
     long lookupOffsetForTimestamp(long startTimestamp) throws IOException {
         for (LogSegment segment : segments.values()) {
             if (segment.maxTimestampSoFar() >= startTimestamp) {
@@ -619,6 +775,7 @@ public final class LocalLog {
         SegmentDeletionReason LOG_ROLL = new LogRoll();
         SegmentDeletionReason LOG_DELETION = new LogDeletion();
         SegmentDeletionReason LOG_MOVE_TO_REMOTE = new LogMoveToRemote();
+        SegmentDeletionReason LOG_COMPACTION = new LogCompacted();
 
         void logReason(List<LogSegment> toDelete);
     }
@@ -654,4 +811,76 @@ public final class LocalLog {
             LOG.info("Deleting segments as the log has been moved to remote: " + toDelete);
         }
     }
+
+    /** Replaced by the compacted segment. */
+    private static class LogCompacted implements SegmentDeletionReason {
+        @Override
+        public void logReason(List<LogSegment> toDelete) {
+            LOG.info("Deleting segments as they have been compacted: " + toDelete);
+        }
+    }
+
+    /**
+     * An append whose range in the active segment is reserved, the records of the append are
+     * written to the range out of the lock of the log, and published to the log end offset after
+     * all the preceding appends are published.
+     */
+    static final class PendingAppend {
+        private final LogSegment segment;
+        private final int position;
+        private final long lastOffset;
+        private final long maxTimestamp;
+        private final long startOffsetOfMaxTimestamp;
+        private final MemoryLogRecords records;
+
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+        private final CompletableFuture<Void> published = new CompletableFuture<>();
+        private volatile @Nullable Throwable writeFailure;
+
+        private PendingAppend(
+                LogSegment segment,
+                int position,
+                long lastOffset,
+                long maxTimestamp,
+                long startOffsetOfMaxTimestamp,
+                MemoryLogRecords records) {
+            this.segment = segment;
+            this.position = position;
+            this.lastOffset = lastOffset;
+            this.maxTimestamp = maxTimestamp;
+            this.startOffsetOfMaxTimestamp = startOffsetOfMaxTimestamp;
+            this.records = records;
+        }
+
+        /**
+         * Write the records to the reserved range, which can be called concurrently with the writes
+         * of the other pending appends.
+         */
+        void write() {
+            try {
+                segment.writeAt(records, position);
+            } catch (Throwable t) {
+                writeFailure = t;
+            } finally {
+                written.complete(null);
+            }
+        }
+
+        private boolean isWritten() {
+            return written.isDone();
+        }
+
+        /**
+         * Wait until the append is published to the log end offset, or throw the failure if the
+         * append is aborted.
+         */
+        void awaitPublished() throws Exception {
+            try {
+                published.get();
+            } catch (ExecutionException e) {
+                ExceptionUtils.rethrowException(
+                        e.getCause(), "Failed to append records to " + segment);
+            }
+        }
+    }
 }
@@ -0,0 +1,587 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log;
+
+import org.apache.fluss.annotation.VisibleForTesting;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.memory.LazyMemorySegmentPool;
+import org.apache.fluss.memory.MemorySegmentPool;
+import org.apache.fluss.metadata.SchemaInfo;
+import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.record.DefaultLogRecordBatch;
+import org.apache.fluss.record.LogRecord;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordReadContext;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.row.arrow.ArrowWriterPool;
+import org.apache.fluss.row.encode.KeyEncoder;
+import org.apache.fluss.server.kv.prewrite.KvPreWriteBuffer.Key;
+import org.apache.fluss.server.kv.wal.WalBuilder;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.BufferAllocator;
+import org.apache.fluss.shaded.arrow.org.apache.arrow.memory.RootAllocator;
+import org.apache.fluss.shaded.guava32.com.google.common.util.concurrent.RateLimiter;
+import org.apache.fluss.utils.CloseableIterator;
+import org.apache.fluss.utils.FlussPaths;
+import org.apache.fluss.utils.clock.Clock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.fluss.record.LogRecordBatchFormat.LOG_MAGIC_VALUE_V1;
+
+/**
+ * The cleaner to compact the changelogs of the primary key tables by key, see {@link
+ * ConfigOptions#TABLE_LOG_COMPACTION_ENABLED}.
+ *
+ * <p>The cleanable part of a log is the inactive segments below the high watermark. The part before
+ * the cleaner checkpoint of the log ({@link LogTablet#getCleanerCheckpoint()}) has been compacted
+ * (clean), and the rest is dirty. When the ratio of the dirty bytes reaches {@link
+ * LogCompaction#getMinCleanableDirtyRatio()}, the cleaner compacts the log in two phases:
+ *
+ * <ol>
+ *   <li>Index the latest offset of every primary key in the dirty segments, bounded by {@link
+ *       ConfigOptions#LOG_CLEANER_DEDUPE_BUFFER_SIZE}. The indexing stops at the first batch after
+ *       the bound is reached, which may be in the middle of a segment.
+ *   <li>Rewrite the clean and indexed dirty segments to new segments, which only retain the records
+ *       that are not superseded by a later change of the same key, and swap the new segments into
+ *       the log. The batches after the indexed ones are all retained. The offset and time indexes
+ *       are rebuilt as the batches are appended to the new segments.
+ * </ol>
+ *
+ * <p>The offsets of the retained records are never changed. A batch whose records are all retained
+ * is copied as is, otherwise every contiguous run of its retained records is rewritten into a new
+ * batch starting from the offset of the first record of the run, and only the last one carries the
+ * writer state of the original batch. A delete record (tombstone) is retained until it is older
+ * than {@link LogCompaction#getTombstoneRetentionMs()} and included in the kv snapshot.
+ */
+@NotThreadSafe
+public final class LogCleaner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LogCleaner.class);
+
+    /** The estimated memory of an entry of the key maps, besides the bytes of the key. */
+    private static final int KEY_ENTRY_OVERHEAD = 64;
+
+    private final Configuration conf;
+    private final long dedupeBufferSize;
+    private final Clock clock;
+
+    /** The memory to rewrite the batches, which is allocated lazily. */
+    private final MemorySegmentPool memorySegmentPool;
+
+    /** The throttler of the I/O of the cleaner, null if the I/O is unlimited. */
+    private final @Nullable RateLimiter throttler;
+
+    private ByteBuffer readBuffer = ByteBuffer.allocate(0);
+
+    public LogCleaner(Configuration conf, Clock clock) {
+        this.conf = conf;
+        this.dedupeBufferSize = conf.get(ConfigOptions.LOG_CLEANER_DEDUPE_BUFFER_SIZE).getBytes();
+        this.clock = clock;
+        this.memorySegmentPool = LazyMemorySegmentPool.createServerBufferPool(conf);
+        MemorySize maxIoBytesPerSecond =
+                conf.get(ConfigOptions.LOG_CLEANER_IO_MAX_BYTES_PER_SECOND);
+        this.throttler =
+                maxIoBytesPerSecond.equals(MemorySize.MAX_VALUE)
+                        ? null
+                        : RateLimiter.create(maxIoBytesPerSecond.getBytes());
+    }
+
+    /**
+     * Compacts the given logs whose dirty ratio reaches the minimum cleanable dirty ratio, the
+     * dirtiest logs first.
+     *
+     * @return true if any log has been compacted.
+     */
+    public boolean cleanLogs(Collection<LogTablet> logs) {
+        List<CleanableLog> cleanableLogs = new ArrayList<>();
+        for (LogTablet log : logs) {
+            LogCompaction compaction = log.getCompaction();
+            if (compaction == null) {
+                continue;
+            }
+            CleanableLog cleanableLog = new CleanableLog(log, compaction);
+            if (cleanableLog.numDirtySegments() > 0
+                    && cleanableLog.dirtyRatio() >= compaction.getMinCleanableDirtyRatio()) {
+                cleanableLogs.add(cleanableLog);
+            }
+        }
+        cleanableLogs.sort(Comparator.comparingDouble(CleanableLog::dirtyRatio).reversed());
+
+        boolean cleaned = false;
+        for (CleanableLog cleanableLog : cleanableLogs) {
+            try {
+                clean(cleanableLog);
+                cleaned = true;
+            } catch (Exception e) {
+                LOG.warn(
+                        "Failed to compact the log of bucket {}, will retry in the next round.",
+                        cleanableLog.log.getTableBucket(),
+                        e);
+            }
+        }
+        return cleaned;
+    }
+
+    /** Compacts the given log regardless of its dirty ratio. */
+    @VisibleForTesting
+    void clean(LogTablet log) throws Exception {
+        LogCompaction compaction = log.getCompaction();
+        if (compaction != null) {
+            CleanableLog cleanableLog = new CleanableLog(log, compaction);
+            if (cleanableLog.numDirtySegments() > 0) {
+                clean(cleanableLog);
+            }
+        }
+    }
+
+    private void clean(CleanableLog cleanableLog) throws Exception {
+        LogTablet log = cleanableLog.log;
+        LogCompaction compaction = cleanableLog.compaction;
+        long startTime = clock.milliseconds();
+        SchemaInfo schemaInfo = compaction.getLatestSchemaInfo();
+        KeyEncoder keyEncoder = compaction.createKeyEncoder(schemaInfo.getSchema().getRowType());
+        try (LogRecordReadContext readContext = compaction.createReadContext(schemaInfo);
+                BatchRewriter batchRewriter =
+                        new BatchRewriter(log.getTableBucket().getTableId(), compaction)) {
+            // phase 1: index the latest offset of the keys in the dirty segments.
+            OffsetMap offsetMap = new OffsetMap(dedupeBufferSize);
+            int endIndex = cleanableLog.firstDirtyIndex;
+            long endOffset = -1L;
+            while (endIndex < cleanableLog.segments.size() && !offsetMap.isFull()) {
+                endOffset =
+                        buildOffsetMap(
+                                cleanableLog.segments.get(endIndex),
+                                cleanableLog.firstDirtyOffset,
+                                cleanableLog.segmentEndOffset(endIndex),
+                                readContext,
+                                keyEncoder,
+                                offsetMap);
+                endIndex++;
+            }
+
+            // phase 2: rewrite the segments up to the end of the indexed dirty segments.
+            SegmentCleaner segmentCleaner =
+                    new SegmentCleaner(
+                            readContext,
+                            keyEncoder,
+                            offsetMap,
+                            endOffset,
+                            clock.milliseconds() - compaction.getTombstoneRetentionMs(),
+                            // the records before the log start offset are out of the local log,
+                            // e.g., in remote storage, an earlier record of a key may be there.
+                            log.logStartOffset() < log.localLogStartOffset()
+                                    ? -1L
+                                    : log.getMinRetainOffset());
+            long bytesBefore = 0;
+            long bytesAfter = 0;
+            for (int i = 0; i < endIndex; i++) {
+                LogSegment segment = cleanableLog.segments.get(i);
+                bytesBefore += segment.getSizeInBytes();
+                bytesAfter += cleanSegment(log, segment, segmentCleaner, batchRewriter);
+            }
+            log.updateCleanerCheckpoint(endOffset);
+            LOG.info(
+                    "Compacted the log of bucket {} up to offset {} in {} ms, "
+                            + "{} segments are compacted from {} bytes to {} bytes.",
+                    log.getTableBucket(),
+                    endOffset,
+                    clock.milliseconds() - startTime,
+                    endIndex,
+                    bytesBefore,
+                    bytesAfter);
+        }
+    }
+
+    /**
+     * Puts the offsets of the records of the given segment from the start offset into the offset
+     * map until the map is full, returns the end offset (exclusive) of the indexed records.
+     */
+    private long buildOffsetMap(
+            LogSegment segment,
+            long startOffset,
+            long segmentEndOffset,
+            LogRecordReadContext readContext,
+            KeyEncoder keyEncoder,
+            OffsetMap offsetMap) {
+        for (LogRecordBatch batch : segment.getFileLogRecords().batches()) {
+            if (batch.lastLogOffset() < startOffset) {
+                // indexed in the previous rounds
+                continue;
+            }
+            if (offsetMap.isFull()) {
+                return batch.baseLogOffset();
+            }
+            throttle(batch.sizeInBytes());
+            try (CloseableIterator<LogRecord> records = batch.records(readContext)) {
+                while (records.hasNext()) {
+                    LogRecord record = records.next();
+                    if (record.getChangeType() == ChangeType.UPDATE_BEFORE) {
+                        continue;
+                    }
+                    offsetMap.put(
+                            Key.of(keyEncoder.encodeKey(record.getRow())), record.logOffset());
+                }
+            }
+        }
+        return segmentEndOffset;
+    }
+
+    /**
+     * Rewrites the given segment to a new segment retaining only the records decided by the segment
+     * cleaner, and replaces the segment of the log with the new one. Returns the size of the new
+     * segment.
+     *
+     * <p>Every batch is read from the segment once, and the cleaner decides which records to retain
+     * from the read bytes.
+     */
+    private int cleanSegment(
+            LogTablet log,
+            LogSegment segment,
+            SegmentCleaner segmentCleaner,
+            BatchRewriter batchRewriter)
+            throws Exception {
+        LogSegment cleaned =
+                LogSegment.open(
+                        log.getLogDir(),
+                        segment.getBaseOffset(),
+                        conf,
+                        false,
+                        0,
+                        log.getLogFormat(),
+                        FlussPaths.CLEANED_FILE_SUFFIX);
+        try {
+            int position = 0;
+            for (LogRecordBatch fileBatch : segment.getFileLogRecords().batches()) {
+                int batchSize = fileBatch.sizeInBytes();
+                if (readBuffer.capacity() < batchSize) {
+                    readBuffer = ByteBuffer.allocate(batchSize);
+                }
+                readBuffer.clear();
+                readBuffer.limit(batchSize);
+                segment.getFileLogRecords().readInto(readBuffer, position);
+                throttle(batchSize);
+                MemoryLogRecords records =
+                        MemoryLogRecords.pointToBytes(readBuffer.array(), 0, batchSize);
+                LogRecordBatch batch = records.batches().iterator().next();
+                BitSet retained = segmentCleaner.retainedRecords(batch);
+                if (retained == null) {
+                    cleaned.append(
+                            batch.lastLogOffset(),
+                            batch.commitTimestamp(),
+                            batch.baseLogOffset(),
+                            records);
+                } else if (!retained.isEmpty()) {
+                    batchRewriter.rewrite(batch, retained, cleaned);
+                }
+                position += batchSize;
+            }
+            cleaned.onBecomeInactiveSegment();
+            cleaned.flush();
+            if (!log.replaceSegment(cleaned, segment)) {
+                LOG.info(
+                        "Skip replacing segment {} of bucket {} as it has been removed from the log.",
+                        segment.getBaseOffset(),
+                        log.getTableBucket());
+                cleaned.deleteIfExists();
+            }
+            return cleaned.getSizeInBytes();
+        } catch (Exception e) {
+            cleaned.deleteIfExists();
+            throw e;
+        }
+    }
+
+    private void throttle(int bytes) {
+        if (throttler != null && bytes > 0) {
+            throttler.acquire(bytes);
+        }
+    }
+
+    /** Decides which records of the rewritten segments are retained. */
+    private static final class SegmentCleaner {
+        private final LogRecordReadContext readContext;
+        private final KeyEncoder keyEncoder;
+        private final OffsetMap offsetMap;
+
+        /** The end offset (exclusive) of the records indexed in the offset map. */
+        private final long indexedEndOffset;
+
+        private final long deleteHorizonMs;
+        private final long minRetainOffset;
+
+        private SegmentCleaner(
+                LogRecordReadContext readContext,
+                KeyEncoder keyEncoder,
+                OffsetMap offsetMap,
+                long indexedEndOffset,
+                long deleteHorizonMs,
+                long minRetainOffset) {
+            this.readContext = readContext;
+            this.keyEncoder = keyEncoder;
+            this.offsetMap = offsetMap;
+            this.indexedEndOffset = indexedEndOffset;
+            this.deleteHorizonMs = deleteHorizonMs;
+            this.minRetainOffset = minRetainOffset;
+        }
+
+        /**
+         * Returns the indexes of the records of the given batch to retain, or null if all the
+         * records of the batch are retained.
+         */
+        @Nullable
+        private BitSet retainedRecords(LogRecordBatch batch) {
+            if (batch.getRecordCount() == 0 || batch.baseLogOffset() >= indexedEndOffset) {
+                // the batches after the indexed records are compacted in the next rounds.
+                return null;
+            }
+            BitSet retained = new BitSet(batch.getRecordCount());
+            try (CloseableIterator<LogRecord> records = batch.records(readContext)) {
+                while (records.hasNext()) {
+                    LogRecord record = records.next();
+                    Key key = Key.of(keyEncoder.encodeKey(record.getRow()));
+                    if (isLive(record, key, batch.commitTimestamp())) {
+                        retained.set((int) (record.logOffset() - batch.baseLogOffset()));
+                    }
+                }
+            }
+            return retained.cardinality() == batch.getRecordCount() ? null : retained;
+        }
+
+        private boolean isLive(LogRecord record, Key key, long timestamp) {
+            Long latestOffset = offsetMap.get(key);
+            if (latestOffset != null && record.logOffset() < latestOffset) {
+                // superseded by a later change of the key, including the update-before records
+                // followed by their update-after records.
+                return false;
+            }
+            if (record.getChangeType() == ChangeType.DELETE) {
+                // a tombstone can be removed only if it's expired and included in the kv snapshot,
+                // the earlier records of the key have been removed as they are superseded by it.
+                return timestamp >= deleteHorizonMs || record.logOffset() >= minRetainOffset;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Rewrites the retained records of the batches into new batches, every contiguous run of the
+     * retained records of a batch is rewritten into a batch keeping the offsets of the records.
+     */
+    private final class BatchRewriter implements AutoCloseable {
+        private final long tableId;
+        private final LogCompaction compaction;
+        private final BufferAllocator bufferAllocator;
+        private final ArrowWriterPool arrowWriterPool;
+
+        /** The contexts to read the rows of the batches in their own schemas, by schema id. */
+        private final Map<Integer, LogRecordReadContext> readContexts = new HashMap<>();
+
+        private BatchRewriter(long tableId, LogCompaction compaction) {
+            this.tableId = tableId;
+            this.compaction = compaction;
+            this.bufferAllocator = new RootAllocator(Long.MAX_VALUE);
+            this.arrowWriterPool = new ArrowWriterPool(bufferAllocator);
+        }
+
+        /** Rewrites the retained records of the given batch and appends them to the segment. */
+        private void rewrite(LogRecordBatch batch, BitSet retained, LogSegment segment)
+                throws Exception {
+            SchemaInfo schemaInfo = compaction.getSchemaInfo(batch.schemaId());
+            LogRecordReadContext readContext =
+                    readContexts.computeIfAbsent(
+                            schemaInfo.getSchemaId(),
+                            id -> compaction.createReadContext(schemaInfo));
+            int lastRetained = retained.length() - 1;
+            WalBuilder builder = null;
+            long runBaseOffset = -1L;
+            try (CloseableIterator<LogRecord> records = batch.records(readContext)) {
+                int index = 0;
+                while (records.hasNext()) {
+                    LogRecord record = records.next();
+                    if (retained.get(index)) {
+                        if (builder == null) {
+                            builder =
+                                    compaction.createBatchBuilder(
+                                            tableId,
+                                            schemaInfo,
+                                            memorySegmentPool,
+                                            arrowWriterPool);
+                            runBaseOffset = record.logOffset();
+                        }
+                        builder.append(record.getChangeType(), record.getRow());
+                    }
+                    if (builder != null && (index == lastRetained || !retained.get(index + 1))) {
+                        try {
+                            // only the last batch carries the writer state to keep the batch
+                            // sequences of the writer increasing in the log
+                            if (index == lastRetained && batch.hasWriterId()) {
+                                builder.setWriterState(batch.writerId(), batch.batchSequence());
+                            }
+                            append(builder.build(), batch, runBaseOffset, segment);
+                        } finally {
+                            builder.deallocate();
+                            builder = null;
+                        }
+                    }
+                    index++;
+                }
+            } finally {
+                if (builder != null) {
+                    builder.deallocate();
+                }
+            }
+        }
+
+        private void append(
+                MemoryLogRecords records,
+                LogRecordBatch originalBatch,
+                long baseLogOffset,
+                LogSegment segment)
+                throws IOException {
+            DefaultLogRecordBatch batch =
+                    (DefaultLogRecordBatch) records.batches().iterator().next();
+            batch.setBaseLogOffset(baseLogOffset);
+            batch.setCommitTimestamp(originalBatch.commitTimestamp());
+            if (batch.magic() >= LOG_MAGIC_VALUE_V1) {
+                batch.setLeaderEpoch(originalBatch.leaderEpoch());
+            }
+            segment.append(batch.lastLogOffset(), batch.commitTimestamp(), baseLogOffset, records);
+        }
+
+        @Override
+        public void close() {
+            readContexts.values().forEach(LogRecordReadContext::close);
+            arrowWriterPool.close();
+            bufferAllocator.close();
+        }
+    }
+
+    /** The latest offsets of the indexed keys, bounded by the estimated bytes of the entries. */
+    private static final class OffsetMap {
+        private final Map<Key, Long> offsets = new HashMap<>();
+        private final long maxBytes;
+        private long bytes = 0;
+
+        private OffsetMap(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        private void put(Key key, long offset) {
+            if (offsets.put(key, offset) == null) {
+                bytes += key.get().length + KEY_ENTRY_OVERHEAD;
+            }
+        }
+
+        @Nullable
+        private Long get(Key key) {
+            return offsets.get(key);
+        }
+
+        private boolean isFull() {
+            return bytes >= maxBytes;
+        }
+    }
+
+    /** The cleanable segments of a log. */
+    private static final class CleanableLog {
+        private final LogTablet log;
+        private final LogCompaction compaction;
+
+        /** The inactive segments below the high watermark. */
+        private final List<LogSegment> segments;
+
+        /** The end offset (exclusive) of the last cleanable segment. */
+        private final long endOffset;
+
+        /** The cleaner checkpoint, the records before it have been compacted. */
+        private final long firstDirtyOffset;
+
+        private final int firstDirtyIndex;
+        private final long cleanBytes;
+        private final long dirtyBytes;
+
+        private CleanableLog(LogTablet log, LogCompaction compaction) {
+            this.log = log;
+            this.compaction = compaction;
+            List<LogSegment> allSegments = log.logSegments();
+            long cleanableEndOffset =
+                    Math.min(log.activeLogSegment().getBaseOffset(), log.getHighWatermark());
+            long firstDirtyOffset = log.getCleanerCheckpoint();
+            List<LogSegment> cleanableSegments = new ArrayList<>();
+            long segmentsEndOffset = -1L;
+            int firstDirty = -1;
+            long clean = 0;
+            long dirty = 0;
+            for (int i = 0; i < allSegments.size() - 1; i++) {
+                LogSegment segment = allSegments.get(i);
+                long nextBaseOffset = allSegments.get(i + 1).getBaseOffset();
+                if (nextBaseOffset > cleanableEndOffset) {
+                    break;
+                }
+                cleanableSegments.add(segment);
+                segmentsEndOffset = nextBaseOffset;
+                if (nextBaseOffset <= firstDirtyOffset) {
+                    clean += segment.getSizeInBytes();
+                } else {
+                    if (firstDirty < 0) {
+                        firstDirty = i;
+                    }
+                    dirty += segment.getSizeInBytes();
+                }
+            }
+            this.segments = cleanableSegments;
+            this.endOffset = segmentsEndOffset;
+            this.firstDirtyOffset = firstDirtyOffset;
+            this.firstDirtyIndex = firstDirty < 0 ? cleanableSegments.size() : firstDirty;
+            this.cleanBytes = clean;
+            this.dirtyBytes = dirty;
+        }
+
+        private int numDirtySegments() {
+            return segments.size() - firstDirtyIndex;
+        }
+
+        private double dirtyRatio() {
+            long totalBytes = cleanBytes + dirtyBytes;
+            return totalBytes == 0 ? 0 : (double) dirtyBytes / totalBytes;
+        }
+
+        /** Returns the end offset (exclusive) of the segment at the given index. */
+        private long segmentEndOffset(int index) {
+            return index == segments.size() - 1
+                    ? endOffset
+                    : segments.get(index + 1).getBaseOffset();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log;
+
+import org.apache.fluss.compression.ArrowCompressionInfo;
+import org.apache.fluss.compression.RowCompressionInfo;
+import org.apache.fluss.config.TableConfig;
+import org.apache.fluss.memory.MemorySegmentPool;
+import org.apache.fluss.metadata.DataLakeFormat;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.metadata.SchemaGetter;
+import org.apache.fluss.metadata.SchemaInfo;
+import org.apache.fluss.record.LogRecordReadContext;
+import org.apache.fluss.row.arrow.ArrowWriterProvider;
+import org.apache.fluss.row.encode.KeyEncoder;
+import org.apache.fluss.server.kv.wal.ArrowWalBuilder;
+import org.apache.fluss.server.kv.wal.CompactedWalBuilder;
+import org.apache.fluss.server.kv.wal.IndexWalBuilder;
+import org.apache.fluss.server.kv.wal.WalBuilder;
+import org.apache.fluss.types.RowType;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The compaction settings of the changelog of a primary key table, see {@link
+ * org.apache.fluss.config.ConfigOptions#TABLE_LOG_COMPACTION_ENABLED}. It also creates the read
+ * context and the key encoder for the {@link LogCleaner} to read the primary keys of the records,
+ * and the builders to rewrite the retained records.
+ */
+public final class LogCompaction {
+
+    private final LogFormat logFormat;
+    private final ArrowCompressionInfo arrowCompressionInfo;
+    private final RowCompressionInfo rowCompressionInfo;
+    private final SchemaGetter schemaGetter;
+    private final List<String> physicalPrimaryKeys;
+    private final @Nullable DataLakeFormat lakeFormat;
+    private final double minCleanableDirtyRatio;
+    private final long tombstoneRetentionMs;
+
+    public LogCompaction(
+            LogFormat logFormat,
+            ArrowCompressionInfo arrowCompressionInfo,
+            RowCompressionInfo rowCompressionInfo,
+            SchemaGetter schemaGetter,
+            List<String> physicalPrimaryKeys,
+            @Nullable DataLakeFormat lakeFormat,
+            double minCleanableDirtyRatio,
+            long tombstoneRetentionMs) {
+        this.logFormat = logFormat;
+        this.arrowCompressionInfo = arrowCompressionInfo;
+        this.rowCompressionInfo = rowCompressionInfo;
+        this.schemaGetter = schemaGetter;
+        this.physicalPrimaryKeys = physicalPrimaryKeys;
+        this.lakeFormat = lakeFormat;
+        this.minCleanableDirtyRatio = minCleanableDirtyRatio;
+        this.tombstoneRetentionMs = tombstoneRetentionMs;
+    }
+
+    public static LogCompaction of(
+            TableConfig tableConfig, SchemaGetter schemaGetter, List<String> physicalPrimaryKeys) {
+        return new LogCompaction(
+                tableConfig.getLogFormat(),
+                tableConfig.getArrowCompressionInfo(),
+                tableConfig.getRowCompressionInfo(),
+                schemaGetter,
+                physicalPrimaryKeys,
+                tableConfig.getDataLakeFormat().orElse(null),
+                tableConfig.getLogCompactionMinCleanableDirtyRatio(),
+                tableConfig.getLogCompactionTombstoneRetentionMs());
+    }
+
+    public double getMinCleanableDirtyRatio() {
+        return minCleanableDirtyRatio;
+    }
+
+    public long getTombstoneRetentionMs() {
+        return tombstoneRetentionMs;
+    }
+
+    /** Returns the latest schema of the table, which the records are read in. */
+    SchemaInfo getLatestSchemaInfo() {
+        return schemaGetter.getLatestSchemaInfo();
+    }
+
+    /** Returns the schema of the table of the given schema id. */
+    SchemaInfo getSchemaInfo(int schemaId) {
+        return new SchemaInfo(schemaGetter.getSchema(schemaId), schemaId);
+    }
+
+    /** Creates the context to read the records of the log in the given schema of the table. */
+    LogRecordReadContext createReadContext(SchemaInfo schemaInfo) {
+        RowType rowType = schemaInfo.getSchema().getRowType();
+        int schemaId = schemaInfo.getSchemaId();
+        switch (logFormat) {
+            case ARROW:
+                return LogRecordReadContext.createArrowReadContext(rowType, schemaId, schemaGetter);
+            case INDEXED:
+                return LogRecordReadContext.createIndexedReadContext(
+                        rowType, schemaId, schemaGetter);
+            case COMPACTED:
+                return LogRecordReadContext.createCompactedRowReadContext(
+                        rowType, schemaId, schemaGetter);
+            default:
+                throw new UnsupportedOperationException("Unsupported log format: " + logFormat);
+        }
+    }
+
+    /**
+     * Creates the builder to write the records of the given schema into a batch in the log format
+     * of the table, the rows appended must be read in the same schema.
+     */
+    WalBuilder createBatchBuilder(
+            long tableId,
+            SchemaInfo schemaInfo,
+            MemorySegmentPool memorySegmentPool,
+            ArrowWriterProvider arrowWriterProvider)
+            throws IOException {
+        RowType rowType = schemaInfo.getSchema().getRowType();
+        int schemaId = schemaInfo.getSchemaId();
+        switch (logFormat) {
+            case ARROW:
+                return new ArrowWalBuilder(
+                        schemaId,
+                        arrowWriterProvider.getOrCreateWriter(
+                                tableId,
+                                schemaId,
+                                // the records of a batch are always rewritten into one batch
+                                Integer.MAX_VALUE,
+                                rowType,
+                                arrowCompressionInfo),
+                        memorySegmentPool);
+            case INDEXED:
+                return new IndexWalBuilder(schemaId, memorySegmentPool, rowCompressionInfo);
+            case COMPACTED:
+                return new CompactedWalBuilder(
+                        schemaId, rowType, memorySegmentPool, rowCompressionInfo);
+            default:
+                throw new UnsupportedOperationException("Unsupported log format: " + logFormat);
+        }
+    }
+
+    /** Creates the encoder of the primary key of the rows of the given row type. */
+    KeyEncoder createKeyEncoder(RowType rowType) {
+        return KeyEncoder.of(rowType, physicalPrimaryKeys, lakeFormat);
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.fluss.exception.LogSegmentOffsetOverflowException;
 import org.apache.fluss.exception.LogStorageException;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.server.exception.CorruptIndexException;
+import org.apache.fluss.utils.FileUtils;
 import org.apache.fluss.utils.FlussPaths;
 import org.apache.fluss.utils.types.Tuple2;
 
@@ -37,8 +38,10 @@ import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /* This file is based on source code of Apache Kafka Project (https://kafka.apache.org/), licensed by the Apache
@@ -87,7 +90,8 @@ final class LogLoader {
         // load all the log and index files.
         logSegments.close();
         logSegments.clear();
-        loadSegmentFiles();
+        Set<Long> swappedSegments = completeSwapOperations();
+        loadSegmentFiles(swappedSegments);
         long newRecoveryPoint;
         long nextOffset;
         Tuple2<Long, Long> result = recoverLog();
@@ -273,8 +277,52 @@ final class LogLoader {
         return bytesTruncated;
     }
 
+    /**
+     * Deletes the temporary files left by an interrupted log cleaning, and completes the
+     * interrupted replacements of the segments by the cleaned segments, see {@link
+     * LocalLog#replaceSegment}.
+     *
+     * @return the base offsets of the segments whose log file is replaced by a swap file, the
+     *     indexes of these segments must be rebuilt as they may belong to the original segments.
+     */
+    private Set<Long> completeSwapOperations() throws IOException {
+        Set<Long> swappedSegments = new HashSet<>();
+        File[] files = logTabletDir.listFiles();
+        if (files == null) {
+            return swappedSegments;
+        }
+        for (File file : files) {
+            if (!file.isFile()) {
+                continue;
+            }
+            String fileName = file.getName();
+            if (fileName.endsWith(FlussPaths.CLEANED_FILE_SUFFIX)
+                    || fileName.endsWith(FlussPaths.DELETED_FILE_SUFFIX)) {
+                LOG.info(
+                        "Deleting stray temporary file {} for bucket {}.",
+                        file.getAbsolutePath(),
+                        logSegments.getTableBucket());
+                Files.deleteIfExists(file.toPath());
+            } else if (fileName.endsWith(FlussPaths.SWAP_FILE_SUFFIX)) {
+                File targetFile =
+                        new File(
+                                FileUtils.replaceSuffix(
+                                        file.getPath(), FlussPaths.SWAP_FILE_SUFFIX, ""));
+                LOG.info(
+                        "Completing the swap of file {} for bucket {}.",
+                        file.getAbsolutePath(),
+                        logSegments.getTableBucket());
+                FileUtils.atomicMoveWithFallback(file.toPath(), targetFile.toPath(), false);
+                if (LocalLog.isLogFile(targetFile)) {
+                    swappedSegments.add(FlussPaths.offsetFromFile(targetFile));
+                }
+            }
+        }
+        return swappedSegments;
+    }
+
     /** Loads segments from disk into the provided segments. */
-    private void loadSegmentFiles() throws IOException {
+    private void loadSegmentFiles(Set<Long> swappedSegments) throws IOException {
         File[] sortedFiles = logTabletDir.listFiles();
         if (sortedFiles != null) {
             Arrays.sort(sortedFiles, Comparator.comparing(File::getName));
@@ -294,6 +342,9 @@ final class LogLoader {
                         long baseOffset = FlussPaths.offsetFromFile(file);
                         LogSegment segment =
                                 LogSegment.open(logTabletDir, baseOffset, conf, true, 0, logFormat);
+                        if (swappedSegments.contains(baseOffset)) {
+                            segment.recover();
+                        }
                         logSegments.add(segment);
                     }
                 }
@@ -76,6 +76,9 @@ public final class LogManager extends TabletManagerBase {
     @VisibleForTesting
     static final String RECOVERY_POINT_CHECKPOINT_FILE = "recovery-point-offset-checkpoint";
 
+    @VisibleForTesting
+    static final String CLEANER_OFFSET_CHECKPOINT_FILE = "cleaner-offset-checkpoint";
+
     /**
      * Clean shutdown file that indicates the tabletServer was cleanly shutdown in v0.7 and higher.
      * This is used to avoid unnecessary recovery operations after a clean shutdown like recovery
@@ -95,6 +98,8 @@ public final class LogManager extends TabletManagerBase {
     private final Map<TableBucket, LogTablet> currentLogs = MapUtils.newConcurrentHashMap();
 
     private volatile OffsetCheckpointFile recoveryPointCheckpoint;
+    private volatile OffsetCheckpointFile cleanerOffsetCheckpoint;
+    private final LogCleaner logCleaner;
     private boolean loadLogsCompletedFlag = false;
 
     private LogManager(
@@ -111,6 +116,7 @@ public final class LogManager extends TabletManagerBase {
         this.scheduler = scheduler;
         this.clock = clock;
         this.serverMetricGroup = serverMetricGroup;
+        this.logCleaner = new LogCleaner(conf, clock);
         createAndValidateDataDir(dataDir);
 
         initializeCheckpointMaps();
@@ -138,6 +144,10 @@ public final class LogManager extends TabletManagerBase {
     public void startup() {
         loadLogs();
 
+        long logCleanerIntervalMs = conf.get(ConfigOptions.LOG_CLEANER_INTERVAL).toMillis();
+        scheduler.schedule(
+                "log-cleaner", this::cleanLogs, logCleanerIntervalMs, logCleanerIntervalMs);
+
         // TODO add more scheduler, like log-flusher etc.
     }
 
@@ -148,6 +158,8 @@ public final class LogManager extends TabletManagerBase {
     private void initializeCheckpointMaps() throws IOException {
         recoveryPointCheckpoint =
                 new OffsetCheckpointFile(new File(dataDir, RECOVERY_POINT_CHECKPOINT_FILE));
+        cleanerOffsetCheckpoint =
+                new OffsetCheckpointFile(new File(dataDir, CLEANER_OFFSET_CHECKPOINT_FILE));
     }
 
     /** Recover and load all logs in the given data directories. */
@@ -177,6 +189,17 @@ public final class LogManager extends TabletManagerBase {
                         e);
             }
 
+            Map<TableBucket, Long> cleanerOffsets = new HashMap<>();
+            try {
+                cleanerOffsets = cleanerOffsetCheckpoint.read();
+            } catch (Exception e) {
+                LOG.warn(
+                        "Error occurred while reading cleaner-offset-checkpoint file of directory {}, "
+                                + "resetting the cleaner checkpoint to 0",
+                        dataDirAbsolutePath,
+                        e);
+            }
+
             List<File> tabletsToLoad = listTabletsToLoad();
             if (tabletsToLoad.isEmpty()) {
                 LOG.info("No logs found to be loaded in {}", dataDirAbsolutePath);
@@ -191,7 +214,12 @@ public final class LogManager extends TabletManagerBase {
             // set runnable job.
             Runnable[] jobsForDir =
                     createLogLoadingJobs(
-                            tabletsToLoad, cleanShutdown, finalRecoveryPoints, conf, clock);
+                            tabletsToLoad,
+                            cleanShutdown,
+                            finalRecoveryPoints,
+                            cleanerOffsets,
+                            conf,
+                            clock);
 
             long startTime = System.currentTimeMillis();
 
@@ -328,6 +356,7 @@ public final class LogManager extends TabletManagerBase {
             File tabletDir,
             boolean isCleanShutdown,
             Map<TableBucket, Long> recoveryPoints,
+            Map<TableBucket, Long> cleanerOffsets,
             Configuration conf,
             Clock clock)
             throws Exception {
@@ -352,6 +381,7 @@ public final class LogManager extends TabletManagerBase {
                         clock,
                         isCleanShutdown);
         logTablet.updateIsDataLakeEnabled(tableInfo.getTableConfig().isDataLakeEnabled());
+        logTablet.updateCleanerCheckpoint(cleanerOffsets.getOrDefault(tableBucket, 0L));
 
         if (currentLogs.containsKey(tableBucket)) {
             throw new IllegalStateException(
@@ -462,12 +492,15 @@ public final class LogManager extends TabletManagerBase {
             List<File> tabletsToLoad,
             boolean cleanShutdown,
             Map<TableBucket, Long> recoveryPoints,
+            Map<TableBucket, Long> cleanerOffsets,
             Configuration conf,
             Clock clock) {
         Runnable[] jobs = new Runnable[tabletsToLoad.size()];
         for (int i = 0; i < tabletsToLoad.size(); i++) {
             final File tabletDir = tabletsToLoad.get(i);
-            jobs[i] = createLogLoadingJob(tabletDir, cleanShutdown, recoveryPoints, conf, clock);
+            jobs[i] =
+                    createLogLoadingJob(
+                            tabletDir, cleanShutdown, recoveryPoints, cleanerOffsets, conf, clock);
         }
         return jobs;
     }
@@ -477,6 +510,7 @@ public final class LogManager extends TabletManagerBase {
             File tabletDir,
             boolean cleanShutdown,
             Map<TableBucket, Long> recoveryPoints,
+            Map<TableBucket, Long> cleanerOffsets,
             Configuration conf,
             Clock clock) {
         return new Runnable() {
@@ -484,7 +518,7 @@ public final class LogManager extends TabletManagerBase {
             public void run() {
                 LOG.debug("Loading log {}", tabletDir);
                 try {
-                    loadLog(tabletDir, cleanShutdown, recoveryPoints, conf, clock);
+                    loadLog(tabletDir, cleanShutdown, recoveryPoints, cleanerOffsets, conf, clock);
                 } catch (Exception e) {
                     LOG.error("Fail to loadLog from {}", tabletDir, e);
                     if (e instanceof SchemaNotExistException) {
@@ -541,4 +575,31 @@ public final class LogManager extends TabletManagerBase {
             }
         }
     }
+
+    /** Compacts the logs of the tables with log compaction enabled, see {@link LogCleaner}. */
+    @VisibleForTesting
+    void cleanLogs() {
+        if (logCleaner.cleanLogs(currentLogs.values())) {
+            checkpointCleanerOffsets();
+        }
+    }
+
+    private void checkpointCleanerOffsets() {
+        try {
+            Map<TableBucket, Long> cleanerOffsets = new HashMap<>();
+            for (Map.Entry<TableBucket, LogTablet> entry : currentLogs.entrySet()) {
+                if (entry.getValue().getCompaction() != null) {
+                    cleanerOffsets.put(entry.getKey(), entry.getValue().getCleanerCheckpoint());
+                }
+            }
+            cleanerOffsetCheckpoint.write(cleanerOffsets);
+        } catch (Exception e) {
+            throw new LogStorageException(
+                    "Disk error while writing cleaner offsets checkpoint in directory "
+                            + dataDir
+                            + ": "
+                            + e.getMessage(),
+                    e);
+        }
+    }
 }
@@ -26,6 +26,7 @@ import org.apache.fluss.exception.InvalidRecordException;
 import org.apache.fluss.exception.LogSegmentOffsetOverflowException;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.record.FileChannelChunk;
+import org.apache.fluss.record.FileLogFilter;
 import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.FileLogRecords;
 import org.apache.fluss.record.LogRecordBatch;
@@ -89,6 +90,10 @@ public final class LogSegment {
 
     private int bytesSinceLastIndexEntry = 0;
 
+    // The bytes and the number of the appends reserved by reserve() which are not published yet.
+    private int reservedBytes = 0;
+    private int reservedAppends = 0;
+
     // The maximum timestamp and start offset we see so far
     private volatile TimestampOffset maxTimestampAndStartOffsetSoFar = TimestampOffset.UNKNOWN;
 
@@ -139,19 +144,39 @@ public final class LogSegment {
             int initFileSize,
             LogFormat logFormat)
             throws IOException {
+        return open(dir, baseOffset, logConfig, fileAlreadyExists, initFileSize, logFormat, "");
+    }
+
+    /**
+     * Opens the segment whose log and index files are named with the given suffix appended, e.g.
+     * the segment rewritten by the {@link LogCleaner} before it is swapped into the log.
+     */
+    public static LogSegment open(
+            File dir,
+            long baseOffset,
+            Configuration logConfig,
+            boolean fileAlreadyExists,
+            int initFileSize,
+            LogFormat logFormat,
+            String fileSuffix)
+            throws IOException {
         int maxIndexSize = (int) logConfig.get(ConfigOptions.LOG_INDEX_FILE_SIZE).getBytes();
 
         return new LogSegment(
                 logFormat,
                 FileLogRecords.open(
-                        FlussPaths.logFile(dir, baseOffset),
+                        withSuffix(FlussPaths.logFile(dir, baseOffset), fileSuffix),
                         fileAlreadyExists,
                         initFileSize,
                         logConfig.getBoolean(ConfigOptions.LOG_FILE_PREALLOCATE)),
                 LazyIndex.forOffset(
-                        FlussPaths.offsetIndexFile(dir, baseOffset), baseOffset, maxIndexSize),
+                        withSuffix(FlussPaths.offsetIndexFile(dir, baseOffset), fileSuffix),
+                        baseOffset,
+                        maxIndexSize),
                 LazyIndex.forTime(
-                        FlussPaths.timeIndexFile(dir, baseOffset), baseOffset, maxIndexSize),
+                        withSuffix(FlussPaths.timeIndexFile(dir, baseOffset), fileSuffix),
+                        baseOffset,
+                        maxIndexSize),
                 baseOffset,
                 (int) logConfig.get(ConfigOptions.LOG_INDEX_INTERVAL_SIZE).getBytes());
     }
@@ -218,12 +243,21 @@ public final class LogSegment {
 
     /** Check whether this segment should roll. */
     public boolean shouldRoll(RollParams rollParams) throws IOException {
-        return getSizeInBytes() > rollParams.maxSegmentBytes - rollParams.messagesSize
-                || offsetIndex().isFull()
-                || timeIndex().isFull()
+        return getSizeInBytes() + reservedBytes
+                        > rollParams.maxSegmentBytes - rollParams.messagesSize
+                || isIndexFull()
                 || !canConvertToRelativeOffset(rollParams.maxOffsetInMessages);
     }
 
+    private boolean isIndexFull() throws IOException {
+        if (reservedAppends == 0) {
+            return offsetIndex().isFull() || timeIndex().isFull();
+        }
+        // each reserved append adds at most one entry to the indexes when it's published.
+        return offsetIndex().entries() + reservedAppends >= offsetIndex().maxEntries()
+                || timeIndex().entries() + reservedAppends >= timeIndex().maxEntries() - 1;
+    }
+
     public int getSizeInBytes() {
         return fileLogRecords.sizeInBytes();
     }
@@ -272,19 +306,109 @@ public final class LogSegment {
                                 + largestOffset);
             }
 
-            // Update the in memory max timestamp and corresponding start offset.
-            if (maxTimestampMs > maxTimestampSoFar()) {
-                maxTimestampAndStartOffsetSoFar =
-                        new TimestampOffset(maxTimestampMs, startOffsetOfMaxTimestamp);
-            }
+            onAppended(
+                    largestOffset,
+                    maxTimestampMs,
+                    startOffsetOfMaxTimestamp,
+                    physicalPosition,
+                    records.sizeInBytes());
+        }
+    }
 
-            if (bytesSinceLastIndexEntry > indexIntervalBytes) {
-                offsetIndex().append(largestOffset, physicalPosition);
-                timeIndex().maybeAppend(maxTimestampSoFar(), startOffsetOfMaxTimestampSoFar());
-                bytesSinceLastIndexEntry = 0;
-            }
-            bytesSinceLastIndexEntry += records.sizeInBytes();
+    /**
+     * Reserve the range of the given size at the end of this segment for the records to append. The
+     * records are written to the range by {@link #writeAt} and published by {@link #publish} in the
+     * order of the reservations.
+     *
+     * <p>It is assumed this method is being called from within a lock.
+     *
+     * @param largestOffset The last offset in the records to append
+     * @param sizeInBytes The size of the records to append
+     * @return the physical position of the reserved range
+     * @throws LogSegmentOffsetOverflowException if the largest offset causes index offset overflow
+     */
+    public int reserve(long largestOffset, int sizeInBytes) throws IOException {
+        ensureOffsetInRange(largestOffset);
+        int physicalPosition = getSizeInBytes() + reservedBytes;
+        if (sizeInBytes > Integer.MAX_VALUE - physicalPosition) {
+            throw new IllegalArgumentException(
+                    "Append of size "
+                            + sizeInBytes
+                            + " bytes is too large for segment with reserved file position at "
+                            + physicalPosition);
+        }
+        reservedBytes += sizeInBytes;
+        reservedAppends++;
+        return physicalPosition;
+    }
+
+    /**
+     * Write the records to the range reserved by {@link #reserve}. This method can be called
+     * without the lock, concurrently with the writes to the other reserved ranges.
+     */
+    public void writeAt(MemoryLogRecords records, int physicalPosition) throws IOException {
+        fileLogRecords.writeAt(records, physicalPosition);
+    }
+
+    /**
+     * Publish the records written to the first reserved range, which makes them visible to the
+     * readers, and add an entry to the index if needed.
+     *
+     * <p>It is assumed this method is being called from within a lock.
+     *
+     * @param largestOffset The last offset in the written records
+     * @param maxTimestampMs The max timestamp in the written records
+     * @param startOffsetOfMaxTimestamp The start offset of the message that has the max timestamp
+     *     in the written records
+     * @param physicalPosition The physical position of the reserved range
+     * @param sizeInBytes The size of the written records
+     */
+    public void publish(
+            long largestOffset,
+            long maxTimestampMs,
+            long startOffsetOfMaxTimestamp,
+            int physicalPosition,
+            int sizeInBytes)
+            throws IOException {
+        fileLogRecords.commitWrite(physicalPosition, sizeInBytes);
+        reservedBytes -= sizeInBytes;
+        reservedAppends--;
+        onAppended(
+                largestOffset,
+                maxTimestampMs,
+                startOffsetOfMaxTimestamp,
+                physicalPosition,
+                sizeInBytes);
+    }
+
+    /**
+     * Cancel all the reservations of this segment, the ranges will be reserved (and overwritten) by
+     * the next appends.
+     */
+    public void cancelReservations() {
+        reservedBytes = 0;
+        reservedAppends = 0;
+    }
+
+    private void onAppended(
+            long largestOffset,
+            long maxTimestampMs,
+            long startOffsetOfMaxTimestamp,
+            int physicalPosition,
+            int sizeInBytes)
+            throws IOException {
+        // Update the in memory max timestamp and corresponding start offset.
+        if (maxTimestampMs > maxTimestampSoFar()) {
+            maxTimestampAndStartOffsetSoFar =
+                    new TimestampOffset(maxTimestampMs, startOffsetOfMaxTimestamp);
+        }
+
+        if (bytesSinceLastIndexEntry > indexIntervalBytes) {
+            offsetIndex().append(largestOffset, physicalPosition);
+            timeIndex().maybeAppend(maxTimestampSoFar(), startOffsetOfMaxTimestampSoFar());
+            bytesSinceLastIndexEntry = 0;
         }
+        bytesSinceLastIndexEntry += sizeInBytes;
     }
 
     public void deleteIfExists() throws IOException {
@@ -501,6 +625,33 @@ public final class LogSegment {
             boolean minOneMessage,
             @Nullable FileLogProjection projection)
             throws IOException {
+        return read(startOffset, maxSize, maxPosition, minOneMessage, projection, null);
+    }
+
+    /**
+     * Read a message set from this segment beginning with the first offset >= startOffset. The
+     * message set will include no more than maxSize bytes and will end before maxOffset if a
+     * maxOffset is specified.
+     *
+     * @param startOffset A lower bound on the first offset to include in the message set we read
+     * @param maxSize The maximum number of bytes to include in the message set we read
+     * @param maxPosition The maximum position in the log segment that should be exposed for read
+     * @param minOneMessage If this is true, the first message will be returned even if it exceeds
+     *     `maxSize` (if one exists)
+     * @param projection The column projection to apply to the log records
+     * @param filter The filter to skip the record batches by their statistics
+     * @return The fetched data and the offset metadata of the first message whose offset is >=
+     *     startOffset, or null if the startOffset is larger than the largest offset in this log
+     */
+    @Nullable
+    public FetchDataInfo read(
+            long startOffset,
+            int maxSize,
+            long maxPosition,
+            boolean minOneMessage,
+            @Nullable FileLogProjection projection,
+            @Nullable FileLogFilter filter)
+            throws IOException {
         if (maxSize < 0) {
             throw new IllegalArgumentException(
                     "Invalid max size " + maxSize + " for log read from segment " + fileLogRecords);
@@ -518,10 +669,23 @@ public final class LogSegment {
         if (adjustedMaxSize <= V0_RECORD_BATCH_HEADER_SIZE) {
             return new FetchDataInfo(offsetMetadata, MemoryLogRecords.EMPTY);
         }
-        if (projection == null) {
+        if (projection == null && filter == null) {
             int fetchSize = Math.min((int) (maxPosition - startPosition), adjustedMaxSize);
             return new FetchDataInfo(
                     offsetMetadata, fileLogRecords.slice(startPosition, fetchSize));
+        } else if (projection == null) {
+            // allow to scan all the data available in the segment, as skipped batches are
+            // replaced by the much smaller empty batches, the filter stops scanning once the fetch
+            // size is reached with the matching batches
+            int fetchSize = (int) (maxPosition - startPosition);
+            FileChannelChunk chunk = fileLogRecords.slice(startPosition, fetchSize).toChunk();
+            LogRecords filteredRecords =
+                    filter.filter(
+                            chunk.getFileChannel(),
+                            chunk.getPosition(),
+                            chunk.getPosition() + chunk.getSize(),
+                            adjustedMaxSize);
+            return new FetchDataInfo(offsetMetadata, filteredRecords);
         } else {
             if (logFormat != LogFormat.ARROW) {
                 throw new InvalidColumnProjectionException(
@@ -535,7 +699,8 @@ public final class LogSegment {
                             chunk.getFileChannel(),
                             chunk.getPosition(),
                             chunk.getPosition() + chunk.getSize(),
-                            adjustedMaxSize);
+                            adjustedMaxSize,
+                            filter);
             return new FetchDataInfo(offsetMetadata, projectedRecords);
         }
     }
@@ -555,6 +720,10 @@ public final class LogSegment {
                                 lazyTimeIndex.file().getPath(), oldSuffix, newSuffix)));
     }
 
+    private static File withSuffix(File file, String suffix) {
+        return suffix.isEmpty() ? file : new File(file.getPath() + suffix);
+    }
+
     private void ensureOffsetInRange(long offset) throws IOException {
         if (!canConvertToRelativeOffset(offset)) {
             throw new LogSegmentOffsetOverflowException(
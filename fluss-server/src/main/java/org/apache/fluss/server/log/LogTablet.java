@@ -33,6 +33,7 @@ import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.metrics.MetricNames;
 import org.apache.fluss.metrics.groups.MetricGroup;
 import org.apache.fluss.record.DefaultLogRecordBatch;
+import org.apache.fluss.record.FileLogFilter;
 import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.FileLogRecords;
 import org.apache.fluss.record.LogRecordBatch;
@@ -129,6 +130,11 @@ public final class LogTablet {
     private volatile long lakeLogEndOffset = -1L;
     private volatile long lakeMaxTimestamp = -1;
 
+    // the compaction settings of the changelog, null if the log is not compacted by key.
+    private volatile @Nullable LogCompaction compaction;
+    // the offset before which the log has been compacted by the log cleaner.
+    private volatile long cleanerCheckpoint = 0L;
+
     private LogTablet(
             PhysicalTablePath physicalPath,
             LocalLog localLog,
@@ -399,6 +405,21 @@ public final class LogTablet {
             boolean minOneMessage,
             @Nullable FileLogProjection projection)
             throws IOException {
+        return read(readOffset, maxLength, fetchIsolation, minOneMessage, projection, null);
+    }
+
+    /**
+     * Read messages from the local log, skipping the record batches which can't match the given
+     * filter.
+     */
+    public FetchDataInfo read(
+            long readOffset,
+            int maxLength,
+            FetchIsolation fetchIsolation,
+            boolean minOneMessage,
+            @Nullable FileLogProjection projection,
+            @Nullable FileLogFilter filter)
+            throws IOException {
         LogOffsetMetadata maxOffsetMetadata = null;
         if (fetchIsolation == FetchIsolation.LOG_END) {
             maxOffsetMetadata = localLog.getLocalLogEndOffsetMetadata();
@@ -406,7 +427,30 @@ public final class LogTablet {
             maxOffsetMetadata = fetchHighWatermarkMetadata();
         }
 
-        return localLog.read(readOffset, maxLength, minOneMessage, maxOffsetMetadata, projection);
+        return localLog.read(
+                readOffset, maxLength, minOneMessage, maxOffsetMetadata, projection, filter);
+    }
+
+    /**
+     * Read messages from the local log up to the given offset (exclusive), which is bounded by the
+     * log end offset. This is used by the follower to serve the reads of clients up to the high
+     * watermark of the leader.
+     */
+    public FetchDataInfo readUpTo(
+            long readOffset,
+            int maxLength,
+            long maxOffset,
+            boolean minOneMessage,
+            @Nullable FileLogProjection projection,
+            @Nullable FileLogFilter filter)
+            throws IOException {
+        LogOffsetMetadata maxOffsetMetadata;
+        synchronized (lock) {
+            maxOffsetMetadata =
+                    convertToOffsetMetadataOrThrow(Math.min(maxOffset, localLogEndOffset()));
+        }
+        return localLog.read(
+                readOffset, maxLength, minOneMessage, maxOffsetMetadata, projection, filter);
     }
 
     /**
@@ -522,6 +566,35 @@ public final class LogTablet {
         }
     }
 
+    /** Enables the key-based compaction of the log, or disables it with null. */
+    public void updateCompaction(@Nullable LogCompaction compaction) {
+        this.compaction = compaction;
+    }
+
+    public @Nullable LogCompaction getCompaction() {
+        return compaction;
+    }
+
+    public long getCleanerCheckpoint() {
+        return cleanerCheckpoint;
+    }
+
+    public void updateCleanerCheckpoint(long cleanerCheckpoint) {
+        this.cleanerCheckpoint = cleanerCheckpoint;
+    }
+
+    /**
+     * Replaces the given segment with the segment rewritten by the {@link LogCleaner}, returns
+     * false if the segment is no longer in the log.
+     */
+    boolean replaceSegment(LogSegment cleanedSegment, LogSegment originalSegment)
+            throws IOException {
+        synchronized (lock) {
+            localLog.checkIfMemoryMappedBufferClosed();
+            return localLog.replaceSegment(cleanedSegment, originalSegment);
+        }
+    }
+
     public void updateIsDataLakeEnabled(boolean isDataLakeEnabled) {
         this.isDataLakeEnabled = isDataLakeEnabled;
     }
@@ -576,6 +649,24 @@ public final class LogTablet {
                 highWatermark);
     }
 
+    /**
+     * Returns the offset snapshot of the log whose high watermark is bounded by the given offset
+     * and the log end offset. This is used by the follower, whose high watermark may be ahead of
+     * the leader's, to only expose the records under the high watermark of the leader.
+     */
+    public LogOffsetSnapshot fetchOffsetSnapshot(long maxHighWatermark) throws IOException {
+        LogOffsetMetadata highWatermark;
+        synchronized (lock) {
+            highWatermark =
+                    convertToOffsetMetadataOrThrow(Math.min(maxHighWatermark, localLogEndOffset()));
+        }
+        return new LogOffsetSnapshot(
+                logStartOffset(),
+                localLogStartOffset(),
+                localLog.getLocalLogEndOffsetMetadata(),
+                highWatermark);
+    }
+
     private void deleteSegments(long cleanUpToOffset) {
         // cache to local variables
         long localLogStartOffset = localLog.getLocalLogStartOffset();
@@ -646,6 +737,12 @@ public final class LogTablet {
      * <p>This method will generally be responsible for assigning offsets to the messages, however
      * if the appendAsLeader=false flag is passed we will only check that the existing offsets are
      * valid.
+     *
+     * <p>The offsets assignment and the writer state validation are done within the lock, which
+     * also reserves the range of the records in the active segment. The records are copied to the
+     * reserved range out of the lock, so the concurrent appends to this log are copied in parallel,
+     * and the log end offset is advanced in the order of the offsets after the preceding appends
+     * are copied.
      */
     private LogAppendInfo append(MemoryLogRecords records, boolean appendAsLeader)
             throws Exception {
@@ -659,10 +756,49 @@ public final class LogTablet {
         // trim any invalid bytes or partial messages before appending it to the on-disk log.
         MemoryLogRecords validRecords = trimInvalidBytes(records, appendInfo);
 
+        LocalLog.PendingAppend pendingAppend =
+                reserveAppend(validRecords, appendInfo, appendAsLeader);
+        if (pendingAppend == null) {
+            // the batch is duplicated, the append info has been updated to the duplicated batch.
+            return appendInfo;
+        }
+
+        pendingAppend.write();
+        synchronized (lock) {
+            publishAppends();
+        }
+        // the append is published by this thread or by the thread of a preceding append.
+        pendingAppend.awaitPublished();
+
+        LOG.trace(
+                "Appended message set with last offset: {}, first offset {}, next offset: {} "
+                        + "and messages {} for bucket {}",
+                appendInfo.lastOffset(),
+                appendInfo.firstOffset(),
+                localLog.getLocalLogEndOffset(),
+                validRecords,
+                getTableBucket());
+
+        if (localLog.unflushedMessages() >= logFlushIntervalMessages) {
+            flush(false);
+        }
+        return appendInfo;
+    }
+
+    /**
+     * Assign offsets to the records, validate the idempotent state of the writers and reserve the
+     * range of the records in the active segment.
+     *
+     * @return the reserved append, or null if the records are a duplicated batch
+     */
+    @Nullable
+    private LocalLog.PendingAppend reserveAppend(
+            MemoryLogRecords validRecords, LogAppendInfo appendInfo, boolean appendAsLeader)
+            throws Exception {
         synchronized (lock) {
             localLog.checkIfMemoryMappedBufferClosed();
             if (appendAsLeader) {
-                long offset = localLog.getLocalLogEndOffset();
+                long offset = localLog.getReservedLogEndOffset();
                 // assign offsets to the message set.
                 appendInfo.setFirstOffset(offset);
 
@@ -689,8 +825,15 @@ public final class LogTablet {
                     analyzeAndValidateWriterState(validRecords, appendAsLeader);
 
             if (validateResult.isLeft()) {
-                // have duplicated batch metadata, skip the append and update append info.
                 WriterStateEntry.BatchMetadata duplicatedBatch = validateResult.left();
+                if (duplicatedBatch.lastOffset >= localLog.getLocalLogEndOffset()) {
+                    // the duplicated batch is still being appended, which may be aborted, wait for
+                    // it to be published and try again.
+                    completePendingAppends();
+                    return reserveAppend(validRecords, appendInfo, appendAsLeader);
+                }
+
+                // have duplicated batch metadata, skip the append and update append info.
                 long startOffset = duplicatedBatch.firstOffset();
                 if (appendAsLeader) {
                     appendInfo.setFirstOffset(startOffset);
@@ -698,6 +841,7 @@ public final class LogTablet {
                     appendInfo.setMaxTimestamp(duplicatedBatch.timestamp);
                     appendInfo.setStartOffsetOfMaxTimestamp(startOffset);
                     appendInfo.setDuplicated(true);
+                    return null;
                 } else {
                     String errorMsg =
                             String.format(
@@ -711,17 +855,16 @@ public final class LogTablet {
                     throw new DuplicateSequenceException(errorMsg);
                 }
             } else {
-                // Append the records, and increment the local log end offset immediately after
-                // append because write to the transaction index below may fail, and we want to
-                // ensure that the offsets of future appends still grow monotonically.
-                localLog.append(
-                        appendInfo.lastOffset(),
-                        appendInfo.maxTimestamp(),
-                        appendInfo.startOffsetOfMaxTimestamp(),
-                        validRecords);
-                updateHighWatermarkWithLogEndOffset();
-
-                // update the writer state.
+                LocalLog.PendingAppend pendingAppend =
+                        localLog.reserveAppend(
+                                appendInfo.lastOffset(),
+                                appendInfo.maxTimestamp(),
+                                appendInfo.startOffsetOfMaxTimestamp(),
+                                validRecords);
+
+                // update the writer state, so that the following appends are validated against
+                // this append even if it's not published yet. The writer state is rebuilt if the
+                // append is aborted.
                 Collection<WriterAppendInfo> updatedWriters = validateResult.right();
                 updatedWriters.forEach(writerStateManager::update);
 
@@ -730,21 +873,31 @@ public final class LogTablet {
                 writerStateManager.updateMapEndOffset(appendInfo.lastOffset() + 1);
 
                 // todo update the first unstable offset (which is used to compute lso)
+                return pendingAppend;
+            }
+        }
+    }
 
-                LOG.trace(
-                        "Appended message set with last offset: {}, first offset {}, next offset: {} "
-                                + "and messages {} for bucket {}",
-                        appendInfo.lastOffset(),
-                        appendInfo.firstOffset(),
-                        localLog.getLocalLogEndOffset(),
-                        validRecords,
-                        getTableBucket());
+    /** Publish the written pending appends of the local log to the log end offset. */
+    @GuardedBy("lock")
+    private void publishAppends() throws IOException {
+        if (localLog.publishAppends()) {
+            // the writer state has been updated by the aborted appends.
+            rebuildWriterState(localLog.getLocalLogEndOffset(), writerStateManager);
+        }
+        updateHighWatermarkWithLogEndOffset();
+    }
 
-                if (localLog.unflushedMessages() >= logFlushIntervalMessages) {
-                    flush(false);
-                }
-            }
-            return appendInfo;
+    /**
+     * Wait for the pending appends of the local log to be written and publish them, which must be
+     * called before rolling or truncating the active segment. The pending appends are written
+     * without the lock, so it's safe to wait for them within the lock.
+     */
+    @GuardedBy("lock")
+    private void completePendingAppends() throws IOException {
+        if (localLog.hasPendingAppends()) {
+            localLog.awaitPendingAppendsWritten();
+            publishAppends();
         }
     }
 
@@ -854,6 +1007,7 @@ public final class LogTablet {
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     public void roll(Optional<Long> expectedNextOffset) throws Exception {
         synchronized (lock) {
+            completePendingAppends();
             LogSegment segment = localLog.roll(expectedNextOffset);
             // Take a snapshot of the writer state to facilitate recovery. It is useful to have
             // the snapshot offset align with the new segment offset since this ensures we can
@@ -882,42 +1036,44 @@ public final class LogTablet {
                             getTableBucket(), targetOffset));
         }
 
-        if (targetOffset >= localLog.getLocalLogEndOffset()) {
-            LOG.info(
-                    "Truncate to {} for bucket {} has no effect as the largest offset in the log is {}.",
-                    targetOffset,
-                    getTableBucket(),
-                    localLog.getLocalLogEndOffset() - 1);
-            return false;
-        } else {
-            LOG.info("Truncating to offset {} for bucket {}", targetOffset, getTableBucket());
-            synchronized (lock) {
-                try {
-                    localLog.checkIfMemoryMappedBufferClosed();
-                    if (localLog.getSegments()
-                            .firstSegmentBaseOffset()
-                            .filter(offset -> offset > targetOffset)
-                            .isPresent()) {
-                        truncateFullyAndStartAt(targetOffset);
-                    } else {
-                        List<LogSegment> deletedSegments = localLog.truncateTo(targetOffset);
-
-                        deleteWriterSnapshots(deletedSegments, writerStateManager);
-                        rebuildWriterState(targetOffset, writerStateManager);
-
-                        if (getHighWatermark() >= localLog.getLocalLogEndOffset()) {
-                            updateHighWatermark(localLog.getLocalLogEndOffset());
-                        }
-                    }
+        synchronized (lock) {
+            try {
+                // the pending appends may be beyond the target offset.
+                completePendingAppends();
+                if (targetOffset >= localLog.getLocalLogEndOffset()) {
+                    LOG.info(
+                            "Truncate to {} for bucket {} has no effect as the largest offset in the log is {}.",
+                            targetOffset,
+                            getTableBucket(),
+                            localLog.getLocalLogEndOffset() - 1);
+                    return false;
+                }
 
-                    return true;
-                } catch (IOException e) {
-                    throw new LogStorageException(
-                            String.format(
-                                    "Error while truncating log for bucket %s to offset %s.",
-                                    getTableBucket(), targetOffset),
-                            e);
+                LOG.info("Truncating to offset {} for bucket {}", targetOffset, getTableBucket());
+                localLog.checkIfMemoryMappedBufferClosed();
+                if (localLog.getSegments()
+                        .firstSegmentBaseOffset()
+                        .filter(offset -> offset > targetOffset)
+                        .isPresent()) {
+                    truncateFullyAndStartAt(targetOffset);
+                } else {
+                    List<LogSegment> deletedSegments = localLog.truncateTo(targetOffset);
+
+                    deleteWriterSnapshots(deletedSegments, writerStateManager);
+                    rebuildWriterState(targetOffset, writerStateManager);
+
+                    if (getHighWatermark() >= localLog.getLocalLogEndOffset()) {
+                        updateHighWatermark(localLog.getLocalLogEndOffset());
+                    }
                 }
+
+                return true;
+            } catch (IOException e) {
+                throw new LogStorageException(
+                        String.format(
+                                "Error while truncating log for bucket %s to offset %s.",
+                                getTableBucket(), targetOffset),
+                        e);
             }
         }
     }
@@ -927,6 +1083,7 @@ public final class LogTablet {
         LOG.debug("Truncate and start at offset {} for bucket {}", newOffset, getTableBucket());
         synchronized (lock) {
             try {
+                completePendingAppends();
                 localLog.truncateFullyAndStartAt(newOffset);
                 writerStateManager.truncateFullyAndStartAt(newOffset);
                 rebuildWriterState(newOffset, writerStateManager);
@@ -950,6 +1107,7 @@ public final class LogTablet {
             try {
                 localLog.checkIfMemoryMappedBufferClosed();
                 writerExpireCheck.cancel(true);
+                completePendingAppends();
                 localLog.deleteAllSegments();
                 localLog.deleteEmptyDir();
             } catch (IOException e) {
@@ -977,6 +1135,7 @@ public final class LogTablet {
             localLog.checkIfMemoryMappedBufferClosed();
             writerExpireCheck.cancel(true);
             try {
+                completePendingAppends();
                 writerStateManager.takeSnapshot();
             } catch (IOException e) {
                 LOG.error("Error while taking writer snapshot for bucket {}.", getTableBucket(), e);
@@ -1071,8 +1230,14 @@ public final class LogTablet {
                     return Either.left(duplicateBatch.get());
                 }
 
-                // update write append info.
-                updateWriterAppendInfo(writerStateManager, batch, updatedWriters, isAppendAsLeader);
+                // update write append info, the batches of a writer may have been removed from
+                // the compacted log of the leader, so a follower may see gaps of the sequences.
+                updateWriterAppendInfo(
+                        writerStateManager,
+                        batch,
+                        updatedWriters,
+                        isAppendAsLeader,
+                        !isAppendAsLeader && compaction != null);
             }
         }
 
@@ -1161,7 +1326,8 @@ public final class LogTablet {
             WriterStateManager writerStateManager,
             LogRecordBatch batch,
             Map<Long, WriterAppendInfo> writers,
-            boolean isAppendAsLeader) {
+            boolean isAppendAsLeader,
+            boolean allowSequenceGap) {
         long writerId = batch.writerId();
         // update writers.
         WriterAppendInfo appendInfo =
@@ -1169,7 +1335,8 @@ public final class LogTablet {
         appendInfo.append(
                 batch,
                 writerStateManager.isWriterInBatchExpired(System.currentTimeMillis(), batch),
-                isAppendAsLeader);
+                isAppendAsLeader,
+                allowSequenceGap);
     }
 
     static void rebuildWriterState(
@@ -1287,7 +1454,8 @@ public final class LogTablet {
         Map<Long, WriterAppendInfo> loadedWriters = new HashMap<>();
         for (LogRecordBatch batch : records.batches()) {
             if (batch.hasWriterId()) {
-                updateWriterAppendInfo(writerStateManager, batch, loadedWriters, false);
+                // the log may have been compacted, so the sequences of a writer may have gaps
+                updateWriterAppendInfo(writerStateManager, batch, loadedWriters, false, true);
             }
         }
         loadedWriters.values().forEach(writerStateManager::update);
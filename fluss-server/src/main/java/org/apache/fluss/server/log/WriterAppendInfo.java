@@ -46,6 +46,19 @@ public class WriterAppendInfo {
 
     public void append(
             LogRecordBatch batch, boolean isWriterInBatchExpired, boolean isAppendAsLeader) {
+        append(batch, isWriterInBatchExpired, isAppendAsLeader, false);
+    }
+
+    /**
+     * Appends the batch, if {@code allowSequenceGap} is true, the batch sequence only needs to be
+     * greater than the last batch sequence of the writer, as the batches in between may have been
+     * removed by the compaction of the log, see {@link LogCleaner}.
+     */
+    public void append(
+            LogRecordBatch batch,
+            boolean isWriterInBatchExpired,
+            boolean isAppendAsLeader,
+            boolean allowSequenceGap) {
         LogOffsetMetadata firstOffsetMetadata = new LogOffsetMetadata(batch.baseLogOffset());
         appendDataBatch(
                 batch.batchSequence(),
@@ -53,6 +66,7 @@ public class WriterAppendInfo {
                 batch.lastLogOffset(),
                 isWriterInBatchExpired,
                 isAppendAsLeader,
+                allowSequenceGap,
                 batch.commitTimestamp());
     }
 
@@ -63,7 +77,30 @@ public class WriterAppendInfo {
             boolean isWriterInBatchExpired,
             boolean isAppendAsLeader,
             long batchTimestamp) {
-        maybeValidateDataBatch(batchSequence, isWriterInBatchExpired, lastOffset, isAppendAsLeader);
+        appendDataBatch(
+                batchSequence,
+                firstOffsetMetadata,
+                lastOffset,
+                isWriterInBatchExpired,
+                isAppendAsLeader,
+                false,
+                batchTimestamp);
+    }
+
+    private void appendDataBatch(
+            int batchSequence,
+            LogOffsetMetadata firstOffsetMetadata,
+            long lastOffset,
+            boolean isWriterInBatchExpired,
+            boolean isAppendAsLeader,
+            boolean allowSequenceGap,
+            long batchTimestamp) {
+        maybeValidateDataBatch(
+                batchSequence,
+                isWriterInBatchExpired,
+                lastOffset,
+                isAppendAsLeader,
+                allowSequenceGap);
         updatedEntry.addBath(
                 batchSequence,
                 lastOffset,
@@ -75,13 +112,17 @@ public class WriterAppendInfo {
             int appendFirstSeq,
             boolean isWriterInBatchExpired,
             long lastOffset,
-            boolean isAppendAsLeader) {
+            boolean isAppendAsLeader,
+            boolean allowSequenceGap) {
         int currentLastSeq =
                 !updatedEntry.isEmpty()
                         ? updatedEntry.lastBatchSequence()
                         : currentEntry.lastBatchSequence();
         // must be in sequence, even for the first batch should start from 0
-        if (!inSequence(currentLastSeq, appendFirstSeq, isWriterInBatchExpired, isAppendAsLeader)) {
+        boolean inSequence =
+                inSequence(currentLastSeq, appendFirstSeq, isWriterInBatchExpired, isAppendAsLeader)
+                        || (allowSequenceGap && appendFirstSeq > currentLastSeq);
+        if (!inSequence) {
             throw new OutOfOrderSequenceException(
                     String.format(
                             "Out of order batch sequence for writer %s at offset %s in "
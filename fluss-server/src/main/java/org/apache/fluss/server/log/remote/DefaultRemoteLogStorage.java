@@ -189,6 +189,21 @@ public class DefaultRemoteLogStorage implements RemoteLogStorage {
         }
     }
 
+    @Override
+    public InputStream fetchLogSegment(RemoteLogSegment remoteLogSegment)
+            throws RemoteStorageException {
+        FsPath remoteLogSegmentFile =
+                FlussPaths.remoteLogSegmentFile(
+                        FlussPaths.remoteLogSegmentDir(remoteLogDir, remoteLogSegment),
+                        remoteLogSegment.remoteLogStartOffset());
+        try {
+            return fileSystem.open(remoteLogSegmentFile);
+        } catch (IOException e) {
+            throw new RemoteStorageException(
+                    "Failed to fetch log segment file from path: " + remoteLogSegmentFile, e);
+        }
+    }
+
     @Override
     public RemoteLogManifest readRemoteLogManifestSnapshot(FsPath remoteLogManifestPath)
             throws RemoteStorageException {
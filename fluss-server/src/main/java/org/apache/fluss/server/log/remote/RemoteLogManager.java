@@ -24,6 +24,7 @@ import org.apache.fluss.exception.RemoteStorageException;
 import org.apache.fluss.fs.FsPath;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.remote.RemoteLogSegment;
 import org.apache.fluss.rpc.gateway.CoordinatorGateway;
 import org.apache.fluss.server.log.LogTablet;
@@ -38,6 +39,7 @@ import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.Closeable;
@@ -56,6 +58,8 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static org.apache.fluss.utils.Preconditions.checkNotNull;
+
 /**
  * The entry point for remote log management. The remote log manager is responsible for managing log
  * tiering from local log segments to remote log segments, expiring remote log segments, and
@@ -67,12 +71,21 @@ import java.util.stream.Collectors;
 public class RemoteLogManager implements Closeable {
     private static final Logger LOG = LoggerFactory.getLogger(RemoteLogManager.class);
     public static final String RLM_SCHEDULED_THREAD_PREFIX = "fluss-remote-log-manager-thread-pool";
+    public static final String SEGMENT_CACHE_THREAD_PREFIX = "fluss-remote-log-segment-cache";
 
     private final long taskInterval;
     private final RemoteLogIndexCache remoteLogIndexCache;
+
+    /** The cache of the remote log segments read by this tablet server, null if disabled. */
+    private final @Nullable RemoteLogSegmentCache remoteLogSegmentCache;
+
     private final RemoteLogStorage remoteLogStorage;
     private final CoordinatorGateway coordinatorGateway;
     private final ScheduledExecutorService rlManagerScheduledThreadPool;
+
+    /** The pool to download the remote log segments into {@link #remoteLogSegmentCache}. */
+    private final ScheduledExecutorService segmentCacheScheduledThreadPool;
+
     private final Clock clock;
     private final ZooKeeperClient zkClient;
 
@@ -94,6 +107,9 @@ public class RemoteLogManager implements Closeable {
                 Executors.newScheduledThreadPool(
                         conf.getInt(ConfigOptions.REMOTE_LOG_MANAGER_THREAD_POOL_SIZE),
                         new ExecutorThreadFactory(RLM_SCHEDULED_THREAD_PREFIX)),
+                Executors.newScheduledThreadPool(
+                        conf.getInt(ConfigOptions.REMOTE_LOG_SERVER_READ_THREAD_NUM),
+                        new ExecutorThreadFactory(SEGMENT_CACHE_THREAD_PREFIX)),
                 clock);
     }
 
@@ -106,6 +122,25 @@ public class RemoteLogManager implements Closeable {
             ScheduledExecutorService scheduledExecutor,
             Clock clock)
             throws IOException {
+        this(
+                conf,
+                zkClient,
+                coordinatorGateway,
+                remoteLogStorage,
+                scheduledExecutor,
+                scheduledExecutor,
+                clock);
+    }
+
+    private RemoteLogManager(
+            Configuration conf,
+            ZooKeeperClient zkClient,
+            CoordinatorGateway coordinatorGateway,
+            RemoteLogStorage remoteLogStorage,
+            ScheduledExecutorService scheduledExecutor,
+            ScheduledExecutorService segmentCacheExecutor,
+            Clock clock)
+            throws IOException {
         this.remoteLogStorage = remoteLogStorage;
         this.zkClient = zkClient;
         this.coordinatorGateway = coordinatorGateway;
@@ -118,6 +153,16 @@ public class RemoteLogManager implements Closeable {
                         dataDir);
         this.taskInterval = conf.get(ConfigOptions.REMOTE_LOG_TASK_INTERVAL_DURATION).toMillis();
         this.rlManagerScheduledThreadPool = scheduledExecutor;
+        this.segmentCacheScheduledThreadPool = segmentCacheExecutor;
+        this.remoteLogSegmentCache =
+                conf.get(ConfigOptions.REMOTE_LOG_SERVER_READ_ENABLED)
+                        ? new RemoteLogSegmentCache(
+                                conf.get(ConfigOptions.REMOTE_LOG_SEGMENT_FILE_CACHE_SIZE)
+                                        .getBytes(),
+                                remoteLogStorage,
+                                dataDir,
+                                segmentCacheExecutor)
+                        : null;
         this.clock = clock;
     }
 
@@ -179,6 +224,9 @@ public class RemoteLogManager implements Closeable {
                             .collect(Collectors.toList());
             // remove cache.
             remoteLogIndexCache.removeAll(remoteLogSegmentIdList);
+            if (remoteLogSegmentCache != null) {
+                remoteLogSegmentCache.removeAll(remoteLogSegmentIdList);
+            }
             // unregister the remote log metrics, only leader needs to report
             remoteLog.unregisterMetrics();
         }
@@ -218,6 +266,34 @@ public class RemoteLogManager implements Closeable {
         return remoteLogIndexCache.lookupPosition(remoteLogSegment, offset);
     }
 
+    /** Returns true if the tablet server reads the remote log segments for the clients. */
+    public boolean isServerReadEnabled() {
+        return remoteLogSegmentCache != null;
+    }
+
+    /**
+     * Reads the records of the remote log segments from the given offset through the local cache of
+     * the remote log segments, see {@link RemoteLogSegmentCache#read}.
+     *
+     * @param remoteLogSegments the relevant remote log segments of the offset, see {@link
+     *     #relevantRemoteLogSegments}
+     * @return the records read, or null if a segment is being downloaded into the local cache
+     */
+    public @Nullable LogRecords readRemoteLogSegments(
+            List<RemoteLogSegment> remoteLogSegments,
+            long offset,
+            int maxBytes,
+            boolean minOneMessage)
+            throws IOException, RemoteStorageException {
+        checkNotNull(remoteLogSegmentCache, "The server read of remote log is disabled.");
+        return remoteLogSegmentCache.read(
+                remoteLogSegments,
+                offset,
+                lookupPositionForOffset(remoteLogSegments.get(0), offset),
+                maxBytes,
+                minOneMessage);
+    }
+
     /**
      * Get the offset of the given timestamp in the remote log segment. If not found, -1L will
      * return.
@@ -319,9 +395,19 @@ public class RemoteLogManager implements Closeable {
         rlmTasks.values().forEach(TaskWithFuture::cancel);
         IOUtils.closeQuietly(remoteLogStorage, "RemoteLogStorageManager");
         IOUtils.closeQuietly(remoteLogIndexCache, "RemoteIndexCache");
+        if (remoteLogSegmentCache != null) {
+            IOUtils.closeQuietly(remoteLogSegmentCache, "RemoteLogSegmentCache");
+        }
 
         shutdownAndAwaitTermination(
                 rlManagerScheduledThreadPool, "RLMScheduledThreadPool", 10, TimeUnit.SECONDS);
+        if (segmentCacheScheduledThreadPool != rlManagerScheduledThreadPool) {
+            shutdownAndAwaitTermination(
+                    segmentCacheScheduledThreadPool,
+                    "RemoteLogSegmentCacheThreadPool",
+                    10,
+                    TimeUnit.SECONDS);
+        }
 
         rlmTasks.clear();
     }
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log.remote;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.exception.RemoteStorageException;
+import org.apache.fluss.record.FileLogRecords;
+import org.apache.fluss.record.LogRecords;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.remote.RemoteLogSegment;
+import org.apache.fluss.utils.FileUtils;
+import org.apache.fluss.utils.IOUtils;
+import org.apache.fluss.utils.MapUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.apache.fluss.utils.FlussPaths.LOG_FILE_SUFFIX;
+import static org.apache.fluss.utils.FlussPaths.remoteLogSegmentCacheDir;
+
+/**
+ * A size-bounded cache of the remote log segment files of this tablet server, which serves the
+ * fetch log requests of clients for the log tiered to remote storage, see {@link
+ * ConfigOptions#REMOTE_LOG_SERVER_READ_ENABLED}. The segment files are downloaded and stored in dir
+ * `$data.dir/remote-log-segment-cache`.
+ *
+ * <p>A segment which isn't cached is downloaded asynchronously, and the concurrent reads of the
+ * segment share the same download. The records are read as slices of the cached files, which are
+ * sent by zero-copy. So the files of the evicted segments are deleted after a delay, to let the
+ * in-flight sends of the records read before complete.
+ *
+ * <p>The cache is emptied on startup, as the cached segments may have been deleted from remote
+ * storage.
+ *
+ * <p>This class is thread safe.
+ */
+@ThreadSafe
+public class RemoteLogSegmentCache implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RemoteLogSegmentCache.class);
+
+    private static final String TMP_FILE_SUFFIX = ".tmp";
+
+    /** The delay to delete the file of an evicted segment. */
+    static final long FILE_DELETE_DELAY_MS = 60_000L;
+
+    /** Directory where the segment files are stored on disk. */
+    private final File cacheDir;
+
+    private final RemoteLogStorage remoteLogStorage;
+
+    /** The executor to download the segments and delete the evicted segments. */
+    private final ScheduledExecutorService executor;
+
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private final Cache<UUID, FileLogRecords> internalCache;
+
+    /** The segments being downloaded, to download each segment only once. */
+    private final Map<UUID, Boolean> downloadingSegments = MapUtils.newConcurrentHashMap();
+
+    /** The segments failed to download, the next read of the segment reports the failure. */
+    private final Map<UUID, Throwable> failedSegments = MapUtils.newConcurrentHashMap();
+
+    public RemoteLogSegmentCache(
+            long maxSize,
+            RemoteLogStorage remoteLogStorage,
+            File dataDir,
+            ScheduledExecutorService executor)
+            throws IOException {
+        this.cacheDir = remoteLogSegmentCacheDir(dataDir);
+        this.remoteLogStorage = remoteLogStorage;
+        this.executor = executor;
+        this.internalCache =
+                Caffeine.newBuilder()
+                        .maximumWeight(maxSize)
+                        .weigher((UUID key, FileLogRecords records) -> records.sizeInBytes())
+                        // the listener isn't invoked for the explicit removals, which are handled
+                        // by the remove methods
+                        .evictionListener(
+                                (UUID key, FileLogRecords records, RemovalCause cause) -> {
+                                    if (records != null) {
+                                        scheduleDelete(records);
+                                    }
+                                })
+                        .build();
+
+        FileUtils.deleteDirectoryQuietly(cacheDir);
+        Files.createDirectories(cacheDir.toPath());
+    }
+
+    /**
+     * Reads the records of the remote log segments from the record batch containing the fetch
+     * offset, the start position of the batch in the first segment is searched from the given
+     * position. The segments are searched in order, the next segment is read if the fetch offset is
+     * after the last record batch of the segment.
+     *
+     * @param segments the segments in the offset order, the first one is the segment of the fetch
+     *     offset
+     * @param minOneMessage if true, the first record batch is returned even if it exceeds {@code
+     *     maxBytes}
+     * @return the records read, or null if a segment is not cached yet, in which case the segment
+     *     is being downloaded into the cache
+     * @throws RemoteStorageException if the last download of the segment failed, the segment is
+     *     downloaded again on the next read
+     */
+    @Nullable
+    public LogRecords read(
+            List<RemoteLogSegment> segments,
+            long fetchOffset,
+            int startPosition,
+            int maxBytes,
+            boolean minOneMessage)
+            throws IOException, RemoteStorageException {
+        int position = startPosition;
+        for (RemoteLogSegment segment : segments) {
+            UUID segmentId = segment.remoteLogSegmentId();
+            FileLogRecords records = internalCache.getIfPresent(segmentId);
+            if (records == null) {
+                Throwable failure = failedSegments.remove(segmentId);
+                if (failure != null) {
+                    throw new RemoteStorageException(
+                            "Failed to download remote log segment " + segmentId, failure);
+                }
+                download(segment);
+                return null;
+            }
+
+            FileLogRecords.LogOffsetPosition offsetPosition =
+                    records.searchForOffsetWithSize(fetchOffset, position);
+            if (offsetPosition != null) {
+                int adjustedMaxBytes =
+                        minOneMessage ? Math.max(maxBytes, offsetPosition.getSize()) : maxBytes;
+                return records.slice(offsetPosition.getPosition(), adjustedMaxBytes);
+            }
+            // the fetch offset is after the segment, the next segment is searched from its start
+            position = 0;
+        }
+        return MemoryLogRecords.EMPTY;
+    }
+
+    /** Removes the given segments from the cache, e.g., the segments are deleted. */
+    public void removeAll(List<UUID> remoteSegmentIds) {
+        for (UUID segmentId : remoteSegmentIds) {
+            FileLogRecords records = internalCache.asMap().remove(segmentId);
+            if (records != null) {
+                scheduleDelete(records);
+            }
+        }
+    }
+
+    private void download(RemoteLogSegment segment) {
+        UUID segmentId = segment.remoteLogSegmentId();
+        if (downloadingSegments.putIfAbsent(segmentId, Boolean.TRUE) != null) {
+            // the segment is being downloaded by another read
+            return;
+        }
+        try {
+            executor.execute(
+                    () -> {
+                        try {
+                            if (internalCache.getIfPresent(segmentId) == null && !closed.get()) {
+                                internalCache.put(segmentId, doDownload(segment));
+                            }
+                        } catch (Throwable t) {
+                            LOG.warn("Failed to download remote log segment {}.", segment, t);
+                            failedSegments.put(segmentId, t);
+                        } finally {
+                            downloadingSegments.remove(segmentId);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            downloadingSegments.remove(segmentId);
+            throw e;
+        }
+    }
+
+    private FileLogRecords doDownload(RemoteLogSegment segment) throws Exception {
+        String fileName =
+                segment.remoteLogStartOffset()
+                        + "_"
+                        + segment.remoteLogSegmentId()
+                        + LOG_FILE_SUFFIX;
+        File segmentFile = new File(cacheDir, fileName);
+        File tmpFile = new File(cacheDir, fileName + TMP_FILE_SUFFIX);
+        long start = System.currentTimeMillis();
+        try (InputStream inputStream = remoteLogStorage.fetchLogSegment(segment)) {
+            Files.copy(inputStream, tmpFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            Files.deleteIfExists(tmpFile.toPath());
+            throw e;
+        }
+        FileUtils.atomicMoveWithFallback(tmpFile.toPath(), segmentFile.toPath(), false);
+        LOG.debug(
+                "Downloaded remote log segment {} to {} in {} ms.",
+                segment,
+                segmentFile,
+                System.currentTimeMillis() - start);
+        return FileLogRecords.open(segmentFile, false);
+    }
+
+    private void scheduleDelete(FileLogRecords records) {
+        try {
+            executor.schedule(
+                    () -> deleteQuietly(records), FILE_DELETE_DELAY_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // the executor is shut down, which means the tablet server is shutting down
+            deleteQuietly(records);
+        }
+    }
+
+    private static void deleteQuietly(FileLogRecords records) {
+        IOUtils.closeQuietly(records::close);
+        try {
+            Files.deleteIfExists(records.file().toPath());
+        } catch (IOException e) {
+            LOG.warn("Failed to delete cached remote log segment file {}.", records.file(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed.getAndSet(true)) {
+            internalCache.asMap().values().forEach(records -> IOUtils.closeQuietly(records::close));
+            internalCache.asMap().clear();
+            FileUtils.deleteDirectoryQuietly(cacheDir);
+        }
+    }
+}
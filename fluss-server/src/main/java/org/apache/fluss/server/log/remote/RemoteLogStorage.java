@@ -118,6 +118,15 @@ public interface RemoteLogStorage extends Closeable {
     InputStream fetchIndex(RemoteLogSegment remoteLogSegment, IndexType indexType)
             throws RemoteStorageException;
 
+    /**
+     * Returns the log segment file of the {@link RemoteLogSegment}.
+     *
+     * @param remoteLogSegment the remote log segment.
+     * @return input stream of the log segment file.
+     * @throws RemoteStorageException if there are any errors while fetching the log segment.
+     */
+    InputStream fetchLogSegment(RemoteLogSegment remoteLogSegment) throws RemoteStorageException;
+
     /**
      * Read the remote log manifest from remote manifest file path.
      *
@@ -24,6 +24,7 @@ import org.apache.fluss.cluster.TabletServerInfo;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.utils.PersistentHashMap;
 
 import javax.annotation.Nullable;
 
@@ -42,23 +43,27 @@ import java.util.Set;
  * of this var (into a val) ONCE and retain that read copy for the duration of their operation.
  * multiple reads of this value risk getting different snapshots.
  *
+ * <p>The table and partition metadata are kept in {@link PersistentHashMap}s, so a new snapshot
+ * shares all the unchanged metadata with the previous one instead of copying it.
+ *
  * <p>Compared to {@link Cluster}, it includes all the endpoints of the server nodes.
  */
 public class ServerMetadataSnapshot {
     private final @Nullable ServerInfo coordinatorServer;
     private final Map<Integer, ServerInfo> aliveTabletServers;
-    private final Map<TablePath, Long> tableIdByPath;
-    private final Map<Long, TablePath> pathByTableId;
+    private final PersistentHashMap<TablePath, Long> tableIdByPath;
+    private final PersistentHashMap<Long, TablePath> pathByTableId;
     // partition table.
-    private final Map<PhysicalTablePath, Long> partitionIdByPath;
-    private final Map<Long, PhysicalTablePath> physicalPathByPartitionId;
+    private final PersistentHashMap<PhysicalTablePath, Long> partitionIdByPath;
+    private final PersistentHashMap<Long, PhysicalTablePath> physicalPathByPartitionId;
 
     // a map of bucket metadata of none-partition table, table_id -> <bucket, bucketMetadata>
-    private final Map<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForTables;
+    private final PersistentHashMap<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForTables;
 
     // a map of bucket metadata of partition table, partition_id -> <bucket,
     // bucketMetadata>
-    private final Map<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForPartitions;
+    private final PersistentHashMap<Long, Map<Integer, BucketMetadata>>
+            bucketMetadataMapForPartitions;
 
     public ServerMetadataSnapshot(
             @Nullable ServerInfo coordinatorServer,
@@ -68,22 +73,39 @@ public class ServerMetadataSnapshot {
             Map<PhysicalTablePath, Long> partitionIdByPath,
             Map<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForTables,
             Map<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForPartitions) {
+        this(
+                coordinatorServer,
+                aliveTabletServers,
+                PersistentHashMap.copyOf(tableIdByPath),
+                PersistentHashMap.copyOf(pathByTableId),
+                PersistentHashMap.copyOf(partitionIdByPath),
+                inverse(partitionIdByPath),
+                PersistentHashMap.copyOf(bucketMetadataMapForTables),
+                PersistentHashMap.copyOf(bucketMetadataMapForPartitions));
+    }
+
+    /**
+     * Creates a snapshot sharing the given persistent maps, which is used to build a new snapshot
+     * from the previous one in time proportional to the updated entries. The maps of the bucket
+     * metadata must be immutable as well.
+     */
+    ServerMetadataSnapshot(
+            @Nullable ServerInfo coordinatorServer,
+            Map<Integer, ServerInfo> aliveTabletServers,
+            PersistentHashMap<TablePath, Long> tableIdByPath,
+            PersistentHashMap<Long, TablePath> pathByTableId,
+            PersistentHashMap<PhysicalTablePath, Long> partitionIdByPath,
+            PersistentHashMap<Long, PhysicalTablePath> physicalPathByPartitionId,
+            PersistentHashMap<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForTables,
+            PersistentHashMap<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForPartitions) {
         this.coordinatorServer = coordinatorServer;
         this.aliveTabletServers = Collections.unmodifiableMap(aliveTabletServers);
-
-        this.tableIdByPath = Collections.unmodifiableMap(tableIdByPath);
-        this.pathByTableId = Collections.unmodifiableMap(pathByTableId);
-
-        this.partitionIdByPath = Collections.unmodifiableMap(partitionIdByPath);
-        Map<Long, PhysicalTablePath> tempPhysicalPathByPartitionId = new HashMap<>();
-        partitionIdByPath.forEach(
-                ((physicalTablePath, partitionId) ->
-                        tempPhysicalPathByPartitionId.put(partitionId, physicalTablePath)));
-        this.physicalPathByPartitionId = Collections.unmodifiableMap(tempPhysicalPathByPartitionId);
-
-        this.bucketMetadataMapForTables = Collections.unmodifiableMap(bucketMetadataMapForTables);
-        this.bucketMetadataMapForPartitions =
-                Collections.unmodifiableMap(bucketMetadataMapForPartitions);
+        this.tableIdByPath = tableIdByPath;
+        this.pathByTableId = pathByTableId;
+        this.partitionIdByPath = partitionIdByPath;
+        this.physicalPathByPartitionId = physicalPathByPartitionId;
+        this.bucketMetadataMapForTables = bucketMetadataMapForTables;
+        this.bucketMetadataMapForPartitions = bucketMetadataMapForPartitions;
     }
 
     /** Create an empty cluster instance with no nodes and no table-buckets. */
@@ -91,11 +113,23 @@ public class ServerMetadataSnapshot {
         return new ServerMetadataSnapshot(
                 null,
                 Collections.emptyMap(),
-                Collections.emptyMap(),
-                Collections.emptyMap(),
-                Collections.emptyMap(),
-                Collections.emptyMap(),
-                Collections.emptyMap());
+                PersistentHashMap.empty(),
+                PersistentHashMap.empty(),
+                PersistentHashMap.empty(),
+                PersistentHashMap.empty(),
+                PersistentHashMap.empty(),
+                PersistentHashMap.empty());
+    }
+
+    private static PersistentHashMap<Long, PhysicalTablePath> inverse(
+            Map<PhysicalTablePath, Long> partitionIdByPath) {
+        PersistentHashMap<Long, PhysicalTablePath> physicalPathByPartitionId =
+                PersistentHashMap.empty();
+        for (Map.Entry<PhysicalTablePath, Long> entry : partitionIdByPath.entrySet()) {
+            physicalPathByPartitionId =
+                    physicalPathByPartitionId.plus(entry.getValue(), entry.getKey());
+        }
+        return physicalPathByPartitionId;
     }
 
     public ServerNode getCoordinatorServer(String listenerName) {
@@ -139,7 +173,7 @@ public class ServerMetadataSnapshot {
         return Optional.ofNullable(pathByTableId.get(tableId));
     }
 
-    public Map<TablePath, Long> getTableIdByPath() {
+    public PersistentHashMap<TablePath, Long> getTableIdByPath() {
         return tableIdByPath;
     }
 
@@ -159,15 +193,24 @@ public class ServerMetadataSnapshot {
         return bucketMetadataMapForPartitions.getOrDefault(partitionId, Collections.emptyMap());
     }
 
-    public Map<PhysicalTablePath, Long> getPartitionIdByPath() {
+    public PersistentHashMap<Long, TablePath> getPathByTableId() {
+        return pathByTableId;
+    }
+
+    public PersistentHashMap<PhysicalTablePath, Long> getPartitionIdByPath() {
         return partitionIdByPath;
     }
 
-    public Map<Long, Map<Integer, BucketMetadata>> getBucketMetadataMapForTables() {
+    public PersistentHashMap<Long, PhysicalTablePath> getPhysicalPathByPartitionId() {
+        return physicalPathByPartitionId;
+    }
+
+    public PersistentHashMap<Long, Map<Integer, BucketMetadata>> getBucketMetadataMapForTables() {
         return bucketMetadataMapForTables;
     }
 
-    public Map<Long, Map<Integer, BucketMetadata>> getBucketMetadataMapForPartitions() {
+    public PersistentHashMap<Long, Map<Integer, BucketMetadata>>
+            getBucketMetadataMapForPartitions() {
         return bucketMetadataMapForPartitions;
     }
 
@@ -182,16 +225,10 @@ public class ServerMetadataSnapshot {
     }
 
     public boolean contains(TableBucket tableBucket) {
-        if (tableBucket.getPartitionId() == null) {
-            return bucketMetadataMapForTables.containsKey(tableBucket.getTableId())
-                    && bucketMetadataMapForTables
-                            .get(tableBucket.getTableId())
-                            .containsKey(tableBucket.getBucket());
-        } else {
-            return bucketMetadataMapForPartitions.containsKey(tableBucket.getPartitionId())
-                    && bucketMetadataMapForPartitions
-                            .get(tableBucket.getPartitionId())
-                            .containsKey(tableBucket.getBucket());
-        }
+        Map<Integer, BucketMetadata> bucketMetadata =
+                tableBucket.getPartitionId() == null
+                        ? bucketMetadataMapForTables.get(tableBucket.getTableId())
+                        : bucketMetadataMapForPartitions.get(tableBucket.getPartitionId());
+        return bucketMetadata != null && bucketMetadata.containsKey(tableBucket.getBucket());
     }
 }
@@ -29,6 +29,7 @@ import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.server.coordinator.MetadataManager;
 import org.apache.fluss.server.tablet.TabletServer;
+import org.apache.fluss.utils.PersistentHashMap;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
@@ -193,11 +194,7 @@ public class TabletServerMetadataCache implements ServerMetadataCache {
                     }
 
                     // 3. update table metadata. Always partial update.
-                    Map<TablePath, Long> tableIdByPath =
-                            new HashMap<>(serverMetadataSnapshot.getTableIdByPath());
-                    Map<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForTables =
-                            new HashMap<>(serverMetadataSnapshot.getBucketMetadataMapForTables());
-
+                    SnapshotBuilder builder = new SnapshotBuilder(serverMetadataSnapshot);
                     for (TableMetadata tableMetadata : clusterMetadata.getTableMetadataList()) {
                         TableInfo tableInfo = tableMetadata.getTableInfo();
                         TablePath tablePath = tableInfo.getTablePath();
@@ -209,84 +206,41 @@ public class TabletServerMetadataCache implements ServerMetadataCache {
                         serverSchemaCache.updateLatestSchema(tableId, (short) schemaId, schema);
 
                         if (tableId == DELETED_TABLE_ID) {
-                            Long removedTableId = tableIdByPath.remove(tablePath);
-                            if (removedTableId != null) {
-                                bucketMetadataMapForTables.remove(removedTableId);
-                            }
+                            builder.removeTable(tablePath);
                         } else if (tablePath == DELETED_TABLE_PATH) {
-                            serverMetadataSnapshot
-                                    .getTablePath(tableId)
-                                    .ifPresent(tableIdByPath::remove);
-                            bucketMetadataMapForTables.remove(tableId);
+                            builder.removeTable(tableId);
                         } else {
-                            tableIdByPath.put(tablePath, tableId);
-                            tableMetadata
-                                    .getBucketMetadataList()
-                                    .forEach(
-                                            bucketMetadata ->
-                                                    bucketMetadataMapForTables
-                                                            .computeIfAbsent(
-                                                                    tableId, k -> new HashMap<>())
-                                                            .put(
-                                                                    bucketMetadata.getBucketId(),
-                                                                    bucketMetadata));
+                            builder.putTable(
+                                    tablePath,
+                                    tableId,
+                                    tableMetadata.getBucketMetadataList(),
+                                    true);
                         }
                     }
 
-                    Map<Long, TablePath> newPathByTableId = new HashMap<>();
-                    tableIdByPath.forEach(
-                            ((tablePath, tableId) -> newPathByTableId.put(tableId, tablePath)));
-
                     // 4. update partition metadata. Always partial update.
-                    Map<PhysicalTablePath, Long> partitionIdByPath =
-                            new HashMap<>(serverMetadataSnapshot.getPartitionIdByPath());
-                    Map<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForPartitions =
-                            new HashMap<>(
-                                    serverMetadataSnapshot.getBucketMetadataMapForPartitions());
-
                     for (PartitionMetadata partitionMetadata :
                             clusterMetadata.getPartitionMetadataList()) {
                         long tableId = partitionMetadata.getTableId();
-                        TablePath tablePath = newPathByTableId.get(tableId);
+                        TablePath tablePath = builder.getTablePath(tableId);
                         String partitionName = partitionMetadata.getPartitionName();
                         PhysicalTablePath physicalTablePath =
                                 PhysicalTablePath.of(tablePath, partitionName);
                         long partitionId = partitionMetadata.getPartitionId();
                         if (partitionId == DELETED_PARTITION_ID) {
-                            Long removedPartitionId = partitionIdByPath.remove(physicalTablePath);
-                            if (removedPartitionId != null) {
-                                bucketMetadataMapForPartitions.remove(removedPartitionId);
-                            }
+                            builder.removePartition(physicalTablePath);
                         } else if (partitionName.equals(DELETED_PARTITION_NAME)) {
-                            serverMetadataSnapshot
-                                    .getPhysicalTablePath(partitionId)
-                                    .ifPresent(partitionIdByPath::remove);
-                            bucketMetadataMapForPartitions.remove(partitionId);
+                            builder.removePartition(partitionId);
                         } else {
-                            partitionIdByPath.put(physicalTablePath, partitionId);
-                            partitionMetadata
-                                    .getBucketMetadataList()
-                                    .forEach(
-                                            bucketMetadata ->
-                                                    bucketMetadataMapForPartitions
-                                                            .computeIfAbsent(
-                                                                    partitionId,
-                                                                    k -> new HashMap<>())
-                                                            .put(
-                                                                    bucketMetadata.getBucketId(),
-                                                                    bucketMetadata));
+                            builder.putPartition(
+                                    physicalTablePath,
+                                    partitionId,
+                                    partitionMetadata.getBucketMetadataList(),
+                                    true);
                         }
                     }
 
-                    serverMetadataSnapshot =
-                            new ServerMetadataSnapshot(
-                                    coordinatorServer,
-                                    newAliveTableServers,
-                                    tableIdByPath,
-                                    newPathByTableId,
-                                    partitionIdByPath,
-                                    bucketMetadataMapForTables,
-                                    bucketMetadataMapForPartitions);
+                    serverMetadataSnapshot = builder.build(coordinatorServer, newAliveTableServers);
                 });
     }
 
@@ -321,49 +275,17 @@ public class TabletServerMetadataCache implements ServerMetadataCache {
                 metadataLock,
                 () -> {
                     TableInfo tableInfo = tableMetadata.getTableInfo();
-                    TablePath tablePath = tableInfo.getTablePath();
-                    long tableId = tableInfo.getTableId();
-
-                    // Get current snapshot
                     ServerMetadataSnapshot currentSnapshot = serverMetadataSnapshot;
-
-                    // Create new maps based on current state
-                    Map<TablePath, Long> tableIdByPath =
-                            new HashMap<>(currentSnapshot.getTableIdByPath());
-                    Map<Long, TablePath> pathByTableId = new HashMap<>();
-                    Map<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForTables =
-                            new HashMap<>(currentSnapshot.getBucketMetadataMapForTables());
-
-                    // Update table mapping
-                    tableIdByPath.put(tablePath, tableId);
-                    pathByTableId.put(tableId, tablePath);
-
-                    // Update bucket metadata for this table
-                    Map<Integer, BucketMetadata> tableBucketMetadata = new HashMap<>();
-                    for (BucketMetadata bucketMetadata : tableMetadata.getBucketMetadataList()) {
-                        tableBucketMetadata.put(bucketMetadata.getBucketId(), bucketMetadata);
-                    }
-                    bucketMetadataMapForTables.put(tableId, tableBucketMetadata);
-
-                    // Copy other existing data
-                    Map<PhysicalTablePath, Long> partitionIdByPath =
-                            new HashMap<>(currentSnapshot.getPartitionIdByPath());
-                    Map<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForPartitions =
-                            new HashMap<>(currentSnapshot.getBucketMetadataMapForPartitions());
-
-                    // Build pathByTableId from tableIdByPath
-                    tableIdByPath.forEach((path, id) -> pathByTableId.put(id, path));
-
-                    // Create new snapshot
+                    SnapshotBuilder builder = new SnapshotBuilder(currentSnapshot);
+                    builder.putTable(
+                            tableInfo.getTablePath(),
+                            tableInfo.getTableId(),
+                            tableMetadata.getBucketMetadataList(),
+                            false);
                     serverMetadataSnapshot =
-                            new ServerMetadataSnapshot(
+                            builder.build(
                                     currentSnapshot.getCoordinatorServer(),
-                                    currentSnapshot.getAliveTabletServers(),
-                                    tableIdByPath,
-                                    pathByTableId,
-                                    partitionIdByPath,
-                                    bucketMetadataMapForTables,
-                                    bucketMetadataMapForPartitions);
+                                    currentSnapshot.getAliveTabletServers());
                 });
     }
 
@@ -377,60 +299,29 @@ public class TabletServerMetadataCache implements ServerMetadataCache {
         inLock(
                 metadataLock,
                 () -> {
-                    long tableId = partitionMetadata.getTableId();
-                    String partitionName = partitionMetadata.getPartitionName();
-                    long partitionId = partitionMetadata.getPartitionId();
-
-                    // Get current snapshot
                     ServerMetadataSnapshot currentSnapshot = serverMetadataSnapshot;
 
                     // Get table path from tableId
-                    Optional<TablePath> tablePathOpt = currentSnapshot.getTablePath(tableId);
+                    Optional<TablePath> tablePathOpt =
+                            currentSnapshot.getTablePath(partitionMetadata.getTableId());
                     if (!tablePathOpt.isPresent()) {
                         // If table doesn't exist in cache, we can't update partition metadata
                         return;
                     }
-                    TablePath tablePath = tablePathOpt.get();
                     PhysicalTablePath physicalTablePath =
-                            PhysicalTablePath.of(tablePath, partitionName);
-
-                    // Create new maps based on current state
-                    Map<TablePath, Long> tableIdByPath =
-                            new HashMap<>(currentSnapshot.getTableIdByPath());
-                    Map<Long, TablePath> pathByTableId = new HashMap<>();
-                    Map<PhysicalTablePath, Long> partitionIdByPath =
-                            new HashMap<>(currentSnapshot.getPartitionIdByPath());
-                    Map<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForPartitions =
-                            new HashMap<>(currentSnapshot.getBucketMetadataMapForPartitions());
-
-                    // Update partition mapping
-                    partitionIdByPath.put(physicalTablePath, partitionId);
-
-                    // Update bucket metadata for this partition
-                    Map<Integer, BucketMetadata> partitionBucketMetadata = new HashMap<>();
-                    for (BucketMetadata bucketMetadata :
-                            partitionMetadata.getBucketMetadataList()) {
-                        partitionBucketMetadata.put(bucketMetadata.getBucketId(), bucketMetadata);
-                    }
-                    bucketMetadataMapForPartitions.put(partitionId, partitionBucketMetadata);
-
-                    // Copy other existing data
-                    Map<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForTables =
-                            new HashMap<>(currentSnapshot.getBucketMetadataMapForTables());
-
-                    // Build pathByTableId from tableIdByPath
-                    tableIdByPath.forEach((path, id) -> pathByTableId.put(id, path));
-
-                    // Create new snapshot
+                            PhysicalTablePath.of(
+                                    tablePathOpt.get(), partitionMetadata.getPartitionName());
+
+                    SnapshotBuilder builder = new SnapshotBuilder(currentSnapshot);
+                    builder.putPartition(
+                            physicalTablePath,
+                            partitionMetadata.getPartitionId(),
+                            partitionMetadata.getBucketMetadataList(),
+                            false);
                     serverMetadataSnapshot =
-                            new ServerMetadataSnapshot(
+                            builder.build(
                                     currentSnapshot.getCoordinatorServer(),
-                                    currentSnapshot.getAliveTabletServers(),
-                                    tableIdByPath,
-                                    pathByTableId,
-                                    partitionIdByPath,
-                                    bucketMetadataMapForTables,
-                                    bucketMetadataMapForPartitions);
+                                    currentSnapshot.getAliveTabletServers());
                 });
     }
 
@@ -438,4 +329,150 @@ public class TabletServerMetadataCache implements ServerMetadataCache {
     public ServerSchemaCache getServerSchemaCache() {
         return serverSchemaCache;
     }
+
+    @VisibleForTesting
+    ServerMetadataSnapshot getServerMetadataSnapshot() {
+        return serverMetadataSnapshot;
+    }
+
+    /**
+     * Builds a new {@link ServerMetadataSnapshot} from the current one by applying the updates to
+     * the {@link PersistentHashMap}s of the current snapshot, so an update costs time proportional
+     * to the updated tables, partitions and buckets instead of all the metadata in the cache.
+     */
+    private static final class SnapshotBuilder {
+
+        private PersistentHashMap<TablePath, Long> tableIdByPath;
+        private PersistentHashMap<Long, TablePath> pathByTableId;
+        private PersistentHashMap<PhysicalTablePath, Long> partitionIdByPath;
+        private PersistentHashMap<Long, PhysicalTablePath> physicalPathByPartitionId;
+        private PersistentHashMap<Long, Map<Integer, BucketMetadata>> bucketMetadataMapForTables;
+        private PersistentHashMap<Long, Map<Integer, BucketMetadata>>
+                bucketMetadataMapForPartitions;
+
+        private SnapshotBuilder(ServerMetadataSnapshot snapshot) {
+            this.tableIdByPath = snapshot.getTableIdByPath();
+            this.pathByTableId = snapshot.getPathByTableId();
+            this.partitionIdByPath = snapshot.getPartitionIdByPath();
+            this.physicalPathByPartitionId = snapshot.getPhysicalPathByPartitionId();
+            this.bucketMetadataMapForTables = snapshot.getBucketMetadataMapForTables();
+            this.bucketMetadataMapForPartitions = snapshot.getBucketMetadataMapForPartitions();
+        }
+
+        @Nullable
+        private TablePath getTablePath(long tableId) {
+            return pathByTableId.get(tableId);
+        }
+
+        /**
+         * Puts the table and its bucket metadata, the bucket metadata is merged with the existing
+         * bucket metadata of the table if {@code merge} is true, otherwise replaces it.
+         */
+        private void putTable(
+                TablePath tablePath,
+                long tableId,
+                List<BucketMetadata> bucketMetadataList,
+                boolean merge) {
+            Long previousTableId = tableIdByPath.get(tablePath);
+            if (previousTableId != null && previousTableId != tableId) {
+                pathByTableId = pathByTableId.minus(previousTableId);
+            }
+            tableIdByPath = tableIdByPath.plus(tablePath, tableId);
+            pathByTableId = pathByTableId.plus(tableId, tablePath);
+            bucketMetadataMapForTables =
+                    putBucketMetadata(
+                            bucketMetadataMapForTables, tableId, bucketMetadataList, merge);
+        }
+
+        private void removeTable(TablePath tablePath) {
+            Long tableId = tableIdByPath.get(tablePath);
+            if (tableId != null) {
+                tableIdByPath = tableIdByPath.minus(tablePath);
+                pathByTableId = pathByTableId.minus(tableId);
+                bucketMetadataMapForTables = bucketMetadataMapForTables.minus(tableId);
+            }
+        }
+
+        private void removeTable(long tableId) {
+            TablePath tablePath = pathByTableId.get(tableId);
+            if (tablePath != null) {
+                tableIdByPath = tableIdByPath.minus(tablePath);
+                pathByTableId = pathByTableId.minus(tableId);
+            }
+            bucketMetadataMapForTables = bucketMetadataMapForTables.minus(tableId);
+        }
+
+        /**
+         * Puts the partition and its bucket metadata, the bucket metadata is merged with the
+         * existing bucket metadata of the partition if {@code merge} is true, otherwise replaces
+         * it.
+         */
+        private void putPartition(
+                PhysicalTablePath physicalTablePath,
+                long partitionId,
+                List<BucketMetadata> bucketMetadataList,
+                boolean merge) {
+            Long previousPartitionId = partitionIdByPath.get(physicalTablePath);
+            if (previousPartitionId != null && previousPartitionId != partitionId) {
+                physicalPathByPartitionId = physicalPathByPartitionId.minus(previousPartitionId);
+            }
+            partitionIdByPath = partitionIdByPath.plus(physicalTablePath, partitionId);
+            physicalPathByPartitionId =
+                    physicalPathByPartitionId.plus(partitionId, physicalTablePath);
+            bucketMetadataMapForPartitions =
+                    putBucketMetadata(
+                            bucketMetadataMapForPartitions, partitionId, bucketMetadataList, merge);
+        }
+
+        private void removePartition(PhysicalTablePath physicalTablePath) {
+            Long partitionId = partitionIdByPath.get(physicalTablePath);
+            if (partitionId != null) {
+                partitionIdByPath = partitionIdByPath.minus(physicalTablePath);
+                physicalPathByPartitionId = physicalPathByPartitionId.minus(partitionId);
+                bucketMetadataMapForPartitions = bucketMetadataMapForPartitions.minus(partitionId);
+            }
+        }
+
+        private void removePartition(long partitionId) {
+            PhysicalTablePath physicalTablePath = physicalPathByPartitionId.get(partitionId);
+            if (physicalTablePath != null) {
+                partitionIdByPath = partitionIdByPath.minus(physicalTablePath);
+                physicalPathByPartitionId = physicalPathByPartitionId.minus(partitionId);
+            }
+            bucketMetadataMapForPartitions = bucketMetadataMapForPartitions.minus(partitionId);
+        }
+
+        private static PersistentHashMap<Long, Map<Integer, BucketMetadata>> putBucketMetadata(
+                PersistentHashMap<Long, Map<Integer, BucketMetadata>> bucketMetadataMap,
+                long id,
+                List<BucketMetadata> bucketMetadataList,
+                boolean merge) {
+            Map<Integer, BucketMetadata> currentBuckets = bucketMetadataMap.get(id);
+            if (merge && currentBuckets == null && bucketMetadataList.isEmpty()) {
+                return bucketMetadataMap;
+            }
+            PersistentHashMap<Integer, BucketMetadata> buckets =
+                    merge && currentBuckets != null
+                            ? PersistentHashMap.copyOf(currentBuckets)
+                            : PersistentHashMap.empty();
+            for (BucketMetadata bucketMetadata : bucketMetadataList) {
+                buckets = buckets.plus(bucketMetadata.getBucketId(), bucketMetadata);
+            }
+            return bucketMetadataMap.plus(id, buckets);
+        }
+
+        private ServerMetadataSnapshot build(
+                @Nullable ServerInfo coordinatorServer,
+                Map<Integer, ServerInfo> aliveTabletServers) {
+            return new ServerMetadataSnapshot(
+                    coordinatorServer,
+                    aliveTabletServers,
+                    tableIdByPath,
+                    pathByTableId,
+                    partitionIdByPath,
+                    physicalPathByPartitionId,
+                    bucketMetadataMapForTables,
+                    bucketMetadataMapForPartitions);
+        }
+    }
 }
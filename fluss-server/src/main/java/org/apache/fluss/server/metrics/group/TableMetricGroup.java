@@ -356,6 +356,24 @@ public class TableMetricGroup extends AbstractMetricGroup {
                         allRocksDBStatistics()
                                 .mapToLong(RocksDBStatistics::getCompactionBytesWritten)
                                 .sum());
+        gauge(
+                MetricNames.ROCKSDB_BLOCK_CACHE_HIT_TOTAL,
+                () ->
+                        allRocksDBStatistics()
+                                .mapToLong(RocksDBStatistics::getBlockCacheHitCount)
+                                .sum());
+        gauge(
+                MetricNames.ROCKSDB_BLOCK_CACHE_MISS_TOTAL,
+                () ->
+                        allRocksDBStatistics()
+                                .mapToLong(RocksDBStatistics::getBlockCacheMissCount)
+                                .sum());
+        gauge(
+                MetricNames.ROCKSDB_MEMTABLE_MEMORY_USAGE_TOTAL,
+                () ->
+                        allRocksDBStatistics()
+                                .mapToLong(RocksDBStatistics::getMemTableMemoryUsage)
+                                .sum());
     }
 
     /** Metric group for specific kind of tablet of a table. */
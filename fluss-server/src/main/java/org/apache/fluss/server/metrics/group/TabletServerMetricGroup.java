@@ -30,10 +30,14 @@ import org.apache.fluss.metrics.SimpleCounter;
 import org.apache.fluss.metrics.ThreadSafeSimpleCounter;
 import org.apache.fluss.metrics.groups.AbstractMetricGroup;
 import org.apache.fluss.metrics.registry.MetricRegistry;
+import org.apache.fluss.server.kv.rocksdb.RocksDBSharedResources;
 import org.apache.fluss.server.kv.rocksdb.RocksDBStatistics;
 import org.apache.fluss.utils.MapUtils;
 
+import javax.annotation.Nullable;
+
 import java.util.Map;
+import java.util.stream.Stream;
 
 /** The metric group for tablet server. */
 public class TabletServerMetricGroup extends AbstractMetricGroup {
@@ -76,6 +80,9 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
     private final Counter isrExpands;
     private final Counter failedIsrUpdates;
 
+    // the shared RocksDB memory resources, null if every RocksDB instance has its own block cache
+    private volatile @Nullable RocksDBSharedResources sharedRocksDBResources;
+
     public TabletServerMetricGroup(
             MetricRegistry registry, String clusterId, String rack, String hostname, int serverId) {
         super(registry, new String[] {clusterId, hostname, NAME}, null);
@@ -144,14 +151,42 @@ public class TabletServerMetricGroup extends AbstractMetricGroup {
      * all tables.
      */
     private void registerServerRocksDBMetrics() {
-        // Total memory usage across all RocksDB instances in this server.
+        // Total memory usage across all RocksDB instances in this server. If the memory is shared,
+        // the memtables and the index and filter blocks of the instances are charged to the shared
+        // block cache, so only the table readers of the instances are added to the shared cache.
         gauge(
                 MetricNames.ROCKSDB_MEMORY_USAGE_TOTAL,
-                () ->
-                        metricGroupByTable.values().stream()
-                                .flatMap(TableMetricGroup::allRocksDBStatistics)
+                () -> {
+                    RocksDBSharedResources sharedResources = sharedRocksDBResources;
+                    if (sharedResources == null) {
+                        return allRocksDBStatistics()
                                 .mapToLong(RocksDBStatistics::getTotalMemoryUsage)
-                                .sum());
+                                .sum();
+                    }
+                    return sharedResources.getBlockCacheUsage()
+                            + allRocksDBStatistics()
+                                    .mapToLong(RocksDBStatistics::getTableReadersMemoryUsage)
+                                    .sum();
+                });
+    }
+
+    private Stream<RocksDBStatistics> allRocksDBStatistics() {
+        return metricGroupByTable.values().stream().flatMap(TableMetricGroup::allRocksDBStatistics);
+    }
+
+    /**
+     * Register the metrics of the RocksDB memory resources shared by all RocksDB instances in this
+     * server. This should be called at most once.
+     */
+    public void registerSharedRocksDBResources(RocksDBSharedResources sharedResources) {
+        this.sharedRocksDBResources = sharedResources;
+        gauge(
+                MetricNames.ROCKSDB_SHARED_BLOCK_CACHE_CAPACITY,
+                sharedResources::getBlockCacheCapacity);
+        gauge(MetricNames.ROCKSDB_SHARED_BLOCK_CACHE_USAGE, sharedResources::getBlockCacheUsage);
+        gauge(
+                MetricNames.ROCKSDB_SHARED_BLOCK_CACHE_PINNED_USAGE,
+                sharedResources::getBlockCachePinnedUsage);
     }
 
     @Override
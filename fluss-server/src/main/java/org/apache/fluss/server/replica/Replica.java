@@ -17,8 +17,11 @@
 
 package org.apache.fluss.server.replica;
 
+import org.apache.fluss.aggregate.AggregateCall;
+import org.apache.fluss.aggregate.GroupAggregator;
 import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.compression.ArrowCompressionInfo;
+import org.apache.fluss.compression.RowCompressionType;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.TableConfig;
 import org.apache.fluss.exception.FencedLeaderEpochException;
@@ -34,16 +37,24 @@ import org.apache.fluss.fs.FsPath;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.SchemaGetter;
+import org.apache.fluss.metadata.SchemaInfo;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.metrics.Counter;
 import org.apache.fluss.metrics.MetricNames;
+import org.apache.fluss.metrics.ThreadSafeSimpleCounter;
 import org.apache.fluss.metrics.groups.MetricGroup;
+import org.apache.fluss.record.ColumnarBatch;
 import org.apache.fluss.record.DefaultValueRecordBatch;
 import org.apache.fluss.record.KvRecordBatch;
+import org.apache.fluss.record.LogRecord;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.row.columnar.ColumnarRow;
+import org.apache.fluss.rpc.messages.CreateKvCheckpointResponse;
 import org.apache.fluss.rpc.protocol.Errors;
 import org.apache.fluss.server.SequenceIDCounter;
 import org.apache.fluss.server.coordinator.CoordinatorContext;
@@ -58,6 +69,9 @@ import org.apache.fluss.server.kv.snapshot.KvFileHandleAndLocalPath;
 import org.apache.fluss.server.kv.snapshot.KvSnapshotDataDownloader;
 import org.apache.fluss.server.kv.snapshot.KvSnapshotDownloadSpec;
 import org.apache.fluss.server.kv.snapshot.KvTabletSnapshotTarget;
+import org.apache.fluss.server.kv.snapshot.PeerKvCheckpointDownloader;
+import org.apache.fluss.server.kv.snapshot.PeerKvCheckpointManager;
+import org.apache.fluss.server.kv.snapshot.PeerKvCheckpointManager.PeerKvCheckpoint;
 import org.apache.fluss.server.kv.snapshot.PeriodicSnapshotManager;
 import org.apache.fluss.server.kv.snapshot.RocksIncrementalSnapshot;
 import org.apache.fluss.server.kv.snapshot.SnapshotContext;
@@ -66,6 +80,7 @@ import org.apache.fluss.server.log.FetchIsolation;
 import org.apache.fluss.server.log.FetchParams;
 import org.apache.fluss.server.log.ListOffsetsParam;
 import org.apache.fluss.server.log.LogAppendInfo;
+import org.apache.fluss.server.log.LogCompaction;
 import org.apache.fluss.server.log.LogManager;
 import org.apache.fluss.server.log.LogOffsetMetadata;
 import org.apache.fluss.server.log.LogOffsetSnapshot;
@@ -87,6 +102,8 @@ import org.apache.fluss.server.zk.ZkSequenceIDCounter;
 import org.apache.fluss.server.zk.ZooKeeperClient;
 import org.apache.fluss.server.zk.data.LeaderAndIsr;
 import org.apache.fluss.server.zk.data.ZkData;
+import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.CloseableIterator;
 import org.apache.fluss.utils.CloseableRegistry;
 import org.apache.fluss.utils.FlussPaths;
 import org.apache.fluss.utils.IOUtils;
@@ -171,6 +188,8 @@ public final class Replica {
     // logFormat and arrowCompressionInfo are used in hot-path, so cache them here.
     private final LogFormat logFormat;
     private final ArrowCompressionInfo arrowCompressionInfo;
+    // whether the batches of log magic v2 are written into the log, used in hot-path as well.
+    private final boolean writesLogMagicV2;
     private final AtomicReference<Integer> leaderReplicaIdOpt = new AtomicReference<>();
     private final ReadWriteLock leaderIsrUpdateLock = new ReentrantReadWriteLock();
     private final Clock clock;
@@ -190,6 +209,14 @@ public final class Replica {
     private volatile int bucketEpoch = LeaderAndIsr.INITIAL_BUCKET_EPOCH;
     private volatile int coordinatorEpoch = CoordinatorContext.INITIAL_COORDINATOR_EPOCH;
 
+    /**
+     * The high watermark of the leader propagated by the fetch log responses when this replica is a
+     * follower, -1 if unknown. The client reads served by the follower are bounded by it.
+     */
+    private volatile long leaderHighWatermark = -1L;
+    /** The last time this follower caught up to the high watermark of the leader, -1 if never. */
+    private volatile long lastCaughtUpLeaderTimeMs = -1L;
+
     // null if table without pk or haven't become leader
     private volatile @Nullable KvTablet kvTablet;
     private volatile @Nullable CloseableRegistry closeableRegistryForKv;
@@ -202,6 +229,11 @@ public final class Replica {
 
     private MetricGroup lakeTieringMetricGroup;
 
+    // ------- load of the replica, reported to the coordinator for rebalance
+    private final Counter bytesIn = new ThreadSafeSimpleCounter();
+    private final Counter bytesOut = new ThreadSafeSimpleCounter();
+    private final Counter lookupCount = new ThreadSafeSimpleCounter();
+
     public Replica(
             PhysicalTablePath physicalPath,
             TableBucket tableBucket,
@@ -243,12 +275,24 @@ public final class Replica {
         this.tableConfig = tableInfo.getTableConfig();
         this.logFormat = tableConfig.getLogFormat();
         this.arrowCompressionInfo = tableConfig.getArrowCompressionInfo();
+        // the row compression is only applied to the INDEXED and COMPACTED log formats, and the
+        // dictionary encoding is only applied to the ARROW log format
+        this.writesLogMagicV2 =
+                logFormat == LogFormat.ARROW
+                        ? !tableConfig.getArrowDictionaryEncodingColumns().isEmpty()
+                        : tableConfig.getRowCompressionInfo().getCompressionType()
+                                != RowCompressionType.NONE;
         this.snapshotContext = snapshotContext;
         // create a closeable registry for the replica
         this.closeableRegistry = new CloseableRegistry();
 
         this.logTablet = createLog(lazyHighWatermarkCheckpoint);
         this.logTablet.updateIsDataLakeEnabled(tableConfig.isDataLakeEnabled());
+        if (isKvTable() && tableConfig.isLogCompactionEnabled()) {
+            this.logTablet.updateCompaction(
+                    LogCompaction.of(
+                            tableConfig, schemaGetter, tableInfo.getPhysicalPrimaryKeys()));
+        }
         this.clock = clock;
         registerMetrics();
     }
@@ -287,6 +331,21 @@ public final class Replica {
         }
     }
 
+    /** The number of the bytes appended to the log of this replica as leader. */
+    public Counter bytesIn() {
+        return bytesIn;
+    }
+
+    /** The number of the bytes fetched from the log of this replica as leader. */
+    public Counter bytesOut() {
+        return bytesOut;
+    }
+
+    /** The number of the keys looked up from the kv of this replica as leader. */
+    public Counter lookupCount() {
+        return lookupCount;
+    }
+
     public boolean isKvTable() {
         return kvManager != null;
     }
@@ -295,6 +354,15 @@ public final class Replica {
         return arrowCompressionInfo;
     }
 
+    /**
+     * Returns true if the batches of log magic v2 are written into the log of the table, which
+     * can't be read by the fetchers of old versions, see {@link
+     * org.apache.fluss.record.LogRecordBatchFormat#LOG_MAGIC_VALUE_V2}.
+     */
+    public boolean writesLogMagicV2() {
+        return writesLogMagicV2;
+    }
+
     public int getLeaderEpoch() {
         return leaderEpoch;
     }
@@ -397,7 +465,7 @@ public final class Replica {
                             int requestLeaderEpoch = data.getLeaderEpoch();
                             if (requestLeaderEpoch > leaderEpoch) {
                                 leaderEpoch = requestLeaderEpoch;
-                                onBecomeNewLeader();
+                                onBecomeNewLeader(leaderReplicaIdOpt.get());
                                 leaderReplicaIdOpt.set(localTabletServerId);
                                 LOG.info(
                                         "TabletServer {} becomes leader for bucket {}",
@@ -506,13 +574,44 @@ public final class Replica {
                 leaderIsrUpdateLock,
                 () -> {
                     LogTablet logTablet = localLogOrThrow(fetchOnlyFromLeader);
-                    return logTablet.fetchOffsetSnapshot();
+                    if (fetchOnlyFromLeader || isLeader()) {
+                        return logTablet.fetchOffsetSnapshot();
+                    } else {
+                        // the client fetches from this follower, which only exposes the records
+                        // under the high watermark of the leader
+                        return logTablet.fetchOffsetSnapshot(leaderHighWatermarkOrThrow());
+                    }
+                });
+    }
+
+    /**
+     * Returns a kv checkpoint of the bucket for the other tablet server to bootstrap its kv from. A
+     * new checkpoint is created if this replica is the leader, otherwise the checkpoint retained
+     * when this replica became follower is returned.
+     */
+    public PeerKvCheckpoint getPeerKvCheckpoint(PeerKvCheckpointManager peerKvCheckpointManager)
+            throws IOException {
+        return inReadLock(
+                leaderIsrUpdateLock,
+                () -> {
+                    KvTablet kv = this.kvTablet;
+                    if (isLeader() && kv != null) {
+                        return peerKvCheckpointManager.createCheckpoint(kv);
+                    }
+                    return peerKvCheckpointManager
+                            .getRetainedCheckpoint(tableBucket)
+                            .orElseThrow(
+                                    () ->
+                                            new KvStorageException(
+                                                    String.format(
+                                                            "No kv checkpoint is available for %s on tablet server %s.",
+                                                            tableBucket, localTabletServerId)));
                 });
     }
 
     // -------------------------------------------------------------------------------------------
 
-    private void onBecomeNewLeader() {
+    private void onBecomeNewLeader(@Nullable Integer previousLeader) {
         updateLeaderEndOffsetSnapshot();
 
         if (isDataLakeEnabled()) {
@@ -525,7 +624,7 @@ public final class Replica {
             // if exist. Otherwise, it'll use still the old kv tablet which will cause data loss
             dropKv();
             // now, we can create a new kv tablet
-            createKv();
+            createKv(previousLeader);
         }
     }
 
@@ -546,7 +645,15 @@ public final class Replica {
     }
 
     private void onBecomeNewFollower() {
+        leaderHighWatermark = -1L;
+        lastCaughtUpLeaderTimeMs = -1L;
         if (isKvTable()) {
+            PeerKvCheckpointManager peerKvCheckpointManager =
+                    snapshotContext.getPeerKvCheckpointManager();
+            if (kvTablet != null && peerKvCheckpointManager != null) {
+                // retain a checkpoint of the kv tablet for the new leader to bootstrap from
+                peerKvCheckpointManager.retainCheckpoint(kvTablet);
+            }
             // it should be from leader to follower, we need to destroy the kv tablet
             dropKv();
         }
@@ -586,7 +693,13 @@ public final class Replica {
                 isDataLakeEnabled);
     }
 
-    private void createKv() {
+    /**
+     * Creates the kv tablet of the new leader.
+     *
+     * @param previousLeader the previous leader of the bucket, whose kv checkpoint is used to
+     *     bootstrap the kv tablet if peer bootstrap is enabled, null if unknown.
+     */
+    private void createKv(@Nullable Integer previousLeader) {
         try {
             // create a closeable registry for the closable related to kv
             closeableRegistryForKv = new CloseableRegistry();
@@ -600,10 +713,18 @@ public final class Replica {
         }
 
         // init kv tablet and get the snapshot it uses to init if have any
+        Integer peerServerId =
+                previousLeader != null
+                                && previousLeader != localTabletServerId
+                                && snapshotContext.getPeerKvCheckpointDownloader() != null
+                        ? previousLeader
+                        : null;
         Optional<CompletedSnapshot> snapshotUsed = Optional.empty();
         for (int i = 1; i <= INIT_KV_TABLET_MAX_RETRY_TIMES; i++) {
             try {
-                snapshotUsed = initKvTablet();
+                // the last attempt always restores from the remote snapshot
+                snapshotUsed =
+                        initKvTablet(i < INIT_KV_TABLET_MAX_RETRY_TIMES ? peerServerId : null);
                 break;
             } catch (Exception e) {
                 LOG.warn(
@@ -642,11 +763,14 @@ public final class Replica {
     }
 
     /**
-     * Init kv tablet from snapshot if any or just from log.
+     * Init kv tablet from the kv checkpoint of the peer tablet server or the snapshot if any, or
+     * just from log.
      *
-     * @return the snapshot used to init kv tablet, empty if no any snapshot.
+     * @param peerServerId the tablet server to bootstrap the kv tablet from, null if the kv tablet
+     *     shouldn't be bootstrapped from any peer.
+     * @return the latest snapshot of the bucket, empty if no any snapshot.
      */
-    private Optional<CompletedSnapshot> initKvTablet() {
+    private Optional<CompletedSnapshot> initKvTablet(@Nullable Integer peerServerId) {
         checkNotNull(kvManager);
         long startTime = clock.milliseconds();
         LOG.info("Start to init kv tablet for {} of table {}.", tableBucket, physicalPath);
@@ -669,7 +793,26 @@ public final class Replica {
         long restoreStartOffset = 0;
         Optional<CompletedSnapshot> optCompletedSnapshot = getLatestSnapshot(tableBucket);
         try {
-            if (optCompletedSnapshot.isPresent()) {
+            CreateKvCheckpointResponse peerCheckpoint =
+                    peerServerId == null
+                            ? null
+                            : getPeerKvCheckpoint(peerServerId, optCompletedSnapshot.orElse(null));
+            if (peerCheckpoint != null) {
+                LOG.info(
+                        "Use kv checkpoint {} of tablet server {} at log offset {} to restore kv tablet for {} of table {}.",
+                        peerCheckpoint.getCheckpointId(),
+                        peerServerId,
+                        peerCheckpoint.getLogOffset(),
+                        tableBucket,
+                        physicalPath);
+                // always create a new dir for the kv tablet
+                File tabletDir = kvManager.createTabletDir(physicalPath, tableBucket);
+                downloadPeerKvCheckpoint(peerServerId, peerCheckpoint, tabletDir.toPath());
+                kvTablet = kvManager.loadKv(tabletDir, schemaGetter);
+
+                checkNotNull(kvTablet, "kv tablet should not be null.");
+                restoreStartOffset = peerCheckpoint.getLogOffset();
+            } else if (optCompletedSnapshot.isPresent()) {
                 LOG.info(
                         "Use snapshot {} to restore kv tablet for {} of table {}.",
                         optCompletedSnapshot.get(),
@@ -705,7 +848,9 @@ public final class Replica {
                                 arrowCompressionInfo);
             }
 
-            logTablet.updateMinRetainOffset(restoreStartOffset);
+            // the log since the latest snapshot is still required to restore from the snapshot
+            logTablet.updateMinRetainOffset(
+                    optCompletedSnapshot.map(CompletedSnapshot::getLogOffset).orElse(0L));
             recoverKvTablet(restoreStartOffset);
         } catch (Exception e) {
             throw new KvStorageException(
@@ -729,6 +874,63 @@ public final class Replica {
         return optCompletedSnapshot;
     }
 
+    /**
+     * Requests the peer tablet server to create a kv checkpoint of the bucket, returns null if the
+     * checkpoint can't be used, in which case the kv tablet is restored from the snapshot.
+     */
+    @Nullable
+    private CreateKvCheckpointResponse getPeerKvCheckpoint(
+            int peerServerId, @Nullable CompletedSnapshot completedSnapshot) {
+        PeerKvCheckpointDownloader downloader =
+                checkNotNull(snapshotContext.getPeerKvCheckpointDownloader());
+        CreateKvCheckpointResponse checkpoint;
+        try {
+            checkpoint = downloader.createCheckpoint(peerServerId, tableBucket);
+        } catch (Exception e) {
+            LOG.warn(
+                    "Fail to create kv checkpoint for {} on tablet server {}, restore from snapshot.",
+                    tableBucket,
+                    peerServerId,
+                    e);
+            downloader.discard(tableBucket);
+            return null;
+        }
+
+        long checkpointLogOffset = checkpoint.getLogOffset();
+        // the checkpoint is useless if it is not newer than the snapshot, and it can't be used if
+        // the log to recover the kv from the checkpoint doesn't exist in local
+        if ((completedSnapshot != null && checkpointLogOffset <= completedSnapshot.getLogOffset())
+                || checkpointLogOffset < logTablet.localLogStartOffset()
+                || checkpointLogOffset > logTablet.localLogEndOffset()) {
+            LOG.info(
+                    "Skip kv checkpoint {} for {} at log offset {}, the local log is in [{}, {}] "
+                            + "and the latest snapshot is {}.",
+                    checkpoint.getCheckpointId(),
+                    tableBucket,
+                    checkpointLogOffset,
+                    logTablet.localLogStartOffset(),
+                    logTablet.localLogEndOffset(),
+                    completedSnapshot);
+            downloader.discard(tableBucket);
+            return null;
+        }
+        return checkpoint;
+    }
+
+    private void downloadPeerKvCheckpoint(
+            int peerServerId, CreateKvCheckpointResponse checkpoint, Path kvTabletDir)
+            throws Exception {
+        Path kvDbPath = kvTabletDir.resolve(RocksDBKvBuilder.DB_INSTANCE_DIR_STRING);
+        long start = clock.milliseconds();
+        checkNotNull(snapshotContext.getPeerKvCheckpointDownloader())
+                .download(peerServerId, tableBucket, checkpoint, kvDbPath);
+        LOG.info(
+                "Download kv checkpoint {} to directory {} finish, cost {} ms.",
+                checkpoint.getCheckpointId(),
+                kvDbPath,
+                clock.milliseconds() - start);
+    }
+
     private void downloadKvSnapshots(CompletedSnapshot completedSnapshot, Path kvTabletDir)
             throws IOException {
         Path kvDbPath = kvTabletDir.resolve(RocksDBKvBuilder.DB_INSTANCE_DIR_STRING);
@@ -1000,11 +1202,29 @@ public final class Replica {
                     leaderIsrUpdateLock,
                     () -> {
                         LogTablet localLog = localLogOrThrow(fetchParams.fetchOnlyLeader());
-                        return readRecords(fetchParams, localLog);
+                        return isLeader()
+                                ? readRecords(fetchParams, localLog)
+                                : readRecordsAsFollower(fetchParams, localLog);
                     });
         }
     }
 
+    /**
+     * Updates the high watermark of the leader received by this follower replica from a fetch log
+     * response, which must be called after the fetched records are appended.
+     */
+    public void updateLeaderHighWatermark(long leaderHighWatermark) {
+        this.leaderHighWatermark = leaderHighWatermark;
+        if (logTablet.localLogEndOffset() >= leaderHighWatermark) {
+            lastCaughtUpLeaderTimeMs = clock.milliseconds();
+        }
+    }
+
+    @VisibleForTesting
+    public long getLeaderHighWatermark() {
+        return leaderHighWatermark;
+    }
+
     /**
      * Check and maybe increment the high watermark of the replica (leader). this function can be
      * triggered when:
@@ -1223,6 +1443,37 @@ public final class Replica {
                 });
     }
 
+    /** Lookup the values of the rows by the given secondary index of the table. */
+    public List<byte[]> indexLookup(int indexId, byte[] indexKey) {
+        if (!isKvTable()) {
+            throw new NonPrimaryKeyTableException(
+                    "Try to do index lookup on a non primary key table: " + getTablePath());
+        }
+
+        return inReadLock(
+                leaderIsrUpdateLock,
+                () -> {
+                    try {
+                        if (!isLeader()) {
+                            throw new NotLeaderOrFollowerException(
+                                    String.format(
+                                            "Leader not local for bucket %s on tabletServer %d",
+                                            tableBucket, localTabletServerId));
+                        }
+                        checkNotNull(
+                                kvTablet, "KvTablet for the replica to get key shouldn't be null.");
+                        return kvTablet.indexLookup(indexId, indexKey);
+                    } catch (IOException e) {
+                        String errorMsg =
+                                String.format(
+                                        "Failed to do index lookup from local kv for table bucket %s, the cause is: %s",
+                                        tableBucket, e.getMessage());
+                        LOG.error(errorMsg, e);
+                        throw new KvStorageException(errorMsg, e);
+                    }
+                });
+    }
+
     public DefaultValueRecordBatch limitKvScan(int limit) {
         if (!isKvTable()) {
             throw new NonPrimaryKeyTableException(
@@ -1297,6 +1548,180 @@ public final class Replica {
                 });
     }
 
+    /**
+     * Creates a {@link GroupAggregator} over the rows of the latest schema of the table, to
+     * aggregate the rows of this bucket by {@link #aggregateKvScan} or {@link #aggregateLogScan}.
+     */
+    public GroupAggregator createAggregator(int[] groupBy, List<AggregateCall> aggregateCalls) {
+        RowType rowType = schemaGetter.getLatestSchemaInfo().getSchema().getRowType();
+        for (int column : groupBy) {
+            if (column < 0 || column >= rowType.getFieldCount()) {
+                throw new InvalidColumnProjectionException(
+                        String.format(
+                                "The group by column %s is out of the row type %s of table bucket %s.",
+                                column, rowType, tableBucket));
+            }
+        }
+        try {
+            return new GroupAggregator(rowType, groupBy, aggregateCalls);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidColumnProjectionException(e.getMessage());
+        }
+    }
+
+    /**
+     * Aggregates all the rows of the kv by the given aggregator. The rows are read from a
+     * consistent snapshot of the kv, and the scan doesn't block the writes to the kv.
+     */
+    public void aggregateKvScan(GroupAggregator aggregator) {
+        if (!isKvTable()) {
+            throw new NonPrimaryKeyTableException(
+                    "the primary key table not exists for " + tableBucket);
+        }
+
+        KvTablet kv =
+                inReadLock(
+                        leaderIsrUpdateLock,
+                        () -> {
+                            if (!isLeader()) {
+                                throw new NotLeaderOrFollowerException(
+                                        String.format(
+                                                "Leader not local for bucket %s on tabletServer %d",
+                                                tableBucket, localTabletServerId));
+                            }
+                            return checkNotNull(
+                                    kvTablet,
+                                    "KvTablet for the replica to aggregate scan shouldn't be null.");
+                        });
+        try {
+            kv.aggregateScan(aggregator);
+        } catch (IOException e) {
+            String errorMsg =
+                    String.format(
+                            "Failed to aggregate scan from local kv for table bucket %s, the cause is: %s",
+                            tableBucket, e.getMessage());
+            LOG.error(errorMsg, e);
+            throw new KvStorageException(errorMsg, e);
+        }
+    }
+
+    /**
+     * Aggregates the records of the local log under the high watermark by the given aggregator.
+     *
+     * @return the log offset before which the records are not aggregated as they are only in the
+     *     remote storage, or null if all the records under the high watermark are aggregated.
+     */
+    @Nullable
+    public Long aggregateLogScan(GroupAggregator aggregator) {
+        // capture the range to aggregate under the lock, but read the log without holding the
+        // lock, as reading the whole local log may take a long time
+        Tuple2<Long, Long> range =
+                inReadLock(
+                        leaderIsrUpdateLock,
+                        () -> {
+                            if (!isLeader()) {
+                                throw new NotLeaderOrFollowerException(
+                                        String.format(
+                                                "Leader not local for bucket %s on tabletServer %d",
+                                                tableBucket, localTabletServerId));
+                            }
+                            checkNotNull(
+                                    logTablet,
+                                    "LogTablet for the replica to aggregate scan shouldn't be null.");
+                            return Tuple2.of(
+                                    logTablet.localLogStartOffset(), logTablet.getHighWatermark());
+                        });
+        long startOffset = range.f0;
+        long highWatermark = range.f1;
+        try (LogRecordReadContext readContext = createLogReadContext()) {
+            long readOffset = startOffset;
+            while (readOffset < highWatermark) {
+                FetchDataInfo dataInfo =
+                        logTablet.read(
+                                readOffset,
+                                Integer.MAX_VALUE,
+                                FetchIsolation.HIGH_WATERMARK,
+                                true,
+                                null);
+                long nextOffset = readOffset;
+                for (LogRecordBatch batch : dataInfo.getRecords().batches()) {
+                    if (batch.nextLogOffset() <= readOffset) {
+                        continue;
+                    }
+                    aggregateBatch(batch, readContext, readOffset, highWatermark, aggregator);
+                    nextOffset = batch.nextLogOffset();
+                }
+                if (nextOffset == readOffset) {
+                    // no more records under the high watermark
+                    break;
+                }
+                readOffset = nextOffset;
+            }
+        } catch (IOException e) {
+            String errorMsg =
+                    String.format(
+                            "Failed to aggregate scan from local log for table bucket %s, the cause is: %s",
+                            tableBucket, e.getMessage());
+            LOG.error(errorMsg, e);
+            throw new LogStorageException(errorMsg, e);
+        }
+        return logTablet.logStartOffset() < startOffset ? startOffset : null;
+    }
+
+    private LogRecordReadContext createLogReadContext() {
+        SchemaInfo schemaInfo = schemaGetter.getLatestSchemaInfo();
+        RowType rowType = schemaInfo.getSchema().getRowType();
+        int schemaId = schemaInfo.getSchemaId();
+        switch (logFormat) {
+            case ARROW:
+                return LogRecordReadContext.createArrowReadContext(rowType, schemaId, schemaGetter);
+            case INDEXED:
+                return LogRecordReadContext.createIndexedReadContext(
+                        rowType, schemaId, schemaGetter);
+            case COMPACTED:
+                return LogRecordReadContext.createCompactedRowReadContext(
+                        rowType, schemaId, schemaGetter);
+            default:
+                throw new UnsupportedOperationException("Unsupported log format: " + logFormat);
+        }
+    }
+
+    private static void aggregateBatch(
+            LogRecordBatch batch,
+            LogRecordReadContext readContext,
+            long startOffset,
+            long endOffset,
+            GroupAggregator aggregator)
+            throws IOException {
+        if (readContext.getLogFormat() == LogFormat.ARROW) {
+            // aggregate the Arrow columns directly without materializing the records
+            try (ColumnarBatch columnarBatch = batch.columnarBatch(readContext)) {
+                int rowCount = columnarBatch.getRowCount();
+                if (rowCount == 0) {
+                    return;
+                }
+                ColumnarRow row = columnarBatch.getRow(0);
+                for (int i = 0; i < rowCount; i++) {
+                    long offset = columnarBatch.getLogOffset(i);
+                    if (offset >= startOffset && offset < endOffset) {
+                        row.setRowId(i);
+                        aggregator.add(row);
+                    }
+                }
+            }
+        } else {
+            try (CloseableIterator<LogRecord> records = batch.records(readContext)) {
+                while (records.hasNext()) {
+                    LogRecord record = records.next();
+                    long offset = record.logOffset();
+                    if (offset >= startOffset && offset < endOffset) {
+                        aggregator.add(record.getRow());
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Returns a tuple where the first element is a boolean indicating whether enough replicas
      * reached `requiredOffset` and the second element is an error (which would be `Errors.NONE` for
@@ -1434,10 +1859,68 @@ public final class Replica {
                         fetchParams.maxFetchBytes(),
                         fetchParams.isolation(),
                         fetchParams.minOneMessage(),
-                        fetchParams.projection());
+                        fetchParams.projection(),
+                        fetchParams.filter());
         return new LogReadInfo(fetchDataInfo, initialHighWatermark, initialLogEndOffset);
     }
 
+    /**
+     * Reads the records for a client from this follower replica. As the high watermark of the
+     * follower may be ahead of the leader's, the read is bounded by the high watermark of the
+     * leader to only expose the committed records. The read is rejected if the follower lags behind
+     * the leader for more than the replica max lag time or the fetch offset is not in the local
+     * log, so that the client falls back to fetch from the leader.
+     */
+    private LogReadInfo readRecordsAsFollower(FetchParams fetchParams, LogTablet logTablet)
+            throws IOException {
+        long leaderHW = leaderHighWatermarkOrThrow();
+        long initialLogEndOffset = logTablet.localLogEndOffset();
+        long readOffset =
+                fetchParams.fetchOffset() == FetchParams.FETCH_FROM_EARLIEST_OFFSET
+                        ? logTablet.logStartOffset()
+                        : fetchParams.fetchOffset();
+        if (readOffset < logTablet.localLogStartOffset() || readOffset > initialLogEndOffset) {
+            throw new NotLeaderOrFollowerException(
+                    String.format(
+                            "The fetch offset %s of bucket %s is not in the local log of the follower "
+                                    + "replica on tabletServer %d, the local log is from %s to %s.",
+                            readOffset,
+                            tableBucket,
+                            localTabletServerId,
+                            logTablet.localLogStartOffset(),
+                            initialLogEndOffset));
+        }
+
+        long maxOffset = Math.min(leaderHW, initialLogEndOffset);
+        FetchDataInfo fetchDataInfo =
+                logTablet.readUpTo(
+                        readOffset,
+                        fetchParams.maxFetchBytes(),
+                        maxOffset,
+                        fetchParams.minOneMessage(),
+                        fetchParams.projection(),
+                        fetchParams.filter());
+        return new LogReadInfo(fetchDataInfo, maxOffset, initialLogEndOffset);
+    }
+
+    /**
+     * Returns the high watermark of the leader received by this follower replica, or throws if the
+     * follower lags behind the leader for more than the replica max lag time.
+     */
+    private long leaderHighWatermarkOrThrow() {
+        long leaderHW = leaderHighWatermark;
+        long caughtUpTimeMs = lastCaughtUpLeaderTimeMs;
+        if (leaderHW < 0
+                || caughtUpTimeMs < 0
+                || clock.milliseconds() - caughtUpTimeMs > replicaMaxLagTime) {
+            throw new NotLeaderOrFollowerException(
+                    String.format(
+                            "Follower replica of bucket %s on tabletServer %d is not in sync with the leader.",
+                            tableBucket, localTabletServerId));
+        }
+        return leaderHW;
+    }
+
     private void tryCompleteDelayedOperations() {
         DelayedTableBucketKey delayedTableBucketKey = new DelayedTableBucketKey(tableBucket);
         delayedWriteManager.checkAndComplete(delayedTableBucketKey);
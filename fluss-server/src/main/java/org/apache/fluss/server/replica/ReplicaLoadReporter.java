@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.replica;
+
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.rpc.gateway.CoordinatorGateway;
+import org.apache.fluss.rpc.messages.ReportReplicaLoadRequest;
+import org.apache.fluss.server.coordinator.rebalance.model.ReplicaLoad;
+import org.apache.fluss.utils.clock.Clock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeReportReplicaLoadRequest;
+
+/**
+ * Periodically reports the disk capacity of the tablet server and the load of its leader replicas
+ * to the coordinator server by {@link ReportReplicaLoadRequest}, which is used by the load-aware
+ * rebalance goals.
+ *
+ * <p>The rates of a replica are computed from the increments of the counters of the replica since
+ * the last report, so the rates of a replica are reported as zero the first time it's seen.
+ */
+@NotThreadSafe
+public class ReplicaLoadReporter {
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaLoadReporter.class);
+
+    private final CoordinatorGateway coordinatorGateway;
+    private final int serverId;
+    private final File dataDir;
+    private final Supplier<List<Replica>> leaderReplicasSupplier;
+    private final Clock clock;
+
+    /** The counters of the replicas at the last report. */
+    private final Map<TableBucket, ReplicaCounts> lastCounts = new HashMap<>();
+
+    private long lastReportTimeMs;
+
+    public ReplicaLoadReporter(
+            CoordinatorGateway coordinatorGateway,
+            int serverId,
+            File dataDir,
+            Supplier<List<Replica>> leaderReplicasSupplier,
+            Clock clock) {
+        this.coordinatorGateway = coordinatorGateway;
+        this.serverId = serverId;
+        this.dataDir = dataDir;
+        this.leaderReplicasSupplier = leaderReplicasSupplier;
+        this.clock = clock;
+        this.lastReportTimeMs = clock.milliseconds();
+    }
+
+    public void report() {
+        ReportReplicaLoadRequest request;
+        try {
+            request = makeReportReplicaLoadRequest(serverId, diskCapacity(), collectReplicaLoads());
+        } catch (Exception e) {
+            LOG.warn(
+                    "Failed to collect the load of the replicas of tablet server {}.", serverId, e);
+            return;
+        }
+
+        coordinatorGateway
+                .reportReplicaLoad(request)
+                .whenComplete(
+                        (response, exception) -> {
+                            if (exception != null) {
+                                LOG.warn(
+                                        "Failed to report the load of the replicas of tablet server {} "
+                                                + "to coordinator server.",
+                                        serverId,
+                                        exception);
+                            }
+                        });
+    }
+
+    Map<TableBucket, ReplicaLoad> collectReplicaLoads() {
+        long currentTimeMs = clock.milliseconds();
+        double elapsedSeconds = Math.max(1L, currentTimeMs - lastReportTimeMs) / 1000.0;
+        lastReportTimeMs = currentTimeMs;
+
+        Map<TableBucket, ReplicaLoad> replicaLoads = new HashMap<>();
+        Map<TableBucket, ReplicaCounts> currentCounts = new HashMap<>();
+        for (Replica replica : leaderReplicasSupplier.get()) {
+            TableBucket tableBucket = replica.getTableBucket();
+            ReplicaCounts counts =
+                    new ReplicaCounts(
+                            replica.bytesIn().getCount(),
+                            replica.bytesOut().getCount(),
+                            replica.lookupCount().getCount());
+            currentCounts.put(tableBucket, counts);
+            // the counters restart from zero if the replica is recreated
+            ReplicaCounts last = lastCounts.get(tableBucket);
+            ReplicaCounts delta = last == null ? ReplicaCounts.ZERO : counts.minus(last);
+            replicaLoads.put(
+                    tableBucket,
+                    new ReplicaLoad(
+                            (long) (delta.bytesIn / elapsedSeconds),
+                            (long) (delta.bytesOut / elapsedSeconds),
+                            (long) (delta.lookupCount / elapsedSeconds),
+                            replica.logicalStorageKvSize(),
+                            replica.logicalStorageLogSize()));
+        }
+
+        // forget the replicas which are not leaders anymore
+        lastCounts.clear();
+        lastCounts.putAll(currentCounts);
+        return replicaLoads;
+    }
+
+    private long diskCapacity() {
+        // the total space is 0 if the capacity is unknown
+        long totalSpace = dataDir.getTotalSpace();
+        return totalSpace > 0 ? totalSpace : -1L;
+    }
+
+    private static final class ReplicaCounts {
+        private static final ReplicaCounts ZERO = new ReplicaCounts(0, 0, 0);
+
+        private final long bytesIn;
+        private final long bytesOut;
+        private final long lookupCount;
+
+        private ReplicaCounts(long bytesIn, long bytesOut, long lookupCount) {
+            this.bytesIn = bytesIn;
+            this.bytesOut = bytesOut;
+            this.lookupCount = lookupCount;
+        }
+
+        private ReplicaCounts minus(ReplicaCounts other) {
+            return new ReplicaCounts(
+                    delta(bytesIn, other.bytesIn),
+                    delta(bytesOut, other.bytesOut),
+                    delta(lookupCount, other.lookupCount));
+        }
+
+        private static long delta(long current, long last) {
+            return current >= last ? current - last : current;
+        }
+    }
+}
@@ -17,10 +17,13 @@
 
 package org.apache.fluss.server.replica;
 
+import org.apache.fluss.aggregate.AggregateCall;
+import org.apache.fluss.aggregate.GroupAggregator;
 import org.apache.fluss.annotation.VisibleForTesting;
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.exception.FencedLeaderEpochException;
+import org.apache.fluss.exception.FlussRuntimeException;
 import org.apache.fluss.exception.InvalidColumnProjectionException;
 import org.apache.fluss.exception.InvalidCoordinatorException;
 import org.apache.fluss.exception.InvalidRequiredAcksException;
@@ -29,6 +32,7 @@ import org.apache.fluss.exception.LogStorageException;
 import org.apache.fluss.exception.NotLeaderOrFollowerException;
 import org.apache.fluss.exception.StorageException;
 import org.apache.fluss.exception.UnknownTableOrBucketException;
+import org.apache.fluss.exception.UnsupportedVersionException;
 import org.apache.fluss.fs.FsPath;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.PhysicalTablePath;
@@ -38,11 +42,14 @@ import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.metrics.MetricNames;
 import org.apache.fluss.metrics.groups.MetricGroup;
 import org.apache.fluss.record.KvRecordBatch;
+import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.record.ProjectionPushdownCache;
 import org.apache.fluss.remote.RemoteLogFetchInfo;
 import org.apache.fluss.remote.RemoteLogSegment;
+import org.apache.fluss.rpc.GatewayClientProxy;
 import org.apache.fluss.rpc.RpcClient;
+import org.apache.fluss.rpc.entity.AggregateScanResultForBucket;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
 import org.apache.fluss.rpc.entity.LimitScanResultForBucket;
 import org.apache.fluss.rpc.entity.ListOffsetsResultForBucket;
@@ -52,6 +59,7 @@ import org.apache.fluss.rpc.entity.ProduceLogResultForBucket;
 import org.apache.fluss.rpc.entity.PutKvResultForBucket;
 import org.apache.fluss.rpc.entity.WriteResultForBucket;
 import org.apache.fluss.rpc.gateway.CoordinatorGateway;
+import org.apache.fluss.rpc.gateway.TabletServerGateway;
 import org.apache.fluss.rpc.messages.NotifyKvSnapshotOffsetResponse;
 import org.apache.fluss.rpc.messages.NotifyLakeTableOffsetResponse;
 import org.apache.fluss.rpc.messages.NotifyRemoteLogOffsetsResponse;
@@ -72,6 +80,9 @@ import org.apache.fluss.server.kv.KvManager;
 import org.apache.fluss.server.kv.KvSnapshotResource;
 import org.apache.fluss.server.kv.snapshot.CompletedKvSnapshotCommitter;
 import org.apache.fluss.server.kv.snapshot.DefaultSnapshotContext;
+import org.apache.fluss.server.kv.snapshot.PeerKvCheckpointDownloader;
+import org.apache.fluss.server.kv.snapshot.PeerKvCheckpointManager;
+import org.apache.fluss.server.kv.snapshot.PeerKvCheckpointManager.PeerKvCheckpoint;
 import org.apache.fluss.server.kv.snapshot.SnapshotContext;
 import org.apache.fluss.server.log.FetchDataInfo;
 import org.apache.fluss.server.log.FetchParams;
@@ -100,10 +111,12 @@ import org.apache.fluss.server.replica.fetcher.ReplicaFetcherManager;
 import org.apache.fluss.server.utils.FatalErrorHandler;
 import org.apache.fluss.server.zk.ZooKeeperClient;
 import org.apache.fluss.server.zk.data.lake.LakeTableSnapshot;
+import org.apache.fluss.utils.ExecutorUtils;
 import org.apache.fluss.utils.FileUtils;
 import org.apache.fluss.utils.FlussPaths;
 import org.apache.fluss.utils.MapUtils;
 import org.apache.fluss.utils.clock.Clock;
+import org.apache.fluss.utils.concurrent.ExecutorThreadFactory;
 import org.apache.fluss.utils.concurrent.Scheduler;
 
 import org.slf4j.Logger;
@@ -123,10 +136,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -155,6 +176,21 @@ public class ReplicaManager {
 
     private final TabletServerMetadataCache metadataCache;
     private final ExecutorService ioExecutor;
+
+    /**
+     * The executor to serve lookup and prefix lookup requests, separated from the request worker
+     * threads, so that large lookups don't stall the produce and fetch requests.
+     */
+    private final ExecutorService lookupExecutor;
+
+    private final ExecutorService aggregateScanExecutor;
+
+    /**
+     * The executor to create the kv checkpoints and read the checkpoint files for the other tablet
+     * servers, the reads block on the throttler of {@link PeerKvCheckpointManager}.
+     */
+    private final ExecutorService peerKvCheckpointExecutor;
+
     private final ProjectionPushdownCache projectionsCache = new ProjectionPushdownCache();
     private final Lock replicaStateChangeLock = new ReentrantLock();
 
@@ -174,6 +210,7 @@ public class ReplicaManager {
     private final ReplicaFetcherManager replicaFetcherManager;
     // The manager used to manager the replica alter, especially the isr expand and shrink.
     private final AdjustIsrManager adjustIsrManager;
+    private final ReplicaLoadReporter replicaLoadReporter;
     private final FatalErrorHandler fatalErrorHandler;
 
     /** epoch of the coordinator that last changed the leader. */
@@ -183,6 +220,7 @@ public class ReplicaManager {
     // for kv snapshot
     private final KvSnapshotResource kvSnapshotResource;
     private final SnapshotContext kvSnapshotContext;
+    private final PeerKvCheckpointManager peerKvCheckpointManager;
 
     // remote log manager for remote log storage.
     private final RemoteLogManager remoteLogManager;
@@ -282,21 +320,86 @@ public class ReplicaManager {
                         this,
                         (nodeId) -> metadataCache.getTabletServer(nodeId, internalListenerName));
         this.adjustIsrManager = new AdjustIsrManager(scheduler, coordinatorGateway, serverId);
+        this.replicaLoadReporter =
+                new ReplicaLoadReporter(
+                        coordinatorGateway,
+                        serverId,
+                        logManager.getDataDir(),
+                        () ->
+                                onlineReplicas()
+                                        .filter(Replica::isLeader)
+                                        .collect(Collectors.toList()),
+                        clock);
         this.fatalErrorHandler = fatalErrorHandler;
 
         // for kv snapshot
         this.kvSnapshotResource = KvSnapshotResource.create(serverId, conf, ioExecutor);
+        this.peerKvCheckpointManager =
+                new PeerKvCheckpointManager(conf, logManager.getDataDir(), clock);
+        PeerKvCheckpointDownloader peerKvCheckpointDownloader =
+                conf.get(ConfigOptions.KV_RECOVER_PEER_BOOTSTRAP_ENABLED)
+                        ? new PeerKvCheckpointDownloader(
+                                peerKvCheckpointManager.getCheckpointBaseDir(),
+                                (int)
+                                        conf.get(ConfigOptions.KV_RECOVER_PEER_BOOTSTRAP_CHUNK_SIZE)
+                                                .getBytes(),
+                                (nodeId) -> createTabletServerGateway(rpcClient, nodeId))
+                        : null;
         this.kvSnapshotContext =
                 DefaultSnapshotContext.create(
-                        zkClient, completedKvSnapshotCommitter, kvSnapshotResource, conf);
+                        zkClient,
+                        completedKvSnapshotCommitter,
+                        kvSnapshotResource,
+                        conf,
+                        peerKvCheckpointDownloader == null ? null : peerKvCheckpointManager,
+                        peerKvCheckpointDownloader);
         this.remoteLogManager = remoteLogManager;
         this.serverMetricGroup = serverMetricGroup;
         this.userMetrics = userMetrics;
         this.clock = clock;
         this.ioExecutor = ioExecutor;
+        int lookupThreads = conf.get(ConfigOptions.KV_LOOKUP_THREAD_NUM);
+        this.lookupExecutor =
+                new ThreadPoolExecutor(
+                        lookupThreads,
+                        lookupThreads,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(
+                                conf.get(ConfigOptions.KV_LOOKUP_MAX_QUEUED_REQUESTS)),
+                        new ExecutorThreadFactory("fluss-lookup"));
+        int aggregateScanThreads = conf.get(ConfigOptions.SERVER_AGGREGATE_SCAN_THREAD_NUM);
+        this.aggregateScanExecutor =
+                new ThreadPoolExecutor(
+                        aggregateScanThreads,
+                        aggregateScanThreads,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(
+                                conf.get(ConfigOptions.SERVER_AGGREGATE_SCAN_MAX_QUEUED_REQUESTS)),
+                        new ExecutorThreadFactory("fluss-aggregate-scan"));
+        this.peerKvCheckpointExecutor =
+                Executors.newFixedThreadPool(
+                        conf.get(ConfigOptions.KV_RECOVER_PEER_BOOTSTRAP_THREAD_NUM),
+                        new ExecutorThreadFactory("fluss-peer-kv-checkpoint"));
         registerMetrics();
     }
 
+    private TabletServerGateway createTabletServerGateway(RpcClient rpcClient, int nodeId) {
+        return GatewayClientProxy.createGatewayProxy(
+                () ->
+                        metadataCache
+                                .getTabletServer(nodeId, internalListenerName)
+                                .orElseThrow(
+                                        () ->
+                                                new RuntimeException(
+                                                        "ServerNode "
+                                                                + nodeId
+                                                                + " is not available in metadata cache.")),
+                rpcClient,
+                TabletServerGateway.class);
+    }
+
     public void startup() {
         // start up ISR expiration thread.
         // A follower can log behind leader for up tp configOptions#LOG_REPLICA_MAX_LAG_TIME x 1.5
@@ -306,6 +409,22 @@ public class ReplicaManager {
                 this::maybeShrinkIsr,
                 0L,
                 conf.get(ConfigOptions.LOG_REPLICA_MAX_LAG_TIME).toMillis() / 2);
+        // clean up the kv checkpoints which are not transferred to other tablet servers anymore
+        long checkpointRetentionMs =
+                conf.get(ConfigOptions.KV_RECOVER_PEER_BOOTSTRAP_CHECKPOINT_RETENTION).toMillis();
+        scheduler.schedule(
+                "peer-kv-checkpoint-expiration",
+                peerKvCheckpointManager::expireCheckpoints,
+                0L,
+                Math.max(1000L, Math.min(checkpointRetentionMs / 2, 60_000L)));
+        // report the load of the leader replicas to the coordinator server for rebalance
+        long loadReportIntervalMs =
+                conf.get(ConfigOptions.TABLET_SERVER_LOAD_REPORT_INTERVAL).toMillis();
+        scheduler.schedule(
+                "replica-load-report",
+                replicaLoadReporter::report,
+                loadReportIntervalMs,
+                loadReportIntervalMs);
     }
 
     public RemoteLogManager getRemoteLogManager() {
@@ -588,10 +707,24 @@ public class ReplicaManager {
                 });
     }
 
-    /** Lookup with multi key from leader replica of the buckets. */
+    /**
+     * Lookup with multi key from leader replica of the buckets. The lookup is served by the lookup
+     * threads, and the response callback is invoked in the lookup thread.
+     */
     public void lookups(
             Map<TableBucket, List<byte[]>> entriesPerBucket,
             Consumer<Map<TableBucket, LookupResultForBucket>> responseCallback) {
+        executeLookup(
+                () -> doLookups(entriesPerBucket, responseCallback),
+                t ->
+                        responseCallback.accept(
+                                errorResultsForBuckets(
+                                        entriesPerBucket.keySet(), t, LookupResultForBucket::new)));
+    }
+
+    private void doLookups(
+            Map<TableBucket, List<byte[]>> entriesPerBucket,
+            Consumer<Map<TableBucket, LookupResultForBucket>> responseCallback) {
         Map<TableBucket, LookupResultForBucket> lookupResultForBucketMap = new HashMap<>();
         long startTime = System.currentTimeMillis();
         TableMetricGroup tableMetrics = null;
@@ -601,6 +734,7 @@ public class ReplicaManager {
                 Replica replica = getReplicaOrException(tb);
                 tableMetrics = replica.tableMetrics();
                 tableMetrics.totalLookupRequests().inc();
+                replica.lookupCount().inc(entry.getValue().size());
                 lookupResultForBucketMap.put(
                         tb, new LookupResultForBucket(tb, replica.lookups(entry.getValue())));
             } catch (Exception e) {
@@ -621,10 +755,38 @@ public class ReplicaManager {
         responseCallback.accept(lookupResultForBucketMap);
     }
 
-    /** Lookup multi prefixKeys by prefix scan on kv store. */
+    /**
+     * Lookup multi prefixKeys by prefix scan on kv store. The lookup is served by the lookup
+     * threads, and the response callback is invoked in the lookup thread.
+     */
     public void prefixLookups(
             Map<TableBucket, List<byte[]>> entriesPerBucket,
             Consumer<Map<TableBucket, PrefixLookupResultForBucket>> responseCallback) {
+        prefixLookups(entriesPerBucket, null, responseCallback);
+    }
+
+    /**
+     * Lookup multi prefixKeys by prefix scan on kv store, or by the given secondary index if the
+     * index id is present, in which case the keys are the encoded indexed columns.
+     */
+    public void prefixLookups(
+            Map<TableBucket, List<byte[]>> entriesPerBucket,
+            @Nullable Integer indexId,
+            Consumer<Map<TableBucket, PrefixLookupResultForBucket>> responseCallback) {
+        executeLookup(
+                () -> doPrefixLookups(entriesPerBucket, indexId, responseCallback),
+                t ->
+                        responseCallback.accept(
+                                errorResultsForBuckets(
+                                        entriesPerBucket.keySet(),
+                                        t,
+                                        PrefixLookupResultForBucket::new)));
+    }
+
+    private void doPrefixLookups(
+            Map<TableBucket, List<byte[]>> entriesPerBucket,
+            @Nullable Integer indexId,
+            Consumer<Map<TableBucket, PrefixLookupResultForBucket>> responseCallback) {
         TableMetricGroup tableMetrics = null;
         Map<TableBucket, PrefixLookupResultForBucket> result = new HashMap<>();
         for (Map.Entry<TableBucket, List<byte[]>> entry : entriesPerBucket.entrySet()) {
@@ -634,8 +796,12 @@ public class ReplicaManager {
                 Replica replica = getReplicaOrException(tb);
                 tableMetrics = replica.tableMetrics();
                 tableMetrics.totalPrefixLookupRequests().inc();
+                replica.lookupCount().inc(entry.getValue().size());
                 for (byte[] prefixKey : entry.getValue()) {
-                    List<byte[]> resultForPerKey = replica.prefixLookup(prefixKey);
+                    List<byte[]> resultForPerKey =
+                            indexId == null
+                                    ? replica.prefixLookup(prefixKey)
+                                    : replica.indexLookup(indexId, prefixKey);
                     resultForBucket.add(resultForPerKey);
                 }
                 result.put(tb, new PrefixLookupResultForBucket(tb, resultForBucket));
@@ -652,6 +818,46 @@ public class ReplicaManager {
         responseCallback.accept(result);
     }
 
+    /**
+     * Executes the lookup in the lookup threads. If the lookup fails unexpectedly without invoking
+     * its response callback, the failure handler is invoked to respond the request with the error,
+     * otherwise the request would never be responded.
+     */
+    private void executeLookup(Runnable lookup, Consumer<Throwable> failureHandler) {
+        Runnable guardedLookup =
+                () -> {
+                    try {
+                        lookup.run();
+                    } catch (Throwable t) {
+                        LOG.error("Unexpected error while serving lookup request.", t);
+                        try {
+                            failureHandler.accept(t);
+                        } catch (Throwable t2) {
+                            LOG.error("Failed to respond the failed lookup request.", t2);
+                        }
+                    }
+                };
+        try {
+            lookupExecutor.execute(guardedLookup);
+        } catch (RejectedExecutionException e) {
+            // the lookup queue is full (or the lookup threads are shutting down), serve the
+            // lookup in the request worker thread to apply back pressure to the network threads
+            guardedLookup.run();
+        }
+    }
+
+    private static <T> Map<TableBucket, T> errorResultsForBuckets(
+            Set<TableBucket> tableBuckets,
+            Throwable t,
+            BiFunction<TableBucket, ApiError, T> errorResultCreator) {
+        ApiError error = ApiError.fromThrowable(t);
+        Map<TableBucket, T> results = new HashMap<>();
+        for (TableBucket tb : tableBuckets) {
+            results.put(tb, errorResultCreator.apply(tb, error));
+        }
+        return results;
+    }
+
     public void listOffsets(
             ListOffsetsParam listOffsetsParam,
             Set<TableBucket> tableBuckets,
@@ -1005,6 +1211,7 @@ public class ReplicaManager {
                         tb,
                         new ProduceLogResultForBucket(tb, baseOffset, appendInfo.lastOffset() + 1));
                 tableMetrics.incLogBytesIn(appendInfo.validBytes());
+                replica.bytesIn().inc(appendInfo.validBytes());
                 tableMetrics.incLogMessageIn(appendInfo.numMessages());
             } catch (Exception e) {
                 if (isUnexpectedException(e)) {
@@ -1052,6 +1259,7 @@ public class ReplicaManager {
                 tableMetrics.incKvBytesIn(entry.getValue().sizeInBytes());
                 // metric for cdc log of kv
                 tableMetrics.incLogBytesIn(appendInfo.validBytes());
+                replica.bytesIn().inc(appendInfo.validBytes());
                 tableMetrics.incLogMessageIn(appendInfo.numMessages());
             } catch (Exception e) {
                 if (isUnexpectedException(e)) {
@@ -1104,6 +1312,100 @@ public class ReplicaManager {
         responseCallback.accept(limitScanResultForBucket);
     }
 
+    /**
+     * Evaluates the grouped aggregates over all the rows of the bucket. The aggregate scan is
+     * served by the aggregate scan threads, and the response callback is invoked in the aggregate
+     * scan thread. The aggregate scan is rejected if the queue of the aggregate scan threads is
+     * full, as reading the whole bucket would stall the request worker threads.
+     */
+    public void aggregateScan(
+            TableBucket tableBucket,
+            int[] groupBy,
+            List<AggregateCall> aggregateCalls,
+            Consumer<AggregateScanResultForBucket> responseCallback) {
+        Runnable aggregateScan =
+                () -> {
+                    AggregateScanResultForBucket result;
+                    try {
+                        Replica replica = getReplicaOrException(tableBucket);
+                        GroupAggregator aggregator =
+                                replica.createAggregator(groupBy, aggregateCalls);
+                        Long unaggregatedEndOffset = null;
+                        if (replica.isKvTable()) {
+                            replica.aggregateKvScan(aggregator);
+                        } else {
+                            unaggregatedEndOffset = replica.aggregateLogScan(aggregator);
+                        }
+                        result =
+                                new AggregateScanResultForBucket(
+                                        tableBucket,
+                                        aggregator.getSerializedResult(),
+                                        unaggregatedEndOffset);
+                    } catch (Exception e) {
+                        if (isUnexpectedException(e)) {
+                            LOG.error("Error aggregate scan records on replica {}", tableBucket, e);
+                        }
+                        result =
+                                new AggregateScanResultForBucket(
+                                        tableBucket, ApiError.fromThrowable(e));
+                    }
+                    responseCallback.accept(result);
+                };
+        try {
+            aggregateScanExecutor.execute(aggregateScan);
+        } catch (RejectedExecutionException e) {
+            responseCallback.accept(
+                    new AggregateScanResultForBucket(
+                            tableBucket,
+                            ApiError.fromThrowable(
+                                    new FlussRuntimeException(
+                                            "The aggregate scan queue of the tablet server is full, "
+                                                    + "please retry later.",
+                                            e))));
+        }
+    }
+
+    /**
+     * Returns a kv checkpoint of the bucket for the other tablet server to bootstrap its kv from.
+     * The checkpoint with the given id is returned if it still exists, which is used to resume an
+     * interrupted download.
+     */
+    public CompletableFuture<PeerKvCheckpoint> createKvCheckpoint(
+            TableBucket tableBucket, @Nullable String checkpointId) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    if (checkpointId != null) {
+                        Optional<PeerKvCheckpoint> checkpoint =
+                                peerKvCheckpointManager.getCheckpoint(checkpointId, tableBucket);
+                        if (checkpoint.isPresent()) {
+                            return checkpoint.get();
+                        }
+                    }
+                    try {
+                        return getReplicaOrException(tableBucket)
+                                .getPeerKvCheckpoint(peerKvCheckpointManager);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                },
+                peerKvCheckpointExecutor);
+    }
+
+    /** Reads a chunk of the file of the kv checkpoint created by {@link #createKvCheckpoint}. */
+    public CompletableFuture<byte[]> readKvCheckpointFile(
+            String checkpointId, String fileName, long position, int maxBytes) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return peerKvCheckpointManager.readFile(
+                                checkpointId, fileName, position, maxBytes);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                },
+                peerKvCheckpointExecutor);
+    }
+
     public Map<TableBucket, LogReadResult> readFromLog(
             FetchParams fetchParams,
             Map<TableBucket, FetchReqInfo> bucketFetchInfo,
@@ -1134,6 +1436,14 @@ public class ReplicaManager {
                                     "Column projection is only supported for ARROW format, but the table %s is %s format.",
                                     replica.getTablePath(), replica.getLogFormat()));
                 }
+                if (!fetchParams.canReadLogMagicV2() && replica.writesLogMagicV2()) {
+                    throw new UnsupportedVersionException(
+                            String.format(
+                                    "The log of table %s is written in log format version 2, "
+                                            + "which can't be read by the client of this version. "
+                                            + "Please upgrade the client to 0.9 or later.",
+                                    replica.getTablePath()));
+                }
 
                 fetchParams.setCurrentFetch(
                         tb.getTableId(),
@@ -1142,7 +1452,9 @@ public class ReplicaManager {
                         replica.getSchemaGetter(),
                         replica.getArrowCompressionInfo(),
                         fetchReqInfo.getProjectFields(),
-                        projectionsCache);
+                        projectionsCache,
+                        fetchReqInfo.getFilter(),
+                        fetchReqInfo.getFilterSchemaId());
                 LogReadInfo readInfo = replica.fetchRecords(fetchParams);
 
                 // Once we read from a non-empty bucket, we stop ignoring request and bucket
@@ -1162,6 +1474,7 @@ public class ReplicaManager {
                                 fetchedData.getFetchOffsetMetadata()));
 
                 // update metrics
+                replica.bytesOut().inc(recordBatchSize);
                 if (isFromFollower) {
                     serverMetricGroup.replicationBytesOut().inc(recordBatchSize);
                 } else {
@@ -1181,7 +1494,19 @@ public class ReplicaManager {
 
                 FetchLogResultForBucket result;
                 if (replica != null && e instanceof LogOffsetOutOfRangeException) {
-                    result = handleFetchOutOfRangeException(replica, fetchOffset, e);
+                    result =
+                            handleFetchOutOfRangeException(
+                                    replica, fetchParams, fetchReqInfo, adjustedMaxBytes, e);
+                    if (result.recordsOrEmpty().sizeInBytes() > 0) {
+                        // the records are read from the remote log segment cache
+                        int recordBatchSize = result.recordsOrEmpty().sizeInBytes();
+                        fetchParams.markReadOneMessage();
+                        limitBytes = Math.max(0, limitBytes - recordBatchSize);
+                        tableMetrics.incLogBytesOut(recordBatchSize);
+                        replica.bytesOut().inc(recordBatchSize);
+                        userMetrics.incBytesOut(
+                                userContext, replica.getTablePath(), recordBatchSize);
+                    }
                 } else {
                     result = new FetchLogResultForBucket(tb, ApiError.fromThrowable(e));
                 }
@@ -1193,8 +1518,13 @@ public class ReplicaManager {
     }
 
     private FetchLogResultForBucket handleFetchOutOfRangeException(
-            Replica replica, long fetchOffset, Exception e) {
+            Replica replica,
+            FetchParams fetchParams,
+            FetchReqInfo fetchReqInfo,
+            int maxBytes,
+            Exception e) {
         TableBucket tb = replica.getTableBucket();
+        long fetchOffset = fetchReqInfo.getFetchOffset();
         if (fetchOffset == FetchParams.FETCH_FROM_EARLIEST_OFFSET) {
             fetchOffset = replica.getLogStartOffset();
         }
@@ -1211,6 +1541,19 @@ public class ReplicaManager {
         // of RemoteLogSegment. For client fetcher, it will fetch the log from remote in client.
         // For follower, it can update its local metadata to adjust the next fetch offset.
         else if (canFetchFromRemoteLog(replica, fetchOffset)) {
+            // the client fetches without projection and filter can be served by the remote log
+            // segments cached in this tablet server
+            if (!fetchParams.isFromFollower()
+                    && remoteLogManager.isServerReadEnabled()
+                    && fetchReqInfo.getProjectFields() == null
+                    && fetchReqInfo.getFilter() == null) {
+                LogRecords records =
+                        readLogFromRemote(
+                                replica, fetchOffset, maxBytes, fetchParams.minOneMessage());
+                if (records != null) {
+                    return new FetchLogResultForBucket(tb, records, replica.getLogHighWatermark());
+                }
+            }
             RemoteLogFetchInfo remoteLogFetchInfo = fetchLogFromRemote(replica, fetchOffset);
             if (remoteLogFetchInfo != null) {
                 return new FetchLogResultForBucket(
@@ -1237,6 +1580,33 @@ public class ReplicaManager {
         return replica.getLogTablet().canFetchFromRemoteLog(fetchOffset);
     }
 
+    /**
+     * Reads the log from the remote log segment cache, returns null if the records can't be read,
+     * in which case the remote log segments are returned to the client.
+     */
+    private @Nullable LogRecords readLogFromRemote(
+            Replica replica, long fetchOffset, int maxBytes, boolean minOneMessage) {
+        List<RemoteLogSegment> remoteLogSegmentList =
+                remoteLogManager.relevantRemoteLogSegments(replica.getTableBucket(), fetchOffset);
+        if (remoteLogSegmentList.isEmpty()) {
+            return null;
+        }
+        try {
+            LogRecords records =
+                    remoteLogManager.readRemoteLogSegments(
+                            remoteLogSegmentList, fetchOffset, maxBytes, minOneMessage);
+            // the remote log segment is being downloaded, the client will fetch again
+            return records == null ? MemoryLogRecords.EMPTY : records;
+        } catch (Exception e) {
+            LOG.warn(
+                    "Failed to read remote log of {} from offset {} through the local cache.",
+                    replica.getTableBucket(),
+                    fetchOffset,
+                    e);
+            return null;
+        }
+    }
+
     private @Nullable RemoteLogFetchInfo fetchLogFromRemote(Replica replica, long fetchOffset) {
         List<RemoteLogSegment> remoteLogSegmentList =
                 remoteLogManager.relevantRemoteLogSegments(replica.getTableBucket(), fetchOffset);
@@ -1738,9 +2108,14 @@ public class ReplicaManager {
     public void shutdown() throws InterruptedException {
         // Close the resources for snapshot kv
         kvSnapshotResource.close();
+        // stop serving the checkpoints before deleting them
+        ExecutorUtils.gracefulShutdown(5, TimeUnit.SECONDS, peerKvCheckpointExecutor);
+        peerKvCheckpointManager.close();
         replicaFetcherManager.shutdown();
         delayedWriteManager.shutdown();
         delayedFetchLogManager.shutdown();
+        ExecutorUtils.gracefulShutdown(5, TimeUnit.SECONDS, lookupExecutor);
+        ExecutorUtils.gracefulShutdown(5, TimeUnit.SECONDS, aggregateScanExecutor);
 
         // Checkpoint highWatermark.
         checkpointHighWatermarks();
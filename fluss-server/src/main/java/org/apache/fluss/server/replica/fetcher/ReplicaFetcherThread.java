@@ -30,7 +30,6 @@ import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.remote.RemoteLogFetchInfo;
 import org.apache.fluss.remote.RemoteLogSegment;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
-import org.apache.fluss.rpc.messages.FetchLogRequest;
 import org.apache.fluss.server.log.LogAppendInfo;
 import org.apache.fluss.server.log.LogTablet;
 import org.apache.fluss.server.log.remote.RemoteLogManager;
@@ -42,6 +41,7 @@ import org.apache.fluss.server.replica.fetcher.LeaderEndpoint.FetchData;
 import org.apache.fluss.shaded.netty4.io.netty.buffer.ByteBuf;
 import org.apache.fluss.utils.FileUtils;
 import org.apache.fluss.utils.FlussPaths;
+import org.apache.fluss.utils.concurrent.FutureUtils;
 import org.apache.fluss.utils.concurrent.ShutdownableThread;
 import org.apache.fluss.utils.log.FairBucketStatusMap;
 
@@ -55,16 +55,27 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import static org.apache.fluss.utils.Preconditions.checkArgument;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
 import static org.apache.fluss.utils.concurrent.LockUtils.inLock;
 
@@ -100,14 +111,43 @@ final class ReplicaFetcherThread extends ShutdownableThread {
     private final Lock bucketStatusMapLock = new ReentrantLock();
     private final Condition bucketStatusMapCondition = bucketStatusMapLock.newCondition();
 
+    /**
+     * The buckets of the in-flight fetch log requests. A bucket is fetched by at most one request
+     * at a time to keep the records of the bucket appended in order.
+     */
+    @GuardedBy("bucketStatusMapLock")
+    private final Set<TableBucket> inFlightBuckets = new HashSet<>();
+
+    /** The in-flight fetch log requests in the order of sending, only accessed by this thread. */
+    private final ArrayDeque<InFlightFetch> inFlightFetches = new ArrayDeque<>();
+
+    /** The fetch log requests which have been responded and are waiting to be processed. */
+    private final BlockingQueue<InFlightFetch> completedFetches = new LinkedBlockingQueue<>();
+
+    private final int maxInFlightRequests;
+
     private final TabletServerMetricGroup serverMetricGroup;
 
     public ReplicaFetcherThread(
             String name, ReplicaManager replicaManager, LeaderEndpoint leader, int fetchBackOffMs) {
+        this(name, replicaManager, leader, fetchBackOffMs, 1);
+    }
+
+    public ReplicaFetcherThread(
+            String name,
+            ReplicaManager replicaManager,
+            LeaderEndpoint leader,
+            int fetchBackOffMs,
+            int maxInFlightRequests) {
         super(name, false);
+        checkArgument(
+                maxInFlightRequests > 0,
+                "The max in-flight fetch log requests must be positive, but is %s.",
+                maxInFlightRequests);
         this.replicaManager = replicaManager;
         this.leader = leader;
         this.fetchBackOffMs = fetchBackOffMs;
+        this.maxInFlightRequests = maxInFlightRequests;
         this.serverMetricGroup = replicaManager.getServerMetricGroup();
     }
 
@@ -127,30 +167,128 @@ final class ReplicaFetcherThread extends ShutdownableThread {
     }
 
     private void maybeFetch() {
-        Optional<FetchLogContext> fetchLogContextOpt =
-                inLock(
-                        bucketStatusMapLock,
-                        () -> {
-                            Optional<FetchLogContext> fetchLogContext = Optional.empty();
-                            try {
-                                fetchLogContext =
-                                        leader.buildFetchLogContext(
-                                                fairBucketStatusMap.bucketStatusMap());
-                                if (!fetchLogContext.isPresent()) {
-                                    LOG.trace(
-                                            "There are no active buckets. Back off for {} ms before "
-                                                    + "sending a fetch fetchLogRequest",
-                                            fetchBackOffMs);
-                                    bucketStatusMapCondition.await(
-                                            fetchBackOffMs, TimeUnit.MILLISECONDS);
+        while (inFlightFetches.size() < maxInFlightRequests) {
+            Optional<InFlightFetch> fetchOpt =
+                    inLock(
+                            bucketStatusMapLock,
+                            () -> {
+                                Optional<InFlightFetch> fetch = Optional.empty();
+                                try {
+                                    fetch = buildFetch();
+                                    if (!fetch.isPresent() && inFlightFetches.isEmpty()) {
+                                        LOG.trace(
+                                                "There are no active buckets. Back off for {} ms before "
+                                                        + "sending a fetch fetchLogRequest",
+                                                fetchBackOffMs);
+                                        bucketStatusMapCondition.await(
+                                                fetchBackOffMs, TimeUnit.MILLISECONDS);
+                                    }
+                                } catch (InterruptedException e) {
+                                    LOG.error("Interrupted while awaiting fetch back off ms.", e);
                                 }
-                            } catch (InterruptedException e) {
-                                LOG.error("Interrupted while awaiting fetch back off ms.", e);
-                            }
-                            return fetchLogContext;
-                        });
+                                return fetch;
+                            });
+            if (!fetchOpt.isPresent()) {
+                break;
+            }
+            sendFetchLogRequest(fetchOpt.get());
+        }
+
+        if (!inFlightFetches.isEmpty()) {
+            processNextCompletedFetch();
+        }
+    }
+
+    /**
+     * Builds a fetch log request for the buckets which are ready for fetch and not fetched by the
+     * other in-flight requests. The buckets are spread over the free request slots, so the buckets
+     * are fetched by concurrent requests when more than one request is allowed to be in flight.
+     */
+    @GuardedBy("bucketStatusMapLock")
+    private Optional<InFlightFetch> buildFetch() {
+        List<Map.Entry<TableBucket, BucketFetchStatus>> readyBuckets = new ArrayList<>();
+        fairBucketStatusMap.forEach(
+                (tableBucket, fetchStatus) -> {
+                    if (fetchStatus.isReadyForFetch() && !inFlightBuckets.contains(tableBucket)) {
+                        readyBuckets.add(new AbstractMap.SimpleEntry<>(tableBucket, fetchStatus));
+                    }
+                });
+        if (readyBuckets.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int freeSlots = maxInFlightRequests - inFlightFetches.size();
+        int bucketsPerRequest = (readyBuckets.size() + freeSlots - 1) / freeSlots;
+        Map<TableBucket, BucketFetchStatus> bucketsToFetch = new LinkedHashMap<>();
+        Map<TableBucket, Long> fetchOffsets = new HashMap<>();
+        for (Map.Entry<TableBucket, BucketFetchStatus> entry :
+                readyBuckets.subList(0, bucketsPerRequest)) {
+            bucketsToFetch.put(entry.getKey(), entry.getValue());
+            fetchOffsets.put(entry.getKey(), entry.getValue().fetchOffset());
+        }
 
-        fetchLogContextOpt.ifPresent(this::processFetchLogRequest);
+        Optional<FetchLogContext> fetchLogContext = leader.buildFetchLogContext(bucketsToFetch);
+        if (!fetchLogContext.isPresent()) {
+            return Optional.empty();
+        }
+        inFlightBuckets.addAll(fetchOffsets.keySet());
+        return Optional.of(new InFlightFetch(fetchLogContext.get(), fetchOffsets));
+    }
+
+    private void sendFetchLogRequest(InFlightFetch fetch) {
+        LOG.trace(
+                "Sending fetch log request {} to leader {}",
+                fetch.fetchLogContext.getFetchLogRequest(),
+                leader.leaderServerId());
+        CompletableFuture<FetchData> responseFuture;
+        try {
+            responseFuture = leader.fetchLog(fetch.fetchLogContext);
+        } catch (Throwable t) {
+            responseFuture = FutureUtils.completedExceptionally(t);
+        }
+        fetch.responseFuture = responseFuture;
+        inFlightFetches.add(fetch);
+        responseFuture.whenComplete((response, throwable) -> completedFetches.add(fetch));
+    }
+
+    /**
+     * Waits for and processes the next responded fetch log request. The oldest in-flight request is
+     * failed if it is not responded within the timeout.
+     */
+    private void processNextCompletedFetch() {
+        InFlightFetch oldestFetch = checkNotNull(inFlightFetches.peek());
+        long waitNanos = oldestFetch.deadlineNanos - System.nanoTime();
+        InFlightFetch completedFetch = null;
+        try {
+            completedFetch = completedFetches.poll(Math.max(0L, waitNanos), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            LOG.error("Interrupted while awaiting fetch log response.", e);
+        }
+
+        if (completedFetch == null) {
+            if (System.nanoTime() - oldestFetch.deadlineNanos >= 0) {
+                inFlightFetches.remove(oldestFetch);
+                // release the buffer of the response which may arrive after the timeout.
+                oldestFetch.responseFuture.thenAccept(ReplicaFetcherThread::releaseResponseBuffer);
+                processFetchLogResponse(
+                        oldestFetch,
+                        null,
+                        new TimeoutException(
+                                "Fetch log request timed out after "
+                                        + timeoutSeconds
+                                        + " seconds."));
+            }
+        } else if (inFlightFetches.remove(completedFetch)) {
+            FetchData responseData = null;
+            Throwable error = null;
+            try {
+                responseData = completedFetch.responseFuture.get();
+            } catch (Throwable t) {
+                error = t;
+            }
+            processFetchLogResponse(completedFetch, responseData, error);
+        }
+        // otherwise, the request has timed out and been processed already.
     }
 
     void removeBuckets(Set<TableBucket> tableBuckets) throws InterruptedException {
@@ -213,39 +351,35 @@ final class ReplicaFetcherThread extends ShutdownableThread {
     }
 
     // TODO add fetch session to reduce the fetch request byte size.
-    private void processFetchLogRequest(FetchLogContext fetchLogContext) {
+    private void processFetchLogResponse(
+            InFlightFetch fetch, @Nullable FetchData responseData, @Nullable Throwable error) {
         Set<TableBucket> bucketsWithError = new HashSet<>();
-        FetchData responseData = null;
-        FetchLogRequest fetchLogRequest = fetchLogContext.getFetchLogRequest();
-        try {
-            LOG.trace(
-                    "Sending fetch log request {} to leader {}",
-                    fetchLogRequest,
-                    leader.leaderServerId());
-            // TODO this need not blocking to wait fetch log complete, change to async, see
-            // FLUSS-56115172.
-            responseData = leader.fetchLog(fetchLogContext).get(timeoutSeconds, TimeUnit.SECONDS);
-        } catch (Throwable t) {
-            if (isRunning()) {
-                LOG.warn("Error in response for fetch log request {}", fetchLogRequest, t);
-                inLock(
-                        bucketStatusMapLock,
-                        () -> bucketsWithError.addAll(fairBucketStatusMap.bucketSet()));
-            }
+        if (error != null && isRunning()) {
+            LOG.warn(
+                    "Error in response for fetch log request {}",
+                    fetch.fetchLogContext.getFetchLogRequest(),
+                    error);
         }
 
-        if (responseData != null) {
-            bucketStatusMapLock.lock();
-            try {
-                handleFetchLogResponse(responseData.getFetchLogResultMap(), bucketsWithError);
-            } finally {
-                // release buffer handle by fetchLogResponse.
-                ByteBuf parsedByteBuf = responseData.getFetchLogResponse().getParsedByteBuf();
-                if (parsedByteBuf != null) {
-                    parsedByteBuf.release();
+        bucketStatusMapLock.lock();
+        try {
+            inFlightBuckets.removeAll(fetch.fetchOffsets.keySet());
+            if (responseData != null) {
+                handleFetchLogResponse(
+                        responseData.getFetchLogResultMap(), fetch.fetchOffsets, bucketsWithError);
+            } else if (isRunning()) {
+                for (TableBucket tableBucket : fetch.fetchOffsets.keySet()) {
+                    if (fairBucketStatusMap.contains(tableBucket)) {
+                        bucketsWithError.add(tableBucket);
+                    }
                 }
-                bucketStatusMapLock.unlock();
             }
+        } finally {
+            if (responseData != null) {
+                // release buffer handle by fetchLogResponse.
+                releaseResponseBuffer(responseData);
+            }
+            bucketStatusMapLock.unlock();
         }
 
         if (!bucketsWithError.isEmpty()) {
@@ -253,8 +387,16 @@ final class ReplicaFetcherThread extends ShutdownableThread {
         }
     }
 
+    private static void releaseResponseBuffer(FetchData responseData) {
+        ByteBuf parsedByteBuf = responseData.getFetchLogResponse().getParsedByteBuf();
+        if (parsedByteBuf != null) {
+            parsedByteBuf.release();
+        }
+    }
+
     private void handleFetchLogResponse(
             Map<TableBucket, FetchLogResultForBucket> responseData,
+            Map<TableBucket, Long> fetchOffsets,
             Set<TableBucket> replicasWithError) {
         responseData.forEach(
                 (tableBucket, replicaData) -> {
@@ -263,6 +405,13 @@ final class ReplicaFetcherThread extends ShutdownableThread {
                     if (currentFetchStatus == null || !currentFetchStatus.isReadyForFetch()) {
                         return;
                     }
+                    // the fetch offset of the bucket has been reset (e.g., the bucket is
+                    // truncated or re-added) since the request was sent, the response is stale.
+                    Long requestedOffset = fetchOffsets.get(tableBucket);
+                    if (requestedOffset == null
+                            || requestedOffset != currentFetchStatus.fetchOffset()) {
+                        return;
+                    }
 
                     // TODO different error using different fix way.
                     switch (replicaData.getError().error()) {
@@ -555,6 +704,8 @@ final class ReplicaFetcherThread extends ShutdownableThread {
         // consistency guarantee, we should do as KIP-101 do, trace by:
         // https://github.com/apache/fluss/issues/673
         logTablet.updateHighWatermark(logTablet.localLogEndOffset());
+        // the leader high watermark bounds the client reads served by this follower
+        replica.updateLeaderHighWatermark(replicaData.getHighWatermark());
         LOG.trace(
                 "Follower received high watermark {} from the leader for replica {}",
                 replicaData.getHighWatermark(),
@@ -662,6 +813,11 @@ final class ReplicaFetcherThread extends ShutdownableThread {
     @Override
     public void awaitShutdown() throws InterruptedException {
         super.awaitShutdown();
+        // release the buffers of the responses of the requests which are still in flight.
+        for (InFlightFetch fetch : inFlightFetches) {
+            fetch.responseFuture.thenAccept(ReplicaFetcherThread::releaseResponseBuffer);
+        }
+        inFlightFetches.clear();
         // We don't expect any exceptions here, but catch and log any errors to avoid failing the
         // caller, especially during shutdown. It is safe to catch the exception here without
         // causing correctness issue because we are going to shut down the thread and will not
@@ -679,4 +835,21 @@ final class ReplicaFetcherThread extends ShutdownableThread {
         inLock(bucketStatusMapLock, bucketStatusMapCondition::signalAll);
         awaitShutdown();
     }
+
+    /** A fetch log request sent to the leader and not processed yet. */
+    private final class InFlightFetch {
+        private final FetchLogContext fetchLogContext;
+        /** The fetch offsets of the requested buckets. */
+        private final Map<TableBucket, Long> fetchOffsets;
+
+        private final long deadlineNanos;
+        private CompletableFuture<FetchData> responseFuture;
+
+        private InFlightFetch(
+                FetchLogContext fetchLogContext, Map<TableBucket, Long> fetchOffsets) {
+            this.fetchLogContext = fetchLogContext;
+            this.fetchOffsets = fetchOffsets;
+            this.deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        }
+    }
 }
@@ -21,7 +21,9 @@ import org.apache.fluss.cluster.ServerType;
 import org.apache.fluss.exception.AuthorizationException;
 import org.apache.fluss.exception.UnknownTableOrBucketException;
 import org.apache.fluss.fs.FileSystem;
+import org.apache.fluss.metadata.SchemaGetter;
 import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
 import org.apache.fluss.record.KvRecordBatch;
 import org.apache.fluss.record.MemoryLogRecords;
@@ -30,6 +32,12 @@ import org.apache.fluss.rpc.entity.LookupResultForBucket;
 import org.apache.fluss.rpc.entity.PrefixLookupResultForBucket;
 import org.apache.fluss.rpc.entity.ResultForBucket;
 import org.apache.fluss.rpc.gateway.TabletServerGateway;
+import org.apache.fluss.rpc.messages.AggregateScanRequest;
+import org.apache.fluss.rpc.messages.AggregateScanResponse;
+import org.apache.fluss.rpc.messages.CreateKvCheckpointRequest;
+import org.apache.fluss.rpc.messages.CreateKvCheckpointResponse;
+import org.apache.fluss.rpc.messages.FetchKvCheckpointFileRequest;
+import org.apache.fluss.rpc.messages.FetchKvCheckpointFileResponse;
 import org.apache.fluss.rpc.messages.FetchLogRequest;
 import org.apache.fluss.rpc.messages.FetchLogResponse;
 import org.apache.fluss.rpc.messages.InitWriterRequest;
@@ -95,7 +103,10 @@ import java.util.stream.Collectors;
 import static org.apache.fluss.security.acl.OperationType.READ;
 import static org.apache.fluss.security.acl.OperationType.WRITE;
 import static org.apache.fluss.server.coordinator.CoordinatorContext.INITIAL_COORDINATOR_EPOCH;
+import static org.apache.fluss.server.log.FetchParams.DEFAULT_MAX_WAIT_MS;
 import static org.apache.fluss.server.log.FetchParams.DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE;
+import static org.apache.fluss.server.log.FetchParams.DEFAULT_MIN_FETCH_BYTES;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getAggregateCalls;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getFetchLogData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getListOffsetsData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getNotifyLakeTableOffset;
@@ -107,6 +118,7 @@ import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getPutKvData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getStopReplicaData;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getTargetColumns;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.getUpdateMetadataRequestData;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeAggregateScanResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeFetchLogResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeInitWriterResponse;
 import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeLimitScanResponse;
@@ -191,7 +203,7 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
         }
 
         CompletableFuture<FetchLogResponse> response = new CompletableFuture<>();
-        FetchParams fetchParams = getFetchParams(request);
+        FetchParams fetchParams = getFetchParams(request, currentApiVersion());
         replicaManager.fetchLogRecords(
                 fetchParams,
                 interesting,
@@ -202,19 +214,29 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
         return response;
     }
 
-    private static FetchParams getFetchParams(FetchLogRequest request) {
+    private static FetchParams getFetchParams(FetchLogRequest request, short apiVersion) {
+        boolean fetchOnlyLeader = !request.hasReadFromFollower() || !request.isReadFromFollower();
         FetchParams fetchParams;
         if (request.hasMinBytes()) {
             fetchParams =
                     new FetchParams(
                             request.getFollowerServerId(),
+                            fetchOnlyLeader,
                             request.getMaxBytes(),
                             request.getMinBytes(),
                             request.hasMaxWaitMs()
                                     ? request.getMaxWaitMs()
-                                    : DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE);
+                                    : DEFAULT_MAX_WAIT_MS_WHEN_MIN_BYTES_ENABLE,
+                            apiVersion);
         } else {
-            fetchParams = new FetchParams(request.getFollowerServerId(), request.getMaxBytes());
+            fetchParams =
+                    new FetchParams(
+                            request.getFollowerServerId(),
+                            fetchOnlyLeader,
+                            request.getMaxBytes(),
+                            DEFAULT_MIN_FETCH_BYTES,
+                            DEFAULT_MAX_WAIT_MS,
+                            apiVersion);
         }
         return fetchParams;
     }
@@ -266,6 +288,7 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
         CompletableFuture<PrefixLookupResponse> response = new CompletableFuture<>();
         replicaManager.prefixLookups(
                 prefixLookupData,
+                request.hasIndexId() ? request.getIndexId() : null,
                 value -> response.complete(makePrefixLookupResponse(value, errorResponseMap)));
         return response;
     }
@@ -285,6 +308,47 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
         return response;
     }
 
+    @Override
+    public CompletableFuture<AggregateScanResponse> aggregateScan(AggregateScanRequest request) {
+        authorizeTable(READ, request.getTableId());
+
+        CompletableFuture<AggregateScanResponse> response = new CompletableFuture<>();
+        replicaManager.aggregateScan(
+                new TableBucket(
+                        request.getTableId(),
+                        request.hasPartitionId() ? request.getPartitionId() : null,
+                        request.getBucketId()),
+                request.getGroupByColumns(),
+                getAggregateCalls(request),
+                value -> response.complete(makeAggregateScanResponse(value)));
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<CreateKvCheckpointResponse> createKvCheckpoint(
+            CreateKvCheckpointRequest request) {
+        return replicaManager
+                .createKvCheckpoint(
+                        new TableBucket(
+                                request.getTableId(),
+                                request.hasPartitionId() ? request.getPartitionId() : null,
+                                request.getBucketId()),
+                        request.hasCheckpointId() ? request.getCheckpointId() : null)
+                .thenApply(ServerRpcMessageUtils::makeCreateKvCheckpointResponse);
+    }
+
+    @Override
+    public CompletableFuture<FetchKvCheckpointFileResponse> fetchKvCheckpointFile(
+            FetchKvCheckpointFileRequest request) {
+        return replicaManager
+                .readKvCheckpointFile(
+                        request.getCheckpointId(),
+                        request.getFileName(),
+                        request.getPosition(),
+                        request.getMaxBytes())
+                .thenApply(data -> new FetchKvCheckpointFileResponse().setData(data));
+    }
+
     @Override
     public CompletableFuture<NotifyLeaderAndIsrResponse> notifyLeaderAndIsr(
             NotifyLeaderAndIsrRequest notifyLeaderAndIsrRequest) {
@@ -386,6 +450,19 @@ public final class TabletService extends RpcServiceBase implements TabletServerG
         return response;
     }
 
+    /**
+     * Subscribes the schemas of the given table from the schema cache of the server, which are used
+     * by the other protocols to read the log records of the table. The returned getter must be
+     * released after use.
+     */
+    public SchemaGetter subscribeSchemas(TableInfo tableInfo) {
+        return metadataCache.subscribeWithInitialSchema(
+                tableInfo.getTablePath(),
+                tableInfo.getTableId(),
+                tableInfo.getSchemaId(),
+                tableInfo.getSchema());
+    }
+
     @Override
     public void authorizeTable(OperationType operationType, long tableId) {
         if (authorizer != null) {
@@ -17,6 +17,7 @@
 
 package org.apache.fluss.server.utils;
 
+import org.apache.fluss.aggregate.AggregateCall;
 import org.apache.fluss.cluster.Endpoint;
 import org.apache.fluss.cluster.ServerNode;
 import org.apache.fluss.cluster.ServerType;
@@ -37,6 +38,7 @@ import org.apache.fluss.metadata.TableChange;
 import org.apache.fluss.metadata.TableDescriptor;
 import org.apache.fluss.metadata.TableInfo;
 import org.apache.fluss.metadata.TablePath;
+import org.apache.fluss.predicate.Predicate;
 import org.apache.fluss.record.BytesViewLogRecords;
 import org.apache.fluss.record.DefaultKvRecordBatch;
 import org.apache.fluss.record.DefaultValueRecordBatch;
@@ -47,6 +49,7 @@ import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.remote.RemoteLogFetchInfo;
 import org.apache.fluss.remote.RemoteLogSegment;
+import org.apache.fluss.rpc.entity.AggregateScanResultForBucket;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
 import org.apache.fluss.rpc.entity.LimitScanResultForBucket;
 import org.apache.fluss.rpc.entity.ListOffsetsResultForBucket;
@@ -56,11 +59,14 @@ import org.apache.fluss.rpc.entity.ProduceLogResultForBucket;
 import org.apache.fluss.rpc.entity.PutKvResultForBucket;
 import org.apache.fluss.rpc.messages.AdjustIsrRequest;
 import org.apache.fluss.rpc.messages.AdjustIsrResponse;
+import org.apache.fluss.rpc.messages.AggregateScanRequest;
+import org.apache.fluss.rpc.messages.AggregateScanResponse;
 import org.apache.fluss.rpc.messages.AlterTableRequest;
 import org.apache.fluss.rpc.messages.CommitKvSnapshotRequest;
 import org.apache.fluss.rpc.messages.CommitLakeTableSnapshotRequest;
 import org.apache.fluss.rpc.messages.CommitRemoteLogManifestRequest;
 import org.apache.fluss.rpc.messages.CreateAclsResponse;
+import org.apache.fluss.rpc.messages.CreateKvCheckpointResponse;
 import org.apache.fluss.rpc.messages.DropAclsResponse;
 import org.apache.fluss.rpc.messages.FetchLogRequest;
 import org.apache.fluss.rpc.messages.FetchLogResponse;
@@ -91,6 +97,7 @@ import org.apache.fluss.rpc.messages.PbAdjustIsrReqForBucket;
 import org.apache.fluss.rpc.messages.PbAdjustIsrReqForTable;
 import org.apache.fluss.rpc.messages.PbAdjustIsrRespForBucket;
 import org.apache.fluss.rpc.messages.PbAdjustIsrRespForTable;
+import org.apache.fluss.rpc.messages.PbAggregateCall;
 import org.apache.fluss.rpc.messages.PbAlterConfig;
 import org.apache.fluss.rpc.messages.PbBucketMetadata;
 import org.apache.fluss.rpc.messages.PbBucketOffset;
@@ -131,6 +138,7 @@ import org.apache.fluss.rpc.messages.PbRebalanceProgressForBucket;
 import org.apache.fluss.rpc.messages.PbRemoteLogSegment;
 import org.apache.fluss.rpc.messages.PbRemotePathAndLocalFile;
 import org.apache.fluss.rpc.messages.PbRenameColumn;
+import org.apache.fluss.rpc.messages.PbReplicaLoad;
 import org.apache.fluss.rpc.messages.PbServerNode;
 import org.apache.fluss.rpc.messages.PbStopReplicaReqForBucket;
 import org.apache.fluss.rpc.messages.PbStopReplicaRespForBucket;
@@ -147,6 +155,7 @@ import org.apache.fluss.rpc.messages.ProduceLogResponse;
 import org.apache.fluss.rpc.messages.PutKvRequest;
 import org.apache.fluss.rpc.messages.PutKvResponse;
 import org.apache.fluss.rpc.messages.RebalanceResponse;
+import org.apache.fluss.rpc.messages.ReportReplicaLoadRequest;
 import org.apache.fluss.rpc.messages.StopReplicaRequest;
 import org.apache.fluss.rpc.messages.StopReplicaResponse;
 import org.apache.fluss.rpc.messages.UpdateMetadataRequest;
@@ -155,6 +164,7 @@ import org.apache.fluss.rpc.protocol.Errors;
 import org.apache.fluss.security.acl.AclBinding;
 import org.apache.fluss.server.authorizer.AclCreateResult;
 import org.apache.fluss.server.authorizer.AclDeleteResult;
+import org.apache.fluss.server.coordinator.rebalance.model.ReplicaLoad;
 import org.apache.fluss.server.entity.AdjustIsrResultForBucket;
 import org.apache.fluss.server.entity.CommitLakeTableSnapshotData;
 import org.apache.fluss.server.entity.CommitRemoteLogManifestData;
@@ -170,6 +180,7 @@ import org.apache.fluss.server.entity.StopReplicaResultForBucket;
 import org.apache.fluss.server.kv.snapshot.CompletedSnapshot;
 import org.apache.fluss.server.kv.snapshot.CompletedSnapshotJsonSerde;
 import org.apache.fluss.server.kv.snapshot.KvSnapshotHandle;
+import org.apache.fluss.server.kv.snapshot.PeerKvCheckpointManager.PeerKvCheckpoint;
 import org.apache.fluss.server.metadata.BucketMetadata;
 import org.apache.fluss.server.metadata.ClusterMetadata;
 import org.apache.fluss.server.metadata.PartitionMetadata;
@@ -203,6 +214,8 @@ import java.util.stream.Stream;
 
 import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toByteBuffer;
 import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toPbAclInfo;
+import static org.apache.fluss.rpc.util.CommonRpcMessageUtils.toPredicate;
+import static org.apache.fluss.utils.Preconditions.checkArgument;
 import static org.apache.fluss.utils.Preconditions.checkNotNull;
 
 /**
@@ -565,7 +578,7 @@ public class ServerRpcMessageUtils {
         return pbBucketMetadataList;
     }
 
-    private static TableMetadata toTableMetaData(PbTableMetadata pbTableMetadata) {
+    public static TableMetadata toTableMetaData(PbTableMetadata pbTableMetadata) {
         TablePath tablePath = toTablePath(pbTableMetadata.getTablePath());
         long tableId = pbTableMetadata.getTableId();
         TableInfo tableInfo =
@@ -823,6 +836,16 @@ public class ServerRpcMessageUtils {
             } else {
                 projectionFields = null;
             }
+            // decode the filter once for all the buckets of the table
+            final Predicate filter;
+            final int filterSchemaId;
+            if (fetchLogReqForTable.hasFilter() && fetchLogReqForTable.hasFilterSchemaId()) {
+                filter = toPredicate(fetchLogReqForTable.getFilter());
+                filterSchemaId = fetchLogReqForTable.getFilterSchemaId();
+            } else {
+                filter = null;
+                filterSchemaId = -1;
+            }
 
             List<PbFetchLogReqForBucket> bucketsReqsList = fetchLogReqForTable.getBucketsReqsList();
             for (PbFetchLogReqForBucket fetchLogReqForBucket : bucketsReqsList) {
@@ -838,7 +861,9 @@ public class ServerRpcMessageUtils {
                                 tableId,
                                 fetchLogReqForBucket.getFetchOffset(),
                                 fetchLogReqForBucket.getMaxFetchBytes(),
-                                projectionFields));
+                                projectionFields,
+                                filter,
+                                filterSchemaId));
             }
         }
 
@@ -1086,6 +1111,53 @@ public class ServerRpcMessageUtils {
         return limitScanResponse;
     }
 
+    public static List<AggregateCall> getAggregateCalls(AggregateScanRequest request) {
+        AggregateCall.Function[] functions = AggregateCall.Function.values();
+        List<AggregateCall> aggregateCalls = new ArrayList<>(request.getAggregateCallsCount());
+        for (PbAggregateCall pbAggregateCall : request.getAggregateCallsList()) {
+            int function = pbAggregateCall.getFunction();
+            checkArgument(
+                    function >= 0 && function < functions.length,
+                    "Unknown aggregate function: %s",
+                    function);
+            aggregateCalls.add(
+                    AggregateCall.of(
+                            functions[function],
+                            pbAggregateCall.hasColumn() ? pbAggregateCall.getColumn() : null));
+        }
+        return aggregateCalls;
+    }
+
+    public static AggregateScanResponse makeAggregateScanResponse(
+            AggregateScanResultForBucket bucketResult) {
+        AggregateScanResponse aggregateScanResponse = new AggregateScanResponse();
+        if (bucketResult.failed()) {
+            aggregateScanResponse.setError(
+                    bucketResult.getErrorCode(), bucketResult.getErrorMessage());
+        } else {
+            for (byte[] row : bucketResult.getRows()) {
+                aggregateScanResponse.addRow(row);
+            }
+            Long unaggregatedEndOffset = bucketResult.getUnaggregatedEndOffset();
+            if (unaggregatedEndOffset != null) {
+                aggregateScanResponse.setUnaggregatedEndOffset(unaggregatedEndOffset);
+            }
+        }
+        return aggregateScanResponse;
+    }
+
+    public static CreateKvCheckpointResponse makeCreateKvCheckpointResponse(
+            PeerKvCheckpoint checkpoint) {
+        CreateKvCheckpointResponse response =
+                new CreateKvCheckpointResponse()
+                        .setCheckpointId(checkpoint.getId())
+                        .setLogOffset(checkpoint.getLogOffset());
+        for (Map.Entry<String, Long> file : checkpoint.getFiles().entrySet()) {
+            response.addFile().setFileName(file.getKey()).setFileSize(file.getValue());
+        }
+        return response;
+    }
+
     public static LookupResponse makeLookupResponse(
             Map<TableBucket, LookupResultForBucket> lookupResult,
             Map<TableBucket, LookupResultForBucket> lookupError) {
@@ -1904,6 +1976,51 @@ public class ServerRpcMessageUtils {
         return response;
     }
 
+    public static ReportReplicaLoadRequest makeReportReplicaLoadRequest(
+            int tabletServerId, long diskCapacity, Map<TableBucket, ReplicaLoad> replicaLoads) {
+        ReportReplicaLoadRequest request =
+                new ReportReplicaLoadRequest()
+                        .setTabletServerId(tabletServerId)
+                        .setDiskCapacity(diskCapacity);
+        for (Map.Entry<TableBucket, ReplicaLoad> entry : replicaLoads.entrySet()) {
+            TableBucket tableBucket = entry.getKey();
+            ReplicaLoad replicaLoad = entry.getValue();
+            PbReplicaLoad pbReplicaLoad =
+                    request.addReplicaLoad()
+                            .setTableId(tableBucket.getTableId())
+                            .setBucketId(tableBucket.getBucket())
+                            .setBytesInRate(replicaLoad.bytesInRate())
+                            .setBytesOutRate(replicaLoad.bytesOutRate())
+                            .setLookupRate(replicaLoad.lookupRate())
+                            .setKvSize(replicaLoad.kvSize())
+                            .setLogSize(replicaLoad.logSize());
+            if (tableBucket.getPartitionId() != null) {
+                pbReplicaLoad.setPartitionId(tableBucket.getPartitionId());
+            }
+        }
+        return request;
+    }
+
+    public static Map<TableBucket, ReplicaLoad> getReplicaLoads(ReportReplicaLoadRequest request) {
+        Map<TableBucket, ReplicaLoad> replicaLoads = new HashMap<>();
+        for (PbReplicaLoad pbReplicaLoad : request.getReplicaLoadsList()) {
+            TableBucket tableBucket =
+                    new TableBucket(
+                            pbReplicaLoad.getTableId(),
+                            pbReplicaLoad.hasPartitionId() ? pbReplicaLoad.getPartitionId() : null,
+                            pbReplicaLoad.getBucketId());
+            replicaLoads.put(
+                    tableBucket,
+                    new ReplicaLoad(
+                            pbReplicaLoad.getBytesInRate(),
+                            pbReplicaLoad.getBytesOutRate(),
+                            pbReplicaLoad.getLookupRate(),
+                            pbReplicaLoad.getKvSize(),
+                            pbReplicaLoad.getLogSize()));
+        }
+        return replicaLoads;
+    }
+
     private static PbRebalancePlanForBucket toPbRebalancePlanForBucket(
             RebalancePlanForBucket planForBucket) {
         PbRebalancePlanForBucket pbRebalancePlanForBucket =
@@ -43,6 +43,7 @@ import org.apache.fluss.utils.StringUtils;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
@@ -112,9 +113,14 @@ public class TableDescriptorValidation {
         checkReplicationFactor(tableConf);
         checkLogFormat(tableConf, hasPrimaryKey);
         checkArrowCompression(tableConf);
+        checkRowCompression(tableConf);
+        checkArrowDictionaryEncoding(tableConf, schema.getRowType());
         checkMergeEngine(tableConf, hasPrimaryKey, schema);
         checkDeleteBehavior(tableConf, hasPrimaryKey);
+        checkSecondaryIndexes(
+                tableConf, hasPrimaryKey, schema.getRowType(), tableDescriptor.getPartitionKeys());
         checkTieredLog(tableConf);
+        checkLogCompaction(tableConf, hasPrimaryKey);
         checkPartition(tableConf, tableDescriptor.getPartitionKeys(), schema.getRowType());
         checkSystemColumns(schema.getRowType());
     }
@@ -261,6 +267,46 @@ public class TableDescriptorValidation {
         }
     }
 
+    private static void checkRowCompression(Configuration tableConf) {
+        if (tableConf.containsKey(ConfigOptions.TABLE_LOG_ROW_COMPRESSION_ZSTD_LEVEL.key())) {
+            int compressionLevel =
+                    tableConf.get(ConfigOptions.TABLE_LOG_ROW_COMPRESSION_ZSTD_LEVEL);
+            if (compressionLevel < 1 || compressionLevel > 22) {
+                throw new InvalidConfigException(
+                        "Invalid ZSTD compression level: "
+                                + compressionLevel
+                                + ". Expected a value between 1 and 22.");
+            }
+        }
+    }
+
+    private static void checkArrowDictionaryEncoding(Configuration tableConf, RowType rowType) {
+        List<String> columns = new TableConfig(tableConf).getArrowDictionaryEncodingColumns();
+        if (new HashSet<>(columns).size() != columns.size()) {
+            throw new InvalidConfigException(
+                    String.format(
+                            "The dictionary encoding columns %s contain duplicate columns.",
+                            columns));
+        }
+        for (String column : columns) {
+            int columnIndex = rowType.getFieldIndex(column);
+            if (columnIndex < 0) {
+                throw new InvalidConfigException(
+                        String.format(
+                                "The dictionary encoding column '%s' doesn't exist in schema.",
+                                column));
+            }
+            DataTypeRoot typeRoot = rowType.getTypeAt(columnIndex).getTypeRoot();
+            if (typeRoot != DataTypeRoot.STRING && typeRoot != DataTypeRoot.CHAR) {
+                throw new InvalidConfigException(
+                        String.format(
+                                "The dictionary encoding column '%s' has unsupported data type %s. "
+                                        + "Currently, only STRING and CHAR columns can be dictionary encoded.",
+                                column, rowType.getTypeAt(columnIndex)));
+            }
+        }
+    }
+
     private static void checkMergeEngine(
             Configuration tableConf, boolean hasPrimaryKey, Schema schema) {
         MergeEngineType mergeEngine = tableConf.get(ConfigOptions.TABLE_MERGE_ENGINE);
@@ -308,6 +354,55 @@ public class TableDescriptorValidation {
         }
     }
 
+    private static void checkSecondaryIndexes(
+            Configuration tableConf,
+            boolean hasPrimaryKey,
+            RowType rowType,
+            List<String> partitionKeys) {
+        List<List<String>> indexes = new TableConfig(tableConf).getSecondaryIndexes();
+        if (indexes.isEmpty()) {
+            return;
+        }
+        if (!hasPrimaryKey) {
+            throw new InvalidConfigException(
+                    "Secondary index is only supported in primary key table.");
+        }
+        Set<List<String>> distinctIndexes = new HashSet<>();
+        for (List<String> index : indexes) {
+            if (!distinctIndexes.add(index)) {
+                throw new InvalidConfigException(
+                        String.format("The secondary index %s is declared more than once.", index));
+            }
+            if (new HashSet<>(index).size() != index.size()) {
+                throw new InvalidConfigException(
+                        String.format("The secondary index %s contains duplicate columns.", index));
+            }
+            for (String column : index) {
+                int columnIndex = rowType.getFieldIndex(column);
+                if (columnIndex < 0) {
+                    throw new InvalidConfigException(
+                            String.format(
+                                    "The column '%s' of the secondary index %s doesn't exist in schema.",
+                                    column, index));
+                }
+                DataType columnType = rowType.getTypeAt(columnIndex);
+                if (KEY_UNSUPPORTED_TYPES.contains(columnType.getTypeRoot())) {
+                    throw new InvalidConfigException(
+                            String.format(
+                                    "The column '%s' of the secondary index %s has unsupported data type %s. "
+                                            + "Currently, secondary index column does not support types: %s.",
+                                    column, index, columnType, KEY_UNSUPPORTED_TYPES));
+                }
+            }
+            if (!index.containsAll(partitionKeys)) {
+                throw new InvalidConfigException(
+                        String.format(
+                                "The secondary index %s must contain all the partition keys %s.",
+                                index, partitionKeys));
+            }
+        }
+    }
+
     /**
      * Validates aggregation function parameters in the schema.
      *
@@ -353,6 +448,30 @@ public class TableDescriptorValidation {
         }
     }
 
+    private static void checkLogCompaction(Configuration tableConf, boolean hasPrimaryKey) {
+        if (!hasPrimaryKey && tableConf.get(ConfigOptions.TABLE_LOG_COMPACTION_ENABLED)) {
+            throw new InvalidConfigException(
+                    String.format(
+                            "'%s' is only supported for primary key tables.",
+                            ConfigOptions.TABLE_LOG_COMPACTION_ENABLED.key()));
+        }
+        double minDirtyRatio =
+                tableConf.get(ConfigOptions.TABLE_LOG_COMPACTION_MIN_CLEANABLE_DIRTY_RATIO);
+        if (minDirtyRatio < 0 || minDirtyRatio > 1) {
+            throw new InvalidConfigException(
+                    String.format(
+                            "'%s' must be in the range [0, 1], but is %s.",
+                            ConfigOptions.TABLE_LOG_COMPACTION_MIN_CLEANABLE_DIRTY_RATIO.key(),
+                            minDirtyRatio));
+        }
+        if (tableConf.get(ConfigOptions.TABLE_LOG_COMPACTION_TOMBSTONE_RETENTION).isNegative()) {
+            throw new InvalidConfigException(
+                    String.format(
+                            "'%s' must not be negative.",
+                            ConfigOptions.TABLE_LOG_COMPACTION_TOMBSTONE_RETENTION.key()));
+        }
+    }
+
     private static void checkPartition(
             Configuration tableConf, List<String> partitionKeys, RowType rowType) {
         boolean isPartitioned = !partitionKeys.isEmpty();
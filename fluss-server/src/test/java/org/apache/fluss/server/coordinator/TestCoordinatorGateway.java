@@ -102,6 +102,8 @@ import org.apache.fluss.rpc.messages.RegisterProducerOffsetsRequest;
 import org.apache.fluss.rpc.messages.RegisterProducerOffsetsResponse;
 import org.apache.fluss.rpc.messages.RemoveServerTagRequest;
 import org.apache.fluss.rpc.messages.RemoveServerTagResponse;
+import org.apache.fluss.rpc.messages.ReportReplicaLoadRequest;
+import org.apache.fluss.rpc.messages.ReportReplicaLoadResponse;
 import org.apache.fluss.rpc.messages.TableExistsRequest;
 import org.apache.fluss.rpc.messages.TableExistsResponse;
 import org.apache.fluss.rpc.protocol.ApiError;
@@ -397,6 +399,12 @@ public class TestCoordinatorGateway implements CoordinatorGateway {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public CompletableFuture<ReportReplicaLoadResponse> reportReplicaLoad(
+            ReportReplicaLoadRequest request) {
+        return CompletableFuture.completedFuture(new ReportReplicaLoadResponse());
+    }
+
     @Override
     public CompletableFuture<ListAclsResponse> listAcls(ListAclsRequest request) {
         throw new UnsupportedOperationException();
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.coordinator.rebalance.goal;
+
+import org.apache.fluss.exception.RebalanceFailureException;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.server.coordinator.rebalance.model.ClusterModel;
+import org.apache.fluss.server.coordinator.rebalance.model.ReplicaLoad;
+import org.apache.fluss.server.coordinator.rebalance.model.Resource;
+import org.apache.fluss.server.coordinator.rebalance.model.ServerModel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.apache.fluss.server.coordinator.rebalance.RebalanceTestUtils.addBucket;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link DiskCapacityGoal}. */
+public class DiskCapacityGoalTest {
+
+    @Test
+    void testDoOptimize() {
+        ClusterModel clusterModel = createClusterModel(1000, 1000, 1000);
+
+        new DiskCapacityGoal().optimize(clusterModel, new HashSet<>());
+
+        // the disk usage of each server is under 80% of the disk capacity.
+        assertThat(clusterModel.server(0).utilization(Resource.DISK)).isEqualTo(600);
+        assertThat(clusterModel.server(1).utilization(Resource.DISK)).isEqualTo(600);
+        assertThat(clusterModel.server(2).utilization(Resource.DISK)).isEqualTo(600);
+    }
+
+    @Test
+    void testConfiguredDiskCapacityThreshold() {
+        ClusterModel clusterModel = createClusterModel(1000, 1000, 1000);
+
+        // the disk usage of 900 is under 95% of the disk capacity, nothing is moved.
+        new DiskCapacityGoal(0.95).optimize(clusterModel, new HashSet<>());
+
+        assertThat(clusterModel.server(0).utilization(Resource.DISK)).isEqualTo(900);
+        assertThat(clusterModel.server(1).utilization(Resource.DISK)).isEqualTo(900);
+        assertThat(clusterModel.server(2).utilization(Resource.DISK)).isEqualTo(0);
+
+        assertThatThrownBy(() -> new DiskCapacityGoal(1.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The disk capacity threshold must be in (0, 1]");
+    }
+
+    @Test
+    void testUnknownDiskCapacity() {
+        // server 0 and server 1 with unknown disk capacity are not limited.
+        ClusterModel clusterModel = createClusterModel(-1, -1, 1000);
+
+        new DiskCapacityGoal().optimize(clusterModel, new HashSet<>());
+
+        assertThat(clusterModel.server(0).utilization(Resource.DISK)).isEqualTo(900);
+        assertThat(clusterModel.server(2).utilization(Resource.DISK)).isEqualTo(0);
+    }
+
+    @Test
+    void testInsufficientDiskCapacity() {
+        ClusterModel clusterModel = createClusterModel(500, 500, 500);
+        assertThatThrownBy(() -> new DiskCapacityGoal().optimize(clusterModel, new HashSet<>()))
+                .isInstanceOf(RebalanceFailureException.class)
+                .hasMessageContaining("Insufficient disk capacity");
+
+        // the replicas are too large to be moved to server 2.
+        ClusterModel clusterModel2 = createClusterModel(1000, 10000, 100);
+        assertThatThrownBy(() -> new DiskCapacityGoal().optimize(clusterModel2, new HashSet<>()))
+                .isInstanceOf(RebalanceFailureException.class)
+                .hasMessageContaining("above the capacity limit");
+    }
+
+    private ClusterModel createClusterModel(
+            long diskCapacity0, long diskCapacity1, long diskCapacity2) {
+        SortedSet<ServerModel> servers = new TreeSet<>();
+        servers.add(new ServerModel(0, "rack0", false, diskCapacity0));
+        servers.add(new ServerModel(1, "rack1", false, diskCapacity1));
+        servers.add(new ServerModel(2, "rack2", false, diskCapacity2));
+        ClusterModel clusterModel = new ClusterModel(servers);
+        // 3 buckets with 300 bytes log on server 0 and server 1.
+        for (int i = 0; i < 3; i++) {
+            TableBucket tableBucket = new TableBucket(1, i);
+            addBucket(clusterModel, tableBucket, Arrays.asList(0, 1));
+            clusterModel.setReplicaLoad(tableBucket, new ReplicaLoad(0, 0, 0, 0, 300));
+        }
+        return clusterModel;
+    }
+}
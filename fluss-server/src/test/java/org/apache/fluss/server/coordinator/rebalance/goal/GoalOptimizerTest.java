@@ -20,6 +20,8 @@ package org.apache.fluss.server.coordinator.rebalance.goal;
 import org.apache.fluss.cluster.rebalance.RebalancePlanForBucket;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.server.coordinator.rebalance.model.ClusterModel;
+import org.apache.fluss.server.coordinator.rebalance.model.ReplicaLoad;
+import org.apache.fluss.server.coordinator.rebalance.model.Resource;
 import org.apache.fluss.server.coordinator.rebalance.model.ServerModel;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -70,6 +72,35 @@ public class GoalOptimizerTest {
         assertThat(plans).isNotEmpty();
     }
 
+    @Test
+    void testHardGoalOptimizedFirst() {
+        SortedSet<ServerModel> serversWithDisk = new TreeSet<>();
+        serversWithDisk.add(new ServerModel(0, "rack0", false, 1000L));
+        serversWithDisk.add(new ServerModel(1, "rack1", false, 1000L));
+        serversWithDisk.add(new ServerModel(2, "rack2", false, 200L));
+        serversWithDisk.add(new ServerModel(3, "rack0", false, 1000L));
+        ClusterModel clusterModel = new ClusterModel(serversWithDisk);
+        for (int i = 0; i < 3; i++) {
+            TableBucket tableBucket = new TableBucket(0, i);
+            addBucket(clusterModel, tableBucket, Arrays.asList(0, 1));
+            clusterModel.setReplicaLoad(tableBucket, new ReplicaLoad(0, 0, 0, 0, 300));
+        }
+
+        // the disk capacity goal is optimized first even though it has the lowest priority, so
+        // the replica distribution goal can't move replicas to the server 2 with small disk.
+        GoalOptimizer goalOptimizer = new GoalOptimizer();
+        List<Goal> goals = new ArrayList<>();
+        goals.add(new ReplicaDistributionGoal());
+        goals.add(new DiskCapacityGoal());
+
+        goalOptimizer.doOptimizeOnce(clusterModel, goals);
+        for (ServerModel server : clusterModel.servers()) {
+            assertThat(server.utilization(Resource.DISK))
+                    .isLessThanOrEqualTo(server.diskCapacity() * 0.8);
+        }
+        assertThat(clusterModel.server(2).numReplicas()).isEqualTo(0);
+    }
+
     @Test
     void testNodeJoin() {
         // Initial cluster with 3 nodes
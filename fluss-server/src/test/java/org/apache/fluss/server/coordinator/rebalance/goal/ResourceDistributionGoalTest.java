@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.coordinator.rebalance.goal;
+
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.server.coordinator.rebalance.model.ClusterModel;
+import org.apache.fluss.server.coordinator.rebalance.model.ReplicaLoad;
+import org.apache.fluss.server.coordinator.rebalance.model.Resource;
+import org.apache.fluss.server.coordinator.rebalance.model.ServerModel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.apache.fluss.server.coordinator.rebalance.RebalanceTestUtils.addBucket;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link ResourceDistributionGoal}. */
+public class ResourceDistributionGoalTest {
+    private SortedSet<ServerModel> servers;
+
+    @BeforeEach
+    public void setup() {
+        servers = new TreeSet<>();
+        servers.add(new ServerModel(0, "rack0", false));
+        servers.add(new ServerModel(1, "rack1", false));
+        servers.add(new ServerModel(2, "rack2", false));
+    }
+
+    @Test
+    void testCpuDistributionGoal() {
+        ClusterModel clusterModel = new ClusterModel(servers);
+        // all the leaders with lookup load are on server 0.
+        for (int i = 0; i < 6; i++) {
+            TableBucket tableBucket = new TableBucket(1, i);
+            addBucket(clusterModel, tableBucket, Arrays.asList(0, 1));
+            clusterModel.setReplicaLoad(tableBucket, new ReplicaLoad(0, 0, 100, 0, 0));
+        }
+        assertThat(clusterModel.server(0).utilization(Resource.CPU)).isEqualTo(600);
+        assertThat(clusterModel.server(1).utilization(Resource.CPU)).isEqualTo(0);
+        assertThat(clusterModel.server(2).utilization(Resource.CPU)).isEqualTo(0);
+
+        new CpuDistributionGoal().optimize(clusterModel, new HashSet<>());
+
+        // the leaderships are moved to server 1 first, then the replicas are moved to server 2.
+        assertThat(clusterModel.server(0).utilization(Resource.CPU)).isEqualTo(200);
+        assertThat(clusterModel.server(1).utilization(Resource.CPU)).isEqualTo(200);
+        assertThat(clusterModel.server(2).utilization(Resource.CPU)).isEqualTo(200);
+        assertThat(clusterModel.server(1).numLeaderReplicas()).isEqualTo(2);
+        assertThat(clusterModel.server(2).numReplicas()).isEqualTo(2);
+        assertThat(clusterModel.numReplicas()).isEqualTo(12);
+    }
+
+    @Test
+    void testNetworkInboundDistributionGoal() {
+        ClusterModel clusterModel = new ClusterModel(servers);
+        // both the leader and follower replicas receive the inbound load.
+        for (int i = 0; i < 6; i++) {
+            TableBucket tableBucket = new TableBucket(1, i);
+            addBucket(clusterModel, tableBucket, Arrays.asList(0, 1));
+            clusterModel.setReplicaLoad(tableBucket, new ReplicaLoad(100, 200, 0, 0, 0));
+        }
+        assertThat(clusterModel.server(0).utilization(Resource.NW_IN)).isEqualTo(600);
+        assertThat(clusterModel.server(1).utilization(Resource.NW_IN)).isEqualTo(600);
+
+        new NetworkInboundDistributionGoal().optimize(clusterModel, new HashSet<>());
+
+        // moving leaderships doesn't change the inbound load, so the replicas are moved.
+        assertThat(clusterModel.server(0).utilization(Resource.NW_IN)).isEqualTo(400);
+        assertThat(clusterModel.server(1).utilization(Resource.NW_IN)).isEqualTo(400);
+        assertThat(clusterModel.server(2).utilization(Resource.NW_IN)).isEqualTo(400);
+        assertThat(clusterModel.utilization(Resource.NW_IN)).isEqualTo(1200);
+    }
+
+    @Test
+    void testNoMovementWithoutLoad() {
+        ClusterModel clusterModel = new ClusterModel(servers);
+        for (int i = 0; i < 6; i++) {
+            addBucket(clusterModel, new TableBucket(1, i), Arrays.asList(0, 1));
+        }
+
+        new NetworkOutboundDistributionGoal().optimize(clusterModel, new HashSet<>());
+
+        assertThat(clusterModel.server(0).numLeaderReplicas()).isEqualTo(6);
+        assertThat(clusterModel.server(2).numReplicas()).isEqualTo(0);
+    }
+}
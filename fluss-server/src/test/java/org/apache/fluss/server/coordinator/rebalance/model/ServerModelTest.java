@@ -77,6 +77,39 @@ public class ServerModelTest {
         assertThat(serverModel.tables()).containsExactly(1L, 3L);
     }
 
+    @Test
+    void testUtilization() {
+        ServerModel serverModel = new ServerModel(0, "rack0", false, 1000L);
+        assertThat(serverModel.diskCapacity()).isEqualTo(1000L);
+
+        TableBucket t1b0 = new TableBucket(1L, 0);
+        TableBucket t1b1 = new TableBucket(1L, 1);
+        serverModel.putReplica(t1b0, new ReplicaModel(t1b0, serverModel, true));
+        serverModel.putReplica(t1b1, new ReplicaModel(t1b1, serverModel, false));
+        serverModel.setReplicaLoad(t1b0, new ReplicaLoad(10, 20, 30, 40, 50));
+        serverModel.setReplicaLoad(t1b1, new ReplicaLoad(1, 2, 3, 4, 5));
+
+        // the follower replica only has the inbound load and the log on disk.
+        assertThat(serverModel.utilization(Resource.NW_IN)).isEqualTo(11);
+        assertThat(serverModel.utilization(Resource.NW_OUT)).isEqualTo(20);
+        assertThat(serverModel.utilization(Resource.CPU)).isEqualTo(30);
+        assertThat(serverModel.utilization(Resource.DISK)).isEqualTo(95);
+
+        // the utilization changes with the leadership.
+        serverModel.makeFollower(t1b0);
+        serverModel.makeLeader(t1b1);
+        assertThat(serverModel.utilization(Resource.NW_IN)).isEqualTo(11);
+        assertThat(serverModel.utilization(Resource.NW_OUT)).isEqualTo(2);
+        assertThat(serverModel.utilization(Resource.CPU)).isEqualTo(3);
+        assertThat(serverModel.utilization(Resource.DISK)).isEqualTo(59);
+
+        serverModel.removeReplica(t1b1);
+        assertThat(serverModel.utilization(Resource.NW_IN)).isEqualTo(10);
+        assertThat(serverModel.utilization(Resource.NW_OUT)).isEqualTo(0);
+        assertThat(serverModel.utilization(Resource.CPU)).isEqualTo(0);
+        assertThat(serverModel.utilization(Resource.DISK)).isEqualTo(50);
+    }
+
     @Test
     void testToString() {
         ServerModel serverModel = new ServerModel(0, "rack0", true);
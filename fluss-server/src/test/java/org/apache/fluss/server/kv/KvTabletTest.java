@@ -17,8 +17,10 @@
 
 package org.apache.fluss.server.kv;
 
+import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
 import org.apache.fluss.config.TableConfig;
+import org.apache.fluss.exception.InvalidTableException;
 import org.apache.fluss.exception.InvalidTargetColumnException;
 import org.apache.fluss.exception.OutOfOrderSequenceException;
 import org.apache.fluss.memory.TestingMemorySegmentPool;
@@ -47,6 +49,7 @@ import org.apache.fluss.record.TestData;
 import org.apache.fluss.record.TestingSchemaGetter;
 import org.apache.fluss.record.bytesview.MultiBytesView;
 import org.apache.fluss.row.BinaryRow;
+import org.apache.fluss.row.encode.CompactedKeyEncoder;
 import org.apache.fluss.row.encode.ValueEncoder;
 import org.apache.fluss.server.kv.autoinc.AutoIncrementManager;
 import org.apache.fluss.server.kv.autoinc.TestingSequenceGeneratorFactory;
@@ -208,10 +211,13 @@ class KvTabletTest {
                 KvFormat.COMPACTED,
                 rowMerger,
                 DEFAULT_COMPRESSION,
+                tableConf.getRowCompressionInfo(),
                 schemaGetter,
                 tableConf.getChangelogImage(),
                 KvManager.getDefaultRateLimiter(),
-                autoIncrementManager);
+                null,
+                autoIncrementManager,
+                tableConf.getSecondaryIndexes());
     }
 
     @Test
@@ -1178,6 +1184,64 @@ class KvTabletTest {
                 .isEqualTo(expectedLogs);
     }
 
+    @Test
+    void testSecondaryIndexLookup() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put(ConfigOptions.TABLE_SECONDARY_INDEXES.key(), "b");
+        initLogTabletAndKvTablet(DATA1_SCHEMA_PK, config);
+        CompactedKeyEncoder indexKeyEncoder =
+                CompactedKeyEncoder.createKeyEncoder(baseRowType, Collections.singletonList("b"));
+        byte[] indexKeyX =
+                indexKeyEncoder.encodeKey(compactedRow(baseRowType, new Object[] {0, "x"}));
+        byte[] indexKeyY =
+                indexKeyEncoder.encodeKey(compactedRow(baseRowType, new Object[] {0, "y"}));
+        byte[] indexKeyZ =
+                indexKeyEncoder.encodeKey(compactedRow(baseRowType, new Object[] {0, "z"}));
+
+        kvTablet.putAsLeader(
+                kvRecordBatchFactory.ofRecords(
+                        Arrays.asList(
+                                kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "x"}),
+                                kvRecordFactory.ofRecord("k2".getBytes(), new Object[] {2, "x"}),
+                                kvRecordFactory.ofRecord("k3".getBytes(), new Object[] {3, "y"}),
+                                kvRecordFactory.ofRecord("k4".getBytes(), new Object[] {4, null}),
+                                // the index entry of the overwritten value in the same flush
+                                // must be removed as well
+                                kvRecordFactory.ofRecord("k5".getBytes(), new Object[] {5, "z"}),
+                                kvRecordFactory.ofRecord("k5".getBytes(), new Object[] {5, "y"}))),
+                null);
+        // the index is only visible after flushed to RocksDB
+        assertThat(kvTablet.indexLookup(0, indexKeyX)).isEmpty();
+        kvTablet.flush(Long.MAX_VALUE, NOPErrorHandler.INSTANCE);
+
+        assertThat(kvTablet.indexLookup(0, indexKeyX))
+                .containsExactlyInAnyOrderElementsOf(
+                        kvTablet.multiGet(Arrays.asList("k1".getBytes(), "k2".getBytes())));
+        assertThat(kvTablet.indexLookup(0, indexKeyY))
+                .containsExactlyInAnyOrderElementsOf(
+                        kvTablet.multiGet(Arrays.asList("k3".getBytes(), "k5".getBytes())));
+        assertThat(kvTablet.indexLookup(0, indexKeyZ)).isEmpty();
+
+        // update the indexed column and delete a row
+        kvTablet.putAsLeader(
+                kvRecordBatchFactory.ofRecords(
+                        Arrays.asList(
+                                kvRecordFactory.ofRecord("k1".getBytes(), new Object[] {1, "y"}),
+                                kvRecordFactory.ofRecord("k3".getBytes(), null))),
+                null);
+        kvTablet.flush(Long.MAX_VALUE, NOPErrorHandler.INSTANCE);
+        assertThat(kvTablet.indexLookup(0, indexKeyX))
+                .containsExactlyInAnyOrderElementsOf(
+                        kvTablet.multiGet(Collections.singletonList("k2".getBytes())));
+        assertThat(kvTablet.indexLookup(0, indexKeyY))
+                .containsExactlyInAnyOrderElementsOf(
+                        kvTablet.multiGet(Arrays.asList("k1".getBytes(), "k5".getBytes())));
+
+        assertThatThrownBy(() -> kvTablet.indexLookup(1, indexKeyX))
+                .isInstanceOf(InvalidTableException.class)
+                .hasMessageContaining("The secondary index 1 doesn't exist");
+    }
+
     @Test
     void testAppendDuplicatedKvBatch() throws Exception {
         initLogTabletAndKvTablet(DATA1_SCHEMA_PK, new HashMap<>());
@@ -1568,6 +1632,9 @@ class KvTabletTest {
         assertThat(statistics.getTotalMemoryUsage())
                 .as("Total memory usage must be positive")
                 .isGreaterThan(0);
+        assertThat(statistics.getTableReadersMemoryUsage())
+                .as("Table readers memory usage is a part of the total memory usage")
+                .isBetween(0L, statistics.getTotalMemoryUsage());
 
         // ========== Phase 6: Verify Metrics After Close ==========
         kvTablet.close();
@@ -1585,5 +1652,6 @@ class KvTabletTest {
         assertThat(statistics.getCompactionBytesWritten()).isEqualTo(0);
         assertThat(statistics.getCompactionTimeMicros()).isEqualTo(0);
         assertThat(statistics.getTotalMemoryUsage()).isEqualTo(0);
+        assertThat(statistics.getTableReadersMemoryUsage()).isEqualTo(0);
     }
 }
@@ -19,6 +19,8 @@ package org.apache.fluss.server.kv.rocksdb;
 
 import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.server.kv.KvManager;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -233,4 +235,56 @@ class RocksDBResourceContainerTest {
             assertThat(tableConfig.pinTopLevelIndexAndFilter()).isTrue();
         }
     }
+
+    @Test
+    void testSharedMemoryResources() throws Exception {
+        Configuration configuration = new Configuration();
+        assertThat(RocksDBSharedResources.create(configuration)).isNull();
+
+        configuration.set(ConfigOptions.KV_SHARED_MEMORY_SIZE, MemorySize.parse("96mb"));
+        configuration.set(ConfigOptions.KV_SHARED_MEMORY_WRITE_BUFFER_RATIO, 0.5);
+        RocksDBSharedResources sharedResources = RocksDBSharedResources.create(configuration);
+        assertThat(sharedResources).isNotNull();
+        assertThat(sharedResources.getBlockCacheCapacity()).isEqualTo(80 * SizeUnit.MB);
+        assertThat(sharedResources.getWriteBufferManagerCapacity()).isEqualTo(32 * SizeUnit.MB);
+
+        try {
+            RocksDBResourceContainer container1 =
+                    new RocksDBResourceContainer(
+                            configuration,
+                            null,
+                            false,
+                            KvManager.getDefaultRateLimiter(),
+                            sharedResources);
+            RocksDBResourceContainer container2 =
+                    new RocksDBResourceContainer(
+                            configuration,
+                            null,
+                            false,
+                            KvManager.getDefaultRateLimiter(),
+                            sharedResources);
+            container1.getDbOptions();
+            BlockBasedTableConfig tableConfig =
+                    (BlockBasedTableConfig) container1.getColumnOptions().tableFormatConfig();
+            container2.getColumnOptions();
+
+            // all the containers use the shared block cache, and index and filter blocks are
+            // always cached to be bounded by the shared memory
+            assertThat(container1.isBlockCacheShared()).isTrue();
+            assertThat(container1.getBlockCache()).isSameAs(sharedResources.getBlockCache());
+            assertThat(container2.getBlockCache()).isSameAs(sharedResources.getBlockCache());
+            assertThat(tableConfig.cacheIndexAndFilterBlocks()).isTrue();
+            assertThat(tableConfig.cacheIndexAndFilterBlocksWithHighPriority()).isTrue();
+
+            // the shared block cache should not be released by the containers
+            container1.close();
+            container2.close();
+            assertThat(sharedResources.getBlockCache().isOwningHandle()).isTrue();
+            assertThat(sharedResources.getWriteBufferManager().isOwningHandle()).isTrue();
+        } finally {
+            sharedResources.close();
+        }
+        assertThat(sharedResources.getBlockCache().isOwningHandle()).isFalse();
+        assertThat(sharedResources.getWriteBufferManager().isOwningHandle()).isFalse();
+    }
 }
@@ -18,6 +18,9 @@
 package org.apache.fluss.server.log;
 
 import org.apache.fluss.metadata.SchemaInfo;
+import org.apache.fluss.predicate.Predicate;
+import org.apache.fluss.predicate.PredicateBuilder;
+import org.apache.fluss.record.FileLogFilter;
 import org.apache.fluss.record.FileLogProjection;
 import org.apache.fluss.record.ProjectionPushdownCache;
 import org.apache.fluss.record.TestData;
@@ -82,4 +85,33 @@ class FetchParamsTest {
         // the FileLogProjection should be cached
         assertThat(fetchParams.projection()).isNotNull().isSameAs(prevProjection);
     }
+
+    @Test
+    void testSetCurrentFetchWithFilter() {
+        FetchParams fetchParams = new FetchParams(-1, 100);
+        ProjectionPushdownCache projectionCache = new ProjectionPushdownCache();
+        TestingSchemaGetter schemaGetter =
+                new TestingSchemaGetter(new SchemaInfo(TestData.DATA1_SCHEMA, (short) 1));
+        Predicate filter = new PredicateBuilder(TestData.DATA1_ROW_TYPE).greaterThan(0, 10);
+        fetchParams.setCurrentFetch(
+                1L, 20L, 1024, schemaGetter, DEFAULT_COMPRESSION, null, projectionCache, filter, 1);
+        assertThat(fetchParams.projection()).isNull();
+        assertThat(fetchParams.filter()).isNotNull();
+        FileLogFilter prevFilter = fetchParams.filter();
+
+        fetchParams.setCurrentFetch(
+                2L, 30L, 512, schemaGetter, DEFAULT_COMPRESSION, null, projectionCache);
+        assertThat(fetchParams.filter()).isNull();
+
+        fetchParams.setCurrentFetch(
+                1L, 20L, 1024, schemaGetter, DEFAULT_COMPRESSION, null, projectionCache, filter, 1);
+        // the FileLogFilter should be reused
+        assertThat(fetchParams.filter()).isNotNull().isSameAs(prevFilter);
+
+        // followers always fetch the full log
+        FetchParams followerFetchParams = new FetchParams(1, 100);
+        followerFetchParams.setCurrentFetch(
+                1L, 20L, 1024, schemaGetter, DEFAULT_COMPRESSION, null, projectionCache, filter, 1);
+        assertThat(followerFetchParams.filter()).isNull();
+    }
 }
@@ -386,6 +386,38 @@ final class LocalLogTest extends LogTestBase {
         assertThat(nonActiveBaseOffsetsFrom(6L)).isEqualTo(Collections.emptyList());
     }
 
+    @Test
+    void testPublishPendingAppendsInOrder() throws Exception {
+        MemoryLogRecords ms1 =
+                genMemoryLogRecordsWithBaseOffset(
+                        0L, Arrays.asList(new Object[] {1, "a"}, new Object[] {2, "b"}));
+        MemoryLogRecords ms2 =
+                genMemoryLogRecordsWithBaseOffset(
+                        2L, Collections.singletonList(new Object[] {3, "c"}));
+        LocalLog.PendingAppend append1 = localLog.reserveAppend(1L, -1L, 0L, ms1);
+        LocalLog.PendingAppend append2 = localLog.reserveAppend(2L, -1L, 0L, ms2);
+        assertThat(localLog.getReservedLogEndOffset()).isEqualTo(3L);
+        assertThat(localLog.getLocalLogEndOffset()).isEqualTo(0L);
+
+        // the second append can't be published before the first one.
+        append2.write();
+        assertThat(localLog.publishAppends()).isFalse();
+        assertThat(localLog.getLocalLogEndOffset()).isEqualTo(0L);
+        assertThat(localLog.getSegments().activeSegment().getSizeInBytes()).isEqualTo(0);
+
+        append1.write();
+        assertThat(localLog.publishAppends()).isFalse();
+        append1.awaitPublished();
+        append2.awaitPublished();
+        assertThat(localLog.hasPendingAppends()).isFalse();
+        assertThat(localLog.getLocalLogEndOffset()).isEqualTo(3L);
+        assertThat(localLog.getLocalLogEndOffsetMetadata().getRelativePositionInSegment())
+                .isEqualTo(ms1.sizeInBytes() + ms2.sizeInBytes());
+
+        FetchDataInfo read = readLog(localLog, 2L, Integer.MAX_VALUE);
+        assertLogRecordsEquals(read.getRecords(), ms2);
+    }
+
     private List<Long> nonActiveBaseOffsetsFrom(long offset) {
         return localLog.getSegments().nonActiveLogSegmentsFrom(offset).stream()
                 .map(LogSegment::getBaseOffset)
@@ -0,0 +1,514 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log;
+
+import org.apache.fluss.compression.RowCompressionInfo;
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.config.MemorySize;
+import org.apache.fluss.metadata.LogFormat;
+import org.apache.fluss.metadata.PhysicalTablePath;
+import org.apache.fluss.metadata.SchemaInfo;
+import org.apache.fluss.record.ChangeType;
+import org.apache.fluss.record.FileLogRecords;
+import org.apache.fluss.record.LogRecord;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecordReadContext;
+import org.apache.fluss.record.LogRecords;
+import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.record.TestingSchemaGetter;
+import org.apache.fluss.row.InternalRow;
+import org.apache.fluss.server.metrics.group.TestingMetricGroups;
+import org.apache.fluss.utils.CloseableIterator;
+import org.apache.fluss.utils.FlussPaths;
+import org.apache.fluss.utils.clock.ManualClock;
+import org.apache.fluss.utils.concurrent.FlussScheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
+import static org.apache.fluss.record.LogRecordBatch.CURRENT_LOG_MAGIC_VALUE;
+import static org.apache.fluss.record.TestData.DATA1_ROW_TYPE;
+import static org.apache.fluss.record.TestData.DATA1_SCHEMA_PK;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_ID_PK;
+import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH_PK;
+import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
+import static org.apache.fluss.testutils.DataTestUtils.createBasicMemoryLogRecords;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link LogCleaner}. */
+final class LogCleanerTest {
+
+    private static final long WRITER_ID = 100L;
+    private static final long TOMBSTONE_RETENTION_MS = Duration.ofHours(1).toMillis();
+
+    private final TestingSchemaGetter schemaGetter =
+            new TestingSchemaGetter(DEFAULT_SCHEMA_ID, DATA1_SCHEMA_PK);
+
+    private @TempDir File tempDir;
+    private Configuration conf;
+    private ManualClock clock;
+    private FlussScheduler scheduler;
+    private LogCleaner logCleaner;
+    private LogFormat logFormat;
+    private int batchSequence;
+
+    @BeforeEach
+    void setup() {
+        conf = new Configuration();
+        clock = new ManualClock(System.currentTimeMillis());
+        scheduler = new FlussScheduler(1);
+        scheduler.startup();
+        logCleaner = new LogCleaner(conf, clock);
+        logFormat = LogFormat.ARROW;
+        batchSequence = 0;
+    }
+
+    @AfterEach
+    void teardown() throws Exception {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testRemoveSupersededBatches() throws Exception {
+        LogTablet log = createLog(newLogDir("leader"));
+        // segment [0, 3): key 1, 2, 1
+        append(log, ChangeType.INSERT, new Object[] {1, "a"});
+        append(log, ChangeType.INSERT, new Object[] {2, "b"});
+        append(log, ChangeType.UPDATE_AFTER, new Object[] {1, "a1"});
+        log.roll(Optional.empty());
+        // segment [3, 5): key 3, 2
+        append(log, ChangeType.INSERT, new Object[] {3, "c"});
+        append(log, ChangeType.UPDATE_AFTER, new Object[] {2, "b1"});
+        log.roll(Optional.empty());
+        log.updateHighWatermark(log.localLogEndOffset());
+
+        assertThat(logCleaner.cleanLogs(Collections.singletonList(log))).isTrue();
+
+        assertThat(readKeyAndValues(log, 0L)).containsExactly("2:1,a1", "3:3,c", "4:2,b1");
+        assertThat(log.getCleanerCheckpoint()).isEqualTo(5L);
+        assertThat(log.getSegments()).hasSize(3);
+        // the indexes of the rewritten segments can locate the retained batches
+        assertThat(readKeyAndValues(log, 1L)).containsExactly("2:1,a1", "3:3,c", "4:2,b1");
+        assertThat(readKeyAndValues(log, 4L)).containsExactly("4:2,b1");
+
+        // nothing to clean as the log is clean now
+        assertThat(logCleaner.cleanLogs(Collections.singletonList(log))).isFalse();
+        assertNoTemporaryFiles(log.getLogDir());
+    }
+
+    @ParameterizedTest
+    @EnumSource(
+            value = LogFormat.class,
+            names = {"ARROW", "INDEXED"})
+    void testRewriteBatchesWithSupersededRecords(LogFormat format) throws Exception {
+        logFormat = format;
+        LogTablet log = createLog(newLogDir("leader"));
+        // batch [0, 4): key 1, 2, 3, 4
+        append(
+                log,
+                Arrays.asList(
+                        ChangeType.INSERT, ChangeType.INSERT, ChangeType.INSERT, ChangeType.INSERT),
+                Arrays.asList(
+                        new Object[] {1, "a"},
+                        new Object[] {2, "b"},
+                        new Object[] {3, "c"},
+                        new Object[] {4, "d"}));
+        // batch [4, 8): key 2, 3, 5, 2
+        append(
+                log,
+                Arrays.asList(
+                        ChangeType.UPDATE_AFTER,
+                        ChangeType.UPDATE_AFTER,
+                        ChangeType.INSERT,
+                        ChangeType.UPDATE_AFTER),
+                Arrays.asList(
+                        new Object[] {2, "b1"},
+                        new Object[] {3, "c1"},
+                        new Object[] {5, "e"},
+                        new Object[] {2, "b2"}));
+        log.roll(Optional.empty());
+        log.updateHighWatermark(log.localLogEndOffset());
+
+        logCleaner.clean(log);
+
+        // the batches shrink to the latest record of each key, keeping the offsets of the records
+        assertThat(readKeyAndValues(log, 0L))
+                .containsExactly("0:1,a", "3:4,d", "5:3,c1", "6:5,e", "7:2,b2");
+        // every contiguous run of the retained records is rewritten into a batch, and only the
+        // last batch of an original batch carries the writer state
+        List<LogRecordBatch> batches = readBatches(log);
+        assertThat(batches).hasSize(3);
+        assertThat(batches.get(0).baseLogOffset()).isEqualTo(0L);
+        assertThat(batches.get(0).lastLogOffset()).isEqualTo(0L);
+        assertThat(batches.get(0).hasWriterId()).isFalse();
+        assertThat(batches.get(1).baseLogOffset()).isEqualTo(3L);
+        assertThat(batches.get(1).lastLogOffset()).isEqualTo(3L);
+        assertThat(batches.get(1).writerId()).isEqualTo(WRITER_ID);
+        assertThat(batches.get(1).batchSequence()).isEqualTo(0);
+        assertThat(batches.get(2).baseLogOffset()).isEqualTo(5L);
+        assertThat(batches.get(2).lastLogOffset()).isEqualTo(7L);
+        assertThat(batches.get(2).writerId()).isEqualTo(WRITER_ID);
+        assertThat(batches.get(2).batchSequence()).isEqualTo(1);
+        // the indexes of the rewritten segment can locate the rewritten batches
+        assertThat(readKeyAndValues(log, 3L)).containsExactly("3:4,d", "5:3,c1", "6:5,e", "7:2,b2");
+
+        // the rewritten log is reloaded with the writer state of the original batches
+        log.flush(true);
+        log.close();
+        LogTablet reloaded = createLog(log.getLogDir());
+        reloaded.updateHighWatermark(reloaded.localLogEndOffset());
+        assertThat(readKeyAndValues(reloaded, 0L))
+                .containsExactly("0:1,a", "3:4,d", "5:3,c1", "6:5,e", "7:2,b2");
+        append(reloaded, ChangeType.UPDATE_AFTER, new Object[] {1, "a1"});
+        assertThat(reloaded.localLogEndOffset()).isEqualTo(9L);
+    }
+
+    @Test
+    void testNotCleanActiveSegmentAndAboveHighWatermark() throws Exception {
+        LogTablet log = createLog(newLogDir("leader"));
+        append(log, ChangeType.INSERT, new Object[] {1, "a"});
+        log.roll(Optional.empty());
+        append(log, ChangeType.UPDATE_AFTER, new Object[] {1, "a1"});
+        log.roll(Optional.empty());
+        append(log, ChangeType.UPDATE_AFTER, new Object[] {1, "a2"});
+
+        // the high watermark is 0, nothing is cleanable
+        assertThat(logCleaner.cleanLogs(Collections.singletonList(log))).isFalse();
+
+        log.updateHighWatermark(log.localLogEndOffset());
+        assertThat(logCleaner.cleanLogs(Collections.singletonList(log))).isTrue();
+        // the record in the active segment doesn't supersede the records of the cleaned segments
+        assertThat(readKeyAndValues(log, 0L)).containsExactly("1:1,a1", "2:1,a2");
+        assertThat(log.getCleanerCheckpoint()).isEqualTo(2L);
+    }
+
+    @Test
+    void testMinCleanableDirtyRatio() throws Exception {
+        LogTablet log = createLog(newLogDir("leader"), 0.6);
+        append(log, ChangeType.INSERT, new Object[] {1, "a"});
+        append(log, ChangeType.INSERT, new Object[] {2, "b"});
+        log.roll(Optional.empty());
+        log.updateHighWatermark(log.localLogEndOffset());
+        assertThat(logCleaner.cleanLogs(Collections.singletonList(log))).isTrue();
+
+        // dirty ratio is 0.5 < 0.6
+        append(log, ChangeType.UPDATE_AFTER, new Object[] {1, "a1"});
+        append(log, ChangeType.UPDATE_AFTER, new Object[] {2, "b1"});
+        log.roll(Optional.empty());
+        log.updateHighWatermark(log.localLogEndOffset());
+        assertThat(logCleaner.cleanLogs(Collections.singletonList(log))).isFalse();
+
+        // dirty ratio is 2/3 > 0.6
+        append(log, ChangeType.UPDATE_AFTER, new Object[] {1, "a2"});
+        append(log, ChangeType.UPDATE_AFTER, new Object[] {2, "b2"});
+        log.roll(Optional.empty());
+        log.updateHighWatermark(log.localLogEndOffset());
+        assertThat(logCleaner.cleanLogs(Collections.singletonList(log))).isTrue();
+        assertThat(readKeyAndValues(log, 0L)).containsExactly("4:1,a2", "5:2,b2");
+    }
+
+    @Test
+    void testDedupeBufferBoundInSegment() throws Exception {
+        // the offset map is full once a key is indexed
+        conf.set(ConfigOptions.LOG_CLEANER_DEDUPE_BUFFER_SIZE, MemorySize.parse("1b"));
+        LogCleaner boundedCleaner = new LogCleaner(conf, clock);
+        LogTablet log = createLog(newLogDir("leader"));
+        // segment [0, 3): key 1, 1, 2
+        append(log, ChangeType.INSERT, new Object[] {1, "a"});
+        append(log, ChangeType.UPDATE_AFTER, new Object[] {1, "a1"});
+        append(log, ChangeType.INSERT, new Object[] {2, "b"});
+        log.roll(Optional.empty());
+        // segment [3, 4): key 1
+        append(log, ChangeType.UPDATE_AFTER, new Object[] {1, "a2"});
+        log.roll(Optional.empty());
+        log.updateHighWatermark(log.localLogEndOffset());
+
+        // only the first batch is indexed, the records after it are not compacted
+        boundedCleaner.clean(log);
+        assertThat(log.getCleanerCheckpoint()).isEqualTo(1L);
+        assertThat(readKeyAndValues(log, 0L)).containsExactly("0:1,a", "1:1,a1", "2:2,b", "3:1,a2");
+
+        // the next round continues from the middle of the first segment
+        boundedCleaner.clean(log);
+        assertThat(log.getCleanerCheckpoint()).isEqualTo(2L);
+        assertThat(readKeyAndValues(log, 0L)).containsExactly("1:1,a1", "2:2,b", "3:1,a2");
+
+        logCleaner.clean(log);
+        assertThat(log.getCleanerCheckpoint()).isEqualTo(4L);
+        assertThat(readKeyAndValues(log, 0L)).containsExactly("2:2,b", "3:1,a2");
+        assertNoTemporaryFiles(log.getLogDir());
+    }
+
+    @Test
+    void testTombstoneRetention() throws Exception {
+        LogTablet log = createLog(newLogDir("leader"));
+        append(log, ChangeType.INSERT, new Object[] {1, "a"});
+        append(log, ChangeType.INSERT, new Object[] {2, "b"});
+        append(log, ChangeType.DELETE, new Object[] {1, "a"});
+        log.roll(Optional.empty());
+        log.updateHighWatermark(log.localLogEndOffset());
+
+        logCleaner.clean(log);
+        // the tombstone is retained as it's neither expired nor included in kv snapshot
+        assertThat(readKeyAndValues(log, 0L)).containsExactly("1:2,b", "2:1,a");
+
+        clock.advanceTime(Duration.ofMillis(TOMBSTONE_RETENTION_MS + 1));
+        append(log, ChangeType.INSERT, new Object[] {3, "c"});
+        log.roll(Optional.empty());
+        log.updateHighWatermark(log.localLogEndOffset());
+        logCleaner.clean(log);
+        // the tombstone is expired, but not included in kv snapshot
+        assertThat(readKeyAndValues(log, 0L)).containsExactly("1:2,b", "2:1,a", "3:3,c");
+
+        log.updateMinRetainOffset(log.localLogEndOffset());
+        append(log, ChangeType.INSERT, new Object[] {4, "d"});
+        log.roll(Optional.empty());
+        log.updateHighWatermark(log.localLogEndOffset());
+        logCleaner.clean(log);
+        assertThat(readKeyAndValues(log, 0L)).containsExactly("1:2,b", "3:3,c", "4:4,d");
+    }
+
+    @Test
+    void testRemoveTombstoneOfRewrittenBatch() throws Exception {
+        LogTablet log = createLog(newLogDir("leader"));
+        // the superseded record of key 1 is removed from the batch, so is the expired tombstone
+        append(
+                log,
+                Arrays.asList(ChangeType.INSERT, ChangeType.INSERT),
+                Arrays.asList(new Object[] {1, "a"}, new Object[] {2, "b"}));
+        append(log, ChangeType.DELETE, new Object[] {1, "a"});
+        log.roll(Optional.empty());
+        log.updateHighWatermark(log.localLogEndOffset());
+        log.updateMinRetainOffset(log.localLogEndOffset());
+        clock.advanceTime(Duration.ofMillis(TOMBSTONE_RETENTION_MS + 1));
+
+        logCleaner.clean(log);
+        assertThat(readKeyAndValues(log, 0L)).containsExactly("1:2,b");
+    }
+
+    @Test
+    void testFollowerAppendCompactedLog() throws Exception {
+        LogTablet leader = createLog(newLogDir("leader"));
+        append(leader, ChangeType.INSERT, new Object[] {1, "a"});
+        append(leader, ChangeType.INSERT, new Object[] {2, "b"});
+        append(leader, ChangeType.UPDATE_AFTER, new Object[] {1, "a1"});
+        leader.roll(Optional.empty());
+        append(leader, ChangeType.UPDATE_AFTER, new Object[] {2, "b1"});
+        leader.roll(Optional.empty());
+        leader.updateHighWatermark(leader.localLogEndOffset());
+        logCleaner.clean(leader);
+
+        // the batch sequences of the writer have gaps after compaction
+        LogTablet follower = createLog(newLogDir("follower"));
+        follower.appendAsFollower(readBatch(leader, 0L));
+        follower.appendAsFollower(readBatch(leader, 3L));
+        follower.updateHighWatermark(follower.localLogEndOffset());
+        assertThat(readKeyAndValues(follower, 0L)).containsExactly("2:1,a1", "3:2,b1");
+
+        // the leader continues writing with the next batch sequence
+        append(leader, ChangeType.UPDATE_AFTER, new Object[] {1, "a2"});
+        follower.appendAsFollower(readBatch(leader, 4L));
+        assertThat(follower.localLogEndOffset()).isEqualTo(5L);
+    }
+
+    @Test
+    void testRecoverInterruptedSwap() throws Exception {
+        File logDir = newLogDir("leader");
+        LogTablet log = createLog(logDir);
+        append(log, ChangeType.INSERT, new Object[] {1, "a"});
+        append(log, ChangeType.UPDATE_AFTER, new Object[] {1, "a1"});
+        log.roll(Optional.empty());
+        log.updateHighWatermark(log.localLogEndOffset());
+
+        File originalLogFile = new File(tempDir, "original.log");
+        Files.copy(FlussPaths.logFile(logDir, 0L).toPath(), originalLogFile.toPath());
+        logCleaner.clean(log);
+        log.flush(true);
+        log.close();
+
+        // simulate a crash after the cleaned segment is renamed to swap files, but before the
+        // original segment is deleted, and a stray file of an interrupted cleaning.
+        File logFile = FlussPaths.logFile(logDir, 0L);
+        Files.move(
+                logFile.toPath(),
+                new File(logFile.getPath() + FlussPaths.SWAP_FILE_SUFFIX).toPath());
+        Files.copy(originalLogFile.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        File strayFile =
+                new File(FlussPaths.logFile(logDir, 2L).getPath() + FlussPaths.CLEANED_FILE_SUFFIX);
+        Files.createFile(strayFile.toPath());
+
+        LogTablet reloaded = createLog(logDir);
+        reloaded.updateHighWatermark(reloaded.localLogEndOffset());
+        assertThat(readKeyAndValues(reloaded, 0L)).containsExactly("1:1,a1");
+        assertNoTemporaryFiles(logDir);
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    private File newLogDir(String name) throws Exception {
+        return LogTestUtils.makeRandomLogTabletDir(
+                new File(tempDir, name),
+                DATA1_TABLE_PATH_PK.getDatabaseName(),
+                DATA1_TABLE_ID_PK,
+                DATA1_TABLE_PATH_PK.getTableName());
+    }
+
+    private LogTablet createLog(File logDir) throws Exception {
+        return createLog(logDir, 0.5);
+    }
+
+    private LogTablet createLog(File logDir, double minCleanableDirtyRatio) throws Exception {
+        LogTablet log =
+                LogTablet.create(
+                        PhysicalTablePath.of(DATA1_TABLE_PATH_PK),
+                        logDir,
+                        conf,
+                        TestingMetricGroups.TABLET_SERVER_METRICS,
+                        0,
+                        scheduler,
+                        logFormat,
+                        1,
+                        true,
+                        clock,
+                        true);
+        log.updateCompaction(
+                new LogCompaction(
+                        logFormat,
+                        DEFAULT_COMPRESSION,
+                        RowCompressionInfo.NO_COMPRESSION,
+                        schemaGetter,
+                        DATA1_SCHEMA_PK.getPrimaryKeyColumnNames(),
+                        null,
+                        minCleanableDirtyRatio,
+                        TOMBSTONE_RETENTION_MS));
+        return log;
+    }
+
+    private void append(LogTablet log, ChangeType changeType, Object[] row) throws Exception {
+        append(log, Collections.singletonList(changeType), Collections.singletonList(row));
+    }
+
+    private void append(LogTablet log, List<ChangeType> changeTypes, List<Object[]> rows)
+            throws Exception {
+        log.appendAsLeader(
+                createBasicMemoryLogRecords(
+                        DATA1_ROW_TYPE,
+                        DEFAULT_SCHEMA_ID,
+                        0L,
+                        clock.milliseconds(),
+                        CURRENT_LOG_MAGIC_VALUE,
+                        WRITER_ID,
+                        batchSequence++,
+                        changeTypes,
+                        rows,
+                        logFormat,
+                        DEFAULT_COMPRESSION));
+    }
+
+    /** Reads the first batch of the log from the given offset, as a follower fetches it. */
+    private MemoryLogRecords readBatch(LogTablet log, long offset) throws Exception {
+        FileLogRecords records =
+                (FileLogRecords)
+                        log.read(offset, Integer.MAX_VALUE, FetchIsolation.LOG_END, true, null)
+                                .getRecords();
+        int batchSize = records.batches().iterator().next().sizeInBytes();
+        ByteBuffer buffer = ByteBuffer.allocate(batchSize);
+        records.readInto(buffer, 0);
+        return MemoryLogRecords.pointToByteBuffer(buffer);
+    }
+
+    /** Returns the batches of the first segment of the log. */
+    private List<LogRecordBatch> readBatches(LogTablet log) throws Exception {
+        List<LogRecordBatch> batches = new ArrayList<>();
+        log.read(0L, Integer.MAX_VALUE, FetchIsolation.HIGH_WATERMARK, true, null)
+                .getRecords()
+                .batches()
+                .forEach(batches::add);
+        return batches;
+    }
+
+    /** Returns the records of the log from the given offset in the format "offset:a,b". */
+    private List<String> readKeyAndValues(LogTablet log, long fromOffset) throws Exception {
+        List<String> result = new ArrayList<>();
+        try (LogRecordReadContext readContext =
+                log.getCompaction()
+                        .createReadContext(new SchemaInfo(DATA1_SCHEMA_PK, DEFAULT_SCHEMA_ID))) {
+            long nextOffset = fromOffset;
+            while (nextOffset < log.getHighWatermark()) {
+                long readOffset = nextOffset;
+                // a read only returns the records of one segment
+                LogRecords records =
+                        log.read(
+                                        nextOffset,
+                                        Integer.MAX_VALUE,
+                                        FetchIsolation.HIGH_WATERMARK,
+                                        true,
+                                        null)
+                                .getRecords();
+                for (LogRecordBatch batch : records.batches()) {
+                    try (CloseableIterator<LogRecord> iterator = batch.records(readContext)) {
+                        while (iterator.hasNext()) {
+                            LogRecord record = iterator.next();
+                            InternalRow row = record.getRow();
+                            result.add(
+                                    record.logOffset()
+                                            + ":"
+                                            + row.getInt(0)
+                                            + ","
+                                            + row.getString(1));
+                        }
+                    }
+                    nextOffset = batch.nextLogOffset();
+                }
+                if (nextOffset == readOffset) {
+                    // the records from the offset up to the high watermark have been removed
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void assertNoTemporaryFiles(File logDir) {
+        File[] files = logDir.listFiles();
+        assertThat(files).isNotNull();
+        for (File file : files) {
+            assertThat(file.getName())
+                    .doesNotEndWith(FlussPaths.CLEANED_FILE_SUFFIX)
+                    .doesNotEndWith(FlussPaths.SWAP_FILE_SUFFIX)
+                    .doesNotEndWith(FlussPaths.DELETED_FILE_SUFFIX);
+        }
+    }
+}
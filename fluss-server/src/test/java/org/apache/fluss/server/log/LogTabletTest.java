@@ -51,6 +51,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 
 import static org.apache.fluss.record.TestData.DATA1;
@@ -348,6 +352,70 @@ final class LogTabletTest extends LogTestBase {
         assertThat(latestWriterSnapshotOffset(log).get()).isEqualTo(29);
     }
 
+    @Test
+    void testConcurrentAppends() throws Exception {
+        int numWriters = 4;
+        int numBatchesPerWriter = 50;
+        MemoryLogRecords sample =
+                genMemoryLogRecordsWithWriterId(
+                        Collections.singletonList(new Object[] {1, "a"}), 0L, 0, 0L);
+        // roll the segment every few batches while the appends are in progress
+        conf.set(ConfigOptions.LOG_SEGMENT_FILE_SIZE, new MemorySize(sample.sizeInBytes() * 10L));
+        LogTablet log = createLogTablet(conf);
+
+        ExecutorService executor = Executors.newFixedThreadPool(numWriters);
+        List<Future<List<LogAppendInfo>>> futures = new ArrayList<>();
+        for (int i = 0; i < numWriters; i++) {
+            long writerId = i;
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                List<LogAppendInfo> appendInfos = new ArrayList<>();
+                                for (int seq = 0; seq < numBatchesPerWriter; seq++) {
+                                    appendInfos.add(
+                                            log.appendAsLeader(
+                                                    genMemoryLogRecordsWithWriterId(
+                                                            Collections.singletonList(
+                                                                    new Object[] {seq, "a"}),
+                                                            writerId,
+                                                            seq,
+                                                            0L)));
+                                }
+                                return appendInfos;
+                            }));
+        }
+
+        Set<Long> appendedOffsets = new HashSet<>();
+        for (Future<List<LogAppendInfo>> future : futures) {
+            long lastOffset = -1L;
+            for (LogAppendInfo appendInfo : future.get()) {
+                // the appends of a writer are sequenced in order
+                assertThat(appendInfo.firstOffset()).isGreaterThan(lastOffset);
+                lastOffset = appendInfo.lastOffset();
+                appendedOffsets.add(appendInfo.firstOffset());
+            }
+        }
+        executor.shutdown();
+
+        int numBatches = numWriters * numBatchesPerWriter;
+        assertThat(appendedOffsets).hasSize(numBatches);
+        assertThat(log.localLogEndOffset()).isEqualTo(numBatches);
+        assertThat(log.logSegments().size()).isGreaterThan(1);
+        assertThat(activeWritersWithLastBatchSequence(log))
+                .containsOnlyKeys(0L, 1L, 2L, 3L)
+                .containsValues(numBatchesPerWriter - 1);
+
+        // all the batches are readable and contiguous
+        long nextOffset = 0L;
+        for (LogSegment segment : log.logSegments()) {
+            for (LogRecordBatch batch : segment.getFileLogRecords().batches()) {
+                assertThat(batch.baseLogOffset()).isEqualTo(nextOffset);
+                nextOffset = batch.nextLogOffset();
+            }
+        }
+        assertThat(nextOffset).isEqualTo(numBatches);
+    }
+
     @Test
     void testWriterIdExpirationOnSegmentDeletion() throws Exception {
         long writerId1 = 1L;
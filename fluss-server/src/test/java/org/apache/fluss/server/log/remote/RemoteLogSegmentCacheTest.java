@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.server.log.remote;
+
+import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.config.Configuration;
+import org.apache.fluss.metadata.TableBucket;
+import org.apache.fluss.record.FileLogRecords;
+import org.apache.fluss.record.LogRecordBatch;
+import org.apache.fluss.record.LogRecords;
+import org.apache.fluss.remote.RemoteLogSegment;
+import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
+import org.apache.fluss.rpc.protocol.ApiError;
+import org.apache.fluss.server.entity.FetchReqInfo;
+import org.apache.fluss.server.log.FetchParams;
+import org.apache.fluss.server.log.LogTablet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.fluss.record.TestData.DATA1_TABLE_ID;
+import static org.apache.fluss.utils.FlussPaths.remoteLogSegmentCacheDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link RemoteLogSegmentCache}. */
+class RemoteLogSegmentCacheTest extends RemoteLogTestBase {
+
+    @Override
+    public Configuration getServerConf() {
+        Configuration conf = super.getServerConf();
+        conf.set(ConfigOptions.REMOTE_LOG_SERVER_READ_ENABLED, true);
+        return conf;
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testFetchRecordsThroughCache(boolean partitionTable) throws Exception {
+        TableBucket tb = makeTableBucket(partitionTable);
+        makeLogTableAsLeader(tb, partitionTable);
+        LogTablet logTablet = replicaManager.getReplicaOrException(tb).getLogTablet();
+        addMultiSegmentsToLogTablet(logTablet, 5);
+        // trigger RLMTask copy local log segment to remote and update metadata.
+        remoteLogTaskScheduler.triggerPeriodicScheduledTasks();
+        List<RemoteLogSegment> remoteLogSegmentList =
+                remoteLogManager.relevantRemoteLogSegments(tb, 0L);
+        assertThat(remoteLogSegmentList.size()).isEqualTo(4);
+        // mock to update remote log end offset and delete local log segments.
+        logTablet.updateRemoteLogEndOffset(40L);
+
+        // 1. the segment isn't cached, the concurrent fetches share one download.
+        for (int i = 0; i < 2; i++) {
+            FetchLogResultForBucket resultForBucket = fetchLog(tb, new FetchParams(-1, 1024), 12L);
+            assertThat(resultForBucket.getError()).isEqualTo(ApiError.NONE);
+            assertThat(resultForBucket.fetchFromRemote()).isFalse();
+            assertThat(resultForBucket.recordsOrEmpty().sizeInBytes()).isEqualTo(0);
+            assertThat(resultForBucket.getHighWatermark()).isEqualTo(50L);
+        }
+        assertThat(remoteLogTaskScheduler.numQueuedRunnables()).isEqualTo(1);
+        remoteLogTaskScheduler.triggerAll();
+        File cacheDir = remoteLogSegmentCacheDir(new File(conf.get(ConfigOptions.DATA_DIR)));
+        assertThat(cacheDir.listFiles()).hasSize(1);
+
+        // 2. the records are read from the cached segment file.
+        FetchLogResultForBucket resultForBucket = fetchLog(tb, new FetchParams(-1, 1024), 12L);
+        assertThat(resultForBucket.getError()).isEqualTo(ApiError.NONE);
+        assertThat(resultForBucket.fetchFromRemote()).isFalse();
+        LogRecords records = resultForBucket.records();
+        assertThat(records).isInstanceOf(FileLogRecords.class);
+        Iterator<LogRecordBatch> batches = records.batches().iterator();
+        assertThat(batches.hasNext()).isTrue();
+        LogRecordBatch firstBatch = batches.next();
+        assertThat(firstBatch.baseLogOffset()).isLessThanOrEqualTo(12L);
+        assertThat(firstBatch.lastLogOffset()).isGreaterThanOrEqualTo(12L);
+
+        // 3. the follower still fetches the remote log segments.
+        resultForBucket = fetchLog(tb, new FetchParams(1, 1024), 12L);
+        assertThat(resultForBucket.fetchFromRemote()).isTrue();
+
+        // 4. the cached segments are removed after the replica stops tiering.
+        remoteLogManager.stopLogTiering(replicaManager.getReplicaOrException(tb));
+        remoteLogTaskScheduler.triggerAllNonPeriodicTasks();
+        assertThat(cacheDir.listFiles()).isEmpty();
+    }
+
+    @Test
+    void testReadFromNextSegment() throws Exception {
+        TableBucket tb = makeTableBucket(false);
+        makeLogTableAsLeader(tb, false);
+        LogTablet logTablet = replicaManager.getReplicaOrException(tb).getLogTablet();
+        addMultiSegmentsToLogTablet(logTablet, 5);
+        remoteLogTaskScheduler.triggerPeriodicScheduledTasks();
+        List<RemoteLogSegment> remoteLogSegmentList =
+                remoteLogManager.relevantRemoteLogSegments(tb, 0L);
+        assertThat(remoteLogSegmentList.size()).isEqualTo(4);
+        RemoteLogSegment secondSegment = remoteLogSegmentList.get(1);
+        long fetchOffset = secondSegment.remoteLogStartOffset() + 2;
+
+        // the fetch offset is after the first segment, the next segment is downloaded and read.
+        for (int i = 0; i < 2; i++) {
+            assertThat(
+                            remoteLogManager.readRemoteLogSegments(
+                                    remoteLogSegmentList, fetchOffset, 1024, true))
+                    .isNull();
+            remoteLogTaskScheduler.triggerAll();
+        }
+        LogRecords records =
+                remoteLogManager.readRemoteLogSegments(
+                        remoteLogSegmentList, fetchOffset, 1024, true);
+        assertThat(records).isInstanceOf(FileLogRecords.class);
+        LogRecordBatch firstBatch = records.batches().iterator().next();
+        assertThat(firstBatch.baseLogOffset()).isLessThanOrEqualTo(fetchOffset);
+        assertThat(firstBatch.lastLogOffset()).isGreaterThanOrEqualTo(fetchOffset);
+        assertThat(firstBatch.baseLogOffset())
+                .isGreaterThanOrEqualTo(secondSegment.remoteLogStartOffset());
+    }
+
+    private FetchLogResultForBucket fetchLog(
+            TableBucket tb, FetchParams fetchParams, long fetchOffset) throws Exception {
+        CompletableFuture<Map<TableBucket, FetchLogResultForBucket>> future =
+                new CompletableFuture<>();
+        replicaManager.fetchLogRecords(
+                fetchParams,
+                Collections.singletonMap(
+                        tb, new FetchReqInfo(tb.getTableId(), fetchOffset, 1024 * 1024)),
+                null,
+                future::complete);
+        return future.get().get(tb);
+    }
+
+    private TableBucket makeTableBucket(boolean partitionTable) {
+        if (partitionTable) {
+            return new TableBucket(DATA1_TABLE_ID, 0L, 0);
+        } else {
+            return new TableBucket(DATA1_TABLE_ID, 0);
+        }
+    }
+}
@@ -46,7 +46,9 @@ import static org.apache.fluss.record.TestData.DATA1_TABLE_ID;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_INFO;
 import static org.apache.fluss.record.TestData.DATA1_TABLE_PATH;
 import static org.apache.fluss.server.metadata.PartitionMetadata.DELETED_PARTITION_ID;
+import static org.apache.fluss.server.metadata.PartitionMetadata.DELETED_PARTITION_NAME;
 import static org.apache.fluss.server.metadata.TableMetadata.DELETED_TABLE_ID;
+import static org.apache.fluss.server.metadata.TableMetadata.DELETED_TABLE_PATH;
 import static org.apache.fluss.server.zk.data.LeaderAndIsr.NO_LEADER;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -301,6 +303,298 @@ public class TabletServerMetadataCacheTest {
                 .isFalse();
     }
 
+    @Test
+    void testPartialUpdateBucketMetadata() {
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        tableMetadataList,
+                        partitionMetadataList));
+
+        // add bucket 2 and change bucket 1, bucket 0 is kept
+        BucketMetadata newBucket2 = new BucketMetadata(2, 2, 0, Arrays.asList(2, 0, 1));
+        List<BucketMetadata> updatedBuckets =
+                Arrays.asList(changedBucket1BucketMetadata.get(0), newBucket2);
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        Collections.singletonList(
+                                new TableMetadata(DATA1_TABLE_INFO, updatedBuckets)),
+                        Collections.singletonList(
+                                new PartitionMetadata(
+                                        partitionTableId,
+                                        partitionName2,
+                                        partitionId2,
+                                        updatedBuckets))));
+
+        List<BucketMetadata> expectedBuckets =
+                Arrays.asList(
+                        initialBucketMetadata.get(0),
+                        changedBucket1BucketMetadata.get(0),
+                        newBucket2);
+        assertTableMetadataEquals(DATA1_TABLE_ID, DATA1_TABLE_INFO, expectedBuckets);
+        assertPartitionMetadataEquals(
+                partitionId2, partitionTableId, partitionId2, partitionName2, expectedBuckets);
+        assertPartitionMetadataEquals(
+                partitionId1,
+                partitionTableId,
+                partitionId1,
+                partitionName1,
+                initialBucketMetadata);
+
+        // an update without bucket metadata keeps the buckets of the table
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        Collections.singletonList(
+                                new TableMetadata(DATA1_TABLE_INFO, Collections.emptyList())),
+                        Collections.emptyList()));
+        assertTableMetadataEquals(DATA1_TABLE_ID, DATA1_TABLE_INFO, expectedBuckets);
+    }
+
+    @Test
+    void testDeleteTableAndPartition() {
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        tableMetadataList,
+                        partitionMetadataList));
+
+        // delete the partition by id
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        Collections.emptyList(),
+                        Collections.singletonList(
+                                new PartitionMetadata(
+                                        partitionTableId,
+                                        DELETED_PARTITION_NAME,
+                                        partitionId1,
+                                        Collections.emptyList()))));
+        assertThat(serverMetadataCache.getPhysicalTablePath(partitionId1)).isEmpty();
+        assertThat(
+                        serverMetadataCache.getPartitionMetadata(
+                                PhysicalTablePath.of(partitionedTablePath, partitionName1)))
+                .isEmpty();
+        assertThat(serverMetadataCache.contains(new TableBucket(partitionTableId, partitionId1, 0)))
+                .isFalse();
+
+        // delete the partition by path
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        Collections.emptyList(),
+                        Collections.singletonList(
+                                new PartitionMetadata(
+                                        partitionTableId,
+                                        partitionName2,
+                                        DELETED_PARTITION_ID,
+                                        Collections.emptyList()))));
+        assertThat(serverMetadataCache.getPhysicalTablePath(partitionId2)).isEmpty();
+        assertThat(
+                        serverMetadataCache.getPartitionMetadata(
+                                PhysicalTablePath.of(partitionedTablePath, partitionName2)))
+                .isEmpty();
+        assertThat(serverMetadataCache.contains(new TableBucket(partitionTableId, partitionId2, 0)))
+                .isFalse();
+
+        // delete the table by id
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        Collections.singletonList(
+                                new TableMetadata(
+                                        TableInfo.of(
+                                                DELETED_TABLE_PATH,
+                                                DATA1_TABLE_ID,
+                                                1,
+                                                DATA1_TABLE_DESCRIPTOR,
+                                                System.currentTimeMillis(),
+                                                System.currentTimeMillis()),
+                                        Collections.emptyList())),
+                        Collections.emptyList()));
+        assertThat(serverMetadataCache.getTablePath(DATA1_TABLE_ID)).isEmpty();
+        assertThat(serverMetadataCache.getTableMetadata(DATA1_TABLE_PATH)).isEmpty();
+        assertThat(serverMetadataCache.contains(new TableBucket(DATA1_TABLE_ID, 0))).isFalse();
+
+        // delete the table by path
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        Collections.singletonList(
+                                new TableMetadata(
+                                        TableInfo.of(
+                                                partitionedTablePath,
+                                                DELETED_TABLE_ID,
+                                                1,
+                                                DATA1_PARTITIONED_TABLE_DESCRIPTOR,
+                                                System.currentTimeMillis(),
+                                                System.currentTimeMillis()),
+                                        Collections.emptyList())),
+                        Collections.emptyList()));
+        assertThat(serverMetadataCache.getTablePath(partitionTableId)).isEmpty();
+        assertThat(serverMetadataCache.getTableMetadata(partitionedTablePath)).isEmpty();
+    }
+
+    @Test
+    void testRecreateTableAndPartitionWithNewId() {
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        tableMetadataList,
+                        partitionMetadataList));
+
+        long newTableId = DATA1_TABLE_ID + 100;
+        TableInfo newTableInfo =
+                TableInfo.of(
+                        DATA1_TABLE_PATH,
+                        newTableId,
+                        0,
+                        DATA1_TABLE_DESCRIPTOR,
+                        System.currentTimeMillis(),
+                        System.currentTimeMillis());
+        long newPartitionId = partitionId1 + 100;
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        Collections.singletonList(
+                                new TableMetadata(newTableInfo, changedBucket1BucketMetadata)),
+                        Collections.singletonList(
+                                new PartitionMetadata(
+                                        partitionTableId,
+                                        partitionName1,
+                                        newPartitionId,
+                                        changedBucket1BucketMetadata))));
+
+        // the path is resolved to the new id, and the old id is not resolved to any path
+        assertThat(serverMetadataCache.getTablePath(newTableId)).hasValue(DATA1_TABLE_PATH);
+        assertThat(serverMetadataCache.getTablePath(DATA1_TABLE_ID)).isEmpty();
+        ServerMetadataSnapshot snapshot = serverMetadataCache.getServerMetadataSnapshot();
+        assertThat(snapshot.getTableId(DATA1_TABLE_PATH)).hasValue(newTableId);
+        assertThat(snapshot.getBucketMetadataForTable(newTableId).values())
+                .containsExactlyInAnyOrderElementsOf(changedBucket1BucketMetadata);
+
+        PhysicalTablePath partitionPath =
+                PhysicalTablePath.of(partitionedTablePath, partitionName1);
+        assertThat(serverMetadataCache.getPhysicalTablePath(newPartitionId))
+                .hasValue(partitionPath);
+        assertThat(serverMetadataCache.getPhysicalTablePath(partitionId1)).isEmpty();
+        assertPartitionMetadataEquals(
+                newPartitionId,
+                partitionTableId,
+                newPartitionId,
+                partitionName1,
+                changedBucket1BucketMetadata);
+
+        // deleting the old ids doesn't remove the re-created table and partition
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        Collections.singletonList(
+                                new TableMetadata(
+                                        TableInfo.of(
+                                                DELETED_TABLE_PATH,
+                                                DATA1_TABLE_ID,
+                                                1,
+                                                DATA1_TABLE_DESCRIPTOR,
+                                                System.currentTimeMillis(),
+                                                System.currentTimeMillis()),
+                                        Collections.emptyList())),
+                        Collections.singletonList(
+                                new PartitionMetadata(
+                                        partitionTableId,
+                                        DELETED_PARTITION_NAME,
+                                        partitionId1,
+                                        Collections.emptyList()))));
+        assertThat(serverMetadataCache.getTablePath(newTableId)).hasValue(DATA1_TABLE_PATH);
+        assertThat(serverMetadataCache.getServerMetadataSnapshot().getTableId(DATA1_TABLE_PATH))
+                .hasValue(newTableId);
+        assertThat(serverMetadataCache.getPhysicalTablePath(newPartitionId))
+                .hasValue(partitionPath);
+        assertPartitionMetadataEquals(
+                newPartitionId,
+                partitionTableId,
+                newPartitionId,
+                partitionName1,
+                changedBucket1BucketMetadata);
+    }
+
+    @Test
+    void testPublishedSnapshotUnchangedByLaterUpdates() {
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        tableMetadataList,
+                        partitionMetadataList));
+        ServerMetadataSnapshot snapshot = serverMetadataCache.getServerMetadataSnapshot();
+
+        // partial update of buckets, then delete the table and one partition
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        Collections.singletonList(
+                                new TableMetadata(DATA1_TABLE_INFO, changedBucket1BucketMetadata)),
+                        Collections.singletonList(
+                                new PartitionMetadata(
+                                        partitionTableId,
+                                        partitionName2,
+                                        partitionId2,
+                                        changedBucket1BucketMetadata))));
+        serverMetadataCache.updateTableMetadata(
+                new TableMetadata(
+                        partitionTableInfo,
+                        Collections.singletonList(new BucketMetadata(3, 0, 0, Arrays.asList(0)))));
+        serverMetadataCache.updateClusterMetadata(
+                new ClusterMetadata(
+                        coordinatorServer,
+                        aliveTableServers,
+                        Collections.singletonList(
+                                new TableMetadata(
+                                        TableInfo.of(
+                                                DATA1_TABLE_PATH,
+                                                DELETED_TABLE_ID,
+                                                1,
+                                                DATA1_TABLE_DESCRIPTOR,
+                                                System.currentTimeMillis(),
+                                                System.currentTimeMillis()),
+                                        Collections.emptyList())),
+                        Collections.singletonList(
+                                new PartitionMetadata(
+                                        partitionTableId,
+                                        partitionName1,
+                                        DELETED_PARTITION_ID,
+                                        Collections.emptyList()))));
+        assertThat(serverMetadataCache.getTablePath(DATA1_TABLE_ID)).isEmpty();
+        assertThat(serverMetadataCache.getPhysicalTablePath(partitionId1)).isEmpty();
+
+        // the snapshot published before the updates still sees the state at that time
+        assertThat(snapshot.getTableId(DATA1_TABLE_PATH)).hasValue(DATA1_TABLE_ID);
+        assertThat(snapshot.getTablePath(DATA1_TABLE_ID)).hasValue(DATA1_TABLE_PATH);
+        assertThat(snapshot.getBucketMetadataForTable(DATA1_TABLE_ID).values())
+                .containsExactlyInAnyOrderElementsOf(initialBucketMetadata);
+        assertThat(snapshot.getBucketMetadataForTable(partitionTableId)).isEmpty();
+        assertThat(snapshot.getPhysicalTablePath(partitionId1))
+                .hasValue(PhysicalTablePath.of(partitionedTablePath, partitionName1));
+        assertThat(snapshot.getBucketMetadataForPartition(partitionId1).values())
+                .containsExactlyInAnyOrderElementsOf(initialBucketMetadata);
+        assertThat(snapshot.getBucketMetadataForPartition(partitionId2).values())
+                .containsExactlyInAnyOrderElementsOf(initialBucketMetadata);
+        assertThat(snapshot.contains(new TableBucket(DATA1_TABLE_ID, 1))).isTrue();
+    }
+
     private void assertTableMetadataEquals(
             long tableId,
             TableInfo expectedTableInfo,
@@ -17,13 +17,18 @@
 
 package org.apache.fluss.server.replica;
 
+import org.apache.fluss.aggregate.AggregateCall;
+import org.apache.fluss.aggregate.GroupAggregator;
 import org.apache.fluss.cluster.Endpoint;
 import org.apache.fluss.cluster.ServerNode;
 import org.apache.fluss.cluster.ServerType;
+import org.apache.fluss.compression.RowCompressionType;
+import org.apache.fluss.config.ConfigOptions;
 import org.apache.fluss.exception.InvalidCoordinatorException;
 import org.apache.fluss.exception.InvalidRequiredAcksException;
 import org.apache.fluss.exception.NotLeaderOrFollowerException;
 import org.apache.fluss.exception.UnknownTableOrBucketException;
+import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.Schema;
 import org.apache.fluss.metadata.SchemaGetter;
@@ -39,8 +44,12 @@ import org.apache.fluss.record.LogRecordBatch;
 import org.apache.fluss.record.LogRecordReadContext;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
+import org.apache.fluss.row.BinaryString;
+import org.apache.fluss.row.GenericRow;
+import org.apache.fluss.row.InternalRow;
 import org.apache.fluss.row.encode.CompactedKeyEncoder;
 import org.apache.fluss.row.encode.ValueEncoder;
+import org.apache.fluss.rpc.entity.AggregateScanResultForBucket;
 import org.apache.fluss.rpc.entity.FetchLogResultForBucket;
 import org.apache.fluss.rpc.entity.LimitScanResultForBucket;
 import org.apache.fluss.rpc.entity.ListOffsetsResultForBucket;
@@ -81,6 +90,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -317,6 +327,56 @@ class ReplicaManagerTest extends ReplicaTestBase {
         assertThat(records1.batches()).hasSize(0);
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testFetchLogOfLogMagicV2TableWithOldFetchVersion(boolean dictionaryEncoded)
+            throws Exception {
+        Map<String, String> properties = new HashMap<>();
+        if (dictionaryEncoded) {
+            properties.put(ConfigOptions.TABLE_LOG_FORMAT.key(), LogFormat.ARROW.name());
+            properties.put(ConfigOptions.TABLE_LOG_ARROW_DICTIONARY_ENCODING_COLUMNS.key(), "b");
+        } else {
+            properties.put(ConfigOptions.TABLE_LOG_FORMAT.key(), LogFormat.INDEXED.name());
+            properties.put(
+                    ConfigOptions.TABLE_LOG_ROW_COMPRESSION_TYPE.key(),
+                    RowCompressionType.ZSTD.name());
+        }
+        long tableId =
+                registerTableInZkClient(
+                        DATA1_TABLE_PATH, DATA1_SCHEMA, 200L, Collections.emptyList(), properties);
+        TableBucket tb = new TableBucket(tableId, 0);
+        makeLogTableAsLeader(tb, false);
+
+        // the fetcher of FetchLog API version 0 can't read the batches of log magic v2
+        CompletableFuture<Map<TableBucket, FetchLogResultForBucket>> future =
+                new CompletableFuture<>();
+        replicaManager.fetchLogRecords(
+                new FetchParams(
+                        -1,
+                        true,
+                        Integer.MAX_VALUE,
+                        FetchParams.DEFAULT_MIN_FETCH_BYTES,
+                        FetchParams.DEFAULT_MAX_WAIT_MS,
+                        (short) (FetchParams.LOG_MAGIC_V2_FETCH_VERSION - 1)),
+                Collections.singletonMap(tb, new FetchReqInfo(tb.getTableId(), 0L, 1024 * 1024)),
+                null,
+                future::complete);
+        FetchLogResultForBucket resultForBucket = future.get().get(tb);
+        assertThat(resultForBucket.failed()).isTrue();
+        assertThat(resultForBucket.getError().error()).isEqualTo(Errors.UNSUPPORTED_VERSION);
+
+        // the fetcher of the current FetchLog API version can read it
+        future = new CompletableFuture<>();
+        replicaManager.fetchLogRecords(
+                buildFetchParams(-1),
+                Collections.singletonMap(tb, new FetchReqInfo(tb.getTableId(), 0L, 1024 * 1024)),
+                null,
+                future::complete);
+        resultForBucket = future.get().get(tb);
+        assertThat(resultForBucket.failed()).isFalse();
+        assertThat(resultForBucket.getHighWatermark()).isEqualTo(0L);
+    }
+
     @Test
     void testFetchLogWithMaxBytesLimit() throws Exception {
         SchemaGetter schemaGetter =
@@ -754,16 +814,71 @@ class ReplicaManagerTest extends ReplicaTestBase {
         // Lookup from none pk table.
         TableBucket tb2 = new TableBucket(DATA1_TABLE_ID, 1);
         makeLogTableAsLeader(tb2.getBucket());
+        CompletableFuture<Map<TableBucket, LookupResultForBucket>> future2 =
+                new CompletableFuture<>();
         replicaManager.lookups(
                 Collections.singletonMap(tb2, Collections.singletonList(key1Bytes)),
-                (lookupResultForBuckets) -> {
-                    LookupResultForBucket lookupResultForBucket = lookupResultForBuckets.get(tb2);
-                    assertThat(lookupResultForBucket.failed()).isTrue();
-                    ApiError apiError = lookupResultForBucket.getError();
-                    assertThat(apiError.error()).isEqualTo(Errors.NON_PRIMARY_KEY_TABLE_EXCEPTION);
-                    assertThat(apiError.message())
-                            .isEqualTo("the primary key table not exists for %s", tb2);
-                });
+                future2::complete);
+        LookupResultForBucket lookupResultForBucket = future2.get().get(tb2);
+        assertThat(lookupResultForBucket.failed()).isTrue();
+        ApiError apiError = lookupResultForBucket.getError();
+        assertThat(apiError.error()).isEqualTo(Errors.NON_PRIMARY_KEY_TABLE_EXCEPTION);
+        assertThat(apiError.message()).isEqualTo("the primary key table not exists for %s", tb2);
+    }
+
+    @Test
+    void testLookupInLookupThreads() throws Exception {
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID_PK, 1);
+        makeKvTableAsLeader(DATA1_TABLE_ID_PK, DATA1_TABLE_PATH_PK, tb.getBucket());
+
+        // the lookup is served by the lookup threads instead of the caller thread
+        CompletableFuture<String> lookupThread = new CompletableFuture<>();
+        replicaManager.lookups(
+                Collections.singletonMap(tb, Collections.singletonList(new byte[] {1})),
+                result -> lookupThread.complete(Thread.currentThread().getName()));
+        assertThat(lookupThread.get()).startsWith("fluss-lookup");
+
+        CompletableFuture<String> prefixLookupThread = new CompletableFuture<>();
+        replicaManager.prefixLookups(
+                Collections.singletonMap(tb, Collections.singletonList(new byte[] {1})),
+                result -> prefixLookupThread.complete(Thread.currentThread().getName()));
+        assertThat(prefixLookupThread.get()).startsWith("fluss-lookup");
+    }
+
+    @Test
+    void testLookupFailedUnexpectedly() throws Exception {
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID_PK, 1);
+        makeKvTableAsLeader(DATA1_TABLE_ID_PK, DATA1_TABLE_PATH_PK, tb.getBucket());
+
+        // the keys throw an error escaping the per-bucket error handling of the lookup, the
+        // lookup should still be responded with the error instead of never being responded.
+        List<byte[]> failingKeys =
+                new AbstractList<byte[]>() {
+                    @Override
+                    public byte[] get(int index) {
+                        throw new AssertionError("Failed to read the lookup key.");
+                    }
+
+                    @Override
+                    public int size() {
+                        return 1;
+                    }
+                };
+
+        CompletableFuture<Map<TableBucket, LookupResultForBucket>> lookupFuture =
+                new CompletableFuture<>();
+        replicaManager.lookups(Collections.singletonMap(tb, failingKeys), lookupFuture::complete);
+        LookupResultForBucket lookupResult = lookupFuture.get().get(tb);
+        assertThat(lookupResult.failed()).isTrue();
+        assertThat(lookupResult.getError().error()).isEqualTo(Errors.UNKNOWN_SERVER_ERROR);
+
+        CompletableFuture<Map<TableBucket, PrefixLookupResultForBucket>> prefixLookupFuture =
+                new CompletableFuture<>();
+        replicaManager.prefixLookups(
+                Collections.singletonMap(tb, failingKeys), prefixLookupFuture::complete);
+        PrefixLookupResultForBucket prefixLookupResult = prefixLookupFuture.get().get(tb);
+        assertThat(prefixLookupResult.failed()).isTrue();
+        assertThat(prefixLookupResult.getError().error()).isEqualTo(Errors.UNKNOWN_SERVER_ERROR);
     }
 
     @Test
@@ -852,19 +967,18 @@ class ReplicaManagerTest extends ReplicaTestBase {
                         Collections.emptyMap());
         TableBucket tb3 = new TableBucket(tableId, 0);
         makeLogTableAsLeader(tb3, false);
+        CompletableFuture<Map<TableBucket, PrefixLookupResultForBucket>> future2 =
+                new CompletableFuture<>();
         replicaManager.prefixLookups(
                 Collections.singletonMap(tb3, Collections.singletonList(prefixKey2Bytes)),
-                (prefixLookupResultForBuckets) -> {
-                    PrefixLookupResultForBucket lookupResultForBucket =
-                            prefixLookupResultForBuckets.get(tb3);
-                    assertThat(lookupResultForBucket.failed()).isTrue();
-                    ApiError apiError = lookupResultForBucket.getError();
-                    assertThat(apiError.error()).isEqualTo(Errors.NON_PRIMARY_KEY_TABLE_EXCEPTION);
-                    assertThat(apiError.message())
-                            .isEqualTo(
-                                    "Try to do prefix lookup on a non primary key table: "
-                                            + DATA1_TABLE_PATH);
-                });
+                future2::complete);
+        PrefixLookupResultForBucket lookupResultForBucket = future2.get().get(tb3);
+        assertThat(lookupResultForBucket.failed()).isTrue();
+        ApiError apiError = lookupResultForBucket.getError();
+        assertThat(apiError.error()).isEqualTo(Errors.NON_PRIMARY_KEY_TABLE_EXCEPTION);
+        assertThat(apiError.message())
+                .isEqualTo(
+                        "Try to do prefix lookup on a non primary key table: " + DATA1_TABLE_PATH);
     }
 
     @Test
@@ -939,6 +1053,80 @@ class ReplicaManagerTest extends ReplicaTestBase {
                 Collections.singletonList(ANOTHER_DATA1));
     }
 
+    @Test
+    void testAggregateScanPrimaryKeyTable() throws Exception {
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID_PK, 1);
+        makeKvTableAsLeader(DATA1_TABLE_ID_PK, DATA1_TABLE_PATH_PK, tb.getBucket());
+        CompletableFuture<List<PutKvResultForBucket>> future = new CompletableFuture<>();
+        replicaManager.putRecordsToKv(
+                20000,
+                1,
+                Collections.singletonMap(tb, genKvRecordBatch(DATA_1_WITH_KEY_AND_VALUE)),
+                null,
+                future::complete);
+        assertThat(future.get()).containsOnly(new PutKvResultForBucket(tb, 8));
+
+        // there are only rows (1, "a1") and (2, "b1") after merged
+        List<AggregateCall> calls =
+                Arrays.asList(
+                        AggregateCall.countStar(), AggregateCall.sum(0), AggregateCall.max(1));
+        CompletableFuture<AggregateScanResultForBucket> aggregateFuture = new CompletableFuture<>();
+        replicaManager.aggregateScan(tb, new int[0], calls, aggregateFuture::complete);
+        assertThat(aggregateFuture.get().getUnaggregatedEndOffset()).isNull();
+        assertThat(mergeAggregateResult(new int[0], calls, aggregateFuture.get()))
+                .containsExactly(GenericRow.of(2L, 3L, BinaryString.fromString("b1")));
+
+        // aggregate by a column out of the table
+        aggregateFuture = new CompletableFuture<>();
+        replicaManager.aggregateScan(
+                tb,
+                new int[0],
+                Collections.singletonList(AggregateCall.sum(2)),
+                aggregateFuture::complete);
+        assertThat(aggregateFuture.get().getError().error())
+                .isEqualTo(Errors.INVALID_COLUMN_PROJECTION);
+    }
+
+    @Test
+    void testAggregateScanLogTable() throws Exception {
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID, 0);
+        makeLogTableAsLeader(tb.getBucket());
+        for (List<Object[]> data : Arrays.asList(DATA1, ANOTHER_DATA1)) {
+            CompletableFuture<List<ProduceLogResultForBucket>> future = new CompletableFuture<>();
+            replicaManager.appendRecordsToLog(
+                    20000,
+                    1,
+                    Collections.singletonMap(tb, genMemoryLogRecordsByObject(data)),
+                    null,
+                    future::complete);
+            future.get();
+        }
+
+        int[] groupBy = new int[] {0};
+        List<AggregateCall> calls =
+                Arrays.asList(AggregateCall.count(1), AggregateCall.min(1), AggregateCall.max(1));
+        CompletableFuture<AggregateScanResultForBucket> aggregateFuture = new CompletableFuture<>();
+        replicaManager.aggregateScan(tb, groupBy, calls, aggregateFuture::complete);
+        assertThat(aggregateFuture.get().getUnaggregatedEndOffset()).isNull();
+        List<InternalRow> result = mergeAggregateResult(groupBy, calls, aggregateFuture.get());
+        assertThat(result).hasSize(10);
+        assertThat(result.get(0))
+                .isEqualTo(
+                        GenericRow.of(
+                                1,
+                                2L,
+                                BinaryString.fromString("a"),
+                                BinaryString.fromString("a1")));
+    }
+
+    private static List<InternalRow> mergeAggregateResult(
+            int[] groupBy, List<AggregateCall> calls, AggregateScanResultForBucket result) {
+        assertThat(result.failed()).isFalse();
+        GroupAggregator aggregator = new GroupAggregator(DATA1_ROW_TYPE, groupBy, calls);
+        result.getRows().forEach(aggregator::mergeSerialized);
+        return aggregator.getResult();
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = {true, false})
     void testListOffsets(boolean isPartitioned) throws Exception {
@@ -18,6 +18,7 @@
 package org.apache.fluss.server.replica;
 
 import org.apache.fluss.config.ConfigOptions;
+import org.apache.fluss.exception.NotLeaderOrFollowerException;
 import org.apache.fluss.exception.OutOfOrderSequenceException;
 import org.apache.fluss.metadata.LogFormat;
 import org.apache.fluss.metadata.PhysicalTablePath;
@@ -32,19 +33,29 @@ import org.apache.fluss.record.LogRecordBatch;
 import org.apache.fluss.record.LogRecords;
 import org.apache.fluss.record.MemoryLogRecords;
 import org.apache.fluss.record.ProjectionPushdownCache;
+import org.apache.fluss.rpc.gateway.TabletServerGateway;
+import org.apache.fluss.rpc.messages.CreateKvCheckpointRequest;
+import org.apache.fluss.rpc.messages.CreateKvCheckpointResponse;
+import org.apache.fluss.rpc.messages.FetchKvCheckpointFileRequest;
+import org.apache.fluss.rpc.messages.FetchKvCheckpointFileResponse;
 import org.apache.fluss.server.entity.NotifyLeaderAndIsrData;
 import org.apache.fluss.server.kv.KvTablet;
 import org.apache.fluss.server.kv.snapshot.CompletedSnapshot;
+import org.apache.fluss.server.kv.snapshot.PeerKvCheckpointDownloader;
+import org.apache.fluss.server.kv.snapshot.PeerKvCheckpointManager;
 import org.apache.fluss.server.kv.snapshot.TestingCompletedKvSnapshotCommitter;
 import org.apache.fluss.server.log.FetchParams;
 import org.apache.fluss.server.log.LogAppendInfo;
 import org.apache.fluss.server.log.LogReadInfo;
+import org.apache.fluss.server.tablet.TestTabletServerGateway;
 import org.apache.fluss.server.testutils.KvTestUtils;
 import org.apache.fluss.server.zk.NOPErrorHandler;
 import org.apache.fluss.server.zk.data.LeaderAndIsr;
 import org.apache.fluss.testutils.DataTestUtils;
 import org.apache.fluss.testutils.common.ManuallyTriggeredScheduledExecutorService;
 import org.apache.fluss.types.RowType;
+import org.apache.fluss.utils.clock.SystemClock;
+import org.apache.fluss.utils.concurrent.FutureUtils;
 import org.apache.fluss.utils.types.Tuple2;
 
 import org.junit.jupiter.api.Test;
@@ -59,8 +70,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.fluss.compression.ArrowCompressionInfo.DEFAULT_COMPRESSION;
 import static org.apache.fluss.record.LogRecordBatch.CURRENT_LOG_MAGIC_VALUE;
@@ -79,6 +92,7 @@ import static org.apache.fluss.record.TestData.DATA2_ROW_TYPE;
 import static org.apache.fluss.record.TestData.DATA2_SCHEMA;
 import static org.apache.fluss.record.TestData.DEFAULT_SCHEMA_ID;
 import static org.apache.fluss.server.coordinator.CoordinatorContext.INITIAL_COORDINATOR_EPOCH;
+import static org.apache.fluss.server.utils.ServerRpcMessageUtils.makeCreateKvCheckpointResponse;
 import static org.apache.fluss.server.zk.data.LeaderAndIsr.INITIAL_LEADER_EPOCH;
 import static org.apache.fluss.testutils.DataTestUtils.assertLogRecordsEquals;
 import static org.apache.fluss.testutils.DataTestUtils.createBasicMemoryLogRecords;
@@ -747,6 +761,112 @@ final class ReplicaTest extends ReplicaTestBase {
         verifyGetKeyValues(kvTablet, expectedKeyValues);
     }
 
+    @Test
+    void testRestoreFromPeerKvCheckpoint(@TempDir Path tempDir) throws Exception {
+        TableBucket tableBucket = new TableBucket(DATA1_TABLE_ID_PK, 1);
+        int peerServerId = TABLET_SERVER_ID + 1;
+        PeerKvCheckpointManager peerKvCheckpointManager =
+                new PeerKvCheckpointManager(
+                        conf, tempDir.resolve("data").toFile(), SystemClock.getInstance());
+        AtomicInteger fetchFileRequests = new AtomicInteger();
+        // the peer tablet server serves the checkpoints of the checkpoint manager
+        TabletServerGateway peerGateway =
+                new TestTabletServerGateway(false, Collections.emptySet()) {
+                    @Override
+                    public CompletableFuture<CreateKvCheckpointResponse> createKvCheckpoint(
+                            CreateKvCheckpointRequest request) {
+                        return CompletableFuture.completedFuture(
+                                makeCreateKvCheckpointResponse(
+                                        peerKvCheckpointManager
+                                                .getRetainedCheckpoint(tableBucket)
+                                                .get()));
+                    }
+
+                    @Override
+                    public CompletableFuture<FetchKvCheckpointFileResponse> fetchKvCheckpointFile(
+                            FetchKvCheckpointFileRequest request) {
+                        fetchFileRequests.incrementAndGet();
+                        try {
+                            return CompletableFuture.completedFuture(
+                                    new FetchKvCheckpointFileResponse()
+                                            .setData(
+                                                    peerKvCheckpointManager.readFile(
+                                                            request.getCheckpointId(),
+                                                            request.getFileName(),
+                                                            request.getPosition(),
+                                                            request.getMaxBytes())));
+                        } catch (IOException e) {
+                            return FutureUtils.completedExceptionally(e);
+                        }
+                    }
+                };
+        PeerKvCheckpointDownloader peerKvCheckpointDownloader =
+                new PeerKvCheckpointDownloader(
+                        peerKvCheckpointManager.getCheckpointBaseDir(),
+                        1024,
+                        serverId -> {
+                            assertThat(serverId).isEqualTo(peerServerId);
+                            return peerGateway;
+                        });
+        TestSnapshotContext testKvSnapshotContext =
+                new TestSnapshotContext(tempDir.resolve("remote").toString()) {
+                    @Override
+                    public PeerKvCheckpointManager getPeerKvCheckpointManager() {
+                        return peerKvCheckpointManager;
+                    }
+
+                    @Override
+                    public PeerKvCheckpointDownloader getPeerKvCheckpointDownloader() {
+                        return peerKvCheckpointDownloader;
+                    }
+                };
+
+        Replica kvReplica =
+                makeKvReplica(DATA1_PHYSICAL_TABLE_PATH_PK, tableBucket, testKvSnapshotContext);
+        makeKvReplicaAsLeader(kvReplica);
+        putRecordsToLeader(
+                kvReplica,
+                DataTestUtils.genKvRecordBatch(new Object[] {1, "a"}, new Object[] {2, "b"}));
+
+        // the kv checkpoint is retained when the replica becomes follower, and we take it as the
+        // checkpoint of the peer tablet server which is the leader before
+        kvReplica.makeFollower(
+                new NotifyLeaderAndIsrData(
+                        PhysicalTablePath.of(DATA1_TABLE_PATH_PK),
+                        tableBucket,
+                        Arrays.asList(TABLET_SERVER_ID, peerServerId),
+                        new LeaderAndIsr(
+                                peerServerId,
+                                1,
+                                Arrays.asList(TABLET_SERVER_ID, peerServerId),
+                                INITIAL_COORDINATOR_EPOCH,
+                                1)));
+        assertThat(kvReplica.getKvTablet()).isNull();
+        PeerKvCheckpointManager.PeerKvCheckpoint checkpoint =
+                peerKvCheckpointManager.getRetainedCheckpoint(tableBucket).get();
+        assertThat(checkpoint.getLogOffset()).isEqualTo(2L);
+
+        // no snapshot, the kv tablet is restored from the kv checkpoint of the previous leader
+        makeKvReplicaAsLeader(kvReplica, 2);
+        assertThat(fetchFileRequests.get()).isGreaterThan(0);
+        List<Tuple2<byte[], byte[]>> expectedKeyValues =
+                getKeyValuePairs(genKvRecords(new Object[] {1, "a"}, new Object[] {2, "b"}));
+        verifyGetKeyValues(kvReplica.getKvTablet(), expectedKeyValues);
+
+        // the kv tablet works as usual after restored from the checkpoint
+        putRecordsToLeader(
+                kvReplica,
+                DataTestUtils.genKvRecordBatch(new Object[] {2, "bbb"}, new Object[] {3, "c"}));
+        expectedKeyValues =
+                getKeyValuePairs(
+                        genKvRecords(
+                                new Object[] {1, "a"},
+                                new Object[] {2, "bbb"},
+                                new Object[] {3, "c"}));
+        verifyGetKeyValues(kvReplica.getKvTablet(), expectedKeyValues);
+        peerKvCheckpointManager.close();
+    }
+
     @Test
     void testUpdateIsDataLakeEnabled() throws Exception {
         Replica logReplica =
@@ -769,6 +889,72 @@ final class ReplicaTest extends ReplicaTestBase {
         assertThat(logReplica.getLogTablet().isDataLakeEnabled()).isFalse();
     }
 
+    @Test
+    void testFetchRecordsFromFollower() throws Exception {
+        TableBucket tb = new TableBucket(DATA1_TABLE_ID, 1);
+        Replica logReplica = makeLogReplica(DATA1_PHYSICAL_TABLE_PATH, tb);
+        int leaderId = TABLET_SERVER_ID + 1;
+        logReplica.makeFollower(
+                new NotifyLeaderAndIsrData(
+                        DATA1_PHYSICAL_TABLE_PATH,
+                        tb,
+                        Arrays.asList(leaderId, TABLET_SERVER_ID),
+                        new LeaderAndIsr(
+                                leaderId,
+                                INITIAL_LEADER_EPOCH,
+                                Arrays.asList(leaderId, TABLET_SERVER_ID),
+                                INITIAL_COORDINATOR_EPOCH,
+                                INITIAL_LEADER_EPOCH)));
+        List<ChangeType> changeTypes = Collections.nCopies(3, ChangeType.APPEND_ONLY);
+        logReplica.appendRecordsToFollower(logRecords(0L, changeTypes, DATA1.subList(0, 3)));
+        logReplica.appendRecordsToFollower(logRecords(3L, changeTypes, DATA1.subList(3, 6)));
+        FetchParams fetchParams = new FetchParams(-1, false, Integer.MAX_VALUE, -1, -1);
+        fetchParams.setCurrentFetch(
+                DATA1_TABLE_ID,
+                0L,
+                Integer.MAX_VALUE,
+                logReplica.getSchemaGetter(),
+                DEFAULT_COMPRESSION,
+                null,
+                new ProjectionPushdownCache());
+
+        // the follower doesn't know the leader high watermark yet
+        assertThatThrownBy(() -> logReplica.fetchRecords(fetchParams))
+                .isInstanceOf(NotLeaderOrFollowerException.class)
+                .hasMessageContaining("is not in sync with the leader");
+
+        // the read is bounded by the leader high watermark instead of the log end offset
+        logReplica.updateLeaderHighWatermark(3L);
+        LogReadInfo logReadInfo = logReplica.fetchRecords(fetchParams);
+        assertThat(logReadInfo.getHighWatermark()).isEqualTo(3L);
+        // the delayed fetch waits for the records under the leader high watermark as well
+        assertThat(logReplica.fetchOffsetSnapshot(false).highWatermark.getMessageOffset())
+                .isEqualTo(3L);
+        assertLogRecordsEquals(
+                DATA1_ROW_TYPE,
+                logReadInfo.getFetchedData().getRecords(),
+                DATA1.subList(0, 3),
+                logReplica.getSchemaGetter());
+
+        // the client reads from the leader only by default
+        FetchParams leaderFetchParams = new FetchParams(-1, Integer.MAX_VALUE);
+        assertThatThrownBy(() -> logReplica.fetchRecords(leaderFetchParams))
+                .isInstanceOf(NotLeaderOrFollowerException.class);
+
+        // the follower hasn't caught up to the leader for longer than the max lag time
+        logReplica.updateLeaderHighWatermark(10L);
+        assertThat(logReplica.fetchRecords(fetchParams).getHighWatermark()).isEqualTo(6L);
+        assertThat(logReplica.fetchOffsetSnapshot(false).highWatermark.getMessageOffset())
+                .isEqualTo(6L);
+        manualClock.advanceTime(conf.get(ConfigOptions.LOG_REPLICA_MAX_LAG_TIME).plusMillis(1));
+        assertThatThrownBy(() -> logReplica.fetchRecords(fetchParams))
+                .isInstanceOf(NotLeaderOrFollowerException.class)
+                .hasMessageContaining("is not in sync with the leader");
+        assertThatThrownBy(() -> logReplica.fetchOffsetSnapshot(false))
+                .isInstanceOf(NotLeaderOrFollowerException.class)
+                .hasMessageContaining("is not in sync with the leader");
+    }
+
     private void makeLogReplicaAsLeader(Replica replica) throws Exception {
         makeLeaderReplica(
                 replica,
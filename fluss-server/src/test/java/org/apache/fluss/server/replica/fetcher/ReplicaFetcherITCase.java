@@ -150,6 +150,16 @@ public class ReplicaFetcherITCase {
                                                     .getLogTablet()
                                                     .getHighWatermark())
                                     .isEqualTo(10L));
+            // wait until the leader highWaterMark is propagated to follower, which bounds the
+            // client reads from follower.
+            retry(
+                    Duration.ofMinutes(1),
+                    () ->
+                            assertThat(
+                                            replicaManager
+                                                    .getReplicaOrException(tb)
+                                                    .getLeaderHighWatermark())
+                                    .isEqualTo(10L));
 
             CompletableFuture<Map<TableBucket, FetchLogResultForBucket>> future =
                     new CompletableFuture<>();
@@ -227,6 +237,16 @@ public class ReplicaFetcherITCase {
                                                     .getLogTablet()
                                                     .getHighWatermark())
                                     .isEqualTo(8L));
+            // wait until the leader highWaterMark is propagated to follower, which bounds the
+            // client reads from follower.
+            retry(
+                    Duration.ofMinutes(1),
+                    () ->
+                            assertThat(
+                                            replicaManager
+                                                    .getReplicaOrException(tb)
+                                                    .getLeaderHighWatermark())
+                                    .isEqualTo(8L));
 
             CompletableFuture<Map<TableBucket, FetchLogResultForBucket>> future =
                     new CompletableFuture<>();
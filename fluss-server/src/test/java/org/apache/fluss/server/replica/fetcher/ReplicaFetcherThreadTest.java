@@ -26,6 +26,8 @@ import org.apache.fluss.metadata.PhysicalTablePath;
 import org.apache.fluss.metadata.TableBucket;
 import org.apache.fluss.rpc.RpcClient;
 import org.apache.fluss.rpc.entity.ProduceLogResultForBucket;
+import org.apache.fluss.rpc.messages.FetchLogRequest;
+import org.apache.fluss.rpc.messages.PbFetchLogReqForTable;
 import org.apache.fluss.rpc.metrics.TestingClientMetricGroup;
 import org.apache.fluss.server.coordinator.LakeCatalogDynamicLoader;
 import org.apache.fluss.server.coordinator.MetadataManager;
@@ -40,6 +42,7 @@ import org.apache.fluss.server.metrics.group.TabletServerMetricGroup;
 import org.apache.fluss.server.metrics.group.TestingMetricGroups;
 import org.apache.fluss.server.replica.Replica;
 import org.apache.fluss.server.replica.ReplicaManager;
+import org.apache.fluss.server.replica.fetcher.LeaderEndpoint.FetchData;
 import org.apache.fluss.server.zk.NOPErrorHandler;
 import org.apache.fluss.server.zk.ZooKeeperClient;
 import org.apache.fluss.server.zk.ZooKeeperExtension;
@@ -61,9 +64,12 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -225,6 +231,87 @@ public class ReplicaFetcherThreadTest {
         }
     }
 
+    @Test
+    void testFetchWithMultipleInFlightRequests() throws Exception {
+        Configuration conf = new Configuration();
+        ServerNode follower =
+                new ServerNode(
+                        followerServerId, "localhost", 10001, ServerType.TABLET_SERVER, "rack2");
+        List<Integer> requestBucketCounts = Collections.synchronizedList(new ArrayList<>());
+        TestingLeaderEndpoint leaderEndpoint =
+                new TestingLeaderEndpoint(conf, leaderRM, follower) {
+                    @Override
+                    public CompletableFuture<FetchData> fetchLog(FetchLogContext fetchLogContext) {
+                        FetchLogRequest request = fetchLogContext.getFetchLogRequest();
+                        int bucketCount = 0;
+                        for (PbFetchLogReqForTable reqForTable : request.getTablesReqsList()) {
+                            bucketCount += reqForTable.getBucketsReqsCount();
+                        }
+                        requestBucketCounts.add(bucketCount);
+                        return super.fetchLog(fetchLogContext);
+                    }
+                };
+        ReplicaFetcherThread fetcher =
+                new ReplicaFetcherThread(
+                        "test-pipelined-fetcher-thread", followerRM, leaderEndpoint, 1000, 3);
+
+        List<TableBucket> buckets = new ArrayList<>();
+        Map<TableBucket, InitialFetchStatus> initialFetchStatus = new HashMap<>();
+        for (int bucket = 0; bucket < 3; bucket++) {
+            TableBucket tableBucket = new TableBucket(DATA1_TABLE_ID, bucket);
+            if (bucket > 0) {
+                makeLeaderAndFollower(tableBucket);
+            }
+            buckets.add(tableBucket);
+            initialFetchStatus.put(
+                    tableBucket,
+                    new InitialFetchStatus(DATA1_TABLE_ID, DATA1_TABLE_PATH, leader.id(), 0L));
+        }
+        fetcher.addBuckets(initialFetchStatus);
+        fetcher.start();
+
+        try {
+            for (int i = 0; i < 10; i++) {
+                long baseOffset = i * 10L;
+                for (TableBucket tableBucket : buckets) {
+                    CompletableFuture<List<ProduceLogResultForBucket>> future =
+                            new CompletableFuture<>();
+                    leaderRM.appendRecordsToLog(
+                            1000,
+                            1,
+                            Collections.singletonMap(
+                                    tableBucket, genMemoryLogRecordsByObject(DATA1)),
+                            null,
+                            future::complete);
+                    assertThat(future.get())
+                            .containsOnly(
+                                    new ProduceLogResultForBucket(
+                                            tableBucket, baseOffset, baseOffset + 10L));
+                }
+            }
+
+            for (TableBucket tableBucket : buckets) {
+                retry(
+                        Duration.ofSeconds(20),
+                        () ->
+                                assertThat(
+                                                followerRM
+                                                        .getReplicaOrException(tableBucket)
+                                                        .getLocalLogEndOffset())
+                                        .isEqualTo(100L));
+                assertThat(fetcher.fetchStatus(tableBucket))
+                        .hasValueSatisfying(
+                                status -> assertThat(status.fetchOffset()).isEqualTo(100L));
+            }
+            // the buckets are spread over the in-flight requests.
+            assertThat(new ArrayList<>(requestBucketCounts))
+                    .isNotEmpty()
+                    .allMatch(count -> count == 1);
+        } finally {
+            fetcher.shutdown();
+        }
+    }
+
     // TODO this test need to be removed after we introduce leader epoch cache. Trace by
     // https://github.com/apache/fluss/issues/673
     @Test
@@ -382,12 +469,16 @@ public class ReplicaFetcherThreadTest {
     }
 
     private void makeLeaderAndFollower() {
+        makeLeaderAndFollower(tb);
+    }
+
+    private void makeLeaderAndFollower(TableBucket tableBucket) {
         leaderRM.becomeLeaderOrFollower(
                 INITIAL_COORDINATOR_EPOCH,
                 Collections.singletonList(
                         new NotifyLeaderAndIsrData(
                                 PhysicalTablePath.of(DATA1_TABLE_PATH),
-                                tb,
+                                tableBucket,
                                 Arrays.asList(leaderServerId, followerServerId),
                                 new LeaderAndIsr(
                                         leaderServerId,
@@ -401,7 +492,7 @@ public class ReplicaFetcherThreadTest {
                 Collections.singletonList(
                         new NotifyLeaderAndIsrData(
                                 PhysicalTablePath.of(DATA1_TABLE_PATH),
-                                tb,
+                                tableBucket,
                                 Arrays.asList(leaderServerId, followerServerId),
                                 new LeaderAndIsr(
                                         leaderServerId,
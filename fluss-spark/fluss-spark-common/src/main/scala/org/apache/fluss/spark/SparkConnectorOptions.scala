@@ -56,6 +56,35 @@ object SparkConnectorOptions {
       .noDefaultValue()
       .withDescription("The comment of a Fluss table.")
 
+  val SCAN_STARTUP_MODE: ConfigOption[String] =
+    ConfigBuilder
+      .key("scan.startup.mode")
+      .stringType()
+      .defaultValue("earliest")
+      .withDescription(
+        """
+          |Optional startup mode for the streaming read of a Fluss log table, only used when the query starts without a checkpoint.
+          |"earliest": read the log from the earliest offset of each bucket.
+          |"latest": read the log from the latest offset of each bucket.
+          |"timestamp": read the log from the offset of the timestamp specified by "scan.startup.timestamp".
+          |""".stripMargin)
+
+  val SCAN_STARTUP_TIMESTAMP: ConfigOption[java.lang.Long] =
+    ConfigBuilder
+      .key("scan.startup.timestamp")
+      .longType()
+      .noDefaultValue()
+      .withDescription(
+        "The timestamp in milliseconds to start the streaming read from when the startup mode is \"timestamp\".")
+
+  val SCAN_MAX_OFFSETS_PER_TRIGGER: ConfigOption[java.lang.Long] =
+    ConfigBuilder
+      .key("scan.max-offsets-per-trigger")
+      .longType()
+      .noDefaultValue()
+      .withDescription(
+        "The maximum number of log offsets (i.e., rows of a log table) to read in a micro-batch of the streaming read, which are split across the buckets proportionally to their backlogs. No limit by default.")
+
   val SPARK_TABLE_OPTIONS: Seq[String] =
     Seq(PRIMARY_KEY, BUCKET_KEY, BUCKET_NUMBER, COMMENT).map(_.key)
 }
@@ -45,6 +45,7 @@ abstract class AbstractSparkTable(val admin: Admin, val tableInfo: TableInfo) ex
   override def capabilities(): util.Set[TableCapability] = {
     Set(
       TableCapability.BATCH_READ,
+      TableCapability.MICRO_BATCH_READ,
       TableCapability.BATCH_WRITE,
       TableCapability.STREAMING_WRITE
     ).asJava
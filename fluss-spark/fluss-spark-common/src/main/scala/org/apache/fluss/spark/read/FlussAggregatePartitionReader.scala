@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.spark.read
+
+import org.apache.fluss.aggregate.GroupAggregator
+import org.apache.fluss.client.table.scanner.batch.BatchScanner
+import org.apache.fluss.config.Configuration
+import org.apache.fluss.metadata.{TableBucket, TablePath}
+import org.apache.fluss.row.{InternalRow => FlussInternalRow}
+import org.apache.fluss.spark.row.DataConverter
+import org.apache.fluss.types.RowType
+
+import org.apache.spark.sql.catalyst.InternalRow
+
+import java.util
+
+/**
+ * Partition reader that reads the partial aggregates of a single Fluss table bucket, the
+ * aggregation is pushed down to the server which returns the aggregated rows of the bucket.
+ */
+class FlussAggregatePartitionReader(
+    tablePath: TablePath,
+    aggregation: FlussAggregation,
+    tableBucket: TableBucket,
+    flussConfig: Configuration)
+  extends FlussPartitionReader(tablePath, flussConfig) {
+
+  private val resultType: RowType =
+    new GroupAggregator(rowType, aggregation.groupBy, aggregation.aggregateCalls).getResultType
+
+  private val aggregateScanner: BatchScanner =
+    table
+      .newScan()
+      .aggregate(aggregation.groupBy, aggregation.aggregateCalls)
+      .createBatchScanner(tableBucket)
+  private var aggregateIterator: util.Iterator[FlussInternalRow] = _
+
+  override def next(): Boolean = {
+    if (closed) {
+      return false
+    }
+
+    while (aggregateIterator == null || !aggregateIterator.hasNext) {
+      val batch = aggregateScanner.pollBatch(POLL_TIMEOUT)
+      if (batch == null) {
+        // No more data fetched.
+        return false
+      }
+      aggregateIterator = batch
+    }
+    currentRow = convertToSparkRow(aggregateIterator.next())
+    true
+  }
+
+  // the aggregated rows are of the result type of the aggregation instead of the table row type
+  override protected def convertToSparkRow(flussRow: FlussInternalRow): InternalRow = {
+    DataConverter.toSparkInternalRow(flussRow, resultType)
+  }
+
+  override def close0(): Unit = {
+    if (aggregateScanner != null) {
+      aggregateScanner.close()
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.spark.read
+
+import org.apache.fluss.client.{Connection, ConnectionFactory}
+import org.apache.fluss.client.table.Table
+import org.apache.fluss.config.Configuration
+import org.apache.fluss.metadata.{TableBucket, TablePath}
+import org.apache.fluss.predicate.Predicate
+import org.apache.fluss.record.{ColumnarBatch => FlussColumnarBatch}
+import org.apache.fluss.spark.row.FlussAsSparkColumnVector
+import org.apache.fluss.types.RowType
+
+import org.apache.spark.sql.connector.read.PartitionReader
+import org.apache.spark.sql.vectorized.{ColumnarBatch, ColumnVector}
+
+import java.time.Duration
+import java.util
+
+/**
+ * Partition reader that reads the Arrow log batches of a single Fluss table bucket as Spark
+ * [[ColumnarBatch]]es, the columns of the Spark batch are views of the Arrow vectors without
+ * copying or materializing any row.
+ */
+class FlussAppendColumnarPartitionReader(
+    tablePath: TablePath,
+    projection: Array[Int],
+    filter: Option[Predicate],
+    flussPartition: FlussAppendInputPartition,
+    flussConfig: Configuration)
+  extends PartitionReader[ColumnarBatch] {
+
+  private val POLL_TIMEOUT: Duration = Duration.ofMillis(100)
+  private lazy val conn: Connection = ConnectionFactory.createConnection(flussConfig)
+  private lazy val table: Table = conn.getTable(tablePath)
+  private lazy val readRowType: RowType = table.getTableInfo.getRowType.project(projection)
+
+  private val tableBucket: TableBucket = flussPartition.tableBucket
+  private val stopOffset: Long = flussPartition.stopOffset
+  private val logScanner =
+    table.newScan().project(projection).filter(filter.orNull).createLogScanner()
+
+  // The polled batches of the bucket which are not returned yet
+  private var pendingBatches: util.Iterator[FlussColumnarBatch] = _
+  // The Fluss batch backing the current Spark batch, which is closed when moving to the next one
+  private var currentFlussBatch: FlussColumnarBatch = _
+  private var currentBatch: ColumnarBatch = _
+  private var closed = false
+
+  // initialize log scanner
+  initialize()
+
+  override def next(): Boolean = {
+    if (closed) {
+      return false
+    }
+    closeCurrentBatch()
+
+    while (!closed) {
+      if (pendingBatches != null && pendingBatches.hasNext) {
+        val flussBatch = pendingBatches.next()
+        if (flussBatch.getBaseLogOffset < stopOffset) {
+          currentFlussBatch = flussBatch
+          currentBatch = toSparkBatch(currentFlussBatch)
+          return true
+        }
+        // the batch is appended after planning the scan
+        flussBatch.close()
+      } else if (logScanner.position(tableBucket) >= stopOffset) {
+        // the filtered-out batches push the position forward without returning batches
+        return false
+      } else {
+        // the offsets before the stop offset are known to be available, so keep polling
+        pendingBatches = logScanner.pollBatches(POLL_TIMEOUT).batches(tableBucket).iterator()
+      }
+    }
+    false
+  }
+
+  override def get(): ColumnarBatch = currentBatch
+
+  override def close(): Unit = {
+    if (!closed) {
+      closed = true
+      closeCurrentBatch()
+      while (pendingBatches != null && pendingBatches.hasNext) {
+        pendingBatches.next().close()
+      }
+      if (logScanner != null) {
+        logScanner.close()
+      }
+      if (table != null) {
+        table.close()
+      }
+      if (conn != null) {
+        conn.close()
+      }
+    }
+  }
+
+  private def toSparkBatch(flussBatch: FlussColumnarBatch): ColumnarBatch = {
+    val numRows = flussBatch.getRowCount
+    val columns: Array[ColumnVector] = (0 until flussBatch.getFieldCount).map {
+      i =>
+        new FlussAsSparkColumnVector(
+          readRowType.getTypeAt(i),
+          flussBatch.getColumnVector(i),
+          numRows): ColumnVector
+    }.toArray
+    new ColumnarBatch(columns, numRows)
+  }
+
+  private def closeCurrentBatch(): Unit = {
+    if (currentFlussBatch != null) {
+      currentFlussBatch.close()
+      currentFlussBatch = null
+      currentBatch = null
+    }
+  }
+
+  private def initialize(): Unit = {
+    val partitionId = tableBucket.getPartitionId
+    if (partitionId != null) {
+      logScanner.subscribe(partitionId, tableBucket.getBucket, flussPartition.startOffset)
+    } else {
+      logScanner.subscribe(tableBucket.getBucket, flussPartition.startOffset)
+    }
+  }
+}
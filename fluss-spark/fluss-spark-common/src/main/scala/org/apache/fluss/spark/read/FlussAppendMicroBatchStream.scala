@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.spark.read
+
+import org.apache.fluss.client.{Connection, ConnectionFactory}
+import org.apache.fluss.client.admin.{Admin, OffsetSpec}
+import org.apache.fluss.config.Configuration
+import org.apache.fluss.metadata.{TableBucket, TableInfo, TablePath}
+import org.apache.fluss.spark.SparkConnectorOptions.{SCAN_MAX_OFFSETS_PER_TRIGGER, SCAN_STARTUP_MODE, SCAN_STARTUP_TIMESTAMP}
+
+import org.apache.spark.sql.connector.read.{InputPartition, PartitionReaderFactory}
+import org.apache.spark.sql.connector.read.streaming.{MicroBatchStream, Offset, ReadLimit, ReadMaxRows, SupportsAdmissionControl}
+import org.apache.spark.sql.util.CaseInsensitiveStringMap
+
+import scala.collection.JavaConverters._
+
+/**
+ * The [[MicroBatchStream]] of a Fluss log table.
+ *
+ * Each micro-batch reads the log offset range [start, end) of every bucket, where the end offsets
+ * are the latest offsets of the buckets bounded by the [[ReadLimit]]. The offset ranges are planned
+ * on the driver and read by the executors in parallel, one input partition per bucket. The buckets
+ * of the partitions created after the query starts are read from their earliest offsets.
+ */
+class FlussAppendMicroBatchStream(
+    tablePath: TablePath,
+    tableInfo: TableInfo,
+    projection: Array[Int],
+    options: CaseInsensitiveStringMap,
+    flussConfig: Configuration)
+  extends MicroBatchStream
+  with SupportsAdmissionControl {
+
+  private var connOpt: Option[Connection] = None
+
+  private var adminOpt: Option[Admin] = None
+
+  private val maxOffsetsPerTrigger: Option[Long] =
+    Option(options.get(SCAN_MAX_OFFSETS_PER_TRIGGER.key())).map(_.toLong)
+
+  override def initialOffset(): Offset = {
+    val startupMode =
+      options.getOrDefault(SCAN_STARTUP_MODE.key(), SCAN_STARTUP_MODE.defaultValue())
+    val offsetSpec = startupMode.toLowerCase match {
+      case "earliest" => new OffsetSpec.EarliestSpec
+      case "latest" => new OffsetSpec.LatestSpec
+      case "timestamp" =>
+        val timestamp = Option(options.get(SCAN_STARTUP_TIMESTAMP.key())).getOrElse(
+          throw new IllegalArgumentException(
+            s"'${SCAN_STARTUP_TIMESTAMP.key()}' must be set when the startup mode is 'timestamp'."))
+        new OffsetSpec.TimestampSpec(timestamp.toLong)
+      case _ =>
+        throw new IllegalArgumentException(
+          s"Unsupported '${SCAN_STARTUP_MODE.key()}': $startupMode, " +
+            "the supported modes are 'earliest', 'latest' and 'timestamp'.")
+    }
+    FlussSourceOffset(tableInfo.getTableId, listOffsets(offsetSpec))
+  }
+
+  override def latestOffset(): Offset = {
+    throw new UnsupportedOperationException(
+      "latestOffset(Offset, ReadLimit) should be called instead of this method")
+  }
+
+  override def getDefaultReadLimit: ReadLimit = {
+    maxOffsetsPerTrigger.map(ReadLimit.maxRows).getOrElse(ReadLimit.allAvailable())
+  }
+
+  override def latestOffset(startOffset: Offset, limit: ReadLimit): Offset = {
+    val latestOffsets = listOffsets(new OffsetSpec.LatestSpec)
+    val endOffsets = limit match {
+      case maxRows: ReadMaxRows =>
+        val startOffsets = withNewBuckets(toFlussOffset(startOffset).bucketOffsets, latestOffsets)
+        rateLimit(startOffsets, latestOffsets, maxRows.maxRows())
+      case _ => latestOffsets
+    }
+    FlussSourceOffset(tableInfo.getTableId, endOffsets)
+  }
+
+  override def planInputPartitions(start: Offset, end: Offset): Array[InputPartition] = {
+    val endOffsets = toFlussOffset(end).bucketOffsets
+    val startOffsets = withNewBuckets(toFlussOffset(start).bucketOffsets, endOffsets)
+    endOffsets.toSeq
+      .flatMap {
+        case (tableBucket, stopOffset) =>
+          val startOffset = startOffsets(tableBucket)
+          if (stopOffset > startOffset) {
+            Some(FlussAppendStreamInputPartition(tableBucket, startOffset, stopOffset))
+          } else {
+            None
+          }
+      }
+      .map(_.asInstanceOf[InputPartition])
+      .toArray
+  }
+
+  override def createReaderFactory(): PartitionReaderFactory = {
+    new FlussAppendStreamPartitionReaderFactory(tablePath, projection, flussConfig)
+  }
+
+  override def deserializeOffset(json: String): Offset = FlussSourceOffset.fromJson(json)
+
+  override def commit(end: Offset): Unit = {
+    // the offsets are checkpointed by Spark, nothing to commit to Fluss
+  }
+
+  override def stop(): Unit = {
+    adminOpt.foreach(_.close())
+    adminOpt = None
+    connOpt.foreach(_.close())
+    connOpt = None
+  }
+
+  /** Returns the admin, the connection and the admin are created on the first call. */
+  private def admin: Admin = adminOpt.getOrElse {
+    val connection = connOpt.getOrElse(ConnectionFactory.createConnection(flussConfig))
+    connOpt = Some(connection)
+    val newAdmin = connection.getAdmin
+    adminOpt = Some(newAdmin)
+    newAdmin
+  }
+
+  /** Lists the offsets of all the buckets of the table (of all the partitions if partitioned). */
+  private def listOffsets(offsetSpec: OffsetSpec): Map[TableBucket, Long] = {
+    val tableId = tableInfo.getTableId
+    if (tableInfo.isPartitioned) {
+      admin
+        .listPartitionInfos(tablePath)
+        .get()
+        .asScala
+        .flatMap {
+          partitionInfo =>
+            FlussBatch
+              .listOffsets(admin, tablePath, tableInfo, partitionInfo.getPartitionName, offsetSpec)
+              .map {
+                case (bucket, offset) =>
+                  (new TableBucket(tableId, partitionInfo.getPartitionId, bucket), offset)
+              }
+        }
+        .toMap
+    } else {
+      FlussBatch.listOffsets(admin, tablePath, tableInfo, null, offsetSpec).map {
+        case (bucket, offset) => (new TableBucket(tableId, bucket), offset)
+      }
+    }
+  }
+
+  /** Adds the earliest offsets of the buckets which are in the target but not in the offsets. */
+  private def withNewBuckets(
+      offsets: Map[TableBucket, Long],
+      target: Map[TableBucket, Long]): Map[TableBucket, Long] = {
+    if (target.keySet.subsetOf(offsets.keySet)) {
+      offsets
+    } else {
+      listOffsets(new OffsetSpec.EarliestSpec) ++ offsets
+    }
+  }
+
+  /**
+   * Bounds the end offsets by the max offsets to read in total, the max offsets are split across
+   * the buckets proportionally to the number of offsets available to read of each bucket. Each
+   * bucket gets the floor of its share, and the remainder is handed out one offset per bucket to
+   * the buckets with the largest fractional shares, so the total never exceeds the max offsets.
+   */
+  private def rateLimit(
+      startOffsets: Map[TableBucket, Long],
+      latestOffsets: Map[TableBucket, Long],
+      maxOffsets: Long): Map[TableBucket, Long] = {
+    val available = latestOffsets.map {
+      case (tableBucket, latest) =>
+        (tableBucket, math.max(0L, latest - startOffsets.getOrElse(tableBucket, latest)))
+    }
+    val total = available.values.sum
+    if (total <= maxOffsets) {
+      latestOffsets
+    } else {
+      // the exact share of a bucket is maxOffsets * available / total, computed in BigInt to
+      // avoid overflowing the multiplication
+      val shares = available.map {
+        case (tableBucket, offsets) =>
+          val product = BigInt(maxOffsets) * BigInt(offsets)
+          (tableBucket, ((product / total).toLong, product % total))
+      }
+      val remainder = maxOffsets - shares.values.map(_._1).sum
+      // the remainder is less than the number of buckets with a fractional share, and such a
+      // bucket always has one more offset available than its floor
+      val roundedUp = shares.toSeq
+        .filter { case (_, (_, fraction)) => fraction > 0 }
+        .sortBy { case (_, (_, fraction)) => -fraction }
+        .take(remainder.toInt)
+        .map(_._1)
+        .toSet
+      latestOffsets.map {
+        case (tableBucket, latest) =>
+          val start = startOffsets.getOrElse(tableBucket, latest)
+          val offsets = shares(tableBucket)._1 + (if (roundedUp(tableBucket)) 1 else 0)
+          (tableBucket, math.min(latest, start + offsets))
+      }
+    }
+  }
+
+  private def toFlussOffset(offset: Offset): FlussSourceOffset = offset match {
+    case flussOffset: FlussSourceOffset => flussOffset
+    case other => FlussSourceOffset.fromJson(other.json())
+  }
+}
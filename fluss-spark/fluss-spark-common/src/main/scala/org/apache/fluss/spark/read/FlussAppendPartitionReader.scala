@@ -18,14 +18,15 @@
 package org.apache.fluss.spark.read
 
 import org.apache.fluss.client.table.scanner.ScanRecord
-import org.apache.fluss.client.table.scanner.log.ScanRecords
 import org.apache.fluss.config.Configuration
 import org.apache.fluss.metadata.{TableBucket, TablePath}
+import org.apache.fluss.predicate.Predicate
 
 /** Partition reader that reads log data from a single Fluss table bucket. */
 class FlussAppendPartitionReader(
     tablePath: TablePath,
     projection: Array[Int],
+    filter: Option[Predicate],
     flussPartition: FlussAppendInputPartition,
     flussConfig: Configuration)
   extends FlussPartitionReader(tablePath, flussConfig) {
@@ -33,7 +34,9 @@ class FlussAppendPartitionReader(
   private val tableBucket: TableBucket = flussPartition.tableBucket
   private val partitionId = tableBucket.getPartitionId
   private val bucketId = tableBucket.getBucket
-  private val logScanner = table.newScan().project(projection).createLogScanner()
+  private val stopOffset: Long = flussPartition.stopOffset
+  private val logScanner =
+    table.newScan().project(projection).filter(filter.orNull).createLogScanner()
 
   // Iterator for current batch of records
   private var currentRecords: java.util.Iterator[ScanRecord] = _
@@ -42,38 +45,22 @@ class FlussAppendPartitionReader(
   initialize()
 
   override def next(): Boolean = {
-    if (closed) {
-      return false
-    }
-
-    // If we have records in current batch, return next one
-    if (currentRecords != null && currentRecords.hasNext) {
-      val scanRecord = currentRecords.next()
-      currentRow = convertToSparkRow(scanRecord)
-      return true
-    }
-
-    // Poll for more records
-    val scanRecords = logScanner.poll(POLL_TIMEOUT)
-
-    if (scanRecords == null || scanRecords.isEmpty) {
-      return false
-    }
-
-    // Get records for our bucket
-    val bucketRecords = scanRecords.records(tableBucket)
-    if (bucketRecords.isEmpty) {
-      return false
-    }
-
-    currentRecords = bucketRecords.iterator()
-    if (currentRecords.hasNext) {
-      val scanRecord = currentRecords.next()
-      currentRow = convertToSparkRow(scanRecord)
-      true
-    } else {
-      false
+    while (!closed) {
+      if (currentRecords != null && currentRecords.hasNext) {
+        val scanRecord = currentRecords.next()
+        if (scanRecord.logOffset() < stopOffset) {
+          currentRow = convertToSparkRow(scanRecord)
+          return true
+        }
+      } else if (logScanner.position(tableBucket) >= stopOffset) {
+        // the filtered-out batches push the position forward without returning records
+        return false
+      } else {
+        // the offsets before the stop offset are known to be available, so keep polling
+        currentRecords = logScanner.poll(POLL_TIMEOUT).records(tableBucket).iterator()
+      }
     }
+    false
   }
 
   override def close0(): Unit = {
@@ -84,9 +71,9 @@ class FlussAppendPartitionReader(
 
   private def initialize(): Unit = {
     if (partitionId != null) {
-      logScanner.subscribeFromBeginning(partitionId, bucketId)
+      logScanner.subscribe(partitionId, bucketId, flussPartition.startOffset)
     } else {
-      logScanner.subscribeFromBeginning(bucketId)
+      logScanner.subscribe(bucketId, flussPartition.startOffset)
     }
   }
 }
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.spark.read
+
+import org.apache.fluss.client.table.scanner.ScanRecord
+import org.apache.fluss.config.Configuration
+import org.apache.fluss.metadata.{TableBucket, TablePath}
+
+/**
+ * Partition reader that reads the log offset range of a micro-batch from a single Fluss table
+ * bucket.
+ */
+class FlussAppendStreamPartitionReader(
+    tablePath: TablePath,
+    projection: Array[Int],
+    flussPartition: FlussAppendStreamInputPartition,
+    flussConfig: Configuration)
+  extends FlussPartitionReader(tablePath, flussConfig) {
+
+  private val tableBucket: TableBucket = flussPartition.tableBucket
+  private val stopOffset: Long = flussPartition.stopOffset
+  private val logScanner = table.newScan().project(projection).createLogScanner()
+
+  // The next log offset to read, every offset of a log table is a record
+  private var nextOffset: Long = flussPartition.startOffset
+  private var currentRecords: java.util.Iterator[ScanRecord] = _
+
+  // initialize log scanner
+  initialize()
+
+  override def next(): Boolean = {
+    while (!closed && nextOffset < stopOffset) {
+      if (currentRecords != null && currentRecords.hasNext) {
+        val scanRecord = currentRecords.next()
+        if (scanRecord.logOffset() >= nextOffset) {
+          nextOffset = scanRecord.logOffset() + 1
+          if (scanRecord.logOffset() < stopOffset) {
+            currentRow = convertToSparkRow(scanRecord)
+            return true
+          }
+        }
+      } else {
+        // the offset range is known to be available, so keep polling until reaching the end
+        currentRecords = logScanner.poll(POLL_TIMEOUT).records(tableBucket).iterator()
+      }
+    }
+    false
+  }
+
+  override def close0(): Unit = {
+    if (logScanner != null) {
+      logScanner.close()
+    }
+  }
+
+  private def initialize(): Unit = {
+    val partitionId = tableBucket.getPartitionId
+    if (partitionId != null) {
+      logScanner.subscribe(partitionId, tableBucket.getBucket, nextOffset)
+    } else {
+      logScanner.subscribe(tableBucket.getBucket, nextOffset)
+    }
+  }
+}
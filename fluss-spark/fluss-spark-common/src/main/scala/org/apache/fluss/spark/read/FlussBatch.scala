@@ -18,12 +18,17 @@
 package org.apache.fluss.spark.read
 
 import org.apache.fluss.client.{Connection, ConnectionFactory}
-import org.apache.fluss.client.admin.Admin
+import org.apache.fluss.client.admin.{Admin, OffsetSpec}
 import org.apache.fluss.client.initializer.{BucketOffsetsRetrieverImpl, OffsetsInitializer}
 import org.apache.fluss.client.metadata.KvSnapshots
 import org.apache.fluss.client.table.scanner.log.LogScanner
 import org.apache.fluss.config.Configuration
-import org.apache.fluss.metadata.{PartitionInfo, TableBucket, TableInfo, TablePath}
+import org.apache.fluss.metadata.{LogFormat, PartitionInfo, TableBucket, TableInfo, TablePath}
+import org.apache.fluss.predicate.{Equal, LeafPredicate, Predicate, PredicateBuilder}
+import org.apache.fluss.row.GenericRow
+import org.apache.fluss.spark.row.FlussAsSparkColumnVector
+import org.apache.fluss.types.RowType
+import org.apache.fluss.utils.TypeUtils
 
 import org.apache.spark.sql.connector.read.{Batch, InputPartition, PartitionReaderFactory}
 import org.apache.spark.sql.types.StructType
@@ -32,11 +37,13 @@ import org.apache.spark.sql.util.CaseInsensitiveStringMap
 import java.util
 
 import scala.collection.JavaConverters._
+import scala.util.Try
 
 abstract class FlussBatch(
     tablePath: TablePath,
     tableInfo: TableInfo,
     readSchema: StructType,
+    filter: Option[Predicate],
     flussConfig: Configuration)
   extends Batch
   with AutoCloseable {
@@ -45,9 +52,25 @@ abstract class FlussBatch(
 
   lazy val admin: Admin = conn.getAdmin
 
-  lazy val partitionInfos: util.List[PartitionInfo] = admin.listPartitionInfos(tablePath).get()
+  lazy val partitionInfos: util.List[PartitionInfo] =
+    FlussBatch.prunePartitions(tableInfo, admin.listPartitionInfos(tablePath).get(), filter)
 
-  protected def projection: Array[Int] = {
+  protected def projection: Array[Int] = FlussBatch.projection(tableInfo, readSchema)
+
+  override def close(): Unit = {
+    if (admin != null) {
+      admin.close()
+    }
+    if (conn != null) {
+      conn.close()
+    }
+  }
+}
+
+object FlussBatch {
+
+  /** Returns the indexes of the columns of the read schema in the table schema. */
+  def projection(tableInfo: TableInfo, readSchema: StructType): Array[Int] = {
     val columnNameToIndex = tableInfo.getSchema.getColumnNames.asScala.zipWithIndex.toMap
     readSchema.fields.map {
       field =>
@@ -57,13 +80,97 @@ abstract class FlussBatch(
     }
   }
 
-  override def close(): Unit = {
-    if (admin != null) {
-      admin.close()
+  /**
+   * Lists the offsets of all the buckets of the given partition, or of the table if the partition
+   * name is null.
+   */
+  def listOffsets(
+      admin: Admin,
+      tablePath: TablePath,
+      tableInfo: TableInfo,
+      partitionName: String,
+      offsetSpec: OffsetSpec): Map[Int, Long] = {
+    val buckets = (0 until tableInfo.getNumBuckets).map(Int.box).asJava
+    val result =
+      if (partitionName == null) admin.listOffsets(tablePath, buckets, offsetSpec)
+      else admin.listOffsets(tablePath, partitionName, buckets, offsetSpec)
+    result
+      .all()
+      .get()
+      .asScala
+      .map { case (bucket, offset) => (bucket.intValue(), offset.longValue()) }
+      .toMap
+  }
+
+  /**
+   * Returns the partitions which may contain the rows matching the filter, the partitions are
+   * pruned by the predicates of the filter which only reference the partition keys.
+   */
+  def prunePartitions(
+      tableInfo: TableInfo,
+      partitionInfos: util.List[PartitionInfo],
+      filter: Option[Predicate]): util.List[PartitionInfo] = {
+    val partitionKeys = tableInfo.getPartitionKeys
+    val fieldToPartitionKey =
+      tableInfo.getRowType.getFieldNames.asScala.map(partitionKeys.indexOf(_)).toArray
+    val partitionPredicates = filter
+      .map(
+        f =>
+          PredicateBuilder
+            .pickTransformFieldMapping(PredicateBuilder.splitAnd(f), fieldToPartitionKey))
+      .getOrElse(util.Collections.emptyList[Predicate]())
+    if (partitionPredicates.isEmpty) {
+      partitionInfos
+    } else {
+      val partitionPredicate = PredicateBuilder.and(partitionPredicates)
+      val partitionRowType = tableInfo.getRowType.project(partitionKeys)
+      partitionInfos.asScala.filter {
+        partitionInfo =>
+          // keep the partition if its values can't be converted to the partition key types
+          Try(partitionPredicate.test(toPartitionRow(partitionRowType, partitionInfo)))
+            .getOrElse(true)
+      }.asJava
     }
-    if (conn != null) {
-      conn.close()
+  }
+
+  /**
+   * Returns the primary key to lookup if the filter has equality predicates on all the primary key
+   * columns, in which case at most one row matches the filter.
+   */
+  def primaryKeyLookupKey(tableInfo: TableInfo, filter: Option[Predicate]): Option[GenericRow] = {
+    if (!tableInfo.hasPrimaryKey) {
+      return None
+    }
+    filter.flatMap {
+      f =>
+        val equalLiterals = PredicateBuilder
+          .splitAnd(f)
+          .asScala
+          .collect {
+            case leaf: LeafPredicate if leaf.function().isInstanceOf[Equal] =>
+              (leaf.fieldName(), leaf.literals().get(0))
+          }
+          .toMap
+        val primaryKeys = tableInfo.getPrimaryKeys.asScala
+        if (primaryKeys.forall(equalLiterals.contains)) {
+          Some(GenericRow.of(primaryKeys.map(equalLiterals): _*))
+        } else {
+          None
+        }
+    }
+  }
+
+  private def toPartitionRow(
+      partitionRowType: RowType,
+      partitionInfo: PartitionInfo): GenericRow = {
+    val partitionValues = partitionInfo.getResolvedPartitionSpec.getPartitionValues
+    val row = new GenericRow(partitionValues.size())
+    for (i <- 0 until partitionValues.size()) {
+      row.setField(
+        i,
+        TypeUtils.castFromString(partitionValues.get(i), partitionRowType.getTypeAt(i)))
     }
+    row
   }
 }
 
@@ -72,12 +179,29 @@ class FlussAppendBatch(
     tablePath: TablePath,
     tableInfo: TableInfo,
     readSchema: StructType,
+    filter: Option[Predicate],
+    limit: Option[Int],
     options: CaseInsensitiveStringMap,
     flussConfig: Configuration)
-  extends FlussBatch(tablePath, tableInfo, readSchema, flussConfig) {
+  extends FlussBatch(tablePath, tableInfo, readSchema, filter, flussConfig) {
 
   override def planInputPartitions(): Array[InputPartition] = {
-    def createPartitions(partitionId: Option[Long]): Array[InputPartition] = {
+    // the offset ranges are fixed at planning, so the readers know where the splits end
+    def createPartitions(
+        partitionId: Option[Long],
+        partitionName: String): Array[InputPartition] = {
+      val startOffsets = FlussBatch.listOffsets(
+        admin,
+        tablePath,
+        tableInfo,
+        partitionName,
+        new OffsetSpec.EarliestSpec)
+      val stopOffsets = FlussBatch.listOffsets(
+        admin,
+        tablePath,
+        tableInfo,
+        partitionName,
+        new OffsetSpec.LatestSpec)
       (0 until tableInfo.getNumBuckets).map {
         bucketId =>
           val tableBucket = partitionId match {
@@ -86,21 +210,44 @@ class FlussAppendBatch(
             case None =>
               new TableBucket(tableInfo.getTableId, bucketId)
           }
-          FlussAppendInputPartition(tableBucket).asInstanceOf[InputPartition]
+          FlussAppendInputPartition(tableBucket, startOffsets(bucketId), stopOffsets(bucketId))
+            .asInstanceOf[InputPartition]
       }.toArray
     }
 
     if (tableInfo.isPartitioned) {
       partitionInfos.asScala.flatMap {
-        partitionInfo => createPartitions(Some(partitionInfo.getPartitionId))
+        partitionInfo =>
+          createPartitions(Some(partitionInfo.getPartitionId), partitionInfo.getPartitionName)
       }.toArray
     } else {
-      createPartitions(None)
+      createPartitions(None, null)
     }
   }
 
   override def createReaderFactory(): PartitionReaderFactory = {
-    new FlussAppendPartitionReaderFactory(tablePath, projection, options, flussConfig)
+    new FlussAppendPartitionReaderFactory(
+      tablePath,
+      projection,
+      filter,
+      limit,
+      columnarReads,
+      options,
+      flussConfig)
+  }
+
+  /**
+   * Whether to read the Arrow batches of the log as Spark columnar batches, which is not supported
+   * for the limit read as it reads rows from the server directly.
+   */
+  private def columnarReads: Boolean = {
+    limit.isEmpty &&
+    tableInfo.getTableConfig.getLogFormat == LogFormat.ARROW &&
+    tableInfo.getRowType
+      .project(projection)
+      .getChildren
+      .asScala
+      .forall(FlussAsSparkColumnVector.isSupported)
   }
 
 }
@@ -110,14 +257,22 @@ class FlussUpsertBatch(
     tablePath: TablePath,
     tableInfo: TableInfo,
     readSchema: StructType,
+    filter: Option[Predicate],
+    limit: Option[Int],
     options: CaseInsensitiveStringMap,
     flussConfig: Configuration)
-  extends FlussBatch(tablePath, tableInfo, readSchema, flussConfig) {
+  extends FlussBatch(tablePath, tableInfo, readSchema, filter, flussConfig) {
 
   private val latestOffsetsInitializer = OffsetsInitializer.latest()
   private val bucketOffsetsRetriever = new BucketOffsetsRetrieverImpl(admin, tablePath)
 
   override def planInputPartitions(): Array[InputPartition] = {
+    // the filter on all primary key columns matches at most one row, which is looked up directly
+    FlussBatch.primaryKeyLookupKey(tableInfo, filter) match {
+      case Some(lookupKey) => return Array(FlussLookupInputPartition(lookupKey))
+      case None =>
+    }
+
     def createPartitions(partitionName: String, kvSnapshots: KvSnapshots): Array[InputPartition] = {
       val tableId = kvSnapshots.getTableId
       val partitionId = kvSnapshots.getPartitionId
@@ -172,6 +327,39 @@ class FlussUpsertBatch(
   }
 
   override def createReaderFactory(): PartitionReaderFactory = {
-    new FlussUpsertPartitionReaderFactory(tablePath, projection, options, flussConfig)
+    new FlussUpsertPartitionReaderFactory(tablePath, projection, limit, options, flussConfig)
+  }
+}
+
+/** Batch for reading the partial aggregates of the buckets of a table. */
+class FlussAggregateBatch(
+    tablePath: TablePath,
+    tableInfo: TableInfo,
+    aggregation: FlussAggregation,
+    flussConfig: Configuration)
+  extends FlussBatch(tablePath, tableInfo, new StructType(), None, flussConfig) {
+
+  override def planInputPartitions(): Array[InputPartition] = {
+    val partitionIds: Seq[Option[Long]] =
+      if (tableInfo.isPartitioned) {
+        partitionInfos.asScala.map(partitionInfo => Some(partitionInfo.getPartitionId))
+      } else {
+        Seq(None)
+      }
+    partitionIds.flatMap {
+      partitionId =>
+        (0 until tableInfo.getNumBuckets).map {
+          bucketId =>
+            val tableBucket = partitionId match {
+              case Some(partitionId) => new TableBucket(tableInfo.getTableId, partitionId, bucketId)
+              case None => new TableBucket(tableInfo.getTableId, bucketId)
+            }
+            FlussAggregateInputPartition(tableBucket).asInstanceOf[InputPartition]
+        }
+    }.toArray
+  }
+
+  override def createReaderFactory(): PartitionReaderFactory = {
+    new FlussAggregatePartitionReaderFactory(tablePath, aggregation, flussConfig)
   }
 }
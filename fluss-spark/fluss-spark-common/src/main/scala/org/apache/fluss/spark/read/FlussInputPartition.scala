@@ -18,6 +18,7 @@
 package org.apache.fluss.spark.read
 
 import org.apache.fluss.metadata.TableBucket
+import org.apache.fluss.row.GenericRow
 
 import org.apache.spark.sql.connector.read.InputPartition
 
@@ -35,8 +36,32 @@ trait FlussInputPartition extends InputPartition {
  *
  * @param tableBucket
  *   the table bucket to read from
+ * @param startOffset
+ *   the log offset to start reading from (inclusive), which is the earliest offset of the bucket
+ *   when planning the scan
+ * @param stopOffset
+ *   the log offset to stop reading at (exclusive), which is the latest offset of the bucket when
+ *   planning the scan
  */
-case class FlussAppendInputPartition(tableBucket: TableBucket) extends FlussInputPartition
+case class FlussAppendInputPartition(tableBucket: TableBucket, startOffset: Long, stopOffset: Long)
+  extends FlussInputPartition
+
+/**
+ * Represents an input partition for reading a log offset range of a micro-batch from a Fluss table
+ * bucket.
+ *
+ * @param tableBucket
+ *   the table bucket to read from
+ * @param startOffset
+ *   the log offset to start reading from (inclusive)
+ * @param stopOffset
+ *   the log offset to stop reading at (exclusive)
+ */
+case class FlussAppendStreamInputPartition(
+    tableBucket: TableBucket,
+    startOffset: Long,
+    stopOffset: Long)
+  extends FlussInputPartition
 
 /**
  * Represents an input partition for reading data from a primary key table bucket. This partition
@@ -57,3 +82,20 @@ case class FlussUpsertInputPartition(
     logStartingOffset: Long,
     logStoppingOffset: Long)
   extends FlussInputPartition
+
+/**
+ * Represents an input partition for looking up a single row from a primary key table by the primary
+ * key.
+ *
+ * @param lookupKey
+ *   the primary key to lookup, in the order of the primary key columns
+ */
+case class FlussLookupInputPartition(lookupKey: GenericRow) extends FlussInputPartition
+
+/**
+ * Represents an input partition for reading the partial aggregates of a Fluss table bucket.
+ *
+ * @param tableBucket
+ *   the table bucket to aggregate
+ */
+case class FlussAggregateInputPartition(tableBucket: TableBucket) extends FlussInputPartition
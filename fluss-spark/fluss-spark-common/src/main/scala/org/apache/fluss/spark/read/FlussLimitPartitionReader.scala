@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.spark.read
+
+import org.apache.fluss.client.table.scanner.batch.BatchScanner
+import org.apache.fluss.config.Configuration
+import org.apache.fluss.metadata.{TableBucket, TablePath}
+
+import java.util
+
+/**
+ * Partition reader that reads at most limit rows from a single Fluss table bucket, the limit is
+ * pushed down to the server which returns the rows directly.
+ */
+class FlussLimitPartitionReader(
+    tablePath: TablePath,
+    projection: Array[Int],
+    tableBucket: TableBucket,
+    limit: Int,
+    flussConfig: Configuration)
+  extends FlussPartitionReader(tablePath, flussConfig) {
+
+  private val limitScanner: BatchScanner =
+    table.newScan().project(projection).limit(limit).createBatchScanner(tableBucket)
+  private var limitIterator: util.Iterator[org.apache.fluss.row.InternalRow] = _
+
+  override def next(): Boolean = {
+    if (closed) {
+      return false
+    }
+
+    while (limitIterator == null || !limitIterator.hasNext) {
+      val batch = limitScanner.pollBatch(POLL_TIMEOUT)
+      if (batch == null) {
+        // No more data fetched.
+        return false
+      }
+      limitIterator = batch
+    }
+    currentRow = convertToSparkRow(limitIterator.next())
+    true
+  }
+
+  override def close0(): Unit = {
+    if (limitScanner != null) {
+      limitScanner.close()
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.spark.read
+
+import org.apache.fluss.config.Configuration
+import org.apache.fluss.metadata.TablePath
+import org.apache.fluss.row.ProjectedRow
+
+import java.util
+
+/** Partition reader that looks up a single row from a primary key table by the primary key. */
+class FlussLookupPartitionReader(
+    tablePath: TablePath,
+    projection: Array[Int],
+    flussPartition: FlussLookupInputPartition,
+    flussConfig: Configuration)
+  extends FlussPartitionReader(tablePath, flussConfig) {
+
+  private lazy val lookupRows: util.Iterator[org.apache.fluss.row.InternalRow] =
+    table
+      .newLookup()
+      .createLookuper()
+      .lookup(flussPartition.lookupKey)
+      .get()
+      .getRowList
+      .iterator()
+
+  override def next(): Boolean = {
+    if (closed || !lookupRows.hasNext) {
+      return false
+    }
+    currentRow = convertToSparkRow(ProjectedRow.from(projection).replaceRow(lookupRows.next()))
+    true
+  }
+
+  override def close0(): Unit = {}
+}
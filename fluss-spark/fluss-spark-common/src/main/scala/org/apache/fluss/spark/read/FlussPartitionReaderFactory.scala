@@ -19,45 +19,116 @@ package org.apache.fluss.spark.read
 
 import org.apache.fluss.config.Configuration
 import org.apache.fluss.metadata.TablePath
+import org.apache.fluss.predicate.Predicate
 
 import org.apache.spark.sql.catalyst.InternalRow
 import org.apache.spark.sql.connector.read.{InputPartition, PartitionReader, PartitionReaderFactory}
 import org.apache.spark.sql.util.CaseInsensitiveStringMap
+import org.apache.spark.sql.vectorized.ColumnarBatch
 
 /** Factory for creating partition readers to read data from Fluss. */
 class FlussAppendPartitionReaderFactory(
     tablePath: TablePath,
     projection: Array[Int],
+    filter: Option[Predicate],
+    limit: Option[Int],
+    columnarReads: Boolean,
     options: CaseInsensitiveStringMap,
     flussConfig: Configuration)
   extends PartitionReaderFactory {
 
   override def createReader(partition: InputPartition): PartitionReader[InternalRow] = {
     val flussPartition = partition.asInstanceOf[FlussAppendInputPartition]
-    new FlussAppendPartitionReader(
+    limit match {
+      case Some(limit) =>
+        new FlussLimitPartitionReader(
+          tablePath,
+          projection,
+          flussPartition.tableBucket,
+          limit,
+          flussConfig)
+      case None =>
+        new FlussAppendPartitionReader(
+          tablePath,
+          projection,
+          filter,
+          flussPartition,
+          flussConfig
+        )
+    }
+  }
+
+  override def supportColumnarReads(partition: InputPartition): Boolean = columnarReads
+
+  override def createColumnarReader(partition: InputPartition): PartitionReader[ColumnarBatch] = {
+    val flussPartition = partition.asInstanceOf[FlussAppendInputPartition]
+    new FlussAppendColumnarPartitionReader(
       tablePath,
       projection,
+      filter,
       flussPartition,
       flussConfig
     )
   }
 }
 
+/** Factory for creating partition readers to read the micro-batches of a Fluss log table. */
+class FlussAppendStreamPartitionReaderFactory(
+    tablePath: TablePath,
+    projection: Array[Int],
+    flussConfig: Configuration)
+  extends PartitionReaderFactory {
+
+  override def createReader(partition: InputPartition): PartitionReader[InternalRow] = {
+    val streamPartition = partition.asInstanceOf[FlussAppendStreamInputPartition]
+    new FlussAppendStreamPartitionReader(tablePath, projection, streamPartition, flussConfig)
+  }
+}
+
 /** Factory for creating partition readers to read primary key table data from Fluss. */
 class FlussUpsertPartitionReaderFactory(
     tablePath: TablePath,
     projection: Array[Int],
+    limit: Option[Int],
     options: CaseInsensitiveStringMap,
     flussConfig: Configuration)
   extends PartitionReaderFactory {
 
   override def createReader(partition: InputPartition): PartitionReader[InternalRow] = {
-    val upsertPartition = partition.asInstanceOf[FlussUpsertInputPartition]
-    new FlussUpsertPartitionReader(
+    partition match {
+      case lookupPartition: FlussLookupInputPartition =>
+        new FlussLookupPartitionReader(tablePath, projection, lookupPartition, flussConfig)
+      case upsertPartition: FlussUpsertInputPartition if limit.isDefined =>
+        new FlussLimitPartitionReader(
+          tablePath,
+          projection,
+          upsertPartition.tableBucket,
+          limit.get,
+          flussConfig)
+      case upsertPartition: FlussUpsertInputPartition =>
+        new FlussUpsertPartitionReader(
+          tablePath,
+          projection,
+          upsertPartition,
+          flussConfig
+        )
+    }
+  }
+}
+
+/** Factory for creating partition readers to read the partial aggregates of Fluss buckets. */
+class FlussAggregatePartitionReaderFactory(
+    tablePath: TablePath,
+    aggregation: FlussAggregation,
+    flussConfig: Configuration)
+  extends PartitionReaderFactory {
+
+  override def createReader(partition: InputPartition): PartitionReader[InternalRow] = {
+    val aggregatePartition = partition.asInstanceOf[FlussAggregateInputPartition]
+    new FlussAggregatePartitionReader(
       tablePath,
-      projection,
-      upsertPartition,
-      flussConfig
-    )
+      aggregation,
+      aggregatePartition.tableBucket,
+      flussConfig)
   }
 }
@@ -17,23 +17,57 @@
 
 package org.apache.fluss.spark.read
 
+import org.apache.fluss.aggregate.GroupAggregator
+import org.apache.fluss.client.ConnectionFactory
+import org.apache.fluss.client.admin.OffsetSpec
 import org.apache.fluss.config.Configuration
 import org.apache.fluss.metadata.{TableInfo, TablePath}
+import org.apache.fluss.predicate.Predicate
 import org.apache.fluss.spark.SparkConversions
 
-import org.apache.spark.sql.connector.read.{Batch, Scan}
+import org.apache.spark.sql.connector.read.{Batch, Scan, Statistics, SupportsReportStatistics}
+import org.apache.spark.sql.connector.read.streaming.MicroBatchStream
 import org.apache.spark.sql.types.StructType
 import org.apache.spark.sql.util.CaseInsensitiveStringMap
 
+import java.util.OptionalLong
+
+import scala.collection.JavaConverters._
+import scala.util.Try
+
 /** An interface that extends from Spark [[Scan]]. */
-trait FlussScan extends Scan {
+trait FlussScan extends Scan with SupportsReportStatistics {
+  def tablePath: TablePath
+
   def tableInfo: TableInfo
 
   def requiredSchema: Option[StructType]
 
+  /** The filter pushed down to Fluss, see [[FlussScanBuilder]]. */
+  def filter: Option[Predicate]
+
+  /** The limit of rows to read from each bucket. */
+  def limit: Option[Int]
+
+  def flussConfig: Configuration
+
   override def readSchema(): StructType = {
     requiredSchema.getOrElse(SparkConversions.toSparkDataType(tableInfo.getRowType))
   }
+
+  override def estimateStatistics(): Statistics = {
+    val numRows = estimateNumRows().map(rows => limit.fold(rows)(l => math.min(rows, l.toLong)))
+    FlussStatistics(numRows.map(_ * readSchema().defaultSize), numRows)
+  }
+
+  override def description(): String = {
+    s"${getClass.getSimpleName} [table=$tablePath" +
+      filter.map(f => s", filter=$f").getOrElse("") +
+      limit.map(l => s", limit=$l").getOrElse("") + "]"
+  }
+
+  /** Estimates the number of rows to read, none if it can't be estimated cheaply. */
+  protected def estimateNumRows(): Option[Long]
 }
 
 /** Fluss Append Scan. */
@@ -41,12 +75,62 @@ case class FlussAppendScan(
     tablePath: TablePath,
     tableInfo: TableInfo,
     requiredSchema: Option[StructType],
+    filter: Option[Predicate],
+    limit: Option[Int],
     options: CaseInsensitiveStringMap,
     flussConfig: Configuration)
   extends FlussScan {
 
   override def toBatch: Batch = {
-    new FlussAppendBatch(tablePath, tableInfo, readSchema, options, flussConfig)
+    new FlussAppendBatch(tablePath, tableInfo, readSchema, filter, limit, options, flussConfig)
+  }
+
+  override def toMicroBatchStream(checkpointLocation: String): MicroBatchStream = {
+    new FlussAppendMicroBatchStream(
+      tablePath,
+      tableInfo,
+      FlussBatch.projection(tableInfo, readSchema),
+      options,
+      flussConfig)
+  }
+
+  /** The number of rows of a log table is the total size of the logs of the read buckets. */
+  override protected def estimateNumRows(): Option[Long] = {
+    // the statistics are only used for planning, so fallback to the default on failures
+    Try {
+      val conn = ConnectionFactory.createConnection(flussConfig)
+      try {
+        val admin = conn.getAdmin
+        try {
+          val partitionNames: Seq[String] =
+            if (tableInfo.isPartitioned) {
+              FlussBatch
+                .prunePartitions(tableInfo, admin.listPartitionInfos(tablePath).get(), filter)
+                .asScala
+                .map(_.getPartitionName)
+            } else {
+              Seq(null)
+            }
+          partitionNames.map {
+            partitionName =>
+              val latest = FlussBatch
+                .listOffsets(admin, tablePath, tableInfo, partitionName, new OffsetSpec.LatestSpec)
+              val earliest = FlussBatch
+                .listOffsets(
+                  admin,
+                  tablePath,
+                  tableInfo,
+                  partitionName,
+                  new OffsetSpec.EarliestSpec)
+              latest.map { case (bucket, offset) => offset - earliest.getOrElse(bucket, 0L) }.sum
+          }.sum
+        } finally {
+          admin.close()
+        }
+      } finally {
+        conn.close()
+      }
+    }.toOption
   }
 }
 
@@ -55,11 +139,68 @@ case class FlussUpsertScan(
     tablePath: TablePath,
     tableInfo: TableInfo,
     requiredSchema: Option[StructType],
+    filter: Option[Predicate],
+    limit: Option[Int],
     options: CaseInsensitiveStringMap,
     flussConfig: Configuration)
   extends FlussScan {
 
   override def toBatch: Batch = {
-    new FlussUpsertBatch(tablePath, tableInfo, readSchema, options, flussConfig)
+    new FlussUpsertBatch(tablePath, tableInfo, readSchema, filter, limit, options, flussConfig)
+  }
+
+  override def toMicroBatchStream(checkpointLocation: String): MicroBatchStream = {
+    throw new UnsupportedOperationException(
+      s"Streaming read of primary key table $tablePath is not supported yet.")
+  }
+
+  /**
+   * The number of rows of a primary key table is only known when looking up by primary key, as the
+   * changelog size is not related to the number of rows.
+   */
+  override protected def estimateNumRows(): Option[Long] = {
+    FlussBatch.primaryKeyLookupKey(tableInfo, filter).map(_ => 1L)
+  }
+}
+
+/**
+ * Fluss Aggregate Scan, which reads the partial aggregates of the buckets evaluated by the tablet
+ * servers, and the partial aggregates are merged by Spark. The read schema is the group by columns
+ * followed by the aggregate results.
+ */
+case class FlussAggregateScan(
+    tablePath: TablePath,
+    tableInfo: TableInfo,
+    aggregation: FlussAggregation,
+    flussConfig: Configuration)
+  extends Scan {
+
+  override def readSchema(): StructType = {
+    val aggregator =
+      new GroupAggregator(tableInfo.getRowType, aggregation.groupBy, aggregation.aggregateCalls)
+    SparkConversions.toSparkDataType(aggregator.getResultType)
+  }
+
+  override def toBatch: Batch = {
+    new FlussAggregateBatch(tablePath, tableInfo, aggregation, flussConfig)
+  }
+
+  override def description(): String = {
+    s"${getClass.getSimpleName} [table=$tablePath" +
+      s", groupBy=${aggregation.groupBy.mkString("[", ", ", "]")}" +
+      s", aggregates=${aggregation.aggregateCalls}]"
+  }
+}
+
+/** The [[Statistics]] of a Fluss scan, the unknown statistics are none. */
+case class FlussStatistics(sizeInBytesOpt: Option[Long], numRowsOpt: Option[Long])
+  extends Statistics {
+
+  override def sizeInBytes(): OptionalLong = toOptionalLong(sizeInBytesOpt)
+
+  override def numRows(): OptionalLong = toOptionalLong(numRowsOpt)
+
+  private def toOptionalLong(value: Option[Long]): OptionalLong = {
+    value.map(OptionalLong.of).getOrElse(OptionalLong.empty())
   }
 }
@@ -19,43 +19,111 @@ package org.apache.fluss.spark.read
 
 import org.apache.fluss.config.{Configuration => FlussConfiguration}
 import org.apache.fluss.metadata.{TableInfo, TablePath}
+import org.apache.fluss.predicate.{Predicate, PredicateBuilder}
 
-import org.apache.spark.sql.connector.read.{Scan, ScanBuilder, SupportsPushDownRequiredColumns}
+import org.apache.spark.sql.connector.expressions.aggregate.Aggregation
+import org.apache.spark.sql.connector.expressions.filter.{Predicate => SparkPredicate}
+import org.apache.spark.sql.connector.read.{Scan, ScanBuilder, SupportsPushDownAggregates, SupportsPushDownLimit, SupportsPushDownRequiredColumns, SupportsPushDownV2Filters}
 import org.apache.spark.sql.types.StructType
 import org.apache.spark.sql.util.CaseInsensitiveStringMap
 
+import scala.collection.JavaConverters._
+
 /** An interface that extends from Spark [[ScanBuilder]]. */
-trait FlussScanBuilder extends ScanBuilder with SupportsPushDownRequiredColumns {
+trait FlussScanBuilder
+  extends ScanBuilder
+  with SupportsPushDownRequiredColumns
+  with SupportsPushDownV2Filters
+  with SupportsPushDownLimit
+  with SupportsPushDownAggregates {
 
   protected var requiredSchema: Option[StructType] = _
 
+  /** The Spark predicates that are converted to the Fluss filter. */
+  protected var acceptedPredicates: Array[SparkPredicate] = Array.empty
+
+  /** The filter pushed down to Fluss, which is the conjunction of the accepted predicates. */
+  protected var filter: Option[Predicate] = None
+
+  protected var limit: Option[Int] = None
+
+  /** The aggregation pushed down to Fluss, the scan reads the partial aggregates of the buckets. */
+  protected var aggregation: Option[FlussAggregation] = None
+
+  def tableInfo: TableInfo
+
   override def pruneColumns(requiredSchema: StructType): Unit = {
     this.requiredSchema = Some(requiredSchema)
   }
+
+  override def pushPredicates(predicates: Array[SparkPredicate]): Array[SparkPredicate] = {
+    val converted = predicates.flatMap {
+      predicate =>
+        SparkPredicateConverter.convert(tableInfo.getRowType, predicate).map((predicate, _))
+    }
+    acceptedPredicates = converted.map(_._1)
+    filter =
+      if (converted.isEmpty) None
+      else Some(PredicateBuilder.and(converted.map(_._2).toList.asJava))
+    // The filter is used to prune partitions, lookup by primary key and skip log batches, which
+    // doesn't filter out all the unmatched rows, so all the predicates are evaluated by Spark again.
+    predicates
+  }
+
+  override def pushedPredicates(): Array[SparkPredicate] = acceptedPredicates
+
+  override def pushLimit(limit: Int): Boolean = {
+    if (aggregation.isDefined) {
+      return false
+    }
+    this.limit = Some(limit)
+    true
+  }
+
+  // Each bucket reads at most limit rows, so Spark still needs to apply the limit on the union.
+  override def isPartiallyPushed: Boolean = true
+
+  // Each bucket is aggregated separately, so Spark still needs to merge the partial aggregates.
+  override def supportCompletePushDown(aggregation: Aggregation): Boolean = false
+
+  override def pushAggregation(aggregation: Aggregation): Boolean = {
+    // the pushed down aggregation is evaluated over all the rows of the table
+    if (acceptedPredicates.nonEmpty || limit.isDefined) {
+      return false
+    }
+    this.aggregation = SparkAggregateConverter.convert(tableInfo.getRowType, aggregation)
+    this.aggregation.isDefined
+  }
 }
 
 /** Fluss Append Scan Builder. */
 class FlussAppendScanBuilder(
     tablePath: TablePath,
-    tableInfo: TableInfo,
+    val tableInfo: TableInfo,
     options: CaseInsensitiveStringMap,
     flussConfig: FlussConfiguration)
   extends FlussScanBuilder {
 
   override def build(): Scan = {
-    FlussAppendScan(tablePath, tableInfo, requiredSchema, options, flussConfig)
+    if (aggregation.isDefined) {
+      return FlussAggregateScan(tablePath, tableInfo, aggregation.get, flussConfig)
+    }
+    FlussAppendScan(tablePath, tableInfo, requiredSchema, filter, limit, options, flussConfig)
   }
 }
 
 /** Fluss Upsert Scan Builder. */
 class FlussUpsertScanBuilder(
     tablePath: TablePath,
-    tableInfo: TableInfo,
+    val tableInfo: TableInfo,
     options: CaseInsensitiveStringMap,
     flussConfig: FlussConfiguration)
   extends FlussScanBuilder {
 
   override def build(): Scan = {
-    FlussUpsertScan(tablePath, tableInfo, requiredSchema, options, flussConfig)
+    if (aggregation.isDefined) {
+      return FlussAggregateScan(tablePath, tableInfo, aggregation.get, flussConfig)
+    }
+    FlussUpsertScan(tablePath, tableInfo, requiredSchema, filter, limit, options, flussConfig)
   }
 }
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.spark.read
+
+import org.apache.fluss.metadata.TableBucket
+
+import org.apache.spark.sql.connector.read.streaming.Offset
+import org.json4s.{DefaultFormats, Formats}
+import org.json4s.jackson.Serialization
+
+/**
+ * The [[Offset]] of the streaming read of a Fluss log table, which is the next log offset to read
+ * of each bucket.
+ */
+case class FlussSourceOffset(tableId: Long, bucketOffsets: Map[TableBucket, Long]) extends Offset {
+
+  override def json(): String = {
+    val buckets = bucketOffsets.toSeq.map {
+      case (tableBucket, offset) =>
+        FlussSourceOffset.BucketOffset(
+          Option(tableBucket.getPartitionId).map(_.longValue()),
+          tableBucket.getBucket,
+          offset)
+    }
+    Serialization.write(FlussSourceOffset.SerializedOffset(tableId, buckets.toList))(
+      FlussSourceOffset.formats)
+  }
+}
+
+object FlussSourceOffset {
+
+  implicit private val formats: Formats = DefaultFormats
+
+  case class BucketOffset(partitionId: Option[Long], bucket: Int, offset: Long)
+
+  case class SerializedOffset(tableId: Long, buckets: List[BucketOffset])
+
+  def fromJson(json: String): FlussSourceOffset = {
+    val serialized = Serialization.read[SerializedOffset](json)
+    val bucketOffsets = serialized.buckets.map {
+      bucketOffset =>
+        val tableBucket = bucketOffset.partitionId match {
+          case Some(partitionId) =>
+            new TableBucket(serialized.tableId, partitionId, bucketOffset.bucket)
+          case None => new TableBucket(serialized.tableId, bucketOffset.bucket)
+        }
+        (tableBucket, bucketOffset.offset)
+    }.toMap
+    FlussSourceOffset(serialized.tableId, bucketOffsets)
+  }
+}
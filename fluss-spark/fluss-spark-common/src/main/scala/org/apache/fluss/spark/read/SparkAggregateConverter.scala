@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.spark.read
+
+import org.apache.fluss.aggregate.{AggregateCall, GroupAggregator}
+import org.apache.fluss.types.RowType
+
+import org.apache.spark.sql.connector.expressions.{Expression, NamedReference}
+import org.apache.spark.sql.connector.expressions.aggregate.{AggregateFunc, Aggregation, Count, CountStar, Max, Min, Sum}
+
+import java.util
+
+/**
+ * The aggregation pushed down to Fluss, which is evaluated by the tablet servers for each bucket.
+ *
+ * @param groupBy
+ *   the indexes of the group by columns in the table schema
+ * @param aggregateCalls
+ *   the aggregate calls on the columns of the table schema
+ */
+case class FlussAggregation(groupBy: Array[Int], aggregateCalls: util.List[AggregateCall])
+
+/**
+ * Converts Spark data source V2 [[Aggregation]]s to [[FlussAggregation]]s on the given row type.
+ *
+ * Only the non-distinct COUNT/SUM/MIN/MAX of columns grouped by columns are converted, the others
+ * can't be pushed down to Fluss and are evaluated by Spark.
+ */
+object SparkAggregateConverter {
+
+  def convert(rowType: RowType, aggregation: Aggregation): Option[FlussAggregation] = {
+    val groupBy = aggregation.groupByExpressions().map(toColumn(rowType, _))
+    if (
+      groupBy.exists(
+        column =>
+          column.isEmpty || !GroupAggregator.supportsGrouping(rowType.getTypeAt(column.get)))
+    ) {
+      return None
+    }
+    val calls = aggregation.aggregateExpressions().map(toAggregateCall(rowType, _))
+    if (calls.exists(call => call.isEmpty || !call.get.isSupported(rowType))) {
+      return None
+    }
+    val aggregateCalls = new util.ArrayList[AggregateCall]()
+    calls.foreach(call => aggregateCalls.add(call.get))
+    Some(FlussAggregation(groupBy.map(_.get), aggregateCalls))
+  }
+
+  private def toAggregateCall(rowType: RowType, func: AggregateFunc): Option[AggregateCall] = {
+    func match {
+      case _: CountStar => Some(AggregateCall.countStar())
+      case count: Count if !count.isDistinct =>
+        toColumn(rowType, count.column()).map(AggregateCall.count)
+      case sum: Sum if !sum.isDistinct => toColumn(rowType, sum.column()).map(AggregateCall.sum)
+      case min: Min => toColumn(rowType, min.column()).map(AggregateCall.min)
+      case max: Max => toColumn(rowType, max.column()).map(AggregateCall.max)
+      case _ => None
+    }
+  }
+
+  /** Returns the index of the column referenced by the expression, none if not a column. */
+  private def toColumn(rowType: RowType, expression: Expression): Option[Int] = {
+    expression match {
+      case ref: NamedReference if ref.fieldNames().length == 1 =>
+        Some(rowType.getFieldIndex(ref.fieldNames()(0))).filter(_ >= 0)
+      case _ => None
+    }
+  }
+}
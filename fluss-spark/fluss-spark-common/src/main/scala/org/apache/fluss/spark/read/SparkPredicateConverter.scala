@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.spark.read
+
+import org.apache.fluss.predicate.{Predicate, PredicateBuilder}
+import org.apache.fluss.row.{BinaryString, Decimal, TimestampLtz, TimestampNtz}
+import org.apache.fluss.types.{DataType => FlussDataType, DecimalType, RowType}
+import org.apache.fluss.types.DataTypeRoot._
+
+import org.apache.spark.sql.connector.expressions.{Expression, Literal, NamedReference}
+import org.apache.spark.sql.connector.expressions.filter.{Predicate => SparkPredicate}
+import org.apache.spark.sql.types.{Decimal => SparkDecimal}
+import org.apache.spark.unsafe.types.UTF8String
+
+import scala.collection.JavaConverters._
+
+/**
+ * Converts Spark data source V2 predicates to Fluss [[Predicate]]s on the given row type.
+ *
+ * Only the predicates comparing a single column with non-null literals of the same type (and AND/OR
+ * of them) are converted, the others can't be pushed down to Fluss and are left to Spark.
+ */
+object SparkPredicateConverter {
+
+  def convert(rowType: RowType, predicate: SparkPredicate): Option[Predicate] = {
+    new SparkPredicateConverter(rowType).convert(predicate)
+  }
+
+  /** Converts the Spark literal value to the Fluss internal data structure of the given type. */
+  def toFlussLiteral(dataType: FlussDataType, value: Any): Option[AnyRef] = {
+    (dataType.getTypeRoot, value) match {
+      case (CHAR | STRING, s: UTF8String) => Some(BinaryString.fromString(s.toString))
+      case (BOOLEAN, b: Boolean) => Some(Boolean.box(b))
+      case (TINYINT, b: Byte) => Some(Byte.box(b))
+      case (SMALLINT, s: Short) => Some(Short.box(s))
+      case (INTEGER | DATE | TIME_WITHOUT_TIME_ZONE, i: Int) => Some(Int.box(i))
+      case (BIGINT, l: Long) => Some(Long.box(l))
+      case (FLOAT, f: Float) => Some(Float.box(f))
+      case (DOUBLE, d: Double) => Some(Double.box(d))
+      case (BINARY | BYTES, bytes: Array[Byte]) => Some(bytes)
+      case (DECIMAL, d: SparkDecimal) =>
+        val decimalType = dataType.asInstanceOf[DecimalType]
+        // a literal with a larger scale would be rounded and change the result of the comparison
+        if (d.scale > decimalType.getScale) {
+          None
+        } else {
+          Option(
+            Decimal
+              .fromBigDecimal(d.toJavaBigDecimal, decimalType.getPrecision, decimalType.getScale))
+        }
+      case (TIMESTAMP_WITHOUT_TIME_ZONE, micros: Long) => Some(TimestampNtz.fromMicros(micros))
+      case (TIMESTAMP_WITH_LOCAL_TIME_ZONE, micros: Long) =>
+        Some(TimestampLtz.fromEpochMicros(micros))
+      case _ => None
+    }
+  }
+}
+
+private class SparkPredicateConverter(rowType: RowType) {
+
+  private val builder = new PredicateBuilder(rowType)
+
+  def convert(predicate: SparkPredicate): Option[Predicate] = {
+    val children = predicate.children()
+    predicate.name() match {
+      case "AND" =>
+        for {
+          left <- convertChild(children(0))
+          right <- convertChild(children(1))
+        } yield PredicateBuilder.and(left, right)
+      case "OR" =>
+        for {
+          left <- convertChild(children(0))
+          right <- convertChild(children(1))
+        } yield PredicateBuilder.or(left, right)
+      case "IS_NULL" =>
+        fieldIndex(children(0)).map(builder.isNull)
+      case "IS_NOT_NULL" =>
+        fieldIndex(children(0)).map(builder.isNotNull)
+      case "IN" =>
+        fieldIndex(children(0)).flatMap {
+          index =>
+            val literals = children.tail.map(literal(index, _))
+            if (literals.forall(_.isDefined)) {
+              Some(builder.in(index, literals.map(_.get).toList.asJava))
+            } else {
+              None
+            }
+        }
+      case "STARTS_WITH" | "ENDS_WITH" | "CONTAINS" =>
+        for {
+          index <- fieldIndex(children(0))
+          pattern <- literal(index, children(1))
+        } yield predicate.name() match {
+          case "STARTS_WITH" => builder.startsWith(index, pattern)
+          case "ENDS_WITH" => builder.endsWith(index, pattern)
+          case _ => builder.contains(index, pattern)
+        }
+      case name @ ("=" | "<>" | "<" | "<=" | ">" | ">=") =>
+        (fieldIndex(children(0)), fieldIndex(children(1))) match {
+          case (Some(index), None) =>
+            literal(index, children(1)).map(comparison(name, index, _))
+          case (None, Some(index)) =>
+            // the literal is on the left side, e.g. "1 < a", which equals to "a > 1"
+            literal(index, children(0)).map(comparison(flip(name), index, _))
+          case _ => None
+        }
+      case _ => None
+    }
+  }
+
+  private def convertChild(child: Expression): Option[Predicate] = child match {
+    case predicate: SparkPredicate => convert(predicate)
+    case _ => None
+  }
+
+  private def comparison(name: String, index: Int, literal: AnyRef): Predicate = name match {
+    case "=" => builder.equal(index, literal)
+    case "<>" => builder.notEqual(index, literal)
+    case "<" => builder.lessThan(index, literal)
+    case "<=" => builder.lessOrEqual(index, literal)
+    case ">" => builder.greaterThan(index, literal)
+    case ">=" => builder.greaterOrEqual(index, literal)
+  }
+
+  private def flip(name: String): String = name match {
+    case "<" => ">"
+    case "<=" => ">="
+    case ">" => "<"
+    case ">=" => "<="
+    case other => other
+  }
+
+  private def fieldIndex(expression: Expression): Option[Int] = expression match {
+    case reference: NamedReference if reference.fieldNames().length == 1 =>
+      val index = rowType.getFieldIndex(reference.fieldNames()(0))
+      if (index >= 0) Some(index) else None
+    case _ => None
+  }
+
+  private def literal(index: Int, expression: Expression): Option[AnyRef] = expression match {
+    case literal: Literal[_] if literal.value() != null =>
+      SparkPredicateConverter.toFlussLiteral(rowType.getTypeAt(index), literal.value())
+    case _ => None
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.fluss.spark.row
+
+import org.apache.fluss.row.columnar.{BooleanColumnVector, ByteColumnVector, BytesColumnVector, ColumnVector => FlussColumnVector, DecimalColumnVector, DoubleColumnVector, FloatColumnVector, IntColumnVector, LongColumnVector, ShortColumnVector, TimestampLtzColumnVector, TimestampNtzColumnVector}
+import org.apache.fluss.spark.types.FlussToSparkTypeVisitor
+import org.apache.fluss.types.{DataType => FlussDataType, LocalZonedTimestampType, TimestampType}
+import org.apache.fluss.types.DataTypeRoot._
+
+import org.apache.spark.sql.types.{Decimal => SparkDecimal}
+import org.apache.spark.sql.vectorized.{ColumnarArray, ColumnarMap, ColumnVector}
+import org.apache.spark.unsafe.types.UTF8String
+
+/**
+ * A Spark [[ColumnVector]] backed by a Fluss column vector of a columnar log batch. The memory of
+ * the vector is owned by the Fluss batch, so closing the vector does nothing.
+ */
+class FlussAsSparkColumnVector(flussType: FlussDataType, vector: FlussColumnVector, numRows: Int)
+  extends ColumnVector(flussType.accept(FlussToSparkTypeVisitor)) {
+
+  private lazy val nullCount: Int = (0 until numRows).count(vector.isNullAt)
+
+  override def close(): Unit = {}
+
+  override def hasNull: Boolean = numNulls() > 0
+
+  override def numNulls(): Int = nullCount
+
+  override def isNullAt(rowId: Int): Boolean = vector.isNullAt(rowId)
+
+  override def getBoolean(rowId: Int): Boolean =
+    vector.asInstanceOf[BooleanColumnVector].getBoolean(rowId)
+
+  override def getByte(rowId: Int): Byte = vector.asInstanceOf[ByteColumnVector].getByte(rowId)
+
+  override def getShort(rowId: Int): Short =
+    vector.asInstanceOf[ShortColumnVector].getShort(rowId)
+
+  override def getInt(rowId: Int): Int = vector.asInstanceOf[IntColumnVector].getInt(rowId)
+
+  override def getLong(rowId: Int): Long = {
+    flussType match {
+      case ltz: LocalZonedTimestampType =>
+        vector
+          .asInstanceOf[TimestampLtzColumnVector]
+          .getTimestampLtz(rowId, ltz.getPrecision)
+          .toEpochMicros
+      case ntz: TimestampType =>
+        vector
+          .asInstanceOf[TimestampNtzColumnVector]
+          .getTimestampNtz(rowId, ntz.getPrecision)
+          .toEpochMicros
+      case _ =>
+        vector.asInstanceOf[LongColumnVector].getLong(rowId)
+    }
+  }
+
+  override def getFloat(rowId: Int): Float = vector.asInstanceOf[FloatColumnVector].getFloat(rowId)
+
+  override def getDouble(rowId: Int): Double =
+    vector.asInstanceOf[DoubleColumnVector].getDouble(rowId)
+
+  override def getDecimal(rowId: Int, precision: Int, scale: Int): SparkDecimal = {
+    if (isNullAt(rowId)) {
+      return null
+    }
+    DataConverter.toSparkDecimal(
+      vector.asInstanceOf[DecimalColumnVector].getDecimal(rowId, precision, scale))
+  }
+
+  override def getUTF8String(rowId: Int): UTF8String = {
+    if (isNullAt(rowId)) {
+      return null
+    }
+    val bytes = vector.asInstanceOf[BytesColumnVector].getBytes(rowId)
+    UTF8String.fromBytes(bytes.data, bytes.offset, bytes.len)
+  }
+
+  override def getBinary(rowId: Int): Array[Byte] = {
+    if (isNullAt(rowId)) {
+      return null
+    }
+    vector.asInstanceOf[BytesColumnVector].getBytes(rowId).getBytes
+  }
+
+  override def getArray(rowId: Int): ColumnarArray = throw new UnsupportedOperationException()
+
+  override def getMap(ordinal: Int): ColumnarMap = throw new UnsupportedOperationException()
+
+  override def getChild(ordinal: Int): ColumnVector = throw new UnsupportedOperationException()
+}
+
+object FlussAsSparkColumnVector {
+
+  /** Returns whether the columns of the given type can be read as [[FlussAsSparkColumnVector]]. */
+  def isSupported(dataType: FlussDataType): Boolean = {
+    dataType.getTypeRoot match {
+      case BOOLEAN | TINYINT | SMALLINT | INTEGER | BIGINT | FLOAT | DOUBLE | DECIMAL | CHAR |
+          STRING | BINARY | BYTES | DATE | TIME_WITHOUT_TIME_ZONE | TIMESTAMP_WITHOUT_TIME_ZONE |
+          TIMESTAMP_WITH_LOCAL_TIME_ZONE =>
+        true
+      case _ => false
+    }
+  }
+}
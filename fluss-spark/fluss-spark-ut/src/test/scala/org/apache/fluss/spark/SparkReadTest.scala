@@ -339,4 +339,88 @@ class SparkReadTest extends FlussSparkTestBase {
       )
     }
   }
+
+  test("Spark Read: filter and limit pushdown") {
+    withTable("log_t", "pk_t") {
+      sql(s"""
+             |CREATE TABLE $DEFAULT_DATABASE.log_t (orderId BIGINT, amount INT, dt STRING)
+             |PARTITIONED BY (dt)
+             |""".stripMargin)
+      sql(s"""
+             |INSERT INTO $DEFAULT_DATABASE.log_t VALUES
+             |(600L, 601, "2026-01-01"), (700L, 602, "2026-01-01"),
+             |(800L, 603, "2026-01-02"), (900L, 604, "2026-01-03")
+             |""".stripMargin)
+
+      // the filter on the partition key prunes the partitions, the other one is applied by Spark
+      val filtered = sql(s"""
+                            |SELECT orderId FROM $DEFAULT_DATABASE.log_t
+                            |WHERE dt >= '2026-01-02' AND amount > 603""".stripMargin)
+      assert(filtered.queryExecution.executedPlan.toString().contains("filter="))
+      checkAnswer(filtered, Row(900L) :: Nil)
+
+      // each bucket reads at most limit rows, and Spark applies the limit on the union
+      assert(sql(s"SELECT * FROM $DEFAULT_DATABASE.log_t LIMIT 2").count() == 2)
+
+      sql(s"""
+             |CREATE TABLE $DEFAULT_DATABASE.pk_t (orderId BIGINT, itemId BIGINT, address STRING)
+             |TBLPROPERTIES("primary.key" = "orderId")
+             |""".stripMargin)
+      sql(s"""
+             |INSERT INTO $DEFAULT_DATABASE.pk_t VALUES
+             |(600L, 21L, "addr1"), (700L, 22L, "addr2"), (800L, 23L, "addr3")
+             |""".stripMargin)
+
+      // the equality filter on the primary key is a point lookup
+      checkAnswer(
+        sql(s"SELECT address, itemId FROM $DEFAULT_DATABASE.pk_t WHERE orderId = 700"),
+        Row("addr2", 22L) :: Nil)
+      checkAnswer(sql(s"SELECT * FROM $DEFAULT_DATABASE.pk_t WHERE orderId = 1000"), Nil)
+      assert(sql(s"SELECT * FROM $DEFAULT_DATABASE.pk_t LIMIT 2").count() == 2)
+    }
+  }
+
+  test("Spark Read: aggregate pushdown") {
+    withTable("log_t", "pk_t") {
+      sql(s"""
+             |CREATE TABLE $DEFAULT_DATABASE.log_t (orderId BIGINT, amount INT, dt STRING)
+             |PARTITIONED BY (dt)
+             |""".stripMargin)
+      sql(s"""
+             |INSERT INTO $DEFAULT_DATABASE.log_t VALUES
+             |(600L, 601, "2026-01-01"), (700L, 602, "2026-01-01"),
+             |(800L, 603, "2026-01-02"), (900L, 604, "2026-01-03")
+             |""".stripMargin)
+
+      // the buckets are aggregated by the tablet servers, and Spark merges the partial aggregates
+      val grouped = sql(s"""
+                           |SELECT dt, COUNT(*), SUM(amount), MIN(orderId), MAX(orderId)
+                           |FROM $DEFAULT_DATABASE.log_t GROUP BY dt""".stripMargin)
+      assert(grouped.queryExecution.executedPlan.toString().contains("FlussAggregateScan"))
+      checkAnswer(
+        grouped,
+        Row("2026-01-01", 2L, 1203L, 600L, 700L) ::
+          Row("2026-01-02", 1L, 603L, 800L, 800L) ::
+          Row("2026-01-03", 1L, 604L, 900L, 900L) :: Nil
+      )
+
+      sql(s"""
+             |CREATE TABLE $DEFAULT_DATABASE.pk_t (orderId BIGINT, itemId BIGINT, address STRING)
+             |TBLPROPERTIES("primary.key" = "orderId")
+             |""".stripMargin)
+      sql(s"""
+             |INSERT INTO $DEFAULT_DATABASE.pk_t VALUES
+             |(600L, 21L, "addr1"), (700L, 22L, "addr2"), (800L, 23L, "addr3")
+             |""".stripMargin)
+      sql(s"INSERT INTO $DEFAULT_DATABASE.pk_t VALUES (700L, 220L, 'addr2')")
+
+      checkAnswer(
+        sql(s"SELECT COUNT(*), SUM(itemId), AVG(itemId) FROM $DEFAULT_DATABASE.pk_t"),
+        Row(3L, 264L, 88.0) :: Nil)
+      // the aggregates with filters are evaluated by Spark
+      checkAnswer(
+        sql(s"SELECT COUNT(*) FROM $DEFAULT_DATABASE.pk_t WHERE itemId > 22"),
+        Row(2L) :: Nil)
+    }
+  }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.fluss.spark
 
+import org.apache.spark.sql.Row
 import org.apache.spark.sql.execution.streaming.MemoryStream
 import org.apache.spark.sql.streaming.StreamTest
 
@@ -132,4 +133,39 @@ class SparkStreamingTest extends FlussSparkTestBase with StreamTest {
       runTestWithStream("t", input1, input2, expect1, expect2)
     }
   }
+
+  test("read: read from log table") {
+    withTable("t") {
+      spark.sql(s"CREATE TABLE t (id bigint, data string)")
+      spark.sql(s"INSERT INTO t VALUES (1L, 'a'), (2L, 'b'), (3L, 'c')")
+
+      withTempDir {
+        checkpointDir =>
+          val query = spark.readStream
+            .option("scan.max-offsets-per-trigger", "2")
+            .table("t")
+            .writeStream
+            .format("memory")
+            .queryName("fluss_stream")
+            .option("checkpointLocation", checkpointDir.getAbsolutePath)
+            .start()
+          try {
+            query.processAllAvailable()
+            checkAnswer(
+              spark.sql("SELECT * FROM fluss_stream"),
+              Seq(Row(1L, "a"), Row(2L, "b"), Row(3L, "c")))
+            // the backlog is read in micro-batches of at most 2 offsets
+            assert(query.recentProgress.count(_.numInputRows > 0) >= 2)
+
+            spark.sql(s"INSERT INTO t VALUES (4L, 'd')")
+            query.processAllAvailable()
+            checkAnswer(
+              spark.sql("SELECT * FROM fluss_stream"),
+              Seq(Row(1L, "a"), Row(2L, "b"), Row(3L, "c"), Row(4L, "d")))
+          } finally {
+            query.stop()
+          }
+      }
+    }
+  }
 }